@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parser;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.base.ErrorNotice;
+
+/**
+ * Decodes the raw string values of a column of a GTFS CSV file into their typed representation. One decoder is
+ * selected per column when a {@link GtfsEntityParser} is created, so that the type of a column is resolved once per
+ * file rather than once per row.
+ */
+interface ColumnDecoder {
+
+    /**
+     * Returns the typed value of a non empty raw field, or null if the field cannot be parsed to the type of the
+     * column
+     *
+     * @param rawField a non empty field of a GTFS CSV file as raw string data
+     * @return the typed value of the raw field, or null if it cannot be parsed
+     */
+    Object decode(final String rawField);
+
+    /**
+     * Returns the notice to generate for a raw field that could not be decoded, or null for the columns whose values
+     * can always be decoded
+     *
+     * @param filename   the name of the file the field was read from
+     * @param fieldName  the name of the column of the field
+     * @param lineNumber the line number of the row the field was read from
+     * @param rawField   the raw string value that could not be decoded
+     * @return the notice to generate for a raw field that could not be decoded, or null if there is none
+     */
+    ErrorNotice cannotDecodeNotice(final String filename,
+                                   final String fieldName,
+                                   final int lineNumber,
+                                   final String rawField);
+}
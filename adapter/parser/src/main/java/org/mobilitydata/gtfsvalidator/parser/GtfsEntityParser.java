@@ -17,11 +17,9 @@
 package org.mobilitydata.gtfsvalidator.parser;
 
 import com.google.common.base.Strings;
-import org.apache.commons.validator.routines.DateValidator;
-import org.apache.commons.validator.routines.FloatValidator;
-import org.apache.commons.validator.routines.IntegerValidator;
-import org.apache.commons.validator.routines.RegexValidator;
 import org.jetbrains.annotations.NotNull;
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.RawEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.RawFileInfo;
@@ -35,125 +33,286 @@ import org.mobilitydata.gtfsvalidator.usecase.port.GtfsSpecRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.MalformedCsvRowException;
 
 import java.time.LocalDate;
-import java.time.ZoneId;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
- * This provides methods to parse data from a GTFS CSV file.
+ * This provides methods to parse data from a GTFS CSV file. The columns of the
+ * {@link GtfsSpecificationProto.CsvSpecProto} are compiled once, when this is created, into an array of
+ * {@link ColumnDecoder}; each field of a row is then decoded exactly once, which yields both its typed value and, if it
+ * cannot be parsed, the matching notice. Numeric, date and color fields are decoded by {@link PrimitiveFieldDecoder}.
+ * Rows of a file can be parsed concurrently by several threads, each reusing its own entity. Given a
+ * {@link StringDictionary}, the values of the text columns that repeat across rows and files, identifiers and
+ * headsigns, are canonicalized so that equal values share one instance.
  */
 public class GtfsEntityParser implements GtfsSpecRepository.RawEntityParser {
     private final GtfsSpecificationProto.CsvSpecProto fileSchema;
     private final RawFileInfo rawFileInfo;
-    private final FloatValidator floatValidator;
-    private final IntegerValidator integerValidator;
-    private final DateValidator dateValidator;
-    private final RegexValidator colorValidator;
+    // headers of the columns defined in the specification, shared by all the entities parsed by this
+    private final HeaderIndex parsedEntityHeaderIndex;
+    // for each column of the specification, the decoder matching the type of the column
+    private final ColumnDecoder[] columnDecoderArray;
+    // index of the column holding the entity id, or -1 if the specification does not define one
+    private final int entityIdColumnIndex;
+    // for each column of the specification, the index of the matching column of the raw file, -1 if absent. Resolved
+    // once per file, since all rows of a file share the same HeaderIndex
+    private final ColumnIndexResolver<int[]> rawColumnIndexResolver = new ColumnIndexResolver<>(this::mapRawColumns);
 
-    private static final String DATE_PATTERN = "yyyyMMdd";
+    // decoder for the columns whose values are kept as strings: decoding never fails, hence no notice
+    private static final ColumnDecoder TEXT_DECODER = new ColumnDecoder() {
+        @Override
+        public Object decode(final String rawField) {
+            return rawField;
+        }
+
+        @Override
+        public ErrorNotice cannotDecodeNotice(final String filename, final String fieldName,
+                                              final int lineNumber, final String rawField) {
+            return null;
+        }
+    };
+
+    private static final ColumnDecoder FLOAT_DECODER = new ColumnDecoder() {
+        @Override
+        public Object decode(final String rawField) {
+            final float value = PrimitiveFieldDecoder.decodeFloat(rawField);
+            return Float.isNaN(value) ? null : value;
+        }
+
+        @Override
+        public ErrorNotice cannotDecodeNotice(final String filename, final String fieldName,
+                                              final int lineNumber, final String rawField) {
+            return new CannotParseFloatNotice(filename, fieldName, lineNumber, rawField);
+        }
+    };
+
+    private static final ColumnDecoder INTEGER_DECODER = new ColumnDecoder() {
+        @Override
+        public Object decode(final String rawField) {
+            final long value = PrimitiveFieldDecoder.decodeInteger(rawField);
+            return value == PrimitiveFieldDecoder.INVALID_LONG ? null : (int) value;
+        }
+
+        @Override
+        public ErrorNotice cannotDecodeNotice(final String filename, final String fieldName,
+                                              final int lineNumber, final String rawField) {
+            return new CannotParseIntegerNotice(filename, fieldName, lineNumber, rawField);
+        }
+    };
+
+    private static final ColumnDecoder DATE_DECODER = new ColumnDecoder() {
+        @Override
+        public Object decode(final String rawField) {
+            final long epochDay = PrimitiveFieldDecoder.decodeDate(rawField);
+            return epochDay == PrimitiveFieldDecoder.INVALID_LONG ? null : LocalDate.ofEpochDay(epochDay);
+        }
+
+        @Override
+        public ErrorNotice cannotDecodeNotice(final String filename, final String fieldName,
+                                              final int lineNumber, final String rawField) {
+            return new CannotParseDateNotice(filename, fieldName, lineNumber, rawField);
+        }
+    };
+
+    // colors are validated but kept as strings, which is what the entities built from them expect
+    private static final ColumnDecoder COLOR_DECODER = new ColumnDecoder() {
+        @Override
+        public Object decode(final String rawField) {
+            return PrimitiveFieldDecoder.decodeColor(rawField) == PrimitiveFieldDecoder.INVALID_INT ? null : rawField;
+        }
+
+        @Override
+        public ErrorNotice cannotDecodeNotice(final String filename, final String fieldName,
+                                              final int lineNumber, final String rawField) {
+            return new CannotParseColorNotice(filename, fieldName, lineNumber, rawField);
+        }
+    };
+
+    public GtfsEntityParser(@NotNull GtfsSpecificationProto.CsvSpecProto fileSchema,
+                            @NotNull RawFileInfo rawFileInfo) {
+        this(fileSchema, rawFileInfo, null);
+    }
 
+    /**
+     * @param fileSchema       the specification of the file to parse
+     * @param rawFileInfo      information about the file to parse
+     * @param stringDictionary the dictionary canonicalizing repeated text values, shared by the parsers of all the files
+     *                         of a feed, or null if values should be kept as read
+     */
     public GtfsEntityParser(@NotNull GtfsSpecificationProto.CsvSpecProto fileSchema,
                             @NotNull RawFileInfo rawFileInfo,
-                            @NotNull FloatValidator floatValidator,
-                            @NotNull IntegerValidator integerValidator,
-                            @NotNull DateValidator dateValidator,
-                            @NotNull RegexValidator colorValidator) {
+                            final StringDictionary stringDictionary) {
         this.fileSchema = fileSchema;
         this.rawFileInfo = rawFileInfo;
-        this.floatValidator = floatValidator;
-        this.integerValidator = integerValidator;
-        if (!dateValidator.isStrict()) {
-            //see https://commons.apache.org/proper/commons-validator/apidocs/org/apache/commons/validator/routines/AbstractFormatValidator.html#isStrict()
-            throw new IllegalArgumentException("Date validator must be strict");
+
+        final List<GtfsSpecificationProto.ColumnSpecProto> columnList = fileSchema.getColumnList();
+        final List<String> columnNameList = new ArrayList<>(columnList.size());
+        this.columnDecoderArray = new ColumnDecoder[columnList.size()];
+        final ColumnDecoder canonicalTextDecoder =
+                stringDictionary == null ? TEXT_DECODER : createCanonicalTextDecoder(stringDictionary);
+        int entityIdColumnIndex = -1;
+        for (int columnIndex = 0; columnIndex < columnList.size(); ++columnIndex) {
+            final GtfsSpecificationProto.ColumnSpecProto columnSpecProto = columnList.get(columnIndex);
+            columnNameList.add(columnSpecProto.getName());
+            final ColumnDecoder columnDecoder = getColumnDecoder(columnSpecProto.getType().getType());
+            final boolean isTextColumn = columnDecoder == TEXT_DECODER;
+            if (isTextColumn && columnSpecProto.getUniquevalues()) {
+                //Assuming there is only one field labelled unique per entity
+                entityIdColumnIndex = columnIndex;
+            }
+            columnDecoderArray[columnIndex] = isTextColumn && isRepeatedTextColumn(columnSpecProto)
+                    ? canonicalTextDecoder
+                    : columnDecoder;
         }
-        this.dateValidator = dateValidator;
-        this.colorValidator = colorValidator;
+        this.entityIdColumnIndex = entityIdColumnIndex;
+        this.parsedEntityHeaderIndex = new HeaderIndex(columnNameList);
     }
 
     /**
-     * Validates numeric types for a provided {@link RawEntity} from information stored in the
-     * {@link GtfsSpecificationProto.CsvSpecProto} provided in the constructor. If a NaN value is encountered or if
-     * the value is not a valid float, a {@link CannotParseFloatNotice} is generated and added to the returned list.
-     * The same logic is applied for integer values, which generates {@link CannotParseIntegerNotice} notices.
-     * The same logic is applied for date values, which generates {@link CannotParseDateNotice} notices.
+     * Returns a decoder for text columns that replaces each value by its canonical instance in a
+     * {@link StringDictionary}
      *
-     * @param toValidate a {@link RawEntity} to validate
-     * @return a collection of notices containing information about the validation process
+     * @param stringDictionary the dictionary holding the canonical instances of the values
+     * @return a decoder for text columns that replaces each value by its canonical instance
      */
-    @Override
-    public Collection<ErrorNotice> validateNonStringTypes(RawEntity toValidate) {
-        Collection<ErrorNotice> toReturn = new ArrayList<>();
+    private static ColumnDecoder createCanonicalTextDecoder(final StringDictionary stringDictionary) {
+        return new ColumnDecoder() {
+            @Override
+            public Object decode(final String rawField) {
+                return stringDictionary.canonicalize(rawField);
+            }
 
-        fileSchema.getColumnList().forEach(columnSpecProto -> {
-            String rawField = toValidate.get(columnSpecProto.getName());
+            @Override
+            public ErrorNotice cannotDecodeNotice(final String filename, final String fieldName,
+                                                  final int lineNumber, final String rawField) {
+                return TEXT_DECODER.cannotDecodeNotice(filename, fieldName, lineNumber, rawField);
+            }
+        };
+    }
 
-            //Skip values that weren't provided
-            if (!Strings.isNullOrEmpty(rawField)) {
+    /**
+     * Tells whether the values of a text column are expected to repeat across the rows of a feed: identifiers, the
+     * references to them and headsigns. Free text such as names, descriptions or urls is mostly distinct and is not
+     * worth canonicalizing.
+     *
+     * @param columnSpecProto the specification of a text column
+     * @return true if the values of the column are expected to repeat across the rows of a feed
+     */
+    private static boolean isRepeatedTextColumn(final GtfsSpecificationProto.ColumnSpecProto columnSpecProto) {
+        final String columnName = columnSpecProto.getName();
+        return columnName != null &&
+                (columnName.endsWith("_id") || columnName.endsWith("_headsign") ||
+                        columnName.equals("parent_station"));
+    }
 
-                if (columnSpecProto.getType().getType() == GtfsSpecificationProto.ColumnInputType.InputType.FLOAT) {
+    /**
+     * Returns the {@link ColumnDecoder} to use for the values of a column of a given type
+     *
+     * @param inputType the type of a column as defined in the specification
+     * @return the {@link ColumnDecoder} to use for the values of a column of a given type
+     */
+    private static ColumnDecoder getColumnDecoder(final GtfsSpecificationProto.ColumnInputType.InputType inputType) {
+        switch (inputType) {
+            case FLOAT:
+                return FLOAT_DECODER;
+            case INTEGER:
+                return INTEGER_DECODER;
+            case DATE:
+                return DATE_DECODER;
+            case COLOR:
+                return COLOR_DECODER;
+            default:
+                return TEXT_DECODER;
+        }
+    }
 
-                    //FIXME: retrieve locale from agency_lang in agency.txt and if that doesn't exist,
-                    //from feed_lang in feed_info.txt before defaulting to Locale.US
-                    if (!floatValidator.isValid(rawField, Locale.US) || Float.isNaN(floatValidator.validate(rawField,
-                            Locale.US))) {
+    /**
+     * Returns, for each column of the specification, the index of the matching column in a raw file
+     *
+     * @param rawHeaderIndex the headers of the columns of a raw file
+     * @return for each column of the specification, the index of the matching column of the raw file or -1 if absent
+     */
+    private int[] mapRawColumns(final HeaderIndex rawHeaderIndex) {
+        final int[] columnIndexArray = new int[parsedEntityHeaderIndex.size()];
+        for (int i = 0; i < columnIndexArray.length; ++i) {
+            columnIndexArray[i] = rawHeaderIndex.indexOf(parsedEntityHeaderIndex.getHeader(i));
+        }
+        return columnIndexArray;
+    }
 
-                        toReturn.add(new CannotParseFloatNotice(
-                                        fileSchema.getFilename(),
-                                        columnSpecProto.getName(),
-                                        toValidate.getIndex(),
-                                        rawField
-                                )
-                        );
-                    }
-                } else if (columnSpecProto.getType().getType() ==
-                        GtfsSpecificationProto.ColumnInputType.InputType.INTEGER) {
-
-                    //FIXME: retrieve locale from agency_lang in agency.txt and if that doesn't exist,
-                    //from feed_lang in feed_info.txt before defaulting to Locale.US
-                    if (!integerValidator.isValid(rawField, Locale.US)) {
-
-                        toReturn.add(new CannotParseIntegerNotice(
-                                        fileSchema.getFilename(),
-                                        columnSpecProto.getName(),
-                                        toValidate.getIndex(),
-                                        rawField
-                                )
-                        );
-                    }
-                } else if (columnSpecProto.getType().getType() ==
-                        GtfsSpecificationProto.ColumnInputType.InputType.DATE) {
-
-                    if (!dateValidator.isValid(rawField, DATE_PATTERN)) {
-                        toReturn.add(new CannotParseDateNotice(
-                                        fileSchema.getFilename(),
-                                        columnSpecProto.getName(),
-                                        toValidate.getIndex(),
-                                        rawField
-                                )
-                        );
-                    }
-                } else if (columnSpecProto.getType().getType() ==
-                        GtfsSpecificationProto.ColumnInputType.InputType.COLOR) {
-
-                    if (!colorValidator.isValid(rawField)) {
-                        toReturn.add(new CannotParseColorNotice(
-                                fileSchema.getFilename(),
-                                columnSpecProto.getName(),
-                                toValidate.getIndex(),
-                                rawField
-                        ));
+    /**
+     * Decodes each non empty field of a {@link RawEntity} with the {@link ColumnDecoder} of its column into a
+     * {@link ParsedEntity}, overwriting all its values. Values that cannot be decoded are left null and, if a notice
+     * collection is provided, the matching notice is added to it.
+     *
+     * @param toDecode         a row of a GTFS file as raw string data
+     * @param target           an entity created by {@link #createParsedEntity()}, receiving the typed values
+     * @param noticeCollection the collection to add notices to, or null if notices should not be generated
+     */
+    private void decodeValues(final RawEntity toDecode, final ParsedEntity target,
+                              final Collection<ErrorNotice> noticeCollection) {
+        final int[] rawColumnIndexPerColumn = rawColumnIndexResolver.resolve(toDecode.getHeaderIndex());
+
+        for (int columnIndex = 0; columnIndex < rawColumnIndexPerColumn.length; ++columnIndex) {
+            final String rawField = toDecode.get(rawColumnIndexPerColumn[columnIndex]);
+            Object value = null;
+
+            //Skip values that weren't provided
+            if (!Strings.isNullOrEmpty(rawField)) {
+                final ColumnDecoder columnDecoder = columnDecoderArray[columnIndex];
+                value = columnDecoder.decode(rawField);
+                if (value == null && noticeCollection != null) {
+                    final ErrorNotice notice = columnDecoder.cannotDecodeNotice(
+                            fileSchema.getFilename(),
+                            parsedEntityHeaderIndex.getHeader(columnIndex),
+                            toDecode.getIndex(),
+                            rawField
+                    );
+                    if (notice != null) {
+                        noticeCollection.add(notice);
                     }
                 }
             }
-        });
+            target.set(columnIndex, value);
+        }
+        target.setEntityId(entityIdColumnIndex == -1 ? null : (String) target.get(entityIdColumnIndex));
+    }
+
+    /**
+     * Returns an entity without values, whose columns are the columns of the specification
+     *
+     * @return an entity without values, whose columns are the columns of the specification
+     */
+    private ParsedEntity createParsedEntity() {
+        return new ParsedEntity(null, parsedEntityHeaderIndex, new Object[parsedEntityHeaderIndex.size()],
+                rawFileInfo);
+    }
 
+    /**
+     * Validates numeric types for a provided {@link RawEntity} from information stored in the
+     * {@link GtfsSpecificationProto.CsvSpecProto} provided in the constructor. If a NaN value is encountered or if
+     * the value is not a valid float, a {@link CannotParseFloatNotice} is generated and added to the returned list.
+     * The same logic is applied for integer values, which generates {@link CannotParseIntegerNotice} notices.
+     * The same logic is applied for date values, which generates {@link CannotParseDateNotice} notices.
+     * The same logic is applied for color values, which generates {@link CannotParseColorNotice} notices.
+     *
+     * @param toValidate a {@link RawEntity} to validate
+     * @return a collection of notices containing information about the validation process
+     */
+    @Override
+    public Collection<ErrorNotice> validateNonStringTypes(RawEntity toValidate) {
+        final Collection<ErrorNotice> toReturn = new ArrayList<>();
+        decodeValues(toValidate, createParsedEntity(), toReturn);
         return toReturn;
     }
 
     /**
      * Returns a parsed entity where fields' type have been determined. The {@link ParsedEntity} is formatted as follows:
-     * - the entityId is the header name
-     * - the contentByHeaderMap is a Map(String, Object) matching columns' header names with the type validated values
-     * associated to the {@link RawEntity} to parse
+     * - the entityId is the value of the field marked as unique in the specification
+     * - the values are an array holding the type validated values associated to the {@link RawEntity} to parse, in
+     * the column order of the specification; the {@link HeaderIndex} matching header names with positions in that
+     * array is shared by all entities parsed by this
      * - the {@link RawFileInfo} associated to the file being processed
      *
      * @param toParse a row of a GTFS file as raw string data
@@ -161,67 +320,46 @@ public class GtfsEntityParser implements GtfsSpecRepository.RawEntityParser {
      */
     @Override
     public ParsedEntity parse(RawEntity toParse) {
-        Map<String, Object> contentByHeaderMap = new HashMap<>(fileSchema.getColumnCount());
-        final String[] entityId = new String[1];
-
-        fileSchema.getColumnList().forEach(columnSpecProto -> {
-            String rawField = toParse.get(columnSpecProto.getName());
-
-            if (!Strings.isNullOrEmpty(rawField)) {
-
-                if (columnSpecProto.getType().getType() == GtfsSpecificationProto.ColumnInputType.InputType.FLOAT) {
-
-                    //FIXME: retrieve locale from agency_lang in agency.txt and if that doesn't exist,
-                    //from feed_lang in feed_info.txt before defaulting to Locale.US
-                    if (floatValidator.isValid(rawField, Locale.US) && !Float.isNaN(floatValidator.validate(rawField,
-                            Locale.US))) {
-                        contentByHeaderMap.put(columnSpecProto.getName(), floatValidator.validate(rawField, Locale.US));
-                    }
-
-                } else if (columnSpecProto.getType().getType() ==
-                        GtfsSpecificationProto.ColumnInputType.InputType.INTEGER) {
-
-                    //FIXME: retrieve locale from agency_lang in agency.txt and if that doesn't exist,
-                    //from feed_lang in feed_info.txt before defaulting to Locale.US
-                    if (integerValidator.isValid(rawField, Locale.US)) {
-                        contentByHeaderMap.put(columnSpecProto.getName(), integerValidator.validate(rawField,
-                                Locale.US));
-                    }
-
-                } else if (columnSpecProto.getType().getType() ==
-                        GtfsSpecificationProto.ColumnInputType.InputType.DATE) {
-
-                    //FIXME: retrieve locale from agency_lang in agency.txt and if that doesn't exist,
-                    //from feed_lang in feed_info.txt before defaulting to Locale.US
-                    if (dateValidator.isValid(rawField, DATE_PATTERN, Locale.US)) {
-                        contentByHeaderMap.put(
-                                //https://programminghints.com/2017/05/still-using-java-util-date-dont/
-                                columnSpecProto.getName(), LocalDate.ofInstant(
-                                        dateValidator.validate(rawField, DATE_PATTERN, Locale.US).toInstant(),
-                                        ZoneId.of("America/Montreal") //FIXME: retrieve timezone from agency.txt
-                                ));
-                    }
-
-                } else if (columnSpecProto.getType().getType() ==
-                        GtfsSpecificationProto.ColumnInputType.InputType.COLOR) {
+        return parse(toParse, null, null);
+    }
 
-                    if (colorValidator.isValid(rawField)) {
-                        contentByHeaderMap.put(columnSpecProto.getName(), rawField);
-                    }
+    /**
+     * Returns a parsed entity where fields' type have been determined, as {@link #parse(RawEntity)} does, and adds to
+     * the collection provided as parameter the notices {@link #validateNonStringTypes(RawEntity)} would generate.
+     * Each field is decoded only once.
+     *
+     * @param toParse          a row of a GTFS file as raw string data
+     * @param noticeCollection the collection to add the notices generated while parsing to
+     * @return a parsed entity whose fields' type have been parsed
+     */
+    @Override
+    public ParsedEntity parse(RawEntity toParse, Collection<ErrorNotice> noticeCollection) {
+        return parse(toParse, null, noticeCollection);
+    }
 
-                } else {
-                    contentByHeaderMap.put(columnSpecProto.getName(), rawField);
-                    if (columnSpecProto.getUniquevalues()) {
-                        //Assuming there is only one field labelled unique per entity
-                        entityId[0] = rawField;
-                    }
-                }
-            }
-        });
+    /**
+     * Parses a row as {@link #parse(RawEntity, Collection)} does, into an entity previously returned by this parser:
+     * its values are overwritten, so that parsing the rows of a file one after the other does not create an entity
+     * per row. The entity returned is only valid until it is reused for another row.
+     *
+     * @param toParse          a row of a GTFS file as raw string data
+     * @param reusedEntity     an entity previously returned by this parser, or null to create a new one
+     * @param noticeCollection the collection to add the notices generated while parsing to, or null
+     * @return a parsed entity whose fields' type have been parsed: {@code reusedEntity} if it was returned by this
+     * parser, else a new one
+     */
+    @Override
+    public ParsedEntity parse(RawEntity toParse, ParsedEntity reusedEntity,
+                              Collection<ErrorNotice> noticeCollection) {
         if (toParse.isBlankLine()) {
             throw new MalformedCsvRowException(rawFileInfo.getFilename());
-        } else {
-            return new ParsedEntity(entityId[0], contentByHeaderMap, rawFileInfo);
         }
+        // entities from another parser do not have the columns of this specification
+        final ParsedEntity parsedEntity =
+                reusedEntity != null && reusedEntity.getHeaderIndex() == parsedEntityHeaderIndex
+                        ? reusedEntity
+                        : createParsedEntity();
+        decodeValues(toParse, parsedEntity, noticeCollection);
+        return parsedEntity;
     }
 }
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parser;
+
+/**
+ * Decodes GTFS field values of primitive types directly from their characters, following the strict grammar of the
+ * GTFS reference: no locale, no grouping separator, no exponent and no surrounding whitespace. Decoding does not
+ * allocate: each method returns a primitive value, or a sentinel value when the field does not match the grammar.
+ */
+public final class PrimitiveFieldDecoder {
+    /**
+     * Returned by {@link #decodeInteger(CharSequence)} and {@link #decodeDate(CharSequence)} when a field cannot be
+     * decoded
+     */
+    public static final long INVALID_LONG = Long.MIN_VALUE;
+    /**
+     * Returned by {@link #decodeColor(CharSequence)} when a field cannot be decoded
+     */
+    public static final int INVALID_INT = -1;
+
+    // floats whose significant digits fit in this mantissa can be decoded exactly with a single float division
+    private static final long MAX_EXACT_FLOAT_MANTISSA = 1L << 24;
+    // powers of ten exactly representable as floats
+    private static final float[] FLOAT_POWER_OF_TEN_ARRAY = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+    // floats whose significant digits fit in this mantissa and that have at most 8 decimals can be decoded exactly with
+    // a single double division rounded to float: such a quotient is never close enough to the midpoint of two floats
+    // for rounding twice to give another float than rounding once
+    private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+    private static final double[] DOUBLE_POWER_OF_TEN_ARRAY = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8
+    };
+    // number of days from 0000-01-01 to 1970-01-01, as computed by java.time.LocalDate
+    private static final long DAYS_0000_TO_1970 = 719528L;
+
+    private PrimitiveFieldDecoder() {
+    }
+
+    /**
+     * Decodes a GTFS integer: an optional minus sign followed by at least one decimal digit, within the range of
+     * {@code int}
+     *
+     * @param chars the characters of the field to decode
+     * @return the decoded value, or {@link #INVALID_LONG} if the field is not a valid integer
+     */
+    public static long decodeInteger(final CharSequence chars) {
+        final int length = chars.length();
+        int i = 0;
+        boolean isNegative = false;
+        if (length > 0 && chars.charAt(0) == '-') {
+            isNegative = true;
+            ++i;
+        }
+        if (i == length) {
+            return INVALID_LONG;
+        }
+        long value = 0;
+        for (; i < length; ++i) {
+            final int digit = chars.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID_LONG;
+            }
+            value = value * 10 + digit;
+            if (value > -(long) Integer.MIN_VALUE) {
+                return INVALID_LONG;
+            }
+        }
+        if (isNegative) {
+            return -value;
+        }
+        return value > Integer.MAX_VALUE ? INVALID_LONG : value;
+    }
+
+    /**
+     * Decodes a GTFS float: an optional minus sign followed by decimal digits with at most one decimal point, and at
+     * least one digit. Values whose digits fit in the 53 bit mantissa of a double and that have at most 8 decimals,
+     * which covers the coordinates, distances and prices found in GTFS feeds, are decoded with a single double
+     * division; values whose digits fit in the 24 bit mantissa of a float and that have 9 or 10 decimals with a single
+     * float division. The others are delegated to {@link Float#parseFloat(String)}. All give the float nearest to the
+     * decimal value.
+     *
+     * @param chars the characters of the field to decode
+     * @return the decoded value, or {@link Float#NaN} if the field is not a valid finite float
+     */
+    public static float decodeFloat(final CharSequence chars) {
+        final int length = chars.length();
+        int i = 0;
+        boolean isNegative = false;
+        if (length > 0 && chars.charAt(0) == '-') {
+            isNegative = true;
+            ++i;
+        }
+        long mantissa = 0;
+        int digitCount = 0;
+        int decimalCount = 0;
+        boolean hasDecimalPoint = false;
+        boolean isExact = true;
+        for (; i < length; ++i) {
+            final char c = chars.charAt(i);
+            if (c >= '0' && c <= '9') {
+                ++digitCount;
+                if (isExact) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    isExact = mantissa < MAX_EXACT_DOUBLE_MANTISSA;
+                    if (hasDecimalPoint) {
+                        ++decimalCount;
+                    }
+                }
+            } else if (c == '.' && !hasDecimalPoint) {
+                hasDecimalPoint = true;
+            } else {
+                return Float.NaN;
+            }
+        }
+        if (digitCount == 0) {
+            return Float.NaN;
+        }
+        if (isExact && decimalCount < DOUBLE_POWER_OF_TEN_ARRAY.length) {
+            final float value = (float) (mantissa / DOUBLE_POWER_OF_TEN_ARRAY[decimalCount]);
+            return isNegative ? -value : value;
+        }
+        if (mantissa < MAX_EXACT_FLOAT_MANTISSA && decimalCount < FLOAT_POWER_OF_TEN_ARRAY.length) {
+            final float value = mantissa / FLOAT_POWER_OF_TEN_ARRAY[decimalCount];
+            return isNegative ? -value : value;
+        }
+        final float value = Float.parseFloat(chars.toString());
+        return Float.isInfinite(value) ? Float.NaN : value;
+    }
+
+    /**
+     * Decodes a GTFS date formatted as YYYYMMDD, checking that the day exists in the given month and year
+     *
+     * @param chars the characters of the field to decode
+     * @return the number of days elapsed since 1970-01-01, or {@link #INVALID_LONG} if the field is not a valid date
+     */
+    public static long decodeDate(final CharSequence chars) {
+        if (chars.length() != 8) {
+            return INVALID_LONG;
+        }
+        final int year = decodeDigits(chars, 0, 4);
+        final int month = decodeDigits(chars, 4, 6);
+        final int day = decodeDigits(chars, 6, 8);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return INVALID_LONG;
+        }
+        // same computation as java.time.LocalDate#toEpochDay for positive years
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total -= isLeapYear(year) ? 1 : 2;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Decodes a GTFS color: exactly six hexadecimal digits
+     *
+     * @param chars the characters of the field to decode
+     * @return the color as a packed 0xRRGGBB value, or {@link #INVALID_INT} if the field is not a valid color
+     */
+    public static int decodeColor(final CharSequence chars) {
+        if (chars.length() != 6) {
+            return INVALID_INT;
+        }
+        int value = 0;
+        for (int i = 0; i < 6; ++i) {
+            final char c = chars.charAt(i);
+            final int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else if (c >= 'A' && c <= 'F') {
+                digit = c - 'A' + 10;
+            } else {
+                return INVALID_INT;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * Decodes a fixed width run of decimal digits
+     *
+     * @param chars the characters to decode
+     * @param start the index of the first digit
+     * @param end   the index following the last digit
+     * @return the decoded value, or -1 if a character of the run is not a decimal digit
+     */
+    private static int decodeDigits(final CharSequence chars, final int start, final int end) {
+        int value = 0;
+        for (int i = start; i < end; ++i) {
+            final int digit = chars.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isLeapYear(final int year) {
+        return (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.parser;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonicalizes the string values of a GTFS feed: equal values share a single {@link String} instance, however many
+ * times and in however many files they occur. Identifiers such as trip_id or stop_id are repeated across millions of
+ * rows of stop_times.txt, shapes.txt and trips.txt; keeping one instance per distinct value bounds the memory they
+ * take to the number of distinct values. One dictionary is shared by the parsers of all the files of a feed, which may
+ * run concurrently: this is thread-safe.
+ */
+public class StringDictionary {
+    private final Map<String, String> canonicalValueByValue = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the canonical instance of a value: the first instance equal to {@code value} that was canonicalized by
+     * this dictionary
+     *
+     * @param value the value to canonicalize
+     * @return the canonical instance equal to {@code value}
+     */
+    public String canonicalize(@NotNull final String value) {
+        final String canonicalValue = canonicalValueByValue.get(value);
+        if (canonicalValue != null) {
+            return canonicalValue;
+        }
+        final String racingValue = canonicalValueByValue.putIfAbsent(value, value);
+        return racingValue == null ? value : racingValue;
+    }
+
+    /**
+     * Returns the number of distinct values canonicalized by this dictionary
+     *
+     * @return the number of distinct values canonicalized by this dictionary
+     */
+    public int size() {
+        return canonicalValueByValue.size();
+    }
+}
@@ -16,11 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.parser;
 
-import org.apache.commons.validator.routines.DateValidator;
-import org.apache.commons.validator.routines.FloatValidator;
-import org.apache.commons.validator.routines.IntegerValidator;
-import org.apache.commons.validator.routines.RegexValidator;
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.RawEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.RawFileInfo;
@@ -30,16 +27,16 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.CannotParseDate
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.CannotParseFloatNotice;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.CannotParseIntegerNotice;
 import org.mobilitydata.gtfsvalidator.protos.GtfsSpecificationProto;
-import org.mockito.ArgumentMatchers;
 
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.*;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.*;
 
 class GtfsEntityParserTest {
@@ -47,10 +44,6 @@ class GtfsEntityParserTest {
     @Test
     void validFloatValidationShouldGenerateNothing() {
 
-        FloatValidator mockFloatValidator = mock(FloatValidator.class);
-        when(mockFloatValidator.isValid(ArgumentMatchers.eq("1.0"),
-                (Locale) ArgumentMatchers.any())).thenReturn(true);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
         when(mockColumnSpec.getName()).thenReturn("float_type");
@@ -61,36 +54,23 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mockFloatValidator,
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         Collection<ErrorNotice> result = underTest.validateNonStringTypes(new RawEntity(
-                Map.of("float_type", "1.0"),
+                new HeaderIndex(List.of("float_type")),
+                new String[]{"1.0"},
                 0
         ));
 
         assertEquals(0, result.size());
-
-        verify(mockFloatValidator, times(1)).isValid(ArgumentMatchers.eq("1.0"),
-                (Locale) ArgumentMatchers.any());
     }
 
     @Test
     void validIntegerValidationShouldGenerateNothing() {
 
-        IntegerValidator mockIntegerValidator = mock(IntegerValidator.class);
-        when(mockIntegerValidator.isValid(ArgumentMatchers.eq("1"),
-                (Locale) ArgumentMatchers.any())).thenReturn(true);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
         when(mockColumnSpec.getName()).thenReturn("integer_type");
@@ -101,27 +81,18 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mockIntegerValidator,
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         Collection<ErrorNotice> result = underTest.validateNonStringTypes(new RawEntity(
-                Map.of("integer_type", "1"),
+                new HeaderIndex(List.of("integer_type")),
+                new String[]{"1"},
                 0
         ));
 
         assertEquals(0, result.size());
-
-        verify(mockIntegerValidator, times(1)).isValid(ArgumentMatchers.eq("1"),
-                (Locale) ArgumentMatchers.any());
     }
 
     @Test
@@ -137,20 +108,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         Collection<ErrorNotice> result = underTest.validateNonStringTypes(new RawEntity(
-                Collections.emptyMap(),
+                new HeaderIndex(List.of()),
+                new String[0],
                 0
         ));
 
@@ -170,20 +135,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         Collection<ErrorNotice> result = underTest.validateNonStringTypes(new RawEntity(
-                Map.of("float_type", ""),
+                new HeaderIndex(List.of("float_type")),
+                new String[]{""},
                 0
         ));
 
@@ -193,12 +152,6 @@ class GtfsEntityParserTest {
     @Test
     void notANumberFloatValidationShouldGenerateError() {
 
-        FloatValidator mockFloatValidator = mock(FloatValidator.class);
-        when(mockFloatValidator.isValid(ArgumentMatchers.eq("NaN"),
-                (Locale) ArgumentMatchers.any())).thenReturn(true);
-        when(mockFloatValidator.validate(ArgumentMatchers.eq("NaN"),
-                (Locale) ArgumentMatchers.any())).thenReturn(Float.NaN);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         when(mockFileSpec.getFilename()).thenReturn("test_filename.tst");
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
@@ -210,26 +163,17 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().filename("test_filename.tst").build(),
-                mockFloatValidator,
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().filename("test_filename.tst").build()
         );
 
         ArrayList<ErrorNotice> result = (ArrayList<ErrorNotice>) underTest.validateNonStringTypes(new RawEntity(
-                Map.of("float_type", "NaN"),
+                new HeaderIndex(List.of("float_type")),
+                new String[]{"NaN"},
                 0
         ));
 
-        verify(mockFloatValidator, times(1)).isValid(ArgumentMatchers.eq("NaN"),
-                (Locale) ArgumentMatchers.any());
-
         assertEquals(1, result.size());
 
         ErrorNotice notice = result.get(0);
@@ -245,8 +189,6 @@ class GtfsEntityParserTest {
     @Test
     void invalidFloatValidationShouldGenerateError() {
 
-        FloatValidator mockFloatValidator = mock(FloatValidator.class);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         when(mockFileSpec.getFilename()).thenReturn("test_filename.tst");
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
@@ -258,20 +200,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mockFloatValidator,
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         ArrayList<ErrorNotice> result = (ArrayList<ErrorNotice>) underTest.validateNonStringTypes(new RawEntity(
-                Map.of("float_type", "abc"),
+                new HeaderIndex(List.of("float_type")),
+                new String[]{"abc"},
                 0
         ));
 
@@ -285,9 +221,6 @@ class GtfsEntityParserTest {
         assertEquals("test_filename.tst", notice.getFilename());
         assertEquals("Value: 'abc' of field: float_type with type float can't be parsed in file: " +
                 "test_filename.tst at row: 0", notice.getDescription());
-
-        verify(mockFloatValidator, times(1)).isValid(ArgumentMatchers.eq("abc"),
-                (Locale) ArgumentMatchers.any());
     }
 
     @Test
@@ -303,20 +236,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         Collection<ErrorNotice> result = underTest.validateNonStringTypes(new RawEntity(
-                Collections.emptyMap(),
+                new HeaderIndex(List.of()),
+                new String[0],
                 0
         ));
 
@@ -336,20 +263,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         Collection<ErrorNotice> result = underTest.validateNonStringTypes(new RawEntity(
-                Map.of("integer_type", ""),
+                new HeaderIndex(List.of("integer_type")),
+                new String[]{""},
                 0
         ));
 
@@ -359,8 +280,6 @@ class GtfsEntityParserTest {
     @Test
     void invalidIntegerValidationShouldGenerateError() {
 
-        IntegerValidator mockIntegerValidator = mock(IntegerValidator.class);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         when(mockFileSpec.getFilename()).thenReturn("test_filename.tst");
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
@@ -372,20 +291,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mockIntegerValidator,
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         ArrayList<ErrorNotice> result = (ArrayList<ErrorNotice>) underTest.validateNonStringTypes(new RawEntity(
-                Map.of("integer_type", "abc"),
+                new HeaderIndex(List.of("integer_type")),
+                new String[]{"abc"},
                 0
         ));
 
@@ -399,9 +312,6 @@ class GtfsEntityParserTest {
         assertEquals("test_filename.tst", notice.getFilename());
         assertEquals("Value: 'abc' of field: integer_type with type integer can't be parsed in file: " +
                 "test_filename.tst at row: 0", notice.getDescription());
-
-        verify(mockIntegerValidator, times(1)).isValid(ArgumentMatchers.eq("abc"),
-                (Locale) ArgumentMatchers.any());
     }
 
     @Test
@@ -417,20 +327,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         Collection<ErrorNotice> result = underTest.validateNonStringTypes(new RawEntity(
-                Collections.emptyMap(),
+                new HeaderIndex(List.of()),
+                new String[0],
                 0
         ));
 
@@ -450,20 +354,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         Collection<ErrorNotice> result = underTest.validateNonStringTypes(new RawEntity(
-                Map.of("date_type", ""),
+                new HeaderIndex(List.of("date_type")),
+                new String[]{""},
                 0
         ));
 
@@ -473,9 +371,6 @@ class GtfsEntityParserTest {
     @Test
     void invalidDateValidationShouldGenerateError() {
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         when(mockFileSpec.getFilename()).thenReturn("test_filename.tst");
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
@@ -489,15 +384,12 @@ class GtfsEntityParserTest {
 
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         ArrayList<ErrorNotice> result = (ArrayList<ErrorNotice>) underTest.validateNonStringTypes(new RawEntity(
-                Map.of("date_type", "not_a_date"),
+                new HeaderIndex(List.of("date_type")),
+                new String[]{"not_a_date"},
                 0
         ));
 
@@ -511,19 +403,11 @@ class GtfsEntityParserTest {
         assertEquals("test_filename.tst", notice.getFilename());
         assertEquals("Value: 'not_a_date' of field: date_type with type date can't be parsed in file: " +
                 "test_filename.tst at row: 0", notice.getDescription());
-
-        verify(mockDateValidator, times(1)).isValid(
-                ArgumentMatchers.eq("not_a_date"),
-                ArgumentMatchers.eq("yyyyMMdd")
-        );
     }
 
     @Test
     void validColorValidationShouldGenerateNothing() {
 
-        RegexValidator mockColorValidator = mock(RegexValidator.class);
-        when(mockColorValidator.isValid(ArgumentMatchers.eq("FFFFFF"))).thenReturn(true);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
         when(mockColumnSpec.getName()).thenReturn("color_type");
@@ -534,26 +418,18 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mockColorValidator
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         Collection<ErrorNotice> result = underTest.validateNonStringTypes(new RawEntity(
-                Map.of("color_type", "FFFFFF"),
+                new HeaderIndex(List.of("color_type")),
+                new String[]{"FFFFFF"},
                 0
         ));
 
         assertEquals(0, result.size());
-
-        verify(mockColorValidator, times(1)).isValid((ArgumentMatchers.eq("FFFFFF")));
     }
 
     @Test
@@ -569,20 +445,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         Collection<ErrorNotice> result = underTest.validateNonStringTypes(new RawEntity(
-                Collections.emptyMap(),
+                new HeaderIndex(List.of()),
+                new String[0],
                 0
         ));
 
@@ -602,21 +472,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         Collection<ErrorNotice> result = underTest.validateNonStringTypes(new RawEntity(
-                Map.of("integer_type", ""),
+                new HeaderIndex(List.of("integer_type")),
+                new String[]{""},
                 0
         ));
 
@@ -626,8 +489,6 @@ class GtfsEntityParserTest {
     @Test
     void invalidColorValidationShouldGenerateError() {
 
-        RegexValidator mockColorValidator = mock(RegexValidator.class);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         when(mockFileSpec.getFilename()).thenReturn("test_filename.tst");
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
@@ -639,20 +500,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mockColorValidator
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         ArrayList<ErrorNotice> result = (ArrayList<ErrorNotice>) underTest.validateNonStringTypes(new RawEntity(
-                Map.of("color_type", "E+47"),
+                new HeaderIndex(List.of("color_type")),
+                new String[]{"E+47"},
                 0
         ));
 
@@ -665,19 +520,11 @@ class GtfsEntityParserTest {
         assertEquals("Invalid color", notice.getTitle());
         assertEquals("test_filename.tst", notice.getFilename());
         assertEquals("Invalid color:`E+47` in field:`color_type` at row:`0`", notice.getDescription());
-
-        verify(mockColorValidator, times(1)).isValid(ArgumentMatchers.eq("E+47"));
     }
 
     @Test
     void validFloatShouldParse() {
 
-        FloatValidator mockFloatValidator = mock(FloatValidator.class);
-        when(mockFloatValidator.isValid(ArgumentMatchers.eq("1.0"),
-                (Locale) ArgumentMatchers.any())).thenReturn(true);
-        when(mockFloatValidator.validate(ArgumentMatchers.eq("1.0"),
-                (Locale) ArgumentMatchers.any())).thenReturn(1.0f);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
         when(mockColumnSpec.getName()).thenReturn("float_type");
@@ -688,30 +535,18 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mockFloatValidator,
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         ParsedEntity result = underTest.parse(new RawEntity(
-                Map.of("float_type", "1.0"),
+                new HeaderIndex(List.of("float_type")),
+                new String[]{"1.0"},
                 0
         ));
 
         assertEquals(1.0f, result.get("float_type"));
-
-        verify(mockFloatValidator, times(1)).isValid(ArgumentMatchers.eq("1.0"),
-                (Locale) ArgumentMatchers.any());
-        // 1 for NaN check, 1 for actual conversion
-        verify(mockFloatValidator, times(2)).validate(ArgumentMatchers.eq("1.0"),
-                (Locale) ArgumentMatchers.any());
     }
 
     @Test
@@ -727,20 +562,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         ParsedEntity result = underTest.parse(new RawEntity(
-                Map.of("float_type", "", "other field name", "other value"),
+                new HeaderIndex(List.of("float_type", "other field name")),
+                new String[]{"", "other value"},
                 0
         ));
 
@@ -750,12 +579,6 @@ class GtfsEntityParserTest {
     @Test
     void notANumberFloatShouldParseToNull() {
 
-        FloatValidator mockFloatValidator = mock(FloatValidator.class);
-        when(mockFloatValidator.isValid(ArgumentMatchers.eq("NaN"),
-                (Locale) ArgumentMatchers.any())).thenReturn(true);
-        when(mockFloatValidator.validate(ArgumentMatchers.eq("NaN"),
-                (Locale) ArgumentMatchers.any())).thenReturn(Float.NaN);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
         when(mockColumnSpec.getName()).thenReturn("float_type");
@@ -766,20 +589,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().filename("test_filename.tst").build(),
-                mockFloatValidator,
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().filename("test_filename.tst").build()
         );
 
         ParsedEntity result = underTest.parse(new RawEntity(
-                Map.of("float_type", "NaN"),
+                new HeaderIndex(List.of("float_type")),
+                new String[]{"NaN"},
                 0
         ));
 
@@ -789,8 +606,6 @@ class GtfsEntityParserTest {
     @Test
     void invalidFloatShouldParseToNull() {
 
-        FloatValidator mockFloatValidator = mock(FloatValidator.class);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
         when(mockColumnSpec.getName()).thenReturn("float_type");
@@ -801,20 +616,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mockFloatValidator,
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         ParsedEntity result = underTest.parse(new RawEntity(
-                Map.of("float_type", "abc"),
+                new HeaderIndex(List.of("float_type")),
+                new String[]{"abc"},
                 0
         ));
 
@@ -824,12 +633,6 @@ class GtfsEntityParserTest {
     @Test
     void validIntegerShouldParse() {
 
-        IntegerValidator mockIntegerValidator = mock(IntegerValidator.class);
-        when(mockIntegerValidator.isValid(ArgumentMatchers.eq("1"),
-                (Locale) ArgumentMatchers.any())).thenReturn(true);
-        when(mockIntegerValidator.validate(ArgumentMatchers.eq("1"),
-                (Locale) ArgumentMatchers.any())).thenReturn(1);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
         when(mockColumnSpec.getName()).thenReturn("integer_type");
@@ -840,30 +643,18 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mockIntegerValidator,
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         ParsedEntity result = underTest.parse(new RawEntity(
-                Map.of("integer_type", "1"),
+                new HeaderIndex(List.of("integer_type")),
+                new String[]{"1"},
                 0
         ));
 
         assertEquals(1, result.get("integer_type"));
-
-        verify(mockIntegerValidator, times(1)).isValid(ArgumentMatchers.eq("1"),
-                (Locale) ArgumentMatchers.any());
-
-        verify(mockIntegerValidator, times(1)).validate(ArgumentMatchers.eq("1"),
-                (Locale) ArgumentMatchers.any());
     }
 
     @Test
@@ -879,20 +670,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         ParsedEntity result = underTest.parse(new RawEntity(
-                Map.of("integer_type", "", "other field name", "other value"),
+                new HeaderIndex(List.of("integer_type", "other field name")),
+                new String[]{"", "other value"},
                 0
         ));
 
@@ -902,8 +687,6 @@ class GtfsEntityParserTest {
     @Test
     void invalidIntegerShouldParseToNull() {
 
-        IntegerValidator mockIntegerValidator = mock(IntegerValidator.class);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         when(mockFileSpec.getFilename()).thenReturn("test_filename.tst");
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
@@ -915,20 +698,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mockIntegerValidator,
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         ParsedEntity result = underTest.parse(new RawEntity(
-                Map.of("integer_type", "abc"),
+                new HeaderIndex(List.of("integer_type")),
+                new String[]{"abc"},
                 0
         ));
 
@@ -938,16 +715,6 @@ class GtfsEntityParserTest {
     @Test
     void validDateShouldParse() {
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-        when(mockDateValidator.isValid(ArgumentMatchers.eq("16420517"),
-                ArgumentMatchers.eq("yyyyMMdd"),
-                ArgumentMatchers.any())).thenReturn(true);
-        Date fakeDate = new Date();
-        when(mockDateValidator.validate(ArgumentMatchers.eq("16420517"),
-                ArgumentMatchers.eq("yyyyMMdd"),
-                (Locale) ArgumentMatchers.any())).thenReturn(fakeDate);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
         when(mockColumnSpec.getName()).thenReturn("date_type");
@@ -960,31 +727,17 @@ class GtfsEntityParserTest {
 
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         ParsedEntity result = underTest.parse(new RawEntity(
-                Map.of("date_type", "16420517"),
+                new HeaderIndex(List.of("date_type")),
+                new String[]{"16420517"},
                 0
         ));
 
         assertThat(result.get("date_type"), instanceOf(LocalDate.class));
-        assertEquals(LocalDate.ofInstant(
-                fakeDate.toInstant(),
-                ZoneId.of("America/Montreal")),
-                result.get("date_type"));
-
-        verify(mockDateValidator, times(1)).isValid(ArgumentMatchers.eq("16420517"),
-                ArgumentMatchers.eq("yyyyMMdd"),
-                ArgumentMatchers.any());
-
-        verify(mockDateValidator, times(1)).validate(ArgumentMatchers.eq("16420517"),
-                ArgumentMatchers.eq("yyyyMMdd"),
-                (Locale) ArgumentMatchers.any());
+        assertEquals(LocalDate.of(1642, 5, 17), result.get("date_type"));
     }
 
     @Test
@@ -1000,20 +753,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         ParsedEntity result = underTest.parse(new RawEntity(
-                Map.of("date_type", "", "other field name", "other value"),
+                new HeaderIndex(List.of("date_type", "other field name")),
+                new String[]{"", "other value"},
                 0
         ));
 
@@ -1023,8 +770,6 @@ class GtfsEntityParserTest {
     @Test
     void invalidDateShouldParseToNull() {
 
-        IntegerValidator mockIntegerValidator = mock(IntegerValidator.class);
-
         GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
         when(mockFileSpec.getFilename()).thenReturn("test_filename.tst");
         GtfsSpecificationProto.ColumnSpecProto mockColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
@@ -1036,20 +781,14 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mockIntegerValidator,
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         ParsedEntity result = underTest.parse(new RawEntity(
-                Map.of("date_type", "not_a_date"),
+                new HeaderIndex(List.of("date_type")),
+                new String[]{"not_a_date"},
                 0
         ));
 
@@ -1070,25 +809,168 @@ class GtfsEntityParserTest {
         when(mockColumnSpec.getType()).thenReturn(mockInputType);
         when(mockFileSpec.getColumnList()).thenReturn(List.of(mockColumnSpec));
 
-        DateValidator mockDateValidator = mock(DateValidator.class);
-        when(mockDateValidator.isStrict()).thenReturn(true);
-
         GtfsEntityParser underTest = new GtfsEntityParser(
                 mockFileSpec,
-                new RawFileInfo.RawFileInfoBuilder().build(),
-                mock(FloatValidator.class),
-                mock(IntegerValidator.class),
-                mockDateValidator,
-                mock(RegexValidator.class)
+                new RawFileInfo.RawFileInfoBuilder().build()
         );
 
         ParsedEntity result = underTest.parse(new RawEntity(
-                Map.of("string_type", "a_string"),
+                new HeaderIndex(List.of("string_type")),
+                new String[]{"a_string"},
                 0
         ));
 
         assertEquals("a_string", result.get("string_type"));
     }
 
+    @Test
+    void parseWithNoticeCollectionShouldReturnParsedEntityAndCollectNotices() {
+
+        GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
+        when(mockFileSpec.getFilename()).thenReturn("test_filename.tst");
+
+        GtfsSpecificationProto.ColumnInputType mockTextType = mock(GtfsSpecificationProto.ColumnInputType.class);
+        when(mockTextType.getType()).thenReturn(GtfsSpecificationProto.ColumnInputType.InputType.ID);
+        GtfsSpecificationProto.ColumnSpecProto mockIdColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
+        when(mockIdColumnSpec.getName()).thenReturn("id_type");
+        when(mockIdColumnSpec.getType()).thenReturn(mockTextType);
+        when(mockIdColumnSpec.getUniquevalues()).thenReturn(true);
+
+        GtfsSpecificationProto.ColumnInputType mockFloatType = mock(GtfsSpecificationProto.ColumnInputType.class);
+        when(mockFloatType.getType()).thenReturn(GtfsSpecificationProto.ColumnInputType.InputType.FLOAT);
+        GtfsSpecificationProto.ColumnSpecProto mockFloatColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
+        when(mockFloatColumnSpec.getName()).thenReturn("float_type");
+        when(mockFloatColumnSpec.getType()).thenReturn(mockFloatType);
+
+        GtfsSpecificationProto.ColumnInputType mockIntegerType = mock(GtfsSpecificationProto.ColumnInputType.class);
+        when(mockIntegerType.getType()).thenReturn(GtfsSpecificationProto.ColumnInputType.InputType.INTEGER);
+        GtfsSpecificationProto.ColumnSpecProto mockIntegerColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
+        when(mockIntegerColumnSpec.getName()).thenReturn("integer_type");
+        when(mockIntegerColumnSpec.getType()).thenReturn(mockIntegerType);
+
+        when(mockFileSpec.getColumnList())
+                .thenReturn(List.of(mockIdColumnSpec, mockFloatColumnSpec, mockIntegerColumnSpec));
+
+        GtfsEntityParser underTest = new GtfsEntityParser(
+                mockFileSpec,
+                new RawFileInfo.RawFileInfoBuilder().filename("test_filename.tst").build()
+        );
+
+        List<ErrorNotice> noticeList = new ArrayList<>();
+        ParsedEntity result = underTest.parse(new RawEntity(
+                new HeaderIndex(List.of("integer_type", "float_type", "id_type")),
+                new String[]{"1", "abc", "entity_id"},
+                3
+        ), noticeList);
+
+        assertEquals("entity_id", result.getEntityId());
+        assertEquals("entity_id", result.get("id_type"));
+        assertNull(result.get("float_type"));
+        assertEquals(1, result.get("integer_type"));
+
+        assertEquals(1, noticeList.size());
+        assertThat(noticeList.get(0), instanceOf(CannotParseFloatNotice.class));
+        assertEquals("Value: 'abc' of field: float_type with type float can't be parsed in file: " +
+                "test_filename.tst at row: 3", noticeList.get(0).getDescription());
+    }
+
+    @Test
+    void reusedEntityShouldBeOverwrittenByNextRow() {
+
+        GtfsSpecificationProto.ColumnInputType mockTextType = mock(GtfsSpecificationProto.ColumnInputType.class);
+        when(mockTextType.getType()).thenReturn(GtfsSpecificationProto.ColumnInputType.InputType.ID);
+        GtfsSpecificationProto.ColumnSpecProto mockIdColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
+        when(mockIdColumnSpec.getName()).thenReturn("id_type");
+        when(mockIdColumnSpec.getType()).thenReturn(mockTextType);
+        when(mockIdColumnSpec.getUniquevalues()).thenReturn(true);
+
+        GtfsSpecificationProto.ColumnInputType mockIntegerType = mock(GtfsSpecificationProto.ColumnInputType.class);
+        when(mockIntegerType.getType()).thenReturn(GtfsSpecificationProto.ColumnInputType.InputType.INTEGER);
+        GtfsSpecificationProto.ColumnSpecProto mockIntegerColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
+        when(mockIntegerColumnSpec.getName()).thenReturn("integer_type");
+        when(mockIntegerColumnSpec.getType()).thenReturn(mockIntegerType);
+
+        GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
+        when(mockFileSpec.getColumnList()).thenReturn(List.of(mockIdColumnSpec, mockIntegerColumnSpec));
+
+        GtfsEntityParser underTest = new GtfsEntityParser(
+                mockFileSpec,
+                new RawFileInfo.RawFileInfoBuilder().build()
+        );
+        HeaderIndex rawHeaderIndex = new HeaderIndex(List.of("id_type", "integer_type"));
+
+        ParsedEntity first = underTest.parse(new RawEntity(rawHeaderIndex, new String[]{"first", "1"}, 2),
+                null, new ArrayList<>());
+        ParsedEntity snapshot = first.snapshot();
+        ParsedEntity second = underTest.parse(new RawEntity(rawHeaderIndex, new String[]{"second", ""}, 3),
+                first, new ArrayList<>());
+
+        assertSame(first, second);
+        assertEquals("second", second.getEntityId());
+        assertEquals("second", second.get("id_type"));
+        assertNull(second.get("integer_type"));
+        assertEquals("first", snapshot.getEntityId());
+        assertEquals(1, snapshot.get("integer_type"));
+    }
+
+    @Test
+    void parsersSharingDictionaryShouldCanonicalizeIdentifiersAndHeadsigns() {
+
+        GtfsSpecificationProto.ColumnInputType mockTextType = mock(GtfsSpecificationProto.ColumnInputType.class);
+        when(mockTextType.getType()).thenReturn(GtfsSpecificationProto.ColumnInputType.InputType.TEXT);
+        GtfsSpecificationProto.ColumnSpecProto mockIdColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
+        when(mockIdColumnSpec.getName()).thenReturn("trip_id");
+        when(mockIdColumnSpec.getType()).thenReturn(mockTextType);
+        GtfsSpecificationProto.ColumnSpecProto mockHeadsignColumnSpec =
+                mock(GtfsSpecificationProto.ColumnSpecProto.class);
+        when(mockHeadsignColumnSpec.getName()).thenReturn("stop_headsign");
+        when(mockHeadsignColumnSpec.getType()).thenReturn(mockTextType);
+        GtfsSpecificationProto.ColumnSpecProto mockNameColumnSpec = mock(GtfsSpecificationProto.ColumnSpecProto.class);
+        when(mockNameColumnSpec.getName()).thenReturn("stop_name");
+        when(mockNameColumnSpec.getType()).thenReturn(mockTextType);
+
+        GtfsSpecificationProto.CsvSpecProto mockFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
+        when(mockFileSpec.getColumnList())
+                .thenReturn(List.of(mockIdColumnSpec, mockHeadsignColumnSpec, mockNameColumnSpec));
+        GtfsSpecificationProto.CsvSpecProto mockOtherFileSpec = mock(GtfsSpecificationProto.CsvSpecProto.class);
+        when(mockOtherFileSpec.getColumnList()).thenReturn(List.of(mockIdColumnSpec));
+
+        StringDictionary stringDictionary = new StringDictionary();
+        GtfsEntityParser underTest = new GtfsEntityParser(
+                mockFileSpec,
+                new RawFileInfo.RawFileInfoBuilder().build(),
+                stringDictionary
+        );
+        GtfsEntityParser otherParser = new GtfsEntityParser(
+                mockOtherFileSpec,
+                new RawFileInfo.RawFileInfoBuilder().build(),
+                stringDictionary
+        );
+
+        ParsedEntity first = underTest.parse(new RawEntity(
+                new HeaderIndex(List.of("trip_id", "stop_headsign", "stop_name")),
+                new String[]{new String("trip"), new String("downtown"), new String("name")},
+                2
+        ));
+        ParsedEntity second = underTest.parse(new RawEntity(
+                new HeaderIndex(List.of("trip_id", "stop_headsign", "stop_name")),
+                new String[]{new String("trip"), new String("downtown"), new String("name")},
+                3
+        ));
+        ParsedEntity fromOtherFile = otherParser.parse(new RawEntity(
+                new HeaderIndex(List.of("trip_id")),
+                new String[]{new String("trip")},
+                2
+        ));
+
+        assertEquals("trip", first.get("trip_id"));
+        assertSame(first.get("trip_id"), second.get("trip_id"));
+        assertSame(first.get("trip_id"), fromOtherFile.get("trip_id"));
+        assertSame(first.get("stop_headsign"), second.get("stop_headsign"));
+        assertEquals(first.get("stop_name"), second.get("stop_name"));
+        assertNotSame(first.get("stop_name"), second.get("stop_name"));
+        assertEquals(2, stringDictionary.size());
+    }
+
     //TODO: add test for parsedEntity id
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mobilitydata.gtfsvalidator.parser.PrimitiveFieldDecoder.INVALID_INT;
+import static org.mobilitydata.gtfsvalidator.parser.PrimitiveFieldDecoder.INVALID_LONG;
+
+class PrimitiveFieldDecoderTest {
+
+    @Test
+    void validIntegerShouldDecode() {
+        assertEquals(0, PrimitiveFieldDecoder.decodeInteger("0"));
+        assertEquals(7, PrimitiveFieldDecoder.decodeInteger("007"));
+        assertEquals(-42, PrimitiveFieldDecoder.decodeInteger("-42"));
+        assertEquals(Integer.MAX_VALUE, PrimitiveFieldDecoder.decodeInteger("2147483647"));
+        assertEquals(Integer.MIN_VALUE, PrimitiveFieldDecoder.decodeInteger("-2147483648"));
+    }
+
+    @Test
+    void invalidIntegerShouldReturnInvalidValue() {
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeInteger(""));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeInteger("-"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeInteger("+1"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeInteger("1.0"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeInteger("1,000"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeInteger(" 1"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeInteger("abc"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeInteger("2147483648"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeInteger("-2147483649"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeInteger("99999999999999999999999"));
+    }
+
+    @Test
+    void validFloatShouldDecodeToNearestFloat() {
+        assertEquals(1.0f, PrimitiveFieldDecoder.decodeFloat("1.0"));
+        assertEquals(0.5f, PrimitiveFieldDecoder.decodeFloat(".5"));
+        assertEquals(5f, PrimitiveFieldDecoder.decodeFloat("5."));
+        assertEquals(-73.56789f, PrimitiveFieldDecoder.decodeFloat("-73.56789"));
+        assertEquals(45.5017123456789f, PrimitiveFieldDecoder.decodeFloat("45.5017123456789"));
+        assertEquals(Float.floatToIntBits(-0f), Float.floatToIntBits(PrimitiveFieldDecoder.decodeFloat("-0")));
+    }
+
+    @Test
+    void decodedFloatShouldMatchFloatParseFloat() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 100000; ++i) {
+            final String value = String.format("%d.%0" + (1 + random.nextInt(9)) + "d",
+                    random.nextInt(360) - 180, random.nextInt(1000000000));
+            assertEquals(Float.parseFloat(value), PrimitiveFieldDecoder.decodeFloat(value), value);
+        }
+    }
+
+    @Test
+    void decodedCoordinateShouldMatchFloatParseFloat() {
+        assertEquals(-73.567256f, PrimitiveFieldDecoder.decodeFloat("-73.5672560"));
+        final Random random = new Random(42);
+        for (int i = 0; i < 100000; ++i) {
+            final String value = String.format("%d.%0" + (7 + random.nextInt(2)) + "d",
+                    random.nextInt(360) - 180, random.nextInt(100000000));
+            assertEquals(Float.parseFloat(value), PrimitiveFieldDecoder.decodeFloat(value), value);
+        }
+    }
+
+    @Test
+    void invalidFloatShouldReturnNaN() {
+        assertTrue(Float.isNaN(PrimitiveFieldDecoder.decodeFloat("")));
+        assertTrue(Float.isNaN(PrimitiveFieldDecoder.decodeFloat(".")));
+        assertTrue(Float.isNaN(PrimitiveFieldDecoder.decodeFloat("-")));
+        assertTrue(Float.isNaN(PrimitiveFieldDecoder.decodeFloat("NaN")));
+        assertTrue(Float.isNaN(PrimitiveFieldDecoder.decodeFloat("1e5")));
+        assertTrue(Float.isNaN(PrimitiveFieldDecoder.decodeFloat("1,5")));
+        assertTrue(Float.isNaN(PrimitiveFieldDecoder.decodeFloat("1.2.3")));
+        assertTrue(Float.isNaN(PrimitiveFieldDecoder.decodeFloat("+1.0")));
+        assertTrue(Float.isNaN(PrimitiveFieldDecoder.decodeFloat("1.0 ")));
+        assertTrue(Float.isNaN(PrimitiveFieldDecoder.decodeFloat("9".repeat(50))));
+    }
+
+    @Test
+    void validDateShouldDecodeToEpochDay() {
+        assertEquals(LocalDate.of(2020, 1, 1).toEpochDay(), PrimitiveFieldDecoder.decodeDate("20200101"));
+        assertEquals(LocalDate.of(2020, 2, 29).toEpochDay(), PrimitiveFieldDecoder.decodeDate("20200229"));
+        assertEquals(LocalDate.of(2000, 12, 31).toEpochDay(), PrimitiveFieldDecoder.decodeDate("20001231"));
+        assertEquals(LocalDate.of(1642, 5, 17).toEpochDay(), PrimitiveFieldDecoder.decodeDate("16420517"));
+        assertEquals(LocalDate.of(1969, 12, 31).toEpochDay(), PrimitiveFieldDecoder.decodeDate("19691231"));
+    }
+
+    @Test
+    void invalidDateShouldReturnInvalidValue() {
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeDate("2020130"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeDate("20201301"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeDate("20190229"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeDate("19000229"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeDate("20200431"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeDate("20200100"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeDate("2020-1-1"));
+        assertEquals(INVALID_LONG, PrimitiveFieldDecoder.decodeDate("not_a_date"));
+    }
+
+    @Test
+    void validColorShouldDecodeToPackedRgb() {
+        assertEquals(0xFFFFFF, PrimitiveFieldDecoder.decodeColor("FFFFFF"));
+        assertEquals(0x00a1b2, PrimitiveFieldDecoder.decodeColor("00a1B2"));
+    }
+
+    @Test
+    void invalidColorShouldReturnInvalidValue() {
+        assertEquals(INVALID_INT, PrimitiveFieldDecoder.decodeColor("E+47"));
+        assertEquals(INVALID_INT, PrimitiveFieldDecoder.decodeColor("GGGGGG"));
+        assertEquals(INVALID_INT, PrimitiveFieldDecoder.decodeColor("#FFFFF"));
+        assertEquals(INVALID_INT, PrimitiveFieldDecoder.decodeColor("FFFFFFF"));
+    }
+}
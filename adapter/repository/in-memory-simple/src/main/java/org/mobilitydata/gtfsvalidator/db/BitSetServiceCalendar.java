@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import com.google.common.base.Suppliers;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.Calendar;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.calendardates.CalendarDate;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.calendardates.ExceptionType;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+import org.mobilitydata.gtfsvalidator.usecase.port.ServiceCalendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * {@link ServiceCalendar} materializing the days of each service once, as a bit set indexed by the number of days
+ * elapsed since the first date of the feed. Whether two services share a day is then a word-wise intersection of their
+ * bit sets. The services of each day, transposed from the days of each service, are built on first request.
+ */
+final class BitSetServiceCalendar implements ServiceCalendar {
+    // epoch day of the first bit of each set
+    private final long firstDay;
+    private final BitSet[] daysByService;
+    private final Supplier<BitSet[]> servicesByDay = Suppliers.memoize(this::buildServicesByDay);
+
+    private BitSetServiceCalendar(final long firstDay, final BitSet[] daysByService) {
+        this.firstDay = firstDay;
+        this.daysByService = daysByService;
+    }
+
+    /**
+     * Materializes the days of service of each service_id
+     *
+     * @param serviceIndex             the dense integer ids of the service_id values, designating the calendar of
+     *                                 each service if any
+     * @param calendarDatePerServiceId the exceptions of calendar_dates.txt per service_id and date
+     * @return the days of service of each service_id
+     */
+    static BitSetServiceCalendar build(final EntityIndex<Calendar> serviceIndex,
+                                       final Map<String, Map<LocalDate, CalendarDate>> calendarDatePerServiceId) {
+        final long firstDay = getFirstDay(serviceIndex, calendarDatePerServiceId);
+        final BitSet[] daysByService = new BitSet[serviceIndex.size()];
+        for (int i = 0; i < daysByService.length; ++i) {
+            final BitSet days = new BitSet();
+            final Calendar calendar = serviceIndex.get(i);
+            if (calendar != null) {
+                setWeekdays(days, calendar, firstDay);
+            }
+            daysByService[i] = days;
+        }
+        // exceptions are applied once the weekdays of all services are set
+        calendarDatePerServiceId.forEach((serviceId, calendarDatePerDate) -> {
+            final int index = serviceIndex.indexOf(serviceId);
+            if (index == EntityIndex.NO_INDEX) {
+                return;
+            }
+            for (final CalendarDate calendarDate : calendarDatePerDate.values()) {
+                final int day = (int) (calendarDate.getDate().toEpochDay() - firstDay);
+                if (calendarDate.getExceptionType() == ExceptionType.ADDED_SERVICE) {
+                    daysByService[index].set(day);
+                } else if (calendarDate.getExceptionType() == ExceptionType.REMOVED_SERVICE) {
+                    daysByService[index].clear(day);
+                }
+            }
+        });
+        return new BitSetServiceCalendar(firstDay, daysByService);
+    }
+
+    // epoch day of the first date of calendar.txt and calendar_dates.txt, 0 if there is none
+    private static long getFirstDay(final EntityIndex<Calendar> serviceIndex,
+                                    final Map<String, Map<LocalDate, CalendarDate>> calendarDatePerServiceId) {
+        long firstDay = Long.MAX_VALUE;
+        for (int i = 0; i < serviceIndex.size(); ++i) {
+            final Calendar calendar = serviceIndex.get(i);
+            if (calendar != null) {
+                firstDay = Math.min(firstDay, calendar.getStartDate().toEpochDay());
+            }
+        }
+        for (final Map<LocalDate, CalendarDate> calendarDatePerDate : calendarDatePerServiceId.values()) {
+            for (final LocalDate date : calendarDatePerDate.keySet()) {
+                firstDay = Math.min(firstDay, date.toEpochDay());
+            }
+        }
+        return firstDay == Long.MAX_VALUE ? 0 : firstDay;
+    }
+
+    // sets the days of a calendar, stepping through each of its weekdays by a week
+    private static void setWeekdays(final BitSet days, final Calendar calendar, final long firstDay) {
+        final boolean[] isActiveByDayOfWeek = {
+                calendar.isMonday(), calendar.isTuesday(), calendar.isWednesday(), calendar.isThursday(),
+                calendar.isFriday(), calendar.isSaturday(), calendar.isSunday()
+        };
+        final long startDay = calendar.getStartDate().toEpochDay();
+        final long endDay = calendar.getEndDate().toEpochDay();
+        final int startDayOfWeek = calendar.getStartDate().getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue();
+        for (int offset = 0; offset < 7; ++offset) {
+            if (!isActiveByDayOfWeek[(startDayOfWeek + offset) % 7]) {
+                continue;
+            }
+            for (long day = startDay + offset; day <= endDay; day += 7) {
+                days.set((int) (day - firstDay));
+            }
+        }
+    }
+
+    private BitSet[] buildServicesByDay() {
+        int dayCount = 0;
+        for (final BitSet days : daysByService) {
+            dayCount = Math.max(dayCount, days.length());
+        }
+        final BitSet[] servicesByDay = new BitSet[dayCount];
+        for (int service = 0; service < daysByService.length; ++service) {
+            final BitSet days = daysByService[service];
+            for (int day = days.nextSetBit(0); day >= 0; day = days.nextSetBit(day + 1)) {
+                if (servicesByDay[day] == null) {
+                    servicesByDay[day] = new BitSet(daysByService.length);
+                }
+                servicesByDay[day].set(service);
+            }
+        }
+        return servicesByDay;
+    }
+
+    private BitSet getDays(final int serviceIndex) {
+        return serviceIndex < 0 || serviceIndex >= daysByService.length ? null : daysByService[serviceIndex];
+    }
+
+    @Override
+    public boolean isActive(final int serviceIndex, final LocalDate date) {
+        final BitSet days = getDays(serviceIndex);
+        final long day = date.toEpochDay() - firstDay;
+        return days != null && day >= 0 && day < days.length() && days.get((int) day);
+    }
+
+    @Override
+    public boolean haveCommonDay(final int serviceIndex, final int otherServiceIndex) {
+        final BitSet days = getDays(serviceIndex);
+        final BitSet otherDays = getDays(otherServiceIndex);
+        return days != null && otherDays != null && days.intersects(otherDays);
+    }
+
+    @Override
+    public List<LocalDate> getCommonDays(final int serviceIndex, final int otherServiceIndex) {
+        final List<LocalDate> commonDays = new ArrayList<>();
+        final BitSet days = getDays(serviceIndex);
+        final BitSet otherDays = getDays(otherServiceIndex);
+        if (days == null || otherDays == null) {
+            return commonDays;
+        }
+        final BitSet commonDaySet = (BitSet) days.clone();
+        commonDaySet.and(otherDays);
+        for (int day = commonDaySet.nextSetBit(0); day >= 0; day = commonDaySet.nextSetBit(day + 1)) {
+            commonDays.add(LocalDate.ofEpochDay(firstDay + day));
+        }
+        return commonDays;
+    }
+
+    @Override
+    public BitSet getActiveServices(final LocalDate date) {
+        final BitSet[] servicesByDay = this.servicesByDay.get();
+        final long day = date.toEpochDay() - firstDay;
+        if (day < 0 || day >= servicesByDay.length || servicesByDay[(int) day] == null) {
+            return new BitSet();
+        }
+        return (BitSet) servicesByDay[(int) day].clone();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
+import org.mobilitydata.gtfsvalidator.domain.entity.RawEntity;
+import org.mobilitydata.gtfsvalidator.usecase.port.RawFileRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Provides the rows of a large GTFS CSV file, read as consecutive chunks of whole records by a
+ * {@link CsvRecordSplitter}. The rows of each chunk are provided by a {@link FromFileRawEntityProvider} sharing the
+ * headers of the file and keeping the line numbers of the file. Chunks can be read one after the other through
+ * {@link #hasNext()} and {@link #getNext()}, or handed over to other threads through {@link #chunkIterator()}: the
+ * content of the file is then read sequentially, while the chunks are tokenized concurrently.
+ * This is returned by {@link InMemoryRawFileRepository} and {@link ZipArchiveRawFileRepository} for large files.
+ */
+public class ChunkedRawEntityProvider implements RawFileRepository.RawEntityProvider {
+    public static final int DEFAULT_CHUNK_SIZE_BYTES = 1024 * 1024;
+
+    private final CsvRecordSplitter splitter;
+    private final int chunkSize;
+    private final HeaderIndex headerIndex;
+    // provider of the rows of the chunk being read, null once it has been handed over by the chunk iterator
+    private RawFileRepository.RawEntityProvider currentChunkProvider;
+
+    /**
+     * @param inputStream the content of a GTFS CSV file. It is read sequentially, chunk by chunk, and closed once it
+     *                    has been entirely read or when this is closed
+     * @param chunkSize   the minimum size of a chunk in bytes: each chunk ends with the first record ending after it
+     * @throws IOException if the headers of the file cannot be read
+     */
+    public ChunkedRawEntityProvider(final InputStream inputStream, final int chunkSize) throws IOException {
+        this.splitter = new CsvRecordSplitter(inputStream);
+        this.chunkSize = chunkSize;
+        // the first chunk only holds the headers, unless the content cannot be split
+        final CsvRecordSplitter.Chunk headerChunk = splitter.nextChunk(1);
+        final FromFileRawEntityProvider headerChunkProvider = new FromFileRawEntityProvider(
+                new ByteArrayInputStream(headerChunk == null ? new byte[0] : headerChunk.getContent()));
+        this.headerIndex = headerChunkProvider.getHeaderIndex();
+        this.currentChunkProvider = headerChunkProvider;
+    }
+
+    /**
+     * Returns a boolean indicating if a GTFS CSV file has more rows that can be read. true if yes, else false.
+     *
+     * @return a boolean indicating if a GTFS CSV file has more rows that can be read. true if yes, else false
+     */
+    @Override
+    public boolean hasNext() {
+        while (currentChunkProvider == null || !currentChunkProvider.hasNext()) {
+            final CsvRecordSplitter.Chunk chunk;
+            try {
+                chunk = splitter.nextChunk(chunkSize);
+                if (chunk == null) {
+                    return false;
+                }
+                currentChunkProvider = new FromFileRawEntityProvider(chunk.getContent(), headerIndex,
+                        chunk.getLineOffset());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the next row of a GTFS CSV file as a {@link RawEntity}
+     *
+     * @return the next row of a GTFS CSV file as a {@link RawEntity}
+     */
+    @Override
+    public RawEntity getNext() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentChunkProvider.getNext();
+    }
+
+    /**
+     * Returns the number of header of a GTFS CSV file.
+     *
+     * @return the number of header of a GTFS CSV file.
+     */
+    @Override
+    public int getHeaderCount() {
+        return headerIndex.size();
+    }
+
+    /**
+     * Returns the collection of headers of a GTFS CSV file including duplicates, in the order they appear in the file.
+     *
+     * @return the collection of headers of a GTFS CSV file including duplicates
+     */
+    @Override
+    public List<String> getHeaders() {
+        return headerIndex.getHeaderList();
+    }
+
+    /**
+     * Closes the content of the file, whether or not it has been entirely read. The chunks are read from memory, hence
+     * they hold nothing to release.
+     *
+     * @throws UncheckedIOException if the content of the file cannot be closed
+     */
+    @Override
+    public void close() {
+        try {
+            splitter.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns providers over the chunks of rows left to read. The next chunk is read from the file when the previous
+     * one is handed over.
+     *
+     * @return providers over the chunks of rows left to read, in the order of the file
+     */
+    @Override
+    public Iterator<RawFileRepository.RawEntityProvider> chunkIterator() {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return ChunkedRawEntityProvider.this.hasNext();
+            }
+
+            @Override
+            public RawFileRepository.RawEntityProvider next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final RawFileRepository.RawEntityProvider chunkProvider = currentChunkProvider;
+                currentChunkProvider = null;
+                return chunkProvider;
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import java.util.Arrays;
+
+/**
+ * Immutable key made of the values of several fields, mapping the entities which uniqueness is defined on a
+ * combination of fields. Unlike a concatenation of the values as a string, building a key does not copy the values,
+ * its hash code is derived from the cached hash codes of the values, and keys made of different values are never
+ * equal: ("a", "bc") and ("ab", "c") are two distinct keys. Values may be null.
+ */
+final class CompositeKey {
+    private final Object[] values;
+    private final int hashCode;
+
+    /**
+     * @param values the values of the fields making up the key, in a fixed order
+     */
+    CompositeKey(final Object... values) {
+        this.values = values;
+        this.hashCode = Arrays.hashCode(values);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof CompositeKey)) {
+            return false;
+        }
+        final CompositeKey otherKey = (CompositeKey) other;
+        return hashCode == otherKey.hashCode && Arrays.equals(values, otherKey.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.mobilitydata.gtfsvalidator.usecase.port.ReverseIndex;
+
+import java.util.Arrays;
+
+/**
+ * Immutable secondary index in compressed sparse row layout: the entries of all keys are stored in a single array of
+ * values, grouped by key, and the entries of key k are found between positions offsets[k] and offsets[k + 1],
+ * excluded, of said array. Indexes are built by a {@link Builder} with a counting sort, which keeps the entries of a
+ * key in the order they were added.
+ *
+ * @see StopTimeCsrIndex
+ */
+class CsrIndex implements ReverseIndex {
+    private final int[] offsets;
+    private final int[] values;
+
+    /**
+     * @param offsets the position of the first entry of each key, followed by the number of entries
+     * @param values  the values of the entries, grouped by key
+     */
+    CsrIndex(final int[] offsets, final int[] values) {
+        this.offsets = offsets;
+        this.values = values;
+    }
+
+    @Override
+    public int getKeyCount() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    public int getCount(final int key) {
+        return key < 0 || key >= offsets.length - 1 ? 0 : offsets[key + 1] - offsets[key];
+    }
+
+    @Override
+    public int get(final int key, final int position) {
+        return values[getEntry(key, position)];
+    }
+
+    /**
+     * Returns the position of an entry in the arrays of entries grouped by key
+     *
+     * @param key      the key of the entry
+     * @param position the position of the entry among the entries of the key
+     * @return the position of the entry in the arrays of entries grouped by key
+     * @throws IndexOutOfBoundsException if the key or the position is out of range
+     */
+    int getEntry(final int key, final int position) {
+        final int count = getCount(key);
+        if (position < 0 || position >= count) {
+            throw new IndexOutOfBoundsException("position " + position + " out of range for key " + key +
+                    " with " + count + " entries");
+        }
+        return offsets[key] + position;
+    }
+
+    /**
+     * Collects the entries of a {@link CsrIndex}. This is not thread-safe.
+     */
+    static final class Builder {
+        private int[] keys = new int[16];
+        private int[] values = new int[16];
+        private int size;
+
+        /**
+         * Adds an entry. Entries whose key is negative, such as
+         * {@link org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex#NO_INDEX}, are ignored.
+         *
+         * @param key   the key of the entry
+         * @param value the value of the entry
+         * @return this builder
+         */
+        Builder add(final int key, final int value) {
+            if (key < 0) {
+                return this;
+            }
+            if (size == keys.length) {
+                final int length = size * 2;
+                keys = Arrays.copyOf(keys, length);
+                values = Arrays.copyOf(values, length);
+            }
+            keys[size] = key;
+            values[size] = value;
+            ++size;
+            return this;
+        }
+
+        /**
+         * Returns the number of entries added so far
+         *
+         * @return the number of entries added so far
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * Builds the index of the entries added so far
+         *
+         * @param keyCount the number of keys of the index: entries whose key is not below this number are ignored
+         * @return the index of the entries added so far
+         */
+        CsrIndex build(final int keyCount) {
+            final int[] offsets = getOffsets(keyCount);
+            return new CsrIndex(offsets, groupByKey(values, offsets));
+        }
+
+        /**
+         * Returns the position of the first entry of each key once entries are grouped by key, followed by the
+         * number of entries
+         *
+         * @param keyCount the number of keys of the index: entries whose key is not below this number are ignored
+         * @return the position of the first entry of each key, followed by the number of entries
+         */
+        int[] getOffsets(final int keyCount) {
+            final int[] offsets = new int[keyCount + 1];
+            for (int i = 0; i < size; ++i) {
+                if (keys[i] < keyCount) {
+                    ++offsets[keys[i] + 1];
+                }
+            }
+            for (int key = 0; key < keyCount; ++key) {
+                offsets[key + 1] += offsets[key];
+            }
+            return offsets;
+        }
+
+        /**
+         * Groups a column of the entries added so far by key, keeping the entries of a key in the order they were
+         * added
+         *
+         * @param column  a value of each entry, in the order entries were added
+         * @param offsets the offsets returned by {@link #getOffsets(int)}
+         * @return the column grouped by key
+         */
+        int[] groupByKey(final int[] column, final int[] offsets) {
+            final int keyCount = offsets.length - 1;
+            final int[] groupedColumn = new int[offsets[keyCount]];
+            // next free position of each key
+            final int[] cursors = Arrays.copyOf(offsets, keyCount);
+            for (int i = 0; i < size; ++i) {
+                final int key = keys[i];
+                if (key < keyCount) {
+                    groupedColumn[cursors[key]++] = column[i];
+                }
+            }
+            return groupedColumn;
+        }
+
+        /**
+         * Groups the values of the entries added so far by key, keeping the entries of a key in the order they were
+         * added
+         *
+         * @param offsets the offsets returned by {@link #getOffsets(int)}
+         * @return the values grouped by key
+         */
+        int[] groupValuesByKey(final int[] offsets) {
+            return groupByKey(values, offsets);
+        }
+    }
+}
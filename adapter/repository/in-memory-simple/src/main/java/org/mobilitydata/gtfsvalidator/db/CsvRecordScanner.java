@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.db;
+
+/**
+ * Scans the bytes of a CSV file one after the other to find where its records end, without tokenizing their fields:
+ * a line feed only ends a record if it is not within a quoted field. Line breaks are counted the way the CSV parser
+ * counts them: a line feed, a carriage return or both in a row count as a single line break, even within quotes.
+ * This relies on GTFS files being encoded in UTF-8, where the bytes of quotes, commas and line breaks never appear in
+ * the encoding of another character.
+ */
+class CsvRecordScanner {
+    // states of the scan, which only needs to know whether it is within quotes
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED_FIELD = 1;
+    private static final int QUOTED_FIELD = 2;
+    private static final int QUOTE_IN_QUOTED_FIELD = 3;
+
+    private int state = FIELD_START;
+    private boolean isAfterCarriageReturn;
+    private int lineBreakCount;
+
+    /**
+     * Scans the next byte of the file
+     *
+     * @param b the next byte of the file
+     * @return true if said byte is a line feed ending a record, false otherwise
+     */
+    boolean scan(final byte b) {
+        if (b == '\n') {
+            if (!isAfterCarriageReturn) {
+                ++lineBreakCount;
+            }
+            isAfterCarriageReturn = false;
+        } else {
+            isAfterCarriageReturn = b == '\r';
+            if (isAfterCarriageReturn) {
+                ++lineBreakCount;
+            }
+        }
+
+        if (state == QUOTED_FIELD) {
+            if (b == '"') {
+                state = QUOTE_IN_QUOTED_FIELD;
+            }
+        } else if (b == '"' && (state == FIELD_START || state == QUOTE_IN_QUOTED_FIELD)) {
+            // opens a quoted field, or is an escaped quote within a quoted field
+            state = QUOTED_FIELD;
+        } else if (state == QUOTE_IN_QUOTED_FIELD && isSpace(b)) {
+            // spaces may follow the closing quote of a field
+            return false;
+        } else if (b == ',' || b == '\r') {
+            state = FIELD_START;
+        } else if (b == '\n') {
+            state = FIELD_START;
+            return true;
+        } else {
+            state = UNQUOTED_FIELD;
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of line breaks scanned so far
+     */
+    int getLineBreakCount() {
+        return lineBreakCount;
+    }
+
+    /**
+     * Returns true if a byte is a space or a control character other than a line break, as skipped by the CSV parser
+     * after the closing quote of a field
+     *
+     * @param b a byte of the content
+     * @return true if the byte is a space or a control character other than a line break
+     */
+    static boolean isSpace(final byte b) {
+        return b >= 0 && b <= ' ' && b != '\r' && b != '\n';
+    }
+
+    /**
+     * Returns true if the first two bytes of a file are those of a UTF-16 or UTF-32 byte order mark: the content of
+     * such a file cannot be scanned byte by byte
+     *
+     * @param firstByte  the first byte of the file
+     * @param secondByte the second byte of the file
+     * @return true if the first two bytes of a file are those of a UTF-16 or UTF-32 byte order mark
+     */
+    static boolean isUtf16OrUtf32ByteOrderMark(final byte firstByte, final byte secondByte) {
+        final int first = firstByte & 0xFF;
+        final int second = secondByte & 0xFF;
+        return (first == 0xFE && second == 0xFF) || (first == 0xFF && second == 0xFE) ||
+                (first == 0x00 && second == 0x00);
+    }
+}
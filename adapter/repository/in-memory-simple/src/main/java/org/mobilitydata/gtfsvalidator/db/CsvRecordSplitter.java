@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Splits the content of a CSV file read from a stream into chunks of bytes that end on record boundaries, as found by
+ * a {@link CsvRecordScanner}: a chunk never ends within a record, even if a quoted field of said record contains line
+ * breaks. Line breaks are counted so that the rows of each chunk can be given the line number they have in the file.
+ * Content starting with a UTF-16 or UTF-32 byte order mark is not split.
+ */
+class CsvRecordSplitter {
+    private static final int READ_SIZE = 64 * 1024;
+
+    private final InputStream inputStream;
+    // content read but not returned yet, in the bufferLength first bytes of the buffer
+    private byte[] buffer = new byte[READ_SIZE];
+    private int bufferLength;
+    // number of bytes at the start of the buffer already scanned
+    private int scannedLength;
+    private final CsvRecordScanner scanner = new CsvRecordScanner();
+    // number of line breaks of the content already returned
+    private int returnedLineBreakCount;
+    private boolean isEndOfInput;
+    private boolean isSplittable;
+
+    /**
+     * @param inputStream the content to split. It is read sequentially, and closed once it has been entirely read or
+     *                    when this is closed
+     * @throws IOException if the content cannot be read
+     */
+    CsvRecordSplitter(final InputStream inputStream) throws IOException {
+        this.inputStream = inputStream;
+        bufferLength = inputStream.readNBytes(buffer, 0, 4);
+        if (bufferLength < 4) {
+            endOfInput();
+        }
+        isSplittable = bufferLength < 2 || !CsvRecordScanner.isUtf16OrUtf32ByteOrderMark(buffer[0], buffer[1]);
+    }
+
+    /**
+     * Returns the next chunk of the content. The chunk ends with the first record that ends at or after
+     * {@code minimumLength} bytes, or with the content.
+     *
+     * @param minimumLength the minimum length of the chunk
+     * @return the next chunk of the content, or null if the whole content has been returned
+     * @throws IOException if the content cannot be read
+     */
+    Chunk nextChunk(final int minimumLength) throws IOException {
+        int chunkLength = scan(minimumLength);
+        while (chunkLength == -1) {
+            if (isEndOfInput) {
+                chunkLength = bufferLength;
+            } else {
+                read();
+                chunkLength = scan(minimumLength);
+            }
+        }
+        if (chunkLength == 0) {
+            return null;
+        }
+        final Chunk chunk = new Chunk(Arrays.copyOf(buffer, chunkLength), returnedLineBreakCount);
+        bufferLength -= chunkLength;
+        System.arraycopy(buffer, chunkLength, buffer, 0, bufferLength);
+        scannedLength -= chunkLength;
+        returnedLineBreakCount = scanner.getLineBreakCount();
+        return chunk;
+    }
+
+    /**
+     * Scans the content read but not scanned yet, until a record ends at or after {@code minimumLength} bytes
+     *
+     * @param minimumLength the minimum length of the chunk to return
+     * @return the length of the chunk ending with said record, or -1 if no such record has been read yet
+     */
+    private int scan(final int minimumLength) {
+        while (scannedLength < bufferLength) {
+            // chunks only end on line feeds, which also end the records ending with a carriage return
+            if (scanner.scan(buffer[scannedLength++]) && isSplittable && scannedLength >= minimumLength) {
+                return scannedLength;
+            }
+        }
+        return -1;
+    }
+
+    private void read() throws IOException {
+        if (bufferLength + READ_SIZE > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, bufferLength + READ_SIZE));
+        }
+        final int readCount = inputStream.read(buffer, bufferLength, READ_SIZE);
+        if (readCount == -1) {
+            endOfInput();
+        } else {
+            bufferLength += readCount;
+        }
+    }
+
+    private void endOfInput() throws IOException {
+        isEndOfInput = true;
+        inputStream.close();
+    }
+
+    /**
+     * Closes the content, whether or not it has been entirely read. No chunk is to be requested afterwards.
+     *
+     * @throws IOException if the content cannot be closed
+     */
+    void close() throws IOException {
+        isEndOfInput = true;
+        inputStream.close();
+    }
+
+    /**
+     * A chunk of the content of a CSV file, made of whole records
+     */
+    static class Chunk {
+        private final byte[] content;
+        private final int lineOffset;
+
+        private Chunk(final byte[] content, final int lineOffset) {
+            this.content = content;
+            this.lineOffset = lineOffset;
+        }
+
+        byte[] getContent() {
+            return content;
+        }
+
+        /**
+         * @return the number of line breaks of the file preceding the chunk
+         */
+        int getLineOffset() {
+            return lineOffset;
+        }
+    }
+}
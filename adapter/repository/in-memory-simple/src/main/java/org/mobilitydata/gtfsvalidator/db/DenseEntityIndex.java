@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns dense integer ids to the ids of one kind of entity, in the order they are registered, and keeps the entity
+ * designated by each id in a list indexed by said integer ids. Ids and entities can be registered concurrently by
+ * several threads: ids already registered are found without locking, and new ids are appended under the lock of this
+ * index. Lookups by integer id are not to be performed while ids are registered.
+ * <p>
+ * Once all ids are registered, the index can be frozen: ids are then looked up in an open addressing table of integer
+ * ids, without boxing, and no id can be registered anymore.
+ *
+ * @param <E> the type of the entities designated by the ids
+ */
+final class DenseEntityIndex<E> implements EntityIndex<E> {
+    private final Map<String, Integer> indexById = new ConcurrentHashMap<>();
+    private final ArrayList<String> idList = new ArrayList<>();
+    // entity of each index, null for the ids which were only referred to
+    private final ArrayList<E> entityList = new ArrayList<>();
+    // integer id of each slot plus one, by hash of its id; zero for free slots. Null until this index is frozen
+    private volatile int[] frozenSlots;
+
+    /**
+     * Returns the index assigned to an id, assigning the next index to the id if it has none yet
+     *
+     * @param id the id of an entity
+     * @return the index assigned to the id, or {@link #NO_INDEX} if the id is null
+     */
+    int register(final String id) {
+        if (id == null) {
+            return NO_INDEX;
+        }
+        final int index = indexOf(id);
+        return index == NO_INDEX ? append(id) : index;
+    }
+
+    private synchronized int append(final String id) {
+        if (frozenSlots != null) {
+            final int index = indexOf(id);
+            if (index == NO_INDEX) {
+                throw new IllegalStateException("Cannot register id " + id + " in a frozen index");
+            }
+            return index;
+        }
+        // another thread may have registered the id since it was looked up
+        final Integer index = indexById.get(id);
+        if (index != null) {
+            return index;
+        }
+        final int newIndex = idList.size();
+        idList.add(id);
+        entityList.add(null);
+        // published last, so that threads finding the id without locking find its index complete
+        indexById.put(id, newIndex);
+        return newIndex;
+    }
+
+    /**
+     * Sets the entity designated by an id, assigning the next index to the id if it has none yet
+     *
+     * @param id     the id of the entity
+     * @param entity the entity designated by the id
+     * @return the index assigned to the id
+     */
+    int put(final String id, final E entity) {
+        final int index = register(id);
+        if (index != NO_INDEX) {
+            synchronized (this) {
+                entityList.set(index, entity);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Freezes this index: builds the table in which ids are looked up from then on, and prevents the registration of
+     * new ids. Freezing a frozen index has no effect.
+     */
+    synchronized void freeze() {
+        if (frozenSlots != null) {
+            return;
+        }
+        // at most half of the slots are used, so that probe sequences stay short
+        final int[] slots = new int[Math.max(2, Integer.highestOneBit(Math.max(1, idList.size()) * 4 - 1))];
+        for (int index = 0; index < idList.size(); ++index) {
+            slots[findSlot(slots, idList.get(index))] = index + 1;
+        }
+        frozenSlots = slots;
+        // ids are looked up in the table from now on
+        indexById.clear();
+        idList.trimToSize();
+        entityList.trimToSize();
+    }
+
+    // slot of an id in a table of slots, or the free slot where the id is to be added if it is not found
+    private int findSlot(final int[] slots, final String id) {
+        final int mask = slots.length - 1;
+        final int hash = id.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (slots[slot] != 0 && !idList.get(slots[slot] - 1).equals(id)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    @Override
+    public int indexOf(final String id) {
+        if (id == null) {
+            return NO_INDEX;
+        }
+        final int[] slots = frozenSlots;
+        if (slots != null) {
+            return slots[findSlot(slots, id)] - 1;
+        }
+        final Integer index = indexById.get(id);
+        return index == null ? NO_INDEX : index;
+    }
+
+    @Override
+    public String getId(final int index) {
+        return index < 0 || index >= idList.size() ? null : idList.get(index);
+    }
+
+    @Override
+    public E get(final int index) {
+        return index < 0 || index >= entityList.size() ? null : entityList.get(index);
+    }
+
+    @Override
+    public int size() {
+        return idList.size();
+    }
+}
@@ -17,39 +17,82 @@
 package org.mobilitydata.gtfsvalidator.db;
 
 import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
-import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.RawEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.RawFileInfo;
 import org.mobilitydata.gtfsvalidator.usecase.port.RawFileRepository;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Map;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Provides methods to perform operations on rows of a GTFS CSV file. Includes feature to transform a row of a GTFS
  * CSV file into a {@link RawEntity}.
- * This is called in {@link InMemoryRawFileRepository} to retrieve the data provider for a specific GTFS CSV file.
+ * This is called in {@link InMemoryRawFileRepository} to retrieve the data provider for a specific GTFS CSV file, and
+ * in {@link ZipArchiveRawFileRepository} to read such a file directly from the entry of a zip archive. It also provides
+ * the rows of each chunk of a file read by {@link ChunkedRawEntityProvider}.
  */
 public class FromFileRawEntityProvider implements RawFileRepository.RawEntityProvider {
-    private final MappingIterator<Map<String, String>> dataSource;
-    private final int headerCount;
+    // readers are immutable: the same reader can create the parsers of files read concurrently
+    private static final ObjectReader CSV_READER = createReader();
+
+    // rows are read as arrays of values: header names are resolved once per file through the shared HeaderIndex
+    private final MappingIterator<String[]> dataSource;
+    private final HeaderIndex headerIndex;
+    // number of lines of the file preceding the content read by this
+    private final int lineOffset;
+    // the row returned by getNext, reused for all the rows
+    private final RawEntity row;
 
     public FromFileRawEntityProvider(RawFileInfo file) throws IOException {
-        File csvFile = new File(file.getPath() + File.separator + file.getFilename());
-        CsvMapper mapper = new CsvMapper();
-        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        this(CSV_READER.readValues(new File(file.getPath() + File.separator + file.getFilename())));
+    }
 
-        dataSource = mapper.readerFor(Map.class)
-                .with(schema)
-                .readValues(csvFile);
+    /**
+     * @param inputStream the content of a GTFS CSV file. It is read lazily, row by row, and closed once all the rows
+     *                    have been read or when this is closed
+     * @throws IOException if the headers of the file cannot be read
+     */
+    public FromFileRawEntityProvider(InputStream inputStream) throws IOException {
+        this(CSV_READER.readValues(inputStream));
+    }
 
-        final int[] headerCountArray = {0};
+    /**
+     * Creates a provider for the rows of a chunk of a GTFS CSV file, which does not contain the headers of the file
+     *
+     * @param content     the rows of the chunk
+     * @param headerIndex the headers of the file, shared by all its chunks
+     * @param lineOffset  the number of lines of the file preceding the chunk
+     * @throws IOException if the content of the chunk cannot be read
+     */
+    FromFileRawEntityProvider(byte[] content, HeaderIndex headerIndex, int lineOffset) throws IOException {
+        this.dataSource = CSV_READER.readValues(content);
+        this.headerIndex = headerIndex;
+        this.lineOffset = lineOffset;
+        this.row = new RawEntity(headerIndex, new String[0], 0);
+    }
 
-        ((CsvSchema) (dataSource.getParser().getSchema())).iterator().forEachRemaining(column -> ++headerCountArray[0]);
+    private FromFileRawEntityProvider(MappingIterator<String[]> dataSource) {
+        this.dataSource = dataSource;
+        headerIndex = new HeaderIndex(dataSource.hasNext() ?
+                Arrays.asList(dataSource.next()) :
+                Collections.emptyList());
+        lineOffset = 0;
+        row = new RawEntity(headerIndex, new String[0], 0);
+    }
 
-        headerCount = headerCountArray[0];
+    private static ObjectReader createReader() {
+        CsvMapper mapper = new CsvMapper();
+        mapper.enable(CsvParser.Feature.WRAP_AS_ARRAY);
+        return mapper.readerFor(String[].class);
     }
 
     /**
@@ -63,13 +106,16 @@ public class FromFileRawEntityProvider implements RawFileRepository.RawEntityPro
     }
 
     /**
-     * Returns the next row of a GTFS CSV file as a {@link RawEntity}
+     * Returns the next row of a GTFS CSV file as a {@link RawEntity}. The same instance is returned for all the rows,
+     * holding the array of values the CSV parser creates for each row.
      *
      * @return the next row of a GTFS CSV file as a {@link RawEntity}
      */
     @Override
     public RawEntity getNext() {
-        return new RawEntity(dataSource.next(), dataSource.getCurrentLocation().getLineNr());
+        final String[] valueArray = dataSource.next();
+        row.setRow(valueArray, valueArray.length, lineOffset + dataSource.getCurrentLocation().getLineNr());
+        return row;
     }
 
     /**
@@ -79,6 +125,34 @@ public class FromFileRawEntityProvider implements RawFileRepository.RawEntityPro
      */
     @Override
     public int getHeaderCount() {
-        return headerCount;
+        return headerIndex.size();
+    }
+
+    /**
+     * Returns the collection of headers of a GTFS CSV file including duplicates, in the order they appear in the file.
+     *
+     * @return the collection of headers of a GTFS CSV file including duplicates
+     */
+    @Override
+    public List<String> getHeaders() {
+        return headerIndex.getHeaderList();
+    }
+
+    /**
+     * Closes the CSV parser and the file or stream it reads the rows from
+     *
+     * @throws UncheckedIOException if the file or stream cannot be closed
+     */
+    @Override
+    public void close() {
+        try {
+            dataSource.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    HeaderIndex getHeaderIndex() {
+        return headerIndex;
     }
 }
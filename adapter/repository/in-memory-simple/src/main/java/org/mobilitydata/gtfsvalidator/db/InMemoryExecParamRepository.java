@@ -281,6 +281,18 @@ public class InMemoryExecParamRepository implements ExecParamRepository {
                     return defaultValue.get(0);
                 }
             }
+
+            case THREADS_KEY: {
+                return hasExecParamValue(THREADS_KEY)
+                        ? getExecParamByKey(THREADS_KEY).getValue().get(0)
+                        : defaultValue.get(0);
+            }
+
+            case STORAGE_KEY: {
+                return hasExecParamValue(STORAGE_KEY)
+                        ? getExecParamByKey(STORAGE_KEY).getValue().get(0)
+                        : defaultValue.get(0);
+            }
         }
         throw new IllegalArgumentException("Requested key is not handled");
     }
@@ -318,7 +330,8 @@ public class InMemoryExecParamRepository implements ExecParamRepository {
                 "if --url is used, where to place " +
                         "the downloaded archive. Otherwise, relative path pointing to a valid GTFS zipped archive on disk");
         options.addOption(String.valueOf(EXTRACT_KEY.charAt(0)), EXTRACT_KEY, true,
-                "Relative path where to extract the zip content");
+                "Relative path where to extract the zip content. If not provided, files are read directly " +
+                        "from the zip archive");
         options.addOption(String.valueOf(OUTPUT_KEY.charAt(0)), OUTPUT_KEY, true,
                 "Relative path where to place output files");
         options.addOption(String.valueOf(HELP_KEY.charAt(0)), HELP_KEY, false, "Print this message");
@@ -330,6 +343,11 @@ public class InMemoryExecParamRepository implements ExecParamRepository {
                 "Stop validation process on first error");
         options.addOption(String.valueOf(BEAUTIFY_KEY.charAt(1)), BEAUTIFY_KEY, true,
                 "Beautify .json validation report");
+        options.addOption(String.valueOf(THREADS_KEY.charAt(0)), THREADS_KEY, true,
+                "Number of threads used to process GTFS files concurrently");
+        options.addOption(String.valueOf(STORAGE_KEY.charAt(0)), STORAGE_KEY, true,
+                "Where to store the entities of the GTFS dataset: heap, off-heap, or disk for datasets bigger " +
+                        "than memory");
         validateAllOptionLength(options);
 
         // Commands --proto and --help take no arguments
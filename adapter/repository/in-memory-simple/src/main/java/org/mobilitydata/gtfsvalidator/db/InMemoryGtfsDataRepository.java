@@ -29,50 +29,66 @@ import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.transfers.Transfer;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.translations.Translation;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
+import org.mobilitydata.gtfsvalidator.usecase.port.ReverseIndex;
+import org.mobilitydata.gtfsvalidator.usecase.port.ServiceCalendar;
+import org.mobilitydata.gtfsvalidator.usecase.port.StopTimeReverseIndex;
+import org.mobilitydata.gtfsvalidator.usecase.utils.LongKeyMap;
 
+import java.time.LocalDate;
 import java.util.*;
 
 /**
- * This holds an internal representation of gtfs entities: each row of each file from a GTFS dataset is represented here
+ * This holds an internal representation of gtfs entities: each row of each file from a GTFS dataset is represented here.
+ * Entities can be added concurrently from several threads: insertions are serialized per table, each file being
+ * guarded by the lock of its own map, so that files loaded by different threads do not contend, and the dense integer
+ * ids shared by several files are registered without locking once assigned. Duplicates are detected and inserted in a
+ * single step under the lock of their table. Tables are kept in linked hash maps rather than concurrent maps: they
+ * iterate in the order entities were first added, which is the order of the rows of their file and determines the
+ * order of the notices. Entities are read once all files have been processed.
+ * <p>
+ * Stop, trip, route, service and shape ids are assigned dense integer ids as they are encountered, whether as the key
+ * of an entity or as a foreign key referring to one, so that entities can be joined through array indexing. Secondary
+ * indexes, such as the trips of each route, are built from these ids on first access, once all files have been
+ * processed.
  */
 public class InMemoryGtfsDataRepository implements GtfsDataRepository {
     // Map containing Agency entities. Entities are mapped on the value found in the column agency_id of GTFS file
     // agency.txt
-    private final Map<String, Agency> agencyPerId = new HashMap<>();
+    private final Map<String, Agency> agencyPerId = new LinkedHashMap<>();
 
     // Map containing Route entities. Entities are mapped on the value found in the column route_id of GTFS file
     // routes.txt
-    private final Map<String, Route> routePerId = new HashMap<>();
+    private final Map<String, Route> routePerId = new LinkedHashMap<>();
 
     // Map containing Trip entities. Entities are mapped on the value found in column trip_id of GTFS file trips.txt
-    private final Map<String, Trip> tripPerId = new HashMap<>();
+    private final Map<String, Trip> tripPerId = new LinkedHashMap<>();
 
     // Map containing Trip entities. Entities are mapped on the value found in column block_id of GTFS file trips.txt
-    private final Map<String, List<Trip>> tripPerBlockId = new HashMap<>();
+    private final Map<String, List<Trip>> tripPerBlockId = new LinkedHashMap<>();
 
     // Map containing Calendar entities. Entities are mapped on the value found in column service_id of GTFS file
     // calendar.txt.
-    private final Map<String, Calendar> calendarPerServiceId = new HashMap<>();
+    private final Map<String, Calendar> calendarPerServiceId = new LinkedHashMap<>();
 
     // CalendarDate entities container. The key for the outer map is the calendar_dates.txt service_id, with the key for
     // the inner map being the calendar_dates.txt date field
-    private final Map<String, Map<String, CalendarDate>> calendarDatePerServiceIdAndDate = new HashMap<>();
+    private final Map<String, Map<LocalDate, CalendarDate>> calendarDatePerServiceIdAndDate = new LinkedHashMap<>();
 
     // Map containing Level entities. Entities are mapped on the value found in column level_id of GTFS file levels.txt
-    private final Map<String, Level> levelPerId = new HashMap<>();
+    private final Map<String, Level> levelPerId = new LinkedHashMap<>();
 
     // Map containing FareAttribute entities. Entities are mapped on the value found in column fare_id of gtfs file
     // fare_attributes.txt
-    private final Map<String, FareAttribute> fareAttributePerFareId = new HashMap<>();
+    private final Map<String, FareAttribute> fareAttributePerFareId = new LinkedHashMap<>();
 
     // map storing feedInfo entities on key feed_publisher_name found in file feed_info.txt
-    private final Map<String, FeedInfo> feedInfoPerFeedPublisherName = new HashMap<>();
+    private final Map<String, FeedInfo> feedInfoPerFeedPublisherName = new LinkedHashMap<>();
 
-    // Map containing Transfer entities. Entities are mapped on a first key which is the value found in the column
-    // from_stop_id of GTFS file transfers.txt; the second key is the value found in the column to_stop_id of the same
-    // file.
-    private final Map<String, Map<String, Transfer>> transferPerStopPair = new HashMap<>();
+    // Map containing Transfer entities. Entities are mapped on a composite key packing the dense integer ids of the
+    // values found in the columns from_stop_id and to_stop_id of GTFS file transfers.txt
+    private final LongKeyMap<Transfer> transferPerStopPair = new LongKeyMap<>();
 
     // Map containing FareRule entities. Entities are mapped on a composite key made of the values found in the
     // columns of GTFS file fare_rules.txt:
@@ -81,23 +97,19 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
     // - origin_id
     // - destination_id
     // - contains_id
-    // Example of key after composition: fare_idroute_idorigin_iddestination_idcontains_id
-    private final Map<String, FareRule> fareRuleCollection = new HashMap<>();
+    private final Map<CompositeKey, FareRule> fareRuleCollection = new LinkedHashMap<>();
 
-    // Map containing Frequency entities. Entities are mapped on a composite key made of the values found in the
-    // columns of GTFS file frequencies.txt:
-    // - trip_id
-    // - start_time
-    // Example of key after composition: trip_idstart_time
-    private final Map<String, Frequency> frequencyPerTripIdStartTime = new HashMap<>();
+    // Map containing Frequency entities. Entities are mapped on a composite key packing the dense integer id of the
+    // value found in column trip_id of GTFS file frequencies.txt and the value found in column start_time
+    private final LongKeyMap<Frequency> frequencyPerTripIdStartTime = new LongKeyMap<>();
 
     // Map containing Frequency entities. Entities are mapped on trip_id value. For each trip_id, Frequency entities are
     // stored based on their trip_id value.
-    private final Map<String, List<Frequency>> frequencyPerTripId = new HashMap<>();
+    private final Map<String, List<Frequency>> frequencyPerTripId = new LinkedHashMap<>();
 
     // Map containing Pathway entities. Entities are mapped on the value found in column pathway_id of GTFS file
     // pathways.txt
-    private final Map<String, Pathway> pathwayPerId = new HashMap<>();
+    private final Map<String, Pathway> pathwayPerId = new LinkedHashMap<>();
 
     // Map containing Attribution entities. Entities are mapped on a composite key made of the values found in the
     // columns of GTFS file attributions.txt:
@@ -112,25 +124,51 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
     // - attribution_url
     // - attribution_email
     // - attribution_phone
-    // Example of key after composition: attribution_idagency_idroute_idtrip_idorganization_nameis_produceris_operatoris_authorityattribution_urlattribution_emailattribution_phone
-    private final Map<String, Attribution> attributionCollection = new HashMap<>();
+    private final Map<CompositeKey, Attribution> attributionCollection = new LinkedHashMap<>();
+
+    // Map containing the geometry of each shape, which packs the ShapePoint entities sharing a shape_id sorted by
+    // shape_pt_sequence. Geometries are mapped on the value found in column shape_id of GTFS file shapes.txt
+    private final Map<String, ShapeGeometry> shapePerId = new LinkedHashMap<>();
+
+    // Dense integer ids of the values found in column stop_id of GTFS files stops.txt and stop_times.txt, and in columns
+    // from_stop_id and to_stop_id of GTFS file transfers.txt
+    private final DenseEntityIndex<LocationBase> stopIndex = new DenseEntityIndex<>();
+
+    // Dense integer ids of the values found in column trip_id of GTFS files trips.txt, stop_times.txt and frequencies.txt
+    private final DenseEntityIndex<Trip> tripIndex = new DenseEntityIndex<>();
+
+    // Dense integer ids of the values found in column route_id of GTFS files routes.txt and trips.txt
+    private final DenseEntityIndex<Route> routeIndex = new DenseEntityIndex<>();
+
+    // Dense integer ids of the values found in column service_id of GTFS files calendar.txt, calendar_dates.txt and
+    // trips.txt
+    private final DenseEntityIndex<Calendar> serviceIndex = new DenseEntityIndex<>();
+
+    // Dense integer ids of the values found in column shape_id of GTFS files shapes.txt and trips.txt
+    private final DenseEntityIndex<ShapeGeometry> shapeIndex = new DenseEntityIndex<>();
 
-    // Map containing Shape Entities. A shape is a actually a collection of ShapePoint.
-    // Entities are mapped on the values found in column shape_id  and shape_pt_sequence of GTFS file shapes.txt
-    private final Map<String, SortedMap<Integer, ShapePoint>> shapePerIdShapePtSequence = new HashMap<>();
+    // Foreign keys of the Trip entities as dense integer ids, indexed by the dense integer id of their trip_id
+    private int[] routeIndexByTripIndex = new int[0];
+    private int[] serviceIndexByTripIndex = new int[0];
+    private int[] shapeIndexByTripIndex = new int[0];
 
-    // Map containing StopTime entities. Entities are mapped on a composite key made of the values found in the columns
-    // of GTFS file stop_times.txt:
+    // Columnar store of StopTime entities. Entities are mapped on a composite key made of the values found in the
+    // columns of GTFS file stop_times.txt:
     // - trip_id
     // - stop_sequence
-    private final Map<String, TreeMap<Integer, StopTime>> stopTimePerTripIdStopSequence = new HashMap<>();
+    private final StopTimeStore stopTimeStore = new StopTimeStore(tripIndex, stopIndex);
 
     // Map containing Translation entities. Entities are mapped on the value found in column table_name, field_value and
     // language of GTFS file translations.txt.
-    private final Map<String, Map<String, Map<String, Translation>>> translationPerTableName = new HashMap<>();
+    private final Map<String, Map<String, Map<String, Translation>>> translationPerTableName = new LinkedHashMap<>();
 
     // Map containing Stop entities. Entities are mapped on the value found in column stop_id of GTFS file stops.txt
-    private final Map<String, LocationBase> stopPerId = new HashMap<>();
+    private final Map<String, LocationBase> stopPerId = new LinkedHashMap<>();
+
+    // Secondary indexes, built from the entities of this repository once they have all been added
+    private final SecondaryIndexes secondaryIndexes = new SecondaryIndexes(this);
+
+    private volatile boolean isFrozen;
 
     /**
      * Add an Agency representing a row from agency.txt to this. Return the entity added to the repository if the
@@ -143,11 +181,13 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
     @Override
     public Agency addAgency(@NotNull final Agency newAgency, final Agency.AgencyBuilder builder)
             throws IllegalArgumentException {
+        checkNotFrozen();
         // todo: implement early fail when adding agency with agency_id already in data repository
         //noinspection ConstantConditions
         if (newAgency == null) {
             throw new IllegalArgumentException("Cannot add null agency to data repository");
-        } else {
+        }
+        synchronized (agencyPerId) {
             final String agencyId = newAgency.getAgencyId();
             if (agencyId == null) {
                 if (getAgencyCount() > 1) {
@@ -168,12 +208,7 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
                     return newAgency;
                 }
             } else {
-                if (agencyPerId.containsKey(agencyId)) {
-                    return null;
-                } else {
-                    agencyPerId.put(agencyId, newAgency);
-                    return newAgency;
-                }
+                return agencyPerId.putIfAbsent(agencyId, newAgency) == null ? newAgency : null;
             }
         }
     }
@@ -207,7 +242,9 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public int getAgencyCount() {
-        return agencyPerId.size();
+        synchronized (agencyPerId) {
+            return agencyPerId.size();
+        }
     }
 
     /**
@@ -220,12 +257,14 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public Route addRoute(@NotNull final Route newRoute) throws IllegalArgumentException {
+        checkNotFrozen();
         //noinspection ConstantConditions
         if (newRoute != null) {
-            if (routePerId.containsKey(newRoute.getRouteId())) {
-                return null;
-            } else {
-                routePerId.put(newRoute.getRouteId(), newRoute);
+            synchronized (routePerId) {
+                if (routePerId.putIfAbsent(newRoute.getRouteId(), newRoute) != null) {
+                    return null;
+                }
+                routeIndex.put(newRoute.getRouteId(), newRoute);
                 return newRoute;
             }
         } else {
@@ -267,21 +306,17 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public Trip addTrip(final Trip newTrip) throws IllegalArgumentException {
+        checkNotFrozen();
         if (newTrip != null) {
-            if (tripPerId.containsKey(newTrip.getTripId())) {
-                return null;
-            } else {
-                final String tripId = newTrip.getTripId();
-                tripPerId.put(tripId, newTrip);
+            // the trips of each block and the foreign keys of the trips are guarded by the lock of the trips
+            synchronized (tripPerId) {
+                if (tripPerId.putIfAbsent(newTrip.getTripId(), newTrip) != null) {
+                    return null;
+                }
+                indexTrip(newTrip);
                 final String blockId = newTrip.getBlockId();
                 if (blockId != null) {
-                    if (tripPerBlockId.containsKey(blockId)) {
-                        tripPerBlockId.get(blockId).add(newTrip);
-                    } else {
-                        final List<Trip> tripCollection = new ArrayList<>();
-                        tripCollection.add(newTrip);
-                        tripPerBlockId.put(blockId, tripCollection);
-                    }
+                    tripPerBlockId.computeIfAbsent(blockId, id -> new ArrayList<>()).add(newTrip);
                 }
                 return newTrip;
             }
@@ -290,6 +325,33 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
         }
     }
 
+    /**
+     * Assigns dense integer ids to a trip and to the entities it refers to, and records the latter as the foreign keys
+     * of the trip
+     *
+     * @param trip the trip to index
+     */
+    private void indexTrip(final Trip trip) {
+        final int index = tripIndex.put(trip.getTripId(), trip);
+        if (index >= routeIndexByTripIndex.length) {
+            final int length = Math.max(index + 1, routeIndexByTripIndex.length * 2);
+            routeIndexByTripIndex = resizeForeignKeys(routeIndexByTripIndex, length);
+            serviceIndexByTripIndex = resizeForeignKeys(serviceIndexByTripIndex, length);
+            shapeIndexByTripIndex = resizeForeignKeys(shapeIndexByTripIndex, length);
+        }
+        routeIndexByTripIndex[index] = routeIndex.register(trip.getRouteId());
+        serviceIndexByTripIndex[index] = serviceIndex.register(trip.getServiceId());
+        shapeIndexByTripIndex[index] = shapeIndex.register(trip.getShapeId());
+    }
+
+    private static int[] resizeForeignKeys(final int[] foreignKeys, final int length) {
+        final int[] resizedForeignKeys = Arrays.copyOf(foreignKeys, length);
+        if (length > foreignKeys.length) {
+            Arrays.fill(resizedForeignKeys, foreignKeys.length, length, EntityIndex.NO_INDEX);
+        }
+        return resizedForeignKeys;
+    }
+
     /**
      * Return the Trip representing a row from trips.txt related to the id provided as parameter
      *
@@ -334,24 +396,21 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public CalendarDate addCalendarDate(@NotNull final CalendarDate newCalendarDate) throws IllegalArgumentException {
+        checkNotFrozen();
         // suppressed warning regarding nullability of parameter newCalendarDate, since it can be null even if it should
         // not be
         //noinspection ConstantConditions
         if (newCalendarDate != null) {
             final String serviceId = newCalendarDate.getServiceId();
-            final String dateAsString = newCalendarDate.getDate().toString();
-            if (calendarDatePerServiceIdAndDate.containsKey(serviceId)) {
-                if (calendarDatePerServiceIdAndDate.get(serviceId).containsKey(dateAsString)) {
-                    return null;
-                } else {
-                    calendarDatePerServiceIdAndDate.get(serviceId).put(dateAsString, newCalendarDate);
-                    return newCalendarDate;
+            final LocalDate date = newCalendarDate.getDate();
+            serviceIndex.register(serviceId);
+            synchronized (calendarDatePerServiceIdAndDate) {
+                Map<LocalDate, CalendarDate> calendarDateByDate = calendarDatePerServiceIdAndDate.get(serviceId);
+                if (calendarDateByDate == null) {
+                    calendarDateByDate = new TreeMap<>();
+                    calendarDatePerServiceIdAndDate.put(serviceId, calendarDateByDate);
                 }
-            } else {
-                final Map<String, CalendarDate> innerMap = new HashMap<>();
-                innerMap.put(dateAsString, newCalendarDate);
-                calendarDatePerServiceIdAndDate.put(serviceId, innerMap);
-                return newCalendarDate;
+                return calendarDateByDate.putIfAbsent(date, newCalendarDate) == null ? newCalendarDate : null;
             }
         } else {
             throw new IllegalArgumentException("Cannot add null calendar date to data repository");
@@ -365,7 +424,7 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      * @return a immutable collection of {@code CalendarDate} objects representing all the rows from calendar_dates.txt.
      * Entities are mapped on service_id and date in a nested map.
      */
-    public Map<String, Map<String, CalendarDate>> getCalendarDateAll() {
+    public Map<String, Map<LocalDate, CalendarDate>> getCalendarDateAll() {
         return Collections.unmodifiableMap(calendarDatePerServiceIdAndDate);
     }
 
@@ -380,13 +439,10 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public Level addLevel(final Level newLevel) throws IllegalArgumentException {
+        checkNotFrozen();
         if (newLevel != null) {
-            if (levelPerId.containsKey(newLevel.getLevelId())) {
-                return null;
-            } else {
-                final String levelId = newLevel.getLevelId();
-                levelPerId.put(levelId, newLevel);
-                return newLevel;
+            synchronized (levelPerId) {
+                return levelPerId.putIfAbsent(newLevel.getLevelId(), newLevel) == null ? newLevel : null;
             }
         } else {
             throw new IllegalArgumentException("Cannot add null level to data repository");
@@ -416,12 +472,14 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public Calendar addCalendar(final Calendar newCalendar) throws IllegalArgumentException {
+        checkNotFrozen();
         if (newCalendar != null) {
-            if (calendarPerServiceId.containsKey(newCalendar.getServiceId())) {
-                return null;
-            } else {
-                final String serviceId = newCalendar.getServiceId();
-                calendarPerServiceId.put(serviceId, newCalendar);
+            final String serviceId = newCalendar.getServiceId();
+            synchronized (calendarPerServiceId) {
+                if (calendarPerServiceId.putIfAbsent(serviceId, newCalendar) != null) {
+                    return null;
+                }
+                serviceIndex.put(serviceId, newCalendar);
                 return newCalendar;
             }
         } else {
@@ -461,25 +519,12 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public Transfer addTransfer(final Transfer newTransfer) throws IllegalArgumentException {
+        checkNotFrozen();
         if (newTransfer != null) {
-            // check that that from_stop_id is not already in collection. It if is, check that to_stop_id is not in the
-            // associated map
-            if ((transferPerStopPair.containsKey(newTransfer.getFromStopId())) &&
-                    (transferPerStopPair.get(newTransfer.getFromStopId())
-                            .containsKey(newTransfer.getToStopId()))) {
-                return null;
-            } else {
-                final String fromStopId = newTransfer.getFromStopId();
-                final String toStopId = newTransfer.getToStopId();
-                if (!transferPerStopPair.containsKey(newTransfer.getFromStopId())) {
-                    final Map<String, Transfer> innerMap = new HashMap<>();
-                    innerMap.put(toStopId, newTransfer);
-                    transferPerStopPair.put(fromStopId, innerMap);
-                } else {
-                    transferPerStopPair.get(newTransfer.getFromStopId())
-                            .put(newTransfer.getToStopId(), newTransfer);
-                }
-                return newTransfer;
+            final long key = LongKeyMap.pack(stopIndex.register(newTransfer.getFromStopId()),
+                    stopIndex.register(newTransfer.getToStopId()));
+            synchronized (transferPerStopPair) {
+                return transferPerStopPair.putIfAbsent(key, newTransfer) == null ? newTransfer : null;
             }
         } else {
             throw new IllegalArgumentException("Cannot add null transfer to data repository");
@@ -503,7 +548,12 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public Transfer getTransferByStopPair(final String fromStopId, final String toStopId) {
-        return transferPerStopPair.get(fromStopId).get(toStopId);
+        final int fromStopIndex = stopIndex.indexOf(fromStopId);
+        final int toStopIndex = stopIndex.indexOf(toStopId);
+        if (fromStopIndex == EntityIndex.NO_INDEX || toStopIndex == EntityIndex.NO_INDEX) {
+            return null;
+        }
+        return transferPerStopPair.get(LongKeyMap.pack(fromStopIndex, toStopIndex));
     }
 
     /**
@@ -517,12 +567,11 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public FeedInfo addFeedInfo(final FeedInfo newFeedInfo) throws IllegalArgumentException {
+        checkNotFrozen();
         if (newFeedInfo != null) {
-            if (feedInfoPerFeedPublisherName.containsKey(newFeedInfo.getFeedPublisherName())) {
-                return null;
-            } else {
-                feedInfoPerFeedPublisherName.put(newFeedInfo.getFeedPublisherName(), newFeedInfo);
-                return newFeedInfo;
+            synchronized (feedInfoPerFeedPublisherName) {
+                return feedInfoPerFeedPublisherName.putIfAbsent(newFeedInfo.getFeedPublisherName(), newFeedInfo) == null ?
+                        newFeedInfo : null;
             }
         } else {
             throw new IllegalArgumentException("Cannot add null feedInfo to data repository");
@@ -563,12 +612,11 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public FareAttribute addFareAttribute(final FareAttribute newFareAttribute) throws IllegalArgumentException {
+        checkNotFrozen();
         if (newFareAttribute != null) {
-            if (fareAttributePerFareId.containsKey(newFareAttribute.getFareId())) {
-                return null;
-            } else {
-                fareAttributePerFareId.put(newFareAttribute.getFareId(), newFareAttribute);
-                return newFareAttribute;
+            synchronized (fareAttributePerFareId) {
+                return fareAttributePerFareId.putIfAbsent(newFareAttribute.getFareId(), newFareAttribute) == null ?
+                        newFareAttribute : null;
             }
         } else {
             throw new IllegalArgumentException("Cannot add null fare attribute to data repository");
@@ -597,13 +645,12 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public FareRule addFareRule(final FareRule newFareRule) throws IllegalArgumentException {
+        checkNotFrozen();
         if (newFareRule != null) {
-            final String key = newFareRule.getFareRuleMappingKey();
-            if (fareRuleCollection.containsKey(key)) {
-                return null;
-            } else {
-                fareRuleCollection.put(key, newFareRule);
-                return newFareRule;
+            final CompositeKey key = new CompositeKey(newFareRule.getFareId(), newFareRule.getRouteId(),
+                    newFareRule.getOriginId(), newFareRule.getDestinationId(), newFareRule.getContainsId());
+            synchronized (fareRuleCollection) {
+                return fareRuleCollection.putIfAbsent(key, newFareRule) == null ? newFareRule : null;
             }
         } else {
             throw new IllegalArgumentException("Cannot add null FareRule to data repository");
@@ -624,8 +671,7 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
     @Override
     public FareRule getFareRule(final String fareId, final String routeId, final String originId,
                                 final String destinationId, final String containsId) {
-        return fareRuleCollection.get(FareRule.getFareRuleMappingKey(fareId, routeId, originId, destinationId,
-                containsId));
+        return fareRuleCollection.get(new CompositeKey(fareId, routeId, originId, destinationId, containsId));
     }
 
     /**
@@ -641,20 +687,16 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public Frequency addFrequency(final Frequency newFrequency) throws IllegalArgumentException {
+        checkNotFrozen();
         if (newFrequency != null) {
-            final String key = newFrequency.getFrequencyMappingKey();
-            if (frequencyPerTripIdStartTime.containsKey(key)) {
-                return null;
-            } else {
-                final String tripId = newFrequency.getTripId();
-                frequencyPerTripIdStartTime.put(key, newFrequency);
-                if (frequencyPerTripId.containsKey(tripId)) {
-                    frequencyPerTripId.get(tripId).add(newFrequency);
-                } else {
-                    final List<Frequency> frequencyCollection = new ArrayList<>();
-                    frequencyCollection.add(newFrequency);
-                    frequencyPerTripId.put(tripId, frequencyCollection);
+            final String tripId = newFrequency.getTripId();
+            final long key = LongKeyMap.pack(tripIndex.register(tripId), newFrequency.getStartTime());
+            // the frequencies of each trip are guarded by the lock of the frequencies
+            synchronized (frequencyPerTripIdStartTime) {
+                if (frequencyPerTripIdStartTime.putIfAbsent(key, newFrequency) != null) {
+                    return null;
                 }
+                frequencyPerTripId.computeIfAbsent(tripId, id -> new ArrayList<>()).add(newFrequency);
                 return newFrequency;
             }
         } else {
@@ -671,7 +713,11 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public Frequency getFrequency(final String tripId, final Integer startTime) {
-        return frequencyPerTripIdStartTime.get(Frequency.getFrequencyMappingKey(tripId, startTime));
+        final int tripIndex = this.tripIndex.indexOf(tripId);
+        if (tripIndex == EntityIndex.NO_INDEX || startTime == null) {
+            return null;
+        }
+        return frequencyPerTripIdStartTime.get(LongKeyMap.pack(tripIndex, startTime));
     }
 
     /**
@@ -689,16 +735,14 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
     }
 
     /**
-     * Return an unmodifiable map of Frequency objects representing all the rows from frequencies.txt. Entities are
-     * mapped on values of fields trip_id and start_time of file `frequencies.txt`. This composite key is generated via
-     * method @see #Frequency#getFrequencyMappingKey().
+     * Return an unmodifiable collection of Frequency objects representing all the rows from frequencies.txt, in the
+     * order they were added.
      *
-     * @return an unmodifiable map of Frequency objects representing all the rows from frequencies.txt. Entities are
-     * mapped on values of fields trip_id and start_time of file `frequencies.txt`. This composite key is generated via
-     * method @see #Frequency#getFrequencyMappingKey()
+     * @return an unmodifiable collection of Frequency objects representing all the rows from frequencies.txt, in the
+     * order they were added
      */
-    public Map<String, Frequency> getFrequencyAll() {
-        return Collections.unmodifiableMap(frequencyPerTripIdStartTime);
+    public Collection<Frequency> getFrequencyAll() {
+        return frequencyPerTripIdStartTime.values();
     }
 
     /**
@@ -712,13 +756,10 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public Pathway addPathway(final Pathway newPathway) throws IllegalArgumentException {
+        checkNotFrozen();
         if (newPathway != null) {
-            final String pathwayId = newPathway.getPathwayId();
-            if (pathwayPerId.containsKey(pathwayId)) {
-                return null;
-            } else {
-                pathwayPerId.put(pathwayId, newPathway);
-                return newPathway;
+            synchronized (pathwayPerId) {
+                return pathwayPerId.putIfAbsent(newPathway.getPathwayId(), newPathway) == null ? newPathway : null;
             }
         } else {
             throw new IllegalArgumentException("Cannot add null pathway to data repository");
@@ -746,13 +787,15 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public Attribution addAttribution(final Attribution newAttribution) throws IllegalArgumentException {
+        checkNotFrozen();
         if (newAttribution != null) {
-            final String key = newAttribution.getAttributionMappingKey();
-            if (attributionCollection.containsKey(key)) {
-                return null;
-            } else {
-                attributionCollection.put(key, newAttribution);
-                return newAttribution;
+            final CompositeKey key = new CompositeKey(newAttribution.getAttributionId(),
+                    newAttribution.getAgencyId(), newAttribution.getRouteId(), newAttribution.getTripId(),
+                    newAttribution.getOrganizationName(), newAttribution.isProducer(), newAttribution.isOperator(),
+                    newAttribution.isAuthority(), newAttribution.getAttributionUrl(),
+                    newAttribution.getAttributionEmail(), newAttribution.getAttributionPhone());
+            synchronized (attributionCollection) {
+                return attributionCollection.putIfAbsent(key, newAttribution) == null ? newAttribution : null;
             }
         } else {
             throw new IllegalArgumentException("Cannot add null attribution to data repository");
@@ -782,9 +825,8 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
                                       final String tripId, final String organizationName, final boolean isProducer,
                                       final boolean isOperator, final boolean isAuthority, final String attributionUrl,
                                       final String attributionEmail, final String attributionPhone) {
-        return attributionCollection.get(Attribution.getAttributionMappingKey(attributionId, agencyId, routeId, tripId,
-                organizationName, isProducer, isOperator, isAuthority, attributionUrl, attributionEmail,
-                attributionPhone));
+        return attributionCollection.get(new CompositeKey(attributionId, agencyId, routeId, tripId, organizationName,
+                isProducer, isOperator, isAuthority, attributionUrl, attributionEmail, attributionPhone));
     }
 
     /**
@@ -803,52 +845,47 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public ShapePoint addShapePoint(final ShapePoint newShapePoint) throws IllegalArgumentException {
+        checkNotFrozen();
         if (newShapePoint != null) {
             final String shapeId = newShapePoint.getShapeId();
-            if (shapePerIdShapePtSequence.containsKey(shapeId)) {
-                if (!shapePerIdShapePtSequence.get(shapeId).containsKey(newShapePoint.getShapePtSequence())) {
-                    shapePerIdShapePtSequence.get(shapeId).put(newShapePoint.getShapePtSequence(), newShapePoint);
-                } else {
-                    return null;
+            // geometries are built under the lock of the shapes
+            synchronized (shapePerId) {
+                ShapeGeometry shape = shapePerId.get(shapeId);
+                if (shape == null) {
+                    shape = new ShapeGeometry(shapeId);
+                    shapePerId.put(shapeId, shape);
+                    shapeIndex.put(shapeId, shape);
                 }
-            } else {
-                final SortedMap<Integer, ShapePoint> innerMap = new TreeMap<>();
-                innerMap.put(newShapePoint.getShapePtSequence(), newShapePoint);
-                shapePerIdShapePtSequence.put(shapeId, innerMap);
+                return shape.addShapePoint(newShapePoint) ? newShapePoint : null;
             }
-            return newShapePoint;
         } else {
             throw new IllegalArgumentException("Cannot add null shape point to data repository");
         }
     }
 
     /**
-     * Return an immutable map of shape points from shapes.txt related to the id provided as parameter; which represents
-     * a shape object. The returned map is ordered by shape_pt_sequence.
+     * Return the geometry of the shape from shapes.txt related to the id provided as parameter: its points ordered by
+     * shape_pt_sequence.
      *
-     * @param shapeId the key from shapes.txt related to the Route to be returned
-     * @return an immutable map of shape points from shapes.txt related to the id provided as parameter; which
-     * represents a shape object. The returned map is ordered by shape_pt_sequence.
+     * @param shapeId the key from shapes.txt related to the shape to be returned
+     * @return the geometry of the shape from shapes.txt related to the id provided as parameter, or null if no point
+     * of said shape was added
      */
     @Override
-    public SortedMap<Integer, ShapePoint> getShapeById(final String shapeId) {
-        try {
-            return Collections.unmodifiableSortedMap(shapePerIdShapePtSequence.get(shapeId));
-        } catch (NullPointerException e) {
-            return null;
-        }
+    public ShapeGeometry getShapeById(final String shapeId) {
+        return shapePerId.get(shapeId);
     }
 
     /**
      * Return an immutable map representing all records from shapes.txt. The key values for the returned map are
-     * shape_id and the value is another map, which keys are shape_pt_sequence and values are {@link ShapePoint}.
-     * Note that those are ordered by ascending shape_pt_sequence.
+     * shape_id and the values are the geometries of the shapes, which points are ordered by ascending
+     * shape_pt_sequence.
      *
      * @return an immutable map representing all records from shapes.txt
      */
     @Override
-    public Map<String, SortedMap<Integer, ShapePoint>> getShapeAll() {
-        return Collections.unmodifiableMap(shapePerIdShapePtSequence);
+    public Map<String, ShapeGeometry> getShapeAll() {
+        return Collections.unmodifiableMap(shapePerId);
     }
 
     /**
@@ -866,21 +903,11 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public StopTime addStopTime(final StopTime newStopTime) throws IllegalArgumentException {
+        checkNotFrozen();
         if (newStopTime != null) {
-            final String tripId = newStopTime.getTripId();
-            final Integer stopSequence = newStopTime.getStopSequence();
-            if (stopTimePerTripIdStopSequence.containsKey(tripId)) {
-                if (!stopTimePerTripIdStopSequence.get(tripId).containsKey(stopSequence)) {
-                    stopTimePerTripIdStopSequence.get(tripId).put(stopSequence, newStopTime);
-                } else {
-                    return null;
-                }
-            } else {
-                final TreeMap<Integer, StopTime> innerMap = new TreeMap<>();
-                innerMap.put(stopSequence, newStopTime);
-                stopTimePerTripIdStopSequence.put(tripId, innerMap);
+            synchronized (stopTimeStore) {
+                return stopTimeStore.add(newStopTime) ? newStopTime : null;
             }
-            return newStopTime;
         } else {
             throw new IllegalArgumentException("Cannot add null StopTime to data repository");
         }
@@ -888,25 +915,29 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
 
     /**
      * Return an immutable map of {@link StopTime} from stop_times.txt related to the trip_id provided as parameter.
-     * The returned map is ordered by stop_sequence
+     * The returned map is ordered by stop_sequence. It is a view of the columns of the stop times: each access to one
+     * of its values returns a new {@link StopTime} instance.
      *
      * @param tripId identifies a trip
      * @return an immutable map of {@link StopTime} from stop_times.txt related to the trip_id provided as parameter
      */
     @Override
     public SortedMap<Integer, StopTime> getStopTimeByTripId(final String tripId) {
-        return Collections.unmodifiableSortedMap(stopTimePerTripIdStopSequence.get(tripId));
+        // views of the store are read-only
+        return stopTimeStore.getStopTimesOfTrip(tripId);
     }
 
     /**
      * Return an immutable map representing all records from stop_times.txt. The key values for the returned map are
      * trip_id and the value is another map, which keys are stop_sequence and values are {@link StopTime}. Note that
-     * those are ordered by ascending stop_sequence.
+     * those are ordered by ascending stop_sequence. Inner maps are views of the columns of the stop times: each access
+     * to one of their values returns a new {@link StopTime} instance.
      *
      * @return an immutable map representing all records from stop_times.txt
      */
-    public Map<String, TreeMap<Integer, StopTime>> getStopTimeAll() {
-        return Collections.unmodifiableMap(stopTimePerTripIdStopSequence);
+    @Override
+    public Map<String, SortedMap<Integer, StopTime>> getStopTimeAll() {
+        return stopTimeStore.getStopTimesByTripId();
     }
 
     /**
@@ -922,33 +953,18 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public Translation addTranslation(final Translation newTranslationTable) throws IllegalArgumentException {
-        if (newTranslationTable != null) {
+        checkNotFrozen();
+        if (newTranslationTable == null) {
+            throw new IllegalArgumentException("Cannot add null Translation to data repository");
+        }
+        synchronized (translationPerTableName) {
             final String tableName = newTranslationTable.getTableName().toString().toLowerCase();
             final String fieldName = newTranslationTable.getFieldName();
             final String language = newTranslationTable.getLanguage();
-            if (translationPerTableName.containsKey(tableName)) {
-                if (translationPerTableName.get(tableName).containsKey(fieldName)) {
-                    if (translationPerTableName.get(tableName).get(fieldName).containsKey(language)) {
-                        return null;
-                    } else {
-                        translationPerTableName.get(tableName).get(fieldName).put(language, newTranslationTable);
-                    }
-                } else {
-                    final Map<String, Translation> firstLevelMap = new TreeMap<>();
-                    final Map<String, Map<String, Translation>> secondLevelMap = new TreeMap<>();
-                    secondLevelMap.put(language, firstLevelMap);
-                    translationPerTableName.put(fieldName, secondLevelMap);
-                }
-            } else {
-                final Map<String, Translation> firstLevelMap = new TreeMap<>();
-                firstLevelMap.put(language, newTranslationTable);
-                final Map<String, Map<String, Translation>> secondLevelMap = new TreeMap<>();
-                secondLevelMap.put(fieldName, firstLevelMap);
-                translationPerTableName.put(tableName, secondLevelMap);
-            }
-            return newTranslationTable;
-        } else {
-            throw new IllegalArgumentException("Cannot add null Translation to data repository");
+            return translationPerTableName
+                    .computeIfAbsent(tableName, key -> new TreeMap<>())
+                    .computeIfAbsent(fieldName, key -> new TreeMap<>())
+                    .putIfAbsent(language, newTranslationTable) == null ? newTranslationTable : null;
         }
     }
 
@@ -981,12 +997,14 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
      */
     @Override
     public LocationBase addStop(final LocationBase newStop) throws IllegalArgumentException {
+        checkNotFrozen();
         if (newStop != null) {
             final String stopId = newStop.getStopId();
-            if (stopPerId.containsKey(stopId)) {
-                return null;
-            } else {
-                stopPerId.put(stopId, newStop);
+            synchronized (stopPerId) {
+                if (stopPerId.putIfAbsent(stopId, newStop) != null) {
+                    return null;
+                }
+                stopIndex.put(stopId, newStop);
                 return newStop;
             }
         } else {
@@ -1018,6 +1036,236 @@ public class InMemoryGtfsDataRepository implements GtfsDataRepository {
         return stopPerId.get(stopId);
     }
 
+    /**
+     * Return the dense integer ids assigned to the stop_id values found in files `stops.txt` and `stop_times.txt`
+     *
+     * @return the dense integer ids assigned to stop_id values, designating {@link LocationBase} entities
+     */
+    @Override
+    public EntityIndex<LocationBase> getStopIndex() {
+        return stopIndex;
+    }
+
+    /**
+     * Return the dense integer ids assigned to the trip_id values found in files `trips.txt` and `stop_times.txt`
+     *
+     * @return the dense integer ids assigned to trip_id values, designating {@link Trip} entities
+     */
+    @Override
+    public EntityIndex<Trip> getTripIndex() {
+        return tripIndex;
+    }
+
+    /**
+     * Return the dense integer ids assigned to the route_id values found in files `routes.txt` and `trips.txt`
+     *
+     * @return the dense integer ids assigned to route_id values, designating {@link Route} entities
+     */
+    @Override
+    public EntityIndex<Route> getRouteIndex() {
+        return routeIndex;
+    }
+
+    /**
+     * Return the dense integer ids assigned to the service_id values found in files `calendar.txt`,
+     * `calendar_dates.txt` and `trips.txt`
+     *
+     * @return the dense integer ids assigned to service_id values, designating {@link Calendar} entities
+     */
+    @Override
+    public EntityIndex<Calendar> getServiceIndex() {
+        return serviceIndex;
+    }
+
+    /**
+     * Return the dense integer ids assigned to the shape_id values found in files `shapes.txt` and `trips.txt`
+     *
+     * @return the dense integer ids assigned to shape_id values, designating {@link ShapeGeometry} entities
+     */
+    @Override
+    public EntityIndex<ShapeGeometry> getShapeIndex() {
+        return shapeIndex;
+    }
+
+    /**
+     * Return the route_id of a trip as an index of {@link #getRouteIndex()}
+     *
+     * @param tripIndex the index of the trip_id of the trip in {@link #getTripIndex()}
+     * @return the index of the route_id of the trip, or {@link EntityIndex#NO_INDEX} if the trip is not defined in
+     * file `trips.txt` or has no route_id
+     */
+    @Override
+    public int getRouteIndexOfTrip(final int tripIndex) {
+        return getForeignKey(routeIndexByTripIndex, tripIndex);
+    }
+
+    /**
+     * Return the service_id of a trip as an index of {@link #getServiceIndex()}
+     *
+     * @param tripIndex the index of the trip_id of the trip in {@link #getTripIndex()}
+     * @return the index of the service_id of the trip, or {@link EntityIndex#NO_INDEX} if the trip is not defined in
+     * file `trips.txt` or has no service_id
+     */
+    @Override
+    public int getServiceIndexOfTrip(final int tripIndex) {
+        return getForeignKey(serviceIndexByTripIndex, tripIndex);
+    }
+
+    /**
+     * Return the shape_id of a trip as an index of {@link #getShapeIndex()}
+     *
+     * @param tripIndex the index of the trip_id of the trip in {@link #getTripIndex()}
+     * @return the index of the shape_id of the trip, or {@link EntityIndex#NO_INDEX} if the trip is not defined in
+     * file `trips.txt` or has no shape_id
+     */
+    @Override
+    public int getShapeIndexOfTrip(final int tripIndex) {
+        return getForeignKey(shapeIndexByTripIndex, tripIndex);
+    }
+
+    private static int getForeignKey(final int[] foreignKeys, final int tripIndex) {
+        return tripIndex < 0 || tripIndex >= foreignKeys.length ? EntityIndex.NO_INDEX : foreignKeys[tripIndex];
+    }
+
+    /**
+     * Return the dense integer ids assigned to the agency_id values found in files `agency.txt` and `routes.txt`. This
+     * index is built on first call, once all entities have been added to the repository.
+     *
+     * @return the dense integer ids assigned to agency_id values, designating {@link Agency} entities
+     */
+    @Override
+    public EntityIndex<Agency> getAgencyIndex() {
+        return secondaryIndexes.getAgencyIndex();
+    }
+
+    /**
+     * Return the dense integer ids assigned to the block_id values found in file `trips.txt`. This index is built on
+     * first call, once all entities have been added to the repository.
+     *
+     * @return the dense integer ids assigned to block_id values
+     */
+    @Override
+    public EntityIndex<Void> getBlockIndex() {
+        return secondaryIndexes.getBlockIndex();
+    }
+
+    /**
+     * Return the trips of each route, as indexes of {@link #getTripIndex()} per index of {@link #getRouteIndex()}.
+     * This index is built on first call, once all entities have been added to the repository.
+     *
+     * @return the trips of each route
+     */
+    @Override
+    public ReverseIndex getTripsByRoute() {
+        return secondaryIndexes.getTripsByRoute();
+    }
+
+    /**
+     * Return the trips of each service, as indexes of {@link #getTripIndex()} per index of {@link #getServiceIndex()}.
+     * This index is built on first call, once all entities have been added to the repository.
+     *
+     * @return the trips of each service
+     */
+    @Override
+    public ReverseIndex getTripsByService() {
+        return secondaryIndexes.getTripsByService();
+    }
+
+    /**
+     * Return the trips of each shape, as indexes of {@link #getTripIndex()} per index of {@link #getShapeIndex()}.
+     * This index is built on first call, once all entities have been added to the repository.
+     *
+     * @return the trips of each shape
+     */
+    @Override
+    public ReverseIndex getTripsByShape() {
+        return secondaryIndexes.getTripsByShape();
+    }
+
+    /**
+     * Return the trips of each block, as indexes of {@link #getTripIndex()} per index of {@link #getBlockIndex()}.
+     * This index is built on first call, once all entities have been added to the repository.
+     *
+     * @return the trips of each block
+     */
+    @Override
+    public ReverseIndex getTripsByBlock() {
+        return secondaryIndexes.getTripsByBlock();
+    }
+
+    /**
+     * Return the routes of each agency, as indexes of {@link #getRouteIndex()} per index of {@link #getAgencyIndex()}.
+     * This index is built on first call, once all entities have been added to the repository.
+     *
+     * @return the routes of each agency
+     */
+    @Override
+    public ReverseIndex getRoutesByAgency() {
+        return secondaryIndexes.getRoutesByAgency();
+    }
+
+    /**
+     * Return the stop times visiting each stop, as indexes of {@link #getTripIndex()} and stop_sequence values per
+     * index of {@link #getStopIndex()}. This index is built on first call, once all entities have been added to the
+     * repository.
+     *
+     * @return the stop times visiting each stop
+     */
+    @Override
+    public StopTimeReverseIndex getStopTimesByStop() {
+        return secondaryIndexes.getStopTimesByStop();
+    }
+
+    /**
+     * Return the days of service of each service_id, per index of {@link #getServiceIndex()}. These days are
+     * materialized on first call, once all entities have been added to the repository.
+     *
+     * @return the days of service of each service_id
+     */
+    @Override
+    public ServiceCalendar getServiceCalendar() {
+        return secondaryIndexes.getServiceCalendar();
+    }
+
+    /**
+     * Freeze this repository once all entities have been added: reclaims the room left for further insertions in the
+     * columns of stop times, in the points of shapes and in the foreign keys of trips, switches the dense integer ids
+     * to read-only lookup tables, and rejects any further insertion. Entities are not added concurrently with this.
+     */
+    @Override
+    public void freeze() {
+        if (isFrozen) {
+            return;
+        }
+        isFrozen = true;
+        synchronized (stopTimeStore) {
+            stopTimeStore.trimToSize();
+        }
+        synchronized (shapePerId) {
+            shapePerId.values().forEach(ShapeGeometry::trimToSize);
+        }
+        synchronized (tripPerId) {
+            final int tripCount = tripIndex.size();
+            routeIndexByTripIndex = resizeForeignKeys(routeIndexByTripIndex, tripCount);
+            serviceIndexByTripIndex = resizeForeignKeys(serviceIndexByTripIndex, tripCount);
+            shapeIndexByTripIndex = resizeForeignKeys(shapeIndexByTripIndex, tripCount);
+        }
+        stopIndex.freeze();
+        tripIndex.freeze();
+        routeIndex.freeze();
+        serviceIndex.freeze();
+        shapeIndex.freeze();
+    }
+
+    /**
+     * Throws an {@link IllegalStateException} if this repository is frozen: to be called before adding an entity
+     */
+    protected void checkNotFrozen() {
+        if (isFrozen) {
+            throw new IllegalStateException("Cannot add entities to a frozen data repository");
+        }
+    }
+
     /**
      * Returns `feed_info.feed_publisher_name` value if file `feed_info.txt` was provided, otherwise returns an empty
      * String
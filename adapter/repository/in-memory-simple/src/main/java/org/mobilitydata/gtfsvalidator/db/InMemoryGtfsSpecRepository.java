@@ -23,6 +23,7 @@ import org.mobilitydata.gtfsvalidator.domain.entity.RawFileInfo;
 import org.mobilitydata.gtfsvalidator.domain.entity.relationship_descriptor.RelationshipDescriptor;
 import org.mobilitydata.gtfsvalidator.parser.GtfsEntityParser;
 import org.mobilitydata.gtfsvalidator.parser.GtfsRelationshipParser;
+import org.mobilitydata.gtfsvalidator.parser.StringDictionary;
 import org.mobilitydata.gtfsvalidator.protos.GtfsSpecificationProto;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsSpecRepository;
 import org.mobilitydata.gtfsvalidator.validator.Bcp47Validator;
@@ -32,6 +33,7 @@ import org.moblitydata.gtfsvalidator.tree.GtfsNodeMaker;
 import java.io.IOException;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -42,11 +44,13 @@ import java.util.stream.Collectors;
 public class InMemoryGtfsSpecRepository implements GtfsSpecRepository {
 
     private final GtfsSpecificationProto.CsvSpecProtos inMemoryGTFSSpec;
-    private final Map<String, ParsedEntityTypeValidator> validatorByFilenameCache = new HashMap<>();
+    // accessed concurrently when files are processed in parallel
+    private final Map<String, ParsedEntityTypeValidator> validatorByFilenameCache = new ConcurrentHashMap<>();
     private final RelationshipDescriptor inMemoryGtfsRelationshipDescriptor;
+    // shared by the parsers of all the files of the feed, so that values repeated across files share one instance
+    private final StringDictionary stringDictionary = new StringDictionary();
 
     private static final String[] VALID_URL_SCHEMES = {"http", "https"};
-    private static final String VALID_COLOR_REGEX_PATTERN = "[0-9a-fA-F]{6}";
     private static final String VALID_TIME_REGEXP_PATTERN = "([0-9][0-9]|[0-9]):[0-5][0-9]:[0-5][0-9]";
 
     /**
@@ -170,10 +174,7 @@ public class InMemoryGtfsSpecRepository implements GtfsSpecRepository {
                         .findAny()
                         .orElse(null)),
                 file,
-                FloatValidator.getInstance(),
-                IntegerValidator.getInstance(),
-                DateValidator.getInstance(),
-                new RegexValidator(VALID_COLOR_REGEX_PATTERN));
+                stringDictionary);
     }
 
     /**
@@ -184,28 +185,21 @@ public class InMemoryGtfsSpecRepository implements GtfsSpecRepository {
      */
     @Override
     public ParsedEntityTypeValidator getValidatorForFile(RawFileInfo file) {
-        ParsedEntityTypeValidator toReturn = validatorByFilenameCache.get(file.getFilename());
-
-        if (toReturn == null) {
-            toReturn = new GtfsTypeValidator(
-                    Objects.requireNonNull(inMemoryGTFSSpec.getCsvspecList().stream()
-                            .filter(spec -> file.getFilename().equals(spec.getFilename()))
-                            .findAny()
-                            .orElse(null)),
-                    FloatValidator.getInstance(),
-                    IntegerValidator.getInstance(),
-                    new UrlValidator(VALID_URL_SCHEMES),
-                    new Bcp47Validator(),
-                    EmailValidator.getInstance(),
-                    new RegexValidator(VALID_TIME_REGEXP_PATTERN),
-                    // Uses IANA timezone database shipped with JDK
-                    // to update without updating JDK see
-                    // https://www.oracle.com/technetwork/java/javase/tzupdater-readme-136440.html
-                    ZoneId.getAvailableZoneIds());
-            validatorByFilenameCache.put(file.getFilename(), toReturn);
-        }
-
-        return toReturn;
+        return validatorByFilenameCache.computeIfAbsent(file.getFilename(), filename -> new GtfsTypeValidator(
+                Objects.requireNonNull(inMemoryGTFSSpec.getCsvspecList().stream()
+                        .filter(spec -> filename.equals(spec.getFilename()))
+                        .findAny()
+                        .orElse(null)),
+                FloatValidator.getInstance(),
+                IntegerValidator.getInstance(),
+                new UrlValidator(VALID_URL_SCHEMES),
+                new Bcp47Validator(),
+                EmailValidator.getInstance(),
+                new RegexValidator(VALID_TIME_REGEXP_PATTERN),
+                // Uses IANA timezone database shipped with JDK
+                // to update without updating JDK see
+                // https://www.oracle.com/technetwork/java/javase/tzupdater-readme-136440.html
+                ZoneId.getAvailableZoneIds()));
     }
 
     @Override
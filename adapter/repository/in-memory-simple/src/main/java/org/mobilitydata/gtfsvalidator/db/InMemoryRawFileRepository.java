@@ -16,13 +16,13 @@
 
 package org.mobilitydata.gtfsvalidator.db;
 
-import com.fasterxml.jackson.dataformat.csv.CsvMapper;
-import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import org.mobilitydata.gtfsvalidator.domain.entity.RawFileInfo;
 import org.mobilitydata.gtfsvalidator.usecase.port.RawFileRepository;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 
 /**
@@ -31,6 +31,8 @@ import java.util.*;
  * This is created when creating a new default configuration, all fields being set to their default value.
  */
 public class InMemoryRawFileRepository implements RawFileRepository {
+    // files at least this large are read in chunks whose rows can be tokenized and parsed concurrently
+    protected static final long MIN_CHUNKED_FILE_SIZE_BYTES = 4L * ChunkedRawEntityProvider.DEFAULT_CHUNK_SIZE_BYTES;
 
     private final Map<String, RawFileInfo> fileInfoPerFilename = new HashMap<>();
 
@@ -65,23 +67,14 @@ public class InMemoryRawFileRepository implements RawFileRepository {
      */
     @Override
     public List<String> getActualHeadersForFile(RawFileInfo file) {
-        File csvFile = new File(file.getPath() + File.separator + file.getFilename());
-        CsvMapper mapper = new CsvMapper();
-        CsvSchema schema = CsvSchema.emptySchema().withHeader();
-
-        List<String> toReturn = new ArrayList<>();
-
-        try {
-            ((CsvSchema) (mapper.readerFor(Map.class)
-                    .with(schema)
-                    .readValues(csvFile).getParser().getSchema())).iterator()
-                    .forEachRemaining(column -> toReturn.add(column.getName()));
-        } catch (IOException e) {
-            //TODO: this should go back up to use case level so it can be properly reported
+        //TODO: a failure to open the file should go back up to use case level so it can be properly reported
+        final Optional<RawEntityProvider> optionalProvider = getProviderForFile(file);
+        if (optionalProvider.isEmpty()) {
             return Collections.emptyList();
         }
-
-        return toReturn;
+        try (RawEntityProvider provider = optionalProvider.get()) {
+            return provider.getHeaders();
+        }
     }
 
     /**
@@ -95,7 +88,8 @@ public class InMemoryRawFileRepository implements RawFileRepository {
     }
 
     /**
-     * Returns a data provider for a GTFS CSV file
+     * Returns a data provider for a GTFS CSV file. The file is mapped in memory and tokenized directly from its bytes,
+     * unless it cannot be: it is then parsed by the CSV parser, in chunks if it is large.
      *
      * @param file information regarding a file to process
      * @return a data provider for a GTFS CSV file
@@ -104,9 +98,34 @@ public class InMemoryRawFileRepository implements RawFileRepository {
     public Optional<RawEntityProvider> getProviderForFile(RawFileInfo file) {
 
         try {
+            final File csvFile = new File(file.getPath() + File.separator + file.getFilename());
+            final Optional<RawEntityProvider> mappedProvider = MappedCsvRawEntityProvider.map(csvFile.toPath());
+            if (mappedProvider.isPresent()) {
+                return mappedProvider;
+            }
+            if (csvFile.length() >= MIN_CHUNKED_FILE_SIZE_BYTES) {
+                return Optional.of(createChunkedProvider(new FileInputStream(csvFile)));
+            }
             return Optional.of(new FromFileRawEntityProvider(file));
         } catch (IOException e) {
             return Optional.empty();
         }
     }
+
+    /**
+     * Returns a data provider reading the content of a large GTFS CSV file in chunks. The content is closed if the
+     * provider cannot be created, otherwise it is closed along with the provider.
+     *
+     * @param inputStream the content of the GTFS CSV file
+     * @return a data provider reading the content of the file in chunks
+     * @throws IOException if the headers of the file cannot be read
+     */
+    protected static RawEntityProvider createChunkedProvider(final InputStream inputStream) throws IOException {
+        try {
+            return new ChunkedRawEntityProvider(inputStream, ChunkedRawEntityProvider.DEFAULT_CHUNK_SIZE_BYTES);
+        } catch (IOException | RuntimeException e) {
+            inputStream.close();
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
+import org.mobilitydata.gtfsvalidator.domain.entity.RawEntity;
+import org.mobilitydata.gtfsvalidator.usecase.port.RawFileRepository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Provides the rows of a GTFS CSV file encoded in UTF-8, tokenized directly from the bytes of the file mapped in
+ * memory: the operating system page cache buffers the file, which is copied in bulk to a small window, and the value
+ * of each field is decoded to a {@link String} from the bytes of the window, without a character decoding pass over
+ * the whole file. Fields follow RFC 4180: they are separated by commas, records end with a line feed, a carriage
+ * return or both, and quoted fields may contain commas, line breaks and quotes escaped as two quotes. The line
+ * number of each row is the number of line breaks read so far, as counted by {@link CsvRecordScanner}.
+ * This is called in {@link InMemoryRawFileRepository} to read the files extracted from a GTFS archive.
+ */
+public class MappedCsvRawEntityProvider implements RawFileRepository.RawEntityProvider {
+    private static final byte[] UTF8_BYTE_ORDER_MARK = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final int WINDOW_SIZE = 64 * 1024;
+
+    // the content left to copy to the window, from the position of the buffer to its limit
+    private final ByteBuffer content;
+    // bytes are tokenized from a window the content is copied to in bulk, which is faster than reading them one by one
+    // from the mapped buffer. The bytes left to tokenize in the window range from windowPosition to windowLength
+    private final byte[] window;
+    private int windowPosition;
+    private int windowLength;
+    private final HeaderIndex headerIndex;
+    private final int chunkSize;
+    // number of line breaks of the file preceding the content left to tokenize
+    private int lineBreakCount;
+    // bytes of the value of the field being tokenized are either a run of consecutive bytes of the window, starting at
+    // runStart, or copied to fieldByteArray when the value is interrupted by a quote or by the end of the window
+    private int runStart = -1;
+    private byte[] fieldByteArray = new byte[64];
+    private int fieldLength;
+    // values of the row being tokenized, from 0 to valueCount. The buffer is reused for all the rows
+    private String[] valueBuffer = new String[16];
+    private int valueCount;
+    // the row returned by getNext, reused for all the rows
+    private final RawEntity row;
+
+    /**
+     * Creates a provider for the rows of a chunk of a GTFS CSV file, which does not contain the headers of the file
+     *
+     * @param content        the rows of the chunk
+     * @param headerIndex    the headers of the file, shared by all its chunks
+     * @param chunkSize      the minimum size in bytes of the chunks provided by {@link #chunkIterator()}
+     * @param windowSize     the size in bytes of the window the content is copied to
+     * @param lineBreakCount the number of line breaks of the file preceding the chunk
+     */
+    private MappedCsvRawEntityProvider(final ByteBuffer content, final HeaderIndex headerIndex, final int chunkSize,
+                                       final int windowSize, final int lineBreakCount) {
+        this.content = content;
+        this.window = new byte[Math.min(windowSize, content.remaining())];
+        this.headerIndex = headerIndex;
+        this.chunkSize = chunkSize;
+        this.lineBreakCount = lineBreakCount;
+        this.row = new RawEntity(headerIndex, valueBuffer, 0);
+    }
+
+    /**
+     * @param content    the content of a GTFS CSV file, from the position of the buffer to its limit
+     * @param chunkSize  the minimum size in bytes of the chunks provided by {@link #chunkIterator()}
+     * @param windowSize the size in bytes of the window the content is copied to
+     */
+    MappedCsvRawEntityProvider(final ByteBuffer content, final int chunkSize, final int windowSize) {
+        this.content = content;
+        this.chunkSize = chunkSize;
+        if (startsWith(content, UTF8_BYTE_ORDER_MARK)) {
+            content.position(content.position() + UTF8_BYTE_ORDER_MARK.length);
+        }
+        this.window = new byte[Math.min(windowSize, content.remaining())];
+        this.headerIndex = new HeaderIndex(readRow() ?
+                Arrays.asList(Arrays.copyOf(valueBuffer, valueCount)) :
+                Collections.emptyList());
+        this.row = new RawEntity(headerIndex, valueBuffer, 0);
+    }
+
+    /**
+     * Maps a GTFS CSV file in memory and returns a provider for its rows, unless the file cannot be tokenized byte by
+     * byte: that is if it is too large to be mapped, or if it starts with a UTF-16 or UTF-32 byte order mark
+     *
+     * @param path the path to a GTFS CSV file
+     * @return a provider for the rows of the file, or an empty {@link Optional} if the file cannot be mapped
+     * @throws IOException if the file cannot be read
+     */
+    public static Optional<RawFileRepository.RawEntityProvider> map(final Path path) throws IOException {
+        final ByteBuffer content;
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+            // the mapping remains valid once the channel is closed
+            content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (content.remaining() >= 2 && CsvRecordScanner.isUtf16OrUtf32ByteOrderMark(content.get(0), content.get(1))) {
+            return Optional.empty();
+        }
+        return Optional.of(new MappedCsvRawEntityProvider(content, ChunkedRawEntityProvider.DEFAULT_CHUNK_SIZE_BYTES,
+                WINDOW_SIZE));
+    }
+
+    private static boolean startsWith(final ByteBuffer buffer, final byte[] prefix) {
+        if (buffer.remaining() < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; ++i) {
+            if (buffer.get(buffer.position() + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tokenizes the next row of the content and the line break ending it, if any, into the value buffer
+     *
+     * @return true if a row was tokenized, false if the whole content has been tokenized
+     */
+    private boolean readRow() {
+        if (!fillWindow()) {
+            return false;
+        }
+        valueCount = 0;
+        boolean isFieldStart = true;
+        boolean isQuoted = false;
+        boolean isQuoteInQuoted = false;
+        byte previous = 0;
+        while (windowPosition < windowLength || fillWindow()) {
+            final byte b = window[windowPosition++];
+            final boolean isAfterCarriageReturn = previous == '\r';
+            previous = b;
+            if (isQuoted) {
+                if (b == '"') {
+                    endRun(windowPosition - 1);
+                    isQuoted = false;
+                    isQuoteInQuoted = true;
+                    continue;
+                }
+                // line breaks within quotes are part of the value
+                if (b == '\r' || (b == '\n' && !isAfterCarriageReturn)) {
+                    ++lineBreakCount;
+                }
+            } else if (b == '"' && isFieldStart) {
+                isQuoted = true;
+                isFieldStart = false;
+                continue;
+            } else if (b == '"' && isQuoteInQuoted) {
+                // escaped quote within a quoted field
+                isQuoted = true;
+                isQuoteInQuoted = false;
+            } else if (b == ',') {
+                endField(windowPosition - 1);
+                isFieldStart = true;
+                isQuoteInQuoted = false;
+                continue;
+            } else if (b == '\n' || b == '\r') {
+                endField(windowPosition - 1);
+                ++lineBreakCount;
+                if (b == '\r' && fillWindow() && window[windowPosition] == '\n') {
+                    ++windowPosition;
+                }
+                return true;
+            } else if (isQuoteInQuoted && CsvRecordScanner.isSpace(b)) {
+                // spaces following the closing quote of a field are not part of its value
+                continue;
+            } else {
+                isFieldStart = false;
+                isQuoteInQuoted = false;
+            }
+            if (runStart < 0) {
+                runStart = windowPosition - 1;
+            }
+        }
+        endField(windowPosition);
+        return true;
+    }
+
+    /**
+     * Adds the value of the current field to the values of the row
+     *
+     * @param fieldEnd the position in the window following the last byte of the field
+     */
+    private void endField(final int fieldEnd) {
+        if (fieldLength == 0) {
+            // the value is entirely in the window: it is decoded from it without being copied
+            addValue(runStart < 0 ? "" : new String(window, runStart, fieldEnd - runStart, StandardCharsets.UTF_8));
+        } else {
+            endRun(fieldEnd);
+            addValue(new String(fieldByteArray, 0, fieldLength, StandardCharsets.UTF_8));
+            fieldLength = 0;
+        }
+        runStart = -1;
+    }
+
+    private void addValue(final String value) {
+        if (valueCount == valueBuffer.length) {
+            valueBuffer = Arrays.copyOf(valueBuffer, 2 * valueBuffer.length);
+        }
+        valueBuffer[valueCount++] = value;
+    }
+
+    /**
+     * Copies the current run of bytes of the window to the value of the current field
+     *
+     * @param runEnd the position in the window following the last byte of the run
+     */
+    private void endRun(final int runEnd) {
+        if (runStart >= 0) {
+            appendToField(runStart, runEnd);
+            runStart = -1;
+        }
+    }
+
+    private void appendToField(final int start, final int end) {
+        final int length = end - start;
+        if (fieldLength + length > fieldByteArray.length) {
+            fieldByteArray = Arrays.copyOf(fieldByteArray, Math.max(2 * fieldByteArray.length, fieldLength + length));
+        }
+        System.arraycopy(window, start, fieldByteArray, fieldLength, length);
+        fieldLength += length;
+    }
+
+    /**
+     * Copies the next bytes of the content to the window if all the bytes of the window have been tokenized. The run
+     * of bytes of the current field is then copied to the value of said field, and continues at the start of the
+     * window.
+     *
+     * @return true if the window holds bytes left to tokenize, false if the whole content has been tokenized
+     */
+    private boolean fillWindow() {
+        if (windowPosition < windowLength) {
+            return true;
+        }
+        if (!content.hasRemaining()) {
+            return false;
+        }
+        final boolean isRunStarted = runStart >= 0;
+        if (isRunStarted) {
+            appendToField(runStart, windowLength);
+        }
+        windowLength = Math.min(window.length, content.remaining());
+        content.get(window, 0, windowLength);
+        windowPosition = 0;
+        runStart = isRunStarted ? 0 : -1;
+        return true;
+    }
+
+    /**
+     * Returns a boolean indicating if a GTFS CSV file has more rows that can be read. true if yes, else false.
+     *
+     * @return a boolean indicating if a GTFS CSV file has more rows that can be read. true if yes, else false
+     */
+    @Override
+    public boolean hasNext() {
+        return windowPosition < windowLength || content.hasRemaining();
+    }
+
+    /**
+     * Returns the next row of a GTFS CSV file as a {@link RawEntity}. The same instance is returned for all the rows,
+     * its values being tokenized into the same buffer.
+     *
+     * @return the next row of a GTFS CSV file as a {@link RawEntity}
+     */
+    @Override
+    public RawEntity getNext() {
+        if (!readRow()) {
+            throw new NoSuchElementException();
+        }
+        // rows are numbered as the CSV parser does: the line following the line break ending the row
+        row.setRow(valueBuffer, valueCount, lineBreakCount + 1);
+        return row;
+    }
+
+    /**
+     * Returns the number of header of a GTFS CSV file.
+     *
+     * @return the number of header of a GTFS CSV file.
+     */
+    @Override
+    public int getHeaderCount() {
+        return headerIndex.size();
+    }
+
+    /**
+     * Returns the collection of headers of a GTFS CSV file including duplicates, in the order they appear in the file.
+     *
+     * @return the collection of headers of a GTFS CSV file including duplicates
+     */
+    @Override
+    public List<String> getHeaders() {
+        return headerIndex.getHeaderList();
+    }
+
+    /**
+     * Returns providers over consecutive slices of the mapped content, each ending with the first record that ends
+     * after the chunk size. Finding where records end only requires a {@link CsvRecordScanner} to scan the bytes of
+     * the content: the slices are tokenized by the threads reading them.
+     *
+     * @return providers over the chunks of rows left to read, in the order of the file
+     */
+    @Override
+    public Iterator<RawFileRepository.RawEntityProvider> chunkIterator() {
+        return new Iterator<>() {
+            private final CsvRecordScanner scanner = new CsvRecordScanner();
+
+            @Override
+            public boolean hasNext() {
+                return MappedCsvRawEntityProvider.this.hasNext();
+            }
+
+            @Override
+            public RawFileRepository.RawEntityProvider next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                // the bytes of the window that have not been tokenized are part of the chunk
+                final int chunkStart = content.position() - (windowLength - windowPosition);
+                windowPosition = windowLength = 0;
+                final int chunkLineBreakCount = lineBreakCount + scanner.getLineBreakCount();
+                final int minimumChunkEnd = chunkStart + chunkSize;
+                int chunkEnd = chunkStart;
+                while (chunkEnd < content.limit()) {
+                    if (scanner.scan(content.get(chunkEnd++)) && chunkEnd >= minimumChunkEnd) {
+                        break;
+                    }
+                }
+                final ByteBuffer chunk = content.duplicate().position(chunkStart).limit(chunkEnd).slice();
+                content.position(chunkEnd);
+                return new MappedCsvRawEntityProvider(chunk, headerIndex, chunkSize, window.length,
+                        chunkLineBreakCount);
+            }
+        };
+    }
+}
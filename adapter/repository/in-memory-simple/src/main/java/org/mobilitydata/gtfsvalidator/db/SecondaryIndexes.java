@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import com.google.common.base.Suppliers;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.Agency;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.routes.Route;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
+import org.mobilitydata.gtfsvalidator.usecase.port.ReverseIndex;
+import org.mobilitydata.gtfsvalidator.usecase.port.ServiceCalendar;
+import org.mobilitydata.gtfsvalidator.usecase.port.StopTimeReverseIndex;
+
+import java.util.SortedMap;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Secondary indexes of a {@link GtfsDataRepository}, built from the entities and the dense integer ids exposed by the
+ * repository itself, so that they apply to any storage of the entities. Each index is built on first access and then
+ * cached: indexes are to be accessed once all entities have been added to the repository. An index is built only once
+ * when several validation rules request it concurrently, and is read without locking once built.
+ */
+final class SecondaryIndexes {
+    private final GtfsDataRepository dataRepo;
+
+    private final Supplier<DenseEntityIndex<Agency>> agencyIndex = Suppliers.memoize(this::buildAgencyIndex);
+    private final Supplier<DenseEntityIndex<Void>> blockIndex = Suppliers.memoize(this::buildBlockIndex);
+    private final Supplier<ReverseIndex> tripsByRoute = Suppliers.memoize(this::buildTripsByRoute);
+    private final Supplier<ReverseIndex> tripsByService = Suppliers.memoize(this::buildTripsByService);
+    private final Supplier<ReverseIndex> tripsByShape = Suppliers.memoize(this::buildTripsByShape);
+    private final Supplier<ReverseIndex> tripsByBlock = Suppliers.memoize(this::buildTripsByBlock);
+    private final Supplier<ReverseIndex> routesByAgency = Suppliers.memoize(this::buildRoutesByAgency);
+    private final Supplier<StopTimeReverseIndex> stopTimesByStop = Suppliers.memoize(this::buildStopTimesByStop);
+    private final Supplier<ServiceCalendar> serviceCalendar = Suppliers.memoize(this::buildServiceCalendar);
+
+    /**
+     * @param dataRepo the repository to index
+     */
+    SecondaryIndexes(final GtfsDataRepository dataRepo) {
+        this.dataRepo = dataRepo;
+    }
+
+    /**
+     * Returns the dense integer ids of the agency_id values: the ids of the agencies first, then the ids only referred
+     * to by routes, in the order of the routes
+     *
+     * @return the dense integer ids of the agency_id values
+     */
+    EntityIndex<Agency> getAgencyIndex() {
+        return agencyIndex.get();
+    }
+
+    /**
+     * Returns the dense integer ids of the block_id values, in the order of the trips referring to them
+     *
+     * @return the dense integer ids of the block_id values
+     */
+    EntityIndex<Void> getBlockIndex() {
+        return blockIndex.get();
+    }
+
+    ReverseIndex getTripsByRoute() {
+        return tripsByRoute.get();
+    }
+
+    ReverseIndex getTripsByService() {
+        return tripsByService.get();
+    }
+
+    ReverseIndex getTripsByShape() {
+        return tripsByShape.get();
+    }
+
+    ReverseIndex getTripsByBlock() {
+        return tripsByBlock.get();
+    }
+
+    ReverseIndex getRoutesByAgency() {
+        return routesByAgency.get();
+    }
+
+    /**
+     * Returns the stop times visiting each stop, ordered by trip index then by stop_sequence
+     *
+     * @return the stop times visiting each stop
+     */
+    StopTimeReverseIndex getStopTimesByStop() {
+        return stopTimesByStop.get();
+    }
+
+    /**
+     * Returns the days of service of each service_id, per index of the service_id
+     *
+     * @return the days of service of each service_id
+     */
+    ServiceCalendar getServiceCalendar() {
+        return serviceCalendar.get();
+    }
+
+    private DenseEntityIndex<Agency> buildAgencyIndex() {
+        final DenseEntityIndex<Agency> index = new DenseEntityIndex<>();
+        dataRepo.getAgencyAll().forEach(index::put);
+        final EntityIndex<Route> routeIndex = dataRepo.getRouteIndex();
+        for (int i = 0; i < routeIndex.size(); ++i) {
+            final Route route = routeIndex.get(i);
+            if (route != null) {
+                index.register(route.getAgencyId());
+            }
+        }
+        index.freeze();
+        return index;
+    }
+
+    private DenseEntityIndex<Void> buildBlockIndex() {
+        final DenseEntityIndex<Void> index = new DenseEntityIndex<>();
+        final EntityIndex<Trip> tripIndex = dataRepo.getTripIndex();
+        for (int i = 0; i < tripIndex.size(); ++i) {
+            final Trip trip = tripIndex.get(i);
+            if (trip != null) {
+                index.register(trip.getBlockId());
+            }
+        }
+        index.freeze();
+        return index;
+    }
+
+    private ReverseIndex buildTripsByRoute() {
+        return indexTrips(dataRepo::getRouteIndexOfTrip, dataRepo.getRouteIndex().size());
+    }
+
+    private ReverseIndex buildTripsByService() {
+        return indexTrips(dataRepo::getServiceIndexOfTrip, dataRepo.getServiceIndex().size());
+    }
+
+    private ReverseIndex buildTripsByShape() {
+        return indexTrips(dataRepo::getShapeIndexOfTrip, dataRepo.getShapeIndex().size());
+    }
+
+    private ReverseIndex buildTripsByBlock() {
+        final EntityIndex<Void> blockIndex = getBlockIndex();
+        final EntityIndex<Trip> tripIndex = dataRepo.getTripIndex();
+        final CsrIndex.Builder builder = new CsrIndex.Builder();
+        for (int i = 0; i < tripIndex.size(); ++i) {
+            final Trip trip = tripIndex.get(i);
+            if (trip != null) {
+                builder.add(blockIndex.indexOf(trip.getBlockId()), i);
+            }
+        }
+        return builder.build(blockIndex.size());
+    }
+
+    private ReverseIndex buildRoutesByAgency() {
+        final EntityIndex<Agency> agencyIndex = getAgencyIndex();
+        final EntityIndex<Route> routeIndex = dataRepo.getRouteIndex();
+        final CsrIndex.Builder builder = new CsrIndex.Builder();
+        for (int i = 0; i < routeIndex.size(); ++i) {
+            final Route route = routeIndex.get(i);
+            if (route != null) {
+                builder.add(agencyIndex.indexOf(route.getAgencyId()), i);
+            }
+        }
+        return builder.build(agencyIndex.size());
+    }
+
+    private StopTimeReverseIndex buildStopTimesByStop() {
+        final EntityIndex<Trip> tripIndex = dataRepo.getTripIndex();
+        final EntityIndex<?> stopIndex = dataRepo.getStopIndex();
+        final StopTimeCsrIndex.Builder builder = new StopTimeCsrIndex.Builder();
+        for (int i = 0; i < tripIndex.size(); ++i) {
+            final SortedMap<Integer, StopTime> stopTimeByStopSequence =
+                    dataRepo.getStopTimeByTripId(tripIndex.getId(i));
+            if (stopTimeByStopSequence == null) {
+                continue;
+            }
+            for (final StopTime stopTime : stopTimeByStopSequence.values()) {
+                final int stopTimeStopIndex = stopTime.getStopIndex() == StopTime.NO_INDEX ?
+                        stopIndex.indexOf(stopTime.getStopId()) :
+                        stopTime.getStopIndex();
+                builder.add(stopTimeStopIndex, i, stopTime.getStopSequence());
+            }
+        }
+        return builder.build(stopIndex.size());
+    }
+
+    private ServiceCalendar buildServiceCalendar() {
+        return BitSetServiceCalendar.build(dataRepo.getServiceIndex(), dataRepo.getCalendarDateAll());
+    }
+
+    private ReverseIndex indexTrips(final IntUnaryOperator keyOfTrip, final int keyCount) {
+        final CsrIndex.Builder builder = new CsrIndex.Builder();
+        final int tripCount = dataRepo.getTripIndex().size();
+        for (int i = 0; i < tripCount; ++i) {
+            builder.add(keyOfTrip.applyAsInt(i), i);
+        }
+        return builder.build(keyCount);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.mobilitydata.gtfsvalidator.usecase.port.StopTimeReverseIndex;
+
+import java.util.Arrays;
+
+/**
+ * {@link CsrIndex} of the stop times visiting each stop: each entry, the index of the trip_id of a stop time, is
+ * tagged with the stop_sequence of said stop time, stored in an array parallel to the values.
+ */
+final class StopTimeCsrIndex extends CsrIndex implements StopTimeReverseIndex {
+    private final int[] stopSequences;
+
+    private StopTimeCsrIndex(final int[] offsets, final int[] tripIndexes, final int[] stopSequences) {
+        super(offsets, tripIndexes);
+        this.stopSequences = stopSequences;
+    }
+
+    @Override
+    public int getStopSequence(final int stopIndex, final int position) {
+        return stopSequences[getEntry(stopIndex, position)];
+    }
+
+    /**
+     * Collects the stop times of a {@link StopTimeCsrIndex}. This is not thread-safe.
+     */
+    static final class Builder {
+        private final CsrIndex.Builder entries = new CsrIndex.Builder();
+        private int[] stopSequences = new int[16];
+
+        /**
+         * Adds a stop time. Stop times whose stop index is negative, such as
+         * {@link org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex#NO_INDEX}, are ignored.
+         *
+         * @param stopIndex    the index of the stop_id of the stop time
+         * @param tripIndex    the index of the trip_id of the stop time
+         * @param stopSequence the stop_sequence of the stop time
+         * @return this builder
+         */
+        Builder add(final int stopIndex, final int tripIndex, final int stopSequence) {
+            if (stopIndex < 0) {
+                return this;
+            }
+            final int entry = entries.size();
+            if (entry == stopSequences.length) {
+                stopSequences = Arrays.copyOf(stopSequences, entry * 2);
+            }
+            stopSequences[entry] = stopSequence;
+            entries.add(stopIndex, tripIndex);
+            return this;
+        }
+
+        /**
+         * Builds the index of the stop times added so far
+         *
+         * @param stopCount the number of stops of the index: stop times whose stop index is not below this number
+         *                  are ignored
+         * @return the index of the stop times added so far
+         */
+        StopTimeCsrIndex build(final int stopCount) {
+            final int[] offsets = entries.getOffsets(stopCount);
+            return new StopTimeCsrIndex(offsets, entries.groupValuesByKey(offsets),
+                    entries.groupByKey(stopSequences, offsets));
+        }
+    }
+}
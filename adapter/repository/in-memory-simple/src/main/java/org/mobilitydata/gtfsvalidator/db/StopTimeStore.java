@@ -0,0 +1,492 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.LocationBase;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.*;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
+
+import java.util.*;
+
+/**
+ * Columnar storage of the rows of stop_times.txt. Instead of one {@link StopTime} object per row, the values of each
+ * column are kept in a primitive array; the rows of a trip occupy a contiguous range of said arrays, sorted by
+ * stop_sequence. Rows of a trip appended in increasing stop_sequence order, which is how stop_times.txt is usually
+ * sorted, are written at the end of the arrays without any search. Other rows are inserted at their position in the
+ * range of their trip, which is first moved to the end of the arrays if rows of other trips were appended after it;
+ * the ranges left behind are reclaimed once they take as much room as the rows in use. Trip ids and stop ids are
+ * registered in the {@link DenseEntityIndex} of the repository, and stop ids are stored as their index in it.
+ * <p>
+ * Stop times are handed over through read-only views which recreate a {@link StopTime} from the columns each time one
+ * is accessed. This is not thread-safe: rows are to be added by a single thread at a time, and views are not to be
+ * used while rows are added.
+ */
+final class StopTimeStore {
+    private static final int INITIAL_CAPACITY = 1024;
+    // stands for null arrival and departure times
+    private static final int NO_TIME = Integer.MIN_VALUE;
+    // stands for null enum values
+    private static final int NO_CODE = -1;
+
+    private static final PickupType[] PICKUP_TYPES = PickupType.values();
+    private static final DropOffType[] DROP_OFF_TYPES = DropOffType.values();
+    private static final ContinuousPickup[] CONTINUOUS_PICKUPS = ContinuousPickup.values();
+    private static final ContinuousDropOff[] CONTINUOUS_DROP_OFFS = ContinuousDropOff.values();
+    private static final Timepoint[] TIMEPOINTS = Timepoint.values();
+
+    // range of rows of each trip, in the order of the first row of each trip
+    private final Map<String, TripRange> tripRangeByTripId = new LinkedHashMap<>();
+    // trip of the last row added, to skip the lookup of the trip when rows of the same trip follow each other
+    private TripRange lastTripRange;
+    private final DenseEntityIndex<Trip> tripIndex;
+    private final DenseEntityIndex<LocationBase> stopIndex;
+
+    private int[] arrivalTimes = new int[INITIAL_CAPACITY];
+    private int[] departureTimes = new int[INITIAL_CAPACITY];
+    private int[] stopSequences = new int[INITIAL_CAPACITY];
+    private int[] stopIndexes = new int[INITIAL_CAPACITY];
+    // NaN stands for a null distance
+    private float[] shapeDistTraveled = new float[INITIAL_CAPACITY];
+    private byte[] pickupTypes = new byte[INITIAL_CAPACITY];
+    private byte[] dropOffTypes = new byte[INITIAL_CAPACITY];
+    private byte[] continuousPickups = new byte[INITIAL_CAPACITY];
+    private byte[] continuousDropOffs = new byte[INITIAL_CAPACITY];
+    private byte[] timepoints = new byte[INITIAL_CAPACITY];
+    private String[] stopHeadsigns = new String[INITIAL_CAPACITY];
+    // number of rows of the arrays in use, including the ranges left behind by trips moved to the end of the arrays
+    private int rowCount;
+    // number of rows left behind by trips moved to the end of the arrays
+    private int unusedRowCount;
+
+    /**
+     * Range of the rows of a trip in the arrays of the store
+     */
+    private static final class TripRange {
+        private final String tripId;
+        private final int tripIndex;
+        private int start;
+        private int size;
+
+        private TripRange(final String tripId, final int tripIndex, final int start) {
+            this.tripId = tripId;
+            this.tripIndex = tripIndex;
+            this.start = start;
+        }
+
+        private int end() {
+            return start + size;
+        }
+    }
+
+    /**
+     * @param tripIndex the index in which the trip ids of the stop times are registered
+     * @param stopIndex the index in which the stop ids of the stop times are registered
+     */
+    StopTimeStore(final DenseEntityIndex<Trip> tripIndex, final DenseEntityIndex<LocationBase> stopIndex) {
+        this.tripIndex = tripIndex;
+        this.stopIndex = stopIndex;
+    }
+
+    /**
+     * Adds a stop time to this store, unless a stop time with the same trip_id and stop_sequence was already added
+     *
+     * @param stopTime the stop time to add
+     * @return true if the stop time was added, false if a stop time with the same trip_id and stop_sequence was
+     * already added
+     */
+    boolean add(final StopTime stopTime) {
+        final String tripId = stopTime.getTripId();
+        final int stopSequence = stopTime.getStopSequence();
+        TripRange tripRange = lastTripRange;
+        if (tripRange == null || !tripRange.tripId.equals(tripId)) {
+            tripRange = tripRangeByTripId.get(tripId);
+            if (tripRange == null) {
+                tripRange = new TripRange(tripId, tripIndex.register(tripId), rowCount);
+                tripRangeByTripId.put(tripId, tripRange);
+            }
+            lastTripRange = tripRange;
+        }
+        if (tripRange.end() == rowCount &&
+                (tripRange.size == 0 || stopSequence > stopSequences[rowCount - 1])) {
+            // fast path: the row follows the last row of the trip, which is the last row of the arrays
+            ensureCapacity(rowCount + 1);
+            write(rowCount, stopTime);
+            ++rowCount;
+            ++tripRange.size;
+            return true;
+        }
+        final int searchResult = Arrays.binarySearch(stopSequences, tripRange.start, tripRange.end(), stopSequence);
+        if (searchResult >= 0) {
+            return false;
+        }
+        int insertionRow = -searchResult - 1;
+        if (tripRange.end() != rowCount) {
+            // moves the trip to the end of the arrays so that its range can grow
+            final int newStart = rowCount;
+            ensureCapacity(rowCount + tripRange.size + 1);
+            copyRows(tripRange.start, newStart, tripRange.size);
+            insertionRow += newStart - tripRange.start;
+            unusedRowCount += tripRange.size;
+            tripRange.start = newStart;
+            rowCount += tripRange.size;
+        } else {
+            ensureCapacity(rowCount + 1);
+        }
+        copyRows(insertionRow, insertionRow + 1, rowCount - insertionRow);
+        write(insertionRow, stopTime);
+        ++rowCount;
+        ++tripRange.size;
+        if (unusedRowCount > rowCount - unusedRowCount) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Compacts this store once all rows have been added: reclaims the rows left behind by trips moved to the end of the
+     * arrays, and trims the arrays to the rows in use
+     */
+    void trimToSize() {
+        if (unusedRowCount > 0) {
+            compact();
+        }
+        resize(rowCount);
+        lastTripRange = null;
+    }
+
+    /**
+     * Returns a read-only view of the stop times of a trip, sorted by stop_sequence
+     *
+     * @param tripId the trip_id of the stop times to return
+     * @return a read-only view of the stop times of the trip, or null if no stop time of said trip was added
+     */
+    SortedMap<Integer, StopTime> getStopTimesOfTrip(final String tripId) {
+        final TripRange tripRange = tripRangeByTripId.get(tripId);
+        return tripRange == null ? null : new TripStopTimeView(tripRange, null, null);
+    }
+
+    /**
+     * Returns a read-only view of the stop times of all trips, mapped on their trip_id then on their stop_sequence
+     *
+     * @return a read-only view of the stop times of all trips
+     */
+    Map<String, SortedMap<Integer, StopTime>> getStopTimesByTripId() {
+        return new StopTimesByTripIdView();
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= arrivalTimes.length) {
+            return;
+        }
+        resize(Math.max(capacity, arrivalTimes.length + (arrivalTimes.length >> 1)));
+    }
+
+    private void resize(final int capacity) {
+        arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+        departureTimes = Arrays.copyOf(departureTimes, capacity);
+        stopSequences = Arrays.copyOf(stopSequences, capacity);
+        stopIndexes = Arrays.copyOf(stopIndexes, capacity);
+        shapeDistTraveled = Arrays.copyOf(shapeDistTraveled, capacity);
+        pickupTypes = Arrays.copyOf(pickupTypes, capacity);
+        dropOffTypes = Arrays.copyOf(dropOffTypes, capacity);
+        continuousPickups = Arrays.copyOf(continuousPickups, capacity);
+        continuousDropOffs = Arrays.copyOf(continuousDropOffs, capacity);
+        timepoints = Arrays.copyOf(timepoints, capacity);
+        stopHeadsigns = Arrays.copyOf(stopHeadsigns, capacity);
+    }
+
+    private void copyRows(final int sourceRow, final int destinationRow, final int length) {
+        System.arraycopy(arrivalTimes, sourceRow, arrivalTimes, destinationRow, length);
+        System.arraycopy(departureTimes, sourceRow, departureTimes, destinationRow, length);
+        System.arraycopy(stopSequences, sourceRow, stopSequences, destinationRow, length);
+        System.arraycopy(stopIndexes, sourceRow, stopIndexes, destinationRow, length);
+        System.arraycopy(shapeDistTraveled, sourceRow, shapeDistTraveled, destinationRow, length);
+        System.arraycopy(pickupTypes, sourceRow, pickupTypes, destinationRow, length);
+        System.arraycopy(dropOffTypes, sourceRow, dropOffTypes, destinationRow, length);
+        System.arraycopy(continuousPickups, sourceRow, continuousPickups, destinationRow, length);
+        System.arraycopy(continuousDropOffs, sourceRow, continuousDropOffs, destinationRow, length);
+        System.arraycopy(timepoints, sourceRow, timepoints, destinationRow, length);
+        System.arraycopy(stopHeadsigns, sourceRow, stopHeadsigns, destinationRow, length);
+    }
+
+    /**
+     * Moves the ranges of all trips to the start of the arrays, in the order of their first row, reclaiming the rows
+     * left behind by trips moved to the end of the arrays
+     */
+    private void compact() {
+        final TripRange[] tripRangeArray = tripRangeByTripId.values().toArray(new TripRange[0]);
+        Arrays.sort(tripRangeArray, Comparator.comparingInt(tripRange -> tripRange.start));
+        int nextStart = 0;
+        for (final TripRange tripRange : tripRangeArray) {
+            // ranges only move towards the start of the arrays, after the ranges already moved
+            copyRows(tripRange.start, nextStart, tripRange.size);
+            tripRange.start = nextStart;
+            nextStart += tripRange.size;
+        }
+        Arrays.fill(stopHeadsigns, nextStart, rowCount, null);
+        rowCount = nextStart;
+        unusedRowCount = 0;
+    }
+
+    private void write(final int row, final StopTime stopTime) {
+        arrivalTimes[row] = encodeTime(stopTime.getArrivalTime());
+        departureTimes[row] = encodeTime(stopTime.getDepartureTime());
+        stopSequences[row] = stopTime.getStopSequence();
+        stopIndexes[row] = stopIndex.register(stopTime.getStopId());
+        shapeDistTraveled[row] = stopTime.getShapeDistTraveled() == null ? Float.NaN : stopTime.getShapeDistTraveled();
+        pickupTypes[row] = encodeEnum(stopTime.getPickupType());
+        dropOffTypes[row] = encodeEnum(stopTime.getDropOffType());
+        continuousPickups[row] = encodeEnum(stopTime.getContinuousPickup());
+        continuousDropOffs[row] = encodeEnum(stopTime.getContinuousDropOff());
+        timepoints[row] = encodeEnum(stopTime.getTimePoint());
+        stopHeadsigns[row] = stopTime.getStopHeadsign();
+    }
+
+    private StopTime read(final TripRange tripRange, final int row) {
+        return StopTime.restore(
+                tripRange.tripId,
+                decodeTime(arrivalTimes[row]),
+                decodeTime(departureTimes[row]),
+                stopIndex.getId(stopIndexes[row]),
+                stopSequences[row],
+                stopHeadsigns[row],
+                decodeEnum(PICKUP_TYPES, pickupTypes[row]),
+                decodeEnum(DROP_OFF_TYPES, dropOffTypes[row]),
+                decodeEnum(CONTINUOUS_PICKUPS, continuousPickups[row]),
+                decodeEnum(CONTINUOUS_DROP_OFFS, continuousDropOffs[row]),
+                Float.isNaN(shapeDistTraveled[row]) ? null : shapeDistTraveled[row],
+                decodeEnum(TIMEPOINTS, timepoints[row]),
+                tripRange.tripIndex,
+                stopIndexes[row]);
+    }
+
+    private static int encodeTime(final Integer time) {
+        return time == null ? NO_TIME : time;
+    }
+
+    private static Integer decodeTime(final int time) {
+        return time == NO_TIME ? null : time;
+    }
+
+    private static byte encodeEnum(final Enum<?> value) {
+        return (byte) (value == null ? NO_CODE : value.ordinal());
+    }
+
+    private static <E extends Enum<E>> E decodeEnum(final E[] values, final byte code) {
+        return code == NO_CODE ? null : values[code];
+    }
+
+    /**
+     * Read-only view of the stop times of all trips, mapped on their trip_id, in the order of the first row of each
+     * trip
+     */
+    private final class StopTimesByTripIdView extends AbstractMap<String, SortedMap<Integer, StopTime>> {
+
+        @Override
+        public SortedMap<Integer, StopTime> get(final Object tripId) {
+            final TripRange tripRange = tripRangeByTripId.get(tripId);
+            return tripRange == null ? null : new TripStopTimeView(tripRange, null, null);
+        }
+
+        @Override
+        public boolean containsKey(final Object tripId) {
+            return tripRangeByTripId.containsKey(tripId);
+        }
+
+        @Override
+        public int size() {
+            return tripRangeByTripId.size();
+        }
+
+        @Override
+        public Set<Entry<String, SortedMap<Integer, StopTime>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, SortedMap<Integer, StopTime>>> iterator() {
+                    final Iterator<TripRange> tripRangeIterator = tripRangeByTripId.values().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return tripRangeIterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, SortedMap<Integer, StopTime>> next() {
+                            final TripRange tripRange = tripRangeIterator.next();
+                            return new SimpleImmutableEntry<>(tripRange.tripId,
+                                    new TripStopTimeView(tripRange, null, null));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return tripRangeByTripId.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * Read-only view of the stop times of a trip whose stop_sequence is within optional bounds, mapped on their
+     * stop_sequence
+     */
+    private final class TripStopTimeView extends AbstractMap<Integer, StopTime>
+            implements SortedMap<Integer, StopTime> {
+        private final TripRange tripRange;
+        // inclusive lower bound of the stop_sequence of the stop times of this view, null if unbounded
+        private final Integer fromStopSequence;
+        // exclusive upper bound of the stop_sequence of the stop times of this view, null if unbounded
+        private final Integer toStopSequence;
+
+        private TripStopTimeView(final TripRange tripRange,
+                                 final Integer fromStopSequence,
+                                 final Integer toStopSequence) {
+            this.tripRange = tripRange;
+            this.fromStopSequence = fromStopSequence;
+            this.toStopSequence = toStopSequence;
+        }
+
+        private int firstRow() {
+            return fromStopSequence == null ? tripRange.start : lowerBound(fromStopSequence);
+        }
+
+        private int endRow() {
+            return toStopSequence == null ? tripRange.end() : Math.max(firstRow(), lowerBound(toStopSequence));
+        }
+
+        // index of the first row of the trip whose stop_sequence is greater or equal to the value provided
+        private int lowerBound(final int stopSequence) {
+            final int searchResult =
+                    Arrays.binarySearch(stopSequences, tripRange.start, tripRange.end(), stopSequence);
+            return searchResult >= 0 ? searchResult : -searchResult - 1;
+        }
+
+        private int findRow(final Object key) {
+            if (!(key instanceof Integer)) {
+                return -1;
+            }
+            final int firstRow = firstRow();
+            final int endRow = endRow();
+            if (firstRow == endRow) {
+                return -1;
+            }
+            final int row = Arrays.binarySearch(stopSequences, firstRow, endRow, (Integer) key);
+            return row >= 0 ? row : -1;
+        }
+
+        @Override
+        public StopTime get(final Object key) {
+            final int row = findRow(key);
+            return row < 0 ? null : read(tripRange, row);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return findRow(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return endRow() - firstRow();
+        }
+
+        @Override
+        public Comparator<? super Integer> comparator() {
+            return null;
+        }
+
+        @Override
+        public SortedMap<Integer, StopTime> subMap(final Integer fromKey, final Integer toKey) {
+            if (fromKey > toKey) {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            return new TripStopTimeView(tripRange, max(fromStopSequence, fromKey), min(toStopSequence, toKey));
+        }
+
+        @Override
+        public SortedMap<Integer, StopTime> headMap(final Integer toKey) {
+            return new TripStopTimeView(tripRange, fromStopSequence, min(toStopSequence, toKey));
+        }
+
+        @Override
+        public SortedMap<Integer, StopTime> tailMap(final Integer fromKey) {
+            return new TripStopTimeView(tripRange, max(fromStopSequence, fromKey), toStopSequence);
+        }
+
+        @Override
+        public Integer firstKey() {
+            if (isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return stopSequences[firstRow()];
+        }
+
+        @Override
+        public Integer lastKey() {
+            if (isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return stopSequences[endRow() - 1];
+        }
+
+        @Override
+        public Set<Entry<Integer, StopTime>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Integer, StopTime>> iterator() {
+                    final int endRow = endRow();
+                    return new Iterator<>() {
+                        private int row = firstRow();
+
+                        @Override
+                        public boolean hasNext() {
+                            return row < endRow;
+                        }
+
+                        @Override
+                        public Entry<Integer, StopTime> next() {
+                            if (row >= endRow) {
+                                throw new NoSuchElementException();
+                            }
+                            final Entry<Integer, StopTime> entry =
+                                    new SimpleImmutableEntry<>(stopSequences[row], read(tripRange, row));
+                            ++row;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return TripStopTimeView.this.size();
+                }
+            };
+        }
+
+        private Integer max(final Integer bound, final Integer key) {
+            Objects.requireNonNull(key);
+            return bound == null || key > bound ? key : bound;
+        }
+
+        private Integer min(final Integer bound, final Integer key) {
+            Objects.requireNonNull(key);
+            return bound == null || key < bound ? key : bound;
+        }
+    }
+}
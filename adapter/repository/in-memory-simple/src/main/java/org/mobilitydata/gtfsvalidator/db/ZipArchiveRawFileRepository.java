@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.RawFileInfo;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Holds information about the GTFS CSV files of a zip archive that have not been through the parsing process. Unlike
+ * {@link InMemoryRawFileRepository}, the content of the archive is never extracted to disk: the path of each
+ * {@link RawFileInfo} points to the zip archive itself, and each file is decompressed on the fly from its entry in the
+ * archive when its data provider is requested.
+ * This is created when creating a new default configuration if no extraction path is provided.
+ */
+public class ZipArchiveRawFileRepository extends InMemoryRawFileRepository {
+
+    private final Map<String, ZipFile> zipFilePerPath = new HashMap<>();
+
+    /**
+     * Returns a data provider streaming a GTFS CSV file from its entry in the zip archive located at the path of the
+     * {@link RawFileInfo}
+     *
+     * @param file information regarding a file to process: its path is the path to the zip archive containing it
+     * @return a data provider for a GTFS CSV file, reading the file in chunks if it is large, or an empty
+     * {@link Optional} if the archive or the entry can not be read
+     */
+    @Override
+    public Optional<RawEntityProvider> getProviderForFile(RawFileInfo file) {
+        try {
+            final ZipFile zipFile = getZipFile(file.getPath());
+            final ZipEntry entry = zipFile.getEntry(file.getFilename());
+            if (entry == null || entry.isDirectory()) {
+                return Optional.empty();
+            }
+            if (entry.getSize() >= MIN_CHUNKED_FILE_SIZE_BYTES) {
+                return Optional.of(createChunkedProvider(zipFile.getInputStream(entry)));
+            }
+            return Optional.of(new FromFileRawEntityProvider(zipFile.getInputStream(entry)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Closes the zip archives opened to read the files they contain
+     *
+     * @throws IOException if an archive cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        IOException exception = null;
+        for (final ZipFile zipFile : zipFilePerPath.values()) {
+            try {
+                zipFile.close();
+            } catch (IOException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        zipFilePerPath.clear();
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    // the archive is opened once: its central directory is then shared by all the files it contains, which can be
+    // read concurrently
+    private synchronized ZipFile getZipFile(final String pathToArchive) throws IOException {
+        ZipFile zipFile = zipFilePerPath.get(pathToArchive);
+        if (zipFile == null) {
+            zipFile = new ZipFile(pathToArchive);
+            zipFilePerPath.put(pathToArchive, zipFile);
+        }
+        return zipFile;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.Calendar;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.calendardates.CalendarDate;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.calendardates.ExceptionType;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BitSetServiceCalendarTest {
+    // 2020-08-03 is a monday
+    private static final LocalDate MONDAY = LocalDate.of(2020, 8, 3);
+
+    private static Calendar createCalendar(final boolean isWeekday, final boolean isWeekend,
+                                           final LocalDate startDate, final LocalDate endDate) {
+        final Calendar mockCalendar = mock(Calendar.class);
+        when(mockCalendar.isMonday()).thenReturn(isWeekday);
+        when(mockCalendar.isTuesday()).thenReturn(isWeekday);
+        when(mockCalendar.isWednesday()).thenReturn(isWeekday);
+        when(mockCalendar.isThursday()).thenReturn(isWeekday);
+        when(mockCalendar.isFriday()).thenReturn(isWeekday);
+        when(mockCalendar.isSaturday()).thenReturn(isWeekend);
+        when(mockCalendar.isSunday()).thenReturn(isWeekend);
+        when(mockCalendar.getStartDate()).thenReturn(startDate);
+        when(mockCalendar.getEndDate()).thenReturn(endDate);
+        return mockCalendar;
+    }
+
+    private static CalendarDate createCalendarDate(final LocalDate date, final ExceptionType exceptionType) {
+        final CalendarDate mockCalendarDate = mock(CalendarDate.class);
+        when(mockCalendarDate.getDate()).thenReturn(date);
+        when(mockCalendarDate.getExceptionType()).thenReturn(exceptionType);
+        return mockCalendarDate;
+    }
+
+    @Test
+    void servicesShouldOperateOnTheirWeekdaysWithinTheirDateRange() {
+        final DenseEntityIndex<Calendar> serviceIndex = new DenseEntityIndex<>();
+        // weekdays from wednesday 2020-08-05 to monday 2020-08-17
+        serviceIndex.put("weekday", createCalendar(true, false, MONDAY.plusDays(2), MONDAY.plusDays(14)));
+        serviceIndex.put("weekend", createCalendar(false, true, MONDAY, MONDAY.plusDays(27)));
+        serviceIndex.register("unknown");
+
+        final BitSetServiceCalendar underTest = BitSetServiceCalendar.build(serviceIndex, new HashMap<>());
+
+        assertFalse(underTest.isActive(0, MONDAY));
+        assertTrue(underTest.isActive(0, MONDAY.plusDays(2)));
+        assertTrue(underTest.isActive(0, MONDAY.plusDays(4)));
+        assertFalse(underTest.isActive(0, MONDAY.plusDays(5)));
+        assertTrue(underTest.isActive(0, MONDAY.plusDays(14)));
+        assertFalse(underTest.isActive(0, MONDAY.plusDays(15)));
+        assertTrue(underTest.isActive(1, MONDAY.plusDays(5)));
+        assertTrue(underTest.isActive(1, MONDAY.plusDays(27)));
+        assertFalse(underTest.isActive(1, MONDAY.minusDays(1)));
+        assertFalse(underTest.isActive(2, MONDAY.plusDays(2)));
+        assertFalse(underTest.isActive(EntityIndex.NO_INDEX, MONDAY.plusDays(2)));
+
+        assertFalse(underTest.haveCommonDay(0, 1));
+        assertTrue(underTest.haveCommonDay(0, 0));
+        assertFalse(underTest.haveCommonDay(0, 2));
+        assertEquals(List.of(), underTest.getCommonDays(0, 1));
+    }
+
+    @Test
+    void exceptionsShouldAddAndRemoveDaysOfService() {
+        final DenseEntityIndex<Calendar> serviceIndex = new DenseEntityIndex<>();
+        serviceIndex.put("weekday", createCalendar(true, false, MONDAY, MONDAY.plusDays(13)));
+        serviceIndex.put("weekend", createCalendar(false, true, MONDAY, MONDAY.plusDays(13)));
+        serviceIndex.register("dates only");
+        final Map<String, Map<LocalDate, CalendarDate>> calendarDatePerServiceId = new HashMap<>();
+        calendarDatePerServiceId.put("weekend", Map.of(
+                MONDAY.plusDays(7), createCalendarDate(MONDAY.plusDays(7), ExceptionType.ADDED_SERVICE),
+                MONDAY.plusDays(5), createCalendarDate(MONDAY.plusDays(5), ExceptionType.REMOVED_SERVICE)));
+        calendarDatePerServiceId.put("dates only", Map.of(
+                MONDAY.minusDays(10), createCalendarDate(MONDAY.minusDays(10), ExceptionType.ADDED_SERVICE),
+                MONDAY.plusDays(7), createCalendarDate(MONDAY.plusDays(7), ExceptionType.ADDED_SERVICE)));
+        calendarDatePerServiceId.put("undefined", Map.of(
+                MONDAY, createCalendarDate(MONDAY, ExceptionType.ADDED_SERVICE)));
+
+        final BitSetServiceCalendar underTest = BitSetServiceCalendar.build(serviceIndex, calendarDatePerServiceId);
+
+        assertTrue(underTest.isActive(1, MONDAY.plusDays(7)));
+        assertFalse(underTest.isActive(1, MONDAY.plusDays(5)));
+        assertTrue(underTest.isActive(1, MONDAY.plusDays(6)));
+        assertTrue(underTest.isActive(2, MONDAY.minusDays(10)));
+
+        assertEquals(List.of(MONDAY.plusDays(7)), underTest.getCommonDays(0, 1));
+        assertEquals(List.of(MONDAY.plusDays(7)), underTest.getCommonDays(1, 2));
+        assertTrue(underTest.haveCommonDay(0, 2));
+
+        final BitSet activeServices = underTest.getActiveServices(MONDAY.plusDays(7));
+        assertEquals(3, activeServices.cardinality());
+        assertEquals(BitSet.valueOf(new long[]{0b100}), underTest.getActiveServices(MONDAY.minusDays(10)));
+        assertTrue(underTest.getActiveServices(MONDAY.minusDays(11)).isEmpty());
+        assertTrue(underTest.getActiveServices(MONDAY.plusDays(100)).isEmpty());
+        // the returned set belongs to the caller
+        activeServices.clear();
+        assertEquals(3, underTest.getActiveServices(MONDAY.plusDays(7)).cardinality());
+    }
+}
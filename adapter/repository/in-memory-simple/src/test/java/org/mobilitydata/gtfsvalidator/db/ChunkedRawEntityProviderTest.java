@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.RawEntity;
+import org.mobilitydata.gtfsvalidator.usecase.port.RawFileRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedRawEntityProviderTest {
+    private static final String[] CONTENT_ARRAY = {
+            "stop_id,stop_name\nstop0,first stop\nstop1,second stop\n",
+            "stop_id,stop_name\r\nstop0,first stop\r\nstop1,second stop",
+            "\uFEFFstop_id,stop_name\nstop0,\"quoted, with comma\"\nstop1,\"quoted\nwith\r\nline breaks\"\n",
+            "stop_id,stop_name\nstop0,\"escaped \"\"quote\"\"\nand line break\"\n\nstop1,after blank line\n\n",
+            "stop_id,stop_name\nstop0,too,long\nstop1\n,\nstop2,\"\"\"\n\"\"\"\n",
+            "stop_id,stop_name\rstop0,carriage return\rstop1,\"\rquoted\r\"\n",
+            "\"stop_id\",\"stop\nname\"\n\"stop0\",\"first\"\n",
+            "stop_id,stop_name\n",
+            "stop_id,stop_name",
+            ""
+    };
+
+    private static List<String> describeRows(final RawFileRepository.RawEntityProvider provider) {
+        final List<String> rowDescriptionList = new ArrayList<>();
+        while (provider.hasNext()) {
+            final RawEntity rawEntity = provider.getNext();
+            final List<String> valueList = new ArrayList<>();
+            for (int i = 0; i < rawEntity.size(); ++i) {
+                valueList.add(rawEntity.get(i));
+            }
+            rowDescriptionList.add(rawEntity.getIndex() + ":" + valueList);
+        }
+        return rowDescriptionList;
+    }
+
+    private static ByteArrayInputStream toInputStream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rowsShouldBeTheSameAsWhenReadingTheWholeFile() throws IOException {
+        for (final String content : CONTENT_ARRAY) {
+            final FromFileRawEntityProvider expectedProvider = new FromFileRawEntityProvider(toInputStream(content));
+            final List<String> expectedRowList = describeRows(expectedProvider);
+
+            for (int chunkSize = 1; chunkSize <= content.length() + 1; ++chunkSize) {
+                final ChunkedRawEntityProvider underTest =
+                        new ChunkedRawEntityProvider(toInputStream(content), chunkSize);
+
+                assertEquals(expectedProvider.getHeaders(), underTest.getHeaders(), content);
+                assertEquals(expectedProvider.getHeaderCount(), underTest.getHeaderCount(), content);
+                assertEquals(expectedRowList, describeRows(underTest), content);
+            }
+        }
+    }
+
+    @Test
+    void chunksShouldProvideTheRowsOfTheFileInOrder() throws IOException {
+        for (final String content : CONTENT_ARRAY) {
+            final List<String> expectedRowList = describeRows(new FromFileRawEntityProvider(toInputStream(content)));
+
+            for (int chunkSize = 1; chunkSize <= content.length() + 1; ++chunkSize) {
+                final Iterator<RawFileRepository.RawEntityProvider> chunkIterator =
+                        new ChunkedRawEntityProvider(toInputStream(content), chunkSize).chunkIterator();
+                // chunks are all handed over before being read, as they would be to concurrent threads
+                final List<RawFileRepository.RawEntityProvider> chunkList = new ArrayList<>();
+                chunkIterator.forEachRemaining(chunkList::add);
+                final List<String> actualRowList = new ArrayList<>();
+                chunkList.forEach(chunk -> actualRowList.addAll(describeRows(chunk)));
+
+                assertEquals(expectedRowList, actualRowList, content);
+            }
+        }
+    }
+
+    @Test
+    void largeChunkSizeShouldProvideSingleChunk() throws IOException {
+        final Iterator<RawFileRepository.RawEntityProvider> chunkIterator =
+                new ChunkedRawEntityProvider(toInputStream(CONTENT_ARRAY[0]), 1024).chunkIterator();
+
+        assertTrue(chunkIterator.hasNext());
+        assertEquals(2, describeRows(chunkIterator.next()).size());
+        assertFalse(chunkIterator.hasNext());
+    }
+
+    @Test
+    void utf16ContentShouldNotBeSplit() throws IOException {
+        final byte[] content = "\uFEFFstop_id,stop_name\nstop0,first stop\nstop1,second stop\n"
+                .getBytes(StandardCharsets.UTF_16BE);
+        final List<String> expectedRowList =
+                describeRows(new FromFileRawEntityProvider(new ByteArrayInputStream(content)));
+
+        final ChunkedRawEntityProvider underTest = new ChunkedRawEntityProvider(new ByteArrayInputStream(content), 1);
+
+        assertEquals(List.of("stop_id", "stop_name"), underTest.getHeaders());
+        assertEquals(2, expectedRowList.size());
+        assertEquals(expectedRowList, describeRows(underTest));
+    }
+
+    @Test
+    void closeShouldCloseContentNotEntirelyRead() throws IOException {
+        final StringBuilder contentBuilder = new StringBuilder("stop_id,stop_name\n");
+        for (int i = 0; i < 20000; ++i) {
+            contentBuilder.append("stop").append(i).append(",stop name\n");
+        }
+        final boolean[] isClosed = {false};
+        final ByteArrayInputStream content =
+                new ByteArrayInputStream(contentBuilder.toString().getBytes(StandardCharsets.UTF_8)) {
+                    @Override
+                    public void close() {
+                        isClosed[0] = true;
+                    }
+                };
+
+        try (ChunkedRawEntityProvider underTest = new ChunkedRawEntityProvider(content, 1024)) {
+            assertEquals("stop0", underTest.getNext().get("stop_id"));
+            assertFalse(isClosed[0]);
+        }
+        assertTrue(isClosed[0]);
+    }
+}
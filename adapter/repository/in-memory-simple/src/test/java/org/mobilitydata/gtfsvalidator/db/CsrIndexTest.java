@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsrIndexTest {
+
+    @Test
+    void entriesShouldBeGroupedByKeyInInsertionOrder() {
+        final CsrIndex.Builder builder = new CsrIndex.Builder();
+        for (int value = 0; value < 100; ++value) {
+            builder.add(value % 7, value);
+        }
+        builder.add(EntityIndex.NO_INDEX, 100);
+
+        final CsrIndex underTest = builder.build(8);
+
+        assertEquals(8, underTest.getKeyCount());
+        for (int key = 0; key < 7; ++key) {
+            assertEquals(key < 2 ? 15 : 14, underTest.getCount(key));
+            for (int position = 0; position < underTest.getCount(key); ++position) {
+                assertEquals(key + 7 * position, underTest.get(key, position));
+            }
+        }
+        assertEquals(0, underTest.getCount(7));
+        assertEquals(0, underTest.getCount(8));
+        assertEquals(0, underTest.getCount(EntityIndex.NO_INDEX));
+        assertThrows(IndexOutOfBoundsException.class, () -> underTest.get(7, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> underTest.get(0, 15));
+    }
+}
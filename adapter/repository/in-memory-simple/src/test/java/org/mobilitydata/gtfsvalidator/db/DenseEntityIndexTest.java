@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DenseEntityIndexTest {
+
+    @Test
+    void idsShouldBeAssignedDenseIndexesInRegistrationOrder() {
+        final DenseEntityIndex<String> underTest = new DenseEntityIndex<>();
+
+        assertEquals(0, underTest.register("b"));
+        assertEquals(1, underTest.put("a", "entity a"));
+        assertEquals(0, underTest.put("b", "entity b"));
+        assertEquals(EntityIndex.NO_INDEX, underTest.register(null));
+
+        assertEquals(2, underTest.size());
+        assertEquals(1, underTest.indexOf("a"));
+        assertEquals("a", underTest.getId(1));
+        assertEquals("entity b", underTest.get(0));
+        assertEquals(EntityIndex.NO_INDEX, underTest.indexOf("c"));
+        assertNull(underTest.get(EntityIndex.NO_INDEX));
+        assertNull(underTest.getId(2));
+    }
+
+    @Test
+    void frozenIndexShouldFindEveryRegisteredId() {
+        final DenseEntityIndex<Integer> underTest = new DenseEntityIndex<>();
+        for (int i = 0; i < 1000; ++i) {
+            underTest.put("id" + i, i);
+        }
+
+        underTest.freeze();
+        underTest.freeze();
+
+        assertEquals(1000, underTest.size());
+        for (int i = 0; i < 1000; ++i) {
+            assertEquals(i, underTest.indexOf("id" + i));
+            assertEquals(i, underTest.register("id" + i));
+            assertEquals(i, underTest.get(i));
+        }
+        assertEquals(EntityIndex.NO_INDEX, underTest.indexOf("id1000"));
+        assertEquals(EntityIndex.NO_INDEX, underTest.indexOf(null));
+    }
+
+    @Test
+    void frozenIndexShouldRejectNewIds() {
+        final DenseEntityIndex<Integer> underTest = new DenseEntityIndex<>();
+        underTest.freeze();
+
+        assertEquals(EntityIndex.NO_INDEX, underTest.indexOf("id"));
+        final Exception exception = assertThrows(IllegalStateException.class, () -> underTest.register("id"));
+        assertEquals("Cannot register id id in a frozen index", exception.getMessage());
+        assertEquals(0, underTest.size());
+    }
+}
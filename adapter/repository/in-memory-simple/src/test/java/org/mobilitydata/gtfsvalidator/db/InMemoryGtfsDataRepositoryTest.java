@@ -25,11 +25,15 @@ import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.fareattributes.FareAttr
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.frequencies.Frequency;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.pathways.Pathway;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.routes.Route;
-import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.LocationBase;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.*;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.transfers.Transfer;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.translations.TableName;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.translations.Translation;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+import org.mobilitydata.gtfsvalidator.usecase.port.ReverseIndex;
+import org.mobilitydata.gtfsvalidator.usecase.port.StopTimeReverseIndex;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -228,12 +232,12 @@ class InMemoryGtfsDataRepositoryTest {
         underTest.addCalendarDate(calendarDate00);
         underTest.addCalendarDate(calendarDate01);
 
-        final Map<String, Map<String, CalendarDate>> toCheck = underTest.getCalendarDateAll();
+        final Map<String, Map<LocalDate, CalendarDate>> toCheck = underTest.getCalendarDateAll();
         assertEquals(2, toCheck.size());
         assertTrue(toCheck.containsKey("service id 00"));
-        assert (toCheck.get("service id 00").containsKey(date.toString()));
+        assert (toCheck.get("service id 00").containsKey(date));
         assertTrue(toCheck.containsKey("service id 01"));
-        assert (toCheck.get("service id 01").containsKey(date.toString()));
+        assert (toCheck.get("service id 01").containsKey(date));
     }
 
     @Test
@@ -446,6 +450,8 @@ class InMemoryGtfsDataRepositoryTest {
         assertEquals(mockTransfer01, underTest.getTransferByStopPair("stop id 0", "stop id 2"));
         assertEquals(mockTransfer02, underTest.getTransferByStopPair("stop id 4", "stop id 5"));
         assertEquals(mockTransfer03, underTest.getTransferByStopPair("stop id 0", "stop id 5"));
+        assertNull(underTest.getTransferByStopPair("stop id 1", "stop id 0"));
+        assertNull(underTest.getTransferByStopPair("unknown stop id", "stop id 1"));
     }
 
     @Test
@@ -542,8 +548,6 @@ class InMemoryGtfsDataRepositoryTest {
         final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
         when(mockFareRule00.getFareId()).thenReturn("fare id0");
         when(mockFareRule01.getFareId()).thenReturn("fare id1");
-        when(mockFareRule00.getFareRuleMappingKey()).thenReturn("fare id0" + "null" + "null" + "null" + "null");
-        when(mockFareRule01.getFareRuleMappingKey()).thenReturn("fare id1" + "null" + "null" + "null" + "null");
 
         assertEquals(mockFareRule00, underTest.addFareRule(mockFareRule00));
         assertEquals(mockFareRule01, underTest.addFareRule(mockFareRule01));
@@ -552,6 +556,24 @@ class InMemoryGtfsDataRepositoryTest {
                 null, null));
         assertEquals(mockFareRule01, underTest.getFareRule("fare id1", null, null,
                 null, null));
+        assertNull(underTest.getFareRule("fare id", "0", null, null, null));
+    }
+
+    @Test
+    void fareRulesWhichFieldsConcatenateToSameValueShouldBeDistinct() {
+        final FareRule mockFareRule00 = mock(FareRule.class);
+        final FareRule mockFareRule01 = mock(FareRule.class);
+        final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
+        when(mockFareRule00.getFareId()).thenReturn("fare");
+        when(mockFareRule00.getRouteId()).thenReturn("id");
+        when(mockFareRule01.getFareId()).thenReturn("fa");
+        when(mockFareRule01.getRouteId()).thenReturn("reid");
+
+        assertEquals(mockFareRule00, underTest.addFareRule(mockFareRule00));
+        assertEquals(mockFareRule01, underTest.addFareRule(mockFareRule01));
+
+        assertEquals(mockFareRule00, underTest.getFareRule("fare", "id", null, null, null));
+        assertEquals(mockFareRule01, underTest.getFareRule("fa", "reid", null, null, null));
     }
 
     @Test
@@ -584,15 +606,18 @@ class InMemoryGtfsDataRepositoryTest {
         final Frequency mockFrequency01 = mock(Frequency.class);
         final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
         when(mockFrequency00.getTripId()).thenReturn("trip id0");
+        when(mockFrequency00.getStartTime()).thenReturn(0);
         when(mockFrequency01.getTripId()).thenReturn("trip id1");
-        when(mockFrequency00.getFrequencyMappingKey()).thenReturn("fare id0" + "null");
-        when(mockFrequency01.getFrequencyMappingKey()).thenReturn("fare id1" + "null");
+        when(mockFrequency01.getStartTime()).thenReturn(3600);
 
         assertEquals(mockFrequency00, underTest.addFrequency(mockFrequency00));
         assertEquals(mockFrequency01, underTest.addFrequency(mockFrequency01));
 
-        assertEquals(mockFrequency00, underTest.getFrequency("fare id0", null));
-        assertEquals(mockFrequency01, underTest.getFrequency("fare id1", null));
+        assertEquals(mockFrequency00, underTest.getFrequency("trip id0", 0));
+        assertEquals(mockFrequency01, underTest.getFrequency("trip id1", 3600));
+        assertNull(underTest.getFrequency("trip id0", 3600));
+        assertNull(underTest.getFrequency("unknown trip id", 0));
+        assertNull(underTest.getFrequency("trip id0", null));
     }
 
     @Test
@@ -607,9 +632,6 @@ class InMemoryGtfsDataRepositoryTest {
         when(mockFrequency01.getStartTime()).thenReturn(1);
         when(mockFrequency02.getTripId()).thenReturn("second trip id");
         when(mockFrequency02.getStartTime()).thenReturn(1);
-        when(mockFrequency00.getFrequencyMappingKey()).thenReturn("first trip id" + "0");
-        when(mockFrequency01.getFrequencyMappingKey()).thenReturn("first trip id" + "1");
-        when(mockFrequency02.getFrequencyMappingKey()).thenReturn("second trip id" + "1");
 
         underTest.addFrequency(mockFrequency00);
         underTest.addFrequency(mockFrequency01);
@@ -634,23 +656,20 @@ class InMemoryGtfsDataRepositoryTest {
         final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
         when(mockFrequency00.getTripId()).thenReturn("trip id00");
         when(mockFrequency00.getStartTime()).thenReturn(235);
-        when(mockFrequency00.getFrequencyMappingKey()).thenReturn("trip id00235");
         when(mockFrequency01.getTripId()).thenReturn("trip id01");
-        when(mockFrequency00.getStartTime()).thenReturn(8985);
-        when(mockFrequency01.getFrequencyMappingKey()).thenReturn("trip id018985");
+        when(mockFrequency01.getStartTime()).thenReturn(8985);
 
         underTest.addFrequency(mockFrequency00);
         underTest.addFrequency(mockFrequency01);
 
-        assertTrue(underTest.getFrequencyAll().containsKey("trip id00235"));
-        assertTrue(underTest.getFrequencyAll().containsKey("trip id018985"));
+        assertEquals(List.of(mockFrequency00, mockFrequency01), new ArrayList<>(underTest.getFrequencyAll()));
     }
 
     @Test
     void getFrequencyAllShouldReturnImmutableFrequencyCollection() {
         final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
         assertThrows(UnsupportedOperationException.class, () ->
-                underTest.getFrequencyAll().put("test id", mock(Frequency.class)));
+                underTest.getFrequencyAll().add(mock(Frequency.class)));
     }
 
     @Test
@@ -700,12 +719,10 @@ class InMemoryGtfsDataRepositoryTest {
         final Attribution mockAttribution = mock(Attribution.class);
         final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
         when(mockAttribution.getOrganizationName()).thenReturn("organization name");
-        when(mockAttribution.getAttributionMappingKey()).thenReturn("mock key");
         underTest.addAttribution(mockAttribution);
 
         assertNull(underTest.addAttribution(mockAttribution));
-        verify(mockAttribution, times(2)).getAttributionMappingKey();
-        verifyNoMoreInteractions(mockAttribution);
+        verify(mockAttribution, times(2)).getOrganizationName();
     }
 
     @Test
@@ -716,10 +733,6 @@ class InMemoryGtfsDataRepositoryTest {
         when(mockAttribution01.getOrganizationName()).thenReturn("organization name 1");
 
         final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
-        when(mockAttribution00.getAttributionMappingKey())
-                .thenReturn("nullnullnullnullorganization name 0falsefalsefalsenullnullnull");
-        when(mockAttribution01.getAttributionMappingKey())
-                .thenReturn("nullnullnullnullorganization name 1falsefalsefalsenullnullnull");
 
         assertEquals(mockAttribution00, underTest.addAttribution(mockAttribution00));
         assertEquals(mockAttribution01, underTest.addAttribution(mockAttribution01));
@@ -730,9 +743,8 @@ class InMemoryGtfsDataRepositoryTest {
         assertEquals(mockAttribution01, underTest.getAttribution(null, null, null,
                 null, "organization name 1", false, false, false,
                 null, null, null));
-        verify(mockAttribution00, times(1)).getAttributionMappingKey();
-        verify(mockAttribution01, times(1)).getAttributionMappingKey();
-        verifyNoMoreInteractions(mockAttribution00, mockAttribution01);
+        verify(mockAttribution00, never()).getAttributionMappingKey();
+        verify(mockAttribution01, never()).getAttributionMappingKey();
     }
 
     @Test
@@ -747,11 +759,11 @@ class InMemoryGtfsDataRepositoryTest {
 
         underTest.addShapePoint(mockShapePoint);
         assertNull(underTest.addShapePoint(mockShapePoint));
-        assertEquals("test id", underTest.getShapeById("test id").get(4).getShapeId());
-        assertEquals(50f, underTest.getShapeById("test id").get(4).getShapePtLat());
-        assertEquals(100f, underTest.getShapeById("test id").get(4).getShapePtLon());
-        assertEquals(4, underTest.getShapeById("test id").get(4).getShapePtSequence());
-        assertEquals(56, underTest.getShapeById("test id").get(4).getShapeDistTraveled());
+        assertEquals("test id", underTest.getShapeById("test id").getShapePoints().get(4).getShapeId());
+        assertEquals(50f, underTest.getShapeById("test id").getShapePoints().get(4).getShapePtLat());
+        assertEquals(100f, underTest.getShapeById("test id").getShapePoints().get(4).getShapePtLon());
+        assertEquals(4, underTest.getShapeById("test id").getShapePoints().get(4).getShapePtSequence());
+        assertEquals(56, underTest.getShapeById("test id").getShapePoints().get(4).getShapeDistTraveled());
     }
 
     @Test
@@ -799,12 +811,15 @@ class InMemoryGtfsDataRepositoryTest {
         underTest.addShapePoint(mockShapePoint00);
         underTest.addShapePoint(mockShapePoint01);
 
-        final Map<Integer, ShapePoint> firstMapToCheck = underTest.getShapeById("test id00");
+        final ShapeGeometry firstShapeToCheck = underTest.getShapeById("test id00");
+        final ShapeGeometry secondShapeToCheck = underTest.getShapeById("test id01");
 
-        final Map<Integer, ShapePoint> secondMapToCheck = underTest.getShapeById("test id01");
-
-        assertEquals(firstMapToCheck, underTest.getShapeById("test id00"));
-        assertEquals(secondMapToCheck, underTest.getShapeById("test id01"));
+        assertEquals("test id00", firstShapeToCheck.getShapeId());
+        assertEquals(1, firstShapeToCheck.getPointCount());
+        assertEquals(4, firstShapeToCheck.getShapePtSequence(0));
+        assertEquals("test id01", secondShapeToCheck.getShapeId());
+        assertEquals(1, secondShapeToCheck.getPointCount());
+        assertEquals(8, secondShapeToCheck.getShapePtSequence(0));
     }
 
     @Test
@@ -815,17 +830,9 @@ class InMemoryGtfsDataRepositoryTest {
 
     @Test
     void addShapePointShouldMaintainOrder() {
-        final ShapePoint firstShapePointInSequence = mock(ShapePoint.class);
-        when(firstShapePointInSequence.getShapeId()).thenReturn("test id00");
-        when(firstShapePointInSequence.getShapePtSequence()).thenReturn(4);
-
-        final ShapePoint secondShapePointInSequence = mock(ShapePoint.class);
-        when(secondShapePointInSequence.getShapeId()).thenReturn("test id00");
-        when(secondShapePointInSequence.getShapePtSequence()).thenReturn(8);
-
-        final ShapePoint thirdShapePointInSequence = mock(ShapePoint.class);
-        when(thirdShapePointInSequence.getShapeId()).thenReturn("test id00");
-        when(thirdShapePointInSequence.getShapePtSequence()).thenReturn(12);
+        final ShapePoint firstShapePointInSequence = ShapePoint.restore("test id00", 45f, -73f, 4, null);
+        final ShapePoint secondShapePointInSequence = ShapePoint.restore("test id00", 45.1f, -73.1f, 8, 10f);
+        final ShapePoint thirdShapePointInSequence = ShapePoint.restore("test id00", 45.2f, -73.2f, 12, 20f);
 
         final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
 
@@ -834,14 +841,14 @@ class InMemoryGtfsDataRepositoryTest {
 
         final List<ShapePoint> toCheck = new ArrayList<>();
 
-        underTest.getShapeById("test id00").forEach((key, value) -> toCheck.add(value));
+        underTest.getShapeById("test id00").getShapePoints().forEach((key, value) -> toCheck.add(value));
         assertEquals(secondShapePointInSequence, toCheck.get(0));
         assertEquals(thirdShapePointInSequence, toCheck.get(1));
 
         underTest.addShapePoint(firstShapePointInSequence);
 
         toCheck.clear();
-        underTest.getShapeById("test id00").forEach((key, value) -> toCheck.add(value));
+        underTest.getShapeById("test id00").getShapePoints().forEach((key, value) -> toCheck.add(value));
 
         assertEquals(firstShapePointInSequence, toCheck.get(0));
         assertEquals(secondShapePointInSequence, toCheck.get(1));
@@ -863,7 +870,7 @@ class InMemoryGtfsDataRepositoryTest {
         underTest.addShapePoint(mockShapePoint00);
         underTest.addShapePoint(mockShapePoint01);
 
-        final Map<String, SortedMap<Integer, ShapePoint>> toCheck = underTest.getShapeAll();
+        final Map<String, ShapeGeometry> toCheck = underTest.getShapeAll();
 
         assertEquals(2, toCheck.size());
         assertTrue(toCheck.containsKey(mockShapePoint00.getShapeId()));
@@ -906,15 +913,19 @@ class InMemoryGtfsDataRepositoryTest {
         assertNull(underTest.addStopTime(duplicateStopTime));
     }
 
+    // stop times are restored from the columns of the repository: they are compared by value
+    private static StopTime createStopTime(final String tripId, final int stopSequence) {
+        return StopTime.restore(tripId, 3600 * stopSequence, 3600 * stopSequence + 60, "stop id" + stopSequence,
+                stopSequence, null, PickupType.REGULAR_PICKUP, DropOffType.REGULAR_DROP_OFF,
+                ContinuousPickup.NO_CONTINUOUS_PICKUP, ContinuousDropOff.NO_CONTINUOUS_DROP_OFF,
+                (float) stopSequence, Timepoint.EXACT_TIMES);
+    }
+
     @Test
-    void getStopTimeByTripIdAndAddStopTimeShouldReturnSameEntity() {
-        final StopTime mockStopTime00 = mock(StopTime.class);
-        when(mockStopTime00.getTripId()).thenReturn("trip id00");
-        when(mockStopTime00.getStopSequence()).thenReturn(3);
+    void getStopTimeByTripIdAndAddStopTimeShouldReturnEqualEntity() {
+        final StopTime mockStopTime00 = createStopTime("trip id00", 3);
 
-        final StopTime mockStopTime01 = mock(StopTime.class);
-        when(mockStopTime01.getTripId()).thenReturn("trip id01");
-        when(mockStopTime01.getStopSequence()).thenReturn(4);
+        final StopTime mockStopTime01 = createStopTime("trip id01", 4);
 
         final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
 
@@ -933,17 +944,11 @@ class InMemoryGtfsDataRepositoryTest {
 
     @Test
     void addStopTimeShouldMaintainOrder() {
-        final StopTime firstStopTimeInSequence = mock(StopTime.class);
-        when(firstStopTimeInSequence.getTripId()).thenReturn("trip id00");
-        when(firstStopTimeInSequence.getStopSequence()).thenReturn(4);
+        final StopTime firstStopTimeInSequence = createStopTime("trip id00", 4);
 
-        final StopTime secondStopTimeInSequence = mock(StopTime.class);
-        when(secondStopTimeInSequence.getTripId()).thenReturn("trip id00");
-        when(secondStopTimeInSequence.getStopSequence()).thenReturn(8);
+        final StopTime secondStopTimeInSequence = createStopTime("trip id00", 8);
 
-        final StopTime thirdStopTimeInSequence = mock(StopTime.class);
-        when(thirdStopTimeInSequence.getTripId()).thenReturn("trip id00");
-        when(thirdStopTimeInSequence.getStopSequence()).thenReturn(12);
+        final StopTime thirdStopTimeInSequence = createStopTime("trip id00", 12);
 
         final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
 
@@ -986,7 +991,7 @@ class InMemoryGtfsDataRepositoryTest {
         underTest.addStopTime(secondStopTimeInSequenceOfTrip00);
         underTest.addStopTime(firstStopTimeInSequenceOfTrip01);
 
-        final Map<String, TreeMap<Integer, StopTime>> toCheck = underTest.getStopTimeAll();
+        final Map<String, SortedMap<Integer, StopTime>> toCheck = underTest.getStopTimeAll();
         assertEquals(2, toCheck.size());
         assertEquals(2, toCheck.get("trip id00").size());
         assertTrue(toCheck.get("trip id00").containsKey(4));
@@ -995,6 +1000,301 @@ class InMemoryGtfsDataRepositoryTest {
         assertTrue(toCheck.get("trip id01").containsKey(12));
     }
 
+    @Test
+    void foreignKeysOfTripShouldBeIndexedWhetherReferencedEntitiesAreAddedBeforeOrAfterTrip() {
+        final Route mockRoute = mock(Route.class);
+        when(mockRoute.getRouteId()).thenReturn("route id");
+        final Calendar mockCalendar = mock(Calendar.class);
+        when(mockCalendar.getServiceId()).thenReturn("service id");
+        final Trip mockTrip = mock(Trip.class);
+        when(mockTrip.getTripId()).thenReturn("trip id");
+        when(mockTrip.getRouteId()).thenReturn("route id");
+        when(mockTrip.getServiceId()).thenReturn("service id");
+        when(mockTrip.getShapeId()).thenReturn("shape id");
+
+        final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
+
+        underTest.addCalendar(mockCalendar);
+        underTest.addTrip(mockTrip);
+        underTest.addRoute(mockRoute);
+
+        final int tripIndex = underTest.getTripIndex().indexOf("trip id");
+        assertEquals(mockTrip, underTest.getTripIndex().get(tripIndex));
+        assertEquals("trip id", underTest.getTripIndex().getId(tripIndex));
+        assertEquals(mockRoute, underTest.getRouteIndex().get(underTest.getRouteIndexOfTrip(tripIndex)));
+        assertEquals(mockCalendar, underTest.getServiceIndex().get(underTest.getServiceIndexOfTrip(tripIndex)));
+        // the shape is referred to but not defined
+        assertEquals("shape id", underTest.getShapeIndex().getId(underTest.getShapeIndexOfTrip(tripIndex)));
+        assertNull(underTest.getShapeIndex().get(underTest.getShapeIndexOfTrip(tripIndex)));
+
+        assertEquals(EntityIndex.NO_INDEX, underTest.getTripIndex().indexOf("unknown trip id"));
+        assertEquals(EntityIndex.NO_INDEX, underTest.getRouteIndexOfTrip(EntityIndex.NO_INDEX));
+        assertNull(underTest.getTripIndex().get(EntityIndex.NO_INDEX));
+    }
+
+    @Test
+    void stopTimesShouldCarryIndexesOfTheirTripAndStop() {
+        final LocationBase mockStop = mock(LocationBase.class);
+        when(mockStop.getStopId()).thenReturn("stop id3");
+        final Trip mockTrip = mock(Trip.class);
+        when(mockTrip.getTripId()).thenReturn("trip id00");
+
+        final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
+
+        underTest.addStopTime(createStopTime("trip id00", 3));
+        underTest.addStopTime(createStopTime("trip id01", 4));
+        underTest.addStop(mockStop);
+        underTest.addTrip(mockTrip);
+
+        final StopTime toCheck = underTest.getStopTimeByTripId("trip id00").get(3);
+        assertEquals(underTest.getTripIndex().indexOf("trip id00"), toCheck.getTripIndex());
+        assertEquals(mockTrip, underTest.getTripIndex().get(toCheck.getTripIndex()));
+        assertEquals(underTest.getStopIndex().indexOf("stop id3"), toCheck.getStopIndex());
+        assertEquals(mockStop, underTest.getStopIndex().get(toCheck.getStopIndex()));
+        // trip id01 is only referred to from stop_times.txt
+        assertNull(underTest.getTripIndex().get(
+                underTest.getStopTimeByTripId("trip id01").get(4).getTripIndex()));
+        assertEquals(2, underTest.getTripIndex().size());
+    }
+
+    @Test
+    void concurrentInsertionsShouldDetectEachDuplicateOnce() throws InterruptedException {
+        final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
+        final int threadCount = 4;
+        final int[] addedCountByThread = new int[threadCount];
+        final List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < threadCount; ++thread) {
+            final int threadNumber = thread;
+            // every thread adds the same stop times, stops and transfers: each of them is added exactly once
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 2000; ++i) {
+                    if (underTest.addStopTime(createStopTime("trip id" + i % 50, i / 50)) != null) {
+                        ++addedCountByThread[threadNumber];
+                    }
+                    final LocationBase mockStop = mock(LocationBase.class);
+                    when(mockStop.getStopId()).thenReturn("stop id" + i % 300);
+                    if (underTest.addStop(mockStop) != null) {
+                        ++addedCountByThread[threadNumber];
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(2000 + 300, Arrays.stream(addedCountByThread).sum());
+        assertEquals(50, underTest.getStopTimeAll().size());
+        assertEquals(40, underTest.getStopTimeByTripId("trip id7").size());
+        assertEquals(300, underTest.getStopAll().size());
+        assertEquals(300, underTest.getStopIndex().size());
+        assertEquals(50, underTest.getTripIndex().size());
+        final int stopIndex = underTest.getStopIndex().indexOf("stop id42");
+        assertEquals("stop id42", underTest.getStopIndex().getId(stopIndex));
+        assertEquals("stop id42", underTest.getStopIndex().get(stopIndex).getStopId());
+    }
+
+    private static Trip mockTrip(final String tripId, final String routeId, final String serviceId,
+                                 final String shapeId, final String blockId) {
+        final Trip mockTrip = mock(Trip.class);
+        when(mockTrip.getTripId()).thenReturn(tripId);
+        when(mockTrip.getRouteId()).thenReturn(routeId);
+        when(mockTrip.getServiceId()).thenReturn(serviceId);
+        when(mockTrip.getShapeId()).thenReturn(shapeId);
+        when(mockTrip.getBlockId()).thenReturn(blockId);
+        return mockTrip;
+    }
+
+    private static List<String> getTripIds(final InMemoryGtfsDataRepository underTest, final ReverseIndex index,
+                                           final int key) {
+        final List<String> tripIds = new ArrayList<>();
+        for (int position = 0; position < index.getCount(key); ++position) {
+            tripIds.add(underTest.getTripIndex().getId(index.get(key, position)));
+        }
+        return tripIds;
+    }
+
+    @Test
+    void tripsShouldBeIndexedByRouteServiceShapeAndBlock() {
+        final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
+        underTest.addTrip(mockTrip("trip 0", "route a", "service a", "shape a", "block a"));
+        underTest.addTrip(mockTrip("trip 1", "route b", "service a", null, null));
+        underTest.addTrip(mockTrip("trip 2", "route a", "service b", "shape a", "block a"));
+        // only referred to from stop_times.txt
+        underTest.addStopTime(createStopTime("trip 3", 1));
+
+        final ReverseIndex tripsByRoute = underTest.getTripsByRoute();
+        assertEquals(2, tripsByRoute.getKeyCount());
+        assertEquals(List.of("trip 0", "trip 2"),
+                getTripIds(underTest, tripsByRoute, underTest.getRouteIndex().indexOf("route a")));
+        assertEquals(List.of("trip 1"),
+                getTripIds(underTest, tripsByRoute, underTest.getRouteIndex().indexOf("route b")));
+        assertEquals(List.of("trip 0", "trip 1"), getTripIds(underTest, underTest.getTripsByService(),
+                underTest.getServiceIndex().indexOf("service a")));
+        assertEquals(List.of("trip 0", "trip 2"), getTripIds(underTest, underTest.getTripsByShape(),
+                underTest.getShapeIndex().indexOf("shape a")));
+
+        assertEquals(1, underTest.getBlockIndex().size());
+        assertEquals("block a", underTest.getBlockIndex().getId(0));
+        assertNull(underTest.getBlockIndex().get(0));
+        assertEquals(List.of("trip 0", "trip 2"), getTripIds(underTest, underTest.getTripsByBlock(),
+                underTest.getBlockIndex().indexOf("block a")));
+
+        assertEquals(0, tripsByRoute.getCount(EntityIndex.NO_INDEX));
+        assertThrows(IndexOutOfBoundsException.class, () -> tripsByRoute.get(0, 2));
+        // secondary indexes are cached
+        assertSame(tripsByRoute, underTest.getTripsByRoute());
+    }
+
+    @Test
+    void serviceCalendarShouldCombineCalendarsAndCalendarDates() {
+        final Calendar mockCalendar = mock(Calendar.class);
+        when(mockCalendar.getServiceId()).thenReturn("weekend");
+        when(mockCalendar.isMonday()).thenReturn(false);
+        when(mockCalendar.isTuesday()).thenReturn(false);
+        when(mockCalendar.isWednesday()).thenReturn(false);
+        when(mockCalendar.isThursday()).thenReturn(false);
+        when(mockCalendar.isFriday()).thenReturn(false);
+        when(mockCalendar.isSaturday()).thenReturn(true);
+        when(mockCalendar.isSunday()).thenReturn(true);
+        when(mockCalendar.getStartDate()).thenReturn(LocalDate.of(2020, 8, 1));
+        when(mockCalendar.getEndDate()).thenReturn(LocalDate.of(2020, 8, 31));
+        final CalendarDate mockCalendarDate = mock(CalendarDate.class);
+        when(mockCalendarDate.getServiceId()).thenReturn("holiday");
+        when(mockCalendarDate.getDate()).thenReturn(LocalDate.of(2020, 8, 15));
+        when(mockCalendarDate.getExceptionType()).thenReturn(ExceptionType.ADDED_SERVICE);
+
+        final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
+        underTest.addCalendar(mockCalendar);
+        underTest.addCalendarDate(mockCalendarDate);
+
+        final int weekend = underTest.getServiceIndex().indexOf("weekend");
+        final int holiday = underTest.getServiceIndex().indexOf("holiday");
+        assertTrue(underTest.getServiceCalendar().isActive(weekend, LocalDate.of(2020, 8, 2)));
+        assertFalse(underTest.getServiceCalendar().isActive(weekend, LocalDate.of(2020, 8, 3)));
+        assertEquals(List.of(LocalDate.of(2020, 8, 15)), underTest.getServiceCalendar().getCommonDays(weekend, holiday));
+    }
+
+    @Test
+    void routesShouldBeIndexedByAgency() {
+        final Agency mockAgency = mock(Agency.class);
+        when(mockAgency.getAgencyId()).thenReturn("agency a");
+        final Route mockRoute0 = mock(Route.class);
+        when(mockRoute0.getRouteId()).thenReturn("route 0");
+        when(mockRoute0.getAgencyId()).thenReturn("agency b");
+        final Route mockRoute1 = mock(Route.class);
+        when(mockRoute1.getRouteId()).thenReturn("route 1");
+        when(mockRoute1.getAgencyId()).thenReturn("agency a");
+        final Route mockRoute2 = mock(Route.class);
+        when(mockRoute2.getRouteId()).thenReturn("route 2");
+        when(mockRoute2.getAgencyId()).thenReturn("agency a");
+
+        final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
+        underTest.addAgency(mockAgency, mock(Agency.AgencyBuilder.class));
+        underTest.addRoute(mockRoute0);
+        underTest.addRoute(mockRoute1);
+        underTest.addRoute(mockRoute2);
+
+        final EntityIndex<Agency> agencyIndex = underTest.getAgencyIndex();
+        assertEquals(2, agencyIndex.size());
+        assertEquals(mockAgency, agencyIndex.get(agencyIndex.indexOf("agency a")));
+        // agency b is referred to but not defined
+        assertNull(agencyIndex.get(agencyIndex.indexOf("agency b")));
+
+        final ReverseIndex routesByAgency = underTest.getRoutesByAgency();
+        final int agencyA = agencyIndex.indexOf("agency a");
+        assertEquals(2, routesByAgency.getCount(agencyA));
+        assertEquals(mockRoute1, underTest.getRouteIndex().get(routesByAgency.get(agencyA, 0)));
+        assertEquals(mockRoute2, underTest.getRouteIndex().get(routesByAgency.get(agencyA, 1)));
+        final int agencyB = agencyIndex.indexOf("agency b");
+        assertEquals(1, routesByAgency.getCount(agencyB));
+        assertEquals(mockRoute0, underTest.getRouteIndex().get(routesByAgency.get(agencyB, 0)));
+    }
+
+    @Test
+    void stopTimesShouldBeIndexedByStop() {
+        final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
+        underTest.addStopTime(createStopTime("trip 0", 2));
+        underTest.addStopTime(createStopTime("trip 0", 1));
+        underTest.addStopTime(createStopTime("trip 1", 2));
+
+        final StopTimeReverseIndex stopTimesByStop = underTest.getStopTimesByStop();
+        assertEquals(2, stopTimesByStop.getKeyCount());
+        final int stop1 = underTest.getStopIndex().indexOf("stop id1");
+        assertEquals(1, stopTimesByStop.getCount(stop1));
+        assertEquals("trip 0", underTest.getTripIndex().getId(stopTimesByStop.get(stop1, 0)));
+        assertEquals(1, stopTimesByStop.getStopSequence(stop1, 0));
+        final int stop2 = underTest.getStopIndex().indexOf("stop id2");
+        assertEquals(2, stopTimesByStop.getCount(stop2));
+        assertEquals("trip 0", underTest.getTripIndex().getId(stopTimesByStop.get(stop2, 0)));
+        assertEquals("trip 1", underTest.getTripIndex().getId(stopTimesByStop.get(stop2, 1)));
+        assertEquals(2, stopTimesByStop.getStopSequence(stop2, 1));
+    }
+
+    @Test
+    void frozenRepositoryShouldKeepItsEntitiesAndIndexes() {
+        final Route mockRoute = mock(Route.class);
+        when(mockRoute.getRouteId()).thenReturn("route id");
+        final Trip mockTrip = mock(Trip.class);
+        when(mockTrip.getTripId()).thenReturn("trip 0");
+        when(mockTrip.getRouteId()).thenReturn("route id");
+
+        final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
+        underTest.addRoute(mockRoute);
+        underTest.addTrip(mockTrip);
+        underTest.addStopTime(createStopTime("trip 0", 2));
+        underTest.addStopTime(createStopTime("trip 0", 1));
+        underTest.addStopTime(createStopTime("trip 1", 2));
+        final int tripIndex = underTest.getTripIndex().indexOf("trip 0");
+
+        underTest.freeze();
+        // freezing twice has no effect
+        underTest.freeze();
+
+        assertEquals(tripIndex, underTest.getTripIndex().indexOf("trip 0"));
+        assertEquals(mockTrip, underTest.getTripIndex().get(tripIndex));
+        assertEquals(mockRoute, underTest.getRouteIndex().get(underTest.getRouteIndexOfTrip(tripIndex)));
+        assertEquals(EntityIndex.NO_INDEX, underTest.getTripIndex().indexOf("unknown trip"));
+        assertEquals(List.of(1, 2), new ArrayList<>(underTest.getStopTimeByTripId("trip 0").keySet()));
+        assertEquals(1, underTest.getStopTimeByTripId("trip 1").size());
+        assertNull(underTest.getStopTimeByTripId("unknown trip"));
+        assertEquals(3, underTest.getStopTimesByStop().getCount(0) + underTest.getStopTimesByStop().getCount(1));
+    }
+
+    @Test
+    void frozenRepositoryShouldRejectNewEntities() {
+        final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
+        underTest.addStopTime(createStopTime("trip 0", 1));
+        underTest.freeze();
+
+        final Exception exception = assertThrows(IllegalStateException.class,
+                () -> underTest.addStopTime(createStopTime("trip 0", 2)));
+        assertEquals("Cannot add entities to a frozen data repository", exception.getMessage());
+        assertThrows(IllegalStateException.class, () -> underTest.addTrip(mock(Trip.class)));
+        assertEquals(1, underTest.getStopTimeByTripId("trip 0").size());
+    }
+
+    @Test
+    void translationsOfSeveralFieldsOfATableShouldAllBeAdded() {
+        final Translation mockNameTranslation = mock(Translation.class);
+        when(mockNameTranslation.getTableName()).thenReturn(TableName.AGENCY);
+        when(mockNameTranslation.getFieldName()).thenReturn("agency_name");
+        when(mockNameTranslation.getLanguage()).thenReturn("fr");
+        final Translation mockUrlTranslation = mock(Translation.class);
+        when(mockUrlTranslation.getTableName()).thenReturn(TableName.AGENCY);
+        when(mockUrlTranslation.getFieldName()).thenReturn("agency_url");
+        when(mockUrlTranslation.getLanguage()).thenReturn("fr");
+
+        final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
+
+        assertEquals(mockNameTranslation, underTest.addTranslation(mockNameTranslation));
+        assertEquals(mockUrlTranslation, underTest.addTranslation(mockUrlTranslation));
+        assertNull(underTest.addTranslation(mockUrlTranslation));
+        assertEquals(mockUrlTranslation,
+                underTest.getTranslationByTableNameFieldValueLanguage("agency", "agency_url", "fr"));
+    }
+
     @Test
     void addNullTranslationShouldThrowIllegalArgumentException() {
         final InMemoryGtfsDataRepository underTest = new InMemoryGtfsDataRepository();
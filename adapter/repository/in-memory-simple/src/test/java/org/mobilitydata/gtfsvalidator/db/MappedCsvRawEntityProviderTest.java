@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mobilitydata.gtfsvalidator.domain.entity.RawEntity;
+import org.mobilitydata.gtfsvalidator.usecase.port.RawFileRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCsvRawEntityProviderTest {
+    private static final String[] CONTENT_ARRAY = {
+            "stop_id,stop_name\nstop0,first stop\nstop1,second stop\n",
+            "stop_id,stop_name\r\nstop0,first stop\r\nstop1,second stop",
+            "\uFEFFstop_id,stop_name\nstop0,\"quoted, with comma\"\nstop1,\"quoted\nwith\r\nline breaks\"\n",
+            "stop_id,stop_name\nstop0,\"escaped \"\"quote\"\"\nand line break\"\n\nstop1,after blank line\n\n",
+            "stop_id,stop_name\nstop0,too,long\nstop1\n,\nstop2,\"\"\"\n\"\"\"\n",
+            "stop_id,stop_name\rstop0,carriage return\rstop1,\"\rquoted\r\"\n",
+            "\"stop_id\",\"stop\nname\"\n\"stop0\",\"first\"\n",
+            "stop_id,stop_name\nstop0,\"Montréal – 東京\"\nstop1,  \n",
+            "stop_id,stop_name\n",
+            "stop_id,stop_name",
+            ""
+    };
+    // pieces of CSV content randomly assembled to compare the tokenizer with the CSV parser
+    private static final String[] PIECE_ARRAY = {"a", "b", ",", "\"", "\"\"", "\n", "\r", "\r\n", " ", "é"};
+
+    private static List<String> describeRows(final RawFileRepository.RawEntityProvider provider) {
+        final List<String> rowDescriptionList = new ArrayList<>();
+        rowDescriptionList.add("headers:" + provider.getHeaders());
+        while (provider.hasNext()) {
+            final RawEntity rawEntity = provider.getNext();
+            final List<String> valueList = new ArrayList<>();
+            for (int i = 0; i < rawEntity.size(); ++i) {
+                valueList.add(rawEntity.get(i));
+            }
+            rowDescriptionList.add(rawEntity.getIndex() + ":" + valueList);
+        }
+        return rowDescriptionList;
+    }
+
+    private static List<String> describeChunkRows(final RawFileRepository.RawEntityProvider provider) {
+        // chunks are all handed over before being read, as they would be to concurrent threads
+        final List<RawFileRepository.RawEntityProvider> chunkList = new ArrayList<>();
+        provider.chunkIterator().forEachRemaining(chunkList::add);
+        final List<String> rowDescriptionList = new ArrayList<>();
+        rowDescriptionList.add("headers:" + provider.getHeaders());
+        chunkList.forEach(chunk -> {
+            final List<String> chunkRowList = describeRows(chunk);
+            rowDescriptionList.addAll(chunkRowList.subList(1, chunkRowList.size()));
+        });
+        return rowDescriptionList;
+    }
+
+    private static List<String> describeRowsOfCsvParser(final String content) throws IOException {
+        return describeRows(new FromFileRawEntityProvider(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static MappedCsvRawEntityProvider createProvider(final String content, final int chunkSize,
+                                                             final int windowSize) {
+        return new MappedCsvRawEntityProvider(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)), chunkSize,
+                windowSize);
+    }
+
+    @Test
+    void rowsShouldBeTheSameAsThoseOfCsvParser() throws IOException {
+        for (final String content : CONTENT_ARRAY) {
+            // small windows make fields span several copies of the content to the window
+            for (int windowSize = 1; windowSize <= 8; ++windowSize) {
+                assertEquals(describeRowsOfCsvParser(content), describeRows(createProvider(content, 1, windowSize)),
+                        content);
+            }
+        }
+    }
+
+    @Test
+    void randomContentShouldBeTokenizedAsCsvParserDoes() throws IOException {
+        final Random random = new Random(42);
+        for (int i = 0; i < 2000; ++i) {
+            final StringBuilder contentBuilder = new StringBuilder();
+            final int pieceCount = random.nextInt(30);
+            for (int j = 0; j < pieceCount; ++j) {
+                contentBuilder.append(PIECE_ARRAY[random.nextInt(PIECE_ARRAY.length)]);
+            }
+            final String content = contentBuilder.toString();
+            final List<String> expectedRowList;
+            try {
+                expectedRowList = describeRowsOfCsvParser(content);
+            } catch (RuntimeException e) {
+                // content the CSV parser rejects, such as unterminated quotes
+                continue;
+            }
+            assertEquals(expectedRowList, describeRows(createProvider(content, 1, 1024)), content);
+            assertEquals(expectedRowList, describeRows(createProvider(content, 1, 1 + random.nextInt(8))), content);
+            assertEquals(expectedRowList,
+                    describeChunkRows(createProvider(content, 1 + random.nextInt(8), 1 + random.nextInt(8))), content);
+        }
+    }
+
+    @Test
+    void chunksShouldProvideTheRowsOfTheFileInOrder() throws IOException {
+        for (final String content : CONTENT_ARRAY) {
+            final List<String> expectedRowList = describeRowsOfCsvParser(content);
+
+            for (int chunkSize = 1; chunkSize <= content.length() + 1; ++chunkSize) {
+                assertEquals(expectedRowList, describeChunkRows(createProvider(content, chunkSize, 4)), content);
+            }
+        }
+    }
+
+    @Test
+    void fileShouldBeMapped(@TempDir final Path tempDir) throws IOException {
+        final Path path = tempDir.resolve("stops.txt");
+        Files.writeString(path, CONTENT_ARRAY[0]);
+
+        final Optional<RawFileRepository.RawEntityProvider> optionalProvider = MappedCsvRawEntityProvider.map(path);
+
+        assertTrue(optionalProvider.isPresent());
+        assertEquals(describeRowsOfCsvParser(CONTENT_ARRAY[0]), describeRows(optionalProvider.get()));
+    }
+
+    @Test
+    void utf16FileShouldNotBeMapped(@TempDir final Path tempDir) throws IOException {
+        final Path path = tempDir.resolve("stops.txt");
+        Files.write(path, ("\uFEFF" + CONTENT_ARRAY[0]).getBytes(StandardCharsets.UTF_16LE));
+
+        assertTrue(MappedCsvRawEntityProvider.map(path).isEmpty());
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StopTimeCsrIndexTest {
+
+    @Test
+    void stopSequencesShouldFollowTheirStopTime() {
+        final StopTimeCsrIndex underTest = new StopTimeCsrIndex.Builder()
+                .add(1, 10, 100)
+                .add(EntityIndex.NO_INDEX, 13, 103)
+                .add(0, 11, 101)
+                .add(1, 12, 102)
+                .build(2);
+
+        assertEquals(2, underTest.getKeyCount());
+        assertEquals(11, underTest.get(0, 0));
+        assertEquals(101, underTest.getStopSequence(0, 0));
+        assertEquals(10, underTest.get(1, 0));
+        assertEquals(100, underTest.getStopSequence(1, 0));
+        assertEquals(12, underTest.get(1, 1));
+        assertEquals(102, underTest.getStopSequence(1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> underTest.getStopSequence(0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> underTest.getStopSequence(2, 0));
+    }
+}
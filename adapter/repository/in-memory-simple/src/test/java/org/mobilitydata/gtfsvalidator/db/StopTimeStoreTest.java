@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StopTimeStoreTest {
+
+    private static StopTime createStopTime(final String tripId, final int stopSequence) {
+        return StopTime.restore(tripId, 60 * stopSequence, 60 * stopSequence + 30, "stop" + stopSequence % 7,
+                stopSequence, "headsign", PickupType.NO_PICKUP, DropOffType.MUST_PHONE_DROP_OFF,
+                ContinuousPickup.CONTINUOUS_PICKUP, ContinuousDropOff.MUST_ASK_DRIVER_CONTINUOUS_STOPPING_DROP_OFF,
+                1.5f * stopSequence, Timepoint.APPROXIMATED_TIMES);
+    }
+
+    @Test
+    void stopTimeShouldBeRestoredWithSameValues() {
+        final StopTime withNullValues = StopTime.restore("trip", null, null, "stop", 3, null,
+                PickupType.REGULAR_PICKUP, DropOffType.REGULAR_DROP_OFF, ContinuousPickup.NO_CONTINUOUS_PICKUP,
+                ContinuousDropOff.NO_CONTINUOUS_DROP_OFF, null, Timepoint.EXACT_TIMES);
+        final StopTime withValues = createStopTime("trip", 5);
+        final StopTimeStore underTest = new StopTimeStore(new DenseEntityIndex<>(), new DenseEntityIndex<>());
+
+        assertTrue(underTest.add(withNullValues));
+        assertTrue(underTest.add(withValues));
+
+        final SortedMap<Integer, StopTime> tripStopTimes = underTest.getStopTimesOfTrip("trip");
+        assertEquals(withNullValues, tripStopTimes.get(3));
+        assertNull(tripStopTimes.get(3).getArrivalTime());
+        assertNull(tripStopTimes.get(3).getShapeDistTraveled());
+        assertEquals(withValues, tripStopTimes.get(5));
+        assertEquals("headsign", tripStopTimes.get(5).getStopHeadsign());
+        assertEquals(7.5f, tripStopTimes.get(5).getShapeDistTraveled());
+    }
+
+    @Test
+    void duplicateTripIdAndStopSequenceShouldNotBeAdded() {
+        final StopTimeStore underTest = new StopTimeStore(new DenseEntityIndex<>(), new DenseEntityIndex<>());
+
+        assertTrue(underTest.add(createStopTime("trip", 1)));
+        assertTrue(underTest.add(createStopTime("trip", 2)));
+        assertTrue(underTest.add(createStopTime("other trip", 1)));
+        assertFalse(underTest.add(createStopTime("trip", 2)));
+        assertFalse(underTest.add(createStopTime("trip", 1)));
+
+        assertEquals(2, underTest.getStopTimesOfTrip("trip").size());
+        assertEquals(1, underTest.getStopTimesOfTrip("other trip").size());
+    }
+
+    @Test
+    void viewsShouldBehaveAsSortedMaps() {
+        final StopTimeStore underTest = new StopTimeStore(new DenseEntityIndex<>(), new DenseEntityIndex<>());
+        final TreeMap<Integer, StopTime> expected = new TreeMap<>();
+        for (final int stopSequence : new int[]{10, 20, 30, 40, 50}) {
+            underTest.add(createStopTime("trip", stopSequence));
+            expected.put(stopSequence, createStopTime("trip", stopSequence));
+        }
+        final SortedMap<Integer, StopTime> view = underTest.getStopTimesOfTrip("trip");
+
+        assertEquals(expected, view);
+        assertEquals(view, expected);
+        assertEquals(expected.hashCode(), view.hashCode());
+        assertEquals(10, view.firstKey());
+        assertEquals(50, view.lastKey());
+        assertNull(view.get(15));
+        assertFalse(view.containsKey("10"));
+        assertEquals(expected.subMap(20, 40), view.subMap(20, 40));
+        assertEquals(expected.subMap(15, 45), view.subMap(15, 45));
+        assertEquals(expected.headMap(30), view.headMap(30));
+        assertEquals(expected.tailMap(30), view.tailMap(30));
+        assertEquals(expected.tailMap(20).headMap(40), view.tailMap(20).headMap(40));
+        assertTrue(view.subMap(21, 29).isEmpty());
+        assertThrows(NoSuchElementException.class, () -> view.subMap(21, 29).firstKey());
+        assertEquals(List.of(10, 20, 30, 40, 50), new ArrayList<>(view.keySet()));
+        assertThrows(UnsupportedOperationException.class, () -> view.put(60, createStopTime("trip", 60)));
+        assertNull(underTest.getStopTimesOfTrip("unknown trip"));
+    }
+
+    @Test
+    void interleavedAndUnsortedRowsShouldBeStoredAsSortedTrips() {
+        final Random random = new Random(42);
+        final StopTimeStore underTest = new StopTimeStore(new DenseEntityIndex<>(), new DenseEntityIndex<>());
+        final Map<String, TreeMap<Integer, StopTime>> expected = new HashMap<>();
+        for (int i = 0; i < 20000; ++i) {
+            // mostly sorted rows, with runs of other trips and rows out of order, as found in real feeds
+            final String tripId = "trip" + random.nextInt(random.nextBoolean() ? 5 : 300);
+            final int stopSequence = random.nextInt(200);
+            final StopTime stopTime = createStopTime(tripId, stopSequence);
+            final boolean isNew = expected.computeIfAbsent(tripId, key -> new TreeMap<>())
+                    .putIfAbsent(stopSequence, stopTime) == null;
+            assertEquals(isNew, underTest.add(stopTime));
+        }
+
+        final Map<String, SortedMap<Integer, StopTime>> actual = underTest.getStopTimesByTripId();
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((tripId, tripStopTimes) -> {
+            assertTrue(actual.containsKey(tripId));
+            assertEquals(tripStopTimes, actual.get(tripId));
+        });
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.db;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mobilitydata.gtfsvalidator.domain.entity.RawEntity;
+import org.mobilitydata.gtfsvalidator.domain.entity.RawFileInfo;
+import org.mobilitydata.gtfsvalidator.usecase.port.RawFileRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipArchiveRawFileRepositoryTest {
+    private static final String FILENAME = "agency.txt";
+
+    private static Path createArchive(final Path directory) throws IOException {
+        final Path archivePath = directory.resolve("gtfs.zip");
+        try (final OutputStream outputStream = Files.newOutputStream(archivePath);
+             final ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            zipOutputStream.putNextEntry(new ZipEntry(FILENAME));
+            zipOutputStream.write("agency_id,agency_name\nagency0,first agency\nagency1,second agency\n"
+                    .getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+        }
+        return archivePath;
+    }
+
+    @Test
+    void providerShouldStreamRowsFromArchiveEntry(@TempDir final Path tempDir) throws IOException {
+        final Path archivePath = createArchive(tempDir);
+        final ZipArchiveRawFileRepository underTest = new ZipArchiveRawFileRepository();
+        final RawFileInfo rawFileInfo = underTest.create(
+                RawFileInfo.builder().filename(FILENAME).path(archivePath.toString()).build());
+
+        final Optional<RawFileRepository.RawEntityProvider> optionalProvider =
+                underTest.getProviderForFile(rawFileInfo);
+
+        assertTrue(optionalProvider.isPresent());
+        try (RawFileRepository.RawEntityProvider provider = optionalProvider.get()) {
+            assertEquals(List.of("agency_id", "agency_name"), provider.getHeaders());
+            assertEquals(List.of("agency_id", "agency_name"), underTest.getActualHeadersForFile(rawFileInfo));
+
+            assertTrue(provider.hasNext());
+            final RawEntity firstRow = provider.getNext();
+            assertEquals("agency0", firstRow.get("agency_id"));
+            assertEquals("first agency", firstRow.get("agency_name"));
+            assertTrue(provider.hasNext());
+            assertEquals("agency1", provider.getNext().get("agency_id"));
+            assertFalse(provider.hasNext());
+        }
+    }
+
+    @Test
+    void missingEntryShouldReturnEmptyProvider(@TempDir final Path tempDir) throws IOException {
+        final Path archivePath = createArchive(tempDir);
+        final ZipArchiveRawFileRepository underTest = new ZipArchiveRawFileRepository();
+
+        assertTrue(underTest.getProviderForFile(
+                RawFileInfo.builder().filename("stops.txt").path(archivePath.toString()).build()).isEmpty());
+        assertTrue(underTest.getProviderForFile(
+                RawFileInfo.builder().filename(FILENAME).path(tempDir.resolve("missing.zip").toString()).build())
+                .isEmpty());
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.calendardates.CalendarDate;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.calendardates.ExceptionType;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Rows of calendar_dates.txt stored outside of the Java heap, in a {@link SortedRowTable} grouping them by the index
+ * of their service_id and sorting them by date, stored as a number of days since 1970-01-01.
+ * <p>
+ * Calendar dates are handed over through read-only views which recreate a {@link CalendarDate} from its row each time
+ * one is accessed. The calendar dates of a service are mapped on their date, and iterated in chronological order. This is not thread-safe: calendar dates are to be
+ * added by a single thread at a time, and views are not to be used while calendar dates are added.
+ */
+final class CalendarDateTable {
+    private static final int ROW_SIZE = 8;
+    // the date is the key of the rows
+    private static final int EXCEPTION_TYPE = 4;
+
+    private static final ExceptionType[] EXCEPTION_TYPES = ExceptionType.values();
+
+    private final SortedRowTable table;
+    private final OffHeapStringTable serviceIds;
+    private final InsertionOrder serviceOrder;
+
+    /**
+     * @param arena      the arena allocating the memory of this table
+     * @param serviceIds the table of service ids
+     */
+    CalendarDateTable(final PageArena arena, final OffHeapStringTable serviceIds) {
+        this.serviceIds = serviceIds;
+        table = new SortedRowTable(arena, ROW_SIZE);
+        serviceOrder = new InsertionOrder() {
+            @Override
+            public int getKeyCount() {
+                return table.getGroupCount();
+            }
+
+            @Override
+            public int getKeyId(final int rank) {
+                return table.getGroupId(rank);
+            }
+        };
+    }
+
+    /**
+     * Adds a calendar date to this table, unless a calendar date with the same service_id and date was already added
+     *
+     * @param calendarDate the calendar date to add
+     * @return true if the calendar date was added, false if a calendar date with the same service_id and date was
+     * already added
+     */
+    boolean add(final CalendarDate calendarDate) {
+        final long rowOffset = table.insert(serviceIds.add(calendarDate.getServiceId()),
+                (int) calendarDate.getDate().toEpochDay());
+        if (rowOffset == SortedRowTable.NO_ROW) {
+            return false;
+        }
+        table.getRows().putByte(rowOffset + EXCEPTION_TYPE, (byte) calendarDate.getExceptionType().ordinal());
+        return true;
+    }
+
+    /**
+     * Returns a read-only view of the calendar dates, mapped on their service_id then on their date
+     *
+     * @return a read-only view of the calendar dates
+     */
+    Map<String, Map<LocalDate, CalendarDate>> getCalendarDatesByServiceId() {
+        return new OffHeapMapView<>(serviceIds, serviceOrder, table::hasGroup, ServiceCalendarDateView::new);
+    }
+
+    /**
+     * Read-only view of the calendar dates of a service, mapped on their date
+     */
+    private final class ServiceCalendarDateView extends AbstractMap<LocalDate, CalendarDate> {
+        private final int serviceIndex;
+
+        private ServiceCalendarDateView(final int serviceIndex) {
+            this.serviceIndex = serviceIndex;
+        }
+
+        private CalendarDate read(final int position) {
+            final long rowOffset = table.getRowOffset(serviceIndex, position);
+            return CalendarDate.restore(serviceIds.get(serviceIndex),
+                    LocalDate.ofEpochDay(table.getKey(rowOffset)),
+                    EXCEPTION_TYPES[table.getRows().getByte(rowOffset + EXCEPTION_TYPE)]);
+        }
+
+        private int findPosition(final Object date) {
+            if (!(date instanceof LocalDate)) {
+                return -1;
+            }
+            return table.search(serviceIndex, (int) ((LocalDate) date).toEpochDay());
+        }
+
+        @Override
+        public CalendarDate get(final Object date) {
+            final int position = findPosition(date);
+            return position < 0 ? null : read(position);
+        }
+
+        @Override
+        public boolean containsKey(final Object date) {
+            return findPosition(date) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return table.getRowCount(serviceIndex);
+        }
+
+        @Override
+        public Set<Entry<LocalDate, CalendarDate>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<LocalDate, CalendarDate>> iterator() {
+                    return new Iterator<>() {
+                        private int position;
+
+                        @Override
+                        public boolean hasNext() {
+                            return position < size();
+                        }
+
+                        @Override
+                        public Entry<LocalDate, CalendarDate> next() {
+                            if (position >= size()) {
+                                throw new NoSuchElementException();
+                            }
+                            final CalendarDate calendarDate = read(position);
+                            ++position;
+                            return new SimpleImmutableEntry<>(calendarDate.getDate(), calendarDate);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return ServiceCalendarDateView.this.size();
+                }
+            };
+        }
+    }
+}
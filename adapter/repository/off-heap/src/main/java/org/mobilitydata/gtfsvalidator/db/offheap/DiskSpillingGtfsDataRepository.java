@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
+
+import java.nio.file.Path;
+
+/**
+ * {@link GtfsDataRepository} spilling the rows of `stop_times.txt` and `shapes.txt` to disk, for datasets which do not
+ * fit in memory. Those rows are buffered in memory, then sorted and written to run files, which are merged by an
+ * external merge sort keyed by (trip_id, stop_sequence) and (shape_id, shape_pt_sequence) once all rows are added.
+ * The stop times of a trip and the points of a shape are then read from the sorted file with a single sequential read
+ * each time they are accessed. Other entities are stored as by {@link OffHeapGtfsDataRepository}.
+ * <p>
+ * Memory holds the buffers of rows and a few integers per trip and per shape, whatever the number of rows. Rows are
+ * read from disk each time they are accessed: this repository trades speed for memory. Run files are deleted when the
+ * repository is closed.
+ */
+public class DiskSpillingGtfsDataRepository extends OffHeapGtfsDataRepository {
+    /**
+     * @param directory the directory where to create the temporary files holding the bulky tables
+     */
+    public DiskSpillingGtfsDataRepository(final Path directory) {
+        this(directory, SpillingRowSorter.DEFAULT_RUN_ROW_COUNT);
+    }
+
+    /**
+     * @param directory   the directory where to create the temporary files holding the bulky tables
+     * @param runRowCount the number of rows of `stop_times.txt` and of `shapes.txt` buffered in memory before they are
+     *                    sorted and spilled to run files
+     */
+    DiskSpillingGtfsDataRepository(final Path directory, final int runRowCount) {
+        super(directory, runRowCount);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+/**
+ * Keys of a map stored outside of the Java heap, in the order they were first inserted. Views over off-heap tables
+ * iterate in this order, as the maps of {@link org.mobilitydata.gtfsvalidator.db.InMemoryGtfsDataRepository} do, so
+ * that validation rules visit entities in the same order and notices are reported in the same order whichever
+ * repository is used.
+ */
+interface InsertionOrder {
+    /**
+     * @return the number of keys of the map
+     */
+    int getKeyCount();
+
+    /**
+     * @param rank the rank of insertion of a key, from 0 to {@link #getKeyCount()} excluded
+     * @return the id of the key in the {@link OffHeapStringTable} holding the keys
+     */
+    int getKeyId(int rank);
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.mobilitydata.gtfsvalidator.db.offheap.PageArena.PAGE_MASK;
+import static org.mobilitydata.gtfsvalidator.db.offheap.PageArena.PAGE_SHIFT;
+
+/**
+ * Growable array of bytes made of pages allocated by a {@link PageArena}, addressed by a {@code long} offset. Values
+ * are read and written at absolute offsets, and must not straddle two pages: an {@code int} or a {@code float} is to
+ * be stored at an offset which is a multiple of 4, a {@code long} at an offset which is a multiple of 8. Bytes beyond
+ * those ever written read as zero.
+ * <p>
+ * Values can be read by several threads as long as no value is written and the buffer does not grow.
+ */
+final class OffHeapBuffer {
+    private final PageArena arena;
+    private ByteBuffer[] pages = new ByteBuffer[0];
+    private int[] pageNumbers = new int[0];
+    private int pageCount;
+
+    /**
+     * @param arena the arena allocating the pages of this buffer
+     */
+    OffHeapBuffer(final PageArena arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * Returns the number of bytes this buffer holds, which is a multiple of the page size
+     *
+     * @return the number of bytes this buffer holds
+     */
+    long getCapacity() {
+        return (long) pageCount << PAGE_SHIFT;
+    }
+
+    /**
+     * Grows this buffer so that it holds at least a number of bytes
+     *
+     * @param byteCount the number of bytes this buffer must hold
+     */
+    void ensureCapacity(final long byteCount) {
+        final int requiredPageCount = (int) ((byteCount + PAGE_MASK) >>> PAGE_SHIFT);
+        if (requiredPageCount <= pageCount) {
+            return;
+        }
+        if (requiredPageCount > pages.length) {
+            final int length = Math.max(requiredPageCount, pages.length * 2);
+            pages = Arrays.copyOf(pages, length);
+            pageNumbers = Arrays.copyOf(pageNumbers, length);
+        }
+        while (pageCount < requiredPageCount) {
+            final int pageNumber = arena.allocate();
+            pageNumbers[pageCount] = pageNumber;
+            pages[pageCount] = arena.getPage(pageNumber);
+            ++pageCount;
+        }
+    }
+
+    /**
+     * Returns the pages of this buffer to its arena. The buffer is empty afterwards.
+     */
+    void release() {
+        for (int i = 0; i < pageCount; ++i) {
+            arena.release(pageNumbers[i]);
+            pages[i] = null;
+        }
+        pageCount = 0;
+    }
+
+    byte getByte(final long offset) {
+        return page(offset).get(position(offset));
+    }
+
+    void putByte(final long offset, final byte value) {
+        page(offset).put(position(offset), value);
+    }
+
+    char getChar(final long offset) {
+        return page(offset).getChar(position(offset));
+    }
+
+    void putChar(final long offset, final char value) {
+        page(offset).putChar(position(offset), value);
+    }
+
+    int getInt(final long offset) {
+        return page(offset).getInt(position(offset));
+    }
+
+    void putInt(final long offset, final int value) {
+        page(offset).putInt(position(offset), value);
+    }
+
+    float getFloat(final long offset) {
+        return page(offset).getFloat(position(offset));
+    }
+
+    void putFloat(final long offset, final float value) {
+        page(offset).putFloat(position(offset), value);
+    }
+
+    long getLong(final long offset) {
+        return page(offset).getLong(position(offset));
+    }
+
+    void putLong(final long offset, final long value) {
+        page(offset).putLong(position(offset), value);
+    }
+
+    /**
+     * Copies bytes from a buffer to another one, or within a buffer in which case source and destination may overlap.
+     * Offsets and length must be multiples of 8.
+     *
+     * @param source            the buffer to copy bytes from
+     * @param sourceOffset      the offset of the first byte to copy
+     * @param destination       the buffer to copy bytes to, which must hold all the bytes copied
+     * @param destinationOffset the offset the first byte is copied to
+     * @param length            the number of bytes to copy
+     */
+    static void copy(final OffHeapBuffer source,
+                     final long sourceOffset,
+                     final OffHeapBuffer destination,
+                     final long destinationOffset,
+                     final long length) {
+        if (source == destination && sourceOffset < destinationOffset) {
+            // copies backwards so that bytes are read before being overwritten
+            for (long i = length - Long.BYTES; i >= 0; i -= Long.BYTES) {
+                destination.putLong(destinationOffset + i, source.getLong(sourceOffset + i));
+            }
+        } else {
+            for (long i = 0; i < length; i += Long.BYTES) {
+                destination.putLong(destinationOffset + i, source.getLong(sourceOffset + i));
+            }
+        }
+    }
+
+    private ByteBuffer page(final long offset) {
+        return pages[(int) (offset >>> PAGE_SHIFT)];
+    }
+
+    private static int position(final long offset) {
+        return (int) offset & PAGE_MASK;
+    }
+}
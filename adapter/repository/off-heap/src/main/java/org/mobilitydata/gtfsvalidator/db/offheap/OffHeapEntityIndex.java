@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+
+import java.util.function.IntFunction;
+
+/**
+ * {@link EntityIndex} whose ids are held by an {@link OffHeapStringTable}: the dense integer id of an entity id is the
+ * id the table assigned to it. Entities are looked up, or recreated, each time they are accessed.
+ *
+ * @param <E> the type of the entities designated by the ids
+ */
+final class OffHeapEntityIndex<E> implements EntityIndex<E> {
+    private final OffHeapStringTable idTable;
+    private final IntFunction<E> entityOfIndex;
+
+    /**
+     * @param idTable       the table holding the ids
+     * @param entityOfIndex returns the entity designated by the id an index in range was assigned to, or null if no
+     *                      entity was defined with said id
+     */
+    OffHeapEntityIndex(final OffHeapStringTable idTable, final IntFunction<E> entityOfIndex) {
+        this.idTable = idTable;
+        this.entityOfIndex = entityOfIndex;
+    }
+
+    @Override
+    public int indexOf(final String id) {
+        return idTable.indexOf(id);
+    }
+
+    @Override
+    public String getId(final int index) {
+        return idTable.get(index);
+    }
+
+    @Override
+    public E get(final int index) {
+        return index < 0 || index >= idTable.size() ? null : entityOfIndex.apply(index);
+    }
+
+    @Override
+    public int size() {
+        return idTable.size();
+    }
+}
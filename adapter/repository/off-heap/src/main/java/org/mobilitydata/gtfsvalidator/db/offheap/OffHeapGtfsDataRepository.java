@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.jetbrains.annotations.NotNull;
+import org.mobilitydata.gtfsvalidator.db.InMemoryGtfsDataRepository;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.Calendar;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.calendardates.CalendarDate;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.routes.Route;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.LocationBase;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * {@link GtfsDataRepository} storing the rows of the bulkiest files of a GTFS dataset, `stop_times.txt`, `shapes.txt`,
+ * `trips.txt` and `calendar_dates.txt`, outside of the Java heap: in pages of a temporary file mapped in memory, which
+ * the operating system pages in and out as needed. The heap only holds the entities of the other files, which stay in
+ * the maps inherited from {@link InMemoryGtfsDataRepository}, so that its size does not depend on the size of the
+ * bulky files.
+ * <p>
+ * Entities of the bulky files are handed over through read-only views recreating them each time they are accessed;
+ * views iterate in the same order as the maps of {@link InMemoryGtfsDataRepository}, so that notices are issued in the
+ * same order whatever the repository. Ids are stored once, in tables assigning them the dense integer ids of
+ * {@link #getStopIndex()}, {@link #getTripIndex()}, {@link #getRouteIndex()}, {@link #getServiceIndex()} and
+ * {@link #getShapeIndex()}. These tables and the pages they share are not thread-safe: entities stored off-heap are
+ * added under the lock of the repository itself, while the other entities keep the per-table locks of
+ * {@link InMemoryGtfsDataRepository}. Temporary files are deleted when the repository is closed.
+ *
+ * @see DiskSpillingGtfsDataRepository
+ */
+public class OffHeapGtfsDataRepository extends InMemoryGtfsDataRepository {
+    private final PageArena arena;
+    private final OffHeapStringTable stopIds;
+    private final OffHeapStringTable tripIds;
+    private final OffHeapStringTable routeIds;
+    private final OffHeapStringTable serviceIds;
+    private final OffHeapStringTable shapeIds;
+    // headsigns and short names
+    private final OffHeapStringTable texts;
+    private final TripTable tripTable;
+    private final StopTimeStorage stopTimeStorage;
+    private final ShapeStorage shapeStorage;
+    private final CalendarDateTable calendarDateTable;
+
+    /**
+     * @param directory the directory where to create the temporary file holding the bulky tables
+     */
+    public OffHeapGtfsDataRepository(final Path directory) {
+        this(directory, 0);
+    }
+
+    /**
+     * @param directory        the directory where to create the temporary files holding the bulky tables
+     * @param spillRunRowCount the number of rows of `stop_times.txt` and of `shapes.txt` buffered in memory before they
+     *                         are sorted and spilled to run files, or 0 to store those rows in memory-mapped pages
+     */
+    OffHeapGtfsDataRepository(final Path directory, final int spillRunRowCount) {
+        arena = new PageArena(directory);
+        stopIds = new OffHeapStringTable(arena);
+        tripIds = new OffHeapStringTable(arena);
+        routeIds = new OffHeapStringTable(arena);
+        serviceIds = new OffHeapStringTable(arena);
+        shapeIds = new OffHeapStringTable(arena);
+        texts = new OffHeapStringTable(arena);
+        tripTable = new TripTable(arena, tripIds, routeIds, serviceIds, shapeIds, texts);
+        if (spillRunRowCount > 0) {
+            stopTimeStorage = new SpilledStopTimeTable(directory, spillRunRowCount, tripIds, stopIds, texts);
+            shapeStorage = new SpilledShapeTable(directory, spillRunRowCount, shapeIds);
+        } else {
+            stopTimeStorage = new StopTimeTable(arena, tripIds, stopIds, texts);
+            shapeStorage = new ShapeTable(arena, shapeIds);
+        }
+        calendarDateTable = new CalendarDateTable(arena, serviceIds);
+    }
+
+    /**
+     * Add a Route representing a row from routes.txt to this, and assign a dense integer id to its route_id
+     *
+     * @param newRoute the internal representation of a row from routes.txt to be added to the repository.
+     * @return the entity added to the repository if the uniqueness constraint of route based on route_id is
+     * respected, if this requirement is not met returns null.
+     */
+    @Override
+    public synchronized Route addRoute(@NotNull final Route newRoute) throws IllegalArgumentException {
+        final Route route = super.addRoute(newRoute);
+        if (route != null) {
+            routeIds.add(route.getRouteId());
+        }
+        return route;
+    }
+
+    /**
+     * Add a Calendar representing a row from calendar.txt to this, and assign a dense integer id to its service_id
+     *
+     * @param newCalendar the internal representation of a row from calendar.txt to be added to the repository.
+     * @return the entity added to the repository if the uniqueness constraint of calendar based on service_id is
+     * respected, if this requirement is not met, returns null.
+     */
+    @Override
+    public synchronized Calendar addCalendar(final Calendar newCalendar) throws IllegalArgumentException {
+        final Calendar calendar = super.addCalendar(newCalendar);
+        if (calendar != null) {
+            serviceIds.add(calendar.getServiceId());
+        }
+        return calendar;
+    }
+
+    /**
+     * Add a stop representing a row from stops.txt to this, and assign a dense integer id to its stop_id
+     *
+     * @param newStop the internal representation of a row from stops.txt to be added to the repository
+     * @return the entity added to the repository if the uniqueness constraint of stop based on stop_id is
+     * respected. Otherwise returns null.
+     */
+    @Override
+    public synchronized LocationBase addStop(final LocationBase newStop) throws IllegalArgumentException {
+        final LocationBase stop = super.addStop(newStop);
+        if (stop != null) {
+            stopIds.add(stop.getStopId());
+        }
+        return stop;
+    }
+
+    /**
+     * Add a trip representing a row from trips.txt to the off-heap table of trips
+     *
+     * @param newTrip the internal representation of a row from trips.txt to be added to the repository.
+     * @return the entity added to the repository if the uniqueness constraint of trip based on trip_id is
+     * respected, if this requirement is not met returns null.
+     */
+    @Override
+    public synchronized Trip addTrip(final Trip newTrip) throws IllegalArgumentException {
+        checkNotFrozen();
+        if (newTrip != null) {
+            return tripTable.add(newTrip);
+        } else {
+            throw new IllegalArgumentException("Cannot add null trip to data repository");
+        }
+    }
+
+    @Override
+    public Trip getTripById(final String tripId) {
+        return tripTable.get(tripIds.indexOf(tripId));
+    }
+
+    @Override
+    public Map<String, Trip> getTripAll() {
+        return tripTable.getTripsById();
+    }
+
+    @Override
+    public Map<String, List<Trip>> getAllTripByBlockId() {
+        return tripTable.getTripsByBlockId();
+    }
+
+    /**
+     * Add a CalendarDate representing a row from calendar_dates.txt to the off-heap table of calendar dates
+     *
+     * @param newCalendarDate the internal representation of a row from calendar_dates.txt to be added to the repository
+     * @return the entity added to the repository if the uniqueness constraint of calendar date based on service_id and
+     * date is respected, if this requirement is not met returns null.
+     */
+    @Override
+    public synchronized CalendarDate addCalendarDate(@NotNull final CalendarDate newCalendarDate)
+            throws IllegalArgumentException {
+        checkNotFrozen();
+        //noinspection ConstantConditions
+        if (newCalendarDate != null) {
+            return calendarDateTable.add(newCalendarDate) ? newCalendarDate : null;
+        } else {
+            throw new IllegalArgumentException("Cannot add null calendar date to data repository");
+        }
+    }
+
+    /**
+     * Return a read-only view of the calendar dates, mapped on service_id then on date. The calendar dates of a
+     * service are iterated in chronological order.
+     *
+     * @return a read-only view of the calendar dates
+     */
+    @Override
+    public Map<String, Map<LocalDate, CalendarDate>> getCalendarDateAll() {
+        return calendarDateTable.getCalendarDatesByServiceId();
+    }
+
+    /**
+     * Add a point representing a row from shapes.txt to the off-heap table of shapes
+     *
+     * @param newShapePoint the internal representation of a row from shapes.txt to be added to the repository.
+     * @return the entity added to the repository if the entity was successfully added, and returns null if a point
+     * with the same shape_id and shape_pt_sequence already exists in the repository.
+     */
+    @Override
+    public synchronized ShapePoint addShapePoint(final ShapePoint newShapePoint) throws IllegalArgumentException {
+        checkNotFrozen();
+        if (newShapePoint != null) {
+            return shapeStorage.add(newShapePoint) ? newShapePoint : null;
+        } else {
+            throw new IllegalArgumentException("Cannot add null shape point to data repository");
+        }
+    }
+
+    /**
+     * Return the geometry of a shape, recreated from the off-heap table of shapes
+     *
+     * @param shapeId the key from shapes.txt related to the shape to be returned
+     * @return the geometry of the shape, or null if no point of said shape was added
+     */
+    @Override
+    public ShapeGeometry getShapeById(final String shapeId) {
+        return shapeStorage.get(shapeIds.indexOf(shapeId));
+    }
+
+    @Override
+    public Map<String, ShapeGeometry> getShapeAll() {
+        return shapeStorage.getShapesById();
+    }
+
+    /**
+     * Add a {@link StopTime} representing a row from stop_times.txt to the off-heap table of stop times
+     *
+     * @param newStopTime the internal representation of a row from stop_times.txt to be added to the repository.
+     * @return the entity added to the repository if the uniqueness constraint of stop time based on trip_id and
+     * stop_sequence is respected, if this requirement is not met returns null.
+     */
+    @Override
+    public synchronized StopTime addStopTime(final StopTime newStopTime) throws IllegalArgumentException {
+        checkNotFrozen();
+        if (newStopTime != null) {
+            return stopTimeStorage.add(newStopTime) ? newStopTime : null;
+        } else {
+            throw new IllegalArgumentException("Cannot add null StopTime to data repository");
+        }
+    }
+
+    /**
+     * Return a read-only view of the stop times of a trip, ordered by stop_sequence
+     *
+     * @param tripId identifies a trip
+     * @return a read-only view of the stop times of the trip, or null if no stop time of said trip was added
+     */
+    @Override
+    public SortedMap<Integer, StopTime> getStopTimeByTripId(final String tripId) {
+        return stopTimeStorage.getStopTimesOfTrip(tripId);
+    }
+
+    @Override
+    public Map<String, SortedMap<Integer, StopTime>> getStopTimeAll() {
+        return stopTimeStorage.getStopTimesByTripId();
+    }
+
+    @Override
+    public EntityIndex<LocationBase> getStopIndex() {
+        return new OffHeapEntityIndex<>(stopIds, stopIndex -> getStopById(stopIds.get(stopIndex)));
+    }
+
+    @Override
+    public EntityIndex<Trip> getTripIndex() {
+        return new OffHeapEntityIndex<>(tripIds, tripTable::get);
+    }
+
+    @Override
+    public EntityIndex<Route> getRouteIndex() {
+        return new OffHeapEntityIndex<>(routeIds, routeIndex -> getRouteById(routeIds.get(routeIndex)));
+    }
+
+    @Override
+    public EntityIndex<Calendar> getServiceIndex() {
+        return new OffHeapEntityIndex<>(serviceIds,
+                serviceIndex -> getCalendarByServiceId(serviceIds.get(serviceIndex)));
+    }
+
+    @Override
+    public EntityIndex<ShapeGeometry> getShapeIndex() {
+        return new OffHeapEntityIndex<>(shapeIds, shapeStorage::get);
+    }
+
+    @Override
+    public int getRouteIndexOfTrip(final int tripIndex) {
+        return tripTable.getRouteIndex(tripIndex);
+    }
+
+    @Override
+    public int getServiceIndexOfTrip(final int tripIndex) {
+        return tripTable.getServiceIndex(tripIndex);
+    }
+
+    @Override
+    public int getShapeIndexOfTrip(final int tripIndex) {
+        return tripTable.getShapeIndex(tripIndex);
+    }
+
+    /**
+     * Releases the memory of the bulky tables and deletes the temporary files holding them
+     *
+     * @throws IOException if a temporary file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        stopTimeStorage.close();
+        shapeStorage.close();
+        arena.close();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Read-only view of values stored outside of the Java heap, mapped on string keys held by an
+ * {@link OffHeapStringTable}. Values are recreated each time they are accessed. Iteration follows the order in which
+ * keys were first inserted, given by an {@link InsertionOrder}.
+ *
+ * @param <V> the type of the values
+ */
+final class OffHeapMapView<V> extends AbstractMap<String, V> {
+    private final OffHeapStringTable keyTable;
+    private final InsertionOrder order;
+    private final IntPredicate hasValue;
+    private final IntFunction<V> valueOfKeyId;
+
+    /**
+     * @param keyTable     the table holding the keys
+     * @param order        the order of iteration over the keys which have a value
+     * @param hasValue     tells whether the key with a given id has a value in this map
+     * @param valueOfKeyId recreates the value of the key with a given id, which has a value in this map
+     */
+    OffHeapMapView(final OffHeapStringTable keyTable,
+                   final InsertionOrder order,
+                   final IntPredicate hasValue,
+                   final IntFunction<V> valueOfKeyId) {
+        this.keyTable = keyTable;
+        this.order = order;
+        this.hasValue = hasValue;
+        this.valueOfKeyId = valueOfKeyId;
+    }
+
+    @Override
+    public V get(final Object key) {
+        final int keyId = getKeyId(key);
+        return keyId == EntityIndex.NO_INDEX ? null : valueOfKeyId.apply(keyId);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return getKeyId(key) != EntityIndex.NO_INDEX;
+    }
+
+    @Override
+    public int size() {
+        return order.getKeyCount();
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                final int keyCount = order.getKeyCount();
+                return new Iterator<>() {
+                    private int position;
+
+                    @Override
+                    public boolean hasNext() {
+                        return position < keyCount;
+                    }
+
+                    @Override
+                    public Entry<String, V> next() {
+                        if (position >= keyCount) {
+                            throw new NoSuchElementException();
+                        }
+                        final int keyId = order.getKeyId(position);
+                        ++position;
+                        return new SimpleImmutableEntry<>(keyTable.get(keyId), valueOfKeyId.apply(keyId));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return order.getKeyCount();
+            }
+        };
+    }
+
+    // id of a key which has a value in this map, NO_INDEX otherwise
+    private int getKeyId(final Object key) {
+        if (!(key instanceof String)) {
+            return EntityIndex.NO_INDEX;
+        }
+        final int keyId = keyTable.indexOf((String) key);
+        return keyId != EntityIndex.NO_INDEX && hasValue.test(keyId) ? keyId : EntityIndex.NO_INDEX;
+    }
+}
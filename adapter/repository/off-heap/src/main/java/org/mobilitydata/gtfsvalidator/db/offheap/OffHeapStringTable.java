@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+
+/**
+ * Assigns dense integer ids to distinct strings, in the order they are added, and keeps the strings outside of the
+ * Java heap. Each string is stored once, preceded by its length, with one byte per character if all its characters
+ * are ASCII and two bytes per character otherwise. Strings are found back through an open addressing hash table whose
+ * slots are stored outside of the heap as well, so that the heap used does not depend on the number of strings.
+ * <p>
+ * This is not thread-safe: strings are to be added by a single thread at a time, and lookups are not to be performed
+ * while strings are added.
+ */
+final class OffHeapStringTable {
+    private static final int INITIAL_SLOT_COUNT = 1024;
+    // flag of the length of the strings stored with two bytes per character
+    private static final int WIDE_FLAG = 1;
+
+    private final PageArena arena;
+    // length of each string followed by its characters, at offsets multiple of 4
+    private final OffHeapBuffer chars;
+    private long charsSize;
+    // offset of each string in the characters buffer, indexed by id
+    private final OffHeapBuffer offsets;
+    // hash code of each string, indexed by id
+    private final OffHeapBuffer hashCodes;
+    // id + 1 of the string of each slot, 0 for empty slots
+    private OffHeapBuffer slots;
+    private int slotMask;
+    private int size;
+
+    /**
+     * @param arena the arena allocating the memory of this table
+     */
+    OffHeapStringTable(final PageArena arena) {
+        this.arena = arena;
+        chars = new OffHeapBuffer(arena);
+        offsets = new OffHeapBuffer(arena);
+        hashCodes = new OffHeapBuffer(arena);
+        slots = new OffHeapBuffer(arena);
+        slots.ensureCapacity((long) INITIAL_SLOT_COUNT * Integer.BYTES);
+        slotMask = INITIAL_SLOT_COUNT - 1;
+    }
+
+    /**
+     * Returns the id assigned to a string, adding the string to this table if it was not yet
+     *
+     * @param value the string
+     * @return the id assigned to the string, or {@link EntityIndex#NO_INDEX} if the string is null
+     */
+    int add(final String value) {
+        if (value == null) {
+            return EntityIndex.NO_INDEX;
+        }
+        final int hashCode = value.hashCode();
+        int slot = spread(hashCode) & slotMask;
+        while (true) {
+            final int id = slots.getInt((long) slot * Integer.BYTES) - 1;
+            if (id == EntityIndex.NO_INDEX) {
+                break;
+            }
+            if (hashCodes.getInt((long) id * Integer.BYTES) == hashCode && matches(id, value)) {
+                return id;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+        final int id = size;
+        slots.putInt((long) slot * Integer.BYTES, id + 1);
+        offsets.ensureCapacity((long) (id + 1) * Long.BYTES);
+        offsets.putLong((long) id * Long.BYTES, charsSize);
+        hashCodes.ensureCapacity((long) (id + 1) * Integer.BYTES);
+        hashCodes.putInt((long) id * Integer.BYTES, hashCode);
+        write(value);
+        ++size;
+        if (size > (slotMask + 1) >> 1) {
+            rehash((slotMask + 1) << 1);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id assigned to a string
+     *
+     * @param value the string
+     * @return the id assigned to the string, or {@link EntityIndex#NO_INDEX} if the string is null or was not added
+     */
+    int indexOf(final String value) {
+        if (value == null) {
+            return EntityIndex.NO_INDEX;
+        }
+        final int hashCode = value.hashCode();
+        int slot = spread(hashCode) & slotMask;
+        while (true) {
+            final int id = slots.getInt((long) slot * Integer.BYTES) - 1;
+            if (id == EntityIndex.NO_INDEX ||
+                    (hashCodes.getInt((long) id * Integer.BYTES) == hashCode && matches(id, value))) {
+                return id;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+    }
+
+    /**
+     * Returns the string an id was assigned to. Each call creates a new {@link String}.
+     *
+     * @param id the id of a string
+     * @return the string the id was assigned to, or null if the id is out of range
+     */
+    String get(final int id) {
+        if (id < 0 || id >= size) {
+            return null;
+        }
+        final long offset = offsets.getLong((long) id * Long.BYTES);
+        final int header = chars.getInt(offset);
+        final int length = header >>> 1;
+        final char[] value = new char[length];
+        if ((header & WIDE_FLAG) == 0) {
+            for (int i = 0; i < length; ++i) {
+                value[i] = (char) chars.getByte(offset + Integer.BYTES + i);
+            }
+        } else {
+            for (int i = 0; i < length; ++i) {
+                value[i] = chars.getChar(offset + Integer.BYTES + (long) i * Character.BYTES);
+            }
+        }
+        return new String(value);
+    }
+
+    /**
+     * Returns the hash code of the string an id was assigned to, as returned by {@link String#hashCode()}
+     *
+     * @param id the id of a string, within range
+     * @return the hash code of the string the id was assigned to
+     */
+    int hashCodeOf(final int id) {
+        return hashCodes.getInt((long) id * Integer.BYTES);
+    }
+
+    /**
+     * Returns the number of strings of this table
+     *
+     * @return the number of strings of this table
+     */
+    int size() {
+        return size;
+    }
+
+    private boolean matches(final int id, final String value) {
+        final long offset = offsets.getLong((long) id * Long.BYTES);
+        final int header = chars.getInt(offset);
+        final int length = value.length();
+        if (header >>> 1 != length) {
+            return false;
+        }
+        if ((header & WIDE_FLAG) == 0) {
+            for (int i = 0; i < length; ++i) {
+                if (chars.getByte(offset + Integer.BYTES + i) != value.charAt(i)) {
+                    return false;
+                }
+            }
+        } else {
+            for (int i = 0; i < length; ++i) {
+                if (chars.getChar(offset + Integer.BYTES + (long) i * Character.BYTES) != value.charAt(i)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void write(final String value) {
+        final int length = value.length();
+        boolean isAscii = true;
+        for (int i = 0; i < length && isAscii; ++i) {
+            isAscii = value.charAt(i) < 0x80;
+        }
+        final long byteCount = isAscii ? length : (long) length * Character.BYTES;
+        chars.ensureCapacity(charsSize + Integer.BYTES + byteCount);
+        chars.putInt(charsSize, length << 1 | (isAscii ? 0 : WIDE_FLAG));
+        final long start = charsSize + Integer.BYTES;
+        if (isAscii) {
+            for (int i = 0; i < length; ++i) {
+                chars.putByte(start + i, (byte) value.charAt(i));
+            }
+        } else {
+            for (int i = 0; i < length; ++i) {
+                chars.putChar(start + (long) i * Character.BYTES, value.charAt(i));
+            }
+        }
+        // keeps the length of the next string aligned
+        charsSize = (start + byteCount + Integer.BYTES - 1) & -Integer.BYTES;
+    }
+
+    private void rehash(final int slotCount) {
+        final OffHeapBuffer newSlots = new OffHeapBuffer(arena);
+        newSlots.ensureCapacity((long) slotCount * Integer.BYTES);
+        final int newSlotMask = slotCount - 1;
+        for (int id = 0; id < size; ++id) {
+            int slot = spread(hashCodes.getInt((long) id * Integer.BYTES)) & newSlotMask;
+            while (newSlots.getInt((long) slot * Integer.BYTES) != 0) {
+                slot = (slot + 1) & newSlotMask;
+            }
+            newSlots.putInt((long) slot * Integer.BYTES, id + 1);
+        }
+        slots.release();
+        slots = newSlots;
+        slotMask = newSlotMask;
+    }
+
+    private static int spread(final int hashCode) {
+        // mixes the bits of the hash code, for consecutive hash codes not to fill consecutive slots
+        final int mixed = hashCode * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Allocates fixed-size pages of memory outside of the Java heap. Pages are regions of a temporary file mapped in
+ * memory: the operating system keeps them in its page cache and writes them back to disk when memory runs short, so
+ * that the amount of data that can be stored is bounded by neither the Java heap nor the physical memory. The file is
+ * opened to be deleted when the arena is closed, or when the process exits.
+ * <p>
+ * Pages released by their owner are handed over again by the next allocations, zeroed as new pages are. Allocation
+ * and release are thread-safe.
+ */
+final class PageArena implements Closeable {
+    static final int PAGE_SHIFT = 20;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final FileChannel channel;
+    // mapped page of each page number
+    private final List<ByteBuffer> pageList = new ArrayList<>();
+    private final Deque<Integer> freePageNumbers = new ArrayDeque<>();
+
+    /**
+     * @param directory the directory in which to create the file backing the pages
+     * @throws UncheckedIOException if the file backing the pages cannot be created
+     */
+    PageArena(final Path directory) {
+        try {
+            final Path file = Files.createTempFile(directory, "gtfs-validator-", ".pages");
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create off-heap storage in " + directory, e);
+        }
+    }
+
+    /**
+     * Allocates a page, which bytes are all zero
+     *
+     * @return the number of the page allocated
+     * @throws UncheckedIOException if the file backing the pages cannot be extended
+     */
+    synchronized int allocate() {
+        final Integer freePageNumber = freePageNumbers.poll();
+        if (freePageNumber != null) {
+            final ByteBuffer page = pageList.get(freePageNumber);
+            for (int position = 0; position < PAGE_SIZE; position += Long.BYTES) {
+                page.putLong(position, 0L);
+            }
+            return freePageNumber;
+        }
+        final int pageNumber = pageList.size();
+        try {
+            pageList.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) pageNumber << PAGE_SHIFT, PAGE_SIZE)
+                    .order(ByteOrder.nativeOrder()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot extend off-heap storage", e);
+        }
+        return pageNumber;
+    }
+
+    /**
+     * Returns the memory of a page. Accesses to the buffer returned must use absolute positions, so that the buffer
+     * can be shared by several threads.
+     *
+     * @param pageNumber the number of a page returned by {@link #allocate()}
+     * @return the memory of the page
+     */
+    synchronized ByteBuffer getPage(final int pageNumber) {
+        return pageList.get(pageNumber);
+    }
+
+    /**
+     * Releases a page, which is not to be accessed anymore by its owner
+     *
+     * @param pageNumber the number of a page returned by {@link #allocate()}
+     */
+    synchronized void release(final int pageNumber) {
+        freePageNumbers.push(pageNumber);
+    }
+
+    /**
+     * Returns the number of pages allocated and not released
+     *
+     * @return the number of pages allocated and not released
+     */
+    synchronized int getPageInUseCount() {
+        return pageList.size() - freePageNumbers.size();
+    }
+
+    /**
+     * Deletes the file backing the pages and drops the pages, so that their mappings are released once they are not
+     * referenced anymore. Pages are not to be accessed once the arena is closed.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        pageList.clear();
+        freePageNumbers.clear();
+        channel.close();
+    }
+}
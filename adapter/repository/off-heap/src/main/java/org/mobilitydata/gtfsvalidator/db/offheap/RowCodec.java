@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+/**
+ * Encodes the nullable values of entities as primitive values fitting in fixed-size rows, and decodes them back
+ */
+final class RowCodec {
+    // stands for null times
+    private static final int NO_TIME = Integer.MIN_VALUE;
+    // stands for null enum values
+    private static final byte NO_CODE = -1;
+
+    private RowCodec() {
+    }
+
+    /**
+     * Encodes a time, as a number of seconds
+     *
+     * @param time the time to encode, or null
+     * @return the encoded time
+     */
+    static int encodeTime(final Integer time) {
+        return time == null ? NO_TIME : time;
+    }
+
+    /**
+     * Decodes a time encoded by {@link #encodeTime(Integer)}
+     *
+     * @param time the encoded time
+     * @return the time, or null
+     */
+    static Integer decodeTime(final int time) {
+        return time == NO_TIME ? null : time;
+    }
+
+    /**
+     * Encodes a float. NaN stands for null: NaN values are not found in GTFS files.
+     *
+     * @param value the float to encode, or null
+     * @return the encoded float
+     */
+    static float encodeFloat(final Float value) {
+        return value == null ? Float.NaN : value;
+    }
+
+    /**
+     * Decodes a float encoded by {@link #encodeFloat(Float)}
+     *
+     * @param value the encoded float
+     * @return the float, or null
+     */
+    static Float decodeFloat(final float value) {
+        return Float.isNaN(value) ? null : value;
+    }
+
+    /**
+     * Encodes an enum value as its ordinal
+     *
+     * @param value the enum value to encode, or null
+     * @return the encoded enum value
+     */
+    static byte encodeEnum(final Enum<?> value) {
+        return value == null ? NO_CODE : (byte) value.ordinal();
+    }
+
+    /**
+     * Decodes an enum value encoded by {@link #encodeEnum(Enum)}
+     *
+     * @param values the values of the enum, as returned by its {@code values()} method
+     * @param code   the encoded enum value
+     * @param <E>    the type of the enum
+     * @return the enum value, or null
+     */
+    static <E extends Enum<E>> E decodeEnum(final E[] values, final byte code) {
+        return code == NO_CODE ? null : values[code];
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
+
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ * Storage of the rows of shapes.txt outside of the Java heap, grouped by shape_id and sorted by shape_pt_sequence
+ */
+interface ShapeStorage extends Closeable {
+    /**
+     * Adds a point, unless a point with the same shape_id and shape_pt_sequence was already added
+     *
+     * @param shapePoint the point to add
+     * @return true if the point was added, false if a point with the same shape_id and shape_pt_sequence was already
+     * added
+     */
+    boolean add(ShapePoint shapePoint);
+
+    /**
+     * Recreates the geometry of the shape whose shape_id an index was assigned to
+     *
+     * @param shapeIndex the index of a shape_id
+     * @return the geometry of the shape, or null if no point of said shape was added
+     */
+    ShapeGeometry get(int shapeIndex);
+
+    /**
+     * Returns a read-only view of the shapes, mapped on their shape_id
+     *
+     * @return a read-only view of the shapes
+     */
+    Map<String, ShapeGeometry> getShapesById();
+}
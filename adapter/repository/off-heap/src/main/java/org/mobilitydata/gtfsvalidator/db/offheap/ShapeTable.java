@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
+
+import java.util.Map;
+
+/**
+ * Rows of shapes.txt stored outside of the Java heap, in a {@link SortedRowTable} grouping them by the index of their
+ * shape_id and sorting them by shape_pt_sequence.
+ * <p>
+ * Shapes are handed over as {@link ShapeGeometry} recreated from the rows of their points each time one is accessed.
+ * This is not thread-safe: points are to be added by a single thread at a time, and shapes are not to be read while
+ * points are added.
+ */
+final class ShapeTable implements ShapeStorage {
+    private static final int ROW_SIZE = 16;
+    // the shape_pt_sequence is the key of the rows
+    private static final int SHAPE_PT_LAT = 4;
+    private static final int SHAPE_PT_LON = 8;
+    // NaN stands for a null distance
+    private static final int SHAPE_DIST_TRAVELED = 12;
+
+    private final SortedRowTable table;
+    private final OffHeapStringTable shapeIds;
+    private final InsertionOrder shapeOrder;
+
+    /**
+     * @param arena    the arena allocating the memory of this table
+     * @param shapeIds the table of shape ids
+     */
+    ShapeTable(final PageArena arena, final OffHeapStringTable shapeIds) {
+        this.shapeIds = shapeIds;
+        table = new SortedRowTable(arena, ROW_SIZE);
+        shapeOrder = new InsertionOrder() {
+            @Override
+            public int getKeyCount() {
+                return table.getGroupCount();
+            }
+
+            @Override
+            public int getKeyId(final int rank) {
+                return table.getGroupId(rank);
+            }
+        };
+    }
+
+    /**
+     * Adds a point to this table, unless a point with the same shape_id and shape_pt_sequence was already added
+     *
+     * @param shapePoint the point to add
+     * @return true if the point was added, false if a point with the same shape_id and shape_pt_sequence was already
+     * added
+     */
+    @Override
+    public boolean add(final ShapePoint shapePoint) {
+        final long rowOffset = table.insert(shapeIds.add(shapePoint.getShapeId()), shapePoint.getShapePtSequence());
+        if (rowOffset == SortedRowTable.NO_ROW) {
+            return false;
+        }
+        final OffHeapBuffer rows = table.getRows();
+        rows.putFloat(rowOffset + SHAPE_PT_LAT, shapePoint.getShapePtLat());
+        rows.putFloat(rowOffset + SHAPE_PT_LON, shapePoint.getShapePtLon());
+        rows.putFloat(rowOffset + SHAPE_DIST_TRAVELED, RowCodec.encodeFloat(shapePoint.getShapeDistTraveled()));
+        return true;
+    }
+
+    /**
+     * Recreates the geometry of the shape whose shape_id an index was assigned to
+     *
+     * @param shapeIndex the index of a shape_id
+     * @return the geometry of the shape, or null if no point of said shape was added
+     */
+    @Override
+    public ShapeGeometry get(final int shapeIndex) {
+        if (!table.hasGroup(shapeIndex)) {
+            return null;
+        }
+        final OffHeapBuffer rows = table.getRows();
+        final int pointCount = table.getRowCount(shapeIndex);
+        final int[] shapePtSequences = new int[pointCount];
+        final float[] shapePtLats = new float[pointCount];
+        final float[] shapePtLons = new float[pointCount];
+        final float[] shapeDistTraveled = new float[pointCount];
+        for (int pointIndex = 0; pointIndex < pointCount; ++pointIndex) {
+            final long rowOffset = table.getRowOffset(shapeIndex, pointIndex);
+            shapePtSequences[pointIndex] = table.getKey(rowOffset);
+            shapePtLats[pointIndex] = rows.getFloat(rowOffset + SHAPE_PT_LAT);
+            shapePtLons[pointIndex] = rows.getFloat(rowOffset + SHAPE_PT_LON);
+            shapeDistTraveled[pointIndex] = rows.getFloat(rowOffset + SHAPE_DIST_TRAVELED);
+        }
+        return ShapeGeometry.restore(shapeIds.get(shapeIndex), shapePtSequences, shapePtLats, shapePtLons,
+                shapeDistTraveled);
+    }
+
+    /**
+     * Returns a read-only view of the shapes, mapped on their shape_id
+     *
+     * @return a read-only view of the shapes
+     */
+    @Override
+    public Map<String, ShapeGeometry> getShapesById() {
+        return new OffHeapMapView<>(shapeIds, shapeOrder, table::hasGroup, this::get);
+    }
+
+    /**
+     * Does nothing: the memory of this table is released along with its arena
+     */
+    @Override
+    public void close() {
+    }
+}
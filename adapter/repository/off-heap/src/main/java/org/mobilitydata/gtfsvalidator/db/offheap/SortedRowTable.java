@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+/**
+ * Rows of fixed size stored outside of the Java heap, grouped by a dense integer group id and sorted by an integer key
+ * within each group: the rows of stop_times.txt grouped by trip and sorted by stop_sequence for instance. The key is
+ * the first {@code int} of each row; the layout of the rest of the row is up to the owner of the table.
+ * <p>
+ * The rows of a group occupy a contiguous range of the table. Rows of a group appended in increasing key order, which
+ * is how GTFS files are usually sorted, are written at the end of the table without any search. Other rows are
+ * inserted at their position in the range of their group, which is first moved to the end of the table if rows of
+ * other groups were appended after it; the ranges left behind are reclaimed once they take as much room as the rows in
+ * use, by copying the groups to a new buffer in the order they were created.
+ * <p>
+ * This is not thread-safe: rows are to be added by a single thread at a time, and rows are not to be read while rows
+ * are added.
+ */
+final class SortedRowTable {
+    /**
+     * Returned by {@link #insert(int, int)} when the group already has a row with the key provided
+     */
+    static final long NO_ROW = -1L;
+    // size of the descriptor of each group: start row, row count and creation rank + 1, 0 for groups without rows
+    private static final int GROUP_SIZE = 16;
+    private static final int START = 0;
+    private static final int SIZE = 4;
+    private static final int RANK = 8;
+
+    private final PageArena arena;
+    private final int rowSize;
+    private OffHeapBuffer rows;
+    // number of rows of the table in use, including the ranges left behind by groups moved to the end of the table
+    private int rowCount;
+    // number of rows left behind by groups moved to the end of the table
+    private int unusedRowCount;
+    // descriptor of each group, indexed by group id
+    private final OffHeapBuffer groups;
+    // id of each group, indexed by the rank of its creation
+    private final OffHeapBuffer groupIdsByRank;
+    private int groupCount;
+
+    /**
+     * @param arena   the arena allocating the memory of this table
+     * @param rowSize the size of each row in bytes: a power of 2, at least 8
+     */
+    SortedRowTable(final PageArena arena, final int rowSize) {
+        if (rowSize < Long.BYTES || Integer.bitCount(rowSize) != 1 || rowSize > PageArena.PAGE_SIZE) {
+            throw new IllegalArgumentException("Row size must be a power of 2 between 8 and the page size");
+        }
+        this.arena = arena;
+        this.rowSize = rowSize;
+        rows = new OffHeapBuffer(arena);
+        groups = new OffHeapBuffer(arena);
+        groupIdsByRank = new OffHeapBuffer(arena);
+    }
+
+    /**
+     * Inserts a row in a group, unless the group already has a row with the same key. Only the key of the row is
+     * written: the other values of the row are to be written by the caller at the offset returned, in the buffer
+     * returned by {@link #getRows()}.
+     *
+     * @param groupId the id of the group of the row, not negative
+     * @param key     the key of the row
+     * @return the offset of the row inserted, or {@link #NO_ROW} if the group already has a row with the same key
+     */
+    long insert(final int groupId, final int key) {
+        final long groupOffset = (long) groupId * GROUP_SIZE;
+        if (!hasGroup(groupId)) {
+            createGroup(groupId);
+        }
+        int start = groups.getInt(groupOffset + START);
+        int size = groups.getInt(groupOffset + SIZE);
+        if (start + size == rowCount && (size == 0 || key > getKeyOfRow(rowCount - 1))) {
+            // fast path: the row follows the last row of the group, which is the last row of the table
+            rows.ensureCapacity((long) (rowCount + 1) * rowSize);
+            groups.putInt(groupOffset + SIZE, size + 1);
+            return writeKey(rowCount++, key);
+        }
+        final int searchResult = binarySearch(start, start + size, key);
+        if (searchResult >= 0) {
+            return NO_ROW;
+        }
+        int insertionRow = -searchResult - 1;
+        if (start + size != rowCount) {
+            // moves the group to the end of the table so that its range can grow
+            rows.ensureCapacity((long) (rowCount + size + 1) * rowSize);
+            OffHeapBuffer.copy(rows, (long) start * rowSize, rows, (long) rowCount * rowSize, (long) size * rowSize);
+            insertionRow += rowCount - start;
+            unusedRowCount += size;
+            start = rowCount;
+            rowCount += size;
+            groups.putInt(groupOffset + START, start);
+        } else {
+            rows.ensureCapacity((long) (rowCount + 1) * rowSize);
+        }
+        OffHeapBuffer.copy(rows, (long) insertionRow * rowSize, rows, (long) (insertionRow + 1) * rowSize,
+                (long) (rowCount - insertionRow) * rowSize);
+        ++rowCount;
+        groups.putInt(groupOffset + SIZE, size + 1);
+        if (unusedRowCount > rowCount - unusedRowCount) {
+            final int position = insertionRow - start;
+            compact();
+            return writeKey(groups.getInt(groupOffset + START) + position, key);
+        }
+        return writeKey(insertionRow, key);
+    }
+
+    /**
+     * Returns the buffer holding the rows of this table, which is valid until the next insertion
+     *
+     * @return the buffer holding the rows of this table
+     */
+    OffHeapBuffer getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns true if a group has rows
+     *
+     * @param groupId the id of a group
+     * @return true if the group has rows, false otherwise
+     */
+    boolean hasGroup(final int groupId) {
+        return groupId >= 0 && (long) groupId * GROUP_SIZE < groups.getCapacity() &&
+                groups.getInt((long) groupId * GROUP_SIZE + RANK) != 0;
+    }
+
+    /**
+     * Returns the number of rows of a group
+     *
+     * @param groupId the id of a group
+     * @return the number of rows of the group, 0 if the group has no rows
+     */
+    int getRowCount(final int groupId) {
+        return hasGroup(groupId) ? groups.getInt((long) groupId * GROUP_SIZE + SIZE) : 0;
+    }
+
+    /**
+     * Returns the offset of a row of a group
+     *
+     * @param groupId  the id of a group which has rows
+     * @param position the position of the row in the group, from 0 to the number of rows of the group excluded
+     * @return the offset of the row in the buffer returned by {@link #getRows()}
+     */
+    long getRowOffset(final int groupId, final int position) {
+        return (long) (groups.getInt((long) groupId * GROUP_SIZE + START) + position) * rowSize;
+    }
+
+    /**
+     * Searches the row of a group with a key, in the manner of {@link java.util.Arrays#binarySearch(int[], int)}
+     *
+     * @param groupId the id of a group which has rows
+     * @param key     the key to search
+     * @return the position of the row with the key in the group if there is one, otherwise (-(insertion point) - 1),
+     * the insertion point being the position of the first row with a greater key
+     */
+    int search(final int groupId, final int key) {
+        final int start = groups.getInt((long) groupId * GROUP_SIZE + START);
+        final int searchResult = binarySearch(start, start + groups.getInt((long) groupId * GROUP_SIZE + SIZE), key);
+        return searchResult >= 0 ? searchResult - start : searchResult + start;
+    }
+
+    /**
+     * Returns the key of a row
+     *
+     * @param rowOffset the offset of a row
+     * @return the key of the row
+     */
+    int getKey(final long rowOffset) {
+        return rows.getInt(rowOffset);
+    }
+
+    /**
+     * Returns the number of groups which have rows
+     *
+     * @return the number of groups which have rows
+     */
+    int getGroupCount() {
+        return groupCount;
+    }
+
+    /**
+     * Returns the id of a group given the rank of its creation: groups are created by the insertion of their first row
+     *
+     * @param rank the rank of the creation of the group, from 0 to {@link #getGroupCount()} excluded
+     * @return the id of the group
+     */
+    int getGroupId(final int rank) {
+        return groupIdsByRank.getInt((long) rank * Integer.BYTES);
+    }
+
+    private void createGroup(final int groupId) {
+        final long groupOffset = (long) groupId * GROUP_SIZE;
+        groups.ensureCapacity(groupOffset + GROUP_SIZE);
+        groups.putInt(groupOffset + START, rowCount);
+        groups.putInt(groupOffset + SIZE, 0);
+        groups.putInt(groupOffset + RANK, groupCount + 1);
+        groupIdsByRank.ensureCapacity((long) (groupCount + 1) * Integer.BYTES);
+        groupIdsByRank.putInt((long) groupCount * Integer.BYTES, groupId);
+        ++groupCount;
+    }
+
+    private long writeKey(final int row, final int key) {
+        final long rowOffset = (long) row * rowSize;
+        rows.putInt(rowOffset, key);
+        return rowOffset;
+    }
+
+    private int getKeyOfRow(final int row) {
+        return rows.getInt((long) row * rowSize);
+    }
+
+    private int binarySearch(final int fromRow, final int toRow, final int key) {
+        int low = fromRow;
+        int high = toRow - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int middleKey = getKeyOfRow(middle);
+            if (middleKey < key) {
+                low = middle + 1;
+            } else if (middleKey > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Copies the ranges of all groups to a new buffer, in the order of their creation, reclaiming the rows left behind
+     * by groups moved to the end of the table
+     */
+    private void compact() {
+        final OffHeapBuffer compactedRows = new OffHeapBuffer(arena);
+        compactedRows.ensureCapacity((long) (rowCount - unusedRowCount) * rowSize);
+        int nextStart = 0;
+        for (int rank = 0; rank < groupCount; ++rank) {
+            final long groupOffset = (long) getGroupId(rank) * GROUP_SIZE;
+            final int size = groups.getInt(groupOffset + SIZE);
+            OffHeapBuffer.copy(rows, (long) groups.getInt(groupOffset + START) * rowSize,
+                    compactedRows, (long) nextStart * rowSize, (long) size * rowSize);
+            groups.putInt(groupOffset + START, nextStart);
+            nextStart += size;
+        }
+        rows.release();
+        rows = compactedRows;
+        rowCount = nextStart;
+        unusedRowCount = 0;
+    }
+}
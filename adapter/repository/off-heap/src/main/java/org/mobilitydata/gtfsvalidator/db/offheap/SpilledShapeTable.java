@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Rows of shapes.txt spilled to disk by a {@link SpillingRowSorter}, grouping them by the index of their shape_id and
+ * sorting them by shape_pt_sequence.
+ * <p>
+ * The points of a shape are read from disk with a single sequential read each time the shape is accessed, and handed
+ * over as a new {@link ShapeGeometry}. Points are to be added before shapes are read.
+ */
+final class SpilledShapeTable implements ShapeStorage {
+    // the shape index is the group of the rows, and the shape_pt_sequence their key
+    private static final int SHAPE_PT_LAT = SpillingRowSorter.PAYLOAD;
+    private static final int SHAPE_PT_LON = SHAPE_PT_LAT + 4;
+    private static final int SHAPE_DIST_TRAVELED = SHAPE_PT_LON + 4;
+    private static final int PAYLOAD_SIZE = SHAPE_DIST_TRAVELED + 4 - SpillingRowSorter.PAYLOAD;
+
+    private final SpillingRowSorter sorter;
+    private final OffHeapStringTable shapeIds;
+    private final InsertionOrder shapeOrder;
+
+    /**
+     * @param directory   the directory where to create run files
+     * @param runRowCount the number of points buffered in memory before they are spilled to disk
+     * @param shapeIds    the table of shape ids
+     */
+    SpilledShapeTable(final Path directory,
+                      final int runRowCount,
+                      final OffHeapStringTable shapeIds) {
+        this.shapeIds = shapeIds;
+        sorter = new SpillingRowSorter(directory, PAYLOAD_SIZE, runRowCount);
+        shapeOrder = new InsertionOrder() {
+            @Override
+            public int getKeyCount() {
+                return sorter.getGroupCount();
+            }
+
+            @Override
+            public int getKeyId(final int rank) {
+                return sorter.getGroupId(rank);
+            }
+        };
+    }
+
+    /**
+     * Adds a point, unless a point with the same shape_id and shape_pt_sequence was already added
+     *
+     * @param shapePoint the point to add
+     * @return true if the point was added, false if a point with the same shape_id and shape_pt_sequence was already
+     * added
+     */
+    @Override
+    public boolean add(final ShapePoint shapePoint) {
+        final int rowOffset = sorter.add(shapeIds.add(shapePoint.getShapeId()), shapePoint.getShapePtSequence());
+        if (rowOffset == SpillingRowSorter.NO_ROW) {
+            return false;
+        }
+        final ByteBuffer rows = sorter.getRun();
+        rows.putFloat(rowOffset + SHAPE_PT_LAT, shapePoint.getShapePtLat());
+        rows.putFloat(rowOffset + SHAPE_PT_LON, shapePoint.getShapePtLon());
+        rows.putFloat(rowOffset + SHAPE_DIST_TRAVELED, RowCodec.encodeFloat(shapePoint.getShapeDistTraveled()));
+        return true;
+    }
+
+    /**
+     * Reads the points of the shape whose shape_id an index was assigned to from disk
+     *
+     * @param shapeIndex the index of a shape_id
+     * @return the geometry of the shape, or null if no point of said shape was added
+     */
+    @Override
+    public ShapeGeometry get(final int shapeIndex) {
+        if (!sorter.hasGroup(shapeIndex)) {
+            return null;
+        }
+        final ByteBuffer rows = sorter.readGroup(shapeIndex);
+        final int pointCount = rows.limit() / sorter.getRowSize();
+        final int[] shapePtSequences = new int[pointCount];
+        final float[] shapePtLats = new float[pointCount];
+        final float[] shapePtLons = new float[pointCount];
+        final float[] shapeDistTraveled = new float[pointCount];
+        for (int pointIndex = 0; pointIndex < pointCount; ++pointIndex) {
+            final int rowOffset = pointIndex * sorter.getRowSize();
+            shapePtSequences[pointIndex] = rows.getInt(rowOffset + SpillingRowSorter.KEY);
+            shapePtLats[pointIndex] = rows.getFloat(rowOffset + SHAPE_PT_LAT);
+            shapePtLons[pointIndex] = rows.getFloat(rowOffset + SHAPE_PT_LON);
+            shapeDistTraveled[pointIndex] = rows.getFloat(rowOffset + SHAPE_DIST_TRAVELED);
+        }
+        return ShapeGeometry.restore(shapeIds.get(shapeIndex), shapePtSequences, shapePtLats, shapePtLons,
+                shapeDistTraveled);
+    }
+
+    /**
+     * Returns a read-only view of the shapes, mapped on their shape_id. The points of a shape are read from disk each
+     * time it is accessed.
+     *
+     * @return a read-only view of the shapes
+     */
+    @Override
+    public Map<String, ShapeGeometry> getShapesById() {
+        return new OffHeapMapView<>(shapeIds, shapeOrder, sorter::hasGroup, this::get);
+    }
+
+    /**
+     * Deletes the run files holding the points
+     *
+     * @throws IOException if a run file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        sorter.close();
+    }
+}
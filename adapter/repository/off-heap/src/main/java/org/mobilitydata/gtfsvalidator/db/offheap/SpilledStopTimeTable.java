@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Rows of stop_times.txt spilled to disk by a {@link SpillingRowSorter}, grouping them by the index of their trip_id
+ * and sorting them by stop_sequence. Stop ids are stored as the ids the table of stop ids assigned to them, and
+ * headsigns as ids in a table of texts.
+ * <p>
+ * The stop times of a trip are read from disk with a single sequential read each time they are accessed, and handed
+ * over as a read-only sorted map of new {@link StopTime} instances. Stop times are to be added before they are read.
+ */
+final class SpilledStopTimeTable implements StopTimeStorage {
+    // the trip index is the group of the rows, and the stop_sequence their key
+    private static final int ARRIVAL_TIME = SpillingRowSorter.PAYLOAD;
+    private static final int DEPARTURE_TIME = ARRIVAL_TIME + 4;
+    private static final int STOP = DEPARTURE_TIME + 4;
+    private static final int SHAPE_DIST_TRAVELED = STOP + 4;
+    private static final int STOP_HEADSIGN = SHAPE_DIST_TRAVELED + 4;
+    private static final int PICKUP_TYPE = STOP_HEADSIGN + 4;
+    private static final int DROP_OFF_TYPE = PICKUP_TYPE + 1;
+    private static final int CONTINUOUS_PICKUP = DROP_OFF_TYPE + 1;
+    private static final int CONTINUOUS_DROP_OFF = CONTINUOUS_PICKUP + 1;
+    private static final int TIMEPOINT = CONTINUOUS_DROP_OFF + 1;
+    private static final int PAYLOAD_SIZE = TIMEPOINT + 1 - SpillingRowSorter.PAYLOAD;
+
+    private static final PickupType[] PICKUP_TYPES = PickupType.values();
+    private static final DropOffType[] DROP_OFF_TYPES = DropOffType.values();
+    private static final ContinuousPickup[] CONTINUOUS_PICKUPS = ContinuousPickup.values();
+    private static final ContinuousDropOff[] CONTINUOUS_DROP_OFFS = ContinuousDropOff.values();
+    private static final Timepoint[] TIMEPOINTS = Timepoint.values();
+
+    private final SpillingRowSorter sorter;
+    private final OffHeapStringTable tripIds;
+    private final OffHeapStringTable stopIds;
+    private final OffHeapStringTable texts;
+    private final InsertionOrder tripOrder;
+
+    /**
+     * @param directory   the directory where to create run files
+     * @param runRowCount the number of stop times buffered in memory before they are spilled to disk
+     * @param tripIds     the table of trip ids
+     * @param stopIds     the table of stop ids
+     * @param texts       the table of texts
+     */
+    SpilledStopTimeTable(final Path directory,
+                         final int runRowCount,
+                         final OffHeapStringTable tripIds,
+                         final OffHeapStringTable stopIds,
+                         final OffHeapStringTable texts) {
+        this.tripIds = tripIds;
+        this.stopIds = stopIds;
+        this.texts = texts;
+        sorter = new SpillingRowSorter(directory, PAYLOAD_SIZE, runRowCount);
+        tripOrder = new InsertionOrder() {
+            @Override
+            public int getKeyCount() {
+                return sorter.getGroupCount();
+            }
+
+            @Override
+            public int getKeyId(final int rank) {
+                return sorter.getGroupId(rank);
+            }
+        };
+    }
+
+    /**
+     * Adds a stop time, unless a stop time with the same trip_id and stop_sequence was already added
+     *
+     * @param stopTime the stop time to add
+     * @return true if the stop time was added, false if a stop time with the same trip_id and stop_sequence was
+     * already added
+     */
+    @Override
+    public boolean add(final StopTime stopTime) {
+        final int rowOffset = sorter.add(tripIds.add(stopTime.getTripId()), stopTime.getStopSequence());
+        if (rowOffset == SpillingRowSorter.NO_ROW) {
+            return false;
+        }
+        final ByteBuffer rows = sorter.getRun();
+        rows.putInt(rowOffset + ARRIVAL_TIME, RowCodec.encodeTime(stopTime.getArrivalTime()));
+        rows.putInt(rowOffset + DEPARTURE_TIME, RowCodec.encodeTime(stopTime.getDepartureTime()));
+        rows.putInt(rowOffset + STOP, stopIds.add(stopTime.getStopId()));
+        rows.putFloat(rowOffset + SHAPE_DIST_TRAVELED, RowCodec.encodeFloat(stopTime.getShapeDistTraveled()));
+        rows.putInt(rowOffset + STOP_HEADSIGN, texts.add(stopTime.getStopHeadsign()));
+        rows.put(rowOffset + PICKUP_TYPE, RowCodec.encodeEnum(stopTime.getPickupType()));
+        rows.put(rowOffset + DROP_OFF_TYPE, RowCodec.encodeEnum(stopTime.getDropOffType()));
+        rows.put(rowOffset + CONTINUOUS_PICKUP, RowCodec.encodeEnum(stopTime.getContinuousPickup()));
+        rows.put(rowOffset + CONTINUOUS_DROP_OFF, RowCodec.encodeEnum(stopTime.getContinuousDropOff()));
+        rows.put(rowOffset + TIMEPOINT, RowCodec.encodeEnum(stopTime.getTimePoint()));
+        return true;
+    }
+
+    /**
+     * Reads the stop times of a trip from disk
+     *
+     * @param tripId the trip_id of the stop times to return
+     * @return a read-only map of the stop times of the trip, sorted by stop_sequence, or null if no stop time of said
+     * trip was added
+     */
+    @Override
+    public SortedMap<Integer, StopTime> getStopTimesOfTrip(final String tripId) {
+        final int tripIndex = tripIds.indexOf(tripId);
+        return sorter.hasGroup(tripIndex) ? readTrip(tripIndex) : null;
+    }
+
+    /**
+     * Returns a read-only view of the stop times of all trips, mapped on their trip_id then on their stop_sequence.
+     * The stop times of a trip are read from disk each time they are accessed.
+     *
+     * @return a read-only view of the stop times of all trips
+     */
+    @Override
+    public Map<String, SortedMap<Integer, StopTime>> getStopTimesByTripId() {
+        return new OffHeapMapView<>(tripIds, tripOrder, sorter::hasGroup, this::readTrip);
+    }
+
+    /**
+     * Deletes the run files holding the stop times
+     *
+     * @throws IOException if a run file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        sorter.close();
+    }
+
+    private SortedMap<Integer, StopTime> readTrip(final int tripIndex) {
+        final ByteBuffer rows = sorter.readGroup(tripIndex);
+        final String tripId = tripIds.get(tripIndex);
+        final SortedMap<Integer, StopTime> stopTimeByStopSequence = new TreeMap<>();
+        for (int rowOffset = 0; rowOffset < rows.limit(); rowOffset += sorter.getRowSize()) {
+            final int stopSequence = rows.getInt(rowOffset + SpillingRowSorter.KEY);
+            final int stopIndex = rows.getInt(rowOffset + STOP);
+            stopTimeByStopSequence.put(stopSequence, StopTime.restore(
+                    tripId,
+                    RowCodec.decodeTime(rows.getInt(rowOffset + ARRIVAL_TIME)),
+                    RowCodec.decodeTime(rows.getInt(rowOffset + DEPARTURE_TIME)),
+                    stopIds.get(stopIndex),
+                    stopSequence,
+                    texts.get(rows.getInt(rowOffset + STOP_HEADSIGN)),
+                    RowCodec.decodeEnum(PICKUP_TYPES, rows.get(rowOffset + PICKUP_TYPE)),
+                    RowCodec.decodeEnum(DROP_OFF_TYPES, rows.get(rowOffset + DROP_OFF_TYPE)),
+                    RowCodec.decodeEnum(CONTINUOUS_PICKUPS, rows.get(rowOffset + CONTINUOUS_PICKUP)),
+                    RowCodec.decodeEnum(CONTINUOUS_DROP_OFFS, rows.get(rowOffset + CONTINUOUS_DROP_OFF)),
+                    RowCodec.decodeFloat(rows.getFloat(rowOffset + SHAPE_DIST_TRAVELED)),
+                    RowCodec.decodeEnum(TIMEPOINTS, rows.get(rowOffset + TIMEPOINT)),
+                    tripIndex,
+                    stopIndex));
+        }
+        return Collections.unmodifiableSortedMap(stopTimeByStopSequence);
+    }
+}
@@ -0,0 +1,537 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Sorts fixed-size rows by group then by key with an external merge sort, so that the number of rows is bounded by
+ * neither the Java heap nor the physical memory. Groups are designated by dense integer ids, and keys are unique
+ * within a group. Each row starts with its group id and key, followed by a payload written by the caller.
+ * <p>
+ * Rows are buffered in memory as they are added. When the buffer is full, its rows are sorted and spilled to a run
+ * file on disk; once {@link #MAX_RUN_COUNT} runs are on disk, they are merged into a single run. When rows are first
+ * read, the remaining rows are spilled and all runs are merged into a single sorted file, from which the rows of a
+ * group are read with a single sequential read. Adding rows after they were read is supported: the sorted file is then
+ * merged with the new runs on next read. Memory only holds the buffer of rows and a few integers per group. Run files
+ * are opened to be deleted when they are merged, when the sorter is closed, or when the process exits.
+ * <p>
+ * Uniqueness of keys within a group is enforced as rows are added: keys greater than all the keys of their group,
+ * which is the common case of sorted files, are unique; others are looked up in the buffer, then by binary search in
+ * the runs on disk. Adding rows is not thread-safe: the payload of a row is written by the caller once the row is
+ * added, so rows are to be added by one thread at a time, as {@link OffHeapGtfsDataRepository} does under its own lock.
+ * Reading rows once they are all added is thread-safe.
+ */
+final class SpillingRowSorter implements Closeable {
+    /**
+     * Returned by {@link #add(int, int)} when a row with the same group and key was already added
+     */
+    static final int NO_ROW = -1;
+    /**
+     * Offset of the group id in a row
+     */
+    static final int GROUP_ID = 0;
+    /**
+     * Offset of the key in a row
+     */
+    static final int KEY = 4;
+    /**
+     * Offset of the payload in a row
+     */
+    static final int PAYLOAD = 8;
+    /**
+     * Default number of rows buffered in memory before they are spilled to disk
+     */
+    static final int DEFAULT_RUN_ROW_COUNT = 1 << 18;
+    // runs on disk which triggers their merge into a single run, bounding the number of open files
+    private static final int MAX_RUN_COUNT = 32;
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final Path directory;
+    private final int rowSize;
+    private final int runRowCount;
+    // rows added since the last spill, in the order they were added; released once rows are sorted
+    private ByteBuffer run;
+    private long[] runSortKeys;
+    // index of each row of the run plus one, by hash of their sort key; zero for free slots
+    private int[] runSlots;
+    private int[] runOrder;
+    private int[] runOrderBuffer;
+    private int runSize;
+    // runs on disk, each sorted by group then key
+    private final List<RunFile> runFileList = new ArrayList<>();
+    private final ByteBuffer headerBuffer = ByteBuffer.allocate(PAYLOAD);
+    private int[] rowCountByGroupId = new int[0];
+    private int[] maxKeyByGroupId = new int[0];
+    private int[] groupIdsByRank = new int[16];
+    private int groupCount;
+    // position of the first row of each group in the single sorted run, null unless all rows are sorted
+    private long[] firstRowByGroupId;
+
+    /**
+     * @param directory   the directory where to create run files
+     * @param payloadSize the size of the payload of each row, in bytes
+     * @param runRowCount the number of rows buffered in memory before they are spilled to disk
+     */
+    SpillingRowSorter(final Path directory, final int payloadSize, final int runRowCount) {
+        this.directory = directory;
+        this.rowSize = PAYLOAD + payloadSize;
+        this.runRowCount = runRowCount;
+    }
+
+    /**
+     * Adds a row, unless a row with the same group and key was already added. The payload of the row is to be written
+     * to the buffer returned by {@link #getRun()}, at the offset returned, by the same thread and before any other row
+     * is added.
+     *
+     * @param groupId the group of the row
+     * @param key     the key of the row
+     * @return the offset of the row in the buffer returned by {@link #getRun()}, or {@link #NO_ROW} if a row with the
+     * same group and key was already added
+     * @throws UncheckedIOException if rows cannot be spilled to disk
+     */
+    synchronized int add(final int groupId, final int key) {
+        final long sortKey = getSortKey(groupId, key);
+        final boolean isNewGroup = !hasGroup(groupId);
+        if (!isNewGroup && key <= maxKeyByGroupId[groupId] && contains(sortKey)) {
+            return NO_ROW;
+        }
+        if (runSize == runRowCount) {
+            spill();
+        }
+        if (run == null) {
+            allocateRun();
+        }
+        if (isNewGroup) {
+            createGroup(groupId);
+            maxKeyByGroupId[groupId] = key;
+        } else {
+            maxKeyByGroupId[groupId] = Math.max(maxKeyByGroupId[groupId], key);
+        }
+        ++rowCountByGroupId[groupId];
+        firstRowByGroupId = null;
+        final int row = runSize;
+        ++runSize;
+        runSortKeys[row] = sortKey;
+        int slot = spread(sortKey) & (runSlots.length - 1);
+        while (runSlots[slot] != 0) {
+            slot = (slot + 1) & (runSlots.length - 1);
+        }
+        runSlots[slot] = row + 1;
+        final int rowOffset = row * rowSize;
+        run.putInt(rowOffset + GROUP_ID, groupId);
+        run.putInt(rowOffset + KEY, key);
+        return rowOffset;
+    }
+
+    /**
+     * Returns the buffer of the rows added since the last spill, valid until the next row is added
+     *
+     * @return the buffer of the rows added since the last spill
+     */
+    synchronized ByteBuffer getRun() {
+        return run;
+    }
+
+    /**
+     * Returns true if a row of a group was added
+     *
+     * @param groupId the id of a group
+     * @return true if a row of the group was added, false otherwise
+     */
+    synchronized boolean hasGroup(final int groupId) {
+        return groupId >= 0 && groupId < rowCountByGroupId.length && rowCountByGroupId[groupId] != 0;
+    }
+
+    /**
+     * Returns the number of groups which rows were added
+     *
+     * @return the number of groups which rows were added
+     */
+    synchronized int getGroupCount() {
+        return groupCount;
+    }
+
+    /**
+     * Returns the id of a group, groups being ranked in the order their first row was added
+     *
+     * @param rank the rank of a group
+     * @return the id of the group
+     */
+    synchronized int getGroupId(final int rank) {
+        return groupIdsByRank[rank];
+    }
+
+    /**
+     * Returns the rows of a group, sorted by key, in a buffer of their own. Rows are sorted on first read.
+     *
+     * @param groupId the id of a group
+     * @return the rows of the group, sorted by key, which is empty if no row of the group was added
+     * @throws UncheckedIOException if rows cannot be read from disk
+     */
+    ByteBuffer readGroup(final int groupId) {
+        final FileChannel channel;
+        final long firstRow;
+        final int rowCount;
+        synchronized (this) {
+            if (!hasGroup(groupId)) {
+                return ByteBuffer.allocate(0);
+            }
+            channel = sort().channel;
+            firstRow = firstRowByGroupId[groupId];
+            rowCount = rowCountByGroupId[groupId];
+        }
+        final ByteBuffer rows = ByteBuffer.allocate(rowCount * rowSize);
+        read(channel, rows, firstRow * rowSize);
+        return rows.flip();
+    }
+
+    /**
+     * Returns the size of each row, in bytes
+     *
+     * @return the size of each row
+     */
+    int getRowSize() {
+        return rowSize;
+    }
+
+    /**
+     * Deletes all run files. Rows are not to be read once the sorter is closed.
+     *
+     * @throws IOException if a run file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        for (final RunFile runFile : runFileList) {
+            runFile.channel.close();
+        }
+        runFileList.clear();
+    }
+
+    /**
+     * Spills the rows buffered in memory and merges all runs into a single sorted run, unless already done
+     *
+     * @return the single sorted run
+     */
+    private RunFile sort() {
+        if (firstRowByGroupId == null) {
+            spill();
+            releaseRun();
+            if (runFileList.size() > 1) {
+                mergeRuns();
+            }
+            firstRowByGroupId = new long[rowCountByGroupId.length];
+            long firstRow = 0;
+            for (int groupId = 0; groupId < rowCountByGroupId.length; ++groupId) {
+                firstRowByGroupId[groupId] = firstRow;
+                firstRow += rowCountByGroupId[groupId];
+            }
+        }
+        return runFileList.get(0);
+    }
+
+    private void allocateRun() {
+        run = ByteBuffer.allocate(runRowCount * rowSize);
+        runSortKeys = new long[runRowCount];
+        runSlots = new int[Integer.highestOneBit(runRowCount) << 2];
+        runOrder = new int[runRowCount];
+        runOrderBuffer = new int[runRowCount];
+    }
+
+    private void releaseRun() {
+        run = null;
+        runSortKeys = null;
+        runSlots = null;
+        runOrder = null;
+        runOrderBuffer = null;
+    }
+
+    private void createGroup(final int groupId) {
+        if (groupId >= rowCountByGroupId.length) {
+            final int length = Math.max(groupId + 1, rowCountByGroupId.length * 2);
+            rowCountByGroupId = Arrays.copyOf(rowCountByGroupId, length);
+            maxKeyByGroupId = Arrays.copyOf(maxKeyByGroupId, length);
+        }
+        if (groupCount == groupIdsByRank.length) {
+            groupIdsByRank = Arrays.copyOf(groupIdsByRank, groupCount * 2);
+        }
+        groupIdsByRank[groupCount] = groupId;
+        ++groupCount;
+    }
+
+    /**
+     * Returns true if a row with a sort key was already added, looking it up in memory then on disk
+     *
+     * @param sortKey the sort key of a row
+     * @return true if a row with the sort key was already added, false otherwise
+     */
+    private boolean contains(final long sortKey) {
+        if (run != null) {
+            int slot = spread(sortKey) & (runSlots.length - 1);
+            while (runSlots[slot] != 0) {
+                if (runSortKeys[runSlots[slot] - 1] == sortKey) {
+                    return true;
+                }
+                slot = (slot + 1) & (runSlots.length - 1);
+            }
+        }
+        for (final RunFile runFile : runFileList) {
+            if (runFile.contains(sortKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sorts the rows buffered in memory and writes them to a new run file, emptying the buffer
+     */
+    private void spill() {
+        if (runSize == 0) {
+            return;
+        }
+        final int[] order = sortRun();
+        final RunFile runFile = new RunFile();
+        final ByteBuffer rowView = run.duplicate();
+        for (int i = 0; i < runSize; ++i) {
+            final int rowOffset = order[i] * rowSize;
+            rowView.limit(rowOffset + rowSize).position(rowOffset);
+            runFile.append(rowView, runSortKeys[order[i]]);
+        }
+        runFile.flush();
+        runFileList.add(runFile);
+        Arrays.fill(runSlots, 0);
+        runSize = 0;
+        if (runFileList.size() >= MAX_RUN_COUNT) {
+            mergeRuns();
+        }
+    }
+
+    /**
+     * Sorts the rows buffered in memory by sort key with a bottom-up merge sort, unless they were added in order
+     *
+     * @return the indexes of the rows, sorted by sort key
+     */
+    private int[] sortRun() {
+        int[] order = runOrder;
+        int[] buffer = runOrderBuffer;
+        boolean isSorted = true;
+        for (int row = 0; row < runSize; ++row) {
+            order[row] = row;
+            isSorted &= row == 0 || runSortKeys[row - 1] < runSortKeys[row];
+        }
+        if (isSorted) {
+            return order;
+        }
+        for (int width = 1; width < runSize; width <<= 1) {
+            for (int from = 0; from < runSize; from += width << 1) {
+                final int middle = Math.min(from + width, runSize);
+                final int to = Math.min(from + (width << 1), runSize);
+                int left = from;
+                int right = middle;
+                for (int i = from; i < to; ++i) {
+                    if (right == to || (left < middle && runSortKeys[order[left]] < runSortKeys[order[right]])) {
+                        buffer[i] = order[left];
+                        ++left;
+                    } else {
+                        buffer[i] = order[right];
+                        ++right;
+                    }
+                }
+            }
+            final int[] sorted = buffer;
+            buffer = order;
+            order = sorted;
+        }
+        return order;
+    }
+
+    /**
+     * Merges all runs on disk into a single run, which replaces them
+     */
+    private void mergeRuns() {
+        final PriorityQueue<RunReader> readerQueue =
+                new PriorityQueue<>(Comparator.comparingLong(reader -> reader.sortKey));
+        for (final RunFile runFile : runFileList) {
+            final RunReader reader = new RunReader(runFile);
+            if (reader.next()) {
+                readerQueue.add(reader);
+            }
+        }
+        final RunFile mergedRunFile = new RunFile();
+        while (!readerQueue.isEmpty()) {
+            final RunReader reader = readerQueue.poll();
+            mergedRunFile.append(reader.getRow(), reader.sortKey);
+            if (reader.next()) {
+                readerQueue.add(reader);
+            }
+        }
+        mergedRunFile.flush();
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete run files", e);
+        }
+        runFileList.add(mergedRunFile);
+    }
+
+    private static long getSortKey(final int groupId, final int key) {
+        // flipping the sign bit of the key orders it as an unsigned integer, below the group id
+        return ((long) groupId << Integer.SIZE) | ((key ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    private static int spread(final long sortKey) {
+        final long hash = sortKey * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static void read(final FileChannel channel, final ByteBuffer buffer, final long position) {
+        try {
+            long filePosition = position;
+            while (buffer.hasRemaining()) {
+                final int readCount = channel.read(buffer, filePosition);
+                if (readCount < 0) {
+                    throw new IOException("Unexpected end of run file");
+                }
+                filePosition += readCount;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read run file", e);
+        }
+    }
+
+    /**
+     * Temporary file holding rows sorted by sort key, written sequentially
+     */
+    private final class RunFile {
+        private final FileChannel channel;
+        private final ByteBuffer writeBuffer = ByteBuffer.allocate(IO_BUFFER_SIZE - IO_BUFFER_SIZE % rowSize);
+        private long rowCount;
+        private long firstSortKey;
+        private long lastSortKey;
+
+        private RunFile() {
+            try {
+                final Path file = Files.createTempFile(directory, "gtfs-validator-", ".run");
+                channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create run file in " + directory, e);
+            }
+        }
+
+        private void append(final ByteBuffer row, final long sortKey) {
+            if (!writeBuffer.hasRemaining()) {
+                flush();
+            }
+            writeBuffer.put(row);
+            if (rowCount == 0) {
+                firstSortKey = sortKey;
+            }
+            lastSortKey = sortKey;
+            ++rowCount;
+        }
+
+        private void flush() {
+            writeBuffer.flip();
+            try {
+                while (writeBuffer.hasRemaining()) {
+                    channel.write(writeBuffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write run file", e);
+            }
+            writeBuffer.clear();
+        }
+
+        private boolean contains(final long sortKey) {
+            if (rowCount == 0 || sortKey < firstSortKey || sortKey > lastSortKey) {
+                return false;
+            }
+            long low = 0;
+            long high = rowCount - 1;
+            while (low <= high) {
+                final long middle = (low + high) >>> 1;
+                headerBuffer.clear();
+                read(channel, headerBuffer, middle * rowSize);
+                final long middleSortKey = getSortKey(headerBuffer.getInt(GROUP_ID), headerBuffer.getInt(KEY));
+                if (middleSortKey < sortKey) {
+                    low = middle + 1;
+                } else if (middleSortKey > sortKey) {
+                    high = middle - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Reads the rows of a run file sequentially, through a buffer
+     */
+    private final class RunReader {
+        private final RunFile runFile;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(IO_BUFFER_SIZE - IO_BUFFER_SIZE % rowSize);
+        private final ByteBuffer rowView = readBuffer.duplicate();
+        private long nextRow;
+        private int rowOffset;
+        private long sortKey;
+
+        private RunReader(final RunFile runFile) {
+            this.runFile = runFile;
+            readBuffer.limit(0);
+            rowOffset = -rowSize;
+        }
+
+        /**
+         * Moves to the next row of the run file
+         *
+         * @return true if there was a next row, false if all rows were read
+         */
+        private boolean next() {
+            if (nextRow == runFile.rowCount) {
+                return false;
+            }
+            rowOffset += rowSize;
+            if (rowOffset >= readBuffer.limit()) {
+                final long remainingSize = (runFile.rowCount - nextRow) * rowSize;
+                readBuffer.clear().limit((int) Math.min(readBuffer.capacity(), remainingSize));
+                read(runFile.channel, readBuffer, nextRow * rowSize);
+                readBuffer.flip();
+                rowOffset = 0;
+            }
+            ++nextRow;
+            sortKey = getSortKey(readBuffer.getInt(rowOffset + GROUP_ID), readBuffer.getInt(rowOffset + KEY));
+            return true;
+        }
+
+        private ByteBuffer getRow() {
+            rowView.limit(rowOffset + rowSize).position(rowOffset);
+            return rowView;
+        }
+    }
+}
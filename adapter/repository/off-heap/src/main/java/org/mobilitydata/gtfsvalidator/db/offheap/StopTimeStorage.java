@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Storage of the rows of stop_times.txt outside of the Java heap, grouped by trip_id and sorted by stop_sequence
+ */
+interface StopTimeStorage extends Closeable {
+    /**
+     * Adds a stop time, unless a stop time with the same trip_id and stop_sequence was already added
+     *
+     * @param stopTime the stop time to add
+     * @return true if the stop time was added, false if a stop time with the same trip_id and stop_sequence was
+     * already added
+     */
+    boolean add(StopTime stopTime);
+
+    /**
+     * Returns a read-only map of the stop times of a trip, sorted by stop_sequence
+     *
+     * @param tripId the trip_id of the stop times to return
+     * @return a read-only map of the stop times of the trip, or null if no stop time of said trip was added
+     */
+    SortedMap<Integer, StopTime> getStopTimesOfTrip(String tripId);
+
+    /**
+     * Returns a read-only view of the stop times of all trips, mapped on their trip_id then on their stop_sequence
+     *
+     * @return a read-only view of the stop times of all trips
+     */
+    Map<String, SortedMap<Integer, StopTime>> getStopTimesByTripId();
+}
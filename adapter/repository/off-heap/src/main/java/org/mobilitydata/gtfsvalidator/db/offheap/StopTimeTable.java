@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.*;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+
+import java.util.*;
+
+/**
+ * Rows of stop_times.txt stored outside of the Java heap, in a {@link SortedRowTable} grouping them by the index of
+ * their trip_id and sorting them by stop_sequence. Stop ids are stored as the ids the table of stop ids assigned to
+ * them, and headsigns as ids in a table of texts.
+ * <p>
+ * Stop times are handed over through read-only views which recreate a {@link StopTime} from its row each time one is
+ * accessed. This is not thread-safe: stop times are to be added by a single thread at a time, and views are not to be
+ * used while stop times are added.
+ */
+final class StopTimeTable implements StopTimeStorage {
+    private static final int ROW_SIZE = 32;
+    // the stop_sequence is the key of the rows
+    private static final int STOP_SEQUENCE = 0;
+    private static final int ARRIVAL_TIME = 4;
+    private static final int DEPARTURE_TIME = 8;
+    private static final int STOP = 12;
+    // NaN stands for a null distance
+    private static final int SHAPE_DIST_TRAVELED = 16;
+    private static final int STOP_HEADSIGN = 20;
+    private static final int PICKUP_TYPE = 24;
+    private static final int DROP_OFF_TYPE = 25;
+    private static final int CONTINUOUS_PICKUP = 26;
+    private static final int CONTINUOUS_DROP_OFF = 27;
+    private static final int TIMEPOINT = 28;
+
+    private static final PickupType[] PICKUP_TYPES = PickupType.values();
+    private static final DropOffType[] DROP_OFF_TYPES = DropOffType.values();
+    private static final ContinuousPickup[] CONTINUOUS_PICKUPS = ContinuousPickup.values();
+    private static final ContinuousDropOff[] CONTINUOUS_DROP_OFFS = ContinuousDropOff.values();
+    private static final Timepoint[] TIMEPOINTS = Timepoint.values();
+
+    private final SortedRowTable table;
+    private final OffHeapStringTable tripIds;
+    private final OffHeapStringTable stopIds;
+    private final OffHeapStringTable texts;
+    private final InsertionOrder tripOrder;
+
+    /**
+     * @param arena   the arena allocating the memory of this table
+     * @param tripIds the table of trip ids
+     * @param stopIds the table of stop ids
+     * @param texts   the table of texts
+     */
+    StopTimeTable(final PageArena arena,
+                  final OffHeapStringTable tripIds,
+                  final OffHeapStringTable stopIds,
+                  final OffHeapStringTable texts) {
+        this.tripIds = tripIds;
+        this.stopIds = stopIds;
+        this.texts = texts;
+        table = new SortedRowTable(arena, ROW_SIZE);
+        tripOrder = new InsertionOrder() {
+            @Override
+            public int getKeyCount() {
+                return table.getGroupCount();
+            }
+
+            @Override
+            public int getKeyId(final int rank) {
+                return table.getGroupId(rank);
+            }
+        };
+    }
+
+    /**
+     * Adds a stop time to this table, unless a stop time with the same trip_id and stop_sequence was already added
+     *
+     * @param stopTime the stop time to add
+     * @return true if the stop time was added, false if a stop time with the same trip_id and stop_sequence was
+     * already added
+     */
+    @Override
+    public boolean add(final StopTime stopTime) {
+        final long rowOffset = table.insert(tripIds.add(stopTime.getTripId()), stopTime.getStopSequence());
+        if (rowOffset == SortedRowTable.NO_ROW) {
+            return false;
+        }
+        final OffHeapBuffer rows = table.getRows();
+        rows.putInt(rowOffset + ARRIVAL_TIME, RowCodec.encodeTime(stopTime.getArrivalTime()));
+        rows.putInt(rowOffset + DEPARTURE_TIME, RowCodec.encodeTime(stopTime.getDepartureTime()));
+        rows.putInt(rowOffset + STOP, stopIds.add(stopTime.getStopId()));
+        rows.putFloat(rowOffset + SHAPE_DIST_TRAVELED, RowCodec.encodeFloat(stopTime.getShapeDistTraveled()));
+        rows.putInt(rowOffset + STOP_HEADSIGN, texts.add(stopTime.getStopHeadsign()));
+        rows.putByte(rowOffset + PICKUP_TYPE, RowCodec.encodeEnum(stopTime.getPickupType()));
+        rows.putByte(rowOffset + DROP_OFF_TYPE, RowCodec.encodeEnum(stopTime.getDropOffType()));
+        rows.putByte(rowOffset + CONTINUOUS_PICKUP, RowCodec.encodeEnum(stopTime.getContinuousPickup()));
+        rows.putByte(rowOffset + CONTINUOUS_DROP_OFF, RowCodec.encodeEnum(stopTime.getContinuousDropOff()));
+        rows.putByte(rowOffset + TIMEPOINT, RowCodec.encodeEnum(stopTime.getTimePoint()));
+        return true;
+    }
+
+    /**
+     * Returns a read-only view of the stop times of a trip, sorted by stop_sequence
+     *
+     * @param tripId the trip_id of the stop times to return
+     * @return a read-only view of the stop times of the trip, or null if no stop time of said trip was added
+     */
+    @Override
+    public SortedMap<Integer, StopTime> getStopTimesOfTrip(final String tripId) {
+        final int tripIndex = tripIds.indexOf(tripId);
+        return table.hasGroup(tripIndex) ? new TripStopTimeView(tripIndex, null, null) : null;
+    }
+
+    /**
+     * Returns a read-only view of the stop times of all trips, mapped on their trip_id then on their stop_sequence
+     *
+     * @return a read-only view of the stop times of all trips
+     */
+    @Override
+    public Map<String, SortedMap<Integer, StopTime>> getStopTimesByTripId() {
+        return new OffHeapMapView<>(tripIds, tripOrder, table::hasGroup,
+                tripIndex -> new TripStopTimeView(tripIndex, null, null));
+    }
+
+    /**
+     * Does nothing: the memory of this table is released along with its arena
+     */
+    @Override
+    public void close() {
+    }
+
+    private StopTime read(final int tripIndex, final int position) {
+        final OffHeapBuffer rows = table.getRows();
+        final long rowOffset = table.getRowOffset(tripIndex, position);
+        final int stopIndex = rows.getInt(rowOffset + STOP);
+        return StopTime.restore(
+                tripIds.get(tripIndex),
+                RowCodec.decodeTime(rows.getInt(rowOffset + ARRIVAL_TIME)),
+                RowCodec.decodeTime(rows.getInt(rowOffset + DEPARTURE_TIME)),
+                stopIds.get(stopIndex),
+                rows.getInt(rowOffset + STOP_SEQUENCE),
+                texts.get(rows.getInt(rowOffset + STOP_HEADSIGN)),
+                RowCodec.decodeEnum(PICKUP_TYPES, rows.getByte(rowOffset + PICKUP_TYPE)),
+                RowCodec.decodeEnum(DROP_OFF_TYPES, rows.getByte(rowOffset + DROP_OFF_TYPE)),
+                RowCodec.decodeEnum(CONTINUOUS_PICKUPS, rows.getByte(rowOffset + CONTINUOUS_PICKUP)),
+                RowCodec.decodeEnum(CONTINUOUS_DROP_OFFS, rows.getByte(rowOffset + CONTINUOUS_DROP_OFF)),
+                RowCodec.decodeFloat(rows.getFloat(rowOffset + SHAPE_DIST_TRAVELED)),
+                RowCodec.decodeEnum(TIMEPOINTS, rows.getByte(rowOffset + TIMEPOINT)),
+                tripIndex,
+                stopIndex);
+    }
+
+    private int getStopSequence(final int tripIndex, final int position) {
+        return table.getKey(table.getRowOffset(tripIndex, position));
+    }
+
+    /**
+     * Read-only view of the stop times of a trip whose stop_sequence is within optional bounds, mapped on their
+     * stop_sequence
+     */
+    private final class TripStopTimeView extends AbstractMap<Integer, StopTime>
+            implements SortedMap<Integer, StopTime> {
+        private final int tripIndex;
+        // inclusive lower bound of the stop_sequence of the stop times of this view, null if unbounded
+        private final Integer fromStopSequence;
+        // exclusive upper bound of the stop_sequence of the stop times of this view, null if unbounded
+        private final Integer toStopSequence;
+
+        private TripStopTimeView(final int tripIndex,
+                                 final Integer fromStopSequence,
+                                 final Integer toStopSequence) {
+            this.tripIndex = tripIndex;
+            this.fromStopSequence = fromStopSequence;
+            this.toStopSequence = toStopSequence;
+        }
+
+        private int firstPosition() {
+            return fromStopSequence == null ? 0 : lowerBound(fromStopSequence);
+        }
+
+        private int endPosition() {
+            return toStopSequence == null
+                    ? table.getRowCount(tripIndex)
+                    : Math.max(firstPosition(), lowerBound(toStopSequence));
+        }
+
+        // position of the first stop time of the trip whose stop_sequence is greater or equal to the value provided
+        private int lowerBound(final int stopSequence) {
+            final int searchResult = table.search(tripIndex, stopSequence);
+            return searchResult >= 0 ? searchResult : -searchResult - 1;
+        }
+
+        private int findPosition(final Object key) {
+            if (!(key instanceof Integer)) {
+                return EntityIndex.NO_INDEX;
+            }
+            final int stopSequence = (Integer) key;
+            if ((fromStopSequence != null && stopSequence < fromStopSequence) ||
+                    (toStopSequence != null && stopSequence >= toStopSequence)) {
+                return EntityIndex.NO_INDEX;
+            }
+            final int position = table.search(tripIndex, stopSequence);
+            return position >= 0 ? position : EntityIndex.NO_INDEX;
+        }
+
+        @Override
+        public StopTime get(final Object key) {
+            final int position = findPosition(key);
+            return position < 0 ? null : read(tripIndex, position);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return findPosition(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return endPosition() - firstPosition();
+        }
+
+        @Override
+        public Comparator<? super Integer> comparator() {
+            return null;
+        }
+
+        @Override
+        public SortedMap<Integer, StopTime> subMap(final Integer fromKey, final Integer toKey) {
+            if (fromKey > toKey) {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            return new TripStopTimeView(tripIndex, max(fromStopSequence, fromKey), min(toStopSequence, toKey));
+        }
+
+        @Override
+        public SortedMap<Integer, StopTime> headMap(final Integer toKey) {
+            return new TripStopTimeView(tripIndex, fromStopSequence, min(toStopSequence, toKey));
+        }
+
+        @Override
+        public SortedMap<Integer, StopTime> tailMap(final Integer fromKey) {
+            return new TripStopTimeView(tripIndex, max(fromStopSequence, fromKey), toStopSequence);
+        }
+
+        @Override
+        public Integer firstKey() {
+            if (isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return getStopSequence(tripIndex, firstPosition());
+        }
+
+        @Override
+        public Integer lastKey() {
+            if (isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return getStopSequence(tripIndex, endPosition() - 1);
+        }
+
+        @Override
+        public Set<Entry<Integer, StopTime>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Integer, StopTime>> iterator() {
+                    final int endPosition = endPosition();
+                    return new Iterator<>() {
+                        private int position = firstPosition();
+
+                        @Override
+                        public boolean hasNext() {
+                            return position < endPosition;
+                        }
+
+                        @Override
+                        public Entry<Integer, StopTime> next() {
+                            if (position >= endPosition) {
+                                throw new NoSuchElementException();
+                            }
+                            final StopTime stopTime = read(tripIndex, position);
+                            ++position;
+                            return new SimpleImmutableEntry<>(stopTime.getStopSequence(), stopTime);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return TripStopTimeView.this.size();
+                }
+            };
+        }
+
+        private Integer max(final Integer bound, final Integer key) {
+            Objects.requireNonNull(key);
+            return bound == null || key > bound ? key : bound;
+        }
+
+        private Integer min(final Integer bound, final Integer key) {
+            Objects.requireNonNull(key);
+            return bound == null || key < bound ? key : bound;
+        }
+    }
+}
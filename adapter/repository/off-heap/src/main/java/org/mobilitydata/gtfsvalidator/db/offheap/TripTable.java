@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.BikesAllowedStatus;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.WheelchairAccessibleStatus;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.DirectionId;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rows of trips.txt stored outside of the Java heap. Each trip is a row of fixed size, indexed by the id the table of
+ * trip ids assigned to its trip_id; its route_id, service_id, shape_id and block_id are stored as the ids their own
+ * tables assigned to them, and its headsign and short name as ids in a table of texts. The trips of a block are
+ * chained in the order they were added.
+ * <p>
+ * Trips are handed over through read-only views which recreate a {@link Trip} from its row each time one is
+ * accessed. This is not thread-safe: trips are to be added by a single thread at a time, and views are not to be used
+ * while trips are added.
+ */
+final class TripTable {
+    private static final int ROW_SIZE = 32;
+    private static final int ROUTE = 0;
+    private static final int SERVICE = 4;
+    private static final int SHAPE = 8;
+    private static final int BLOCK = 12;
+    private static final int HEADSIGN = 16;
+    private static final int SHORT_NAME = 20;
+    // index of the next trip of the same block, NO_INDEX for the last trip of a block
+    private static final int NEXT_OF_BLOCK = 24;
+    private static final int DIRECTION = 28;
+    private static final int WHEELCHAIR_ACCESSIBLE = 29;
+    private static final int BIKES_ALLOWED = 30;
+    // 1 for trips which were added, 0 for the trip ids which were only referred to
+    private static final int IS_DEFINED = 31;
+    // size of the descriptor of each block: index of its first and last trips
+    private static final int BLOCK_SIZE = 8;
+
+    private static final DirectionId[] DIRECTION_IDS = DirectionId.values();
+    private static final WheelchairAccessibleStatus[] WHEELCHAIR_ACCESSIBLE_STATUSES =
+            WheelchairAccessibleStatus.values();
+    private static final BikesAllowedStatus[] BIKES_ALLOWED_STATUSES = BikesAllowedStatus.values();
+
+    private final OffHeapStringTable tripIds;
+    private final OffHeapStringTable routeIds;
+    private final OffHeapStringTable serviceIds;
+    private final OffHeapStringTable shapeIds;
+    private final OffHeapStringTable blockIds;
+    private final OffHeapStringTable texts;
+    // row of each trip, indexed by trip index
+    private final OffHeapBuffer rows;
+    // index of each trip, by order of addition
+    private final OffHeapBuffer tripIndexesByRank;
+    private int tripCount;
+    // descriptor of each block, indexed by block index
+    private final OffHeapBuffer blocks;
+    private final InsertionOrder tripOrder;
+    private final InsertionOrder blockOrder;
+
+    /**
+     * @param arena      the arena allocating the memory of this table
+     * @param tripIds    the table of trip ids
+     * @param routeIds   the table of route ids
+     * @param serviceIds the table of service ids
+     * @param shapeIds   the table of shape ids
+     * @param texts      the table of texts
+     */
+    TripTable(final PageArena arena,
+              final OffHeapStringTable tripIds,
+              final OffHeapStringTable routeIds,
+              final OffHeapStringTable serviceIds,
+              final OffHeapStringTable shapeIds,
+              final OffHeapStringTable texts) {
+        this.tripIds = tripIds;
+        this.routeIds = routeIds;
+        this.serviceIds = serviceIds;
+        this.shapeIds = shapeIds;
+        this.texts = texts;
+        blockIds = new OffHeapStringTable(arena);
+        rows = new OffHeapBuffer(arena);
+        tripIndexesByRank = new OffHeapBuffer(arena);
+        blocks = new OffHeapBuffer(arena);
+        tripOrder = new InsertionOrder() {
+            @Override
+            public int getKeyCount() {
+                return tripCount;
+            }
+
+            @Override
+            public int getKeyId(final int rank) {
+                return tripIndexesByRank.getInt((long) rank * Integer.BYTES);
+            }
+        };
+        // blocks are only referred to by trips: their ids are numbered in the order they were first added
+        blockOrder = new InsertionOrder() {
+            @Override
+            public int getKeyCount() {
+                return blockIds.size();
+            }
+
+            @Override
+            public int getKeyId(final int rank) {
+                return rank;
+            }
+        };
+    }
+
+    /**
+     * Adds a trip to this table, unless a trip with the same trip_id was already added
+     *
+     * @param trip the trip to add
+     * @return the trip added, or null if a trip with the same trip_id was already added
+     */
+    Trip add(final Trip trip) {
+        final int tripIndex = tripIds.add(trip.getTripId());
+        if (isDefined(tripIndex)) {
+            return null;
+        }
+        final long rowOffset = (long) tripIndex * ROW_SIZE;
+        rows.ensureCapacity(rowOffset + ROW_SIZE);
+        final int blockCount = blockIds.size();
+        final int blockIndex = blockIds.add(trip.getBlockId());
+        rows.putInt(rowOffset + ROUTE, routeIds.add(trip.getRouteId()));
+        rows.putInt(rowOffset + SERVICE, serviceIds.add(trip.getServiceId()));
+        rows.putInt(rowOffset + SHAPE, shapeIds.add(trip.getShapeId()));
+        rows.putInt(rowOffset + BLOCK, blockIndex);
+        rows.putInt(rowOffset + HEADSIGN, texts.add(trip.getTripHeadsign()));
+        rows.putInt(rowOffset + SHORT_NAME, texts.add(trip.getTripShortName()));
+        rows.putInt(rowOffset + NEXT_OF_BLOCK, EntityIndex.NO_INDEX);
+        rows.putByte(rowOffset + DIRECTION, RowCodec.encodeEnum(trip.getDirectionId()));
+        rows.putByte(rowOffset + WHEELCHAIR_ACCESSIBLE, RowCodec.encodeEnum(trip.getWheelchairAccessibleStatus()));
+        rows.putByte(rowOffset + BIKES_ALLOWED, RowCodec.encodeEnum(trip.getBikesAllowedStatus()));
+        rows.putByte(rowOffset + IS_DEFINED, (byte) 1);
+        tripIndexesByRank.ensureCapacity((long) (tripCount + 1) * Integer.BYTES);
+        tripIndexesByRank.putInt((long) tripCount * Integer.BYTES, tripIndex);
+        ++tripCount;
+        if (blockIndex != EntityIndex.NO_INDEX) {
+            chainToBlock(tripIndex, blockIndex, blockIds.size() > blockCount);
+        }
+        return trip;
+    }
+
+    /**
+     * Returns true if a trip was added with the trip_id an index was assigned to
+     *
+     * @param tripIndex the index of a trip_id
+     * @return true if a trip was added with said trip_id, false otherwise
+     */
+    boolean isDefined(final int tripIndex) {
+        return tripIndex >= 0 && (long) tripIndex * ROW_SIZE < rows.getCapacity() &&
+                rows.getByte((long) tripIndex * ROW_SIZE + IS_DEFINED) != 0;
+    }
+
+    /**
+     * Recreates the trip added with the trip_id an index was assigned to
+     *
+     * @param tripIndex the index of a trip_id
+     * @return the trip added with said trip_id, or null if there is none
+     */
+    Trip get(final int tripIndex) {
+        if (!isDefined(tripIndex)) {
+            return null;
+        }
+        final long rowOffset = (long) tripIndex * ROW_SIZE;
+        return Trip.restore(
+                routeIds.get(rows.getInt(rowOffset + ROUTE)),
+                serviceIds.get(rows.getInt(rowOffset + SERVICE)),
+                tripIds.get(tripIndex),
+                texts.get(rows.getInt(rowOffset + HEADSIGN)),
+                texts.get(rows.getInt(rowOffset + SHORT_NAME)),
+                RowCodec.decodeEnum(DIRECTION_IDS, rows.getByte(rowOffset + DIRECTION)),
+                blockIds.get(rows.getInt(rowOffset + BLOCK)),
+                shapeIds.get(rows.getInt(rowOffset + SHAPE)),
+                RowCodec.decodeEnum(WHEELCHAIR_ACCESSIBLE_STATUSES, rows.getByte(rowOffset + WHEELCHAIR_ACCESSIBLE)),
+                RowCodec.decodeEnum(BIKES_ALLOWED_STATUSES, rows.getByte(rowOffset + BIKES_ALLOWED)));
+    }
+
+    /**
+     * Returns the index of the route_id of a trip
+     *
+     * @param tripIndex the index of a trip_id
+     * @return the index of the route_id of the trip, or {@link EntityIndex#NO_INDEX} if no trip was added with said
+     * trip_id
+     */
+    int getRouteIndex(final int tripIndex) {
+        return getForeignKey(tripIndex, ROUTE);
+    }
+
+    /**
+     * Returns the index of the service_id of a trip
+     *
+     * @param tripIndex the index of a trip_id
+     * @return the index of the service_id of the trip, or {@link EntityIndex#NO_INDEX} if no trip was added with said
+     * trip_id
+     */
+    int getServiceIndex(final int tripIndex) {
+        return getForeignKey(tripIndex, SERVICE);
+    }
+
+    /**
+     * Returns the index of the shape_id of a trip
+     *
+     * @param tripIndex the index of a trip_id
+     * @return the index of the shape_id of the trip, or {@link EntityIndex#NO_INDEX} if no trip was added with said
+     * trip_id or if the trip has no shape_id
+     */
+    int getShapeIndex(final int tripIndex) {
+        return getForeignKey(tripIndex, SHAPE);
+    }
+
+    /**
+     * Returns a read-only view of the trips, mapped on their trip_id
+     *
+     * @return a read-only view of the trips
+     */
+    Map<String, Trip> getTripsById() {
+        return new OffHeapMapView<>(tripIds, tripOrder, this::isDefined, this::get);
+    }
+
+    /**
+     * Returns a read-only view of the trips which have a block_id, mapped on said block_id. The trips of a block are
+     * listed in the order they were added.
+     *
+     * @return a read-only view of the trips which have a block_id
+     */
+    Map<String, List<Trip>> getTripsByBlockId() {
+        return new OffHeapMapView<>(blockIds, blockOrder, blockIndex -> true, this::getTripsOfBlock);
+    }
+
+    private List<Trip> getTripsOfBlock(final int blockIndex) {
+        final List<Trip> tripList = new ArrayList<>();
+        int tripIndex = blocks.getInt((long) blockIndex * BLOCK_SIZE);
+        while (tripIndex != EntityIndex.NO_INDEX) {
+            tripList.add(get(tripIndex));
+            tripIndex = rows.getInt((long) tripIndex * ROW_SIZE + NEXT_OF_BLOCK);
+        }
+        return Collections.unmodifiableList(tripList);
+    }
+
+    private void chainToBlock(final int tripIndex, final int blockIndex, final boolean isNewBlock) {
+        final long blockOffset = (long) blockIndex * BLOCK_SIZE;
+        if (isNewBlock) {
+            blocks.ensureCapacity(blockOffset + BLOCK_SIZE);
+            blocks.putInt(blockOffset, tripIndex);
+        } else {
+            final int lastTripIndex = blocks.getInt(blockOffset + Integer.BYTES);
+            rows.putInt((long) lastTripIndex * ROW_SIZE + NEXT_OF_BLOCK, tripIndex);
+        }
+        blocks.putInt(blockOffset + Integer.BYTES, tripIndex);
+    }
+
+    private int getForeignKey(final int tripIndex, final int field) {
+        return isDefined(tripIndex) ? rows.getInt((long) tripIndex * ROW_SIZE + field) : EntityIndex.NO_INDEX;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mobilitydata.gtfsvalidator.db.InMemoryGtfsDataRepository;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskSpillingGtfsDataRepositoryTest {
+    @TempDir
+    Path directory;
+    private DiskSpillingGtfsDataRepository underTest;
+
+    @BeforeEach
+    void createRepository() {
+        // small runs so that rows are spilled and merged many times
+        underTest = new DiskSpillingGtfsDataRepository(directory, 100);
+    }
+
+    @AfterEach
+    void closeRepository() throws IOException {
+        underTest.close();
+    }
+
+    private static StopTime createStopTime(final String tripId, final int stopSequence) {
+        return StopTime.restore(tripId, stopSequence % 5 == 0 ? null : 60 * stopSequence,
+                stopSequence % 4 == 0 ? null : 60 * stopSequence + 30, "stop" + stopSequence % 7, stopSequence,
+                stopSequence % 2 == 0 ? "headsign" : null, PickupType.NO_PICKUP, DropOffType.MUST_PHONE_DROP_OFF,
+                stopSequence % 3 == 0 ? null : ContinuousPickup.CONTINUOUS_PICKUP,
+                ContinuousDropOff.MUST_ASK_DRIVER_CONTINUOUS_STOPPING_DROP_OFF,
+                stopSequence % 3 == 0 ? null : 1.5f * stopSequence, Timepoint.APPROXIMATED_TIMES);
+    }
+
+    @Test
+    void stopTimesShouldBeStoredAsInMemory() {
+        final Random random = new Random(42);
+        final InMemoryGtfsDataRepository expected = new InMemoryGtfsDataRepository();
+        for (int i = 0; i < 20000; ++i) {
+            final StopTime stopTime = createStopTime("trip" + random.nextInt(random.nextBoolean() ? 5 : 300),
+                    random.nextInt(200));
+            assertEquals(expected.addStopTime(stopTime) == null, underTest.addStopTime(stopTime) == null);
+        }
+
+        final Map<String, SortedMap<Integer, StopTime>> actual = underTest.getStopTimeAll();
+        assertEquals(expected.getStopTimeAll(), actual);
+        assertEquals(new ArrayList<>(expected.getStopTimeAll().keySet()), new ArrayList<>(actual.keySet()));
+        assertEquals(new ArrayList<>(expected.getStopTimeByTripId("trip3").keySet()),
+                new ArrayList<>(underTest.getStopTimeByTripId("trip3").keySet()));
+        assertNull(underTest.getStopTimeByTripId("unknown trip"));
+        assertEquals(underTest.getTripIndex().indexOf("trip3"),
+                underTest.getStopTimeByTripId("trip3").values().iterator().next().getTripIndex());
+    }
+
+    @Test
+    void stopTimesAddedAfterReadShouldBeStored() {
+        assertNotNull(underTest.addStopTime(createStopTime("trip", 2)));
+        assertEquals(List.of(2), new ArrayList<>(underTest.getStopTimeByTripId("trip").keySet()));
+
+        assertNotNull(underTest.addStopTime(createStopTime("trip", 1)));
+        assertNull(underTest.addStopTime(createStopTime("trip", 2)));
+        assertEquals(List.of(1, 2), new ArrayList<>(underTest.getStopTimeByTripId("trip").keySet()));
+    }
+
+    @Test
+    void shapesShouldBeStoredAsInMemory() {
+        final Random random = new Random(42);
+        final InMemoryGtfsDataRepository expected = new InMemoryGtfsDataRepository();
+        for (int i = 0; i < 20000; ++i) {
+            final ShapePoint shapePoint = ShapePoint.restore("shape" + random.nextInt(100), random.nextFloat(),
+                    random.nextFloat(), random.nextInt(500), random.nextBoolean() ? null : random.nextFloat());
+            assertEquals(expected.addShapePoint(shapePoint) == null, underTest.addShapePoint(shapePoint) == null);
+        }
+
+        final Map<String, ShapeGeometry> actual = underTest.getShapeAll();
+        assertEquals(new ArrayList<>(expected.getShapeAll().keySet()), new ArrayList<>(actual.keySet()));
+        expected.getShapeAll().forEach((shapeId, shape) ->
+                assertEquals(shape.getShapePoints(), actual.get(shapeId).getShapePoints()));
+        assertNull(underTest.getShapeById("unknown shape"));
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mobilitydata.gtfsvalidator.db.InMemoryGtfsDataRepository;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.BikesAllowedStatus;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.WheelchairAccessibleStatus;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.calendardates.CalendarDate;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.calendardates.ExceptionType;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.*;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.DirectionId;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+import org.mobilitydata.gtfsvalidator.usecase.port.ReverseIndex;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapGtfsDataRepositoryTest {
+    @TempDir
+    Path directory;
+    private OffHeapGtfsDataRepository underTest;
+
+    @BeforeEach
+    void createRepository() {
+        underTest = new OffHeapGtfsDataRepository(directory);
+    }
+
+    @AfterEach
+    void closeRepository() throws IOException {
+        underTest.close();
+    }
+
+    private static Trip createTrip(final int tripNumber) {
+        return Trip.restore("route" + tripNumber % 3, "service" + tripNumber % 4, "trip" + tripNumber,
+                tripNumber % 2 == 0 ? "headsign" : null, null, DirectionId.values()[tripNumber % 2],
+                tripNumber % 5 == 0 ? null : "block" + tripNumber % 7,
+                tripNumber % 6 == 0 ? null : "shape" + tripNumber % 11,
+                WheelchairAccessibleStatus.WHEELCHAIR_ACCESSIBLE, tripNumber % 3 == 0 ? null :
+                        BikesAllowedStatus.NO_BIKES_ALLOWED);
+    }
+
+    private static StopTime createStopTime(final String tripId, final int stopSequence) {
+        return StopTime.restore(tripId, 60 * stopSequence, stopSequence % 4 == 0 ? null : 60 * stopSequence + 30,
+                "stop" + stopSequence % 7, stopSequence, stopSequence % 2 == 0 ? "headsign" : null,
+                PickupType.NO_PICKUP, DropOffType.MUST_PHONE_DROP_OFF, ContinuousPickup.CONTINUOUS_PICKUP,
+                ContinuousDropOff.MUST_ASK_DRIVER_CONTINUOUS_STOPPING_DROP_OFF,
+                stopSequence % 3 == 0 ? null : 1.5f * stopSequence, Timepoint.APPROXIMATED_TIMES);
+    }
+
+    private static CalendarDate createCalendarDate(final String serviceId, final int epochDay) {
+        return CalendarDate.restore(serviceId, LocalDate.ofEpochDay(epochDay),
+                epochDay % 2 == 0 ? ExceptionType.ADDED_SERVICE : ExceptionType.REMOVED_SERVICE);
+    }
+
+    @Test
+    void nullEntitiesShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> underTest.addTrip(null));
+        assertThrows(IllegalArgumentException.class, () -> underTest.addStopTime(null));
+        assertThrows(IllegalArgumentException.class, () -> underTest.addShapePoint(null));
+        //noinspection ConstantConditions
+        assertThrows(IllegalArgumentException.class, () -> underTest.addCalendarDate(null));
+    }
+
+    @Test
+    void tripsShouldBeStoredAsInMemory() {
+        final InMemoryGtfsDataRepository expected = new InMemoryGtfsDataRepository();
+        for (int tripNumber = 0; tripNumber < 500; ++tripNumber) {
+            final Trip trip = createTrip(tripNumber);
+            assertSame(expected.addTrip(trip), underTest.addTrip(trip));
+        }
+        assertNull(underTest.addTrip(createTrip(3)));
+
+        assertEquals(createTrip(42), underTest.getTripById("trip42"));
+        assertNull(underTest.getTripById("unknown trip"));
+        assertEquals(expected.getTripAll(), underTest.getTripAll());
+        assertEquals(new ArrayList<>(expected.getTripAll().keySet()), new ArrayList<>(underTest.getTripAll().keySet()));
+        assertEquals(expected.getAllTripByBlockId(), underTest.getAllTripByBlockId());
+        assertEquals(new ArrayList<>(expected.getAllTripByBlockId().keySet()),
+                new ArrayList<>(underTest.getAllTripByBlockId().keySet()));
+    }
+
+    @Test
+    void foreignKeysOfTripsShouldBeIndexed() {
+        underTest.addTrip(createTrip(6));
+        underTest.addShapePoint(ShapePoint.restore("shape7", 45f, -73f, 1, null));
+        underTest.addTrip(createTrip(7));
+        underTest.addStopTime(createStopTime("trip without row", 1));
+
+        final EntityIndex<Trip> tripIndex = underTest.getTripIndex();
+        final int trip6 = tripIndex.indexOf("trip6");
+        final int trip7 = tripIndex.indexOf("trip7");
+        assertEquals(3, tripIndex.size());
+        assertEquals(createTrip(7), tripIndex.get(trip7));
+        assertNull(tripIndex.get(tripIndex.indexOf("trip without row")));
+        assertEquals("route0", underTest.getRouteIndex().getId(underTest.getRouteIndexOfTrip(trip6)));
+        assertEquals("service3", underTest.getServiceIndex().getId(underTest.getServiceIndexOfTrip(trip7)));
+        assertEquals(EntityIndex.NO_INDEX, underTest.getShapeIndexOfTrip(trip6));
+        assertEquals(underTest.getShapeIndex().indexOf("shape7"), underTest.getShapeIndexOfTrip(trip7));
+        assertEquals("shape7", underTest.getShapeIndex().get(underTest.getShapeIndexOfTrip(trip7)).getShapeId());
+        assertEquals(EntityIndex.NO_INDEX,
+                underTest.getRouteIndexOfTrip(tripIndex.indexOf("trip without row")));
+        assertNull(underTest.getRouteIndex().get(underTest.getRouteIndexOfTrip(trip6)));
+    }
+
+    // secondary index as the ids of the entities referring to each key id
+    private static Map<String, List<String>> resolve(final ReverseIndex index, final EntityIndex<?> keyIndex,
+                                                     final EntityIndex<?> valueIndex) {
+        final Map<String, List<String>> valueIdsByKeyId = new HashMap<>();
+        for (int key = 0; key < index.getKeyCount(); ++key) {
+            final List<String> valueIds = new ArrayList<>();
+            for (int position = 0; position < index.getCount(key); ++position) {
+                valueIds.add(valueIndex.getId(index.get(key, position)));
+            }
+            valueIdsByKeyId.put(keyIndex.getId(key), valueIds);
+        }
+        return valueIdsByKeyId;
+    }
+
+    @Test
+    void secondaryIndexesShouldMatchInMemory() {
+        final InMemoryGtfsDataRepository expected = new InMemoryGtfsDataRepository();
+        for (int tripNumber = 0; tripNumber < 200; ++tripNumber) {
+            expected.addTrip(createTrip(tripNumber));
+            underTest.addTrip(createTrip(tripNumber));
+            for (int stopSequence = 0; stopSequence < 10; ++stopSequence) {
+                expected.addStopTime(createStopTime("trip" + tripNumber, stopSequence));
+                underTest.addStopTime(createStopTime("trip" + tripNumber, stopSequence));
+            }
+        }
+
+        assertEquals(resolve(expected.getTripsByRoute(), expected.getRouteIndex(), expected.getTripIndex()),
+                resolve(underTest.getTripsByRoute(), underTest.getRouteIndex(), underTest.getTripIndex()));
+        assertEquals(resolve(expected.getTripsByService(), expected.getServiceIndex(), expected.getTripIndex()),
+                resolve(underTest.getTripsByService(), underTest.getServiceIndex(), underTest.getTripIndex()));
+        assertEquals(resolve(expected.getTripsByShape(), expected.getShapeIndex(), expected.getTripIndex()),
+                resolve(underTest.getTripsByShape(), underTest.getShapeIndex(), underTest.getTripIndex()));
+        assertEquals(resolve(expected.getTripsByBlock(), expected.getBlockIndex(), expected.getTripIndex()),
+                resolve(underTest.getTripsByBlock(), underTest.getBlockIndex(), underTest.getTripIndex()));
+        assertEquals(resolve(expected.getStopTimesByStop(), expected.getStopIndex(), expected.getTripIndex()),
+                resolve(underTest.getStopTimesByStop(), underTest.getStopIndex(), underTest.getTripIndex()));
+        final int stop3 = underTest.getStopIndex().indexOf("stop3");
+        assertEquals(3, underTest.getStopTimesByStop().getStopSequence(stop3, 0));
+    }
+
+    @Test
+    void stopTimesShouldBeStoredAsInMemory() {
+        final Random random = new Random(42);
+        final InMemoryGtfsDataRepository expected = new InMemoryGtfsDataRepository();
+        for (int i = 0; i < 20000; ++i) {
+            // mostly sorted rows, with runs of other trips and rows out of order, as found in real feeds
+            final StopTime stopTime = createStopTime("trip" + random.nextInt(random.nextBoolean() ? 5 : 300),
+                    random.nextInt(200));
+            assertEquals(expected.addStopTime(stopTime) == null, underTest.addStopTime(stopTime) == null);
+        }
+
+        final Map<String, SortedMap<Integer, StopTime>> actual = underTest.getStopTimeAll();
+        assertEquals(expected.getStopTimeAll(), actual);
+        assertEquals(new ArrayList<>(expected.getStopTimeAll().keySet()), new ArrayList<>(actual.keySet()));
+        assertEquals(expected.getStopTimeByTripId("trip3"), underTest.getStopTimeByTripId("trip3"));
+        assertEquals(new ArrayList<>(expected.getStopTimeByTripId("trip3").keySet()),
+                new ArrayList<>(underTest.getStopTimeByTripId("trip3").keySet()));
+        assertNull(underTest.getStopTimeByTripId("unknown trip"));
+        assertEquals(underTest.getTripIndex().indexOf("trip3"),
+                underTest.getStopTimeByTripId("trip3").values().iterator().next().getTripIndex());
+    }
+
+    @Test
+    void shapesShouldBeStoredAsInMemory() {
+        final Random random = new Random(42);
+        final InMemoryGtfsDataRepository expected = new InMemoryGtfsDataRepository();
+        for (int i = 0; i < 20000; ++i) {
+            final ShapePoint shapePoint = ShapePoint.restore("shape" + random.nextInt(100), random.nextFloat(),
+                    random.nextFloat(), random.nextInt(500), random.nextBoolean() ? null : random.nextFloat());
+            assertEquals(expected.addShapePoint(shapePoint) == null, underTest.addShapePoint(shapePoint) == null);
+        }
+
+        final Map<String, ShapeGeometry> actual = underTest.getShapeAll();
+        assertEquals(new ArrayList<>(expected.getShapeAll().keySet()), new ArrayList<>(actual.keySet()));
+        expected.getShapeAll().forEach((shapeId, shape) ->
+                assertEquals(shape.getShapePoints(), actual.get(shapeId).getShapePoints()));
+        assertEquals(expected.getShapeById("shape7").getShapePoints(),
+                underTest.getShapeById("shape7").getShapePoints());
+        assertNull(underTest.getShapeById("unknown shape"));
+    }
+
+    @Test
+    void calendarDatesShouldBeStoredAsInMemory() {
+        final Random random = new Random(42);
+        final InMemoryGtfsDataRepository expected = new InMemoryGtfsDataRepository();
+        for (int i = 0; i < 5000; ++i) {
+            final CalendarDate calendarDate = createCalendarDate("service" + random.nextInt(50),
+                    18000 + random.nextInt(400));
+            assertEquals(expected.addCalendarDate(calendarDate) == null,
+                    underTest.addCalendarDate(calendarDate) == null);
+        }
+
+        final Map<String, Map<LocalDate, CalendarDate>> actual = underTest.getCalendarDateAll();
+        assertEquals(expected.getCalendarDateAll(), actual);
+        assertEquals(new ArrayList<>(expected.getCalendarDateAll().keySet()), new ArrayList<>(actual.keySet()));
+        final Map<LocalDate, CalendarDate> serviceCalendarDates = actual.get("service3");
+        final LocalDate firstDate = serviceCalendarDates.values().iterator().next().getDate();
+        assertEquals(firstDate, serviceCalendarDates.get(firstDate).getDate());
+        assertNull(serviceCalendarDates.get(firstDate.toString()));
+        assertNull(serviceCalendarDates.get(LocalDate.ofEpochDay(0)));
+        serviceCalendarDates.values().stream()
+                .map(CalendarDate::getDate)
+                .reduce((previous, next) -> {
+                    assertTrue(previous.isBefore(next));
+                    return next;
+                });
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapStringTableTest {
+    @TempDir
+    Path directory;
+    private PageArena arena;
+
+    @BeforeEach
+    void createArena() {
+        arena = new PageArena(directory);
+    }
+
+    @AfterEach
+    void closeArena() throws IOException {
+        arena.close();
+    }
+
+    @Test
+    void sameStringShouldBeAssignedSameId() {
+        final OffHeapStringTable underTest = new OffHeapStringTable(arena);
+
+        assertEquals(0, underTest.add("stop"));
+        assertEquals(1, underTest.add("other stop"));
+        assertEquals(0, underTest.add(new String("stop")));
+        assertEquals(2, underTest.size());
+        assertEquals(1, underTest.indexOf("other stop"));
+        assertEquals(EntityIndex.NO_INDEX, underTest.indexOf("unknown stop"));
+        assertEquals(EntityIndex.NO_INDEX, underTest.add(null));
+        assertEquals(EntityIndex.NO_INDEX, underTest.indexOf(null));
+        assertNull(underTest.get(2));
+        assertNull(underTest.get(EntityIndex.NO_INDEX));
+    }
+
+    @Test
+    void stringsShouldBeReadBackWithSameValueAndHashCode() {
+        final OffHeapStringTable underTest = new OffHeapStringTable(arena);
+        final List<String> valueList = List.of("", "a", "ascii only", "accentué", "日本語", "emoji 🚌",
+                "x".repeat(100_000));
+
+        valueList.forEach(underTest::add);
+
+        for (int id = 0; id < valueList.size(); ++id) {
+            assertEquals(valueList.get(id), underTest.get(id));
+            assertEquals(valueList.get(id).hashCode(), underTest.hashCodeOf(id));
+            assertEquals(id, underTest.indexOf(valueList.get(id)));
+        }
+    }
+
+    @Test
+    void manyStringsShouldSpanSeveralPages() {
+        final OffHeapStringTable underTest = new OffHeapStringTable(arena);
+        final List<String> valueList = new ArrayList<>();
+        for (int i = 0; i < 200_000; ++i) {
+            valueList.add("trip_" + i);
+        }
+
+        valueList.forEach(underTest::add);
+
+        assertEquals(valueList.size(), underTest.size());
+        assertTrue(arena.getPageInUseCount() > 1);
+        for (int id = 0; id < valueList.size(); id += 997) {
+            assertEquals(valueList.get(id), underTest.get(id));
+            assertEquals(id, underTest.indexOf(valueList.get(id)));
+        }
+    }
+}
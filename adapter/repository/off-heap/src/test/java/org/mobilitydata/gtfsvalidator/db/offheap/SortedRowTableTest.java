@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedRowTableTest {
+    private static final int ROW_SIZE = 8;
+    private static final int VALUE = 4;
+
+    @TempDir
+    Path directory;
+    private PageArena arena;
+
+    @BeforeEach
+    void createArena() {
+        arena = new PageArena(directory);
+    }
+
+    @AfterEach
+    void closeArena() throws IOException {
+        arena.close();
+    }
+
+    private static List<Integer> getKeys(final SortedRowTable table, final int groupId) {
+        final List<Integer> keyList = new ArrayList<>();
+        for (int position = 0; position < table.getRowCount(groupId); ++position) {
+            keyList.add(table.getKey(table.getRowOffset(groupId, position)));
+        }
+        return keyList;
+    }
+
+    @Test
+    void duplicateKeyShouldNotBeInserted() {
+        final SortedRowTable underTest = new SortedRowTable(arena, ROW_SIZE);
+
+        assertNotEquals(SortedRowTable.NO_ROW, underTest.insert(0, 3));
+        assertNotEquals(SortedRowTable.NO_ROW, underTest.insert(0, 1));
+        assertEquals(SortedRowTable.NO_ROW, underTest.insert(0, 3));
+
+        assertEquals(List.of(1, 3), getKeys(underTest, 0));
+        assertFalse(underTest.hasGroup(1));
+        assertFalse(underTest.hasGroup(-1));
+    }
+
+    @Test
+    void searchShouldReturnPositionOrInsertionPoint() {
+        final SortedRowTable underTest = new SortedRowTable(arena, ROW_SIZE);
+        underTest.insert(2, 10);
+        underTest.insert(2, 20);
+        underTest.insert(2, 30);
+
+        assertEquals(1, underTest.search(2, 20));
+        assertEquals(-2, underTest.search(2, 15));
+        assertEquals(-4, underTest.search(2, 35));
+    }
+
+    @Test
+    void groupsShouldBeListedInCreationOrder() {
+        final SortedRowTable underTest = new SortedRowTable(arena, ROW_SIZE);
+        underTest.insert(5, 1);
+        underTest.insert(2, 1);
+        underTest.insert(5, 2);
+        underTest.insert(0, 1);
+
+        assertEquals(3, underTest.getGroupCount());
+        assertEquals(5, underTest.getGroupId(0));
+        assertEquals(2, underTest.getGroupId(1));
+        assertEquals(0, underTest.getGroupId(2));
+    }
+
+    @Test
+    void interleavedAndUnsortedRowsShouldBeStoredAsSortedGroups() {
+        final Random random = new Random(42);
+        final SortedRowTable underTest = new SortedRowTable(arena, ROW_SIZE);
+        final Map<Integer, TreeMap<Integer, Integer>> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; ++i) {
+            // mostly sorted rows, with runs of other groups and rows out of order, as found in real feeds
+            final int groupId = random.nextInt(random.nextBoolean() ? 5 : 3000);
+            final int key = random.nextInt(200);
+            final int value = random.nextInt();
+            final boolean isNew = expected.computeIfAbsent(groupId, id -> new TreeMap<>()).putIfAbsent(key, value) == null;
+            final long rowOffset = underTest.insert(groupId, key);
+            assertEquals(isNew, rowOffset != SortedRowTable.NO_ROW);
+            if (isNew) {
+                underTest.getRows().putInt(rowOffset + VALUE, value);
+            }
+        }
+
+        assertEquals(expected.size(), underTest.getGroupCount());
+        expected.forEach((groupId, rows) -> {
+            assertEquals(new ArrayList<>(rows.keySet()), getKeys(underTest, groupId));
+            int position = 0;
+            for (final int value : rows.values()) {
+                assertEquals(value, underTest.getRows().getInt(underTest.getRowOffset(groupId, position) + VALUE));
+                ++position;
+            }
+        });
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.db.offheap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpillingRowSorterTest {
+    private static final int RUN_ROW_COUNT = 100;
+    @TempDir
+    Path directory;
+    private SpillingRowSorter underTest;
+
+    @BeforeEach
+    void createSorter() {
+        underTest = new SpillingRowSorter(directory, Integer.BYTES, RUN_ROW_COUNT);
+    }
+
+    @AfterEach
+    void closeSorter() throws IOException {
+        underTest.close();
+    }
+
+    private boolean add(final int groupId, final int key, final int payload) {
+        final int rowOffset = underTest.add(groupId, key);
+        if (rowOffset == SpillingRowSorter.NO_ROW) {
+            return false;
+        }
+        underTest.getRun().putInt(rowOffset + SpillingRowSorter.PAYLOAD, payload);
+        return true;
+    }
+
+    private void assertGroupEquals(final SortedMap<Integer, Integer> expected, final int groupId) {
+        final ByteBuffer rows = underTest.readGroup(groupId);
+        final SortedMap<Integer, Integer> actual = new TreeMap<>();
+        final List<Integer> keyList = new ArrayList<>();
+        for (int offset = 0; offset < rows.limit(); offset += underTest.getRowSize()) {
+            assertEquals(groupId, rows.getInt(offset + SpillingRowSorter.GROUP_ID));
+            keyList.add(rows.getInt(offset + SpillingRowSorter.KEY));
+            actual.put(rows.getInt(offset + SpillingRowSorter.KEY), rows.getInt(offset + SpillingRowSorter.PAYLOAD));
+        }
+        assertEquals(expected, actual);
+        assertEquals(new ArrayList<>(expected.keySet()), keyList);
+    }
+
+    @Test
+    void rowsShouldBeSortedByGroupThenKey() {
+        final Random random = new Random(42);
+        final Map<Integer, SortedMap<Integer, Integer>> expected = new LinkedHashMap<>();
+        // enough rows to spill more runs than kept on disk before they are merged
+        for (int i = 0; i < 50 * RUN_ROW_COUNT; ++i) {
+            final int groupId = random.nextInt(random.nextBoolean() ? 5 : 200);
+            final int key = random.nextInt(300) - 10;
+            final SortedMap<Integer, Integer> group = expected.computeIfAbsent(groupId, id -> new TreeMap<>());
+            final boolean isNewKey = !group.containsKey(key);
+            if (isNewKey) {
+                group.put(key, i);
+            }
+            assertEquals(isNewKey, add(groupId, key, i));
+        }
+
+        assertEquals(expected.size(), underTest.getGroupCount());
+        final List<Integer> groupIdList = new ArrayList<>();
+        for (int rank = 0; rank < underTest.getGroupCount(); ++rank) {
+            groupIdList.add(underTest.getGroupId(rank));
+        }
+        assertEquals(new ArrayList<>(expected.keySet()), groupIdList);
+        expected.forEach((groupId, group) -> assertGroupEquals(group, groupId));
+        assertFalse(underTest.hasGroup(1000));
+        assertEquals(0, underTest.readGroup(1000).limit());
+    }
+
+    @Test
+    void rowsAddedAfterReadShouldBeMerged() {
+        final SortedMap<Integer, Integer> expected = new TreeMap<>();
+        for (int key = 0; key < 3 * RUN_ROW_COUNT; key += 2) {
+            assertTrue(add(1, key, key));
+            expected.put(key, key);
+        }
+        assertGroupEquals(expected, 1);
+
+        for (int key = 3 * RUN_ROW_COUNT - 1; key >= 0; --key) {
+            assertEquals(key % 2 == 1, add(1, key, -key));
+            expected.putIfAbsent(key, -key);
+        }
+        assertTrue(add(2, 0, 0));
+        assertGroupEquals(expected, 1);
+        assertGroupEquals(new TreeMap<>(Map.of(0, 0)), 2);
+    }
+
+    @Test
+    void runFilesShouldBeDeletedOnClose() throws IOException {
+        for (int key = 0; key < 10 * RUN_ROW_COUNT; ++key) {
+            add(0, key, key);
+        }
+        underTest.readGroup(0);
+        underTest.close();
+
+        try (final Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
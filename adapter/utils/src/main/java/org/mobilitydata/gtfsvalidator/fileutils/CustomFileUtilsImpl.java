@@ -20,7 +20,10 @@ import org.apache.commons.io.FileUtils;
 import org.mobilitydata.gtfsvalidator.usecase.utils.CustomFileUtils;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 public class CustomFileUtilsImpl implements CustomFileUtils {
     @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"}) // to implement singleton pattern
@@ -84,4 +87,25 @@ public class CustomFileUtilsImpl implements CustomFileUtils {
     public long sizeOfDirectory(final Path pathToDirectory) {
         return FileUtils.sizeOfDirectory(new File(pathToDirectory.toString()));
     }
+
+    /**
+     * Returns the total uncompressed size in bytes of the files contained in a zip archive, as recorded in the central
+     * directory of the archive: the content of the archive does not need to be extracted
+     * @param pathToArchive  the path to the zip archive
+     * @return the total uncompressed size in bytes of the files contained in a zip archive, or 0 if the archive cannot
+     * be read
+     */
+    @Override
+    public long sizeOfArchiveContent(final Path pathToArchive) {
+        try (final ZipFile zipFile = new ZipFile(pathToArchive.toFile())) {
+            return zipFile.stream()
+                    .filter(entry -> !entry.isDirectory())
+                    .mapToLong(ZipEntry::getSize)
+                    // the uncompressed size of an entry is -1 when it is not recorded in the archive
+                    .filter(size -> size > 0)
+                    .sum();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
 }
@@ -22,7 +22,7 @@ import org.locationtech.spatial4j.shape.Point;
 import org.locationtech.spatial4j.shape.Shape;
 import org.locationtech.spatial4j.shape.ShapeFactory;
 import org.locationtech.spatial4j.shape.SpatialRelation;
-import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.BoardingArea;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.LocationBase;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.StopOrPlatform;
@@ -32,6 +32,7 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.StopTooFarFromT
 import org.mobilitydata.gtfsvalidator.usecase.utils.GeospatialUtils;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 import static org.locationtech.spatial4j.context.SpatialContext.GEO;
 
@@ -44,6 +45,9 @@ public class GeospatialUtilsImpl implements GeospatialUtils {
     // Spatial operation buffer values
     public static final double TRIP_BUFFER_DEGREES = DistanceUtils.KM_TO_DEG * (TRIP_BUFFER_METERS / 1000.0d);
 
+    // Maximum number of shape buffers kept in memory
+    static final int MAX_CACHED_SHAPE_BUFFER_COUNT = 1024;
+
     private GeospatialUtilsImpl() {
     }
 
@@ -78,52 +82,69 @@ public class GeospatialUtilsImpl implements GeospatialUtils {
     }
 
     /**
-     * Returns a list of E052 errors for the given input, one for each stop that is too far from the trip shapePoints
+     * Returns an empty cache of shape buffers, keyed by the coordinates of the points of the shapes so that shapes with
+     * identical geometries share a single buffer. The least recently used buffer is evicted once
+     * {@link #MAX_CACHED_SHAPE_BUFFER_COUNT} buffers are cached.
+     *
+     * @return an empty cache of shape buffers
+     */
+    public Map<Object, Object> createShapeBufferCache() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Object, Object> eldest) {
+                return size() > MAX_CACHED_SHAPE_BUFFER_COUNT;
+            }
+        };
+    }
+
+    /**
+     * Returns a list of E052 errors for the given input, one for each stop that is too far from the trip shape
      *
      * @param trip          Trip for this GTFS trip
      * @param stopTimes     a map of StopTimes for a trip, sorted by stop_sequence
-     * @param shapePoints   a map of ShapePoints for a trip, sorted by shape_pt_sequence
-     * @param stopsByStopId a map of all stops (keyed on stop_id), needed to obtain the latitude and longitude for each stop
-     * @param testedCache   a cache for previously tested shape_id and stop_id pairs (keyed on shape_id+stop_id). If the
-     *                      combination of shape_id and stop_id appears in this set, we shouldn't test it again. Shapes
-     *                      and stops tested in this method execution will be added to this testedCache.
-     * @return a list of E052 errors, one for each stop that is too far from the trip shapePoints
+     * @param shape         the geometry of the shape of a trip, its points being sorted by shape_pt_sequence
+     * @param stopsByStopId  a map of all stops (keyed on stop_id), needed to obtain the latitude and longitude for each
+     *                       stop
+     * @param markStopTested marks a stop_id as tested against the shape_id of the trip: returns true if the
+     *                       combination of shape_id and stop_id was not tested yet, false if it was tested before and
+     *                       shouldn't be tested again
+     * @param shapeBufferCache the buffers of the shapes already built during the validation, as returned by
+     *                         {@link #createShapeBufferCache()}
+     * @return a list of E052 errors, one for each stop that is too far from the trip shape
      */
     public List<StopTooFarFromTripShapeNotice> checkStopsWithinTripShape(final Trip trip,
                                                                          final SortedMap<Integer, StopTime> stopTimes,
-                                                                         final SortedMap<Integer, ShapePoint> shapePoints,
+                                                                         final ShapeGeometry shape,
                                                                          final Map<String, LocationBase> stopsByStopId,
-                                                                         final Set<String> testedCache) {
+                                                                         final Predicate<String> markStopTested,
+                                                                         final Map<Object, Object> shapeBufferCache) {
         List<StopTooFarFromTripShapeNotice> errors = new ArrayList<>();
-        if (trip == null || stopTimes == null || stopTimes.isEmpty() || shapePoints == null || shapePoints.isEmpty()) {
+        if (trip == null || stopTimes == null || stopTimes.isEmpty() || shape == null || shape.getPointCount() == 0) {
             // Nothing to do - return empty list
             return errors;
         }
 
-        // Create a polyline from the GTFS shapes data
-        ShapeFactory.LineStringBuilder lineBuilder = getShapeFactory().lineString();
-        shapePoints.forEach((integer, shapePoint) -> lineBuilder.pointXY(shapePoint.getShapePtLon(), shapePoint.getShapePtLat()));
-        Shape shapeLine = lineBuilder.build();
-
-        // Create the buffered version of the trip as a polygon
-        Shape shapeBuffer = shapeLine.getBuffered(TRIP_BUFFER_DEGREES, shapeLine.getContext());
+        // The buffered version of the trip as a polygon, built once for all the trips sharing the shape
+        Shape shapeBuffer = null;
 
         // Check if each stop is within the buffer polygon
-        stopTimes.forEach((stopSequence, stopTime) -> {
+        for (final StopTime stopTime : stopTimes.values()) {
             LocationBase stop = stopsByStopId.get(stopTime.getStopId());
             if (stop == null || stop.getStopLat() == null || stop.getStopLon() == null) {
                 // Lat/lon are optional for location_type 4 - skip to the next stop if they aren't provided
-                return;
+                continue;
             }
             if (!(stop instanceof StopOrPlatform) && !(stop instanceof BoardingArea)) {
                 // This rule only applies to stops of location_type 0 and 4 - skip to next stop
-                return;
+                continue;
             }
-            if (testedCache.contains(trip.getShapeId() + stop.getStopId())) {
+            if (!markStopTested.test(stop.getStopId())) {
                 // We've already tested this combination of shape ID and stop ID - skip to next stop
-                return;
+                continue;
+            }
+            if (shapeBuffer == null) {
+                shapeBuffer = getShapeBuffer(shape, shapeBufferCache);
             }
-            testedCache.add(trip.getShapeId() + stop.getStopId());
             org.locationtech.spatial4j.shape.Point p = getShapeFactory().pointXY(stop.getStopLon(), stop.getStopLat());
             if (!shapeBuffer.relate(p).equals(SpatialRelation.CONTAINS)) {
                 errors.add(new StopTooFarFromTripShapeNotice(
@@ -133,11 +154,39 @@ public class GeospatialUtilsImpl implements GeospatialUtils {
                         trip.getShapeId(),
                         TRIP_BUFFER_METERS));
             }
-        });
+        }
 
         return errors;
     }
 
+    /**
+     * Returns the buffer of a shape: the polygon surrounding the line going through the points of the shape, at a
+     * distance of {@link #TRIP_BUFFER_DEGREES}. Buffers are cached, so that each distinct geometry is only built once
+     * per cache.
+     *
+     * @param shape            the geometry of the shape, its points being sorted by shape_pt_sequence
+     * @param shapeBufferCache the buffers of the shapes already built, as returned by {@link #createShapeBufferCache()}
+     * @return the buffer of the shape
+     */
+    Shape getShapeBuffer(final ShapeGeometry shape, final Map<Object, Object> shapeBufferCache) {
+        final ShapeGeometryKey key = new ShapeGeometryKey(shape);
+        Shape shapeBuffer = (Shape) shapeBufferCache.get(key);
+        if (shapeBuffer != null) {
+            return shapeBuffer;
+        }
+        // Create a polyline from the GTFS shapes data
+        ShapeFactory.LineStringBuilder lineBuilder = getShapeFactory().lineString();
+        for (int pointIndex = 0; pointIndex < shape.getPointCount(); ++pointIndex) {
+            lineBuilder.pointXY(shape.getShapePtLon(pointIndex), shape.getShapePtLat(pointIndex));
+        }
+        Shape shapeLine = lineBuilder.build();
+
+        // Create the buffered version of the trip as a polygon
+        shapeBuffer = shapeLine.getBuffered(TRIP_BUFFER_DEGREES, shapeLine.getContext());
+        shapeBufferCache.put(key, shapeBuffer);
+        return shapeBuffer;
+    }
+
     /**
      * Method returning a {@code ShapeFactory}
      *
@@ -154,4 +203,50 @@ public class GeospatialUtilsImpl implements GeospatialUtils {
     private static DistanceCalculator getDistanceCalculator() {
         return GEO.getDistCalc();
     }
+
+    /**
+     * Identifies the geometry of a shape by the coordinates of its points, regardless of its shape_id, shape_pt_sequence
+     * and shape_dist_traveled values. The hash code is memoized by the shape itself, so that looking up the buffer of a
+     * shape already seen does not go through its points again. Two keys are only compared point by point when they
+     * hold distinct shapes with equal hash codes.
+     */
+    private static final class ShapeGeometryKey {
+        private final ShapeGeometry shape;
+
+        private ShapeGeometryKey(final ShapeGeometry shape) {
+            this.shape = shape;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ShapeGeometryKey)) {
+                return false;
+            }
+            final ShapeGeometryKey otherKey = (ShapeGeometryKey) other;
+            if (shape == otherKey.shape) {
+                return true;
+            }
+            if (shape.getGeometryHashCode() != otherKey.shape.getGeometryHashCode() ||
+                    shape.getPointCount() != otherKey.shape.getPointCount()) {
+                return false;
+            }
+            for (int pointIndex = 0; pointIndex < shape.getPointCount(); ++pointIndex) {
+                if (Float.floatToIntBits(shape.getShapePtLat(pointIndex)) !=
+                        Float.floatToIntBits(otherKey.shape.getShapePtLat(pointIndex)) ||
+                        Float.floatToIntBits(shape.getShapePtLon(pointIndex)) !=
+                                Float.floatToIntBits(otherKey.shape.getShapePtLon(pointIndex))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return shape.getGeometryHashCode();
+        }
+    }
 }
@@ -21,19 +21,11 @@ import org.mobilitydata.gtfsvalidator.usecase.utils.TimeUtils;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Pattern;
 
 /**
  * Utility class to carry out operations related to GTFS TIME type
  */
 public class TimeUtilsImpl implements TimeUtils {
-    // Matches any time string representing time in HH:MM:SS format with:
-    // - hours between 0 and 99h,
-    // - minutes between 0 and 60min
-    // - seconds between 0 and 0sec.
-    // Examples of string matching the related regexp: "00:45:32" or "26:45:22".
-    // Examples of string that do not match the regexp: "23:90", "23:90:62" or "abcdefg"
-    final static Pattern pattern = Pattern.compile("([0-9][0-9]|[0-9]):[0-5][0-9]:[0-5][0-9]");
     private static TimeUtilsImpl TIME_UTILS = null;
 
     private TimeUtilsImpl() {
@@ -63,23 +55,66 @@ public class TimeUtilsImpl implements TimeUtils {
      */
     @Override
     public Integer convertHHMMSSToIntFromNoonOfDayOfService(final String timeAsString) {
-        if (timeAsString != null && pattern.matcher(timeAsString).matches()) {
-            final String[] timeStringSplit = timeAsString.split(":");
-            try {
-                final int hourValue = Integer.parseInt(timeStringSplit[0]);
-                final int minuteValue = Integer.parseInt(timeStringSplit[1]);
-                final int secondValue = Integer.parseInt(timeStringSplit[2]);
-                // Converting time to an Integer value representing number of seconds
-                final int timeValueAsInt = (int) (TimeUnit.HOURS.toSeconds(hourValue) +
-                        TimeUnit.MINUTES.toSeconds(minuteValue) + secondValue);
-                // Setting noon as point zero, subtracting 12 * 3600 seconds
-                return timeValueAsInt - (int) (TimeUnit.HOURS.toSeconds(12));
-            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
-                return null;
-            }
-        } else {
+        if (timeAsString == null) {
             return null;
         }
+        final int timeValueAsInt = decodeHHMMSS(timeAsString);
+        if (timeValueAsInt == -1) {
+            return null;
+        }
+        // Setting noon as point zero, subtracting 12 * 3600 seconds
+        return timeValueAsInt - (int) (TimeUnit.HOURS.toSeconds(12));
+    }
+
+    /**
+     * Decodes a time formatted as H:MM:SS or HH:MM:SS, without regular expression nor intermediate strings. Accepts
+     * any time with:
+     * - hours between 0 and 99h,
+     * - minutes between 0 and 59min
+     * - seconds between 0 and 59sec.
+     * Examples of accepted strings: "00:45:32", "7:05:00" or "26:45:22".
+     * Examples of rejected strings: "23:90", "23:90:62" or "abcdefg"
+     *
+     * @param timeAsString the time formatted as HH:MM:SS to decode
+     * @return the number of seconds elapsed since midnight, or -1 if the string is not a valid time
+     */
+    private static int decodeHHMMSS(final String timeAsString) {
+        final int length = timeAsString.length();
+        if (length != 7 && length != 8) {
+            return -1;
+        }
+        final int hourLength = length - 6;
+        if (timeAsString.charAt(hourLength) != ':' || timeAsString.charAt(hourLength + 3) != ':') {
+            return -1;
+        }
+        final int hourValue = decodeDigits(timeAsString, 0, hourLength);
+        final int minuteValue = decodeDigits(timeAsString, hourLength + 1, hourLength + 3);
+        final int secondValue = decodeDigits(timeAsString, hourLength + 4, length);
+        if (hourValue == -1 || minuteValue == -1 || minuteValue > 59 || secondValue == -1 || secondValue > 59) {
+            return -1;
+        }
+        // Converting time to an Integer value representing number of seconds
+        return (int) (TimeUnit.HOURS.toSeconds(hourValue) + TimeUnit.MINUTES.toSeconds(minuteValue) + secondValue);
+    }
+
+    /**
+     * Decodes a fixed width run of decimal digits
+     *
+     * @param chars the string holding the digits
+     * @param start the index of the first digit
+     * @param end   the index following the last digit
+     * @return the decoded value, or -1 if a character of the run is not a decimal digit
+     */
+    private static int decodeDigits(final String chars, final int start, final int end) {
+        int value = 0;
+        for (int i = start; i < end; ++i) {
+            final int digit = chars.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
     }
 
     /**
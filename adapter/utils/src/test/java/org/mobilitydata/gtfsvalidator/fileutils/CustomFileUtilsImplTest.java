@@ -39,6 +39,22 @@ class CustomFileUtilsImplTest {
         fileSizeTest(Path.of("./test_file.zip"), 2156);
     }
 
+    @Test
+    void shouldReturnUncompressedSizeOfArchiveContent() {
+        //noinspection UnstableApiUsage
+        assertEquals(3188,
+                CustomFileUtilsImpl.getInstance().sizeOfArchiveContent(
+                        Path.of(Resources.getResource(Path.of("./test_file.zip").toString()).getPath())));
+    }
+
+    @Test
+    void unreadableArchiveShouldHaveContentSizeOfZero() {
+        //noinspection UnstableApiUsage
+        assertEquals(0,
+                CustomFileUtilsImpl.getInstance().sizeOfArchiveContent(
+                        Path.of(Resources.getResource("testDirectory/test_file.txt").getPath())));
+    }
+
     @Test
     void shouldReturnSizeOfFileInBytes() {
         //noinspection UnstableApiUsage
@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.geoutils;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.BoardingArea;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.Entrance;
@@ -29,6 +30,8 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.StopTooFarFromT
 import java.util.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.mobilitydata.gtfsvalidator.domain.entity.notice.base.ErrorNotice.E_052;
 import static org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice.KEY_COMPOSITE_KEY_FIRST_VALUE;
 import static org.mockito.Mockito.*;
@@ -37,6 +40,17 @@ public class GeospatialUtilsImplTest {
 
     private static final GeospatialUtilsImpl GEO_UTILS = GeospatialUtilsImpl.getInstance();
 
+    private static ShapeGeometry toShapeGeometry(final SortedMap<Integer, ShapePoint> points) {
+        if (points == null) {
+            return null;
+        }
+        final ShapeGeometry shape = new ShapeGeometry("shape1");
+        points.values().forEach(shape::addShapePoint);
+        // the points are only read once, when the geometry is built
+        clearInvocations(points.values().toArray());
+        return shape;
+    }
+
     @Test
     void distanceFromToSameCoordinateIsZero() {
 
@@ -142,28 +156,18 @@ public class GeospatialUtilsImplTest {
         SortedMap<Integer, ShapePoint> points = new TreeMap<>(Map.of(1, pt1, 2, pt2, 3, pt3, 4, pt4, 5, pt5));
 
         List<StopTooFarFromTripShapeNotice> errorList =
-                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, points, stopPerId, new HashSet<>());
+                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, toShapeGeometry(points), stopPerId,
+                        new HashSet<String>()::add, GEO_UTILS.createShapeBufferCache());
         assertEquals(0, errorList.size());
 
-        verify(trip, times(4)).getShapeId();
-        verify(stop1, times(2)).getStopId();
+        verify(stop1, times(1)).getStopId();
         verify(stop1, times(2)).getStopLon();
         verify(stop1, times(2)).getStopLat();
         verify(stop2, times(2)).getStopLon();
         verify(stop2, times(2)).getStopLat();
-        verify(stop2, times(2)).getStopId();
+        verify(stop2, times(1)).getStopId();
         verify(stopTime1, times(1)).getStopId();
         verify(stopTime2, times(1)).getStopId();
-        verify(pt1, times(1)).getShapePtLon();
-        verify(pt1, times(1)).getShapePtLat();
-        verify(pt2, times(1)).getShapePtLon();
-        verify(pt2, times(1)).getShapePtLat();
-        verify(pt3, times(1)).getShapePtLon();
-        verify(pt3, times(1)).getShapePtLat();
-        verify(pt4, times(1)).getShapePtLon();
-        verify(pt4, times(1)).getShapePtLat();
-        verify(pt5, times(1)).getShapePtLon();
-        verify(pt5, times(1)).getShapePtLat();
 
         verifyNoMoreInteractions(trip);
         verifyNoMoreInteractions(stop1);
@@ -277,7 +281,8 @@ public class GeospatialUtilsImplTest {
         SortedMap<Integer, ShapePoint> points = new TreeMap<>(Map.of(1, pt1, 2, pt2, 3, pt3, 4, pt4, 5, pt5));
 
         List<StopTooFarFromTripShapeNotice> errorList =
-                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, points, stopPerId, new HashSet<>());
+                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, toShapeGeometry(points), stopPerId,
+                        new HashSet<String>()::add, GEO_UTILS.createShapeBufferCache());
 
         assertEquals(1, errorList.size());
 
@@ -286,31 +291,21 @@ public class GeospatialUtilsImplTest {
         assertEquals("Stop too far from trip shape", notice.getTitle());
         assertEquals(stopId3, notice.getNoticeSpecific(KEY_COMPOSITE_KEY_FIRST_VALUE));
 
-        verify(trip, times(7)).getShapeId();
+        verify(trip, times(1)).getShapeId();
         verify(trip, times(1)).getTripId();
-        verify(stop1, times(2)).getStopId();
+        verify(stop1, times(1)).getStopId();
         verify(stop1, times(2)).getStopLon();
         verify(stop1, times(2)).getStopLat();
         verify(stop2, times(2)).getStopLon();
         verify(stop2, times(2)).getStopLat();
-        verify(stop2, times(2)).getStopId();
+        verify(stop2, times(1)).getStopId();
         verify(stop3, times(2)).getStopLon();
         verify(stop3, times(2)).getStopLat();
-        verify(stop3, times(2)).getStopId();
+        verify(stop3, times(1)).getStopId();
         verify(stopTime1, times(1)).getStopId();
         verify(stopTime2, times(1)).getStopId();
         verify(stopTime3, times(2)).getStopId();
         verify(stopTime3, times(1)).getStopSequence();
-        verify(pt1, times(1)).getShapePtLon();
-        verify(pt1, times(1)).getShapePtLat();
-        verify(pt2, times(1)).getShapePtLon();
-        verify(pt2, times(1)).getShapePtLat();
-        verify(pt3, times(1)).getShapePtLon();
-        verify(pt3, times(1)).getShapePtLat();
-        verify(pt4, times(1)).getShapePtLon();
-        verify(pt4, times(1)).getShapePtLat();
-        verify(pt5, times(1)).getShapePtLon();
-        verify(pt5, times(1)).getShapePtLat();
 
         verifyNoMoreInteractions(trip);
         verifyNoMoreInteractions(stop1);
@@ -429,11 +424,12 @@ public class GeospatialUtilsImplTest {
         // Entities are keyed on shape_pt_sequence of GTFS file shapes.txt
         SortedMap<Integer, ShapePoint> points = new TreeMap<>(Map.of(1, pt1, 2, pt2, 3, pt3, 4, pt4, 5, pt5));
 
-        // The testedCache will get populated with combination of each tested shapeId+stopId
-        Set<String> testedCache = new HashSet<>();
+        // The stopIds tested against the shapeId will be added to this set
+        Set<String> testedStopIds = new HashSet<>();
 
         List<StopTooFarFromTripShapeNotice> trip1ErrorList =
-                GEO_UTILS.checkStopsWithinTripShape(trip1, stopTimes, points, stopPerId, testedCache);
+                GEO_UTILS.checkStopsWithinTripShape(trip1, stopTimes, toShapeGeometry(points), stopPerId,
+                        testedStopIds::add, GEO_UTILS.createShapeBufferCache());
 
         assertEquals(1, trip1ErrorList.size());
 
@@ -444,34 +440,25 @@ public class GeospatialUtilsImplTest {
 
         // Validate the 2nd trip - no new errors should be added, because the shapeId+stopId combination has already been flagged
         List<StopTooFarFromTripShapeNotice> trip2ErrorList =
-                GEO_UTILS.checkStopsWithinTripShape(trip1, stopTimes, points, stopPerId, testedCache);
+                GEO_UTILS.checkStopsWithinTripShape(trip1, stopTimes, toShapeGeometry(points), stopPerId,
+                        testedStopIds::add, GEO_UTILS.createShapeBufferCache());
         assertEquals(0, trip2ErrorList.size());
 
-        verify(trip1, times(10)).getShapeId();
+        verify(trip1, times(1)).getShapeId();
         verify(trip1, times(1)).getTripId();
-        verify(stop1, times(3)).getStopId();
+        verify(stop1, times(2)).getStopId();
         verify(stop1, times(3)).getStopLon();
         verify(stop1, times(3)).getStopLat();
         verify(stop2, times(3)).getStopLon();
         verify(stop2, times(3)).getStopLat();
-        verify(stop2, times(3)).getStopId();
+        verify(stop2, times(2)).getStopId();
         verify(stop3, times(3)).getStopLon();
         verify(stop3, times(3)).getStopLat();
-        verify(stop3, times(3)).getStopId();
+        verify(stop3, times(2)).getStopId();
         verify(stopTime1, times(2)).getStopId();
         verify(stopTime2, times(2)).getStopId();
         verify(stopTime3, times(3)).getStopId();
         verify(stopTime3, times(1)).getStopSequence();
-        verify(pt1, times(2)).getShapePtLon();
-        verify(pt1, times(2)).getShapePtLat();
-        verify(pt2, times(2)).getShapePtLon();
-        verify(pt2, times(2)).getShapePtLat();
-        verify(pt3, times(2)).getShapePtLon();
-        verify(pt3, times(2)).getShapePtLat();
-        verify(pt4, times(2)).getShapePtLon();
-        verify(pt4, times(2)).getShapePtLat();
-        verify(pt5, times(2)).getShapePtLon();
-        verify(pt5, times(2)).getShapePtLat();
 
         verifyNoMoreInteractions(trip1);
         verifyNoMoreInteractions(trip2);
@@ -553,7 +540,8 @@ public class GeospatialUtilsImplTest {
         final Map<String, LocationBase> stopPerId = new HashMap<>(Map.of(stopId1, stop1, stopId2, stop2, stopId3, stop3));
 
         List<StopTooFarFromTripShapeNotice> errorList =
-                GEO_UTILS.checkStopsWithinTripShape(trip1, stopTimes, null, stopPerId, new HashSet<>());
+                GEO_UTILS.checkStopsWithinTripShape(trip1, stopTimes, null, stopPerId,
+                        new HashSet<String>()::add, GEO_UTILS.createShapeBufferCache());
 
         assertEquals(0, errorList.size());
 
@@ -664,7 +652,8 @@ public class GeospatialUtilsImplTest {
         SortedMap<Integer, ShapePoint> points = new TreeMap<>(Map.of(1, pt1, 2, pt2, 3, pt3, 4, pt4, 5, pt5));
 
         List<StopTooFarFromTripShapeNotice> errorList =
-                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, points, stopPerId, new HashSet<>());
+                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, toShapeGeometry(points), stopPerId,
+                        new HashSet<String>()::add, GEO_UTILS.createShapeBufferCache());
 
         assertEquals(0, errorList.size());
 
@@ -674,16 +663,6 @@ public class GeospatialUtilsImplTest {
         verify(stopTime1, times(1)).getStopId();
         verify(stopTime2, times(1)).getStopId();
         verify(stopTime3, times(1)).getStopId();
-        verify(pt1, times(1)).getShapePtLon();
-        verify(pt1, times(1)).getShapePtLat();
-        verify(pt2, times(1)).getShapePtLon();
-        verify(pt2, times(1)).getShapePtLat();
-        verify(pt3, times(1)).getShapePtLon();
-        verify(pt3, times(1)).getShapePtLat();
-        verify(pt4, times(1)).getShapePtLon();
-        verify(pt4, times(1)).getShapePtLat();
-        verify(pt5, times(1)).getShapePtLon();
-        verify(pt5, times(1)).getShapePtLat();
 
         verifyNoMoreInteractions(trip);
         verifyNoMoreInteractions(stop1);
@@ -797,7 +776,8 @@ public class GeospatialUtilsImplTest {
         SortedMap<Integer, ShapePoint> points = new TreeMap<>(Map.of(1, pt1, 2, pt2, 3, pt3, 4, pt4, 5, pt5));
 
         List<StopTooFarFromTripShapeNotice> errorList =
-                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, points, stopPerId, new HashSet<>());
+                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, toShapeGeometry(points), stopPerId,
+                        new HashSet<String>()::add, GEO_UTILS.createShapeBufferCache());
 
         assertEquals(0, errorList.size());
 
@@ -810,16 +790,6 @@ public class GeospatialUtilsImplTest {
         verify(stopTime1, times(1)).getStopId();
         verify(stopTime2, times(1)).getStopId();
         verify(stopTime3, times(1)).getStopId();
-        verify(pt1, times(1)).getShapePtLon();
-        verify(pt1, times(1)).getShapePtLat();
-        verify(pt2, times(1)).getShapePtLon();
-        verify(pt2, times(1)).getShapePtLat();
-        verify(pt3, times(1)).getShapePtLon();
-        verify(pt3, times(1)).getShapePtLat();
-        verify(pt4, times(1)).getShapePtLon();
-        verify(pt4, times(1)).getShapePtLat();
-        verify(pt5, times(1)).getShapePtLon();
-        verify(pt5, times(1)).getShapePtLat();
 
         verifyNoMoreInteractions(trip);
         verifyNoMoreInteractions(stop1);
@@ -918,25 +888,15 @@ public class GeospatialUtilsImplTest {
         SortedMap<Integer, ShapePoint> points = new TreeMap<>(Map.of(1, pt1, 2, pt2, 3, pt3, 4, pt4, 5, pt5));
 
         List<StopTooFarFromTripShapeNotice> errorList =
-                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, points, stopPerId, new HashSet<>());
+                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, toShapeGeometry(points), stopPerId,
+                        new HashSet<String>()::add, GEO_UTILS.createShapeBufferCache());
         assertEquals(0, errorList.size());
 
-        verify(trip, times(2)).getShapeId();
         verify(stop2, times(2)).getStopLon();
         verify(stop2, times(2)).getStopLat();
-        verify(stop2, times(2)).getStopId();
+        verify(stop2, times(1)).getStopId();
         verify(stopTime1, times(1)).getStopId();
         verify(stopTime2, times(1)).getStopId();
-        verify(pt1, times(1)).getShapePtLon();
-        verify(pt1, times(1)).getShapePtLat();
-        verify(pt2, times(1)).getShapePtLon();
-        verify(pt2, times(1)).getShapePtLat();
-        verify(pt3, times(1)).getShapePtLon();
-        verify(pt3, times(1)).getShapePtLat();
-        verify(pt4, times(1)).getShapePtLon();
-        verify(pt4, times(1)).getShapePtLat();
-        verify(pt5, times(1)).getShapePtLon();
-        verify(pt5, times(1)).getShapePtLat();
 
         verifyNoMoreInteractions(trip);
         verifyNoMoreInteractions(stop2);
@@ -1036,7 +996,8 @@ public class GeospatialUtilsImplTest {
         SortedMap<Integer, ShapePoint> points = new TreeMap<>(Map.of(1, pt1, 2, pt2, 3, pt3, 4, pt4, 5, pt5));
 
         List<StopTooFarFromTripShapeNotice> errorList =
-                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, points, stopPerId, new HashSet<>());
+                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, toShapeGeometry(points), stopPerId,
+                        new HashSet<String>()::add, GEO_UTILS.createShapeBufferCache());
         assertEquals(0, errorList.size());
 
         verifyNoMoreInteractions(stop1);
@@ -1137,24 +1098,14 @@ public class GeospatialUtilsImplTest {
         SortedMap<Integer, ShapePoint> points = new TreeMap<>(Map.of(1, pt1, 2, pt2, 3, pt3, 4, pt4, 5, pt5));
 
         List<StopTooFarFromTripShapeNotice> errorList =
-                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, points, stopPerId, new HashSet<>());
+                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, toShapeGeometry(points), stopPerId,
+                        new HashSet<String>()::add, GEO_UTILS.createShapeBufferCache());
         assertEquals(0, errorList.size());
 
-        verify(trip, times(2)).getShapeId();
         verify(stop2, times(2)).getStopLon();
         verify(stop2, times(2)).getStopLat();
-        verify(stop2, times(2)).getStopId();
+        verify(stop2, times(1)).getStopId();
         verify(stopTime2, times(1)).getStopId();
-        verify(pt1, times(1)).getShapePtLon();
-        verify(pt1, times(1)).getShapePtLat();
-        verify(pt2, times(1)).getShapePtLon();
-        verify(pt2, times(1)).getShapePtLat();
-        verify(pt3, times(1)).getShapePtLon();
-        verify(pt3, times(1)).getShapePtLat();
-        verify(pt4, times(1)).getShapePtLon();
-        verify(pt4, times(1)).getShapePtLat();
-        verify(pt5, times(1)).getShapePtLon();
-        verify(pt5, times(1)).getShapePtLat();
 
         verifyNoMoreInteractions(trip);
         verifyNoMoreInteractions(stop1);
@@ -1256,7 +1207,8 @@ public class GeospatialUtilsImplTest {
         SortedMap<Integer, ShapePoint> points = new TreeMap<>(Map.of(1, pt1, 2, pt2, 3, pt3, 4, pt4, 5, pt5));
 
         List<StopTooFarFromTripShapeNotice> errorList =
-                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, points, stopPerId, new HashSet<>());
+                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, toShapeGeometry(points), stopPerId,
+                        new HashSet<String>()::add, GEO_UTILS.createShapeBufferCache());
         assertEquals(0, errorList.size());
 
         verifyNoMoreInteractions(trip);
@@ -1360,7 +1312,8 @@ public class GeospatialUtilsImplTest {
         SortedMap<Integer, ShapePoint> points = null;
 
         List<StopTooFarFromTripShapeNotice> errorList =
-                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, points, stopPerId, new HashSet<>());
+                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, toShapeGeometry(points), stopPerId,
+                        new HashSet<String>()::add, GEO_UTILS.createShapeBufferCache());
         assertEquals(0, errorList.size());
 
         verifyNoMoreInteractions(trip);
@@ -1464,7 +1417,8 @@ public class GeospatialUtilsImplTest {
         SortedMap<Integer, ShapePoint> points = new TreeMap<>();
 
         List<StopTooFarFromTripShapeNotice> errorList =
-                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, points, stopPerId, new HashSet<>());
+                GEO_UTILS.checkStopsWithinTripShape(trip, stopTimes, toShapeGeometry(points), stopPerId,
+                        new HashSet<String>()::add, GEO_UTILS.createShapeBufferCache());
         assertEquals(0, errorList.size());
 
         verifyNoMoreInteractions(trip);
@@ -1478,4 +1432,28 @@ public class GeospatialUtilsImplTest {
         verifyNoMoreInteractions(pt4);
         verifyNoMoreInteractions(pt5);
     }
+
+    @Test
+    void shapeBufferShouldBeSharedByShapesWithTheSameGeometry() {
+        final int[] sequences = {1, 2, 3};
+        final float[] lats = {28.05724310653972f, 28.05746701492806f, 28.05800068503469f};
+        final float[] lons = {-82.41350776611507f, -82.41493135129478f, -82.4159394137605f};
+        final float[] distances = {Float.NaN, Float.NaN, Float.NaN};
+        final float[] otherLons = {-82.41350776611507f, -82.41493135129478f, -82.41648754043338f};
+
+        final ShapeGeometry shape = ShapeGeometry.restore("shape1", sequences, lats, lons, distances);
+        final ShapeGeometry sameGeometryShape = ShapeGeometry.restore("shape2", sequences, lats, lons.clone(),
+                distances);
+        final ShapeGeometry otherGeometryShape = ShapeGeometry.restore("shape3", sequences, lats, otherLons,
+                distances);
+
+        final Map<Object, Object> shapeBufferCache = GEO_UTILS.createShapeBufferCache();
+
+        assertSame(GEO_UTILS.getShapeBuffer(shape, shapeBufferCache),
+                GEO_UTILS.getShapeBuffer(sameGeometryShape, shapeBufferCache));
+        assertNotSame(GEO_UTILS.getShapeBuffer(shape, shapeBufferCache),
+                GEO_UTILS.getShapeBuffer(otherGeometryShape, shapeBufferCache));
+        assertNotSame(GEO_UTILS.getShapeBuffer(shape, shapeBufferCache),
+                GEO_UTILS.getShapeBuffer(shape, GEO_UTILS.createShapeBufferCache()));
+    }
 }
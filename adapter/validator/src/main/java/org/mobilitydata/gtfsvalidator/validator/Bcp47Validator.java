@@ -24,25 +24,17 @@ import java.util.Locale;
  * Language codes used in GTFS feeds should be in IETF BCP 47 format.
  */
 public class Bcp47Validator {
-    private final Locale.Builder langTagValidator;
 
     /**
-     * Bcp47Validation constructor.
-     * Creates a new Locale.Builder, which will be used to validate a language tag.
-     */
-    public Bcp47Validator() {
-        this.langTagValidator = new Locale.Builder();
-    }
-
-    /**
-     * Validates a language tag according to the IETF BCP 47
+     * Validates a language tag according to the IETF BCP 47. Each call uses its own {@link Locale.Builder}: this can be
+     * used by several threads concurrently.
      *
      * @param languageTag the language tag to validate
      * @return true if the language tag is valid, false if not.
      */
     public Boolean isValid(String languageTag) {
         try {
-            langTagValidator.setLanguageTag(languageTag).build();
+            new Locale.Builder().setLanguageTag(languageTag).build();
             return true;
         } catch (IllformedLocaleException e) {
             return false;
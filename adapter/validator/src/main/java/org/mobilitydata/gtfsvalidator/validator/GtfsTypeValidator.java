@@ -18,6 +18,7 @@ package org.mobilitydata.gtfsvalidator.validator;
 
 import org.apache.commons.validator.routines.*;
 import org.jetbrains.annotations.NotNull;
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.*;
@@ -28,6 +29,7 @@ import org.mobilitydata.gtfsvalidator.usecase.port.GtfsSpecRepository;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Currency;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -35,7 +37,7 @@ import java.util.Set;
  * {@link GtfsSpecificationProto.CsvSpecProto}
  */
 public class GtfsTypeValidator implements GtfsSpecRepository.ParsedEntityTypeValidator {
-    private final GtfsSpecificationProto.CsvSpecProto fileSchema;
+    private final List<GtfsSpecificationProto.ColumnSpecProto> columnList;
     private final FloatValidator floatValidator;
     private final IntegerValidator integerValidator;
     private final UrlValidator urlValidator;
@@ -43,6 +45,8 @@ public class GtfsTypeValidator implements GtfsSpecRepository.ParsedEntityTypeVal
     private final EmailValidator emailValidator;
     private final RegexValidator timeValidator;
     private final Set<String> timezoneSet;
+    // for each column of the schema, the index of the matching column of the rows to validate, -1 if absent
+    private final ColumnIndexResolver<int[]> columnIndexResolver;
 
     /**
      * Private class method determining if a character is printable.
@@ -62,7 +66,7 @@ public class GtfsTypeValidator implements GtfsSpecRepository.ParsedEntityTypeVal
                              @NotNull EmailValidator emailValidator,
                              @NotNull RegexValidator timeValidator,
                              @NotNull Set<String> timezoneSet) {
-        this.fileSchema = fileSchema;
+        this.columnList = fileSchema.getColumnList();
         this.floatValidator = floatValidator;
         this.integerValidator = integerValidator;
         this.urlValidator = urlValidator;
@@ -70,6 +74,9 @@ public class GtfsTypeValidator implements GtfsSpecRepository.ParsedEntityTypeVal
         this.emailValidator = emailValidator;
         this.timeValidator = timeValidator;
         this.timezoneSet = timezoneSet;
+        this.columnIndexResolver = new ColumnIndexResolver<>(headerIndex -> columnList.stream()
+                .mapToInt(columnSpecProto -> headerIndex.indexOf(columnSpecProto.getName()))
+                .toArray());
     }
 
     /**
@@ -85,9 +92,11 @@ public class GtfsTypeValidator implements GtfsSpecRepository.ParsedEntityTypeVal
     public Collection<Notice> validate(ParsedEntity toValidate) {
         Collection<Notice> toReturn = new ArrayList<>();
 
-        fileSchema.getColumnList().forEach(columnSpecProto -> {
+        final int[] columnIndexArray = columnIndexResolver.resolve(toValidate.getHeaderIndex());
+        for (int columnIndex = 0; columnIndex < columnIndexArray.length; ++columnIndex) {
+            final GtfsSpecificationProto.ColumnSpecProto columnSpecProto = columnList.get(columnIndex);
 
-            Object value = toValidate.get(columnSpecProto.getName());
+            Object value = toValidate.get(columnIndexArray[columnIndex]);
 
             if (value != null &&
                     (!(value instanceof String) || !((String) value).isEmpty())) {
@@ -226,7 +235,7 @@ public class GtfsTypeValidator implements GtfsSpecRepository.ParsedEntityTypeVal
                     ));
                 }
             }
-        });
+        }
 
         return toReturn;
     }
@@ -18,6 +18,7 @@ package org.mobilitydata.gtfsvalidator.validator;
 
 import org.apache.commons.validator.routines.*;
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.RawFileInfo;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice;
@@ -68,7 +69,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("float_with_range", -5.0f),
+                new HeaderIndex(List.of("float_with_range")),
+                new Object[]{-5.0f},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -109,7 +111,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("float_with_range", 66.7f),
+                new HeaderIndex(List.of("float_with_range")),
+                new Object[]{66.7f},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -163,7 +166,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("integer_with_range", 5),
+                new HeaderIndex(List.of("integer_with_range")),
+                new Object[]{5},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -204,7 +208,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("integer_with_range", 67),
+                new HeaderIndex(List.of("integer_with_range")),
+                new Object[]{67},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -254,7 +259,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("time_with_regex", "01:02:03"),
+                new HeaderIndex(List.of("time_with_regex")),
+                new Object[]{"01:02:03"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -289,7 +295,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("time_with_regex", "001:2:00003"),
+                new HeaderIndex(List.of("time_with_regex")),
+                new Object[]{"001:2:00003"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -333,7 +340,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("type_url", "http://mobilitydata.org"),
+                new HeaderIndex(List.of("type_url")),
+                new Object[]{"http://mobilitydata.org"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -369,7 +377,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("type_url", "ftp://mobilitydata.org"),
+                new HeaderIndex(List.of("type_url")),
+                new Object[]{"ftp://mobilitydata.org"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -414,7 +423,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("type_email", "info@mobilitydata.org"),
+                new HeaderIndex(List.of("type_email")),
+                new Object[]{"info@mobilitydata.org"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -450,7 +460,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("type_email", "info@mobilitydata"),
+                new HeaderIndex(List.of("type_email")),
+                new Object[]{"info@mobilitydata"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -495,7 +506,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("type_lang", "en_US"),
+                new HeaderIndex(List.of("type_lang")),
+                new Object[]{"en_US"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -531,7 +543,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("type_lang", "en_FR"),
+                new HeaderIndex(List.of("type_lang")),
+                new Object[]{"en_FR"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -573,7 +586,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("type_timezone", "America/Montreal"),
+                new HeaderIndex(List.of("type_timezone")),
+                new Object[]{"America/Montreal"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -604,7 +618,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("type_timezone", "abc"),
+                new HeaderIndex(List.of("type_timezone")),
+                new Object[]{"abc"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -644,7 +659,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("type_id", "666sixcentsoixantesix"),
+                new HeaderIndex(List.of("type_id")),
+                new Object[]{"666sixcentsoixantesix"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -676,7 +692,8 @@ class GtfsTypeValidatorTest {
         // contains non ASCII
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("type_id", "abçé"),
+                new HeaderIndex(List.of("type_id")),
+                new Object[]{"abçé"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -717,7 +734,8 @@ class GtfsTypeValidatorTest {
         // contains non printable ASCII
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("type_id", "ab\u0003"),
+                new HeaderIndex(List.of("type_id")),
+                new Object[]{"ab\u0003"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -819,7 +837,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Collections.emptyMap(),
+                new HeaderIndex(List.of()),
+                new Object[0],
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -942,7 +961,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Collections.emptyMap(),
+                new HeaderIndex(List.of()),
+                new Object[0],
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -1143,14 +1163,9 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("type_unspecified", "",
-                        "type_text", "",
-                        "type_color", "",
-                        "type_timezone", "",
-                        "type_id", "",
-                        "type_url", "",
-                        "type_time", "",
-                        "type_date", ""),
+                new HeaderIndex(List.of("type_unspecified", "type_text", "type_color", "type_timezone", "type_id",
+                        "type_url", "type_time", "type_date")),
+                new Object[]{"", "", "", "", "", "", "", ""},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -1271,7 +1286,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("currency_type", "JAN"),
+                new HeaderIndex(List.of("currency_type")),
+                new Object[]{"JAN"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -1311,7 +1327,8 @@ class GtfsTypeValidatorTest {
 
         Collection<Notice> result = underTest.validate(new ParsedEntity(
                 TEST_ID,
-                Map.of("currency_type", "MXN"),
+                new HeaderIndex(List.of("currency_type")),
+                new Object[]{"MXN"},
                 new RawFileInfo.RawFileInfoBuilder().filename(TEST_FILE_TST).build()
         ));
 
@@ -7,19 +7,25 @@ import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.usecase.*;
 import org.mobilitydata.gtfsvalidator.usecase.port.ExecParamRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.TooManyValidationErrorException;
+import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class Validator {
     public static void validate(String args[]){
     final long startTime = System.nanoTime();
     final Logger logger = LogManager.getLogger();
     final DefaultConfig config = initConfig(args, logger);
-    final Set<String> processedFilenameCollection = new HashSet<>();
+    // files are added once their processing starts, possibly concurrently
+    final Set<String> processedFilenameCollection = ConcurrentHashMap.newKeySet();
         config.createPath().execute(ExecParamRepository.OUTPUT_KEY, false);
 
         try {
@@ -39,9 +45,7 @@ public class Validator {
 
             //decompression du fichier input.zip dans le dossier input et effacement du dossier input
             //si des fichiers existe deja
-            config.unzipInputArchive(
-                    config.createPath().execute(ExecParamRepository.EXTRACT_KEY, true))
-                    .execute();
+            config.unzipInputArchive().execute();
 
             final ArrayList<String> filenameListToExclude = config.generateExclusionFilenameList().execute();
             config.validateAllRequiredFilePresence().execute();
@@ -55,158 +59,68 @@ public class Validator {
                     config.generateFilenameListToProcess().execute(filenameListToExclude,
                             gtfsArchiveValidFilenameList);
 
-            // retrieve use case to be used multiple times
-            final ValidateGtfsTypes validateGtfsTypes = config.validateGtfsTypes();
-            final ProcessParsedAgency processParsedAgency = config.processParsedAgency();
-            final ProcessParsedRoute processParsedRoute = config.processParsedRoute();
-            final ProcessParsedCalendarDate processCalendarDate = config.processCalendarDate();
-            final ProcessParsedLevel processParsedLevel = config.processParsedLevel();
-            final ProcessParsedCalendar processParsedCalendar = config.processParsedCalendar();
-            final ProcessParsedTrip processParsedTrip = config.processParsedTrip();
-            final ProcessParsedTransfer processParsedTransfer = config.processParsedTransfer();
-            final ProcessParsedFeedInfo processParsedFeedInfo = config.processParsedFeedInfo();
-            final ProcessParsedFareAttribute processParsedFareAttribute = config.processParsedFareAttribute();
-            final ProcessParsedFareRule processParsedFareRule = config.processParsedFareRule();
-            final ProcessParsedFrequency processParsedFrequency = config.processParsedFrequency();
-            final ProcessParsedPathway processParsedPathway = config.processParsedPathway();
-            final ProcessParsedAttribution processParsedAttribution = config.processParsedAttribution();
-            final ProcessParsedShapePoint processParsedShapePoint = config.processParsedShapePoint();
-            final ProcessParsedTranslation processParsedTranslation = config.processParsedTranslation();
-            final ProcessParsedStopTime processParsedStopTime = config.processParsedStopTime();
-            final PreprocessParsedStop preprocessParsedStop = config.preprocessParsedStop();
-
+            // rows from stops.txt refer each others: they are only processed once the whole file has been read
             final Map<String, ParsedEntity> preprocessedStopByStopId = new HashMap<>();
 
-            filenameListToProcess.forEach(filename -> {
+            // files are independent from each other: they can be processed concurrently
+            config.processFilesInParallel().execute(filenameListToProcess, (filename, fileResultRepo) -> {
                 logger.info(System.lineSeparator() + System.lineSeparator() +
                         "Validate CSV structure and field types for file: " + filename);
                 processedFilenameCollection.add(filename);
-                config.validateCsvNotEmptyForFile(filename).execute();
-                config.validateHeadersForFile(filename).execute();
-                config.validateAllRowLengthForFile(filename).execute();
-
-                final ParseSingleRowForFile parseSingleRowForFile = config.parseSingleRowForFile(filename);
-                while (parseSingleRowForFile.hasNext()) {
-                    final ParsedEntity parsedEntity = parseSingleRowForFile.execute();
+                // use cases of this file add their notices to the repository dedicated to the file
+                final DefaultConfig fileConfig = config.withResultRepository(fileResultRepo);
+                final ValidateGtfsTypes validateGtfsTypes = fileConfig.validateGtfsTypes();
+                final Consumer<ParsedEntity> processParsedEntity =
+                        getParsedEntityProcessor(fileConfig, filename, preprocessedStopByStopId);
+
+                // emptiness, headers, row length and field types are validated in a single pass over the file, types
+                // being validated along with parsing
+                fileConfig.validateCsvStructureAndTypesForFile(filename).execute(validateGtfsTypes, parsedEntity -> {
                     if (parsedEntity != null) {
-                        validateGtfsTypes.execute(parsedEntity);
-
                         // load gtfs entities into memory
-                        if (filenameListToProcess.contains(filename)) {
-                            switch (filename) {
-                                case "agency.txt": {
-                                    processParsedAgency.execute(parsedEntity);
-                                    break;
-                                }
-                                case "routes.txt": {
-                                    processParsedRoute.execute(parsedEntity);
-                                    break;
-                                }
-                                case "calendar_dates.txt": {
-                                    processCalendarDate.execute(parsedEntity);
-                                    break;
-                                }
-                                case "levels.txt": {
-                                    processParsedLevel.execute(parsedEntity);
-                                    break;
-                                }
-                                case "attributions.txt": {
-                                    processParsedAttribution.execute(parsedEntity);
-                                    break;
-                                }
-                                case "calendar.txt": {
-                                    processParsedCalendar.execute(parsedEntity);
-                                    break;
-                                }
-                                case "trips.txt": {
-                                    processParsedTrip.execute(parsedEntity);
-                                    break;
-                                }
-                                case "transfers.txt": {
-                                    processParsedTransfer.execute(parsedEntity);
-                                    break;
-                                }
-                                case "feed_info.txt": {
-                                    processParsedFeedInfo.execute(parsedEntity);
-                                    break;
-                                }
-                                case "pathways.txt": {
-                                    processParsedPathway.execute(parsedEntity);
-                                    break;
-                                }
-                                case "fare_attributes.txt": {
-                                    processParsedFareAttribute.execute(parsedEntity);
-                                    break;
-                                }
-                                case "fare_rules.txt": {
-                                    processParsedFareRule.execute(parsedEntity);
-                                    break;
-                                }
-                                case "frequencies.txt": {
-                                    processParsedFrequency.execute(parsedEntity);
-                                    break;
-                                }
-                                case "shapes.txt": {
-                                    processParsedShapePoint.execute(parsedEntity);
-                                    break;
-                                }
-                                case "translations.txt": {
-                                    processParsedTranslation.execute(parsedEntity);
-                                    break;
-                                }
-                                case "stop_times.txt": {
-                                    processParsedStopTime.execute(parsedEntity);
-                                    break;
-                                }
-                                case "stops.txt": {
-                                    // rows from stops.txt refer each others
-                                    // building a map of all rows for further processing
-                                    ParsedEntity preprocessedStop = preprocessParsedStop.execute(parsedEntity,
-                                            preprocessedStopByStopId.keySet());
-                                    if (preprocessedStop != null) {
-                                        preprocessedStopByStopId.put(preprocessedStop.getEntityId(), preprocessedStop);
-                                    }
-                                    break;
-                                }
-                            }
-                        }
+                        processParsedEntity.accept(parsedEntity);
                     }
-                }
+                });
             });
 
             config.processParsedStopAll().execute(preprocessedStopByStopId);
             preprocessedStopByStopId.clear();
-            config.validateRouteShortNameLength().execute();
-            config.validateRouteColorAndTextContrast().execute();
-            config.validateRouteDescriptionAndNameAreDifferent().execute();
-            config.validateRouteTypeIsInOptions().execute();
-            config.validateBothRouteNamesPresence().execute();
-            config.validateRouteLongNameDoesNotContainShortName().execute();
-            config.validateCalendarEndDateBeforeStartDate().execute();
-            config.validateAgenciesHaveSameAgencyTimezone().execute();
-            config.validateTripRouteId().execute();
-            config.validateTripServiceId().execute();
-            config.validateRouteAgencyId().execute();
-            config.stopTimeBasedCrossValidator().execute();
-            config.shapeBasedCrossValidator().execute();
-            config.validateFeedInfoEndDateAfterStartDate().execute();
-            config.validateFeedCoversTheNext7ServiceDays().execute();
-            config.validateFeedCoversTheNext30ServiceDays().execute();
-            config.validateFeedInfoFeedEndDateIsPresent().execute();
-            config.validateFeedInfoFeedStartDateIsPresent().execute();
-            config.validateStopTimeDepartureTimeAfterArrivalTime().execute();
-            config.validateTripEdgeArrivalDepartureTime().execute();
-            config.validateTripTravelSpeed().execute();
-            config.validateTripUsage().execute();
-            config.validateTripNumberOfStops().execute();
-            config.validateFrequencyStartTimeBeforeEndTime().execute();
-            config.validateStopTooFarFromTripShape().execute();
-            config.validateFrequencyOverlap().execute();
-            config.validateNoOverlappingStopTimeInTripBlock().execute();
-            config.validateAgencyLangAndFeedInfoFeedLangMatch().execute();
-            config.validateRouteLongNameAreUnique().execute();
-            config.validateRouteShortNameAreUnique().execute();
-            config.validateUniqueRouteLongNameRouteShortNameCombination().execute();
+            // all files have been processed: validation rules read from a frozen snapshot of the dataset
+            config.freezeGtfsData().execute();
+            // rules only read the frozen dataset: they are executed concurrently, each one adding its notices to its
+            // own repository
+            final List<Function<DefaultConfig, ValidationRule>> ruleList = List.of(
+                    DefaultConfig::validateRouteShortNameLength,
+                    DefaultConfig::validateRouteColorAndTextContrast,
+                    DefaultConfig::validateRouteDescriptionAndNameAreDifferent,
+                    DefaultConfig::validateRouteTypeIsInOptions,
+                    DefaultConfig::validateBothRouteNamesPresence,
+                    DefaultConfig::validateRouteLongNameDoesNotContainShortName,
+                    DefaultConfig::validateCalendarEndDateBeforeStartDate,
+                    DefaultConfig::validateAgenciesHaveSameAgencyTimezone,
+                    DefaultConfig::validateTripRouteId,
+                    DefaultConfig::validateTripServiceId,
+                    DefaultConfig::validateRouteAgencyId,
+                    // rules based on the stop times of each trip are fed by a single pass over stop times
+                    DefaultConfig::validateTripStopTimes,
+                    DefaultConfig::shapeBasedCrossValidator,
+                    DefaultConfig::validateFeedInfoEndDateAfterStartDate,
+                    DefaultConfig::validateFeedCoversTheNext7ServiceDays,
+                    DefaultConfig::validateFeedCoversTheNext30ServiceDays,
+                    DefaultConfig::validateFeedInfoFeedEndDateIsPresent,
+                    DefaultConfig::validateFeedInfoFeedStartDateIsPresent,
+                    DefaultConfig::validateTripUsage,
+                    DefaultConfig::validateFrequencyStartTimeBeforeEndTime,
+                    DefaultConfig::validateStopTooFarFromTripShape,
+                    DefaultConfig::validateFrequencyOverlap,
+                    DefaultConfig::validateAgencyLangAndFeedInfoFeedLangMatch,
+                    DefaultConfig::validateRouteLongNameAreUnique,
+                    DefaultConfig::validateRouteShortNameAreUnique,
+                    DefaultConfig::validateUniqueRouteLongNameRouteShortNameCombination);
+            config.executeValidationRules().execute(ruleList.stream()
+                    .<Function<ValidationResultRepository, ValidationRule>>map(rule ->
+                            ruleResultRepo -> rule.apply(config.withResultRepository(ruleResultRepo)))
+                    .collect(Collectors.toList()));
         }
     } catch (
     IOException e) {
@@ -229,10 +143,79 @@ public class Validator {
         } catch (IOException ioException) {
             logger.error(String.format("Could not export results as file: %s", ioException.getMessage()));
         }
+        try {
+            config.close();
+        } catch (IOException ioException) {
+            logger.error(String.format("Could not release validation resources: %s", ioException.getMessage()));
+        }
         logProcessingTime(logger, System.nanoTime() - startTime);
     }
 }
 
+    /**
+     * Returns the operation loading the rows of a GTFS file into memory
+     *
+     * @param fileConfig               the configuration to create the use cases processing the rows of the file
+     * @param filename                 the name of the file
+     * @param preprocessedStopByStopId map collecting the rows of stops.txt for further processing
+     * @return the operation loading the rows of a GTFS file into memory
+     */
+    private static Consumer<ParsedEntity> getParsedEntityProcessor(
+            final DefaultConfig fileConfig,
+            final String filename,
+            final Map<String, ParsedEntity> preprocessedStopByStopId) {
+        switch (filename) {
+            case "agency.txt":
+                return fileConfig.processParsedAgency()::execute;
+            case "routes.txt":
+                return fileConfig.processParsedRoute()::execute;
+            case "calendar_dates.txt":
+                return fileConfig.processCalendarDate()::execute;
+            case "levels.txt":
+                return fileConfig.processParsedLevel()::execute;
+            case "attributions.txt":
+                return fileConfig.processParsedAttribution()::execute;
+            case "calendar.txt":
+                return fileConfig.processParsedCalendar()::execute;
+            case "trips.txt":
+                return fileConfig.processParsedTrip()::execute;
+            case "transfers.txt":
+                return fileConfig.processParsedTransfer()::execute;
+            case "feed_info.txt":
+                return fileConfig.processParsedFeedInfo()::execute;
+            case "pathways.txt":
+                return fileConfig.processParsedPathway()::execute;
+            case "fare_attributes.txt":
+                return fileConfig.processParsedFareAttribute()::execute;
+            case "fare_rules.txt":
+                return fileConfig.processParsedFareRule()::execute;
+            case "frequencies.txt":
+                return fileConfig.processParsedFrequency()::execute;
+            case "shapes.txt":
+                return fileConfig.processParsedShapePoint()::execute;
+            case "translations.txt":
+                return fileConfig.processParsedTranslation()::execute;
+            case "stop_times.txt":
+                return fileConfig.processParsedStopTime()::execute;
+            case "stops.txt": {
+                // rows from stops.txt refer each others
+                // building a map of all rows for further processing
+                final PreprocessParsedStop preprocessParsedStop = fileConfig.preprocessParsedStop();
+                return parsedEntity -> {
+                    final ParsedEntity preprocessedStop = preprocessParsedStop.execute(parsedEntity,
+                            preprocessedStopByStopId.keySet());
+                    if (preprocessedStop != null) {
+                        // the parsed entity is reused for the next row: a copy is kept
+                        preprocessedStopByStopId.put(preprocessedStop.getEntityId(), preprocessedStop.snapshot());
+                    }
+                };
+            }
+            default:
+                return parsedEntity -> {
+                };
+        }
+    }
+
     private static DefaultConfig initConfig(String[] args, Logger logger) {
         String executionParametersAsString = null;
 
@@ -1,10 +1,14 @@
 package org.mobilitydata.gtfsvalidator.config;
 
 import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.io.Resources;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.logging.log4j.Logger;
 import org.mobilitydata.gtfsvalidator.db.*;
+import org.mobilitydata.gtfsvalidator.db.offheap.DiskSpillingGtfsDataRepository;
+import org.mobilitydata.gtfsvalidator.db.offheap.OffHeapGtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.domain.entity.RawFileInfo;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.*;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.calendardates.CalendarDate;
@@ -27,15 +31,25 @@ import org.mobilitydata.gtfsvalidator.usecase.usecasevalidator.StopTimeValidator
 import org.mobilitydata.gtfsvalidator.usecase.utils.GeospatialUtils;
 import org.mobilitydata.gtfsvalidator.usecase.utils.TimeUtils;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SimpleTimeZone;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.zip.ZipFile;
 
 import static org.mobilitydata.gtfsvalidator.usecase.port.ExecParamRepository.*;
@@ -44,18 +58,33 @@ import static org.mobilitydata.gtfsvalidator.usecase.port.ExecParamRepository.*;
  * Configuration calling use cases for the execution of the validation process. This is necessary for the validation
  * process. Hence, this is created before calling the different use case of the validation process in the main method.
  */
-public class DefaultConfig {
+public class DefaultConfig implements Closeable {
     private static final String DEFAULT_TIMEZONE_NAME = "America/Montreal";
     private static final TimeZone DEFAULT_TIMEZONE = SimpleTimeZone.getTimeZone(DEFAULT_TIMEZONE_NAME);
     private static final ZoneId DEFAULT_TIMEZONE_ID = DEFAULT_TIMEZONE.toZoneId();
-    private final RawFileRepository rawFileRepo = new InMemoryRawFileRepository();
+    private static final String HEAP_STORAGE = "heap";
+    private static final String OFF_HEAP_STORAGE = "off-heap";
+    private static final String DISK_STORAGE = "disk";
+    // share of the maximum heap size the entities of the GTFS dataset may take before heap storage falls back to disk
+    private static final double HEAP_BUDGET_RATIO = 0.5;
+    // bytes of heap taken by the entities parsed from each byte of the files of the GTFS dataset: validating a dataset
+    // with 13.8 MB of stop_times.txt and shapes.txt peaked at about 65 MB of heap after garbage collection
+    static final double HEAP_EXPANSION_FACTOR = 4.7;
+    private final RawFileRepository rawFileRepo;
     private final ValidationResultRepository resultRepo;
-    private final GtfsDataRepository gtfsDataRepository = new InMemoryGtfsDataRepository();
+    // created once the dataset is downloaded, as its storage may depend on its size
+    private final Supplier<GtfsDataRepository> gtfsDataRepository;
+    // the repository supplied by gtfsDataRepository once created, so that closing does not create it
+    private final AtomicReference<GtfsDataRepository> createdGtfsDataRepository;
     private final TimeUtils timeUtils = TimeUtilsImpl.getInstance();
     private final GeospatialUtils geoUtils = GeospatialUtilsImpl.getInstance();
     private final GtfsSpecRepository specRepo;
     private final ExecParamRepository execParamRepo;
     private final Logger logger;
+    // tokenizes, parses and validates the types of the chunks of files, null if files are read sequentially
+    private final ExecutorService chunkExecutor;
+    // splits files into chunks submitted to the chunk executor, null if files are read sequentially
+    private final ExecutorService readExecutor;
 
     private DefaultConfig(final String[] args, final Logger logger) {
         this.logger = logger;
@@ -70,6 +99,18 @@ public class DefaultConfig {
 
         resultRepo = new InMemoryValidationResultRepository(
                 Boolean.parseBoolean(execParamRepo.getExecParamValue(ABORT_ON_ERROR)));
+
+        rawFileRepo = isArchiveExtracted() ? new InMemoryRawFileRepository() : new ZipArchiveRawFileRepository();
+
+        createdGtfsDataRepository = new AtomicReference<>();
+        gtfsDataRepository = Suppliers.memoize(() -> {
+            final GtfsDataRepository repository = createGtfsDataRepository();
+            createdGtfsDataRepository.set(repository);
+            return repository;
+        });
+
+        chunkExecutor = createChunkExecutor();
+        readExecutor = chunkExecutor == null ? null : createReadExecutor();
     }
 
     private DefaultConfig(final String executionParametersAsString, final Logger logger) {
@@ -85,6 +126,37 @@ public class DefaultConfig {
 
         resultRepo = new InMemoryValidationResultRepository(
                 Boolean.parseBoolean(execParamRepo.getExecParamValue(ABORT_ON_ERROR)));
+
+        rawFileRepo = isArchiveExtracted() ? new InMemoryRawFileRepository() : new ZipArchiveRawFileRepository();
+
+        createdGtfsDataRepository = new AtomicReference<>();
+        gtfsDataRepository = Suppliers.memoize(() -> {
+            final GtfsDataRepository repository = createGtfsDataRepository();
+            createdGtfsDataRepository.set(repository);
+            return repository;
+        });
+
+        chunkExecutor = createChunkExecutor();
+        readExecutor = chunkExecutor == null ? null : createReadExecutor();
+    }
+
+    /**
+     * Creates a configuration sharing all repositories of {@code parentConfig} but the one storing notices, so that
+     * the use cases it creates add their notices to {@code resultRepo}
+     *
+     * @param parentConfig the configuration to share repositories with
+     * @param resultRepo   the repository in which use cases add notices
+     */
+    private DefaultConfig(final DefaultConfig parentConfig, final ValidationResultRepository resultRepo) {
+        this.logger = parentConfig.logger;
+        this.execParamRepo = parentConfig.execParamRepo;
+        this.specRepo = parentConfig.specRepo;
+        this.rawFileRepo = parentConfig.rawFileRepo;
+        this.gtfsDataRepository = parentConfig.gtfsDataRepository;
+        this.createdGtfsDataRepository = parentConfig.createdGtfsDataRepository;
+        this.chunkExecutor = parentConfig.chunkExecutor;
+        this.readExecutor = parentConfig.readExecutor;
+        this.resultRepo = resultRepo;
     }
 
     public static class Builder {
@@ -172,23 +244,229 @@ public class DefaultConfig {
         return toReturn;
     }
 
+    /**
+     * Returns true if the content of the GTFS archive is to be extracted to the directory provided with the extract
+     * execution parameter. Otherwise, the files of the archive are read directly from it.
+     *
+     * @return true if the content of the GTFS archive is to be extracted to disk, false otherwise
+     */
+    private boolean isArchiveExtracted() {
+        return execParamRepo.hasExecParamValue(EXTRACT_KEY);
+    }
+
+    /**
+     * Returns the storage of the entities of the GTFS dataset requested by the storage execution parameter
+     *
+     * @return {@link #HEAP_STORAGE}, {@link #OFF_HEAP_STORAGE} or {@link #DISK_STORAGE}
+     */
+    private String getStorage() {
+        final String storage = execParamRepo.getExecParamValue(STORAGE_KEY);
+        switch (storage) {
+            case HEAP_STORAGE:
+            case OFF_HEAP_STORAGE:
+            case DISK_STORAGE:
+                return storage;
+            default:
+                logger.warn("Invalid storage: " + storage + " -- entities will be stored on the heap");
+                return HEAP_STORAGE;
+        }
+    }
+
+    /**
+     * Returns the repository storing the entities of the GTFS dataset: off-heap and disk storages lift the limit set
+     * on the size of the dataset by the size of the Java heap. Heap storage falls back to disk storage when the
+     * estimated size of the entities on the heap exceeds the heap budget. Temporary files are deleted when the JVM
+     * exits.
+     *
+     * @return the repository storing the entities of the GTFS dataset
+     */
+    private GtfsDataRepository createGtfsDataRepository() {
+        final Path temporaryDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+        switch (getStorage()) {
+            case OFF_HEAP_STORAGE:
+                return new OffHeapGtfsDataRepository(temporaryDirectory);
+            case DISK_STORAGE:
+                return new DiskSpillingGtfsDataRepository(temporaryDirectory);
+            default: {
+                final long datasetSize = getDatasetSize();
+                final long maxHeapSize = Runtime.getRuntime().maxMemory();
+                if (isHeapBudgetExceeded(datasetSize, maxHeapSize)) {
+                    logger.warn(String.format("Estimated size of the GTFS dataset on the heap (%d MB) exceeds the " +
+                                    "heap budget (%d MB) -- stop times and shapes will be spilled to disk",
+                            (long) (datasetSize * HEAP_EXPANSION_FACTOR) >> 20,
+                            (long) (maxHeapSize * HEAP_BUDGET_RATIO) >> 20));
+                    return new DiskSpillingGtfsDataRepository(temporaryDirectory);
+                }
+                return new InMemoryGtfsDataRepository();
+            }
+        }
+    }
+
+    /**
+     * Returns true if the entities of a GTFS dataset are expected to take more than the heap budget, the share
+     * {@link #HEAP_BUDGET_RATIO} of the maximum heap size. Their size on the heap is estimated as the uncompressed
+     * size of the files of the dataset multiplied by {@link #HEAP_EXPANSION_FACTOR}.
+     *
+     * @param datasetSize the uncompressed size of the files of the GTFS dataset in bytes
+     * @param maxHeapSize the maximum heap size in bytes
+     * @return true if the entities of the GTFS dataset are expected to exceed the heap budget, false otherwise
+     */
+    static boolean isHeapBudgetExceeded(final long datasetSize, final long maxHeapSize) {
+        return datasetSize * HEAP_EXPANSION_FACTOR > maxHeapSize * HEAP_BUDGET_RATIO;
+    }
+
+    /**
+     * Returns the uncompressed size of the files of the GTFS archive
+     *
+     * @return the uncompressed size of the files of the GTFS archive in bytes, or 0 if the archive cannot be read
+     */
+    private long getDatasetSize() {
+        return getFileSizeByFilename().values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Returns the uncompressed size of each file of the GTFS archive, mapped by filename
+     *
+     * @return the uncompressed size of each file of the GTFS archive in bytes, or an empty map if the archive cannot
+     * be read
+     */
+    private Map<String, Long> getFileSizeByFilename() {
+        try (ZipFile archive = new ZipFile(execParamRepo.getExecParamValue(INPUT_KEY))) {
+            final Map<String, Long> fileSizeByFilename = new HashMap<>();
+            archive.stream().forEach(entry -> fileSizeByFilename.merge(
+                    Path.of(entry.getName()).getFileName().toString(), Math.max(0, entry.getSize()), Long::sum));
+            return fileSizeByFilename;
+        } catch (IOException e) {
+            return Collections.emptyMap();
+        }
+    }
+
+    private int getThreadCount() {
+        try {
+            return Math.max(1, Integer.parseInt(execParamRepo.getExecParamValue(THREADS_KEY)));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid number of threads: " + execParamRepo.getExecParamValue(THREADS_KEY) +
+                    " -- files will be processed sequentially");
+            return 1;
+        }
+    }
+
+    /**
+     * Returns the executor shared by all files to tokenize, parse and validate the types of the chunks of files, or
+     * null if a single thread is to be used. Its threads are created on demand, do not prevent the JVM from exiting,
+     * and terminate once the configuration is closed.
+     *
+     * @return the executor tokenizing, parsing and validating the types of the chunks of files, or null
+     */
+    private ExecutorService createChunkExecutor() {
+        final int threadCount = getThreadCount();
+        if (threadCount <= 1) {
+            return null;
+        }
+        return Executors.newFixedThreadPool(threadCount, DefaultConfig::newDaemonThread);
+    }
+
+    /**
+     * Returns the executor shared by all files to split them into chunks submitted to the chunk executor. A reader
+     * mostly waits, either for input or for the chunks it submitted to be processed: it gets its own thread, so that
+     * readers never starve the threads parsing chunks.
+     *
+     * @return the executor splitting files into chunks
+     */
+    private ExecutorService createReadExecutor() {
+        return Executors.newCachedThreadPool(DefaultConfig::newDaemonThread);
+    }
+
+    private static Thread newDaemonThread(final Runnable runnable) {
+        final Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    }
+
     public DownloadArchiveFromNetwork downloadArchiveFromNetwork() {
            return new DownloadArchiveFromNetwork(resultRepo,
                 execParamRepo,
                 logger,
                 CustomFileUtilsImpl.getInstance(),
-                Path.of(execParamRepo.getExecParamValue(execParamRepo.INPUT_KEY)));
+                Path.of(execParamRepo.getExecParamValue(execParamRepo.INPUT_KEY)),
+                () -> isGtfsDataStoredOnHeap()
+                        ? RawFileRepository.MAX_RAW_INPUT_SIZE_MEGABYTES
+                        : Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Returns true if the entities of the GTFS dataset are stored on the Java heap. As heap storage may fall back to
+     * disk storage depending on the size of the dataset, this creates the repository storing them: it is only to be
+     * called once the dataset is downloaded.
+     *
+     * @return true if the entities of the GTFS dataset are stored on the Java heap, false otherwise
+     */
+    private boolean isGtfsDataStoredOnHeap() {
+        return !(gtfsDataRepository.get() instanceof OffHeapGtfsDataRepository);
+    }
+
+    /**
+     * Returns a configuration whose use cases add their notices to {@code fileResultRepo} instead of the repository
+     * of this configuration, all other repositories being shared. Used to process a file on its own thread.
+     *
+     * @param fileResultRepo the repository in which use cases add notices
+     * @return a configuration whose use cases add their notices to {@code fileResultRepo}
+     */
+    public DefaultConfig withResultRepository(final ValidationResultRepository fileResultRepo) {
+        return new DefaultConfig(this, fileResultRepo);
+    }
+
+    /**
+     * Releases the resources held by the repositories and the executors of this configuration. This is to be called
+     * once, at the end of the validation process, on the configuration created by the {@link Builder}: configurations
+     * returned by {@link #withResultRepository(ValidationResultRepository)} share these resources and must not be
+     * closed.
+     *
+     * @throws IOException if a resource cannot be released
+     */
+    @Override
+    public void close() throws IOException {
+        if (chunkExecutor != null) {
+            chunkExecutor.shutdown();
+            readExecutor.shutdown();
+        }
+        try {
+            rawFileRepo.close();
+        } finally {
+            final GtfsDataRepository repository = createdGtfsDataRepository.get();
+            if (repository != null) {
+                repository.close();
+            }
+        }
+    }
+
+    public ProcessFilesInParallel processFilesInParallel() {
+        return new ProcessFilesInParallel(
+                resultRepo,
+                () -> new InMemoryValidationResultRepository(
+                        Boolean.parseBoolean(execParamRepo.getExecParamValue(ABORT_ON_ERROR))),
+                getThreadCount(),
+                logger);
+    }
+
+    public ExecuteValidationRulesInParallel executeValidationRules() {
+        return new ExecuteValidationRulesInParallel(
+                resultRepo,
+                () -> new InMemoryValidationResultRepository(
+                        Boolean.parseBoolean(execParamRepo.getExecParamValue(ABORT_ON_ERROR))),
+                getFileSizeByFilename(),
+                getThreadCount(),
+                logger);
     }
 
     public CreatePath createPath() {
         return new CreatePath(execParamRepo);
     }
 
-    public UnzipInputArchive unzipInputArchive(final Path zipExtractPath) throws IOException {
-              return new UnzipInputArchive(
-
+    public UnzipInputArchive unzipInputArchive() throws IOException {
+        return new UnzipInputArchive(
                 rawFileRepo,
-                zipExtractPath,
+                isArchiveExtracted() ? createPath().execute(EXTRACT_KEY, true) : null,
                 resultRepo,
                 logger,
                 new ZipFile(execParamRepo.getExecParamValue(execParamRepo.INPUT_KEY)),
@@ -200,36 +478,17 @@ public class DefaultConfig {
         return new ValidateAllRequiredFilePresence(specRepo, rawFileRepo, resultRepo);
     }
 
-    public ValidateCsvNotEmptyForFile validateCsvNotEmptyForFile(final String filename) {
-        return new ValidateCsvNotEmptyForFile(
+    public ValidateCsvStructureAndTypesForFile validateCsvStructureAndTypesForFile(final String filename) {
+        return new ValidateCsvStructureAndTypesForFile(
                 rawFileRepo.findByName(filename).orElse(RawFileInfo.builder().build()),
-                specRepo, rawFileRepo, resultRepo, logger);
-    }
-
-    public ValidateHeadersForFile validateHeadersForFile(final String filename) {
-        return new ValidateHeadersForFile(
                 specRepo,
-                rawFileRepo.findByName(filename).orElse(RawFileInfo.builder().build()),
                 rawFileRepo,
                 resultRepo,
-                logger
-        );
-    }
-
-    public ValidateAllRowLengthForFile validateAllRowLengthForFile(final String filename) {
-        return new ValidateAllRowLengthForFile(
-                rawFileRepo.findByName(filename).orElse(RawFileInfo.builder().build()),
-                rawFileRepo,
-                resultRepo
-        );
-    }
-
-    public ParseSingleRowForFile parseSingleRowForFile(final String filename) {
-        return new ParseSingleRowForFile(
-                rawFileRepo.findByName(filename).orElse(RawFileInfo.builder().build()),
-                rawFileRepo,
-                specRepo,
-                resultRepo
+                logger,
+                readExecutor,
+                chunkExecutor,
+                // chunks are parsed ahead of the file thread, at most two per thread of the executor
+                2 * getThreadCount()
         );
     }
 
@@ -249,73 +508,73 @@ public class DefaultConfig {
     }
 
     public ValidateRouteColorAndTextContrast validateRouteColorAndTextContrast() {
-        return new ValidateRouteColorAndTextContrast(gtfsDataRepository, resultRepo, logger);
+        return new ValidateRouteColorAndTextContrast(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateRouteDescriptionAndNameAreDifferent validateRouteDescriptionAndNameAreDifferent() {
-        return new ValidateRouteDescriptionAndNameAreDifferent(gtfsDataRepository, resultRepo, logger);
+        return new ValidateRouteDescriptionAndNameAreDifferent(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateRouteShortNameLength validateRouteShortNameLength() {
-        return new ValidateRouteShortNameLength(gtfsDataRepository, resultRepo, logger);
+        return new ValidateRouteShortNameLength(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateRouteTypeIsInTypeOptions validateRouteTypeIsInOptions() {
-        return new ValidateRouteTypeIsInTypeOptions(gtfsDataRepository, resultRepo, logger);
+        return new ValidateRouteTypeIsInTypeOptions(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateShortAndLongNameForRoutePresence validateBothRouteNamesPresence() {
-        return new ValidateShortAndLongNameForRoutePresence(gtfsDataRepository, resultRepo, logger);
+        return new ValidateShortAndLongNameForRoutePresence(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateRouteLongNameDoesNotContainOrEqualShortName validateRouteLongNameDoesNotContainShortName() {
-        return new ValidateRouteLongNameDoesNotContainOrEqualShortName(gtfsDataRepository, resultRepo, logger);
+        return new ValidateRouteLongNameDoesNotContainOrEqualShortName(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateRouteLongNameAreUnique validateRouteLongNameAreUnique() {
-        return new ValidateRouteLongNameAreUnique(gtfsDataRepository, resultRepo, logger);
+        return new ValidateRouteLongNameAreUnique(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateRouteShortNameAreUnique validateRouteShortNameAreUnique() {
-        return new ValidateRouteShortNameAreUnique(gtfsDataRepository, resultRepo, logger);
+        return new ValidateRouteShortNameAreUnique(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateUniqueRouteLongNameRouteShortNameCombination validateUniqueRouteLongNameRouteShortNameCombination() {
-        return new ValidateUniqueRouteLongNameRouteShortNameCombination(gtfsDataRepository, resultRepo, logger);
+        return new ValidateUniqueRouteLongNameRouteShortNameCombination(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateCalendarEndDateBeforeStartDate validateCalendarEndDateBeforeStartDate() {
-        return new ValidateCalendarEndDateBeforeStartDate(gtfsDataRepository, resultRepo, logger);
+        return new ValidateCalendarEndDateBeforeStartDate(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateFeedInfoEndDateAfterStartDate validateFeedInfoEndDateAfterStartDate() {
-        return new ValidateFeedInfoEndDateAfterStartDate(gtfsDataRepository, resultRepo, logger);
+        return new ValidateFeedInfoEndDateAfterStartDate(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateFeedCoversTheNext7ServiceDays validateFeedCoversTheNext7ServiceDays() {
-        return new ValidateFeedCoversTheNext7ServiceDays(gtfsDataRepository, resultRepo, logger);
+        return new ValidateFeedCoversTheNext7ServiceDays(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateFeedCoversTheNext30ServiceDays validateFeedCoversTheNext30ServiceDays() {
-        return new ValidateFeedCoversTheNext30ServiceDays(gtfsDataRepository, resultRepo, logger);
+        return new ValidateFeedCoversTheNext30ServiceDays(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateFeedInfoFeedEndDateIsPresent validateFeedInfoFeedEndDateIsPresent() {
-        return new ValidateFeedInfoFeedEndDateIsPresent(gtfsDataRepository, resultRepo, logger);
+        return new ValidateFeedInfoFeedEndDateIsPresent(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateFeedInfoFeedStartDateIsPresent validateFeedInfoFeedStartDateIsPresent() {
-        return new ValidateFeedInfoFeedStartDateIsPresent(gtfsDataRepository, resultRepo, logger);
+        return new ValidateFeedInfoFeedStartDateIsPresent(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateAgencyLangAndFeedInfoFeedLangMatch validateAgencyLangAndFeedInfoFeedLangMatch() {
-        return new ValidateAgencyLangAndFeedInfoFeedLangMatch(gtfsDataRepository, resultRepo, logger);
+        return new ValidateAgencyLangAndFeedInfoFeedLangMatch(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ExportResultAsFile exportResultAsFile() {
         return new ExportResultAsFile(resultRepo,
                 execParamRepo,
-                gtfsDataRepository,
+                gtfsDataRepository.get(),
                 Timestamp.valueOf(LocalDateTime.now(DEFAULT_TIMEZONE_ID)),
                 logger);
     }
@@ -325,13 +584,12 @@ public class DefaultConfig {
         return new GenerateInfoNotice(
                 resultRepo,
                 execParamRepo,
-                gtfsDataRepository,
+                gtfsDataRepository.get(),
                 Timestamp.valueOf(LocalDateTime.now(DEFAULT_TIMEZONE_ID)),
                 processingTimeSecs,
                 processedFilenameCollection,
                 CustomFileUtilsImpl.getInstance(),
-                Path.of(execParamRepo.getExecParamValue(ExecParamRepository.INPUT_KEY)),
-                Path.of(execParamRepo.getExecParamValue(ExecParamRepository.EXTRACT_KEY))
+                Path.of(execParamRepo.getExecParamValue(ExecParamRepository.INPUT_KEY))
         );
     }
 
@@ -344,64 +602,64 @@ public class DefaultConfig {
     }
 
     public ProcessParsedAgency processParsedAgency() {
-        return new ProcessParsedAgency(resultRepo, gtfsDataRepository, new Agency.AgencyBuilder());
+        return new ProcessParsedAgency(resultRepo, gtfsDataRepository.get(), new Agency.AgencyBuilder());
     }
 
     public ProcessParsedRoute processParsedRoute() {
-        return new ProcessParsedRoute(resultRepo, gtfsDataRepository, new Route.RouteBuilder());
+        return new ProcessParsedRoute(resultRepo, gtfsDataRepository.get(), new Route.RouteBuilder());
     }
 
     public ProcessParsedCalendarDate processCalendarDate() {
-        return new ProcessParsedCalendarDate(resultRepo, gtfsDataRepository, new CalendarDate.CalendarDateBuilder());
+        return new ProcessParsedCalendarDate(resultRepo, gtfsDataRepository.get(), new CalendarDate.CalendarDateBuilder());
     }
 
     public ProcessParsedLevel processParsedLevel() {
-        return new ProcessParsedLevel(resultRepo, gtfsDataRepository, new Level.LevelBuilder());
+        return new ProcessParsedLevel(resultRepo, gtfsDataRepository.get(), new Level.LevelBuilder());
     }
 
     public ProcessParsedCalendar processParsedCalendar() {
-        return new ProcessParsedCalendar(resultRepo, gtfsDataRepository, new Calendar.CalendarBuilder());
+        return new ProcessParsedCalendar(resultRepo, gtfsDataRepository.get(), new Calendar.CalendarBuilder());
     }
 
     public ProcessParsedTrip processParsedTrip() {
-        return new ProcessParsedTrip(resultRepo, gtfsDataRepository, new Trip.TripBuilder());
+        return new ProcessParsedTrip(resultRepo, gtfsDataRepository.get(), new Trip.TripBuilder());
     }
 
     public ProcessParsedTransfer processParsedTransfer() {
-        return new ProcessParsedTransfer(resultRepo, gtfsDataRepository, new Transfer.TransferBuilder());
+        return new ProcessParsedTransfer(resultRepo, gtfsDataRepository.get(), new Transfer.TransferBuilder());
     }
 
     public ProcessParsedFeedInfo processParsedFeedInfo() {
-        return new ProcessParsedFeedInfo(resultRepo, gtfsDataRepository, new FeedInfo.FeedInfoBuilder());
+        return new ProcessParsedFeedInfo(resultRepo, gtfsDataRepository.get(), new FeedInfo.FeedInfoBuilder());
     }
 
     public ProcessParsedFareAttribute processParsedFareAttribute() {
-        return new ProcessParsedFareAttribute(resultRepo, gtfsDataRepository, new FareAttribute.FareAttributeBuilder());
+        return new ProcessParsedFareAttribute(resultRepo, gtfsDataRepository.get(), new FareAttribute.FareAttributeBuilder());
     }
 
     public ProcessParsedFareRule processParsedFareRule() {
-        return new ProcessParsedFareRule(resultRepo, gtfsDataRepository, new FareRule.FareRuleBuilder());
+        return new ProcessParsedFareRule(resultRepo, gtfsDataRepository.get(), new FareRule.FareRuleBuilder());
     }
 
     public ProcessParsedPathway processParsedPathway() {
-        return new ProcessParsedPathway(resultRepo, gtfsDataRepository, new Pathway.PathwayBuilder());
+        return new ProcessParsedPathway(resultRepo, gtfsDataRepository.get(), new Pathway.PathwayBuilder());
     }
 
     public ProcessParsedAttribution processParsedAttribution() {
-        return new ProcessParsedAttribution(resultRepo, gtfsDataRepository, new Attribution.AttributionBuilder());
+        return new ProcessParsedAttribution(resultRepo, gtfsDataRepository.get(), new Attribution.AttributionBuilder());
     }
 
     public ProcessParsedShapePoint processParsedShapePoint() {
-        return new ProcessParsedShapePoint(resultRepo, gtfsDataRepository, new ShapePoint.ShapeBuilder());
+        return new ProcessParsedShapePoint(resultRepo, gtfsDataRepository.get(), new ShapePoint.ShapeBuilder());
     }
 
     public ProcessParsedStopTime processParsedStopTime() {
-        return new ProcessParsedStopTime(resultRepo, gtfsDataRepository, timeUtils,
+        return new ProcessParsedStopTime(resultRepo, gtfsDataRepository.get(), timeUtils,
                 new StopTime.StopTimeBuilder());
     }
 
     public ProcessParsedTranslation processParsedTranslation() {
-        return new ProcessParsedTranslation(resultRepo, gtfsDataRepository, new Translation.TranslationBuilder());
+        return new ProcessParsedTranslation(resultRepo, gtfsDataRepository.get(), new Translation.TranslationBuilder());
     }
 
     public PreprocessParsedStop preprocessParsedStop() {
@@ -409,7 +667,7 @@ public class DefaultConfig {
     }
 
     public ProcessParsedStopAll processParsedStopAll() {
-        return new ProcessParsedStopAll(resultRepo, gtfsDataRepository,
+        return new ProcessParsedStopAll(resultRepo, gtfsDataRepository.get(),
                 new StopOrPlatform.StopOrPlatformBuilder(),
                 new Station.StationBuilder(),
                 new Entrance.EntranceBuilder(),
@@ -418,7 +676,7 @@ public class DefaultConfig {
     }
 
     public ProcessParsedFrequency processParsedFrequency() {
-        return new ProcessParsedFrequency(resultRepo, gtfsDataRepository, timeUtils, new Frequency.FrequencyBuilder());
+        return new ProcessParsedFrequency(resultRepo, gtfsDataRepository.get(), timeUtils, new Frequency.FrequencyBuilder());
     }
 
     public GenerateExclusionFilenameList generateExclusionFilenameList() {
@@ -430,43 +688,43 @@ public class DefaultConfig {
     }
 
     public ValidateAgenciesHaveSameAgencyTimezone validateAgenciesHaveSameAgencyTimezone() {
-        return new ValidateAgenciesHaveSameAgencyTimezone(gtfsDataRepository, resultRepo, logger);
+        return new ValidateAgenciesHaveSameAgencyTimezone(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateTripRouteId validateTripRouteId() {
-        return new ValidateTripRouteId(gtfsDataRepository, resultRepo, logger);
+        return new ValidateTripRouteId(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateTripServiceId validateTripServiceId() {
-        return new ValidateTripServiceId(gtfsDataRepository, resultRepo, logger);
+        return new ValidateTripServiceId(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateTripEdgeArrivalDepartureTime validateTripEdgeArrivalDepartureTime() {
-        return new ValidateTripEdgeArrivalDepartureTime(gtfsDataRepository, resultRepo, logger);
+        return new ValidateTripEdgeArrivalDepartureTime(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateTripTravelSpeed validateTripTravelSpeed() {
-        return new ValidateTripTravelSpeed(gtfsDataRepository, resultRepo, geoUtils, logger);
+        return new ValidateTripTravelSpeed(gtfsDataRepository.get(), resultRepo, geoUtils, logger);
     }
 
     public ValidateTripUsage validateTripUsage() {
-        return new ValidateTripUsage(gtfsDataRepository, resultRepo, logger);
+        return new ValidateTripUsage(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateTripNumberOfStops validateTripNumberOfStops() {
-        return new ValidateTripNumberOfStops(gtfsDataRepository, resultRepo, logger);
+        return new ValidateTripNumberOfStops(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateRouteAgencyId validateRouteAgencyId() {
-        return new ValidateRouteAgencyId(gtfsDataRepository, resultRepo, logger);
+        return new ValidateRouteAgencyId(gtfsDataRepository.get(), resultRepo, logger);
     }
 
     public ValidateNoOverlappingStopTimeInTripBlock validateNoOverlappingStopTimeInTripBlock() {
-        return new ValidateNoOverlappingStopTimeInTripBlock(gtfsDataRepository, resultRepo, logger, timeUtils);
+        return new ValidateNoOverlappingStopTimeInTripBlock(gtfsDataRepository.get(), resultRepo, logger, timeUtils);
     }
 
     public StopTimeValidator stopTimeBasedCrossValidator() {
-        return new StopTimeValidator(gtfsDataRepository, resultRepo, logger, timeUtils,
+        return new StopTimeValidator(gtfsDataRepository.get(), resultRepo, logger, timeUtils,
                 new ValidateShapeIdReferenceInStopTime(),
                 new ValidateStopTimeTripId(),
                 new ValidateBackwardsTimeTravelForStops(),
@@ -474,20 +732,44 @@ public class DefaultConfig {
     }
 
     public ValidateFrequencyStartTimeBeforeEndTime validateFrequencyStartTimeBeforeEndTime() {
-        return new ValidateFrequencyStartTimeBeforeEndTime(gtfsDataRepository, resultRepo, timeUtils, logger);
+        return new ValidateFrequencyStartTimeBeforeEndTime(gtfsDataRepository.get(), resultRepo, timeUtils, logger);
     }
 
     public ValidateTripFrequenciesOverlap validateFrequencyOverlap() {
-        return new ValidateTripFrequenciesOverlap(gtfsDataRepository, resultRepo, timeUtils, logger);
+        return new ValidateTripFrequenciesOverlap(gtfsDataRepository.get(), resultRepo, timeUtils, logger);
+    }
+
+    public ValidateTripStopTimes validateTripStopTimes() {
+        final List<Function<DefaultConfig, TripStopTimesValidationRule>> ruleList = List.of(
+                DefaultConfig::stopTimeBasedCrossValidator,
+                DefaultConfig::validateStopTimeDepartureTimeAfterArrivalTime,
+                DefaultConfig::validateTripEdgeArrivalDepartureTime,
+                DefaultConfig::validateTripTravelSpeed,
+                DefaultConfig::validateTripNumberOfStops,
+                DefaultConfig::validateNoOverlappingStopTimeInTripBlock);
+        return new ValidateTripStopTimes(
+                gtfsDataRepository.get(),
+                resultRepo,
+                () -> new InMemoryValidationResultRepository(
+                        Boolean.parseBoolean(execParamRepo.getExecParamValue(ABORT_ON_ERROR))),
+                ruleList.stream()
+                        .<Function<ValidationResultRepository, TripStopTimesValidationRule>>map(rule ->
+                                ruleResultRepo -> rule.apply(withResultRepository(ruleResultRepo)))
+                        .collect(Collectors.toList()),
+                logger);
     }
 
     public ValidateStopTimeDepartureTimeAfterArrivalTime validateStopTimeDepartureTimeAfterArrivalTime() {
-        return new ValidateStopTimeDepartureTimeAfterArrivalTime(gtfsDataRepository, resultRepo, timeUtils, logger);
+        return new ValidateStopTimeDepartureTimeAfterArrivalTime(gtfsDataRepository.get(), resultRepo, timeUtils, logger);
+    }
+
+    public FreezeGtfsData freezeGtfsData() {
+        return new FreezeGtfsData(gtfsDataRepository.get(), logger);
     }
 
     public ShapeBasedCrossValidator shapeBasedCrossValidator() {
         return new ShapeBasedCrossValidator(
-                gtfsDataRepository,
+                gtfsDataRepository.get(),
                 resultRepo,
                 logger,
                 new ValidateShapeUsage(),
@@ -495,7 +777,7 @@ public class DefaultConfig {
     }
 
     public ValidateStopTooFarFromTripShape validateStopTooFarFromTripShape() {
-        return new ValidateStopTooFarFromTripShape(gtfsDataRepository, resultRepo, geoUtils, logger);
+        return new ValidateStopTooFarFromTripShape(gtfsDataRepository.get(), resultRepo, geoUtils, logger);
     }
 
     public String getExecParamValue(final String execParamKey) {
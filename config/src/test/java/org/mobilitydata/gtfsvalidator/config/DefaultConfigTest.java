@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.config;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DefaultConfigTest {
+    private static final long MEGABYTE = 1024 * 1024;
+    private static final long MAX_HEAP_SIZE = 1024 * MEGABYTE;
+
+    @Test
+    public void datasetWhoseEntitiesFitInHeapBudgetShouldStayOnHeap() {
+        assertFalse(DefaultConfig.isHeapBudgetExceeded(0, MAX_HEAP_SIZE));
+        // 100 MB of CSV take about 470 MB of heap, below the budget of 512 MB
+        assertFalse(DefaultConfig.isHeapBudgetExceeded(100 * MEGABYTE, MAX_HEAP_SIZE));
+        assertFalse(DefaultConfig.isHeapBudgetExceeded(
+                (long) (MAX_HEAP_SIZE / 2 / DefaultConfig.HEAP_EXPANSION_FACTOR), MAX_HEAP_SIZE));
+    }
+
+    @Test
+    public void datasetWhoseEntitiesExceedHeapBudgetShouldBeSpilled() {
+        // 120 MB of CSV are well below the budget of 512 MB, but take about 564 MB of heap once parsed
+        assertTrue(DefaultConfig.isHeapBudgetExceeded(120 * MEGABYTE, MAX_HEAP_SIZE));
+        assertTrue(DefaultConfig.isHeapBudgetExceeded(
+                (long) (MAX_HEAP_SIZE / 2 / DefaultConfig.HEAP_EXPANSION_FACTOR) + MEGABYTE, MAX_HEAP_SIZE));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.domain.entity;
+
+import java.util.function.Function;
+
+/**
+ * Resolves the indexes of the columns a reader of rows needs through the {@link HeaderIndex} shared by all the rows of
+ * a file, so that fields are read by column index instead of being looked up by header name for every row. Indexes
+ * are resolved once per file, and kept as long as rows come with the same {@link HeaderIndex}. This is thread-safe,
+ * provided the resolved indexes are immutable.
+ *
+ * @param <C> the type holding the resolved column indexes
+ */
+public final class ColumnIndexResolver<C> {
+    private final Function<HeaderIndex, C> columnIndexFactory;
+    private volatile Resolution<C> lastResolution;
+
+    /**
+     * @param columnIndexFactory the operation resolving the column indexes from the {@link HeaderIndex} of a file
+     */
+    public ColumnIndexResolver(final Function<HeaderIndex, C> columnIndexFactory) {
+        this.columnIndexFactory = columnIndexFactory;
+    }
+
+    /**
+     * Returns the column indexes resolved from a {@link HeaderIndex}, resolving them only if said header index differs
+     * from the previous one
+     *
+     * @param headerIndex the headers of the columns of a file
+     * @return the column indexes resolved from the {@link HeaderIndex}
+     */
+    public C resolve(final HeaderIndex headerIndex) {
+        final Resolution<C> resolution = lastResolution;
+        if (resolution != null && resolution.headerIndex == headerIndex) {
+            return resolution.columnIndexes;
+        }
+        final C columnIndexes = columnIndexFactory.apply(headerIndex);
+        lastResolution = new Resolution<>(headerIndex, columnIndexes);
+        return columnIndexes;
+    }
+
+    private static final class Resolution<C> {
+        private final HeaderIndex headerIndex;
+        private final C columnIndexes;
+
+        private Resolution(final HeaderIndex headerIndex, final C columnIndexes) {
+            this.headerIndex = headerIndex;
+            this.columnIndexes = columnIndexes;
+        }
+    }
+}
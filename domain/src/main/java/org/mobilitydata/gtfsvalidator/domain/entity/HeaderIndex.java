@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.domain.entity;
+
+import java.util.*;
+
+/**
+ * Ordered collection of column headers shared by all the rows of a file. Maps each header name to the 0 based
+ * position of its column, so that a row can be stored as an array of values and read by column index. Duplicated
+ * headers are kept: a lookup by name returns the position of the first occurrence.
+ */
+public class HeaderIndex {
+    private final String[] headerArray;
+    private final Map<String, Integer> columnIndexPerHeader;
+
+    /**
+     * @param headerList the column headers, in the order they appear in the file
+     */
+    public HeaderIndex(final List<String> headerList) {
+        this.headerArray = headerList.toArray(new String[0]);
+        this.columnIndexPerHeader = new HashMap<>(headerArray.length * 2);
+        for (int i = 0; i < headerArray.length; ++i) {
+            columnIndexPerHeader.putIfAbsent(headerArray[i], i);
+        }
+    }
+
+    /**
+     * Returns the 0 based index of the column for a given header, or -1 if there is no such header
+     *
+     * @param header a column header
+     * @return the 0 based index of the column for a given header, or -1 if there is no such header
+     */
+    public int indexOf(final String header) {
+        final Integer columnIndex = columnIndexPerHeader.get(header);
+        return columnIndex == null ? -1 : columnIndex;
+    }
+
+    /**
+     * Returns the header of the column at a given 0 based index
+     *
+     * @param columnIndex the 0 based index of a column
+     * @return the header of the column at a given 0 based index
+     */
+    public String getHeader(final int columnIndex) {
+        return headerArray[columnIndex];
+    }
+
+    /**
+     * Returns the number of columns, including duplicated headers
+     *
+     * @return the number of columns, including duplicated headers
+     */
+    public int size() {
+        return headerArray.length;
+    }
+
+    /**
+     * Returns an immutable list of the headers, in column order and including duplicates
+     *
+     * @return an immutable list of the headers, in column order and including duplicates
+     */
+    public List<String> getHeaderList() {
+        return Collections.unmodifiableList(Arrays.asList(headerArray));
+    }
+}
@@ -16,32 +16,62 @@
 
 package org.mobilitydata.gtfsvalidator.domain.entity;
 
-import java.util.Map;
-
 /**
- * Represents a row of a GTFS file that has been parsed: the type of each column of the raw data has been determined.
+ * Represents a row of a GTFS file whose fields' type have been determined. Values are stored by column position;
+ * the {@link HeaderIndex} mapping header names to column positions is shared by all the rows of a file. Parsers can
+ * reuse the same instance for all the rows of a file, which is then only valid until the next row is parsed:
+ * {@link #snapshot()} returns a copy that can be kept.
  */
 public class ParsedEntity {
 
     private final RawFileInfo rawFileInfo;
-    private final String entityId;
+    private String entityId;
+    private final HeaderIndex headerIndex;
+    // a String, Integer, Float or LocalDate per column, depending on the declared type of the column. null when the
+    // value was not provided or could not be parsed
+    private final Object[] valueArray;
+
     /**
-     * Key: header string from original CSV file
-     * Value: a String, Integer or Float, depending on the declared type of the column
+     * @param id          the id extracted from the original row.
+     * @param headerIndex the headers of the columns of this entity, shared by all the entities parsed from a file
+     * @param valueArray  the parsed values of this entity, in the column order of the {@code headerIndex}
+     * @param rawFileInfo an object containing information regarding a file location and expected content
      */
-    private final Map<String, Object> contentByHeaderMap;
+    public ParsedEntity(String id, HeaderIndex headerIndex, Object[] valueArray, RawFileInfo rawFileInfo) {
+        this.rawFileInfo = rawFileInfo;
+        this.entityId = id;
+        this.headerIndex = headerIndex;
+        this.valueArray = valueArray;
+    }
 
     /**
-     * @param rawFileInfo        an object containing information regarding a file location and expected content
-     * @param contentByHeaderMap an object mapping rows of a GTFS .txt file on header name.
-     * @param id                 the id extracted from the original row.
+     * Sets the id of this entity. Used by parsers to reuse this instance for the next row of a file.
+     *
+     * @param id the id extracted from the original row
      */
-    public ParsedEntity(String id, Map<String, Object> contentByHeaderMap, RawFileInfo rawFileInfo) {
-        this.contentByHeaderMap = contentByHeaderMap;
-        this.rawFileInfo = rawFileInfo;
+    public void setEntityId(final String id) {
         this.entityId = id;
     }
 
+    /**
+     * Sets the value of a column of this entity. Used by parsers to reuse this instance for the next row of a file.
+     *
+     * @param columnIndex the 0 based index of a column as defined by the {@link HeaderIndex} of this entity
+     * @param value       the parsed value of the column, null if it was not provided or could not be parsed
+     */
+    public void set(final int columnIndex, final Object value) {
+        valueArray[columnIndex] = value;
+    }
+
+    /**
+     * Returns a copy of this entity that remains valid once this instance is reused for another row
+     *
+     * @return a copy of this entity that remains valid once this instance is reused for another row
+     */
+    public ParsedEntity snapshot() {
+        return new ParsedEntity(entityId, headerIndex, valueArray.clone(), rawFileInfo);
+    }
+
     /**
      * Returns the id extracted from the original row
      *
@@ -58,8 +88,26 @@ public class ParsedEntity {
      * @return the value contained in a parsed row for a given header (column)
      */
     public Object get(final String header) {
-        //System.out.println("header : "+contentByHeaderMap.get(header));
-        return contentByHeaderMap.get(header);
+        return get(headerIndex.indexOf(header));
+    }
+
+    /**
+     * Returns the value contained in a parsed row for a given 0 based column index
+     *
+     * @param columnIndex the 0 based index of a column as defined by the {@link HeaderIndex} of this entity
+     * @return the value contained in a parsed row for a given 0 based column index, null if there is no such column
+     */
+    public Object get(final int columnIndex) {
+        return columnIndex >= 0 && columnIndex < valueArray.length ? valueArray[columnIndex] : null;
+    }
+
+    /**
+     * Returns the headers of the columns of this entity
+     *
+     * @return the headers of the columns of this entity
+     */
+    public HeaderIndex getHeaderIndex() {
+        return headerIndex;
     }
 
     /**
@@ -16,34 +16,61 @@
 
 package org.mobilitydata.gtfsvalidator.domain.entity;
 
-import org.apache.commons.collections4.IterableUtils;
-
-import java.util.Map;
+import java.util.Arrays;
 
 /**
- * Represents a row of a GTFS file as raw string data.
+ * Represents a row of a GTFS file as raw string data. Values are stored by column position; the {@link HeaderIndex}
+ * mapping header names to column positions is shared by all the rows of a file. Providers reading a file reuse the
+ * same instance for all its rows, which is then only valid until the next row is read: {@link #snapshot()} returns
+ * a copy that can be kept.
  */
 public class RawEntity {
 
+    private final HeaderIndex headerIndex;
+    // raw values read from the CSV file, in column order. Only the first valueCount values belong to the row, which
+    // can be shorter or longer than the header if the row length is invalid
+    private String[] valueArray;
+    private int valueCount;
+    private int entityIndex;
+
     /**
-     * Key: header string from original CSV file
-     * Value: a String, the raw value read from the CSV file
+     * This class matches a 1 based index identifying the row location within a GTFS CSV file and its content as an
+     * array of strings ordered by column.
+     *
+     * @param headerIndex the headers of the file the row belongs to
+     * @param valueArray  the raw values of the row, in column order
+     * @param entityIndex the 1 based index of the row
      */
-    private final Map<String, String> contentByHeaderMap;
-    private final int entityIndex;
+    public RawEntity(final HeaderIndex headerIndex, final String[] valueArray, final int entityIndex) {
+        this.headerIndex = headerIndex;
+        this.valueArray = valueArray;
+        this.valueCount = valueArray.length;
+        this.entityIndex = entityIndex;
+    }
 
     /**
-     * This class matches a 1 based index identifying the row location within a GTFS CSV file and its content as a
-     * map of strings.
+     * Replaces the content of this with the next row of a file, so that the same instance can be reused for all the
+     * rows of said file. The array is not copied: it can be the buffer the row was read into.
      *
-     * @param contentByHeaderMap the object mapping rows of a GTFS .txt file on header name
-     * @param entityIndex        the 1 based index of the row
+     * @param valueArray  the raw values of the row, in column order, followed by values not belonging to the row
+     * @param valueCount  the number of values of the row, at the start of {@code valueArray}
+     * @param entityIndex the 1 based index of the row
      */
-    public RawEntity(Map<String, String> contentByHeaderMap, int entityIndex) {
-        this.contentByHeaderMap = contentByHeaderMap;
+    public void setRow(final String[] valueArray, final int valueCount, final int entityIndex) {
+        this.valueArray = valueArray;
+        this.valueCount = valueCount;
         this.entityIndex = entityIndex;
     }
 
+    /**
+     * Returns a copy of this row that remains valid once this instance is reused for another row
+     *
+     * @return a copy of this row that remains valid once this instance is reused for another row
+     */
+    public RawEntity snapshot() {
+        return new RawEntity(headerIndex, Arrays.copyOf(valueArray, valueCount), entityIndex);
+    }
+
     /**
      * Returns the value contained in a row for a given header (column)
      *
@@ -51,16 +78,35 @@ public class RawEntity {
      * @return the value contained in a row for a given header (column)
      */
     public String get(final String header) {
-        return contentByHeaderMap.get(header);
+        return get(headerIndex.indexOf(header));
+    }
+
+    /**
+     * Returns the value contained in a row for a given 0 based column index, or null if the row has no such column
+     *
+     * @param columnIndex the 0 based index of a column as defined by the {@link HeaderIndex} of this row
+     * @return the value contained in a row for a given 0 based column index, or null if the row has no such column
+     */
+    public String get(final int columnIndex) {
+        return columnIndex >= 0 && columnIndex < valueCount ? valueArray[columnIndex] : null;
+    }
+
+    /**
+     * Returns the headers of the file this row belongs to
+     *
+     * @return the headers of the file this row belongs to
+     */
+    public HeaderIndex getHeaderIndex() {
+        return headerIndex;
     }
 
     /**
-     * Returns the number of headers (columns).
+     * Returns the number of values (columns) of this row.
      *
-     * @return the number of headers (columns)
+     * @return the number of values (columns) of this row
      */
     public int size() {
-        return contentByHeaderMap.size();
+        return valueCount;
     }
 
     /**
@@ -77,7 +123,11 @@ public class RawEntity {
      * @return true if the raw row is a blank line, otherwise returns false
      */
     public boolean isBlankLine() {
-        return IterableUtils.matchesAll(contentByHeaderMap.values(),
-                (fieldValue) -> fieldValue.isBlank() || fieldValue.isEmpty());
+        for (int i = 0; i < valueCount; ++i) {
+            if (valueArray[i] != null && !valueArray[i].isBlank()) {
+                return false;
+            }
+        }
+        return true;
     }
 }
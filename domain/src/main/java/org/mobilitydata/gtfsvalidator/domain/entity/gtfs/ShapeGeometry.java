@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.domain.entity.gtfs;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Geometry of a shape: the rows of shapes.txt sharing a shape_id, sorted by shape_pt_sequence. Instead of one
+ * {@link ShapePoint} object per row, the sequence, coordinates and distance of the points are kept in primitive arrays
+ * which can be read point by point through their index, from 0 to {@link #getPointCount()} excluded. Points appended
+ * in increasing shape_pt_sequence order, which is how shapes.txt is usually sorted, are written at the end of the
+ * arrays without any search.
+ * <p>
+ * The points can also be read as {@link ShapePoint} entities through the read-only view returned by
+ * {@link #getShapePoints()}. This is not thread-safe: points are to be added by a single thread at a time, and the
+ * geometry is not to be read while points are added.
+ */
+public final class ShapeGeometry {
+    private static final int INITIAL_CAPACITY = 16;
+
+    @NotNull
+    private final String shapeId;
+    private int[] shapePtSequences = new int[INITIAL_CAPACITY];
+    private float[] shapePtLats = new float[INITIAL_CAPACITY];
+    private float[] shapePtLons = new float[INITIAL_CAPACITY];
+    // NaN stands for a null distance
+    private float[] shapeDistTraveled = new float[INITIAL_CAPACITY];
+    private int pointCount;
+    // hash code of the coordinates of the points, computed on first use; zero until then
+    private int geometryHashCode;
+
+    /**
+     * @param shapeId identifies the shape
+     */
+    public ShapeGeometry(@NotNull final String shapeId) {
+        this.shapeId = shapeId;
+    }
+
+    private ShapeGeometry(@NotNull final String shapeId,
+                          final int[] shapePtSequences,
+                          final float[] shapePtLats,
+                          final float[] shapePtLons,
+                          final float[] shapeDistTraveled) {
+        this.shapeId = shapeId;
+        this.shapePtSequences = shapePtSequences;
+        this.shapePtLats = shapePtLats;
+        this.shapePtLons = shapePtLons;
+        this.shapeDistTraveled = shapeDistTraveled;
+        this.pointCount = shapePtSequences.length;
+    }
+
+    /**
+     * Recreates the geometry of a shape from the values of its points, which were validated when the points were
+     * first built. The arrays are taken over as they are: they must have the same length and be sorted by
+     * shape_pt_sequence, without duplicates. No validation is performed.
+     *
+     * @param shapeId           identifies the shape
+     * @param shapePtSequences  the shape_pt_sequence of the points
+     * @param shapePtLats       the latitude of the points
+     * @param shapePtLons       the longitude of the points
+     * @param shapeDistTraveled the distance traveled to the points, {@link Float#NaN} standing for a null distance
+     * @return the geometry holding the points provided as parameters
+     */
+    public static ShapeGeometry restore(@NotNull final String shapeId,
+                                        final int[] shapePtSequences,
+                                        final float[] shapePtLats,
+                                        final float[] shapePtLons,
+                                        final float[] shapeDistTraveled) {
+        return new ShapeGeometry(shapeId, shapePtSequences, shapePtLats, shapePtLons, shapeDistTraveled);
+    }
+
+    /**
+     * Adds a point to this shape, unless a point with the same shape_pt_sequence was already added. The shape_id of
+     * the point is not checked.
+     *
+     * @param shapePoint the point to add
+     * @return true if the point was added, false if a point with the same shape_pt_sequence was already added
+     */
+    public boolean addShapePoint(@NotNull final ShapePoint shapePoint) {
+        final int shapePtSequence = shapePoint.getShapePtSequence();
+        int insertionIndex = pointCount;
+        if (pointCount > 0 && shapePtSequence <= shapePtSequences[pointCount - 1]) {
+            final int searchResult = Arrays.binarySearch(shapePtSequences, 0, pointCount, shapePtSequence);
+            if (searchResult >= 0) {
+                return false;
+            }
+            insertionIndex = -searchResult - 1;
+        }
+        if (pointCount == shapePtSequences.length) {
+            final int capacity = Math.max(INITIAL_CAPACITY, pointCount + (pointCount >> 1));
+            shapePtSequences = Arrays.copyOf(shapePtSequences, capacity);
+            shapePtLats = Arrays.copyOf(shapePtLats, capacity);
+            shapePtLons = Arrays.copyOf(shapePtLons, capacity);
+            shapeDistTraveled = Arrays.copyOf(shapeDistTraveled, capacity);
+        }
+        final int movedCount = pointCount - insertionIndex;
+        System.arraycopy(shapePtSequences, insertionIndex, shapePtSequences, insertionIndex + 1, movedCount);
+        System.arraycopy(shapePtLats, insertionIndex, shapePtLats, insertionIndex + 1, movedCount);
+        System.arraycopy(shapePtLons, insertionIndex, shapePtLons, insertionIndex + 1, movedCount);
+        System.arraycopy(shapeDistTraveled, insertionIndex, shapeDistTraveled, insertionIndex + 1, movedCount);
+        shapePtSequences[insertionIndex] = shapePtSequence;
+        shapePtLats[insertionIndex] = shapePoint.getShapePtLat();
+        shapePtLons[insertionIndex] = shapePoint.getShapePtLon();
+        shapeDistTraveled[insertionIndex] =
+                shapePoint.getShapeDistTraveled() == null ? Float.NaN : shapePoint.getShapeDistTraveled();
+        ++pointCount;
+        geometryHashCode = 0;
+        return true;
+    }
+
+    /**
+     * Trims the arrays of this shape to its number of points, once all points have been added
+     */
+    public void trimToSize() {
+        if (pointCount < shapePtSequences.length) {
+            shapePtSequences = Arrays.copyOf(shapePtSequences, pointCount);
+            shapePtLats = Arrays.copyOf(shapePtLats, pointCount);
+            shapePtLons = Arrays.copyOf(shapePtLons, pointCount);
+            shapeDistTraveled = Arrays.copyOf(shapeDistTraveled, pointCount);
+        }
+    }
+
+    @NotNull
+    public String getShapeId() {
+        return shapeId;
+    }
+
+    /**
+     * Returns the number of points of this shape
+     *
+     * @return the number of points of this shape
+     */
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    /**
+     * Returns the shape_pt_sequence of a point
+     *
+     * @param pointIndex the index of the point, the points being sorted by shape_pt_sequence
+     * @return the shape_pt_sequence of the point
+     */
+    public int getShapePtSequence(final int pointIndex) {
+        return shapePtSequences[checkPointIndex(pointIndex)];
+    }
+
+    /**
+     * Returns the latitude of a point
+     *
+     * @param pointIndex the index of the point, the points being sorted by shape_pt_sequence
+     * @return the latitude of the point
+     */
+    public float getShapePtLat(final int pointIndex) {
+        return shapePtLats[checkPointIndex(pointIndex)];
+    }
+
+    /**
+     * Returns the longitude of a point
+     *
+     * @param pointIndex the index of the point, the points being sorted by shape_pt_sequence
+     * @return the longitude of the point
+     */
+    public float getShapePtLon(final int pointIndex) {
+        return shapePtLons[checkPointIndex(pointIndex)];
+    }
+
+    /**
+     * Returns the distance traveled along the shape from its first point to a point
+     *
+     * @param pointIndex the index of the point, the points being sorted by shape_pt_sequence
+     * @return the distance traveled to the point, or {@link Float#NaN} if field shape_dist_traveled was not provided
+     */
+    public float getShapeDistTraveled(final int pointIndex) {
+        return shapeDistTraveled[checkPointIndex(pointIndex)];
+    }
+
+    /**
+     * Returns a read-only view of the points of this shape, mapped on their shape_pt_sequence. Each access to one of
+     * its values returns a new {@link ShapePoint} instance.
+     *
+     * @return a read-only view of the points of this shape, sorted by shape_pt_sequence
+     */
+    public SortedMap<Integer, ShapePoint> getShapePoints() {
+        return new ShapePointView(null, null);
+    }
+
+    /**
+     * Returns a hash code of the coordinates of the points of this shape, regardless of its shape_id,
+     * shape_pt_sequence and shape_dist_traveled values. It is computed once, then kept until a point is added.
+     *
+     * @return a hash code of the coordinates of the points of this shape
+     */
+    public int getGeometryHashCode() {
+        int hashCode = geometryHashCode;
+        if (hashCode == 0) {
+            hashCode = pointCount;
+            for (int pointIndex = 0; pointIndex < pointCount; ++pointIndex) {
+                hashCode = 31 * hashCode + Float.floatToIntBits(shapePtLats[pointIndex]);
+                hashCode = 31 * hashCode + Float.floatToIntBits(shapePtLons[pointIndex]);
+            }
+            geometryHashCode = hashCode;
+        }
+        return hashCode;
+    }
+
+    private int checkPointIndex(final int pointIndex) {
+        if (pointIndex < 0 || pointIndex >= pointCount) {
+            throw new IndexOutOfBoundsException("Point index " + pointIndex + " out of bounds for shape " + shapeId +
+                    " of " + pointCount + " points");
+        }
+        return pointIndex;
+    }
+
+    private ShapePoint read(final int pointIndex) {
+        return ShapePoint.restore(shapeId, shapePtLats[pointIndex], shapePtLons[pointIndex],
+                shapePtSequences[pointIndex],
+                Float.isNaN(shapeDistTraveled[pointIndex]) ? null : shapeDistTraveled[pointIndex]);
+    }
+
+    /**
+     * Read-only view of the points of this shape whose shape_pt_sequence is within optional bounds, mapped on their
+     * shape_pt_sequence
+     */
+    private final class ShapePointView extends AbstractMap<Integer, ShapePoint>
+            implements SortedMap<Integer, ShapePoint> {
+        // inclusive lower bound of the shape_pt_sequence of the points of this view, null if unbounded
+        private final Integer fromShapePtSequence;
+        // exclusive upper bound of the shape_pt_sequence of the points of this view, null if unbounded
+        private final Integer toShapePtSequence;
+
+        private ShapePointView(final Integer fromShapePtSequence, final Integer toShapePtSequence) {
+            this.fromShapePtSequence = fromShapePtSequence;
+            this.toShapePtSequence = toShapePtSequence;
+        }
+
+        private int firstIndex() {
+            return fromShapePtSequence == null ? 0 : lowerBound(fromShapePtSequence);
+        }
+
+        private int endIndex() {
+            return toShapePtSequence == null ? pointCount : Math.max(firstIndex(), lowerBound(toShapePtSequence));
+        }
+
+        // index of the first point whose shape_pt_sequence is greater or equal to the value provided
+        private int lowerBound(final int shapePtSequence) {
+            final int searchResult = Arrays.binarySearch(shapePtSequences, 0, pointCount, shapePtSequence);
+            return searchResult >= 0 ? searchResult : -searchResult - 1;
+        }
+
+        private int findIndex(final Object key) {
+            if (!(key instanceof Integer)) {
+                return -1;
+            }
+            final int firstIndex = firstIndex();
+            final int endIndex = endIndex();
+            if (firstIndex == endIndex) {
+                return -1;
+            }
+            final int index = Arrays.binarySearch(shapePtSequences, firstIndex, endIndex, (Integer) key);
+            return index >= 0 ? index : -1;
+        }
+
+        @Override
+        public ShapePoint get(final Object key) {
+            final int index = findIndex(key);
+            return index < 0 ? null : read(index);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return findIndex(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return endIndex() - firstIndex();
+        }
+
+        @Override
+        public Comparator<? super Integer> comparator() {
+            return null;
+        }
+
+        @Override
+        public SortedMap<Integer, ShapePoint> subMap(final Integer fromKey, final Integer toKey) {
+            if (fromKey > toKey) {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            return new ShapePointView(max(fromShapePtSequence, fromKey), min(toShapePtSequence, toKey));
+        }
+
+        @Override
+        public SortedMap<Integer, ShapePoint> headMap(final Integer toKey) {
+            return new ShapePointView(fromShapePtSequence, min(toShapePtSequence, toKey));
+        }
+
+        @Override
+        public SortedMap<Integer, ShapePoint> tailMap(final Integer fromKey) {
+            return new ShapePointView(max(fromShapePtSequence, fromKey), toShapePtSequence);
+        }
+
+        @Override
+        public Integer firstKey() {
+            if (isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return shapePtSequences[firstIndex()];
+        }
+
+        @Override
+        public Integer lastKey() {
+            if (isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return shapePtSequences[endIndex() - 1];
+        }
+
+        @Override
+        public Set<Entry<Integer, ShapePoint>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Integer, ShapePoint>> iterator() {
+                    final int endIndex = endIndex();
+                    return new Iterator<>() {
+                        private int index = firstIndex();
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < endIndex;
+                        }
+
+                        @Override
+                        public Entry<Integer, ShapePoint> next() {
+                            if (index >= endIndex) {
+                                throw new NoSuchElementException();
+                            }
+                            final Entry<Integer, ShapePoint> entry =
+                                    new SimpleImmutableEntry<>(shapePtSequences[index], read(index));
+                            ++index;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return ShapePointView.this.size();
+                }
+            };
+        }
+
+        private Integer max(final Integer bound, final Integer key) {
+            Objects.requireNonNull(key);
+            return bound == null || key > bound ? key : bound;
+        }
+
+        private Integer min(final Integer bound, final Integer key) {
+            Objects.requireNonNull(key);
+            return bound == null || key < bound ? key : bound;
+        }
+    }
+}
@@ -25,10 +25,13 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.MissingRequired
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Class for all entities defined in shapes.txt. Can not be directly instantiated: user must use the
- * {@link ShapePoint.ShapeBuilder} to create this.
+ * {@link ShapePoint.ShapeBuilder} to create this. Shape points whose values were validated by a
+ * {@link ShapePoint.ShapeBuilder} can be recreated from said values with {@link #restore}, which is how a
+ * {@link ShapeGeometry} hands over the points it keeps in a packed form.
  */
 public class ShapePoint extends GtfsEntity implements Comparable<ShapePoint> {
     @NotNull
@@ -116,6 +119,58 @@ public class ShapePoint extends GtfsEntity implements Comparable<ShapePoint> {
         return compareTo(otherShapePoint) > 0;
     }
 
+    /**
+     * Recreates a {@link ShapePoint} from values that were validated by a {@link ShapeBuilder} when the shape point
+     * was first built. No validation is performed.
+     *
+     * @param shapeId           identifies a shape
+     * @param shapePtLat        latitude of a shape point
+     * @param shapePtLon        longitude of a shape point
+     * @param shapePtSequence   sequence in which the shape points connect to form the shape
+     * @param shapeDistTraveled actual distance traveled along the shape from the first shape point to this point
+     * @return the {@link ShapePoint} holding the values provided as parameters
+     */
+    public static ShapePoint restore(final String shapeId,
+                                     final float shapePtLat,
+                                     final float shapePtLon,
+                                     final int shapePtSequence,
+                                     final Float shapeDistTraveled) {
+        return new ShapePoint(shapeId, shapePtLat, shapePtLon, shapePtSequence, shapeDistTraveled);
+    }
+
+    /**
+     * Determines if two {@link ShapePoint} are equal: they are if all their values are equal
+     *
+     * @param object other {@link ShapePoint} to compare
+     * @return true if the two {@link ShapePoint} hold the same values, otherwise returns false
+     */
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        final ShapePoint other = (ShapePoint) object;
+        return shapeId.equals(other.shapeId) &&
+                shapePtLat.equals(other.shapePtLat) &&
+                shapePtLon.equals(other.shapePtLon) &&
+                shapePtSequence.equals(other.shapePtSequence) &&
+                Objects.equals(shapeDistTraveled, other.shapeDistTraveled);
+    }
+
+    /**
+     * Returns the hash code of this {@link ShapePoint}, computed from its shape_id and shape_pt_sequence which
+     * identify it
+     *
+     * @return the hash code of this {@link ShapePoint}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(shapeId, shapePtSequence);
+    }
+
     /**
      * Builder class to create {@link ShapePoint} objects. Allows an unordered definition of the different attributes of
      * {@link ShapePoint}.
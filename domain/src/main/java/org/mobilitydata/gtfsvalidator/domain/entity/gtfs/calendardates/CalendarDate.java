@@ -30,7 +30,9 @@ import java.util.Objects;
 
 /**
  * Class for all entities defined in calendar_dates.txt. Can not be directly instantiated: user must use the
- * {@link CalendarDate.CalendarDateBuilder} to create this.
+ * {@link CalendarDate.CalendarDateBuilder} to create this. Calendar dates whose values were validated by a
+ * {@link CalendarDate.CalendarDateBuilder} can be recreated from said values with {@link #restore}, which is how
+ * repositories keeping calendar dates in a compact form hand them over.
  */
 public class CalendarDate extends GtfsEntity {
     @NotNull
@@ -68,6 +70,21 @@ public class CalendarDate extends GtfsEntity {
         return exceptionType;
     }
 
+    /**
+     * Recreates a {@link CalendarDate} from values that were validated by a {@link CalendarDateBuilder} when the
+     * calendar date was first built. No validation is performed.
+     *
+     * @param serviceId     identifies a set of dates when a service exception occurs for one or more routes
+     * @param date          date when service exception occurs
+     * @param exceptionType indicates whether service is available on the date specified in the date field
+     * @return the {@link CalendarDate} holding the values provided as parameters
+     */
+    public static CalendarDate restore(@NotNull final String serviceId,
+                                       @NotNull final LocalDate date,
+                                       @NotNull final ExceptionType exceptionType) {
+        return new CalendarDate(serviceId, date, exceptionType);
+    }
+
     /**
      * Builder class to create {@link CalendarDate} objects. Allows an unordered definition of the different attributes
      * of {@link CalendarDate}.
@@ -28,15 +28,23 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.UnexpectedEnumV
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Entity representing a row from stop_times.txt.
  * See http://gtfs.org/reference/static#stop_timestxt
  * <p>
  * This class can not be directly instantiated. User must use {@link StopTimeBuilder} to create a {@link StopTime}
- * object.
+ * object. Stop times whose values were validated by a {@link StopTimeBuilder} can be recreated from said values with
+ * {@link #restore}, which is how repositories keeping stop times in a compact form hand them over. Stop times restored
+ * by a repository also carry the dense integer ids the repository assigned to their trip_id and stop_id.
  */
 public class StopTime extends GtfsEntity implements Comparable<StopTime> {
+    /**
+     * Value of {@link #getTripIndex()} and {@link #getStopIndex()} for stop times not restored by a repository
+     */
+    public static final int NO_INDEX = -1;
+
     @NotNull
     private final String tripId;
     @Nullable
@@ -61,6 +69,8 @@ public class StopTime extends GtfsEntity implements Comparable<StopTime> {
     private final Float shapeDistTraveled;
     @NotNull
     private final Timepoint timePoint;
+    private final int tripIndex;
+    private final int stopIndex;
 
     /**
      * @param tripId            identifies a trip
@@ -80,6 +90,8 @@ public class StopTime extends GtfsEntity implements Comparable<StopTime> {
      * @param shapeDistTraveled actual distance traveled along the associated shape
      * @param timepoint         indicates if arrival and departure times for a stop are strictly adhered to by the
      *                          vehicle or if they are instead approximate and/or interpolated times
+     * @param tripIndex         dense integer id assigned to the trip_id by a repository, or {@link #NO_INDEX}
+     * @param stopIndex         dense integer id assigned to the stop_id by a repository, or {@link #NO_INDEX}
      */
     private StopTime(@NotNull String tripId,
                      @Nullable Integer arrivalTime,
@@ -92,7 +104,9 @@ public class StopTime extends GtfsEntity implements Comparable<StopTime> {
                      @NotNull ContinuousPickup continuousPickup,
                      @NotNull ContinuousDropOff continuousDropOff,
                      @Nullable Float shapeDistTraveled,
-                     @NotNull Timepoint timepoint) {
+                     @NotNull Timepoint timepoint,
+                     int tripIndex,
+                     int stopIndex) {
         this.tripId = tripId;
         this.arrivalTime = arrivalTime;
         this.departureTime = departureTime;
@@ -105,6 +119,8 @@ public class StopTime extends GtfsEntity implements Comparable<StopTime> {
         this.continuousDropOff = continuousDropOff;
         this.shapeDistTraveled = shapeDistTraveled;
         this.timePoint = timepoint;
+        this.tripIndex = tripIndex;
+        this.stopIndex = stopIndex;
     }
 
     @NotNull
@@ -167,6 +183,26 @@ public class StopTime extends GtfsEntity implements Comparable<StopTime> {
         return timePoint;
     }
 
+    /**
+     * Returns the dense integer id a repository assigned to the trip_id of this {@link StopTime}
+     *
+     * @return the dense integer id assigned to the trip_id, or {@link #NO_INDEX} if this stop time was not restored by
+     * a repository
+     */
+    public int getTripIndex() {
+        return tripIndex;
+    }
+
+    /**
+     * Returns the dense integer id a repository assigned to the stop_id of this {@link StopTime}
+     *
+     * @return the dense integer id assigned to the stop_id, or {@link #NO_INDEX} if this stop time was not restored by
+     * a repository
+     */
+    public int getStopIndex() {
+        return stopIndex;
+    }
+
     /**
      * Implement compareTo method from {@code Comparable}. Return the value {@code 0} if this {@code StopTime} field
      * stop_sequence is equal to field stop_sequence of argument; a value less than {@code 0} if this field
@@ -196,6 +232,119 @@ public class StopTime extends GtfsEntity implements Comparable<StopTime> {
         return compareTo(otherStopTime) > 0;
     }
 
+    /**
+     * Recreates a {@link StopTime} from values that were validated by a {@link StopTimeBuilder} when the stop time was
+     * first built. No validation is performed.
+     *
+     * @param tripId            identifies a trip
+     * @param arrivalTime       arrival time at a specific stop for a specific trip on a route
+     * @param departureTime     departure time at a specific stop for a specific trip on a route
+     * @param stopId            identifies the serviced stop
+     * @param stopSequence      order of stops for a particular trip
+     * @param stopHeadsign      text that appears on signage identifying the trip's destination to riders
+     * @param pickupType        indicates pickup method
+     * @param dropOffType       indicates drop off method
+     * @param continuousPickup  indicates whether the rider can board the transit vehicle along its travel path
+     * @param continuousDropOff indicates whether the rider can alight the transit vehicle along its travel path
+     * @param shapeDistTraveled actual distance traveled along the associated shape
+     * @param timepoint         indicates if arrival and departure times for a stop are strictly adhered to
+     * @return the {@link StopTime} holding the values provided as parameters
+     */
+    public static StopTime restore(final String tripId,
+                                   final Integer arrivalTime,
+                                   final Integer departureTime,
+                                   final String stopId,
+                                   final Integer stopSequence,
+                                   final String stopHeadsign,
+                                   final PickupType pickupType,
+                                   final DropOffType dropOffType,
+                                   final ContinuousPickup continuousPickup,
+                                   final ContinuousDropOff continuousDropOff,
+                                   final Float shapeDistTraveled,
+                                   final Timepoint timepoint) {
+        return restore(tripId, arrivalTime, departureTime, stopId, stopSequence, stopHeadsign, pickupType,
+                dropOffType, continuousPickup, continuousDropOff, shapeDistTraveled, timepoint, NO_INDEX, NO_INDEX);
+    }
+
+    /**
+     * Recreates a {@link StopTime} from values that were validated by a {@link StopTimeBuilder} when the stop time was
+     * first built, along with the dense integer ids a repository assigned to its trip_id and stop_id. No validation is
+     * performed.
+     *
+     * @param tripId            identifies a trip
+     * @param arrivalTime       arrival time at a specific stop for a specific trip on a route
+     * @param departureTime     departure time at a specific stop for a specific trip on a route
+     * @param stopId            identifies the serviced stop
+     * @param stopSequence      order of stops for a particular trip
+     * @param stopHeadsign      text that appears on signage identifying the trip's destination to riders
+     * @param pickupType        indicates pickup method
+     * @param dropOffType       indicates drop off method
+     * @param continuousPickup  indicates whether the rider can board the transit vehicle along its travel path
+     * @param continuousDropOff indicates whether the rider can alight the transit vehicle along its travel path
+     * @param shapeDistTraveled actual distance traveled along the associated shape
+     * @param timepoint         indicates if arrival and departure times for a stop are strictly adhered to
+     * @param tripIndex         dense integer id assigned to the trip_id by the repository
+     * @param stopIndex         dense integer id assigned to the stop_id by the repository
+     * @return the {@link StopTime} holding the values provided as parameters
+     */
+    public static StopTime restore(final String tripId,
+                                   final Integer arrivalTime,
+                                   final Integer departureTime,
+                                   final String stopId,
+                                   final Integer stopSequence,
+                                   final String stopHeadsign,
+                                   final PickupType pickupType,
+                                   final DropOffType dropOffType,
+                                   final ContinuousPickup continuousPickup,
+                                   final ContinuousDropOff continuousDropOff,
+                                   final Float shapeDistTraveled,
+                                   final Timepoint timepoint,
+                                   final int tripIndex,
+                                   final int stopIndex) {
+        return new StopTime(tripId, arrivalTime, departureTime, stopId, stopSequence, stopHeadsign, pickupType,
+                dropOffType, continuousPickup, continuousDropOff, shapeDistTraveled, timepoint, tripIndex, stopIndex);
+    }
+
+    /**
+     * Determines if two {@link StopTime} are equal: they are if all their values are equal. The ids assigned by a
+     * repository are not values of the stop time and are not compared.
+     *
+     * @param object other {@link StopTime} to compare
+     * @return true if the two {@link StopTime} hold the same values, otherwise returns false
+     */
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        final StopTime other = (StopTime) object;
+        return tripId.equals(other.tripId) &&
+                Objects.equals(arrivalTime, other.arrivalTime) &&
+                Objects.equals(departureTime, other.departureTime) &&
+                stopId.equals(other.stopId) &&
+                stopSequence.equals(other.stopSequence) &&
+                Objects.equals(stopHeadsign, other.stopHeadsign) &&
+                pickupType == other.pickupType &&
+                dropOffType == other.dropOffType &&
+                continuousPickup == other.continuousPickup &&
+                continuousDropOff == other.continuousDropOff &&
+                Objects.equals(shapeDistTraveled, other.shapeDistTraveled) &&
+                timePoint == other.timePoint;
+    }
+
+    /**
+     * Returns the hash code of this {@link StopTime}, computed from its trip_id and stop_sequence which identify it
+     *
+     * @return the hash code of this {@link StopTime}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(tripId, stopSequence);
+    }
+
     /**
      * Builder class to create {@link StopTime} objects.
      */
@@ -435,7 +584,7 @@ public class StopTime extends GtfsEntity implements Comparable<StopTime> {
             } else {
                 return new EntityBuildResult<>(new StopTime(tripId, arrivalTime, departureTime, stopId, stopSequence,
                         stopHeadsign, pickupType, dropOffType, continuousPickup, continuousDropOff, shapeDistTraveled,
-                        timepoint));
+                        timepoint, NO_INDEX, NO_INDEX));
             }
         }
 
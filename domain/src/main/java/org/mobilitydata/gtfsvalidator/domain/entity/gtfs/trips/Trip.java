@@ -27,10 +27,12 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.MissingRequired
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.UnexpectedEnumValueNotice;
 
 import java.util.ArrayList;
+import java.util.Objects;
 
 /**
  * Class for all entities defined in trips.txt. Can not be directly instantiated: user must use the
- * {@link TripBuilder} to create this.
+ * {@link TripBuilder} to create this. Trips whose values were validated by a {@link TripBuilder} can be recreated from
+ * said values with {@link #restore}, which is how repositories keeping trips in a compact form hand them over.
  */
 public class Trip extends GtfsEntity {
     @NotNull
@@ -140,6 +142,36 @@ public class Trip extends GtfsEntity {
         return bikesAllowedStatus;
     }
 
+    /**
+     * Recreates a {@link Trip} from values that were validated by a {@link TripBuilder} when the trip was first built.
+     * No validation is performed.
+     *
+     * @param routeId                    identifies a route
+     * @param serviceId                  identifies a set of dates when service is available for one or more routes
+     * @param tripId                     identifies a trip
+     * @param tripHeadsign               text that appears on signage identifying the trip's destination to riders
+     * @param tripShortName              public facing text used to identify the trip to riders
+     * @param directionId                indicates the direction of travel for a trip
+     * @param blockId                    identifies the block to which the trip belongs
+     * @param shapeId                    identifies a geospatial shape describing the vehicle travel path for a trip
+     * @param wheelchairAccessibleStatus indicates wheelchair accessibility
+     * @param bikesAllowedStatus         indicates whether bikes are allowed
+     * @return the {@link Trip} holding the values provided as parameters
+     */
+    public static Trip restore(final String routeId,
+                               final String serviceId,
+                               final String tripId,
+                               final String tripHeadsign,
+                               final String tripShortName,
+                               final DirectionId directionId,
+                               final String blockId,
+                               final String shapeId,
+                               final WheelchairAccessibleStatus wheelchairAccessibleStatus,
+                               final BikesAllowedStatus bikesAllowedStatus) {
+        return new Trip(routeId, serviceId, tripId, tripHeadsign, tripShortName, directionId, blockId, shapeId,
+                wheelchairAccessibleStatus, bikesAllowedStatus);
+    }
+
     /**
      * Builder class to create {@code Trip} objects. Allows an unordered definition of the different attributes of
      * {@link Trip}.
@@ -344,4 +376,41 @@ public class Trip extends GtfsEntity {
     public boolean hasSameServiceId(final Trip otherTrip) {
         return serviceId.equals(otherTrip.getServiceId());
     }
+
+    /**
+     * Determines if two {@link Trip} are equal: they are if all their values are equal
+     *
+     * @param object other {@link Trip} to compare
+     * @return true if the two {@link Trip} hold the same values, otherwise returns false
+     */
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        final Trip other = (Trip) object;
+        return routeId.equals(other.routeId) &&
+                serviceId.equals(other.serviceId) &&
+                tripId.equals(other.tripId) &&
+                Objects.equals(tripHeadsign, other.tripHeadsign) &&
+                Objects.equals(tripShortName, other.tripShortName) &&
+                directionId == other.directionId &&
+                Objects.equals(blockId, other.blockId) &&
+                Objects.equals(shapeId, other.shapeId) &&
+                wheelchairAccessibleStatus == other.wheelchairAccessibleStatus &&
+                bikesAllowedStatus == other.bikesAllowedStatus;
+    }
+
+    /**
+     * Generates an hash code for this {@link Trip} based on its trip_id, which identifies it
+     *
+     * @return an hash code for this {@link Trip} based on its trip_id
+     */
+    @Override
+    public int hashCode() {
+        return tripId.hashCode();
+    }
 }
\ No newline at end of file
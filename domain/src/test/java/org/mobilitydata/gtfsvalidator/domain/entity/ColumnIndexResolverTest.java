@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.domain.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnIndexResolverTest {
+
+    @Test
+    void columnIndexesShouldOnlyBeResolvedAgainForAnotherHeaderIndex() {
+        final AtomicInteger resolutionCount = new AtomicInteger();
+        final ColumnIndexResolver<Integer> underTest = new ColumnIndexResolver<>(headerIndex -> {
+            resolutionCount.incrementAndGet();
+            return headerIndex.indexOf("stop_id");
+        });
+        final HeaderIndex headerIndex = new HeaderIndex(List.of("trip_id", "stop_id"));
+        final HeaderIndex otherHeaderIndex = new HeaderIndex(List.of("stop_id", "trip_id"));
+
+        assertEquals(1, underTest.resolve(headerIndex));
+        assertEquals(1, underTest.resolve(headerIndex));
+        assertEquals(1, resolutionCount.get());
+        assertEquals(0, underTest.resolve(otherHeaderIndex));
+        assertEquals(2, resolutionCount.get());
+    }
+}
@@ -2,7 +2,7 @@ package org.mobilitydata.gtfsvalidator.domain.entity;
 
 import org.junit.jupiter.api.Test;
 
-import java.util.Map;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -10,16 +10,60 @@ class RawEntityTest {
 
     @Test
     void emptyRowShouldReturnTrue() {
-        final RawEntity underTest = new RawEntity(Map.of("first key", "",
-                "second key", ""), 22);
+        final RawEntity underTest = new RawEntity(new HeaderIndex(List.of("first key", "second key")),
+                new String[]{"", ""}, 22);
         assertTrue(underTest.isBlankLine());
 
     }
 
     @Test
     void nonEmptyRowShouldReturnFalse() {
-        final RawEntity underTest = new RawEntity(Map.of("first key", "first value",
-                "second key", "second value"), 22);
+        final RawEntity underTest = new RawEntity(new HeaderIndex(List.of("first key", "second key")),
+                new String[]{"first value", "second value"}, 22);
         assertFalse(underTest.isBlankLine());
     }
+
+    @Test
+    void valueShouldBeReadByHeaderOrColumnIndex() {
+        final HeaderIndex headerIndex = new HeaderIndex(List.of("first key", "second key", "first key"));
+        final RawEntity underTest = new RawEntity(headerIndex, new String[]{"first value", "second value", "third value"},
+                22);
+
+        assertEquals("second value", underTest.get("second key"));
+        assertEquals("first value", underTest.get("first key"));
+        assertEquals("third value", underTest.get(2));
+        assertNull(underTest.get("unknown key"));
+        assertNull(underTest.get(3));
+        assertEquals(3, underTest.size());
+    }
+
+    @Test
+    void shortRowShouldReturnNullForMissingColumn() {
+        final HeaderIndex headerIndex = new HeaderIndex(List.of("first key", "second key"));
+        final RawEntity underTest = new RawEntity(headerIndex, new String[]{"first value"}, 22);
+
+        assertNull(underTest.get("second key"));
+        assertEquals(1, underTest.size());
+        assertFalse(underTest.isBlankLine());
+    }
+
+    @Test
+    void reusedRowShouldOnlyExposeValuesOfCurrentRowAndSnapshotShouldBeKept() {
+        final HeaderIndex headerIndex = new HeaderIndex(List.of("first key", "second key"));
+        final String[] valueBuffer = {"first value", "second value"};
+        final RawEntity underTest = new RawEntity(headerIndex, valueBuffer, 2);
+        final RawEntity snapshot = underTest.snapshot();
+
+        valueBuffer[0] = "next value";
+        underTest.setRow(valueBuffer, 1, 3);
+
+        assertEquals("next value", underTest.get("first key"));
+        assertNull(underTest.get("second key"));
+        assertEquals(1, underTest.size());
+        assertEquals(3, underTest.getIndex());
+        assertEquals("first value", snapshot.get("first key"));
+        assertEquals("second value", snapshot.get("second key"));
+        assertEquals(2, snapshot.size());
+        assertEquals(2, snapshot.getIndex());
+    }
 }
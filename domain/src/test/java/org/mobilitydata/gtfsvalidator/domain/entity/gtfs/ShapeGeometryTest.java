@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.domain.entity.gtfs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShapeGeometryTest {
+
+    private static ShapePoint createShapePoint(final int shapePtSequence, final Float shapeDistTraveled) {
+        return ShapePoint.restore("shape id", 45.5f + shapePtSequence, -73.5f - shapePtSequence, shapePtSequence,
+                shapeDistTraveled);
+    }
+
+    @Test
+    void pointsAddedInAnyOrderShouldBeSortedByShapePtSequence() {
+        final ShapeGeometry underTest = new ShapeGeometry("shape id");
+
+        for (final int shapePtSequence : List.of(4, 8, 2, 40, 6, 1, 3, 5, 7, 9, 10, 11, 12, 13, 14, 15, 16, 0)) {
+            assertTrue(underTest.addShapePoint(createShapePoint(shapePtSequence, 2f * shapePtSequence)));
+        }
+
+        assertEquals("shape id", underTest.getShapeId());
+        assertEquals(18, underTest.getPointCount());
+        for (int pointIndex = 0; pointIndex < 17; ++pointIndex) {
+            assertEquals(pointIndex, underTest.getShapePtSequence(pointIndex));
+            assertEquals(45.5f + pointIndex, underTest.getShapePtLat(pointIndex));
+            assertEquals(-73.5f - pointIndex, underTest.getShapePtLon(pointIndex));
+            assertEquals(2f * pointIndex, underTest.getShapeDistTraveled(pointIndex));
+        }
+        assertEquals(40, underTest.getShapePtSequence(17));
+        assertThrows(IndexOutOfBoundsException.class, () -> underTest.getShapePtLat(18));
+    }
+
+    @Test
+    void duplicateShapePtSequenceShouldNotBeAdded() {
+        final ShapeGeometry underTest = new ShapeGeometry("shape id");
+
+        assertTrue(underTest.addShapePoint(createShapePoint(1, null)));
+        assertTrue(underTest.addShapePoint(createShapePoint(3, null)));
+        assertFalse(underTest.addShapePoint(createShapePoint(1, 5f)));
+        assertFalse(underTest.addShapePoint(createShapePoint(3, 5f)));
+
+        assertEquals(2, underTest.getPointCount());
+        assertTrue(Float.isNaN(underTest.getShapeDistTraveled(0)));
+    }
+
+    @Test
+    void shapePointsViewShouldRestorePointsAndBehaveAsSortedMap() {
+        final ShapeGeometry underTest = new ShapeGeometry("shape id");
+        underTest.addShapePoint(createShapePoint(10, null));
+        underTest.addShapePoint(createShapePoint(30, 7f));
+        underTest.addShapePoint(createShapePoint(20, 3f));
+
+        final SortedMap<Integer, ShapePoint> toCheck = underTest.getShapePoints();
+
+        assertEquals(List.of(10, 20, 30), List.copyOf(toCheck.keySet()));
+        assertEquals(createShapePoint(10, null), toCheck.get(10));
+        assertNull(toCheck.get(10).getShapeDistTraveled());
+        assertEquals(createShapePoint(30, 7f), toCheck.get(30));
+        assertNull(toCheck.get(15));
+        assertEquals(10, toCheck.firstKey());
+        assertEquals(30, toCheck.lastKey());
+        assertEquals(List.of(20), List.copyOf(toCheck.subMap(15, 30).keySet()));
+        assertEquals(List.of(10, 20), List.copyOf(toCheck.headMap(30).keySet()));
+        assertEquals(List.of(30), List.copyOf(toCheck.tailMap(21).keySet()));
+        assertTrue(toCheck.tailMap(31).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> toCheck.put(40, createShapePoint(40, null)));
+    }
+
+    @Test
+    void trimmedShapeShouldKeepItsPointsAndAcceptNewOnes() {
+        final ShapeGeometry underTest = new ShapeGeometry("shape id");
+        underTest.trimToSize();
+        underTest.addShapePoint(createShapePoint(20, 3f));
+        underTest.addShapePoint(createShapePoint(10, null));
+        underTest.trimToSize();
+
+        assertEquals(2, underTest.getPointCount());
+        assertEquals(10, underTest.getShapePtSequence(0));
+        assertEquals(3f, underTest.getShapeDistTraveled(1));
+
+        underTest.addShapePoint(createShapePoint(30, 7f));
+
+        assertEquals(List.of(10, 20, 30), List.copyOf(underTest.getShapePoints().keySet()));
+    }
+
+    @Test
+    void geometryHashCodeShouldOnlyDependOnCoordinatesAndFollowAddedPoints() {
+        final ShapeGeometry underTest = new ShapeGeometry("shape id");
+        underTest.addShapePoint(createShapePoint(1, null));
+        underTest.addShapePoint(createShapePoint(2, null));
+        final ShapeGeometry sameGeometry = ShapeGeometry.restore("other shape id", new int[]{5, 9},
+                new float[]{46.5f, 47.5f}, new float[]{-74.5f, -75.5f}, new float[]{3f, 8f});
+
+        final int hashCode = underTest.getGeometryHashCode();
+
+        assertEquals(hashCode, underTest.getGeometryHashCode());
+        assertEquals(hashCode, sameGeometry.getGeometryHashCode());
+
+        underTest.addShapePoint(createShapePoint(3, null));
+
+        assertNotEquals(hashCode, underTest.getGeometryHashCode());
+    }
+}
@@ -534,4 +534,33 @@ class StopTimeTest {
 
         assertTrue(secondStopInSequence.isGreaterThan(firstStopInSequence));
     }
+
+    @Test
+    void restoredStopTimeShouldBeEqualToBuiltStopTimeWithSameValues() {
+        final StopTime.StopTimeBuilder builder = new StopTime.StopTimeBuilder();
+        builder.tripId(TRIP_ID)
+                .arrivalTime(ARRIVAL_TIME)
+                .departureTime(null)
+                .stopId(STOP_ID)
+                .stopSequence(STOP_SEQUENCE)
+                .stopHeadsign(STOP_HEADSIGN)
+                .pickupType(PICKUP_TYPE)
+                .dropOffType(DROP_OFF_TYPE)
+                .continuousDropOff(CONTINUOUS_DROP_OFF)
+                .continuousPickup(CONTINUOUS_PICKUP)
+                .shapeDistTraveled(SHAPE_DIST_TRAVELED)
+                .timepoint(TIMEPOINT);
+
+        final StopTime builtStopTime = (StopTime) builder.build().getData();
+        final StopTime restoredStopTime = StopTime.restore(TRIP_ID, ARRIVAL_TIME, null, STOP_ID, STOP_SEQUENCE,
+                STOP_HEADSIGN, builtStopTime.getPickupType(), builtStopTime.getDropOffType(),
+                builtStopTime.getContinuousPickup(), builtStopTime.getContinuousDropOff(), SHAPE_DIST_TRAVELED,
+                builtStopTime.getTimePoint());
+
+        assertEquals(builtStopTime, restoredStopTime);
+        assertEquals(builtStopTime.hashCode(), restoredStopTime.hashCode());
+
+        builder.stopHeadsign("another headsign");
+        assertNotEquals(builtStopTime, builder.build().getData());
+    }
 }
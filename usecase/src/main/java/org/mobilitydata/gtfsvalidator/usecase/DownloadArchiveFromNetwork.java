@@ -17,6 +17,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.function.Supplier;
 
 import static java.net.HttpURLConnection.HTTP_MOVED_PERM;
 import static java.net.HttpURLConnection.HTTP_MOVED_TEMP;
@@ -32,6 +33,7 @@ public class DownloadArchiveFromNetwork {
     private final Logger logger;
     private final CustomFileUtils customFileUtils;
     private final Path inputPath;
+    private final Supplier<Float> maxDatasetSizeMegaBytes;
 
     /**
      * @param resultRepo       a repository storing information about the validation process
@@ -39,17 +41,41 @@ public class DownloadArchiveFromNetwork {
      * @param logger           logger used to log relevant information about the downloading process
      * @param customFileUtils  a util class instance to compute size of files and directory
      * @param inputPath        the path to the input data
+     * @param maxDatasetSizeMegaBytes the size above which the downloaded dataset is reported as too big, in megabytes:
+     *                                {@link RawFileRepository#MAX_RAW_INPUT_SIZE_MEGABYTES} unless the entities of
+     *                                the dataset are stored off the Java heap
      */
     public DownloadArchiveFromNetwork(final ValidationResultRepository resultRepo,
                                       final ExecParamRepository execParamRepo,
                                       final Logger logger,
                                       final CustomFileUtils customFileUtils,
-                                      final Path inputPath) {
+                                      final Path inputPath,
+                                      final float maxDatasetSizeMegaBytes) {
+        this(resultRepo, execParamRepo, logger, customFileUtils, inputPath, () -> maxDatasetSizeMegaBytes);
+    }
+
+    /**
+     * @param resultRepo              a repository storing information about the validation process
+     * @param execParamRepo           a repository storing all execution parameters and their values
+     * @param logger                  logger used to log relevant information about the downloading process
+     * @param customFileUtils         a util class instance to compute size of files and directory
+     * @param inputPath               the path to the input data
+     * @param maxDatasetSizeMegaBytes supplies the size above which the downloaded dataset is reported as too big, in
+     *                                megabytes, once the dataset is downloaded: the storage of its entities, hence
+     *                                the limit, may depend on the dataset itself
+     */
+    public DownloadArchiveFromNetwork(final ValidationResultRepository resultRepo,
+                                      final ExecParamRepository execParamRepo,
+                                      final Logger logger,
+                                      final CustomFileUtils customFileUtils,
+                                      final Path inputPath,
+                                      final Supplier<Float> maxDatasetSizeMegaBytes) {
         this.resultRepo = resultRepo;
         this.execParamRepo = execParamRepo;
         this.logger = logger;
         this.customFileUtils = customFileUtils;
         this.inputPath = inputPath;
+        this.maxDatasetSizeMegaBytes = maxDatasetSizeMegaBytes;
     }
 
     /**
@@ -90,10 +116,9 @@ public class DownloadArchiveFromNetwork {
                         StandardCopyOption.REPLACE_EXISTING
                 );
                 final float datasetSizeMegaBytes = customFileUtils.sizeOf(inputPath, CustomFileUtils.Unit.MEGABYTES);
-                if (RawFileRepository.MAX_RAW_INPUT_SIZE_MEGABYTES < datasetSizeMegaBytes) {
-                    resultRepo.addNotice(
-                            new GtfsDatasetTooBigNotice(datasetSizeMegaBytes,
-                                    RawFileRepository.MAX_RAW_INPUT_SIZE_MEGABYTES));
+                final float maxSizeMegaBytes = maxDatasetSizeMegaBytes.get();
+                if (maxSizeMegaBytes < datasetSizeMegaBytes) {
+                    resultRepo.addNotice(new GtfsDatasetTooBigNotice(datasetSizeMegaBytes, maxSizeMegaBytes));
                 }
             } catch (IOException e) {
                 resultRepo.addNotice
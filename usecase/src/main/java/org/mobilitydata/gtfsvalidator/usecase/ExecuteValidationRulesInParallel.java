@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import org.apache.logging.log4j.Logger;
+import org.mobilitydata.gtfsvalidator.usecase.port.TooManyValidationErrorException;
+import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Use case to execute the {@link ValidationRule} instances concurrently once all GTFS files have been loaded, on a
+ * {@link ForkJoinPool} whose size is bounded by the number of threads provided in the constructor. Rules only read the
+ * frozen GTFS data repository: none of them depends on the result of another one, so that any rule can start as soon
+ * as a thread is available. The rules expected to take the longest, those reading the largest files, are started
+ * first so that the last rules to finish are short ones. The notices generated by a rule are collected in a
+ * {@link ValidationResultRepository} dedicated to said rule, then added to the main {@link ValidationResultRepository}
+ * in the order in which the rules were provided: the content and the order of the validation report do not depend on
+ * thread scheduling.
+ */
+public class ExecuteValidationRulesInParallel {
+    private final ValidationResultRepository resultRepo;
+    private final Supplier<ValidationResultRepository> ruleResultRepoSupplier;
+    private final Map<String, Long> sizeByFilename;
+    private final int threadCount;
+    private final Logger logger;
+
+    /**
+     * @param resultRepo             a repository storing information about the validation process
+     * @param ruleResultRepoSupplier supplies the repository collecting the notices generated by a rule
+     * @param sizeByFilename         the size of each GTFS file, from which the cost of the rules reading it is
+     *                               estimated
+     * @param threadCount            the maximum number of rules executed at the same time
+     * @param logger                 a logger displaying information about the validation process
+     */
+    public ExecuteValidationRulesInParallel(final ValidationResultRepository resultRepo,
+                                            final Supplier<ValidationResultRepository> ruleResultRepoSupplier,
+                                            final Map<String, Long> sizeByFilename,
+                                            final int threadCount,
+                                            final Logger logger) {
+        this.resultRepo = resultRepo;
+        this.ruleResultRepoSupplier = ruleResultRepoSupplier;
+        this.sizeByFilename = sizeByFilename;
+        this.threadCount = threadCount;
+        this.logger = logger;
+    }
+
+    /**
+     * Use case execution method: creates and executes each rule of {@code ruleFactoryList}. With a single thread, rules
+     * are executed one after the other on the calling thread and notices are directly added to the main
+     * {@link ValidationResultRepository}. Otherwise each rule is executed on a thread of the pool with its own
+     * repository, and this method returns once all rules have been executed and their notices added to the main
+     * repository. If the main repository throws a {@link TooManyValidationErrorException} while notices are added, the
+     * notices of the following rules are discarded and the exception is thrown back to the caller once the rules being
+     * executed are done.
+     *
+     * @param ruleFactoryList creates each rule to execute, in the order their notices should be reported: receives the
+     *                        repository in which the rule is to add its notices
+     * @throws TooManyValidationErrorException if the validation process must be aborted on the first error
+     */
+    public void execute(final List<Function<ValidationResultRepository, ValidationRule>> ruleFactoryList)
+            throws TooManyValidationErrorException {
+        if (threadCount <= 1 || ruleFactoryList.size() <= 1) {
+            ruleFactoryList.forEach(ruleFactory -> ruleFactory.apply(resultRepo).execute());
+            return;
+        }
+
+        final List<ValidationResultRepository> ruleResultRepoList = new ArrayList<>(ruleFactoryList.size());
+        final List<ValidationRule> ruleList = new ArrayList<>(ruleFactoryList.size());
+        ruleFactoryList.forEach(ruleFactory -> {
+            final ValidationResultRepository ruleResultRepo = ruleResultRepoSupplier.get();
+            ruleResultRepoList.add(ruleResultRepo);
+            ruleList.add(ruleFactory.apply(ruleResultRepo));
+        });
+        // longest expected rules first, rules of equal cost in the order they were provided
+        final List<Integer> executionOrder = IntStream.range(0, ruleList.size()).boxed()
+                .sorted(Comparator.comparingLong((Integer i) -> estimateCost(ruleList.get(i))).reversed())
+                .collect(Collectors.toList());
+
+        final int poolSize = Math.min(threadCount, ruleList.size());
+        logger.info("Executing " + ruleList.size() + " validation rules on " + poolSize + " threads");
+        final ForkJoinPool pool = new ForkJoinPool(poolSize);
+        try {
+            // a task returns what its rule has thrown: the pool would otherwise rethrow a copy of it
+            final List<Future<Throwable>> futureList = new ArrayList<>(Collections.nCopies(ruleList.size(), null));
+            executionOrder.forEach(i -> futureList.set(i, pool.submit(() -> executeRule(ruleList.get(i)))));
+
+            for (int i = 0; i < ruleList.size(); ++i) {
+                rethrow(awaitRule(futureList.get(i)));
+                ruleResultRepoList.get(i).getAll().forEach(resultRepo::addNotice);
+            }
+        } finally {
+            // on failure or abort, no rule may read the repository once this returns, as it may then be closed
+            ThreadPools.shutdownAndAwaitTermination(pool);
+        }
+    }
+
+    /**
+     * Returns the expected cost of a rule: the total size of the files it reads
+     *
+     * @param rule the rule to execute
+     * @return the expected cost of the rule
+     */
+    private long estimateCost(final ValidationRule rule) {
+        return rule.getReadFilenameCollection().stream()
+                .mapToLong(filename -> sizeByFilename.getOrDefault(filename, 0L))
+                .sum();
+    }
+
+    /**
+     * Executes a rule on a thread of the pool
+     *
+     * @param rule the rule to execute
+     * @return what the rule has thrown, or null
+     */
+    private static Throwable executeRule(final ValidationRule rule) {
+        try {
+            rule.execute();
+        } catch (TooManyValidationErrorException e) {
+            // the notice that stopped the rule is in its repository: the exception is thrown again by the main
+            // repository when said notice is added to it
+        } catch (RuntimeException | Error e) {
+            return e;
+        }
+        return null;
+    }
+
+    private static Throwable awaitRule(final Future<Throwable> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for validation rules to be executed", e);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    // rethrows what a rule has thrown so that it is handled as in sequential execution
+    private static void rethrow(final Throwable throwable) {
+        if (throwable == null) {
+            return;
+        }
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        throw new IllegalStateException(throwable);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import org.apache.logging.log4j.Logger;
+import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
+
+/**
+ * Use case to freeze the GTFS data repository once all files have been processed: validation rules then read from an
+ * immutable, read-optimized snapshot of the dataset, which they can share across threads without locking.
+ */
+public class FreezeGtfsData {
+    private final GtfsDataRepository dataRepo;
+    private final Logger logger;
+
+    /**
+     * @param dataRepo the repository to freeze
+     * @param logger   a logger displaying information about the process
+     */
+    public FreezeGtfsData(final GtfsDataRepository dataRepo, final Logger logger) {
+        this.dataRepo = dataRepo;
+        this.logger = logger;
+    }
+
+    /**
+     * Freezes the GTFS data repository. No entity can be added to the repository afterwards.
+     */
+    public void execute() {
+        logger.info("Freezing GTFS data before validation");
+        dataRepo.freeze();
+    }
+}
@@ -36,7 +36,6 @@ public class GenerateInfoNotice {
     private final Set<String> processedFilenameCollection;
     private final CustomFileUtils customFileUtils;
     private final Path inputPath;
-    private final Path extractPath;
 
     /**
      *
@@ -48,7 +47,6 @@ public class GenerateInfoNotice {
      * @param processedFilenameCollection  the list of files processed so far
      * @param customFileUtils              a util class instance to compute size of files and directory
      * @param inputPath                    the path to the zipped input data
-     * @param extractPath                  the path to the unzipped input data
      */
     public GenerateInfoNotice(final ValidationResultRepository resultRepo,
                               final ExecParamRepository execParamRepo,
@@ -57,8 +55,7 @@ public class GenerateInfoNotice {
                               final long processingTimeSecs,
                               final Set<String> processedFilenameCollection,
                               final CustomFileUtils customFileUtils,
-                              final Path inputPath,
-                              final Path extractPath) {
+                              final Path inputPath) {
         this.resultRepo = resultRepo;
         this.execParamRepo = execParamRepo;
         this.gtfsDataRepo = gtfsDataRepo;
@@ -67,7 +64,6 @@ public class GenerateInfoNotice {
         this.processedFilenameCollection = processedFilenameCollection;
         this.customFileUtils = customFileUtils;
         this.inputPath = inputPath;
-        this.extractPath = extractPath;
     }
 
     /**
@@ -79,7 +75,7 @@ public class GenerateInfoNotice {
      * - the number of error notices in the {@link ValidationResultRepository}
      * - the url or the path to the GTFS archive,
      * - the size of the GTFS archive before unzipping,
-     * - the size of the GTFS archive after unzipping,
+     * - the size of the GTFS archive after unzipping, as recorded in the central directory of the archive,
      * - the version of this gtfs-validator,
      * - the list of files processed so far,
      * - the time spent to process the GTFS archive.
@@ -107,7 +103,7 @@ public class GenerateInfoNotice {
                         resultRepo.getErrorNoticeCount(),
                         urlOrPathToGtfsArchive,
                         customFileUtils.sizeOf(inputPath),
-                        customFileUtils.sizeOfDirectory(extractPath),
+                        customFileUtils.sizeOfArchiveContent(inputPath),
                         GTFS_VALIDATOR_VERSION,
                         processedFilenameCollection.toString(),
                         processingTimeSecs)
@@ -125,7 +121,6 @@ public class GenerateInfoNotice {
                 ", processedFilenameCollection=" + processedFilenameCollection +
                 ", customFileUtils=" + customFileUtils +
                 ", inputPath=" + inputPath +
-                ", extractPath=" + extractPath +
                 '}';
     }
 }
@@ -31,8 +31,7 @@ public class LogExecutionInfo {
         }
 
         if (!execParamRepo.hasExecParamValue(execParamRepo.EXTRACT_KEY)) {
-            logger.info("--input not provided. Will extract zip content in: " + execParamRepo
-                    .getExecParamValue(ExecParamRepository.EXTRACT_KEY));
+            logger.info("--extract not provided. Files will be read directly from the zip archive");
         }
 
         if (!execParamRepo.hasExecParamValue(execParamRepo.OUTPUT_KEY)) {
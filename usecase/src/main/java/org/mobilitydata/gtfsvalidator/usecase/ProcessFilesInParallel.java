@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import org.apache.logging.log4j.Logger;
+import org.mobilitydata.gtfsvalidator.usecase.port.TooManyValidationErrorException;
+import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Use case to process independent GTFS CSV files concurrently, on a pool of threads whose size is bounded by the
+ * number of threads provided in the constructor. The notices generated while processing a file are collected in a
+ * {@link ValidationResultRepository} dedicated to said file, then added to the main {@link ValidationResultRepository}
+ * in the order in which the files were provided: the content and the order of the validation report do not depend on
+ * thread scheduling.
+ */
+public class ProcessFilesInParallel {
+    private final ValidationResultRepository resultRepo;
+    private final Supplier<ValidationResultRepository> fileResultRepoSupplier;
+    private final int threadCount;
+    private final Logger logger;
+
+    /**
+     * @param resultRepo             a repository storing information about the validation process
+     * @param fileResultRepoSupplier supplies the repository collecting the notices generated while processing a file
+     * @param threadCount            the maximum number of files processed at the same time
+     * @param logger                 a logger displaying information about the validation process
+     */
+    public ProcessFilesInParallel(final ValidationResultRepository resultRepo,
+                                  final Supplier<ValidationResultRepository> fileResultRepoSupplier,
+                                  final int threadCount,
+                                  final Logger logger) {
+        this.resultRepo = resultRepo;
+        this.fileResultRepoSupplier = fileResultRepoSupplier;
+        this.threadCount = threadCount;
+        this.logger = logger;
+    }
+
+    /**
+     * Use case execution method: applies {@code fileProcessor} to each file of {@code filenameList}. With a single
+     * thread, files are processed one after the other on the calling thread and notices are directly added to the
+     * main {@link ValidationResultRepository}. Otherwise each file is processed on a thread of the pool with its own
+     * repository, and this method returns once all files have been processed and their notices added to the main
+     * repository. If the main repository throws a {@link TooManyValidationErrorException} while notices are added, the
+     * notices of the following files are discarded and the exception is thrown back to the caller once the files being
+     * processed are done.
+     *
+     * @param filenameList  the names of the files to process, in the order their notices should be reported
+     * @param fileProcessor the operation to perform on each file: receives the name of the file and the repository in
+     *                      which to add the notices generated while processing it
+     * @throws TooManyValidationErrorException if the validation process must be aborted on the first error
+     */
+    public void execute(final List<String> filenameList,
+                        final BiConsumer<String, ValidationResultRepository> fileProcessor)
+            throws TooManyValidationErrorException {
+        if (threadCount <= 1 || filenameList.size() <= 1) {
+            filenameList.forEach(filename -> fileProcessor.accept(filename, resultRepo));
+            return;
+        }
+
+        final int poolSize = Math.min(threadCount, filenameList.size());
+        logger.info("Processing " + filenameList.size() + " files on " + poolSize + " threads");
+        final ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            final List<Future<ValidationResultRepository>> futureList = new ArrayList<>(filenameList.size());
+            filenameList.forEach(filename -> futureList.add(executor.submit(() -> {
+                final ValidationResultRepository fileResultRepo = fileResultRepoSupplier.get();
+                try {
+                    fileProcessor.accept(filename, fileResultRepo);
+                } catch (TooManyValidationErrorException e) {
+                    // the notice that stopped the processing of this file is in fileResultRepo: the exception is
+                    // thrown again by the main repository when said notice is added to it
+                }
+                return fileResultRepo;
+            })));
+
+            for (final Future<ValidationResultRepository> future : futureList) {
+                getFileResultRepo(future).getAll().forEach(resultRepo::addNotice);
+            }
+        } finally {
+            // on failure or abort, no file task may add entities to the repository once this returns
+            ThreadPools.shutdownAndAwaitTermination(executor);
+        }
+    }
+
+    private static ValidationResultRepository getFileResultRepo(final Future<ValidationResultRepository> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for files to be processed", e);
+        } catch (ExecutionException e) {
+            // rethrow what the file processor has thrown so that it is handled as in sequential processing
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.Agency;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
@@ -33,6 +35,7 @@ public class ProcessParsedAgency {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final Agency.AgencyBuilder builder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
     public ProcessParsedAgency(final ValidationResultRepository resultRepository,
                                final GtfsDataRepository gtfsDataRepository,
@@ -54,14 +57,15 @@ public class ProcessParsedAgency {
      * @param validatedAgencyEntity entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedAgencyEntity) {
-        final String agencyId = (String) validatedAgencyEntity.get("agency_id");
-        final String agencyName = (String) validatedAgencyEntity.get("agency_name");
-        final String agencyUrl = (String) validatedAgencyEntity.get("agency_url");
-        final String agencyTimezone = (String) validatedAgencyEntity.get("agency_timezone");
-        final String agencyLang = (String) validatedAgencyEntity.get("agency_lang");
-        final String agencyPhone = (String) validatedAgencyEntity.get("agency_phone");
-        final String agencyFareUrl = (String) validatedAgencyEntity.get("agency_fare_url");
-        final String agencyEmail = (String) validatedAgencyEntity.get("agency_email");
+        final Columns columns = columnIndexResolver.resolve(validatedAgencyEntity.getHeaderIndex());
+        final String agencyId = (String) validatedAgencyEntity.get(columns.agencyId);
+        final String agencyName = (String) validatedAgencyEntity.get(columns.agencyName);
+        final String agencyUrl = (String) validatedAgencyEntity.get(columns.agencyUrl);
+        final String agencyTimezone = (String) validatedAgencyEntity.get(columns.agencyTimezone);
+        final String agencyLang = (String) validatedAgencyEntity.get(columns.agencyLang);
+        final String agencyPhone = (String) validatedAgencyEntity.get(columns.agencyPhone);
+        final String agencyFareUrl = (String) validatedAgencyEntity.get(columns.agencyFareUrl);
+        final String agencyEmail = (String) validatedAgencyEntity.get(columns.agencyEmail);
 
         builder.clear()
                 .agencyId(agencyId)
@@ -86,4 +90,29 @@ public class ProcessParsedAgency {
             ((List<Notice>) agency.getData()).forEach(resultRepository::addNotice);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Indexes of the columns read from the rows of agency.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int agencyId;
+        private final int agencyName;
+        private final int agencyUrl;
+        private final int agencyTimezone;
+        private final int agencyLang;
+        private final int agencyPhone;
+        private final int agencyFareUrl;
+        private final int agencyEmail;
+
+        private Columns(final HeaderIndex headerIndex) {
+            agencyId = headerIndex.indexOf("agency_id");
+            agencyName = headerIndex.indexOf("agency_name");
+            agencyUrl = headerIndex.indexOf("agency_url");
+            agencyTimezone = headerIndex.indexOf("agency_timezone");
+            agencyLang = headerIndex.indexOf("agency_lang");
+            agencyPhone = headerIndex.indexOf("agency_phone");
+            agencyFareUrl = headerIndex.indexOf("agency_fare_url");
+            agencyEmail = headerIndex.indexOf("agency_email");
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.Attribution;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
@@ -33,6 +35,7 @@ public class ProcessParsedAttribution {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final Attribution.AttributionBuilder builder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
     public ProcessParsedAttribution(final ValidationResultRepository resultRepository,
                                     final GtfsDataRepository gtfsDataRepository,
@@ -54,17 +57,18 @@ public class ProcessParsedAttribution {
      * @param validatedAttributionEntity entity to be process and added to the {@link GtfsDataRepository}
      */
     public void execute(final ParsedEntity validatedAttributionEntity) {
-        final String attributionId = (String) validatedAttributionEntity.get("attribution_id");
-        final String agencyId = (String) validatedAttributionEntity.get("agency_id");
-        final String routeId = (String) validatedAttributionEntity.get("route_id");
-        final String tripId = (String) validatedAttributionEntity.get("trip_id");
-        final String organizationName = (String) validatedAttributionEntity.get("organization_name");
-        final Integer isProducer = (Integer) validatedAttributionEntity.get("is_producer");
-        final Integer isAuthority = (Integer) validatedAttributionEntity.get("is_authority");
-        final Integer isOperator = (Integer) validatedAttributionEntity.get("is_operator");
-        final String attributionUrl = (String) validatedAttributionEntity.get("attribution_url");
-        final String attributionEmail = (String) validatedAttributionEntity.get("attribution_email");
-        final String attributionPhone = (String) validatedAttributionEntity.get("attribution_phone");
+        final Columns columns = columnIndexResolver.resolve(validatedAttributionEntity.getHeaderIndex());
+        final String attributionId = (String) validatedAttributionEntity.get(columns.attributionId);
+        final String agencyId = (String) validatedAttributionEntity.get(columns.agencyId);
+        final String routeId = (String) validatedAttributionEntity.get(columns.routeId);
+        final String tripId = (String) validatedAttributionEntity.get(columns.tripId);
+        final String organizationName = (String) validatedAttributionEntity.get(columns.organizationName);
+        final Integer isProducer = (Integer) validatedAttributionEntity.get(columns.isProducer);
+        final Integer isAuthority = (Integer) validatedAttributionEntity.get(columns.isAuthority);
+        final Integer isOperator = (Integer) validatedAttributionEntity.get(columns.isOperator);
+        final String attributionUrl = (String) validatedAttributionEntity.get(columns.attributionUrl);
+        final String attributionEmail = (String) validatedAttributionEntity.get(columns.attributionEmail);
+        final String attributionPhone = (String) validatedAttributionEntity.get(columns.attributionPhone);
 
         final EntityBuildResult<?> attribution = builder.attributionId(attributionId)
                 .clear()
@@ -92,4 +96,35 @@ public class ProcessParsedAttribution {
             ((List<Notice>) attribution.getData()).forEach(resultRepository::addNotice);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Indexes of the columns read from the rows of attributions.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int attributionId;
+        private final int agencyId;
+        private final int routeId;
+        private final int tripId;
+        private final int organizationName;
+        private final int isProducer;
+        private final int isAuthority;
+        private final int isOperator;
+        private final int attributionUrl;
+        private final int attributionEmail;
+        private final int attributionPhone;
+
+        private Columns(final HeaderIndex headerIndex) {
+            attributionId = headerIndex.indexOf("attribution_id");
+            agencyId = headerIndex.indexOf("agency_id");
+            routeId = headerIndex.indexOf("route_id");
+            tripId = headerIndex.indexOf("trip_id");
+            organizationName = headerIndex.indexOf("organization_name");
+            isProducer = headerIndex.indexOf("is_producer");
+            isAuthority = headerIndex.indexOf("is_authority");
+            isOperator = headerIndex.indexOf("is_operator");
+            attributionUrl = headerIndex.indexOf("attribution_url");
+            attributionEmail = headerIndex.indexOf("attribution_email");
+            attributionPhone = headerIndex.indexOf("attribution_phone");
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.Calendar;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
@@ -34,6 +36,7 @@ public class ProcessParsedCalendar {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final Calendar.CalendarBuilder builder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
     public ProcessParsedCalendar(final ValidationResultRepository resultRepository,
                                  final GtfsDataRepository gtfsDataRepository,
@@ -55,16 +58,17 @@ public class ProcessParsedCalendar {
      * @param validatedParsedCalendar entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedParsedCalendar) {
-        final String serviceId = (String) validatedParsedCalendar.get("service_id");
-        final Integer monday = (Integer) validatedParsedCalendar.get("monday");
-        final Integer tuesday = (Integer) validatedParsedCalendar.get("tuesday");
-        final Integer wednesday = (Integer) validatedParsedCalendar.get("wednesday");
-        final Integer thursday = (Integer) validatedParsedCalendar.get("thursday");
-        final Integer friday = (Integer) validatedParsedCalendar.get("friday");
-        final Integer saturday = (Integer) validatedParsedCalendar.get("saturday");
-        final Integer sunday = (Integer) validatedParsedCalendar.get("sunday");
-        final LocalDate startDate = (LocalDate) validatedParsedCalendar.get("start_date");
-        final LocalDate endDate = (LocalDate) validatedParsedCalendar.get("end_date");
+        final Columns columns = columnIndexResolver.resolve(validatedParsedCalendar.getHeaderIndex());
+        final String serviceId = (String) validatedParsedCalendar.get(columns.serviceId);
+        final Integer monday = (Integer) validatedParsedCalendar.get(columns.monday);
+        final Integer tuesday = (Integer) validatedParsedCalendar.get(columns.tuesday);
+        final Integer wednesday = (Integer) validatedParsedCalendar.get(columns.wednesday);
+        final Integer thursday = (Integer) validatedParsedCalendar.get(columns.thursday);
+        final Integer friday = (Integer) validatedParsedCalendar.get(columns.friday);
+        final Integer saturday = (Integer) validatedParsedCalendar.get(columns.saturday);
+        final Integer sunday = (Integer) validatedParsedCalendar.get(columns.sunday);
+        final LocalDate startDate = (LocalDate) validatedParsedCalendar.get(columns.startDate);
+        final LocalDate endDate = (LocalDate) validatedParsedCalendar.get(columns.endDate);
 
         builder.clear()
                 .serviceId(serviceId)
@@ -92,4 +96,33 @@ public class ProcessParsedCalendar {
             ((List<Notice>) calendar.getData()).forEach(resultRepository::addNotice);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Indexes of the columns read from the rows of calendar.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int serviceId;
+        private final int monday;
+        private final int tuesday;
+        private final int wednesday;
+        private final int thursday;
+        private final int friday;
+        private final int saturday;
+        private final int sunday;
+        private final int startDate;
+        private final int endDate;
+
+        private Columns(final HeaderIndex headerIndex) {
+            serviceId = headerIndex.indexOf("service_id");
+            monday = headerIndex.indexOf("monday");
+            tuesday = headerIndex.indexOf("tuesday");
+            wednesday = headerIndex.indexOf("wednesday");
+            thursday = headerIndex.indexOf("thursday");
+            friday = headerIndex.indexOf("friday");
+            saturday = headerIndex.indexOf("saturday");
+            sunday = headerIndex.indexOf("sunday");
+            startDate = headerIndex.indexOf("start_date");
+            endDate = headerIndex.indexOf("end_date");
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.calendardates.CalendarDate;
@@ -18,6 +20,7 @@ public class ProcessParsedCalendarDate {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final CalendarDate.CalendarDateBuilder builder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
     public ProcessParsedCalendarDate(final ValidationResultRepository resultRepository,
                                      final GtfsDataRepository gtfsDataRepository,
@@ -39,9 +42,10 @@ public class ProcessParsedCalendarDate {
      * @param validatedParsedRoute entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedParsedRoute) {
-        final String serviceId = (String) validatedParsedRoute.get("service_id");
-        final LocalDate date = (LocalDate) validatedParsedRoute.get("date");
-        final Integer exceptionType = (Integer) validatedParsedRoute.get("exception_type");
+        final Columns columns = columnIndexResolver.resolve(validatedParsedRoute.getHeaderIndex());
+        final String serviceId = (String) validatedParsedRoute.get(columns.serviceId);
+        final LocalDate date = (LocalDate) validatedParsedRoute.get(columns.date);
+        final Integer exceptionType = (Integer) validatedParsedRoute.get(columns.exceptionType);
 
         builder.clear()
                 .serviceId(serviceId)
@@ -62,4 +66,19 @@ public class ProcessParsedCalendarDate {
             ((List<Notice>) calendarDate.getData()).forEach(resultRepository::addNotice);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Indexes of the columns read from the rows of calendar_dates.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int serviceId;
+        private final int date;
+        private final int exceptionType;
+
+        private Columns(final HeaderIndex headerIndex) {
+            serviceId = headerIndex.indexOf("service_id");
+            date = headerIndex.indexOf("date");
+            exceptionType = headerIndex.indexOf("exception_type");
+        }
+    }
+}
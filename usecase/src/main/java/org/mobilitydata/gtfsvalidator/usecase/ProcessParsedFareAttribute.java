@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.fareattributes.FareAttribute;
@@ -33,6 +35,7 @@ public class ProcessParsedFareAttribute {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final FareAttribute.FareAttributeBuilder builder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
     public ProcessParsedFareAttribute(final ValidationResultRepository resultRepository,
                                       final GtfsDataRepository gtfsDataRepository,
@@ -54,13 +57,14 @@ public class ProcessParsedFareAttribute {
      * @param validatedFareAttribute entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedFareAttribute) {
-        final String fareId = (String) validatedFareAttribute.get("fare_id");
-        final Float price = (Float) validatedFareAttribute.get("price");
-        final String currencyType = (String) validatedFareAttribute.get("currency_type");
-        final Integer paymentMethod = (Integer) validatedFareAttribute.get("payment_method");
-        final Integer transfers = (Integer) validatedFareAttribute.get("transfers");
-        final String agencyId = (String) validatedFareAttribute.get("agency_id");
-        final Integer transferDuration = (Integer) validatedFareAttribute.get("transfer_duration");
+        final Columns columns = columnIndexResolver.resolve(validatedFareAttribute.getHeaderIndex());
+        final String fareId = (String) validatedFareAttribute.get(columns.fareId);
+        final Float price = (Float) validatedFareAttribute.get(columns.price);
+        final String currencyType = (String) validatedFareAttribute.get(columns.currencyType);
+        final Integer paymentMethod = (Integer) validatedFareAttribute.get(columns.paymentMethod);
+        final Integer transfers = (Integer) validatedFareAttribute.get(columns.transfers);
+        final String agencyId = (String) validatedFareAttribute.get(columns.agencyId);
+        final Integer transferDuration = (Integer) validatedFareAttribute.get(columns.transferDuration);
 
         builder.clear()
                 .fareId(fareId)
@@ -85,4 +89,27 @@ public class ProcessParsedFareAttribute {
             ((List<Notice>) fareAttribute.getData()).forEach(resultRepository::addNotice);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Indexes of the columns read from the rows of fare_attributes.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int fareId;
+        private final int price;
+        private final int currencyType;
+        private final int paymentMethod;
+        private final int transfers;
+        private final int agencyId;
+        private final int transferDuration;
+
+        private Columns(final HeaderIndex headerIndex) {
+            fareId = headerIndex.indexOf("fare_id");
+            price = headerIndex.indexOf("price");
+            currencyType = headerIndex.indexOf("currency_type");
+            paymentMethod = headerIndex.indexOf("payment_method");
+            transfers = headerIndex.indexOf("transfers");
+            agencyId = headerIndex.indexOf("agency_id");
+            transferDuration = headerIndex.indexOf("transfer_duration");
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.FareRule;
@@ -33,6 +35,7 @@ public class ProcessParsedFareRule {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final FareRule.FareRuleBuilder builder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
     public ProcessParsedFareRule(final ValidationResultRepository resultRepository,
                                  final GtfsDataRepository gtfsDataRepository,
@@ -54,11 +57,12 @@ public class ProcessParsedFareRule {
      * @param validatedParsedFareRuleEntity entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedParsedFareRuleEntity) {
-        final String fareId = (String) validatedParsedFareRuleEntity.get("fare_id");
-        final String routeId = (String) validatedParsedFareRuleEntity.get("route_id");
-        final String originId = (String) validatedParsedFareRuleEntity.get("origin_id");
-        final String destinationId = (String) validatedParsedFareRuleEntity.get("destination_id");
-        final String containsId = (String) validatedParsedFareRuleEntity.get("contains_id");
+        final Columns columns = columnIndexResolver.resolve(validatedParsedFareRuleEntity.getHeaderIndex());
+        final String fareId = (String) validatedParsedFareRuleEntity.get(columns.fareId);
+        final String routeId = (String) validatedParsedFareRuleEntity.get(columns.routeId);
+        final String originId = (String) validatedParsedFareRuleEntity.get(columns.originId);
+        final String destinationId = (String) validatedParsedFareRuleEntity.get(columns.destinationId);
+        final String containsId = (String) validatedParsedFareRuleEntity.get(columns.containsId);
 
         builder.clear()
                 .fareId(fareId)
@@ -82,4 +86,23 @@ public class ProcessParsedFareRule {
             ((List<Notice>) fareRule.getData()).forEach(resultRepository::addNotice);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Indexes of the columns read from the rows of fare_rules.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int fareId;
+        private final int routeId;
+        private final int originId;
+        private final int destinationId;
+        private final int containsId;
+
+        private Columns(final HeaderIndex headerIndex) {
+            fareId = headerIndex.indexOf("fare_id");
+            routeId = headerIndex.indexOf("route_id");
+            originId = headerIndex.indexOf("origin_id");
+            destinationId = headerIndex.indexOf("destination_id");
+            containsId = headerIndex.indexOf("contains_id");
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.FeedInfo;
@@ -34,6 +36,7 @@ public class ProcessParsedFeedInfo {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final FeedInfo.FeedInfoBuilder builder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
 
     public ProcessParsedFeedInfo(final ValidationResultRepository resultRepository,
@@ -56,14 +59,15 @@ public class ProcessParsedFeedInfo {
      * @param validatedFeedInfo entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedFeedInfo) {
-        final String feedPublisherName = (String) validatedFeedInfo.get("feed_publisher_name");
-        final String feedPublisherUrl = (String) validatedFeedInfo.get("feed_publisher_url");
-        final String feedLang = (String) validatedFeedInfo.get("feed_lang");
-        final LocalDate feedStartDate = (LocalDate) validatedFeedInfo.get("feed_start_date");
-        final LocalDate feedEndDate = (LocalDate) validatedFeedInfo.get("feed_end_date");
-        final String feedVersion = (String) validatedFeedInfo.get("feed_version");
-        final String feedContactEmail = (String) validatedFeedInfo.get("feed_contact_email");
-        final String feedContactUrl = (String) validatedFeedInfo.get("feed_contact_url");
+        final Columns columns = columnIndexResolver.resolve(validatedFeedInfo.getHeaderIndex());
+        final String feedPublisherName = (String) validatedFeedInfo.get(columns.feedPublisherName);
+        final String feedPublisherUrl = (String) validatedFeedInfo.get(columns.feedPublisherUrl);
+        final String feedLang = (String) validatedFeedInfo.get(columns.feedLang);
+        final LocalDate feedStartDate = (LocalDate) validatedFeedInfo.get(columns.feedStartDate);
+        final LocalDate feedEndDate = (LocalDate) validatedFeedInfo.get(columns.feedEndDate);
+        final String feedVersion = (String) validatedFeedInfo.get(columns.feedVersion);
+        final String feedContactEmail = (String) validatedFeedInfo.get(columns.feedContactEmail);
+        final String feedContactUrl = (String) validatedFeedInfo.get(columns.feedContactUrl);
 
         builder.clear()
                 .feedPublisherName(feedPublisherName)
@@ -89,4 +93,29 @@ public class ProcessParsedFeedInfo {
             ((List<Notice>) feedInfo.getData()).forEach(resultRepository::addNotice);
         }
     }
+
+    /**
+     * Indexes of the columns read from the rows of feed_info.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int feedPublisherName;
+        private final int feedPublisherUrl;
+        private final int feedLang;
+        private final int feedStartDate;
+        private final int feedEndDate;
+        private final int feedVersion;
+        private final int feedContactEmail;
+        private final int feedContactUrl;
+
+        private Columns(final HeaderIndex headerIndex) {
+            feedPublisherName = headerIndex.indexOf("feed_publisher_name");
+            feedPublisherUrl = headerIndex.indexOf("feed_publisher_url");
+            feedLang = headerIndex.indexOf("feed_lang");
+            feedStartDate = headerIndex.indexOf("feed_start_date");
+            feedEndDate = headerIndex.indexOf("feed_end_date");
+            feedVersion = headerIndex.indexOf("feed_version");
+            feedContactEmail = headerIndex.indexOf("feed_contact_email");
+            feedContactUrl = headerIndex.indexOf("feed_contact_url");
+        }
+    }
 }
@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.frequencies.Frequency;
@@ -35,6 +37,7 @@ public class ProcessParsedFrequency {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final TimeUtils timeUtils;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
     private final Frequency.FrequencyBuilder builder;
 
     public ProcessParsedFrequency(final ValidationResultRepository resultRepository,
@@ -59,13 +62,14 @@ public class ProcessParsedFrequency {
      * @param validatedFrequency entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedFrequency) {
-        final String tripId = (String) validatedFrequency.get("trip_id");
+        final Columns columns = columnIndexResolver.resolve(validatedFrequency.getHeaderIndex());
+        final String tripId = (String) validatedFrequency.get(columns.tripId);
         final Integer startTime = timeUtils.convertHHMMSSToIntFromNoonOfDayOfService(
-                (String) validatedFrequency.get("start_time"));
+                (String) validatedFrequency.get(columns.startTime));
         final Integer endTime = timeUtils.convertHHMMSSToIntFromNoonOfDayOfService(
-                (String) validatedFrequency.get("end_time"));
-        final Integer headwaySecs = (Integer) validatedFrequency.get("headway_secs");
-        final Integer exactTimes = (Integer) validatedFrequency.get("exact_times");
+                (String) validatedFrequency.get(columns.endTime));
+        final Integer headwaySecs = (Integer) validatedFrequency.get(columns.headwaySecs);
+        final Integer exactTimes = (Integer) validatedFrequency.get(columns.exactTimes);
 
         builder.clear()
                 .tripId(tripId)
@@ -88,4 +92,23 @@ public class ProcessParsedFrequency {
             ((List<Notice>) frequency.getData()).forEach(resultRepository::addNotice);
         }
     }
+
+    /**
+     * Indexes of the columns read from the rows of frequencies.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int tripId;
+        private final int startTime;
+        private final int endTime;
+        private final int headwaySecs;
+        private final int exactTimes;
+
+        private Columns(final HeaderIndex headerIndex) {
+            tripId = headerIndex.indexOf("trip_id");
+            startTime = headerIndex.indexOf("start_time");
+            endTime = headerIndex.indexOf("end_time");
+            headwaySecs = headerIndex.indexOf("headway_secs");
+            exactTimes = headerIndex.indexOf("exact_times");
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.Level;
@@ -17,6 +19,7 @@ public class ProcessParsedLevel {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final Level.LevelBuilder builder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
     public ProcessParsedLevel(final ValidationResultRepository resultRepository,
                               final GtfsDataRepository gtfsDataRepository,
@@ -38,9 +41,10 @@ public class ProcessParsedLevel {
      * @param validatedParsedLevel entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedParsedLevel) {
-        final String levelId = (String) validatedParsedLevel.get("level_id");
-        final Float levelIndex = (Float) validatedParsedLevel.get("level_index");
-        final String levelName = (String) validatedParsedLevel.get("level_name");
+        final Columns columns = columnIndexResolver.resolve(validatedParsedLevel.getHeaderIndex());
+        final String levelId = (String) validatedParsedLevel.get(columns.levelId);
+        final Float levelIndex = (Float) validatedParsedLevel.get(columns.levelIndex);
+        final String levelName = (String) validatedParsedLevel.get(columns.levelName);
 
         builder.clear()
                 .levelId(levelId)
@@ -60,4 +64,19 @@ public class ProcessParsedLevel {
             ((List<Notice>) level.getData()).forEach(resultRepository::addNotice);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Indexes of the columns read from the rows of levels.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int levelId;
+        private final int levelIndex;
+        private final int levelName;
+
+        private Columns(final HeaderIndex headerIndex) {
+            levelId = headerIndex.indexOf("level_id");
+            levelIndex = headerIndex.indexOf("level_index");
+            levelName = headerIndex.indexOf("level_name");
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.pathways.Pathway;
@@ -33,6 +35,7 @@ public class ProcessParsedPathway {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final Pathway.PathwayBuilder builder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
     public ProcessParsedPathway(final ValidationResultRepository resultRepository,
                                 final GtfsDataRepository gtfsDataRepository,
@@ -54,18 +57,19 @@ public class ProcessParsedPathway {
      * @param validatedParsedPathway entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedParsedPathway) {
-        final String pathwayId = (String) validatedParsedPathway.get("pathway_id");
-        final String fromStopId = (String) validatedParsedPathway.get("from_stop_id");
-        final String toStopId = (String) validatedParsedPathway.get("to_stop_id");
-        final Integer pathwayMode = (Integer) validatedParsedPathway.get("pathway_mode");
-        final Integer isBidirectional = (Integer) validatedParsedPathway.get("is_bidirectional");
-        final Float length = (Float) validatedParsedPathway.get("length");
-        final Integer traversalTime = (Integer) validatedParsedPathway.get("traversal_tine");
-        final Integer stairCount = (Integer) validatedParsedPathway.get("stair_count");
-        final Float maxSlope = (Float) validatedParsedPathway.get("max_slope");
-        final Float minWidth = (Float) validatedParsedPathway.get("min_width");
-        final String signpostedAs = (String) validatedParsedPathway.get("signposted_as");
-        final String reversedSignpostedAs = (String) validatedParsedPathway.get("reserved_signposted_as");
+        final Columns columns = columnIndexResolver.resolve(validatedParsedPathway.getHeaderIndex());
+        final String pathwayId = (String) validatedParsedPathway.get(columns.pathwayId);
+        final String fromStopId = (String) validatedParsedPathway.get(columns.fromStopId);
+        final String toStopId = (String) validatedParsedPathway.get(columns.toStopId);
+        final Integer pathwayMode = (Integer) validatedParsedPathway.get(columns.pathwayMode);
+        final Integer isBidirectional = (Integer) validatedParsedPathway.get(columns.isBidirectional);
+        final Float length = (Float) validatedParsedPathway.get(columns.length);
+        final Integer traversalTime = (Integer) validatedParsedPathway.get(columns.traversalTine);
+        final Integer stairCount = (Integer) validatedParsedPathway.get(columns.stairCount);
+        final Float maxSlope = (Float) validatedParsedPathway.get(columns.maxSlope);
+        final Float minWidth = (Float) validatedParsedPathway.get(columns.minWidth);
+        final String signpostedAs = (String) validatedParsedPathway.get(columns.signpostedAs);
+        final String reversedSignpostedAs = (String) validatedParsedPathway.get(columns.reservedSignpostedAs);
 
         builder.clear()
                 .pathwayId(pathwayId)
@@ -95,4 +99,37 @@ public class ProcessParsedPathway {
             ((List<Notice>) pathway.getData()).forEach(resultRepository::addNotice);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Indexes of the columns read from the rows of pathways.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int pathwayId;
+        private final int fromStopId;
+        private final int toStopId;
+        private final int pathwayMode;
+        private final int isBidirectional;
+        private final int length;
+        private final int traversalTine;
+        private final int stairCount;
+        private final int maxSlope;
+        private final int minWidth;
+        private final int signpostedAs;
+        private final int reservedSignpostedAs;
+
+        private Columns(final HeaderIndex headerIndex) {
+            pathwayId = headerIndex.indexOf("pathway_id");
+            fromStopId = headerIndex.indexOf("from_stop_id");
+            toStopId = headerIndex.indexOf("to_stop_id");
+            pathwayMode = headerIndex.indexOf("pathway_mode");
+            isBidirectional = headerIndex.indexOf("is_bidirectional");
+            length = headerIndex.indexOf("length");
+            traversalTine = headerIndex.indexOf("traversal_tine");
+            stairCount = headerIndex.indexOf("stair_count");
+            maxSlope = headerIndex.indexOf("max_slope");
+            minWidth = headerIndex.indexOf("min_width");
+            signpostedAs = headerIndex.indexOf("signposted_as");
+            reservedSignpostedAs = headerIndex.indexOf("reserved_signposted_as");
+        }
+    }
+}
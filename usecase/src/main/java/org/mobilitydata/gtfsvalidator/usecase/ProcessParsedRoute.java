@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.routes.Route;
@@ -33,6 +35,7 @@ public class ProcessParsedRoute {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final Route.RouteBuilder builder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
     public ProcessParsedRoute(final ValidationResultRepository resultRepository,
                               final GtfsDataRepository gtfsDataRepository,
@@ -54,16 +57,17 @@ public class ProcessParsedRoute {
      * @param validatedParsedRoute entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedParsedRoute) {
-        final String routeId = (String) validatedParsedRoute.get("route_id");
-        final String agencyId = (String) validatedParsedRoute.get("agency_id");
-        final String routeShortName = (String) validatedParsedRoute.get("route_short_name");
-        final String routeLongName = (String) validatedParsedRoute.get("route_long_name");
-        final String routeDesc = (String) validatedParsedRoute.get("route_desc");
-        final Integer routeType = (Integer) validatedParsedRoute.get("route_type");
-        final String routeUrl = (String) validatedParsedRoute.get("route_url");
-        final String routeColor = (String) validatedParsedRoute.get("route_color");
-        final String routeTextColor = (String) validatedParsedRoute.get("route_text_color");
-        final Integer routeSortOrder = (Integer) validatedParsedRoute.get("route_sort_order");
+        final Columns columns = columnIndexResolver.resolve(validatedParsedRoute.getHeaderIndex());
+        final String routeId = (String) validatedParsedRoute.get(columns.routeId);
+        final String agencyId = (String) validatedParsedRoute.get(columns.agencyId);
+        final String routeShortName = (String) validatedParsedRoute.get(columns.routeShortName);
+        final String routeLongName = (String) validatedParsedRoute.get(columns.routeLongName);
+        final String routeDesc = (String) validatedParsedRoute.get(columns.routeDesc);
+        final Integer routeType = (Integer) validatedParsedRoute.get(columns.routeType);
+        final String routeUrl = (String) validatedParsedRoute.get(columns.routeUrl);
+        final String routeColor = (String) validatedParsedRoute.get(columns.routeColor);
+        final String routeTextColor = (String) validatedParsedRoute.get(columns.routeTextColor);
+        final Integer routeSortOrder = (Integer) validatedParsedRoute.get(columns.routeSortOrder);
 
         builder.clear()
                 .routeId(routeId)
@@ -89,4 +93,33 @@ public class ProcessParsedRoute {
             ((List<Notice>) route.getData()).forEach(resultRepository::addNotice);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Indexes of the columns read from the rows of routes.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int routeId;
+        private final int agencyId;
+        private final int routeShortName;
+        private final int routeLongName;
+        private final int routeDesc;
+        private final int routeType;
+        private final int routeUrl;
+        private final int routeColor;
+        private final int routeTextColor;
+        private final int routeSortOrder;
+
+        private Columns(final HeaderIndex headerIndex) {
+            routeId = headerIndex.indexOf("route_id");
+            agencyId = headerIndex.indexOf("agency_id");
+            routeShortName = headerIndex.indexOf("route_short_name");
+            routeLongName = headerIndex.indexOf("route_long_name");
+            routeDesc = headerIndex.indexOf("route_desc");
+            routeType = headerIndex.indexOf("route_type");
+            routeUrl = headerIndex.indexOf("route_url");
+            routeColor = headerIndex.indexOf("route_color");
+            routeTextColor = headerIndex.indexOf("route_text_color");
+            routeSortOrder = headerIndex.indexOf("route_sort_order");
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
@@ -33,6 +35,7 @@ public class ProcessParsedShapePoint {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final ShapePoint.ShapeBuilder builder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
     public ProcessParsedShapePoint(final ValidationResultRepository resultRepository,
                                    final GtfsDataRepository gtfsDataRepository,
@@ -54,11 +57,12 @@ public class ProcessParsedShapePoint {
      * @param validatedShapeEntity entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedShapeEntity) {
-        final String shapeId = (String) validatedShapeEntity.get("shape_id");
-        final Float shapePtLat = (Float) validatedShapeEntity.get("shape_pt_lat");
-        final Float shapePtLon = (Float) validatedShapeEntity.get("shape_pt_lon");
-        final Integer shapePtSequence = (Integer) validatedShapeEntity.get("shape_pt_sequence");
-        final Float shapeDistTraveled = (Float) validatedShapeEntity.get("shape_dist_traveled");
+        final Columns columns = columnIndexResolver.resolve(validatedShapeEntity.getHeaderIndex());
+        final String shapeId = (String) validatedShapeEntity.get(columns.shapeId);
+        final Float shapePtLat = (Float) validatedShapeEntity.get(columns.shapePtLat);
+        final Float shapePtLon = (Float) validatedShapeEntity.get(columns.shapePtLon);
+        final Integer shapePtSequence = (Integer) validatedShapeEntity.get(columns.shapePtSequence);
+        final Float shapeDistTraveled = (Float) validatedShapeEntity.get(columns.shapeDistTraveled);
 
         builder.clear()
                 .shapeId(shapeId)
@@ -81,4 +85,23 @@ public class ProcessParsedShapePoint {
             ((List<Notice>) shape.getData()).forEach(resultRepository::addNotice);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Indexes of the columns read from the rows of shapes.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int shapeId;
+        private final int shapePtLat;
+        private final int shapePtLon;
+        private final int shapePtSequence;
+        private final int shapeDistTraveled;
+
+        private Columns(final HeaderIndex headerIndex) {
+            shapeId = headerIndex.indexOf("shape_id");
+            shapePtLat = headerIndex.indexOf("shape_pt_lat");
+            shapePtLon = headerIndex.indexOf("shape_pt_lon");
+            shapePtSequence = headerIndex.indexOf("shape_pt_sequence");
+            shapeDistTraveled = headerIndex.indexOf("shape_dist_traveled");
+        }
+    }
+}
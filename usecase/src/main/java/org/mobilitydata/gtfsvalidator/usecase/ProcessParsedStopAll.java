@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.*;
@@ -73,6 +75,7 @@ public class ProcessParsedStopAll {
     private final Entrance.EntranceBuilder entranceBuilder;
     private final GenericNode.GenericNodeBuilder genericNodeBuilder;
     private final BoardingArea.BoardingAreaBuilder boardingAreaBuilder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
     public ProcessParsedStopAll(final ValidationResultRepository resultRepo,
                                 final GtfsDataRepository gtfsRepo,
@@ -107,8 +110,9 @@ public class ProcessParsedStopAll {
 
         // first we iterate through all to resolve children
         parsedEntityByStopId.values().forEach(stop -> {
+            final Columns columns = getColumns(stop);
             final String childId = stop.getEntityId();
-            final String parentId = (String) stop.get("parent_station");
+            final String parentId = (String) stop.get(columns.parentStation);
             if (parentId != null) {
                 if (childrenPerStationId.containsKey(parentId)) {
                     childrenPerStationId.get(parentId).add(childId);
@@ -122,20 +126,22 @@ public class ProcessParsedStopAll {
 
         // then we transform rows to the corresponding concrete types, base on 'location_type'
         parsedEntityByStopId.values().forEach(stop -> {
-            Integer locationType = (Integer) stop.get("location_type");
+            // rows of stops.txt share their header index: the same columns locate the fields of the parent station
+            final Columns columns = getColumns(stop);
+            Integer locationType = (Integer) stop.get(columns.locationType);
             String stopId = stop.getEntityId();
-            String stopName = (String) stop.get("stop_name");
-            Float stopLat = (Float) stop.get("stop_lat");
-            Float stopLon = (Float) stop.get("stop_lon");
-            String stopCode = (String) stop.get("stop_code");
-            String stopDesc = (String) stop.get("stop_desc");
-            String zoneId = (String) stop.get("zone_id");
-            String stopUrl = (String) stop.get("stop_url");
-            String parentStation = (String) stop.get("parent_station");
-            String stopTimezone = (String) stop.get("stop_timezone");
-            Integer wheelchairBoarding = (Integer) stop.get("wheelchair_boarding");
-            String levelId = (String) stop.get("level_id");
-            String platformCode = (String) stop.get("platform_code");
+            String stopName = (String) stop.get(columns.stopName);
+            Float stopLat = (Float) stop.get(columns.stopLat);
+            Float stopLon = (Float) stop.get(columns.stopLon);
+            String stopCode = (String) stop.get(columns.stopCode);
+            String stopDesc = (String) stop.get(columns.stopDesc);
+            String zoneId = (String) stop.get(columns.zoneId);
+            String stopUrl = (String) stop.get(columns.stopUrl);
+            String parentStation = (String) stop.get(columns.parentStation);
+            String stopTimezone = (String) stop.get(columns.stopTimezone);
+            Integer wheelchairBoarding = (Integer) stop.get(columns.wheelchairBoarding);
+            String levelId = (String) stop.get(columns.levelId);
+            String platformCode = (String) stop.get(columns.platformCode);
 
             EntityBuildResult<?> stopEntityBuildResult = null;
 
@@ -143,7 +149,7 @@ public class ProcessParsedStopAll {
                 case STOP_OR_PLATFORM: {
                     if (parentStation != null) {
                         ParsedEntity parent = parsedEntityByStopId.get(parentStation);
-                        Integer parentLocationType = (Integer) parent.get("location_type");
+                        Integer parentLocationType = (Integer) parent.get(columns.locationType);
 
                         if (LocationType.fromInt(parentLocationType) != LocationType.STATION) {
                             resultRepository.addNotice(
@@ -156,10 +162,10 @@ public class ProcessParsedStopAll {
 
                         if (WheelchairBoarding.fromInt(wheelchairBoarding) ==
                                 WheelchairBoarding.UNKNOWN_WHEELCHAIR_BOARDING) {
-                            wheelchairBoarding = (Integer) parent.get("wheelchair_boarding");
+                            wheelchairBoarding = (Integer) parent.get(columns.wheelchairBoarding);
                         }
 
-                        stopTimezone = (String) parent.get("stop_timezone");
+                        stopTimezone = (String) parent.get(columns.stopTimezone);
                     } else if (stopTimezone == null && gtfsRepo.getAgencyCount() != 0) {
                         stopTimezone = gtfsRepo.getAgencyAll().values().iterator().next().getAgencyTimezone();
                     }
@@ -213,7 +219,7 @@ public class ProcessParsedStopAll {
                 case ENTRANCE: {
                     if (parentStation != null) {
                         ParsedEntity parent = parsedEntityByStopId.get(parentStation);
-                        Integer parentLocationType = (Integer) parent.get("location_type");
+                        Integer parentLocationType = (Integer) parent.get(columns.locationType);
 
                         if (LocationType.fromInt(parentLocationType) != LocationType.STATION) {
                             resultRepository.addNotice(
@@ -226,10 +232,10 @@ public class ProcessParsedStopAll {
 
                         if (WheelchairBoarding.fromInt(wheelchairBoarding) ==
                                 WheelchairBoarding.UNKNOWN_WHEELCHAIR_BOARDING) {
-                            wheelchairBoarding = (Integer) parent.get("wheelchair_boarding");
+                            wheelchairBoarding = (Integer) parent.get(columns.wheelchairBoarding);
                         }
 
-                        stopTimezone = (String) parent.get("stop_timezone");
+                        stopTimezone = (String) parent.get(columns.stopTimezone);
                     }
 
                     entranceBuilder.clear()
@@ -252,7 +258,7 @@ public class ProcessParsedStopAll {
                 case GENERIC_NODE: {
                     if (parentStation != null) {
                         ParsedEntity parent = parsedEntityByStopId.get(parentStation);
-                        Integer parentLocationType = (Integer) parent.get("location_type");
+                        Integer parentLocationType = (Integer) parent.get(columns.locationType);
 
                         if (LocationType.fromInt(parentLocationType) != LocationType.STATION) {
                             resultRepository.addNotice(
@@ -263,7 +269,7 @@ public class ProcessParsedStopAll {
                             );
                         }
 
-                        stopTimezone = (String) parent.get("stop_timezone");
+                        stopTimezone = (String) parent.get(columns.stopTimezone);
                     }
 
                     genericNodeBuilder.clear()
@@ -285,7 +291,7 @@ public class ProcessParsedStopAll {
                 case BOARDING_AREA: {
                     if (parentStation != null) {
                         ParsedEntity parent = parsedEntityByStopId.get(parentStation);
-                        Integer parentLocationType = (Integer) parent.get("location_type");
+                        Integer parentLocationType = (Integer) parent.get(columns.locationType);
 
                         if (LocationType.fromInt(parentLocationType) != LocationType.STOP_OR_PLATFORM) {
                             resultRepository.addNotice(
@@ -296,7 +302,7 @@ public class ProcessParsedStopAll {
                             );
                         }
 
-                        stopTimezone = (String) parent.get("stop_timezone");
+                        stopTimezone = (String) parent.get(columns.stopTimezone);
                     }
 
                     boardingAreaBuilder.clear()
@@ -328,4 +334,49 @@ public class ProcessParsedStopAll {
             }
         });
     }
+
+    /**
+     * Returns the indexes of the columns read from a row of stops.txt
+     *
+     * @param stop a row of stops.txt
+     * @return the indexes of the columns read from the row, resolved once per file
+     */
+    private Columns getColumns(final ParsedEntity stop) {
+        return columnIndexResolver.resolve(stop.getHeaderIndex());
+    }
+
+    /**
+     * Indexes of the columns read from the rows of stops.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int parentStation;
+        private final int locationType;
+        private final int stopName;
+        private final int stopLat;
+        private final int stopLon;
+        private final int stopCode;
+        private final int stopDesc;
+        private final int zoneId;
+        private final int stopUrl;
+        private final int stopTimezone;
+        private final int wheelchairBoarding;
+        private final int levelId;
+        private final int platformCode;
+
+        private Columns(final HeaderIndex headerIndex) {
+            parentStation = headerIndex.indexOf("parent_station");
+            locationType = headerIndex.indexOf("location_type");
+            stopName = headerIndex.indexOf("stop_name");
+            stopLat = headerIndex.indexOf("stop_lat");
+            stopLon = headerIndex.indexOf("stop_lon");
+            stopCode = headerIndex.indexOf("stop_code");
+            stopDesc = headerIndex.indexOf("stop_desc");
+            zoneId = headerIndex.indexOf("zone_id");
+            stopUrl = headerIndex.indexOf("stop_url");
+            stopTimezone = headerIndex.indexOf("stop_timezone");
+            wheelchairBoarding = headerIndex.indexOf("wheelchair_boarding");
+            levelId = headerIndex.indexOf("level_id");
+            platformCode = headerIndex.indexOf("platform_code");
+        }
+    }
 }
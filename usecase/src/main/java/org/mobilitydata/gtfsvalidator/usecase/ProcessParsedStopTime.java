@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
@@ -34,6 +36,7 @@ public class ProcessParsedStopTime {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final TimeUtils timeUtils;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
     private final StopTime.StopTimeBuilder builder;
 
     public ProcessParsedStopTime(final ValidationResultRepository resultRepository,
@@ -58,20 +61,21 @@ public class ProcessParsedStopTime {
      * @param validatedParsedStopTime entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedParsedStopTime) {
-        final String tripId = (String) validatedParsedStopTime.get("trip_id");
+        final Columns columns = columnIndexResolver.resolve(validatedParsedStopTime.getHeaderIndex());
+        final String tripId = (String) validatedParsedStopTime.get(columns.tripId);
         final Integer arrivalTime = timeUtils.convertHHMMSSToIntFromNoonOfDayOfService(
-                (String) validatedParsedStopTime.get("arrival_time"));
+                (String) validatedParsedStopTime.get(columns.arrivalTime));
         final Integer departureTime = timeUtils.convertHHMMSSToIntFromNoonOfDayOfService(
-                (String) validatedParsedStopTime.get("departure_time"));
-        final String stopId = (String) validatedParsedStopTime.get("stop_id");
-        final Integer stopSequence = (Integer) validatedParsedStopTime.get("stop_sequence");
-        final String stopHeadsign = (String) validatedParsedStopTime.get("stop_headsign");
-        final Integer pickupType = (Integer) validatedParsedStopTime.get("pickup_type");
-        final Integer dropOffType = (Integer) validatedParsedStopTime.get("drop_off_type");
-        final Integer continuousPickup = (Integer) validatedParsedStopTime.get("continuous_pickup");
-        final Integer continuousDropOff = (Integer) validatedParsedStopTime.get("continuous_drop_off");
-        final Float shapeDistTraveled = (Float) validatedParsedStopTime.get("shape_dist_traveled");
-        final Integer timepoint = (Integer) validatedParsedStopTime.get("timepoint");
+                (String) validatedParsedStopTime.get(columns.departureTime));
+        final String stopId = (String) validatedParsedStopTime.get(columns.stopId);
+        final Integer stopSequence = (Integer) validatedParsedStopTime.get(columns.stopSequence);
+        final String stopHeadsign = (String) validatedParsedStopTime.get(columns.stopHeadsign);
+        final Integer pickupType = (Integer) validatedParsedStopTime.get(columns.pickupType);
+        final Integer dropOffType = (Integer) validatedParsedStopTime.get(columns.dropOffType);
+        final Integer continuousPickup = (Integer) validatedParsedStopTime.get(columns.continuousPickup);
+        final Integer continuousDropOff = (Integer) validatedParsedStopTime.get(columns.continuousDropOff);
+        final Float shapeDistTraveled = (Float) validatedParsedStopTime.get(columns.shapeDistTraveled);
+        final Integer timepoint = (Integer) validatedParsedStopTime.get(columns.timepoint);
 
         builder.clear()
                 .tripId(tripId)
@@ -107,4 +111,37 @@ public class ProcessParsedStopTime {
             ((List<Notice>) stopTime.getData()).forEach(resultRepository::addNotice);
         }
     }
+
+    /**
+     * Indexes of the columns read from the rows of stop_times.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int tripId;
+        private final int arrivalTime;
+        private final int departureTime;
+        private final int stopId;
+        private final int stopSequence;
+        private final int stopHeadsign;
+        private final int pickupType;
+        private final int dropOffType;
+        private final int continuousPickup;
+        private final int continuousDropOff;
+        private final int shapeDistTraveled;
+        private final int timepoint;
+
+        private Columns(final HeaderIndex headerIndex) {
+            tripId = headerIndex.indexOf("trip_id");
+            arrivalTime = headerIndex.indexOf("arrival_time");
+            departureTime = headerIndex.indexOf("departure_time");
+            stopId = headerIndex.indexOf("stop_id");
+            stopSequence = headerIndex.indexOf("stop_sequence");
+            stopHeadsign = headerIndex.indexOf("stop_headsign");
+            pickupType = headerIndex.indexOf("pickup_type");
+            dropOffType = headerIndex.indexOf("drop_off_type");
+            continuousPickup = headerIndex.indexOf("continuous_pickup");
+            continuousDropOff = headerIndex.indexOf("continuous_drop_off");
+            shapeDistTraveled = headerIndex.indexOf("shape_dist_traveled");
+            timepoint = headerIndex.indexOf("timepoint");
+        }
+    }
 }
@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.transfers.Transfer;
@@ -33,6 +35,7 @@ public class ProcessParsedTransfer {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final Transfer.TransferBuilder builder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
     public ProcessParsedTransfer(final ValidationResultRepository resultRepository,
                                  final GtfsDataRepository gtfsDataRepository,
@@ -54,10 +57,11 @@ public class ProcessParsedTransfer {
      * @param validatedParsedTransfer entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedParsedTransfer) {
-        final String fromStopId = (String) validatedParsedTransfer.get("from_stop_id");
-        final String toStopId = (String) validatedParsedTransfer.get("to_stop_id");
-        final Integer transferType = (Integer) validatedParsedTransfer.get("transfer_type");
-        final Integer minTransferTime = (Integer) validatedParsedTransfer.get("min_transfer_time");
+        final Columns columns = columnIndexResolver.resolve(validatedParsedTransfer.getHeaderIndex());
+        final String fromStopId = (String) validatedParsedTransfer.get(columns.fromStopId);
+        final String toStopId = (String) validatedParsedTransfer.get(columns.toStopId);
+        final Integer transferType = (Integer) validatedParsedTransfer.get(columns.transferType);
+        final Integer minTransferTime = (Integer) validatedParsedTransfer.get(columns.minTransferTime);
 
         builder.clear()
                 .fromStopId(fromStopId)
@@ -79,4 +83,21 @@ public class ProcessParsedTransfer {
             ((List<Notice>) transfer.getData()).forEach(resultRepository::addNotice);
         }
     }
+
+    /**
+     * Indexes of the columns read from the rows of transfers.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int fromStopId;
+        private final int toStopId;
+        private final int transferType;
+        private final int minTransferTime;
+
+        private Columns(final HeaderIndex headerIndex) {
+            fromStopId = headerIndex.indexOf("from_stop_id");
+            toStopId = headerIndex.indexOf("to_stop_id");
+            transferType = headerIndex.indexOf("transfer_type");
+            minTransferTime = headerIndex.indexOf("min_transfer_time");
+        }
+    }
 }
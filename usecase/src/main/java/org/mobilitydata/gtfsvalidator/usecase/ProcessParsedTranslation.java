@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.translations.Translation;
@@ -33,6 +35,7 @@ public class ProcessParsedTranslation {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final Translation.TranslationBuilder builder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
     public ProcessParsedTranslation(final ValidationResultRepository resultRepository,
                                     final GtfsDataRepository gtfsDataRepository,
@@ -55,13 +58,14 @@ public class ProcessParsedTranslation {
      * @param validatedTranslation entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedTranslation) throws IllegalArgumentException {
-        final String tableName = (String) validatedTranslation.get("table_name");
-        final String fieldName = (String) validatedTranslation.get("field_name");
-        final String language = (String) validatedTranslation.get("language");
-        final String translation = (String) validatedTranslation.get("translation");
-        final String recordId = (String) validatedTranslation.get("record_id");
-        final String recordSubId = (String) validatedTranslation.get("record_sub_id");
-        final String fieldValue = (String) validatedTranslation.get("field_value");
+        final Columns columns = columnIndexResolver.resolve(validatedTranslation.getHeaderIndex());
+        final String tableName = (String) validatedTranslation.get(columns.tableName);
+        final String fieldName = (String) validatedTranslation.get(columns.fieldName);
+        final String language = (String) validatedTranslation.get(columns.language);
+        final String translation = (String) validatedTranslation.get(columns.translation);
+        final String recordId = (String) validatedTranslation.get(columns.recordId);
+        final String recordSubId = (String) validatedTranslation.get(columns.recordSubId);
+        final String fieldValue = (String) validatedTranslation.get(columns.fieldValue);
 
         builder.clear()
                 .tableName(tableName)
@@ -89,4 +93,27 @@ public class ProcessParsedTranslation {
             ((List<Notice>) translationEntity.getData()).forEach(resultRepository::addNotice);
         }
     }
+
+    /**
+     * Indexes of the columns read from the rows of translations.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int tableName;
+        private final int fieldName;
+        private final int language;
+        private final int translation;
+        private final int recordId;
+        private final int recordSubId;
+        private final int fieldValue;
+
+        private Columns(final HeaderIndex headerIndex) {
+            tableName = headerIndex.indexOf("table_name");
+            fieldName = headerIndex.indexOf("field_name");
+            language = headerIndex.indexOf("language");
+            translation = headerIndex.indexOf("translation");
+            recordId = headerIndex.indexOf("record_id");
+            recordSubId = headerIndex.indexOf("record_sub_id");
+            fieldValue = headerIndex.indexOf("field_value");
+        }
+    }
 }
@@ -16,6 +16,8 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.ColumnIndexResolver;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
@@ -33,6 +35,7 @@ public class ProcessParsedTrip {
     private final ValidationResultRepository resultRepository;
     private final GtfsDataRepository gtfsDataRepository;
     private final Trip.TripBuilder builder;
+    private final ColumnIndexResolver<Columns> columnIndexResolver = new ColumnIndexResolver<>(Columns::new);
 
     public ProcessParsedTrip(final ValidationResultRepository resultRepository,
                              final GtfsDataRepository gtfsDataRepository,
@@ -54,16 +57,17 @@ public class ProcessParsedTrip {
      * @param validatedTripEntity entity to be processed and added to the GTFS data repository
      */
     public void execute(final ParsedEntity validatedTripEntity) {
-        final String routeId = (String) validatedTripEntity.get("route_id");
-        final String serviceId = (String) validatedTripEntity.get("service_id");
-        final String tripId = (String) validatedTripEntity.get("trip_id");
-        final String tripHeadsign = (String) validatedTripEntity.get("trip_headsign");
-        final String tripShortName = (String) validatedTripEntity.get("trip_short_name");
-        final Integer directionId = (Integer) validatedTripEntity.get("direction_id");
-        final String blockId = (String) validatedTripEntity.get("block_id");
-        final String shapeId = (String) validatedTripEntity.get("shape_id");
-        final Integer wheelchairAccessible = (Integer) validatedTripEntity.get("wheelchair_accessible");
-        final Integer bikesAllowed = (Integer) validatedTripEntity.get("bikes_allowed");
+        final Columns columns = columnIndexResolver.resolve(validatedTripEntity.getHeaderIndex());
+        final String routeId = (String) validatedTripEntity.get(columns.routeId);
+        final String serviceId = (String) validatedTripEntity.get(columns.serviceId);
+        final String tripId = (String) validatedTripEntity.get(columns.tripId);
+        final String tripHeadsign = (String) validatedTripEntity.get(columns.tripHeadsign);
+        final String tripShortName = (String) validatedTripEntity.get(columns.tripShortName);
+        final Integer directionId = (Integer) validatedTripEntity.get(columns.directionId);
+        final String blockId = (String) validatedTripEntity.get(columns.blockId);
+        final String shapeId = (String) validatedTripEntity.get(columns.shapeId);
+        final Integer wheelchairAccessible = (Integer) validatedTripEntity.get(columns.wheelchairAccessible);
+        final Integer bikesAllowed = (Integer) validatedTripEntity.get(columns.bikesAllowed);
 
         builder.clear()
                 .routeId(routeId)
@@ -91,4 +95,33 @@ public class ProcessParsedTrip {
             ((ArrayList<Notice>) trip.getData()).forEach(resultRepository::addNotice);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Indexes of the columns read from the rows of trips.txt, resolved once per file
+     */
+    private static final class Columns {
+        private final int routeId;
+        private final int serviceId;
+        private final int tripId;
+        private final int tripHeadsign;
+        private final int tripShortName;
+        private final int directionId;
+        private final int blockId;
+        private final int shapeId;
+        private final int wheelchairAccessible;
+        private final int bikesAllowed;
+
+        private Columns(final HeaderIndex headerIndex) {
+            routeId = headerIndex.indexOf("route_id");
+            serviceId = headerIndex.indexOf("service_id");
+            tripId = headerIndex.indexOf("trip_id");
+            tripHeadsign = headerIndex.indexOf("trip_headsign");
+            tripShortName = headerIndex.indexOf("trip_short_name");
+            directionId = headerIndex.indexOf("direction_id");
+            blockId = headerIndex.indexOf("block_id");
+            shapeId = headerIndex.indexOf("shape_id");
+            wheelchairAccessible = headerIndex.indexOf("wheelchair_accessible");
+            bikesAllowed = headerIndex.indexOf("bikes_allowed");
+        }
+    }
+}
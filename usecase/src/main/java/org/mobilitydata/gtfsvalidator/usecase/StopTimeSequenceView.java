@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Read-only {@link SortedMap} of the stop times of a trip mapped on their `stop_sequence`, backed by arrays sorted by
+ * `stop_sequence`. The arrays are refilled by {@link #fill(SortedMap)} from one trip to the next without allocating,
+ * so that the stop times of a trip are materialized once for all the rules validating them. A view, as well as the
+ * range views it returns, is only valid until it is filled again.
+ */
+final class StopTimeSequenceView extends AbstractMap<Integer, StopTime> implements SortedMap<Integer, StopTime> {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Rows rows;
+    // range of the rows of this view, in the arrays of rows
+    private int start;
+    private int end;
+
+    StopTimeSequenceView() {
+        this(new Rows(), 0, 0);
+    }
+
+    private StopTimeSequenceView(final Rows rows, final int start, final int end) {
+        this.rows = rows;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Replaces the content of this view with the stop times of another trip, read once from {@code stopTimeSequence}
+     *
+     * @param stopTimeSequence the stop times of a trip mapped on their `stop_sequence`
+     * @return this view
+     */
+    StopTimeSequenceView fill(final SortedMap<Integer, StopTime> stopTimeSequence) {
+        final int previousSize = rows.size;
+        rows.ensureCapacity(stopTimeSequence.size());
+        int row = 0;
+        for (final Entry<Integer, StopTime> entry : stopTimeSequence.entrySet()) {
+            rows.stopSequences[row] = entry.getKey();
+            rows.stopTimes[row] = entry.getValue();
+            ++row;
+        }
+        // stop times of the previous trip are not retained
+        if (row < previousSize) {
+            Arrays.fill(rows.stopTimes, row, previousSize, null);
+        }
+        rows.size = row;
+        start = 0;
+        end = row;
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return end - start;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return end == start;
+    }
+
+    @Override
+    public StopTime get(final Object stopSequence) {
+        final int row = indexOf(stopSequence);
+        return row < 0 ? null : rows.stopTimes[row];
+    }
+
+    @Override
+    public boolean containsKey(final Object stopSequence) {
+        return indexOf(stopSequence) >= 0;
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super Integer, ? super StopTime> action) {
+        for (int row = start; row < end; ++row) {
+            action.accept(rows.stopSequences[row], rows.stopTimes[row]);
+        }
+    }
+
+    @Override
+    public Collection<StopTime> values() {
+        return Collections.unmodifiableList(Arrays.asList(rows.stopTimes).subList(start, end));
+    }
+
+    @Override
+    public Set<Entry<Integer, StopTime>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Integer, StopTime>> iterator() {
+                return new Iterator<>() {
+                    private int row = start;
+
+                    @Override
+                    public boolean hasNext() {
+                        return row < end;
+                    }
+
+                    @Override
+                    public Entry<Integer, StopTime> next() {
+                        if (row >= end) {
+                            throw new NoSuchElementException();
+                        }
+                        final Entry<Integer, StopTime> entry =
+                                new SimpleImmutableEntry<>(rows.stopSequences[row], rows.stopTimes[row]);
+                        ++row;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return end - start;
+            }
+        };
+    }
+
+    @Override
+    public Comparator<? super Integer> comparator() {
+        return null;
+    }
+
+    @Override
+    public SortedMap<Integer, StopTime> subMap(final Integer fromStopSequence, final Integer toStopSequence) {
+        if (fromStopSequence > toStopSequence) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        return new StopTimeSequenceView(rows, lowerBound(fromStopSequence), lowerBound(toStopSequence));
+    }
+
+    @Override
+    public SortedMap<Integer, StopTime> headMap(final Integer toStopSequence) {
+        return new StopTimeSequenceView(rows, start, lowerBound(toStopSequence));
+    }
+
+    @Override
+    public SortedMap<Integer, StopTime> tailMap(final Integer fromStopSequence) {
+        return new StopTimeSequenceView(rows, lowerBound(fromStopSequence), end);
+    }
+
+    @Override
+    public Integer firstKey() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return rows.stopSequences[start];
+    }
+
+    @Override
+    public Integer lastKey() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return rows.stopSequences[end - 1];
+    }
+
+    // row of a stop_sequence within the range of this view, negative if there is none
+    private int indexOf(final Object stopSequence) {
+        if (!(stopSequence instanceof Integer) || isEmpty()) {
+            return -1;
+        }
+        return Arrays.binarySearch(rows.stopSequences, start, end, (Integer) stopSequence);
+    }
+
+    // first row of the range of this view whose stop_sequence is not below a stop_sequence
+    private int lowerBound(final int stopSequence) {
+        final int row = Arrays.binarySearch(rows.stopSequences, start, end, stopSequence);
+        return row >= 0 ? row : -row - 1;
+    }
+
+    /**
+     * Stop times of a trip, shared by a view and the range views it returns
+     */
+    private static final class Rows {
+        private int[] stopSequences = new int[INITIAL_CAPACITY];
+        private StopTime[] stopTimes = new StopTime[INITIAL_CAPACITY];
+        private int size;
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity > stopSequences.length) {
+                final int length = Math.max(capacity, stopSequences.length * 2);
+                stopSequences = Arrays.copyOf(stopSequences, length);
+                stopTimes = Arrays.copyOf(stopTimes, length);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations on the pools of threads the use cases create to process files and to execute rules concurrently
+ */
+final class ThreadPools {
+
+    private ThreadPools() {
+    }
+
+    /**
+     * Cancels the tasks of a pool that have not started yet, interrupts the tasks running and waits for them to
+     * complete. Tasks reading or writing the GTFS data repository do not check for interruption: they are waited for
+     * so that none of them accesses the repository once it is frozen or closed. If the calling thread is interrupted
+     * while waiting, it keeps waiting and its interrupt status is restored once the pool has terminated.
+     *
+     * @param pool the pool to shut down
+     */
+    static void shutdownAndAwaitTermination(final ExecutorService pool) {
+        pool.shutdownNow();
+        boolean isInterrupted = false;
+        while (true) {
+            try {
+                if (pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
+
+import java.util.SortedMap;
+
+/**
+ * {@link ValidationRule} validating the stop times of each trip one trip after the other. Besides being executed on
+ * its own, such a rule can be fed by {@link ValidateTripStopTimes}, which walks the stop times of each trip once for
+ * all rules of this kind.
+ */
+public interface TripStopTimesValidationRule extends ValidationRule {
+    /**
+     * Called once before the first trip is visited: logs the rules validated and fetches from the GTFS data
+     * repository what is needed to visit trips
+     */
+    void beforeFirstTrip();
+
+    /**
+     * Validates the stop times of a trip
+     *
+     * @param tripId           the trip_id of the stop times
+     * @param trip             the trip from `trips.txt` identified by {@code tripId}, or null if there is no such trip
+     * @param stopTimeSequence the stop times of the trip mapped on their `stop_sequence`, empty if the trip has no
+     *                         stop time. The map is only valid during the call: it may be refilled with the stop
+     *                         times of the next trip, hence it is not to be kept.
+     */
+    void visitTrip(String tripId, Trip trip, SortedMap<Integer, StopTime> stopTimeSequence);
+
+    /**
+     * Called once after the last trip has been visited, for rules validating several trips together
+     */
+    default void afterLastTrip() {
+    }
+}
@@ -32,7 +32,9 @@ import java.util.zip.ZipFile;
 
 /**
  * Use case to unzip an archive containing the GTFS dataset to validate. This step intervenes after the said archive
- * has been downloaded from the network.
+ * has been downloaded from the network. If no extraction path is provided, the content of the archive is not written
+ * to disk: the files it contains are only registered in the {@link RawFileRepository}, with the path of the archive
+ * as location, so that they can be read directly from it.
  */
 public class UnzipInputArchive {
     private static final String INVALID_FILENAME_PREFIX_STRING = "__MACOSX";
@@ -46,7 +48,8 @@ public class UnzipInputArchive {
     /**
      *
      * @param fileRepo            a repository storing information about a GTFS dataset
-     * @param zipExtractPath      a path pointing to the target directory
+     * @param zipExtractPath      a path pointing to the target directory, or null to read files from the archive
+     *                            without extracting them
      * @param resultRepo          a repository storing information about the validation process
      * @param logger              a logger to log information regarding the validation process
      * @param inputZip            the zip file to unzip
@@ -67,29 +70,31 @@ public class UnzipInputArchive {
     }
 
     /**
-     * Use case execution method. Tries to unzip an archive, if the process fails then
+     * Use case execution method. Registers each file of the archive in the {@link RawFileRepository} provided in the
+     * constructor, after extracting it if an extraction path was provided. If the process fails then
      * a {@link CannotUnzipInputArchiveNotice} is generated and added to the {@link ValidationResultRepository} provided
      * in the constructor.
      */
-
-
-    //fonction de dezipage des fichiers du input.zip vers le dossier input
     public void execute() {
-
-        logger.info("Unzipping archive");
+        if (zipExtractPath == null) {
+            logger.info("Reading archive entries");
+        } else {
+            logger.info("Unzipping archive");
+        }
 
         final Enumeration<? extends ZipEntry> zipEntries = inputZip.entries();
-        //entry represente le fichier en cours
-        //zipExtractPath: le lien vers le repertoir input
-        //resultRepo : l'ensemble des erreurs detectes
-        //inputZip : le lien vers le fichier a deziper
         zipEntries.asIterator().forEachRemaining(entry -> {
             if (!entry.getName().contains(INVALID_FILENAME_PREFIX_STRING)) {
                 try {
                     if (entry.isDirectory()) {
                         resultRepo.addNotice(new InputZipContainsFolderNotice(inputZip.getName(), entry.getName()));
+                    } else if (zipExtractPath == null) {
+                        rawFileRepo.create(
+                                rawFileInfoBuilder.filename(entry.getName())
+                                        .path(inputZip.getName())
+                                        .build()
+                        );
                     } else {
-                        System.out.println();
                         final Path fileToCreate = zipExtractPath.resolve(entry.getName());
                         Files.copy(inputZip.getInputStream(entry), fileToCreate);
                         rawFileRepo.create(
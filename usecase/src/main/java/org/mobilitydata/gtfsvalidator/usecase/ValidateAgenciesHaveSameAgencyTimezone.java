@@ -28,7 +28,7 @@ import java.util.Set;
  * Use case to validate that all rows of file agency.txt have an identical value for field agency_timezone
  * This use case is triggered after defining the content of the {@code GtfsDataRepository} provided in the constructor.
  */
-public class ValidateAgenciesHaveSameAgencyTimezone {
+public class ValidateAgenciesHaveSameAgencyTimezone implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -46,11 +46,17 @@ public class ValidateAgenciesHaveSameAgencyTimezone {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("agency.txt");
+    }
+
     /**
      * Use case execution method: checks if every record of file agency.txt have the same value for field agency_timezone
      * If a row from agency.txt has a different value for said field an error notice is generated and added to the
      * {@code ValidationResultRepository} provided in the constructor
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'E030 - Different 'agency_timezone'");
         final Set<String> timezoneCollection = new HashSet<>();
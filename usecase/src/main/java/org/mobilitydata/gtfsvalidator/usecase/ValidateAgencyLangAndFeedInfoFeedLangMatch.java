@@ -28,7 +28,7 @@ import java.util.Set;
  * Use case to validate that `agency.agency_lang` and `feed_info.feed_lang` match. This use case is triggered after
  * completing the {@code GtfsDataRepository} provided in the constructor with {@code FeedInfo} entities.
  */
-public class ValidateAgencyLangAndFeedInfoFeedLangMatch {
+public class ValidateAgencyLangAndFeedInfoFeedLangMatch implements ValidationRule {
     private static final String MUL = "mul";
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
@@ -47,12 +47,18 @@ public class ValidateAgencyLangAndFeedInfoFeedLangMatch {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("agency.txt", "feed_info.txt");
+    }
+
     /**
      * Use case execution method: checks if for each {@code Agency} defines a value for `agency.agency_lang` that
      * matches the value contained in `feed_info.feed_lang` if `feed_info.txt` is provided. If this requirement is not
      * met, a {@code FeedInfoLangAgencyLangMismatchNotice} is added to the {@code ValidationResultRepo} provided
      * in the constructor.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'E055 - Mismatching feed and agency language fields'");
 
@@ -21,7 +21,7 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.BackwardsTimeTr
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mobilitydata.gtfsvalidator.usecase.utils.TimeUtils;
 
-import java.util.TreeMap;
+import java.util.SortedMap;
 
 /**
  * Use case to validate that for a given `trip_id`, the `arrival_time` of (n+1)-th stoptime in sequence does not precede
@@ -30,7 +30,7 @@ import java.util.TreeMap;
 public class ValidateBackwardsTimeTravelForStops {
 
     public void execute(final ValidationResultRepository resultRepo,
-                        final TreeMap<Integer, StopTime> stopTimeSequence,
+                        final SortedMap<Integer, StopTime> stopTimeSequence,
                         final TimeUtils timeUtils) {
 
         // get previous stoptime relevant information
@@ -39,10 +39,12 @@ public class ValidateBackwardsTimeTravelForStops {
             Integer stopSequence = null;
         };
 
-        if (stopTimeSequence.lastEntry().getValue().getDepartureTime() != null &&
-                stopTimeSequence.lastEntry().getValue().getArrivalTime() != null &&
-                stopTimeSequence.firstEntry().getValue().getDepartureTime() != null &&
-                stopTimeSequence.firstEntry().getValue().getArrivalTime() != null) {
+        final StopTime firstStopTime = stopTimeSequence.get(stopTimeSequence.firstKey());
+        final StopTime lastStopTime = stopTimeSequence.get(stopTimeSequence.lastKey());
+        if (lastStopTime.getDepartureTime() != null &&
+                lastStopTime.getArrivalTime() != null &&
+                firstStopTime.getDepartureTime() != null &&
+                firstStopTime.getArrivalTime() != null) {
             stopTimeSequence.forEach((stopSequence, stopTime) -> {
 
                 if (stopTime.getArrivalTime() != null && previousStopTimeData.departureTime != null) {
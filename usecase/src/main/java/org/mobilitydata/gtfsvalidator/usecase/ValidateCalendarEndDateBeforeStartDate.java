@@ -21,10 +21,12 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.CalendarEndDate
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
+import java.util.Set;
+
 /**
  * Use case for E032 to validate that a calendar.txt end_date must not be earlier than the start_date.
  */
-public class ValidateCalendarEndDateBeforeStartDate {
+public class ValidateCalendarEndDateBeforeStartDate implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -41,11 +43,17 @@ public class ValidateCalendarEndDateBeforeStartDate {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("calendar.txt");
+    }
+
     /**
      * Use case execution method: Checks if `end_date` of a service record is earlier than the `start_date` for every
      * Calendar entry in a {@link GtfsDataRepository}. A new notice is generated each time this condition is true.
      * This notice is then added to the {@link ValidationResultRepository} provided in the constructor.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'E032 - calendar.txt end_date is before start_date'");
         dataRepo.getCalendarAll().values().stream()
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import org.apache.logging.log4j.Logger;
+import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
+import org.mobilitydata.gtfsvalidator.domain.entity.RawEntity;
+import org.mobilitydata.gtfsvalidator.domain.entity.RawFileInfo;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.base.ErrorNotice;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.*;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.warning.MalformedCsvRowNotice;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.warning.NonStandardHeaderNotice;
+import org.mobilitydata.gtfsvalidator.usecase.port.GtfsSpecRepository;
+import org.mobilitydata.gtfsvalidator.usecase.port.MalformedCsvRowException;
+import org.mobilitydata.gtfsvalidator.usecase.port.RawFileRepository;
+import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Use case to validate the structure of a GTFS CSV file and to parse its rows in a single pass over the file. This
+ * checks that the file is not empty, validates its headers and the length of each row, and parses each row, all from
+ * one {@link RawFileRepository.RawEntityProvider} so that the file is opened and tokenized only once.
+ * If executors are provided, the file is processed by a pipeline of three stages connected by a bounded queue: a
+ * reader thread splits the file into chunks of rows, the chunks are tokenized, parsed and their types validated
+ * concurrently on a pool of threads, and the calling thread hands over the notices and the parsed entities of each
+ * chunk in the order of the file. Reading overlaps with parsing and with the processing of the parsed entities, while
+ * the bounded queue keeps the number of chunks held in memory constant: the reader waits whenever the calling thread
+ * falls behind. The result does not depend on thread scheduling.
+ */
+public class ValidateCsvStructureAndTypesForFile {
+
+    private final RawFileInfo rawFileInfo;
+    private final GtfsSpecRepository specRepo;
+    private final RawFileRepository rawFileRepo;
+    private final ValidationResultRepository resultRepo;
+    private final Logger logger;
+    private final ExecutorService readExecutor;
+    private final ExecutorService chunkExecutor;
+    private final int maxPendingChunkCount;
+
+    // marks the end of the chunks of a file in the queue of parsed chunks
+    private static final Future<List<Runnable>> END_OF_FILE = CompletableFuture.completedFuture(List.of());
+
+    /**
+     * @param rawFileInfo an object containing information regarding a file location and expected content
+     * @param specRepo    a repository storing information about the GTFS specification used
+     * @param rawFileRepo a repository storing information about a GTFS dataset
+     * @param resultRepo  a repository storing information about the validation process
+     * @param logger      a logger displaying information about the validation process
+     */
+    public ValidateCsvStructureAndTypesForFile(final RawFileInfo rawFileInfo,
+                                               final GtfsSpecRepository specRepo,
+                                               final RawFileRepository rawFileRepo,
+                                               final ValidationResultRepository resultRepo,
+                                               final Logger logger) {
+        this(rawFileInfo, specRepo, rawFileRepo, resultRepo, logger, null, null, 1);
+    }
+
+    /**
+     * @param rawFileInfo          an object containing information regarding a file location and expected content
+     * @param specRepo             a repository storing information about the GTFS specification used
+     * @param rawFileRepo          a repository storing information about a GTFS dataset
+     * @param resultRepo           a repository storing information about the validation process
+     * @param logger               a logger displaying information about the validation process
+     * @param readExecutor         the executor on which the file is split into chunks of rows. Each file being read
+     *                             takes one of its threads until all its chunks are submitted, hence it must not be
+     *                             bounded. Required if {@code chunkExecutor} is provided
+     * @param chunkExecutor        the executor on which chunks of rows are tokenized, parsed and their types
+     *                             validated, or null to process the file sequentially on the calling thread
+     * @param maxPendingChunkCount the maximum number of chunks submitted to {@code chunkExecutor} whose rows have not
+     *                             been handed over yet: bounds the memory used by rows parsed ahead
+     */
+    public ValidateCsvStructureAndTypesForFile(final RawFileInfo rawFileInfo,
+                                               final GtfsSpecRepository specRepo,
+                                               final RawFileRepository rawFileRepo,
+                                               final ValidationResultRepository resultRepo,
+                                               final Logger logger,
+                                               final ExecutorService readExecutor,
+                                               final ExecutorService chunkExecutor,
+                                               final int maxPendingChunkCount) {
+        if (chunkExecutor != null && readExecutor == null) {
+            throw new IllegalArgumentException("Chunks of rows cannot be parsed concurrently without a read executor");
+        }
+        this.rawFileInfo = rawFileInfo;
+        this.specRepo = specRepo;
+        this.rawFileRepo = rawFileRepo;
+        this.resultRepo = resultRepo;
+        this.logger = logger;
+        this.readExecutor = readExecutor;
+        this.chunkExecutor = chunkExecutor;
+        this.maxPendingChunkCount = Math.max(1, maxPendingChunkCount);
+    }
+
+    /**
+     * Use case execution method: reads the file linked to the {@link RawFileInfo} once and
+     * - adds a {@link EmptyFileErrorNotice} if the file has no content at all, or if it has headers but no row of data
+     * and is required. Adds a {@link EmptyFileWarningNotice} if it is optional and has headers but no row of data;
+     * - adds a {@link MissingHeaderNotice} for each required header missing, a {@link DuplicatedHeaderNotice} for
+     * each duplicated header and a {@link NonStandardHeaderNotice} for each header not defined in the specification;
+     * - adds a {@link InvalidRowLengthNotice} for each row whose length does not match the number of headers, or a
+     * {@link MalformedCsvRowNotice} if that row is blank;
+     * - parses each row, adding a notice for each value that cannot be parsed to the type of its column, and hands
+     * over each row successfully parsed to the {@code parsedEntityConsumer} provided as parameter.
+     * When the file is processed sequentially, the same {@link ParsedEntity} is reused for all its rows: an entity
+     * handed over is only valid until the consumer returns, {@link ParsedEntity#snapshot()} returns a copy that can be
+     * kept.
+     *
+     * @param parsedEntityConsumer the operation to perform on each row parsed from the file
+     */
+    public void execute(final Consumer<ParsedEntity> parsedEntityConsumer) {
+        execute(null, parsedEntityConsumer);
+    }
+
+    /**
+     * Use case execution method: performs the checks of {@link #execute(Consumer)}, and validates the types of each
+     * row parsed with {@code validateGtfsTypes} before handing it over to {@code parsedEntityConsumer}. Type
+     * validation is performed along with parsing, concurrently if executors were provided; its notices are added after
+     * the parsing notices of the same row.
+     *
+     * @param validateGtfsTypes    the use case validating the types of each row parsed, or null if types are not to be
+     *                             validated
+     * @param parsedEntityConsumer the operation to perform on each row parsed from the file
+     */
+    public void execute(final ValidateGtfsTypes validateGtfsTypes, final Consumer<ParsedEntity> parsedEntityConsumer) {
+        logger.info("Validating rules :'E039 & W009 - Empty file'");
+        logger.info("                  'E001 - Missing required field");
+        logger.info("                  'E043 - Duplicated field");
+        logger.info("                  'W002 - Non standard field name");
+
+        // the file is closed once processed, whether or not all its rows have been read
+        try (RawFileRepository.RawEntityProvider provider = rawFileRepo.getProviderForFile(rawFileInfo).orElse(null)) {
+            final List<String> actualHeaderList = provider == null ? Collections.emptyList() : provider.getHeaders();
+
+            if (actualHeaderList.isEmpty()) {
+                resultRepo.addNotice(new EmptyFileErrorNotice(rawFileInfo.getFilename()));
+            } else if (!provider.hasNext()) {
+                if (specRepo.getRequiredFilenameList().contains(rawFileInfo.getFilename())) {
+                    resultRepo.addNotice(new EmptyFileErrorNotice(rawFileInfo.getFilename()));
+                } else {
+                    resultRepo.addNotice(new EmptyFileWarningNotice(rawFileInfo.getFilename()));
+                }
+            }
+
+            validateHeaders(actualHeaderList);
+
+            if (actualHeaderList.isEmpty()) {
+                return;
+            }
+
+            final GtfsSpecRepository.RawEntityParser parser = specRepo.getParserForFile(rawFileInfo);
+            final int headerCount = provider.getHeaderCount();
+
+            if (chunkExecutor == null) {
+                processRows(provider, parser, validateGtfsTypes, headerCount, resultRepo::addNotice,
+                        parsedEntityConsumer);
+            } else {
+                processChunks(provider.chunkIterator(), parser, validateGtfsTypes, headerCount, parsedEntityConsumer);
+            }
+        }
+    }
+
+    /**
+     * Validates the length of each row provided, parses it and validates its types. All the rows are read into the
+     * same {@link RawEntity} and parsed into the same {@link ParsedEntity}, only valid until the next row is read.
+     *
+     * @param provider             the provider of the rows to process
+     * @param parser               the parser of the rows of the file
+     * @param validateGtfsTypes    the use case validating the types of each row parsed, or null
+     * @param headerCount          the number of headers of the file
+     * @param noticeConsumer       the operation to perform on each notice generated, in the order of the rows
+     * @param parsedEntityConsumer the operation to perform on each row parsed, after the notices of said row
+     */
+    private void processRows(final RawFileRepository.RawEntityProvider provider,
+                             final GtfsSpecRepository.RawEntityParser parser,
+                             final ValidateGtfsTypes validateGtfsTypes,
+                             final int headerCount,
+                             final Consumer<Notice> noticeConsumer,
+                             final Consumer<ParsedEntity> parsedEntityConsumer) {
+        final List<ErrorNotice> rowNoticeList = new ArrayList<>();
+        ParsedEntity reusedEntity = null;
+
+        while (provider.hasNext()) {
+            final RawEntity rawEntity = provider.getNext();
+
+            if (rawEntity.size() != headerCount) {
+                if (rawEntity.isBlankLine()) {
+                    noticeConsumer.accept(new MalformedCsvRowNotice(rawFileInfo.getFilename(), rawEntity.getIndex()));
+                } else {
+                    noticeConsumer.accept(new InvalidRowLengthNotice(
+                            rawFileInfo.getFilename(),
+                            rawEntity.getIndex(),
+                            headerCount,
+                            rawEntity.size())
+                    );
+                }
+            }
+
+            ParsedEntity parsedEntity = null;
+            try {
+                parsedEntity = parser.parse(rawEntity, reusedEntity, rowNoticeList);
+                reusedEntity = parsedEntity;
+            } catch (MalformedCsvRowException e) {
+                // blank lines are skipped, they have already been reported if their length is invalid
+            }
+            rowNoticeList.forEach(noticeConsumer);
+            rowNoticeList.clear();
+            if (parsedEntity != null) {
+                if (validateGtfsTypes != null) {
+                    validateGtfsTypes.execute(parsedEntity, noticeConsumer);
+                }
+                parsedEntityConsumer.accept(parsedEntity);
+            }
+        }
+    }
+
+    /**
+     * Processes chunks of rows through the pipeline: the chunks are read on the read executor and submitted to the
+     * chunk executor, where each chunk records the operations its rows lead to. Said operations are then performed on
+     * the calling thread, chunk after chunk, in the order of the file: parsed entities outlive the parsing of their
+     * chunk, hence each of them is a snapshot. At most {@code maxPendingChunkCount} parsed
+     * chunks wait in the queue between the reader and the calling thread.
+     *
+     * @param chunkIterator        the providers of consecutive chunks of rows, in the order of the file
+     * @param parser               the parser of the rows of the file
+     * @param validateGtfsTypes    the use case validating the types of each row parsed, or null
+     * @param headerCount          the number of headers of the file
+     * @param parsedEntityConsumer the operation to perform on each row parsed
+     */
+    private void processChunks(final Iterator<RawFileRepository.RawEntityProvider> chunkIterator,
+                               final GtfsSpecRepository.RawEntityParser parser,
+                               final ValidateGtfsTypes validateGtfsTypes,
+                               final int headerCount,
+                               final Consumer<ParsedEntity> parsedEntityConsumer) {
+        final BlockingQueue<Future<List<Runnable>>> parsedChunkQueue = new ArrayBlockingQueue<>(maxPendingChunkCount);
+        final Future<?> readTask = readExecutor.submit(() -> readChunks(chunkIterator, parsedChunkQueue,
+                chunkProvider -> {
+                    final List<Runnable> rowOperationList = new ArrayList<>();
+                    try (chunkProvider) {
+                        processRows(chunkProvider, parser, validateGtfsTypes, headerCount,
+                                notice -> rowOperationList.add(() -> resultRepo.addNotice(notice)),
+                                parsedEntity -> {
+                                    final ParsedEntity snapshot = parsedEntity.snapshot();
+                                    rowOperationList.add(() -> parsedEntityConsumer.accept(snapshot));
+                                });
+                    }
+                    return rowOperationList;
+                }));
+        try {
+            Future<List<Runnable>> parsedChunk = takeParsedChunk(parsedChunkQueue);
+            while (parsedChunk != END_OF_FILE) {
+                getChunkResult(parsedChunk).forEach(Runnable::run);
+                parsedChunk = takeParsedChunk(parsedChunkQueue);
+            }
+        } finally {
+            // chunks read ahead are not needed anymore if the processing of the file stopped on an exception
+            readTask.cancel(true);
+            parsedChunkQueue.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * First stage of the pipeline: submits each chunk of the file to the chunk executor and queues the pending result,
+     * waiting for room in the queue when the calling thread falls behind. Queues {@link #END_OF_FILE} once all chunks
+     * are submitted, or a failed result if the file cannot be read further.
+     *
+     * @param chunkIterator    the providers of consecutive chunks of rows, in the order of the file
+     * @param parsedChunkQueue the bounded queue of the pending results of the chunks, in the order of the file
+     * @param chunkProcessor   the operation to perform on each chunk on the chunk executor
+     */
+    private void readChunks(final Iterator<RawFileRepository.RawEntityProvider> chunkIterator,
+                            final BlockingQueue<Future<List<Runnable>>> parsedChunkQueue,
+                            final Function<RawFileRepository.RawEntityProvider, List<Runnable>> chunkProcessor) {
+        Future<List<Runnable>> parsedChunk = null;
+        try {
+            try {
+                while (chunkIterator.hasNext()) {
+                    final RawFileRepository.RawEntityProvider chunkProvider = chunkIterator.next();
+                    parsedChunk = chunkExecutor.submit(() -> chunkProcessor.apply(chunkProvider));
+                    parsedChunkQueue.put(parsedChunk);
+                    parsedChunk = null;
+                }
+                parsedChunk = END_OF_FILE;
+            } catch (RuntimeException | Error e) {
+                // handed over to the calling thread, which rethrows it after the chunks read before
+                final CompletableFuture<List<Runnable>> failedChunk = new CompletableFuture<>();
+                failedChunk.completeExceptionally(e);
+                parsedChunk = failedChunk;
+            }
+            parsedChunkQueue.put(parsedChunk);
+        } catch (InterruptedException e) {
+            // the calling thread stopped processing the file
+            if (parsedChunk != null) {
+                parsedChunk.cancel(true);
+            }
+        }
+    }
+
+    private static Future<List<Runnable>> takeParsedChunk(final BlockingQueue<Future<List<Runnable>>> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for rows to be parsed", e);
+        }
+    }
+
+    private static List<Runnable> getChunkResult(final Future<List<Runnable>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for rows to be parsed", e);
+        } catch (ExecutionException e) {
+            // rethrow what was thrown while reading the chunk so that it is handled as in sequential processing
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void validateHeaders(final List<String> actualHeaderList) {
+        final List<String> expectedRequiredHeaderList = specRepo.getRequiredHeadersForFile(rawFileInfo);
+        final List<String> expectedOptionalHeaderList = specRepo.getOptionalHeadersForFile(rawFileInfo);
+
+        // Duplicated headers
+        final Set<String> headerSet = new HashSet<>();
+        actualHeaderList.forEach(actualHeader -> {
+            if (!headerSet.add(actualHeader)) {
+                resultRepo.addNotice(new DuplicatedHeaderNotice(rawFileInfo.getFilename(), actualHeader));
+            }
+        });
+
+        // Missing headers
+        expectedRequiredHeaderList.stream()
+                .filter(expectedHeader -> !headerSet.contains(expectedHeader))
+                .forEach(missingHeader -> resultRepo.addNotice(new MissingHeaderNotice(rawFileInfo.getFilename(),
+                        missingHeader)));
+
+        // Extra headers
+        actualHeaderList.stream()
+                .filter(header ->
+                        !expectedOptionalHeaderList.contains(header) && !expectedRequiredHeaderList.contains(header))
+                .forEach(extraHeader ->
+                        resultRepo.addNotice(new NonStandardHeaderNotice(rawFileInfo.getFilename(), extraHeader)));
+    }
+}
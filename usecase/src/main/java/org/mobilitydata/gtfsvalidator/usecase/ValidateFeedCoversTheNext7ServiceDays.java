@@ -23,13 +23,14 @@ import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
 import java.time.LocalDate;
+import java.util.Set;
 
 /**
  * Use case to validate that GTFS feed is valid for at least the next 7 days.
  * This use case is triggered after completing the {@code GtfsDataRepository} provided in the constructor with
  * {@code FeedInfo} entities.
  */
-public class ValidateFeedCoversTheNext7ServiceDays {
+public class ValidateFeedCoversTheNext7ServiceDays implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -47,6 +48,11 @@ public class ValidateFeedCoversTheNext7ServiceDays {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("feed_info.txt");
+    }
+
     /**
      * Use case execution method: checks if GTFS feed is valid for at least the next 7 days. If this requirement is not
      * met, a
@@ -54,6 +60,7 @@ public class ValidateFeedCoversTheNext7ServiceDays {
      * constructor.
      * This verification is executed if {@link FeedInfo} has non-null value for field `feed_end_date`.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'E038 - Dataset should be valid for at least the next 7 days'");
         final LocalDate currentDate = LocalDate.now();
@@ -23,13 +23,14 @@ import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
 import java.time.LocalDate;
+import java.util.Set;
 
 /**
  * Use case to validate that `feed_end_date` date does not precede the `feed_start_date` date if both are fields are
  * provided. This use case is triggered after completing the {@code GtfsDataRepository} provided in the constructor with
  * {@code FeedInfo} entities.
  */
-public class ValidateFeedInfoEndDateAfterStartDate {
+public class ValidateFeedInfoEndDateAfterStartDate implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -47,6 +48,11 @@ public class ValidateFeedInfoEndDateAfterStartDate {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("feed_info.txt");
+    }
+
     /**
      * Use case execution method: checks if for each {@code FeedInfo} contained in {@link GtfsDataRepository} that
      * `feed_end_date` date does not precede the `feed_start_date`. If this requirement is not met, a
@@ -55,6 +61,7 @@ public class ValidateFeedInfoEndDateAfterStartDate {
      * This verification is executed if {@link FeedInfo} has non-null value for both fields `feed_end_date` and
      * `feed_start_date`.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'E037 - `feed_start_date` and `feed_end_date` out of order");
         dataRepo.getFeedInfoAll().forEach((feedPublisherName, feedInfo) -> {
@@ -21,13 +21,15 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.warning.MissingFeedEn
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
+import java.util.Set;
+
 /**
  * Use case to validate that for each {@code FeedInfo} entity containing a non null value for field
  * `feed_start_date` that a non-value has been provided to field `feed_end_date`.
  * This use case is triggered after completing the {@code GtfsDataRepository} provided in the constructor with
  * {@code FeedInfo} entities.
  */
-public class ValidateFeedInfoFeedEndDateIsPresent {
+public class ValidateFeedInfoFeedEndDateIsPresent implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -40,10 +42,16 @@ public class ValidateFeedInfoFeedEndDateIsPresent {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("feed_info.txt");
+    }
+
     /**
      * use case execution method: validates for each {@code FeedInfo} entity containing a non null value for field
      * `feed_start_date` that a non-value has been provided to field `feed_end_date`.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule W010 - `feed_end_date` should be provided if `feed_start_date` is provided");
 
@@ -21,13 +21,15 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.warning.MissingFeedSt
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
+import java.util.Set;
+
 /**
  * Use case to validate that for each {@code FeedInfo} entity containing a non null value for field
  * `feed_end_date` that a non-value has been provided to field `feed_start_date`.
  * This use case is triggered after completing the {@code GtfsDataRepository} provided in the constructor with
  * {@code FeedInfo} entities.
  */
-public class ValidateFeedInfoFeedStartDateIsPresent {
+public class ValidateFeedInfoFeedStartDateIsPresent implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -40,10 +42,16 @@ public class ValidateFeedInfoFeedStartDateIsPresent {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("feed_info.txt");
+    }
+
     /**
      * use case execution method: validates for each {@code FeedInfo} entity containing a non null value for field
      * `feed_ebd_date` that a non-value has been provided to field `feed_start_date`.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule W011 - `feed_start_date` should be provided if `feed_end_date` is provided");
 
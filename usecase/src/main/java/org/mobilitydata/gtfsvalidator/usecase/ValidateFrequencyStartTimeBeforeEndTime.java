@@ -22,11 +22,13 @@ import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mobilitydata.gtfsvalidator.usecase.utils.TimeUtils;
 
+import java.util.Set;
+
 /**
  * Use case to validate that `start_time` does not precede the `end_time`. This use case is triggered after completing
  * the {@code GtfsDataRepository} provided in the constructor with {@code Frequency} entities.
  */
-public class ValidateFrequencyStartTimeBeforeEndTime {
+public class ValidateFrequencyStartTimeBeforeEndTime implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final TimeUtils timeUtils;
@@ -47,15 +49,21 @@ public class ValidateFrequencyStartTimeBeforeEndTime {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("frequencies.txt");
+    }
+
     /**
      * Use case execution method: checks if for each {@code Frequency} contained in {@link GtfsDataRepository} that
      * `end_time` date does not precede the `start_time`. If this requirement is not met, a
      * {@code StartTimeAfterEndTimeNotice} is added to the {@code ValidationResultRepo} provided in the
      * constructor.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'E048 - `start_time` and `end_time` out of order");
-        dataRepo.getFrequencyAll().forEach((tripIdStartTime, frequency) -> {
+        dataRepo.getFrequencyAll().forEach(frequency -> {
             // endTime and startTime cannot be null at this stage. See Frequency builder.
             // Reference: http://gtfs.org/reference/static#frequenciestxt
             if (frequency.getEndTime() < frequency.getStartTime()) {
@@ -17,9 +17,12 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsSpecRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
+import java.util.function.Consumer;
+
 /**
  * Use case to validate GTFS types from a {@code ParsedEntity}. This use case is called on each parsed row of a csv
  * file. It ensures that each value of a parsed row from a GTFS file has the type that is expected in the GTFS
@@ -47,6 +50,18 @@ public class ValidateGtfsTypes {
      * @param toValidate a parsed row from a GTFS file
      */
     public void execute(final ParsedEntity toValidate) {
-        specRepo.getValidatorForFile(toValidate.getRawFileInfo()).validate(toValidate).forEach(resultRepo::addNotice);
+        execute(toValidate, resultRepo::addNotice);
+    }
+
+    /**
+     * Applies the type validation requirement provided by the {@code ParsedEntityTypeValidator} on the
+     * {@link ParsedEntity} provided as parameter, handing over the notices generated to {@code noticeConsumer} instead
+     * of adding them to the repository. This can be called by several threads concurrently.
+     *
+     * @param toValidate     a parsed row from a GTFS file
+     * @param noticeConsumer the operation to perform on each notice generated
+     */
+    public void execute(final ParsedEntity toValidate, final Consumer<Notice> noticeConsumer) {
+        specRepo.getValidatorForFile(toValidate.getRawFileInfo()).validate(toValidate).forEach(noticeConsumer);
     }
 }
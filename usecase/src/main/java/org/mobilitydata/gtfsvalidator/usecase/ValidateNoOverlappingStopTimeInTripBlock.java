@@ -18,26 +18,44 @@ package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.apache.logging.log4j.Logger;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.Calendar;
-import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.calendardates.CalendarDate;
-import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.calendardates.ExceptionType;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.BlockTripsWithOverlappingStopTimesNotice;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.info.UnsupportedGtfsStructureNotice;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
+import org.mobilitydata.gtfsvalidator.usecase.port.ServiceCalendar;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mobilitydata.gtfsvalidator.usecase.utils.TimeUtils;
 
+import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.LongStream;
 
 /**
  * Use case to validate that for a given `trip_id` there is no overlapping {@code StopTime}.
  */
-public class ValidateNoOverlappingStopTimeInTripBlock {
+public class ValidateNoOverlappingStopTimeInTripBlock implements TripStopTimesValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
     private final TimeUtils timeUtils;
+    // fetched before the first trip is visited
+    private Map<String, List<Trip>> tripPerBlockId;
+    // first arrival time and last departure time of each trip of a block, mapped on trip_id
+    private final Map<String, TripTimes> tripTimesByTripId = new HashMap<>();
+
+    /**
+     * First `arrival_time` and last `departure_time` of a trip, the former preceding the latter
+     */
+    private static final class TripTimes {
+        private final int firstTime;
+        private final int lastTime;
+
+        private TripTimes(final int firstTime, final int lastTime) {
+            this.firstTime = firstTime;
+            this.lastTime = lastTime;
+        }
+    }
 
     public ValidateNoOverlappingStopTimeInTripBlock(final GtfsDataRepository dataRepo,
                                                     final ValidationResultRepository resultRepo,
@@ -49,323 +67,260 @@ public class ValidateNoOverlappingStopTimeInTripBlock {
         this.timeUtils = timeUtils;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("trips.txt", "stop_times.txt", "calendar.txt", "calendar_dates.txt");
+    }
+
+    /**
+     * Use case execution method: records the first and last times of each trip of a block, then checks that trips from
+     * the same block do not overlap
+     */
+    @Override
+    public void execute() {
+        beforeFirstTrip();
+        tripPerBlockId.values().forEach(trips -> trips.forEach(trip -> {
+            final String tripId = trip.getTripId();
+            recordTripTimes(tripId, dataRepo.getStopTimeByTripId(tripId));
+        }));
+        afterLastTrip();
+    }
+
+    @Override
+    public void beforeFirstTrip() {
+        logger.info("validating rule 'E054 - Trips from same block overlap'");
+        tripPerBlockId = dataRepo.getAllTripByBlockId();
+    }
+
+    /**
+     * Records the first arrival time and the last departure time of a trip if it belongs to a block
+     *
+     * @param tripId           the trip_id of the stop times
+     * @param trip             the trip identified by {@code tripId}: stop times of trips not found in `trips.txt`
+     *                         are not validated
+     * @param stopTimeSequence the stop times of the trip mapped on their `stop_sequence`
+     */
+    @Override
+    public void visitTrip(final String tripId, final Trip trip, final SortedMap<Integer, StopTime> stopTimeSequence) {
+        if (trip != null && trip.getBlockId() != null) {
+            recordTripTimes(tripId, stopTimeSequence);
+        }
+    }
+
+    private void recordTripTimes(final String tripId, final SortedMap<Integer, StopTime> stopTimeSequence) {
+        if (stopTimeSequence.isEmpty()) {
+            return;
+        }
+        final Integer firstTime = stopTimeSequence.get(stopTimeSequence.firstKey()).getArrivalTime();
+        final Integer lastTime = stopTimeSequence.get(stopTimeSequence.lastKey()).getDepartureTime();
+        // stop_times arrival_time and departure_time should not be null, and are supposed to be ordered: trips whose
+        // times do not meet these requirements are not validated
+        if (firstTime != null && lastTime != null && firstTime < lastTime) {
+            tripTimesByTripId.put(tripId, new TripTimes(firstTime, lastTime));
+        }
+    }
+
     /**
-     * Use case execution method: checks for each trip of the same block that no stop times overlap:
+     * Once the times of all trips have been recorded, checks for each trip of the same block that no stop times
+     * overlap:
      * - trips from same block with same service id that overlap should generate a notice
      * - trips from same block with same service_id that do not overlap should not generate notice
      * - trips from same block with with different service_id that overlap should generate notice whether calendar or
      * calendar_dates is provided
      * - trips from same block with with different service_id that do not overlap should not generate notice whether
      * calendar or calendar_dates is provided
-     * Note that at present, this use case does not consider the corner cases where files `calendar.txt` and
-     * `calendar_dates.txt` are both provided in the GTFS archive.
+     * Trips with different service_id are considered to operate on the same day if their services share a day of
+     * service, as defined by both `calendar.txt` and `calendar_dates.txt`.
+     * <p>
+     * Overlapping trips are found with a sweep over the trips of a block sorted by first time: a trip overlaps the
+     * trips which started before it and are still running, so that each block is validated in O(n log n + number of
+     * overlapping trips) instead of comparing each pair of trips. Overlapping trips are reported in the order of the
+     * trips of the block.
      */
-    public void execute() {
-        logger.info("validating rule 'E054 - Trips from same block overlap'");
-
-        final Map<String, List<Trip>> tripPerBlockId = dataRepo.getAllTripByBlockId();
+    @Override
+    public void afterLastTrip() {
         final boolean isCalendarProvided = dataRepo.getCalendarAll().size() != 0;
-        tripPerBlockId.forEach((blockId, trips) -> {
-            final Map<String, Trip> visitedTripIdCollection = new HashMap();
-            trips.forEach(currentTrip -> {
-                final String currentTripId = currentTrip.getTripId();
-                final SortedMap<Integer, StopTime> tripStopTimes = dataRepo.getStopTimeByTripId(currentTripId);
+        final ServiceCalendar serviceCalendar = dataRepo.getServiceCalendar();
+        tripPerBlockId.forEach((blockId, trips) -> getOverlappingTripPairs(trips).forEach(tripPair -> {
+            final Trip trip = trips.get((int) (tripPair >>> Integer.SIZE));
+            final Trip otherTrip = trips.get((int) tripPair);
+            if (otherTrip.hasSameServiceId(trip)) {
+                // if trips have the same service_id
+                // | routeId | tripId | serviceId | blockId | first stop time | last stop time |
+                // |---------|--------|-----------|---------|-----------------|----------------|
+                // | 0       | 2      | a         | 5       | 07:00           | 10:00          |
+                // | 0       | 5      | a         | 5       | 08:45           | 11:20          |
+                // | 0       | 8      | a         | 5       | 11:40           | 13:50          |
+                addOverlappingTripsNotice(blockId, trip, otherTrip, null);
+            } else if (isCalendarProvided) {
+                // if trips have different service_id additional check needs to be done to determine
+                // whether they operate on the same day or not
+                // This is done by checking files `calendar.txt` and `calendar_dates.txt
 
-                final StopTime tripFirstStopTime = tripStopTimes.get(tripStopTimes.firstKey());
-                final StopTime tripLastStopTime = tripStopTimes.get(tripStopTimes.lastKey());
-                final Integer tripFirstTime = tripFirstStopTime.getArrivalTime();
-                final Integer tripLastTime = tripLastStopTime.getDepartureTime();
-                visitedTripIdCollection.put(currentTripId, currentTrip);
-                if (tripFirstTime == null || tripLastTime == null) {
-                    return;
-                }
-                if (!areTripTimesValid(tripFirstStopTime, tripLastStopTime)) {
-                    return;
-                }
-                trips.forEach(unvisitedTrip -> {
-                    final String unvisitedTripId = unvisitedTrip.getTripId();
-                    if (visitedTripIdCollection.containsKey(unvisitedTripId)) {
-                        return;
-                    }
-                    // if trips have the same service_id
-                    // | routeId | tripId | serviceId | blockId | first stop time | last stop time |
-                    // |---------|--------|-----------|---------|-----------------|----------------|
-                    // | 0       | 2      | a         | 5       | 07:00           | 10:00          |
-                    // | 0       | 5      | a         | 5       | 08:45           | 11:20          |
-                    // | 0       | 8      | a         | 5       | 11:40           | 13:50          |
-
-                    // fetch related StopTime for unvisitedTrip
-                    final SortedMap<Integer, StopTime> unvisitedTripStopTimes =
-                            dataRepo.getStopTimeByTripId(unvisitedTripId);
-                    final StopTime unvisitedTripFirstStopTime =
-                            unvisitedTripStopTimes.get(unvisitedTripStopTimes.firstKey());
-                    final StopTime unvisitedTripLastStopTime =
-                            unvisitedTripStopTimes.get(unvisitedTripStopTimes.lastKey());
-
-                    final Integer unvisitedTripFirstTime = unvisitedTripFirstStopTime.getArrivalTime();
-                    final Integer unvisitedTripLastTime = unvisitedTripLastStopTime.getDepartureTime();
-                    if (unvisitedTrip.hasSameServiceId(currentTrip)) {
-                        checkOverlappingForTripsWithSameServiceId(
-                                blockId,
-                                currentTripId,
-                                unvisitedTripId,
-                                tripFirstTime,
-                                tripLastTime,
-                                unvisitedTripFirstTime,
-                                unvisitedTripLastTime,
-                                unvisitedTripFirstStopTime,
-                                unvisitedTripLastStopTime);
-                    } else {
-                        // if trips have different service_id additional check needs to be done to determine
-                        // whether they operate on the same day or not
-                        // This is done by checking files `calendar.txt` and `calendar_dates.txt
-
-                        // | routeId | tripId | serviceId | blockId | first stop time | last stop time |
-                        // |---------|--------|-----------|---------|-----------------|----------------|
-                        // | 0       | 2      | a         | 5       | 07:00           | 10:00          |
-                        // | 0       | 5      | b         | 5       | 08:45           | 11:20          |
-                        // | 0       | 8      | c         | 5       | 11:40           | 13:50          |
-                        if (isCalendarProvided) {
-                            checkOverlappingTripsDifferentServiceIdCalendarProvided(
-                                    blockId,
-                                    currentTrip,
-                                    currentTripId,
-                                    unvisitedTrip,
-                                    unvisitedTripId,
-                                    tripFirstTime,
-                                    tripLastTime,
-                                    unvisitedTripFirstTime,
-                                    unvisitedTripLastTime,
-                                    unvisitedTripFirstStopTime,
-                                    unvisitedTripLastStopTime);
-                        } else {
-                            checkOverlappingTripsDifferentServiceIdCalendarNotProvided(
-                                    blockId,
-                                    currentTrip,
-                                    currentTripId,
-                                    unvisitedTrip,
-                                    unvisitedTripId,
-                                    tripFirstTime,
-                                    tripLastTime,
-                                    unvisitedTripFirstTime,
-                                    unvisitedTripLastTime,
-                                    unvisitedTripFirstStopTime,
-                                    unvisitedTripLastStopTime);
-                        }
-                    }
-                });
-            });
-        });
+                // | routeId | tripId | serviceId | blockId | first stop time | last stop time |
+                // |---------|--------|-----------|---------|-----------------|----------------|
+                // | 0       | 2      | a         | 5       | 07:00           | 10:00          |
+                // | 0       | 5      | b         | 5       | 08:45           | 11:20          |
+                // | 0       | 8      | c         | 5       | 11:40           | 13:50          |
+                checkOverlappingTripsDifferentServiceIdCalendarProvided(serviceCalendar, blockId, trip, otherTrip);
+            } else {
+                checkOverlappingTripsDifferentServiceIdCalendarNotProvided(serviceCalendar, blockId, trip, otherTrip);
+            }
+        }));
     }
 
     /**
-     * Determines if {@code Trip} times are valid. Returns true if
-     * tripFirstStopTime.arrivalTime < tripLastStopTime.departureTime, otherwise returns false
+     * Returns the pairs of trips of a block whose times overlap. Trips are sorted by first time, then swept in this
+     * order while keeping track of the trips still running, ordered by last time: a trip overlaps all trips still
+     * running when it starts, and trips which ended before it starts are no longer tracked. Trips whose times were not
+     * recorded are ignored.
      *
-     * @param tripFirstStopTime first {@link StopTime} of trip
-     * @param tripLastStopTime  last {@link StopTime} of trip
-     * @return true if {@param tripFirstStopTime} arrival time is before {@param tripLastStopTime} departure time,
-     * otherwise returns false.
+     * @param trips the trips of a block
+     * @return the pairs of overlapping trips, each pair packing the positions of its trips in {@code trips} into a
+     * long, the smallest position in the upper half: sorted, pairs are in the order of the trips of the block
      */
-    private boolean areTripTimesValid(final StopTime tripFirstStopTime, final StopTime tripLastStopTime) {
-        final Integer arrivalTime = tripFirstStopTime.getArrivalTime();
-        final Integer departureTime = tripLastStopTime.getDepartureTime();
-        if (arrivalTime != null & departureTime != null) {
-            return arrivalTime < departureTime;
-        } else {
-            return false;
+    private LongStream getOverlappingTripPairs(final List<Trip> trips) {
+        final List<Integer> sweepOrder = new ArrayList<>(trips.size());
+        final TripTimes[] tripTimesArray = new TripTimes[trips.size()];
+        for (int i = 0; i < trips.size(); ++i) {
+            tripTimesArray[i] = tripTimesByTripId.get(trips.get(i).getTripId());
+            if (tripTimesArray[i] != null) {
+                sweepOrder.add(i);
+            }
         }
-    }
+        sweepOrder.sort(Comparator.comparingInt(i -> tripTimesArray[i].firstTime));
 
-    /**
-     * Determines if trips with same service_od are overlapping. A notice is generated and added to the
-     * {@link ValidationResultRepository} provided in the constructor each time trips with same service id overlap
-     * in time.
-     *
-     * @param blockId                id of the block
-     * @param tripId                 id of {@link Trip}
-     * @param otherTripId            other {@link Trip} id
-     * @param tripFirstTime          {@link Trip} first time
-     * @param tripLastTime           {@link Trip} last time
-     * @param otherTripFirstTime     other {@link Trip} first time
-     * @param otherTripLastTime      other {@link Trip} last time
-     * @param otherTripFirstStopTime other {@link Trip} first {@link StopTime}
-     * @param otherTripLastStopTime  other {@link Trip} last {@link StopTime}
-     */
-    private void checkOverlappingForTripsWithSameServiceId(final String blockId,
-                                                           final String tripId,
-                                                           final String otherTripId,
-                                                           final int tripFirstTime,
-                                                           final int tripLastTime,
-                                                           final Integer otherTripFirstTime,
-                                                           final Integer otherTripLastTime,
-                                                           final StopTime otherTripFirstStopTime,
-                                                           final StopTime otherTripLastStopTime) {
-        // stop_times arrival_time and departure_time should not be null to perform the
-        // subsequent operations
-        if (otherTripFirstTime == null || otherTripLastTime == null) {
-            return;
-        }
-        // stop_times arrival_time and departure_time are supposed to be ordered
-        if (!areTripTimesValid(otherTripFirstStopTime, otherTripLastStopTime)) {
-            return;
-        }
-        // if times overlap
-        if (!timeUtils.arePeriodsOverlapping(tripFirstTime, tripLastTime,
-                otherTripFirstTime, otherTripLastTime)) {
-            return;
-        }
-        resultRepo.addNotice(new BlockTripsWithOverlappingStopTimesNotice(
-                tripId,
-                timeUtils.convertIntegerToHHMMSS(tripFirstTime),
-                timeUtils.convertIntegerToHHMMSS(tripLastTime),
-                otherTripId,
-                timeUtils.convertIntegerToHHMMSS(otherTripFirstTime),
-                timeUtils.convertIntegerToHHMMSS(otherTripLastTime),
-                blockId));
+        final LongStream.Builder overlappingTripPairs = LongStream.builder();
+        final PriorityQueue<Integer> runningTrips =
+                new PriorityQueue<>(Comparator.comparingInt(i -> tripTimesArray[i].lastTime));
+        sweepOrder.forEach(i -> {
+            final int firstTime = tripTimesArray[i].firstTime;
+            // periods sharing a bound do not overlap
+            while (!runningTrips.isEmpty() && tripTimesArray[runningTrips.peek()].lastTime <= firstTime) {
+                runningTrips.poll();
+            }
+            runningTrips.forEach(j -> overlappingTripPairs.add(
+                    ((long) Math.min(i, j) << Integer.SIZE) | Math.max(i, j)));
+            runningTrips.add(i);
+        });
+        return overlappingTripPairs.build().sorted();
     }
 
     /**
      * Determines if trips are overlapping when trips do not have the same service_id and file `calendar.txt` is provided
      * in the GTFS archive. A notice is generate and added to the {@link ValidationResultRepository} provided in the
-     * constructor each time said trips overlap in time.
+     * constructor each time said trips operate on the same day.
      *
-     * @param blockId                id of the block
-     * @param trip                   first {@link Trip} to analyze
-     * @param tripId                 id of {@link Trip}
-     * @param otherTrip              other {@link Trip} to analyze
-     * @param otherTripId            other {@link Trip} id
-     * @param tripFirstTime          {@link Trip} first time
-     * @param tripLastTime           {@link Trip} last time
-     * @param otherTripFirstTime     other {@link Trip} first time
-     * @param otherTripLastTime      other {@link Trip} last time
-     * @param otherTripFirstStopTime other {@link Trip} first {@link StopTime}
-     * @param otherTripLastStopTime  other {@link Trip} last {@link StopTime}
+     * @param serviceCalendar the days of service of each service_id
+     * @param blockId         id of the block
+     * @param trip            first {@link Trip} to analyze
+     * @param otherTrip       other {@link Trip} to analyze, overlapping {@code trip} in time
      */
-    private void checkOverlappingTripsDifferentServiceIdCalendarProvided(final String blockId,
+    private void checkOverlappingTripsDifferentServiceIdCalendarProvided(final ServiceCalendar serviceCalendar,
+                                                                         final String blockId,
                                                                          final Trip trip,
-                                                                         final String tripId,
-                                                                         final Trip otherTrip,
-                                                                         final String otherTripId,
-                                                                         final int tripFirstTime,
-                                                                         final int tripLastTime,
-                                                                         final Integer otherTripFirstTime,
-                                                                         final Integer otherTripLastTime,
-                                                                         final StopTime otherTripFirstStopTime,
-                                                                         final StopTime otherTripLastStopTime) {
+                                                                         final Trip otherTrip) {
         // interpret data from `calendar.txt` to determine if currentTrip and otherTrip
         // operate on same days
-        Calendar tripCalendar = dataRepo.getCalendarByServiceId(trip.getServiceId());
-        Calendar unvisitedTripCalendar = dataRepo.getCalendarByServiceId(otherTrip.getServiceId());
-        if (tripCalendar == null || unvisitedTripCalendar == null) {
+        final String serviceId = trip.getServiceId();
+        final String otherServiceId = otherTrip.getServiceId();
+        final Calendar tripCalendar = dataRepo.getCalendarByServiceId(serviceId);
+        final Calendar otherTripCalendar = dataRepo.getCalendarByServiceId(otherServiceId);
+        if (tripCalendar == null || otherTripCalendar == null) {
             resultRepo.addNotice(
                     new UnsupportedGtfsStructureNotice(
-                            tripId,
-                            otherTripId,
-                            trip.getServiceId(),
-                            otherTrip.getServiceId()
+                            trip.getTripId(),
+                            otherTrip.getTripId(),
+                            serviceId,
+                            otherServiceId
                     ));
             return;
         }
-        // first check if `start_date` and `end_date` overlap for both trips
-        if (!tripCalendar.isOverlapping(unvisitedTripCalendar)) {
-            return;
-        }
-        // determine the if the trips operate on same days
-        if (tripCalendar.getOverlappingDays(unvisitedTripCalendar).size() == 0) {
-            return;
-        }
-        if (otherTripFirstTime == null || otherTripLastTime == null) {
-            return;
-        }
-        if (!areTripTimesValid(otherTripFirstStopTime, otherTripLastStopTime)) {
+        // determine if the trips operate on same days
+        final int serviceIndex = dataRepo.getServiceIndex().indexOf(serviceId);
+        final int otherServiceIndex = dataRepo.getServiceIndex().indexOf(otherServiceId);
+        if (!serviceCalendar.haveCommonDay(serviceIndex, otherServiceIndex)) {
             return;
         }
-        if (!timeUtils.arePeriodsOverlapping(tripFirstTime, tripLastTime,
-                otherTripFirstTime, otherTripLastTime)) {
-            return;
-        }
-        // if times overlap
-        resultRepo.addNotice(
-                new BlockTripsWithOverlappingStopTimesNotice(
-                        tripId,
-                        timeUtils.convertIntegerToHHMMSS(tripFirstTime),
-                        timeUtils.convertIntegerToHHMMSS(tripLastTime),
-                        otherTripId,
-                        timeUtils.convertIntegerToHHMMSS(otherTripFirstTime),
-                        timeUtils.convertIntegerToHHMMSS(otherTripLastTime),
-                        blockId,
-                        tripCalendar.getOverlappingDays(unvisitedTripCalendar)));
+        addOverlappingTripsNotice(blockId, trip, otherTrip,
+                getCommonDaysOfWeek(serviceCalendar.getCommonDays(serviceIndex, otherServiceIndex)));
     }
 
     /**
      * Determines if trips are overlapping when trips do not have the same service_id and file `calendar.txt` is not
      * provided in the GTFS archive. A notice is generate and added to the {@link ValidationResultRepository} provided
-     * in the constructor each time said trips overlap in time.
+     * in the constructor each time said trips operate on the same day.
      *
-     * @param blockId                id of the block
-     * @param trip                   first {@link Trip} to analyze
-     * @param tripId                 id of {@link Trip}
-     * @param otherTrip              other {@link Trip} to analyze
-     * @param otherTripId            other {@link Trip} id
-     * @param tripFirstTime          {@link Trip} first time
-     * @param tripLastTime           {@link Trip} last time
-     * @param otherTripFirstTime     other {@link Trip} first time
-     * @param otherTripLastTime      other {@link Trip} last time
-     * @param otherTripFirstStopTime other {@link Trip} first {@link StopTime}
-     * @param otherTripLastStopTime  other {@link Trip} last {@link StopTime}
+     * @param serviceCalendar the days of service of each service_id
+     * @param blockId         id of the block
+     * @param trip            first {@link Trip} to analyze
+     * @param otherTrip       other {@link Trip} to analyze, overlapping {@code trip} in time
      */
-    private void checkOverlappingTripsDifferentServiceIdCalendarNotProvided(final String blockId,
+    private void checkOverlappingTripsDifferentServiceIdCalendarNotProvided(final ServiceCalendar serviceCalendar,
+                                                                            final String blockId,
                                                                             final Trip trip,
-                                                                            final String tripId,
-                                                                            final Trip otherTrip,
-                                                                            final String otherTripId,
-                                                                            final int tripFirstTime,
-                                                                            final int tripLastTime,
-                                                                            final Integer otherTripFirstTime,
-                                                                            final Integer otherTripLastTime,
-                                                                            final StopTime otherTripFirstStopTime,
-                                                                            final StopTime otherTripLastStopTime) {
+                                                                            final Trip otherTrip) {
         // interpret data from `calendar_dates.txt` to determine if trip and otherTrip operate on same days
-        final Set<String> tripCalendarDateCollection = new HashSet<>();
-        dataRepo.getCalendarDateAll().get(trip.getServiceId())
-                .forEach((date, calendarDate) -> tripCalendarDateCollection.add(date));
-        final Set<CalendarDate> unvisitedTripCalendarDateCollection = new HashSet<>();
-        dataRepo.getCalendarDateAll().get(otherTrip.getServiceId()).forEach((date, calendarDate) ->
-                unvisitedTripCalendarDateCollection.add(calendarDate));
-        // get the list of common dates during which trips with different service_id operate: this represent the list of
-        // dates where there could be potential time overlap.
-        final Set<String> potentialConflictingDates = new HashSet<>();
-        unvisitedTripCalendarDateCollection.forEach(calendarDate -> {
-            if (calendarDate.getExceptionType() == ExceptionType.ADDED_SERVICE) {
-                if (tripCalendarDateCollection.contains(calendarDate.getDate().toString())) {
-                    potentialConflictingDates.add(calendarDate.getDate().toString());
-                }
-            }
-        });
-        if (potentialConflictingDates.size() == 0) {
-            return;
-        }
-        if (otherTripFirstTime == null || otherTripLastTime == null) {
-            return;
-        }
-        if (!areTripTimesValid(otherTripFirstStopTime, otherTripLastStopTime)) {
+        final int serviceIndex = dataRepo.getServiceIndex().indexOf(trip.getServiceId());
+        final int otherServiceIndex = dataRepo.getServiceIndex().indexOf(otherTrip.getServiceId());
+        if (!serviceCalendar.haveCommonDay(serviceIndex, otherServiceIndex)) {
             return;
         }
-        if (!timeUtils.arePeriodsOverlapping(tripFirstTime, tripLastTime, otherTripFirstTime, otherTripLastTime)) {
-            return;
+        addOverlappingTripsNotice(blockId, trip, otherTrip,
+                getCommonDates(serviceCalendar.getCommonDays(serviceIndex, otherServiceIndex)));
+    }
+
+    /**
+     * Adds a {@link BlockTripsWithOverlappingStopTimesNotice} to the {@link ValidationResultRepository} provided in the
+     * constructor
+     *
+     * @param blockId    id of the block
+     * @param trip       first {@link Trip} of the block
+     * @param otherTrip  other {@link Trip} of the block, overlapping {@code trip} in time
+     * @param commonDays the days both trips operate, or null if they have the same service_id
+     */
+    private void addOverlappingTripsNotice(final String blockId,
+                                           final Trip trip,
+                                           final Trip otherTrip,
+                                           final Set<String> commonDays) {
+        final String tripId = trip.getTripId();
+        final String otherTripId = otherTrip.getTripId();
+        final TripTimes tripTimes = tripTimesByTripId.get(tripId);
+        final TripTimes otherTripTimes = tripTimesByTripId.get(otherTripId);
+        final String tripFirstTime = timeUtils.convertIntegerToHHMMSS(tripTimes.firstTime);
+        final String tripLastTime = timeUtils.convertIntegerToHHMMSS(tripTimes.lastTime);
+        final String otherTripFirstTime = timeUtils.convertIntegerToHHMMSS(otherTripTimes.firstTime);
+        final String otherTripLastTime = timeUtils.convertIntegerToHHMMSS(otherTripTimes.lastTime);
+        if (commonDays == null) {
+            resultRepo.addNotice(new BlockTripsWithOverlappingStopTimesNotice(tripId, tripFirstTime, tripLastTime,
+                    otherTripId, otherTripFirstTime, otherTripLastTime, blockId));
+        } else {
+            resultRepo.addNotice(new BlockTripsWithOverlappingStopTimesNotice(tripId, tripFirstTime, tripLastTime,
+                    otherTripId, otherTripFirstTime, otherTripLastTime, blockId, commonDays));
         }
-        // if times overlap
-        resultRepo.addNotice(
-                new BlockTripsWithOverlappingStopTimesNotice(
-                        tripId,
-                        timeUtils.convertIntegerToHHMMSS(tripFirstTime),
-                        timeUtils.convertIntegerToHHMMSS(tripLastTime),
-                        otherTripId,
-                        timeUtils.convertIntegerToHHMMSS(otherTripFirstTime),
-                        timeUtils.convertIntegerToHHMMSS(otherTripLastTime),
-                        blockId,
-                        potentialConflictingDates)
-        );
+    }
+
+    /**
+     * Returns the days of the week of a collection of dates, as the names of the corresponding fields of `calendar.txt`
+     *
+     * @param dates the dates to convert
+     * @return the days of the week of the dates
+     */
+    private static Set<String> getCommonDaysOfWeek(final List<LocalDate> dates) {
+        final Set<String> toReturn = new HashSet<>();
+        dates.forEach(date -> toReturn.add(date.getDayOfWeek().name().toLowerCase(Locale.ROOT)));
+        return toReturn;
+    }
+
+    /**
+     * Returns the ISO representation of a collection of dates: the dates of potential time overlap
+     *
+     * @param dates the dates to convert
+     * @return the ISO representation of the dates
+     */
+    private static Set<String> getCommonDates(final List<LocalDate> dates) {
+        final Set<String> toReturn = new HashSet<>();
+        dates.forEach(date -> toReturn.add(date.toString()));
+        return toReturn;
     }
 }
@@ -22,7 +22,9 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.MissingAgencyId
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
-public class ValidateRouteAgencyId {
+import java.util.Set;
+
+public class ValidateRouteAgencyId implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -35,6 +37,12 @@ public class ValidateRouteAgencyId {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("routes.txt", "agency.txt");
+    }
+
+    @Override
     public void execute() {
         logger.info("Validating rule 'E035 - `agency_id` not found");
 
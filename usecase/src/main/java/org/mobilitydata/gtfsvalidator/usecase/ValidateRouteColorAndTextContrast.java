@@ -21,10 +21,12 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.RouteColorAndTe
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
+import java.util.Set;
+
 /**
  * Use case to validate that a Route color contrast with a Route text color.
  */
-public class ValidateRouteColorAndTextContrast {
+public class ValidateRouteColorAndTextContrast implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -41,11 +43,17 @@ public class ValidateRouteColorAndTextContrast {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("routes.txt");
+    }
+
     /**
      * Use case execution method: checks if Route color does not contrast enough with Route text color
      * for every Routes in a {@link GtfsDataRepository}. A new notice is generated each time this condition is true.
      * This notice is then added to the {@link ValidationResultRepository} provided in the constructor.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'E025 - Insufficient route color contrast'");
         dataRepo.getRouteAll().values().stream()
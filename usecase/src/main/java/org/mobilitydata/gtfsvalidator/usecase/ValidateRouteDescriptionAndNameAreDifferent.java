@@ -21,10 +21,12 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.SameNameAndDesc
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
+import java.util.Set;
+
 /**
  * Use case to validate that a Route description is different than the Route name.
  */
-public class ValidateRouteDescriptionAndNameAreDifferent {
+public class ValidateRouteDescriptionAndNameAreDifferent implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -41,11 +43,17 @@ public class ValidateRouteDescriptionAndNameAreDifferent {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("routes.txt");
+    }
+
     /**
      * Use case execution method: checks if Route description is the same as Route long and short names
      * for every Routes in a {@link GtfsDataRepository}. A new notice is generated each time this condition is true.
      * This notice is then added to the {@link ValidationResultRepository} provided in the constructor.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'E024 - Same name and description for route'");
         dataRepo.getRouteAll().values().stream()
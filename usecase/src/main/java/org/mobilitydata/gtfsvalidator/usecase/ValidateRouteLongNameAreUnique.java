@@ -24,13 +24,14 @@ import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Use case to validate that that each non-null value of `route_long_name` from {@link Route} entities are unique.
  * This use case is triggered after completing the {@code GtfsDataRepository} provided in the constructor with
  * {@code Route} entities.
  */
-public class ValidateRouteLongNameAreUnique {
+public class ValidateRouteLongNameAreUnique implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -48,12 +49,18 @@ public class ValidateRouteLongNameAreUnique {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("routes.txt", "agency.txt");
+    }
+
     /**
      * Use case execution method: checks uniqueness of `route_long_name` in file `routes.txt`. A notice is
      * generated and added to the {@code ValidationResultRepository} provided in the constructor each time this
      * requirement is not satisfied.
      * Note that two {@link Route} can have the same `route_long_name` if they do not belong to the same agency
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'W014 - Duplicate `routes.route_long_name`'");
 
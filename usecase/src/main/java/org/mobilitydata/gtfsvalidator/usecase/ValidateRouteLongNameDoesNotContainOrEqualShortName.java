@@ -22,10 +22,12 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.warning.RouteLongName
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
+import java.util.Set;
+
 /**
  * Use case to validate that a Route long name does not equal or contain the short name.
  */
-public class ValidateRouteLongNameDoesNotContainOrEqualShortName {
+public class ValidateRouteLongNameDoesNotContainOrEqualShortName implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -42,12 +44,18 @@ public class ValidateRouteLongNameDoesNotContainOrEqualShortName {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("routes.txt");
+    }
+
     /**
      * Use case execution method: checks if a Route long name does equal or contain the short name
      * for every Routes in a {@link GtfsDataRepository}. If both are equals, a new error notice is generated.
      * If long name contains short name, a warning error notice is generated.
      * This notice is then added to the {@link ValidationResultRepository} provided in the constructor.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'E028 - Route long name equals short name'");
         dataRepo.getRouteAll().values().stream()
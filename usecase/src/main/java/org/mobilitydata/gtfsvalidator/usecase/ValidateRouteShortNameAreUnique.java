@@ -24,13 +24,14 @@ import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Use case to validate that that each non-null value of `route_short_name` from {@link Route} entities are unique.
  * This use case is triggered after completing the {@code GtfsDataRepository} provided in the constructor with
  * {@code Route} entities.
  */
-public class ValidateRouteShortNameAreUnique {
+public class ValidateRouteShortNameAreUnique implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -48,12 +49,18 @@ public class ValidateRouteShortNameAreUnique {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("routes.txt", "agency.txt");
+    }
+
     /**
      * Use case execution method: checks unicity of `route_short_name` in file `routes.txt`. A notice is
      * generated and added to the {@code ValidationResultRepository} provided in the constructor each time this
      * requirement is not satisfied.
      * Note that two {@link Route} can have the same `route_short_name` if they do not belong to the same agency
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'W015 - Duplicate `routes.route_short_name`'");
 
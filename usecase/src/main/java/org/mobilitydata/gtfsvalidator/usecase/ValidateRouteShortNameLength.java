@@ -21,10 +21,12 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.warning.RouteShortNam
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
+import java.util.Set;
+
 /**
  * Use case to validate that a Route short name is not longer than 12 characters.
  */
-public class ValidateRouteShortNameLength {
+public class ValidateRouteShortNameLength implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -41,11 +43,17 @@ public class ValidateRouteShortNameLength {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("routes.txt");
+    }
+
     /**
      * Use case execution method: checks if Route short name is longer than 12 characters
      * for every Routes in a {@link GtfsDataRepository}. A new notice is generated each time this condition is true.
      * This notice is then added to the {@link ValidationResultRepository} provided in the constructor.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'W005 - Route short name too long'");
         dataRepo.getRouteAll().values().stream()
@@ -21,10 +21,12 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.InvalidRouteTyp
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
+import java.util.Set;
+
 /**
  * Use case to validate that a Route type is in the valid options.
  */
-public class ValidateRouteTypeIsInTypeOptions {
+public class ValidateRouteTypeIsInTypeOptions implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -41,12 +43,18 @@ public class ValidateRouteTypeIsInTypeOptions {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("routes.txt");
+    }
+
     /**
      * Use case execution method: checks if a Route type is not in the valid options
      * for every Routes in a {@link GtfsDataRepository}. A new notice is generated each time this condition is true.
      * This notice is then added to the {@link ValidationResultRepository} provided in the constructor.
      * The RouteType Enum gives the value "null" to a Route type if it is not in the valid options.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'E026 - Invalid route type'");
         dataRepo.getRouteAll().values().stream()
@@ -16,6 +16,7 @@
 
 package org.mobilitydata.gtfsvalidator.usecase;
 
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.DecreasingShapeDistanceNotice;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
@@ -67,4 +68,34 @@ public class ValidateShapeIncreasingDistance {
 //            }
         });
     }
+
+    /**
+     * Same validation as {@link #execute(Map, String, ValidationResultRepository)}, reading the points of the shape
+     * from the arrays of its geometry
+     *
+     * @param shape      geometry of the shape to process, its points being sorted by `shape_pt_sequence`
+     * @param resultRepo a repository storing information about the validation process
+     */
+    public void execute(final ShapeGeometry shape, final ValidationResultRepository resultRepo) {
+        // index of the previous point providing a `shape_dist_traveled`, -1 if none
+        int previousPointIndex = -1;
+        for (int pointIndex = 0; pointIndex < shape.getPointCount(); ++pointIndex) {
+            final float shapeDistTraveled = shape.getShapeDistTraveled(pointIndex);
+            // to exclude any row where field `shape_dist_traveled` is not provided
+            if (Float.isNaN(shapeDistTraveled)) {
+                continue;
+            }
+            if (previousPointIndex >= 0 && shape.getShapeDistTraveled(previousPointIndex) >= shapeDistTraveled) {
+                resultRepo.addNotice(
+                        new DecreasingShapeDistanceNotice(
+                                shape.getShapeId(),
+                                shape.getShapePtSequence(pointIndex),
+                                shapeDistTraveled,
+                                shape.getShapePtSequence(previousPointIndex),
+                                shape.getShapeDistTraveled(previousPointIndex))
+                );
+            }
+            previousPointIndex = pointIndex;
+        }
+    }
 }
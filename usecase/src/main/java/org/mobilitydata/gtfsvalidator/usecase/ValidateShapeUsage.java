@@ -19,18 +19,20 @@ package org.mobilitydata.gtfsvalidator.usecase;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.ShapeNotUsedNotice;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
-import java.util.Set;
-
 public class ValidateShapeUsage {
     /**
      * Checks if all {@code Shape} entities defined by GTFS `shapes.txt` are referred to in GTFS `trips.txt`. A new
      * notice is generated each time this condition is false.
      * This notice is then added to the {@link ValidationResultRepository} provided in the constructor.
+     *
+     * @param resultRepo the repository to add the notices to
+     * @param shapeId    the shape_id of the shape to check
+     * @param tripCount  the number of trips referring to the shape
      */
     public void execute(final ValidationResultRepository resultRepo,
                         final String shapeId,
-                        final Set<String> tripShapeIdCollection) {
-        if (!tripShapeIdCollection.contains(shapeId)) {
+                        final int tripCount) {
+        if (tripCount == 0) {
             resultRepo.addNotice(new ShapeNotUsedNotice(shapeId, "shape_id"));
         }
     }
@@ -22,10 +22,12 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.warning.MissingRouteS
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
+import java.util.Set;
+
 /**
  * Use case to validate that Route short name and long name are present.
  */
-public class ValidateShortAndLongNameForRoutePresence {
+public class ValidateShortAndLongNameForRoutePresence implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -42,12 +44,18 @@ public class ValidateShortAndLongNameForRoutePresence {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("routes.txt");
+    }
+
     /**
      * Use case execution method: checks if Route short name and long name are missing
      * for every Routes in a {@link GtfsDataRepository}. If one of the fields is missing, a warning error notice is
      * generated. This notice is then added to the {@link ValidationResultRepository} provided in the constructor.
      * Note that no record from `routes.txt` can have both fields null or blank.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'E027 - Missing route short name and long name'");
         dataRepo.getRouteAll().values().stream()
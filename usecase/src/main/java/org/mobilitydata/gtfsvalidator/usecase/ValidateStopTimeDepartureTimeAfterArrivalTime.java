@@ -18,17 +18,21 @@ package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.apache.logging.log4j.Logger;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.StopTimeArrivalTimeAfterDepartureTimeNotice;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mobilitydata.gtfsvalidator.usecase.utils.TimeUtils;
 
+import java.util.Set;
+import java.util.SortedMap;
+
 /**
  * Use case to validate that `departure_time` does not precede the `arrival_time` date if both are fields are
  * provided. This use case is triggered after completing the {@code GtfsDataRepository} provided in the constructor with
  * {@code StopTime} entities.
  */
-public class ValidateStopTimeDepartureTimeAfterArrivalTime {
+public class ValidateStopTimeDepartureTimeAfterArrivalTime implements TripStopTimesValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final TimeUtils timeUtils;
@@ -49,6 +53,11 @@ public class ValidateStopTimeDepartureTimeAfterArrivalTime {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("stop_times.txt");
+    }
+
     /**
      * Use case execution method: checks if for each {@code StopTime} contained in {@link GtfsDataRepository} that
      * `departure_time` date does not precede the `arrival_time`. If this requirement is not met, a
@@ -57,9 +66,27 @@ public class ValidateStopTimeDepartureTimeAfterArrivalTime {
      * This verification is executed if {@link StopTime} has non-null value for both fields `departure_time` and
      * `arrival_time`.
      */
+    @Override
     public void execute() {
+        beforeFirstTrip();
+        dataRepo.getStopTimeAll().forEach((tripId, tripStopTimes) -> visitTrip(tripId, null, tripStopTimes));
+    }
+
+    @Override
+    public void beforeFirstTrip() {
         logger.info("Validating rule 'E045 - `departure_time` and `arrival_time` out of order");
-        dataRepo.getStopTimeAll().forEach((tripId, tripStopTimes) -> tripStopTimes.forEach((stopSequence, stopTime) -> {
+    }
+
+    /**
+     * Checks that the `departure_time` of each stop time of a trip does not precede its `arrival_time`
+     *
+     * @param tripId        the trip_id of the stop times
+     * @param trip          not used by this rule
+     * @param tripStopTimes the stop times of the trip mapped on their `stop_sequence`
+     */
+    @Override
+    public void visitTrip(final String tripId, final Trip trip, final SortedMap<Integer, StopTime> tripStopTimes) {
+        tripStopTimes.forEach((stopSequence, stopTime) -> {
             final Integer stopTimeArrivalTime = stopTime.getArrivalTime();
             final Integer stopTimeDepartureTime = stopTime.getDepartureTime();
             if (stopTimeDepartureTime != null && stopTimeArrivalTime != null) {
@@ -74,6 +101,6 @@ public class ValidateStopTimeDepartureTimeAfterArrivalTime {
                     );
                 }
             }
-        }));
+        });
     }
 }
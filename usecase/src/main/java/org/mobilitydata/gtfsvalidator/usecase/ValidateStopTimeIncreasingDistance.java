@@ -20,7 +20,7 @@ import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.DecreasingStopTimeDistanceNotice;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
-import java.util.TreeMap;
+import java.util.SortedMap;
 
 /**
  * Use case to validate that for each trip, stop times have increasing `shape_dist_travelled` values.
@@ -42,7 +42,7 @@ public class ValidateStopTimeIncreasingDistance {
      *
      * @param stopTimeSequence {@link StopTime} collection mapped on `stop_sequence` value for a given `trip_id`
      */
-    public void execute(final TreeMap<Integer, StopTime> stopTimeSequence) {
+    public void execute(final SortedMap<Integer, StopTime> stopTimeSequence) {
         // get previous stoptime relevant information
         final var previousStopTimeData = new Object() {
             Float shapeDistTraveled = null;
@@ -17,23 +17,24 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.apache.logging.log4j.Logger;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.LocationBase;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.StopTooFarFromTripShapeNotice;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mobilitydata.gtfsvalidator.usecase.utils.GeospatialUtils;
+import org.mobilitydata.gtfsvalidator.usecase.utils.LongKeyMap;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 /**
  * Use case to validate that a stop is within a distance threshold for a trip shape. This use case can be used after
  * the {@code GtfsDataRepository} in the constructor has been populated with {@code StopTime}, {@code Trip},
- * {@code LocationBase} (GTFS stops.txt), and {@code ShapePoint} entities.
+ * {@code LocationBase} (GTFS stops.txt), and {@code ShapeGeometry} entities.
  */
-public class ValidateStopTooFarFromTripShape {
+public class ValidateStopTooFarFromTripShape implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final GeospatialUtils geospatialUtils;
@@ -55,31 +56,46 @@ public class ValidateStopTooFarFromTripShape {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("stop_times.txt", "trips.txt", "stops.txt", "shapes.txt");
+    }
+
     /**
      * Use case execution method: Checks if each stop for a trip falls within a buffer of the trip shape. If this
      * requirement is not met, a {@code StopTooFarFromTripShape} notice is added to the {@code ValidationResultRepo}
      * provided in the constructor.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'E052 - Stop too far from trip shape'");
 
         final List<StopTooFarFromTripShapeNotice> errors = new ArrayList<>();
 
-        // Cache for previously tested shape_id and stop_id pairs - we don't need to test them more than once
-        final Set<String> testedCache = new HashSet<>();
+        // Previously tested shape_id and stop_id pairs, packed from their indexes - we don't need to test them more
+        // than once
+        final LongKeyMap<Boolean> testedShapeStopPairs = new LongKeyMap<>();
+        final EntityIndex<ShapeGeometry> shapeIndex = dataRepo.getShapeIndex();
+        final EntityIndex<LocationBase> stopIndex = dataRepo.getStopIndex();
+        // Buffers of the shapes already built, shared by the trips of this validation only
+        final Map<Object, Object> shapeBufferCache = geospatialUtils.createShapeBufferCache();
 
         dataRepo.getStopTimeAll().forEach((tripId, tripStopTimes) -> {
             final Trip trip = dataRepo.getTripById(tripId);
-            if (trip == null || trip.getShapeId() == null) {
+            final String shapeId = trip == null ? null : trip.getShapeId();
+            if (shapeId == null) {
                 // No shape for this trip - skip to the next trip
                 return;
             }
+            final int shapeIdx = shapeIndex.indexOf(shapeId);
             // Check for possible E052 errors for this combination of stop times and shape points for this trip_id
             List<StopTooFarFromTripShapeNotice> errorsForTrip = geospatialUtils.checkStopsWithinTripShape(trip,
                     tripStopTimes,
-                    dataRepo.getShapeById(trip.getShapeId()),
+                    dataRepo.getShapeById(shapeId),
                     dataRepo.getStopAll(),
-                    testedCache
+                    stopId -> testedShapeStopPairs.putIfAbsent(
+                            LongKeyMap.pack(shapeIdx, stopIndex.indexOf(stopId)), Boolean.TRUE) == null,
+                    shapeBufferCache
             );
             errors.addAll(errorsForTrip);
         });
@@ -18,10 +18,12 @@ package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.apache.logging.log4j.Logger;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.MissingTripEdgeStopTimeNotice;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
+import java.util.Set;
 import java.util.SortedMap;
 
 /**
@@ -29,7 +31,7 @@ import java.util.SortedMap;
  * `stop_times.txt` of which -when sorted by `stop_sequence`-
  * the first and last element define both `departure_time` and `arrival_time`
  */
-public class ValidateTripEdgeArrivalDepartureTime {
+public class ValidateTripEdgeArrivalDepartureTime implements TripStopTimesValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -47,54 +49,76 @@ public class ValidateTripEdgeArrivalDepartureTime {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("trips.txt", "stop_times.txt");
+    }
+
     /**
      * Use case execution method: Checks if first and last stop in sequence associated with a trip define
      * both fields `departure_time` and `arrival_time`.
      * A new {@link MissingTripEdgeStopTimeNotice} notice is generated each time this condition is false.
      * This notice is then added to the {@link ValidationResultRepository} provided in the constructor.
      */
+    @Override
     public void execute() {
-        logger.info("Validating rule E044 - Missing trip edge arrival_time or departure_time");
+        beforeFirstTrip();
+        dataRepo.getTripAll().forEach((tripId, trip) -> visitTrip(tripId, trip, dataRepo.getStopTimeByTripId(tripId)));
+    }
 
-        dataRepo.getTripAll().keySet().forEach(tripId -> {
-            SortedMap<Integer, StopTime> stopTimesForTrip = dataRepo.getStopTimeByTripId(tripId);
+    @Override
+    public void beforeFirstTrip() {
+        logger.info("Validating rule E044 - Missing trip edge arrival_time or departure_time");
+    }
 
-            StopTime tripStartStop = stopTimesForTrip.get(stopTimesForTrip.firstKey());
-            StopTime tripEndStop = stopTimesForTrip.get(stopTimesForTrip.lastKey());
+    /**
+     * Checks that the first and last stop times of a trip define both fields `departure_time` and `arrival_time`
+     *
+     * @param tripId           the trip_id of the stop times
+     * @param trip             the trip identified by {@code tripId}: stop times of trips not found in `trips.txt`
+     *                         are not validated
+     * @param stopTimesForTrip the stop times of the trip mapped on their `stop_sequence`
+     */
+    @Override
+    public void visitTrip(final String tripId, final Trip trip, final SortedMap<Integer, StopTime> stopTimesForTrip) {
+        if (trip == null || stopTimesForTrip.isEmpty()) {
+            return;
+        }
+        StopTime tripStartStop = stopTimesForTrip.get(stopTimesForTrip.firstKey());
+        StopTime tripEndStop = stopTimesForTrip.get(stopTimesForTrip.lastKey());
 
-            if (tripStartStop.getArrivalTime() == null) {
-                resultRepo.addNotice(
-                        new MissingTripEdgeStopTimeNotice("arrival_time",
-                                tripId,
-                                tripStartStop.getStopSequence()
-                        )
-                );
-            }
-            if (tripStartStop.getDepartureTime() == null) {
-                resultRepo.addNotice(
-                        new MissingTripEdgeStopTimeNotice("departure_time",
-                                tripId,
-                                tripStartStop.getStopSequence()
-                        )
-                );
-            }
+        if (tripStartStop.getArrivalTime() == null) {
+            resultRepo.addNotice(
+                    new MissingTripEdgeStopTimeNotice("arrival_time",
+                            tripId,
+                            tripStartStop.getStopSequence()
+                    )
+            );
+        }
+        if (tripStartStop.getDepartureTime() == null) {
+            resultRepo.addNotice(
+                    new MissingTripEdgeStopTimeNotice("departure_time",
+                            tripId,
+                            tripStartStop.getStopSequence()
+                    )
+            );
+        }
 
-            if (tripEndStop.getArrivalTime() == null) {
-                resultRepo.addNotice(
-                        new MissingTripEdgeStopTimeNotice("arrival_time",
-                                tripId,
-                                tripEndStop.getStopSequence()
-                        )
-                );
-            }
-            if (tripEndStop.getDepartureTime() == null) {
-                resultRepo.addNotice(
-                        new MissingTripEdgeStopTimeNotice("departure_time",
-                                tripId,
-                                tripEndStop.getStopSequence()
-                        )
-                );
-            }
-        });
+        if (tripEndStop.getArrivalTime() == null) {
+            resultRepo.addNotice(
+                    new MissingTripEdgeStopTimeNotice("arrival_time",
+                            tripId,
+                            tripEndStop.getStopSequence()
+                    )
+            );
+        }
+        if (tripEndStop.getDepartureTime() == null) {
+            resultRepo.addNotice(
+                    new MissingTripEdgeStopTimeNotice("departure_time",
+                            tripId,
+                            tripEndStop.getStopSequence()
+                    )
+            );
+        }
     }
 }
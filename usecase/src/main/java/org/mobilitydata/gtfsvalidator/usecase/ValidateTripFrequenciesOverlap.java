@@ -23,14 +23,15 @@ import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mobilitydata.gtfsvalidator.usecase.utils.TimeUtils;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 /**
  * Use case to verify that for each trip defined in `trips.txt` frequencies (defined by GTFS file `frequencies.txt` do
  * not overlap.
  */
-public class ValidateTripFrequenciesOverlap {
+public class ValidateTripFrequenciesOverlap implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -52,53 +53,83 @@ public class ValidateTripFrequenciesOverlap {
         this.timeUtils = timeUtils;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("frequencies.txt");
+    }
+
     /**
      * Use case execution method: checks for each trip that frequencies defined in `frequencies.txt` do not overlap.
      * A notice is generated each time frequencies overlap for a given trip_id. The notice is then added to the
      * {@link ValidationResultRepository} provided in the constructor.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'E053 - Trip frequencies overlap'");
 
         dataRepo.getFrequencyAllByTripId().forEach((tripId, frequencyCollection) -> {
-            final Map<String, Frequency> visitedFrequencyTripIdStartTimeCollection = new HashMap<>();
-
-            frequencyCollection.forEach(currentFrequency -> {
-                visitedFrequencyTripIdStartTimeCollection.put(currentFrequency.getFrequencyMappingKey(),
-                        currentFrequency);
-                final int currentFrequencyStartTime = currentFrequency.getStartTime();
-                final int currentFrequencyEndTime = currentFrequency.getEndTime();
-                if (isFrequencyValid(currentFrequency)) {
-                    frequencyCollection.forEach(unvisitedFrequency -> {
-                        if (!visitedFrequencyTripIdStartTimeCollection.containsKey(
-                                unvisitedFrequency.getFrequencyMappingKey())) {
-                            final int unvisitedFrequencyStartTime = unvisitedFrequency.getStartTime();
-                            final int unvisitedFrequencyEndTime = unvisitedFrequency.getEndTime();
-                            if (isFrequencyValid(unvisitedFrequency)) {
-                                if (timeUtils.arePeriodsOverlapping(currentFrequencyStartTime, currentFrequencyEndTime,
-                                        unvisitedFrequencyStartTime, unvisitedFrequencyEndTime)) {
-                                    resultRepo.addNotice(
-                                            new OverlappingTripFrequenciesNotice(tripId,
-                                                    timeUtils.convertIntegerToHHMMSS(unvisitedFrequencyStartTime),
-                                                    timeUtils.convertIntegerToHHMMSS(unvisitedFrequencyEndTime),
-                                                    timeUtils.convertIntegerToHHMMSS(currentFrequencyStartTime),
-                                                    timeUtils.convertIntegerToHHMMSS(currentFrequencyEndTime)));
-                                }
-                            }
-                        }
-                    });
-                }
+            final int frequencyCount = frequencyCollection.size();
+            final int[] startTimes = new int[frequencyCount];
+            final int[] endTimes = new int[frequencyCount];
+            for (int i = 0; i < frequencyCount; ++i) {
+                final Frequency frequency = frequencyCollection.get(i);
+                startTimes[i] = frequency.getStartTime();
+                endTimes[i] = frequency.getEndTime();
+            }
+            getOverlappingFrequencyPairs(startTimes, endTimes).forEach(frequencyPair -> {
+                final int previousIndex = (int) (frequencyPair >>> Integer.SIZE);
+                final int index = (int) frequencyPair;
+                resultRepo.addNotice(
+                        new OverlappingTripFrequenciesNotice(tripId,
+                                timeUtils.convertIntegerToHHMMSS(startTimes[index]),
+                                timeUtils.convertIntegerToHHMMSS(endTimes[index]),
+                                timeUtils.convertIntegerToHHMMSS(startTimes[previousIndex]),
+                                timeUtils.convertIntegerToHHMMSS(endTimes[previousIndex])));
             });
         });
     }
 
     /**
-     * Utility method to check if a frequency is valid (e.g start_time < end_time)
+     * Returns the pairs of overlapping frequencies of a trip. Valid frequencies (e.g start_time < end_time) are sorted
+     * by start_time, then swept in this order while keeping track of the frequencies whose period is still running: a
+     * frequency overlaps all frequencies still running at its start_time, and frequencies which ended at or before its
+     * start_time are no longer tracked. Each trip is thus validated in linear time after sorting, plus the number of
+     * overlapping frequencies.
      *
-     * @param frequency {@link Frequency} to check
-     * @return true is the frequency is valid (e.g start_time < end_time), otherwise returns false
+     * @param startTimes the start_time of each frequency of the trip, in the order of `frequencies.txt`
+     * @param endTimes   the end_time of each frequency of the trip, in the order of `frequencies.txt`
+     * @return the pairs of overlapping frequencies, each pair packing the positions of its frequencies into a long,
+     * the smallest position in the upper half: sorted, pairs are in the order of `frequencies.txt`
      */
-    private boolean isFrequencyValid(final Frequency frequency) {
-        return frequency.getStartTime() < frequency.getEndTime();
+    private static LongStream getOverlappingFrequencyPairs(final int[] startTimes, final int[] endTimes) {
+        // valid frequencies are sorted by start_time, packed with their position to sort primitive values
+        final long[] sweepOrder = new long[startTimes.length];
+        int validFrequencyCount = 0;
+        for (int i = 0; i < startTimes.length; ++i) {
+            if (startTimes[i] < endTimes[i]) {
+                sweepOrder[validFrequencyCount++] = ((long) startTimes[i] << Integer.SIZE) | i;
+            }
+        }
+        Arrays.sort(sweepOrder, 0, validFrequencyCount);
+
+        final LongStream.Builder overlappingFrequencyPairs = LongStream.builder();
+        final int[] runningFrequencies = new int[validFrequencyCount];
+        int runningFrequencyCount = 0;
+        for (int k = 0; k < validFrequencyCount; ++k) {
+            final int i = (int) sweepOrder[k];
+            // frequencies which ended are removed, the others overlap the current one: periods sharing a bound do not
+            // overlap
+            int stillRunningFrequencyCount = 0;
+            for (int r = 0; r < runningFrequencyCount; ++r) {
+                final int j = runningFrequencies[r];
+                if (endTimes[j] > startTimes[i]) {
+                    runningFrequencies[stillRunningFrequencyCount++] = j;
+                    overlappingFrequencyPairs.add(((long) Math.min(i, j) << Integer.SIZE) | Math.max(i, j));
+                }
+            }
+            runningFrequencies[stillRunningFrequencyCount] = i;
+            runningFrequencyCount = stillRunningFrequencyCount + 1;
+        }
+        return overlappingFrequencyPairs.build().sorted();
     }
 }
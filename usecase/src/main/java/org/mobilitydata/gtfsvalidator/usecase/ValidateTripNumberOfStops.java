@@ -17,15 +17,19 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.apache.logging.log4j.Logger;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.UnusableTripNotice;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
+import java.util.Set;
+import java.util.SortedMap;
+
 /**
  * Use case to validate rule E051: {@code Trip} must have more than one stop to be usable
  */
-public class ValidateTripNumberOfStops {
+public class ValidateTripNumberOfStops implements TripStopTimesValidationRule {
     private final GtfsDataRepository dataRepository;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -38,17 +42,40 @@ public class ValidateTripNumberOfStops {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("trips.txt", "stop_times.txt");
+    }
+
     /**
      * Use case to validate that each {@link Trip} has more than one stop. Each time this condition is not met, a
      * {@code UnusableTripNotice} is generated and added to the {@code ValidationResultRepository} provided in the
      * constructor.
      */
+    @Override
     public void execute() {
+        beforeFirstTrip();
+        dataRepository.getTripAll().forEach((tripId, trip) ->
+                visitTrip(tripId, trip, dataRepository.getStopTimeByTripId(tripId)));
+    }
+
+    @Override
+    public void beforeFirstTrip() {
         logger.info("Validating rule 'E051 - Trips must have more than one stop to be usable.");
-        dataRepository.getTripAll().forEach((tripId, trip) -> {
-            if (dataRepository.getStopTimeByTripId(tripId).size() <= 1) {
-                resultRepo.addNotice(new UnusableTripNotice(tripId));
-            }
-        });
+    }
+
+    /**
+     * Checks that a {@link Trip} has more than one stop
+     *
+     * @param tripId           the trip_id of the stop times
+     * @param trip             the trip identified by {@code tripId}: stop times of trips not found in `trips.txt`
+     *                         are not validated
+     * @param stopTimeSequence the stop times of the trip mapped on their `stop_sequence`
+     */
+    @Override
+    public void visitTrip(final String tripId, final Trip trip, final SortedMap<Integer, StopTime> stopTimeSequence) {
+        if (trip != null && stopTimeSequence.size() <= 1) {
+            resultRepo.addNotice(new UnusableTripNotice(tripId));
+        }
     }
 }
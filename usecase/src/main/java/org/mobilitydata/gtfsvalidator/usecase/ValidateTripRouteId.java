@@ -27,7 +27,7 @@ import java.util.Set;
  * Use case for E033 to validate that all records of `trips.txt` refer to an existing {@code Route} from file
  * `routes.txt`
  */
-public class ValidateTripRouteId {
+public class ValidateTripRouteId implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -45,11 +45,17 @@ public class ValidateTripRouteId {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("trips.txt", "routes.txt");
+    }
+
     /**
      * Use case execution method: Checks if `route_id` of a trip refers to a record from file `routes.txt`. A new
      * notice is generated each time this condition is false.
      * This notice is then added to the {@link ValidationResultRepository} provided in the constructor.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule E033 - `route_id` not found");
         final Set<String> routeIdCollection = dataRepo.getRouteAll().keySet();
@@ -23,13 +23,15 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.ServiceIdNotFou
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
+import java.time.LocalDate;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Use case for E036 to validate that all records of `trips.txt` refer to an existing {@code Calendar} or
  * {@code CalendarDate} from files `calendar.txt` or `calendar_dates.txt
  */
-public class ValidateTripServiceId {
+public class ValidateTripServiceId implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -47,18 +49,24 @@ public class ValidateTripServiceId {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("trips.txt", "calendar.txt", "calendar_dates.txt");
+    }
+
     /**
      * Use case execution method: Checks if `service_id` of a trip refers to a record from files `calendar.txt` or
      * `calendar_dates.txt`. A new notice is generated each time this condition is false.
      * This notice is then added to the {@link ValidationResultRepository} provided in the constructor.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule E036 - `service_id` not found");
 
         // calendar entities are mapped on service_id
         final Map<String, Calendar> calendarCollection = dataRepo.getCalendarAll();
         // CalendarDate entities are mapped on service_id and date in a nested map
-        final Map<String, Map<String, CalendarDate>> calendarDateCollection = dataRepo.getCalendarDateAll();
+        final Map<String, Map<LocalDate, CalendarDate>> calendarDateCollection = dataRepo.getCalendarDateAll();
         dataRepo.getTripAll().values().stream()
                 .filter(trip -> !calendarCollection.containsKey(trip.getServiceId()) &&
                         !calendarDateCollection.containsKey(trip.getServiceId()))
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import org.apache.logging.log4j.Logger;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
+import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
+import org.mobilitydata.gtfsvalidator.usecase.port.TooManyValidationErrorException;
+import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Use case to execute all {@link TripStopTimesValidationRule} in a single pass over `stop_times.txt`. The stop times of
+ * each trip are read from the GTFS data repository once, then handed over to each rule in turn; trips of `trips.txt`
+ * without any stop time are visited last, with no stop time. Each rule adds its notices to a
+ * {@link ValidationResultRepository} of its own, whose notices are added to the main {@link ValidationResultRepository}
+ * in the order in which the rules were provided once all trips have been visited: notices are reported grouped by rule,
+ * as if each rule had been executed on its own.
+ */
+public class ValidateTripStopTimes implements ValidationRule {
+    private final GtfsDataRepository dataRepo;
+    private final ValidationResultRepository resultRepo;
+    private final List<ValidationResultRepository> ruleResultRepoList;
+    private final List<TripStopTimesValidationRule> ruleList;
+    private final Logger logger;
+
+    /**
+     * @param dataRepo               a repository storing the data of a GTFS dataset
+     * @param resultRepo             a repository storing information about the validation process
+     * @param ruleResultRepoSupplier supplies the repository collecting the notices generated by a rule
+     * @param ruleFactoryList        creates each rule to feed with the stop times of each trip, in the order they are
+     *                               to be fed and their notices reported: receives the repository in which the rule
+     *                               is to add its notices
+     * @param logger                 a logger displaying information about the validation process
+     */
+    public ValidateTripStopTimes(
+            final GtfsDataRepository dataRepo,
+            final ValidationResultRepository resultRepo,
+            final Supplier<ValidationResultRepository> ruleResultRepoSupplier,
+            final List<Function<ValidationResultRepository, TripStopTimesValidationRule>> ruleFactoryList,
+            final Logger logger) {
+        this.dataRepo = dataRepo;
+        this.resultRepo = resultRepo;
+        this.logger = logger;
+        ruleResultRepoList = new ArrayList<>(ruleFactoryList.size());
+        ruleList = new ArrayList<>(ruleFactoryList.size());
+        ruleFactoryList.forEach(ruleFactory -> {
+            final ValidationResultRepository ruleResultRepo = ruleResultRepoSupplier.get();
+            ruleResultRepoList.add(ruleResultRepo);
+            ruleList.add(ruleFactory.apply(ruleResultRepo));
+        });
+    }
+
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return ruleList.stream()
+                .flatMap(rule -> rule.getReadFilenameCollection().stream())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Use case execution method: visits the stop times of each trip once, feeding each of them to all the rules
+     * provided in the constructor, then reports the notices of each rule in turn. The notices of the rules are reported
+     * even if a rule throws: when the validation process must be aborted on the first error, the main
+     * {@link ValidationResultRepository} throws once the notice stopping the traversal is added to it. Any other
+     * exception thrown by a rule is thrown back once the notices are reported, with the exception thrown while
+     * reporting them, if any, added as suppressed.
+     */
+    @Override
+    public void execute() {
+        logger.info("Validating rules based on the stop times of each trip in a single pass");
+        try {
+            ruleList.forEach(TripStopTimesValidationRule::beforeFirstTrip);
+
+            final Map<String, Trip> tripCollection = dataRepo.getTripAll();
+            final Map<String, SortedMap<Integer, StopTime>> stopTimeCollection = dataRepo.getStopTimeAll();
+            // the repository may recreate stop times each time they are accessed: they are read once for all rules,
+            // into arrays reused from one trip to the next
+            final StopTimeSequenceView stopTimeSequence = new StopTimeSequenceView();
+            stopTimeCollection.forEach((tripId, stopTimeView) -> {
+                stopTimeSequence.fill(stopTimeView);
+                final Trip trip = tripCollection.get(tripId);
+                ruleList.forEach(rule -> rule.visitTrip(tripId, trip, stopTimeSequence));
+            });
+            tripCollection.forEach((tripId, trip) -> {
+                if (!stopTimeCollection.containsKey(tripId)) {
+                    ruleList.forEach(rule -> rule.visitTrip(tripId, trip, Collections.emptySortedMap()));
+                }
+            });
+
+            ruleList.forEach(TripStopTimesValidationRule::afterLastTrip);
+        } catch (TooManyValidationErrorException e) {
+            // the notice that stopped the traversal is in the repository of its rule: the main repository throws again
+            // once said notice is added to it
+        } catch (RuntimeException e) {
+            try {
+                reportNotices();
+            } catch (TooManyValidationErrorException reportException) {
+                e.addSuppressed(reportException);
+            }
+            throw e;
+        }
+        reportNotices();
+    }
+
+    private void reportNotices() {
+        ruleResultRepoList.forEach(ruleResultRepo -> ruleResultRepo.getAll().forEach(resultRepo::addNotice));
+    }
+}
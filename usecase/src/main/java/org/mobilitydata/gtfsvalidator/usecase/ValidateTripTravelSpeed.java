@@ -18,25 +18,32 @@ package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.apache.logging.log4j.Logger;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.LocationBase;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.FastTravelBetweenStopsNotice;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mobilitydata.gtfsvalidator.usecase.utils.GeospatialUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
 
 /**
  * Use case for E046 to validate that all records of `trips.txt` refer to a collection of {@code StopTime} from file
  * `stop_times.txt` of which -when sorted by `stop_sequence`-
  * the travel speed between each stop is not above 150 km/h
  */
-public class ValidateTripTravelSpeed {
+public class ValidateTripTravelSpeed implements TripStopTimesValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final GeospatialUtils geoUtils;
     private final Logger logger;
     private final static float METER_PER_SECOND_TO_KMH_CONVERSION_FACTOR = 3.6f;
+    // fetched before the first trip is visited
+    private EntityIndex<LocationBase> stopIndex;
 
     /**
      * @param dataRepo   a repository storing the data of a GTFS dataset
@@ -53,6 +60,11 @@ public class ValidateTripTravelSpeed {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("trips.txt", "stop_times.txt", "stops.txt");
+    }
+
     /**
      * Use case execution method: Checks all records of `trips.txt` refer to an a collection of {@code StopTime} from file
      * `stop_times.txt` of which -when sorted by `stop_sequence`- the travel speed between each stop is not above 150 km/h
@@ -61,71 +73,93 @@ public class ValidateTripTravelSpeed {
      * A new {@link FastTravelBetweenStopsNotice} notice is generated each time this condition is false.
      * This notice is then added to the {@link ValidationResultRepository} provided in the constructor.
      */
+    @Override
     public void execute() {
+        beforeFirstTrip();
+        dataRepo.getTripAll().forEach((tripId, trip) -> visitTrip(tripId, trip, dataRepo.getStopTimeByTripId(tripId)));
+    }
+
+    @Override
+    public void beforeFirstTrip() {
         logger.info("Validating rule E046 - Fast travel between stops");
 
-        dataRepo.getTripAll().keySet().forEach(tripId -> {
-            var previousStopsData = new Object() {
-                Integer departureTime = null;
-                double latitude;
-                double longitude;
-
-                // used to accumulate distance between stops with same arrival and departure times
-                int accumulatedDistanceMeter = 0;
-                final List<Integer> accumulatedStopSequence = new ArrayList<>();
-            };
-
-            dataRepo.getStopTimeByTripId(tripId).forEach((stopSequence, stopTime) -> {
-
-                // prepare data for current iteration
-                LocationBase currentStop = dataRepo.getStopById(stopTime.getStopId());
-                double currentStopLat = currentStop.getStopLat();
-                double currentStopLon = currentStop.getStopLon();
-
-                Integer currentArrivalTime = stopTime.getArrivalTime();
-                int distanceFromPreviousStopMeter = geoUtils.distanceBetweenMeter(
-                        previousStopsData.latitude,
-                        previousStopsData.longitude,
-                        currentStopLat,
-                        currentStopLon
-                );
-                boolean sameArrivalAndDeparture = false;
-
-                if (previousStopsData.departureTime != null && currentArrivalTime != null) {
-                    sameArrivalAndDeparture = currentArrivalTime.equals(previousStopsData.departureTime);
-
-                    if (!sameArrivalAndDeparture) {
-                        int durationSecond = currentArrivalTime - previousStopsData.departureTime;
-                        int distanceMeter = distanceFromPreviousStopMeter + previousStopsData.accumulatedDistanceMeter;
-                        int speedMeterPerSecond = distanceMeter / durationSecond;
-
-                        if (speedMeterPerSecond > 42) { // roughly 150 km per hour. Put it in default parameters
-                            previousStopsData.accumulatedStopSequence.add(stopSequence);
-
-                            resultRepo.addNotice(
-                                    new FastTravelBetweenStopsNotice(
-                                            tripId,
-                                            speedMeterPerSecond * METER_PER_SECOND_TO_KMH_CONVERSION_FACTOR,
-                                            new ArrayList<>(previousStopsData.accumulatedStopSequence)
-                                    )
-                            );
-                        }
-                    }
-                }
+        // stops are joined to stop times through the dense integer ids assigned by the repository
+        stopIndex = dataRepo.getStopIndex();
+    }
 
-                // Prepare data for next iteration
-                if (sameArrivalAndDeparture) {
-                    previousStopsData.accumulatedDistanceMeter += distanceFromPreviousStopMeter;
-                } else {
-                    previousStopsData.accumulatedDistanceMeter = 0;
-                    previousStopsData.accumulatedStopSequence.clear();
+    /**
+     * Checks that the travel speed between the stops of a trip is not above 150 km/h
+     *
+     * @param tripId           the trip_id of the stop times
+     * @param trip             the trip identified by {@code tripId}: stop times of trips not found in `trips.txt`
+     *                         are not validated
+     * @param stopTimeSequence the stop times of the trip mapped on their `stop_sequence`
+     */
+    @Override
+    public void visitTrip(final String tripId, final Trip trip, final SortedMap<Integer, StopTime> stopTimeSequence) {
+        if (trip == null) {
+            return;
+        }
+        var previousStopsData = new Object() {
+            Integer departureTime = null;
+            double latitude;
+            double longitude;
+
+            // used to accumulate distance between stops with same arrival and departure times
+            int accumulatedDistanceMeter = 0;
+            final List<Integer> accumulatedStopSequence = new ArrayList<>();
+        };
+
+        stopTimeSequence.forEach((stopSequence, stopTime) -> {
+
+            // prepare data for current iteration
+            LocationBase currentStop = stopIndex.get(stopTime.getStopIndex());
+            double currentStopLat = currentStop.getStopLat();
+            double currentStopLon = currentStop.getStopLon();
+
+            Integer currentArrivalTime = stopTime.getArrivalTime();
+            int distanceFromPreviousStopMeter = geoUtils.distanceBetweenMeter(
+                    previousStopsData.latitude,
+                    previousStopsData.longitude,
+                    currentStopLat,
+                    currentStopLon
+            );
+            boolean sameArrivalAndDeparture = false;
+
+            if (previousStopsData.departureTime != null && currentArrivalTime != null) {
+                sameArrivalAndDeparture = currentArrivalTime.equals(previousStopsData.departureTime);
+
+                if (!sameArrivalAndDeparture) {
+                    int durationSecond = currentArrivalTime - previousStopsData.departureTime;
+                    int distanceMeter = distanceFromPreviousStopMeter + previousStopsData.accumulatedDistanceMeter;
+                    int speedMeterPerSecond = distanceMeter / durationSecond;
+
+                    if (speedMeterPerSecond > 42) { // roughly 150 km per hour. Put it in default parameters
+                        previousStopsData.accumulatedStopSequence.add(stopSequence);
+
+                        resultRepo.addNotice(
+                                new FastTravelBetweenStopsNotice(
+                                        tripId,
+                                        speedMeterPerSecond * METER_PER_SECOND_TO_KMH_CONVERSION_FACTOR,
+                                        new ArrayList<>(previousStopsData.accumulatedStopSequence)
+                                )
+                        );
+                    }
                 }
-
-                previousStopsData.departureTime = stopTime.getDepartureTime();
-                previousStopsData.latitude = currentStopLat;
-                previousStopsData.longitude = currentStopLon;
-                previousStopsData.accumulatedStopSequence.add(stopSequence);
-            });
+            }
+
+            // Prepare data for next iteration
+            if (sameArrivalAndDeparture) {
+                previousStopsData.accumulatedDistanceMeter += distanceFromPreviousStopMeter;
+            } else {
+                previousStopsData.accumulatedDistanceMeter = 0;
+                previousStopsData.accumulatedStopSequence.clear();
+            }
+
+            previousStopsData.departureTime = stopTime.getDepartureTime();
+            previousStopsData.latitude = currentStopLat;
+            previousStopsData.longitude = currentStopLon;
+            previousStopsData.accumulatedStopSequence.add(stopSequence);
         });
     }
 }
@@ -23,12 +23,13 @@ import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.Set;
+import java.util.SortedMap;
 
 /**
  * Use case to validate rule E050: All trips defined by `trips.txt` must be referred to at least once in `stop_times.txt`
  */
-public class ValidateTripUsage {
+public class ValidateTripUsage implements ValidationRule {
     private final ValidationResultRepository resultRepo;
     private final GtfsDataRepository dataRepository;
     private final Logger logger;
@@ -41,14 +42,20 @@ public class ValidateTripUsage {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("trips.txt", "stop_times.txt");
+    }
+
     /**
      * Use case execution method: checks if every trip is referred to at least once in `stop_times.txt`.
      * Each time this condition is not met, a {@code TripNotUsedNotice} is generated and added to the
      * {@code ValidationResultRepository} provided in the constructor.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'E050 - Trips must be used in `stop_times.txt`.'");
-        final Map<String, TreeMap<Integer, StopTime>> stopTimeCollection = dataRepository.getStopTimeAll();
+        final Map<String, SortedMap<Integer, StopTime>> stopTimeCollection = dataRepository.getStopTimeAll();
         dataRepository.getTripAll().forEach((tripId, trip) -> {
             if (!stopTimeCollection.containsKey(tripId)) {
                 resultRepo.addNotice(new TripNotUsedNotice(tripId));
@@ -24,13 +24,14 @@ import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Use case to validate that combination of fields `route_long_name` and `route_short_name` from {@link Route} entities
  * are unique. This use case is triggered after completing the {@code GtfsDataRepository} provided in the constructor
  * with {@code Route} entities.
  */
-public class ValidateUniqueRouteLongNameRouteShortNameCombination {
+public class ValidateUniqueRouteLongNameRouteShortNameCombination implements ValidationRule {
     private final GtfsDataRepository dataRepo;
     private final ValidationResultRepository resultRepo;
     private final Logger logger;
@@ -48,11 +49,17 @@ public class ValidateUniqueRouteLongNameRouteShortNameCombination {
         this.logger = logger;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("routes.txt");
+    }
+
     /**
      * Use case execution method: checks uniqueness of combination of fields `route_long_name` and `route_short_name`
      * in file `routes.txt`. A notice is generated and added to the {@code ValidationResultRepository} provided in the
      * constructor each time this requirement is not satisfied.
      */
+    @Override
     public void execute() {
         logger.info("Validating rule 'W016 - Duplicate combination of fields `route_short_name` and `route_long_name`'");
 
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
+import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
+
+import java.util.Set;
+
+/**
+ * Use case validating the entities of a {@link GtfsDataRepository} once all GTFS files have been loaded. A rule only
+ * reads the repository, adds the notices it generates to a {@link ValidationResultRepository}, and declares the GTFS
+ * files whose entities it reads so that {@link ExecuteValidationRulesInParallel} can schedule it.
+ */
+public interface ValidationRule {
+    /**
+     * Returns the names of the GTFS files whose entities are read by this rule
+     *
+     * @return the names of the GTFS files whose entities are read by this rule
+     */
+    Set<String> getReadFilenameCollection();
+
+    /**
+     * Use case execution method: validates the entities and adds the notices generated to the
+     * {@link ValidationResultRepository} provided in the constructor
+     */
+    void execute();
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase.port;
+
+/**
+ * Dense integer surrogate ids assigned by a {@link GtfsDataRepository} to the ids of one kind of entity: stop_id,
+ * trip_id, route_id, service_id or shape_id. Ids are numbered from 0 in the order the repository first encounters
+ * them, either as the key of an entity or as a foreign key referring to one, so that the entities of a kind can be
+ * joined through array indexing rather than through string hashing. An id referred to by another entity but never
+ * defined has an index, for which {@link #get(int)} returns null.
+ *
+ * @param <E> the type of the entities designated by the ids
+ */
+public interface EntityIndex<E> {
+    /**
+     * Stands for the absence of an id: null ids and ids unknown to the repository
+     */
+    int NO_INDEX = -1;
+
+    /**
+     * Returns the index assigned to an id
+     *
+     * @param id the id of an entity
+     * @return the index assigned to the id, or {@link #NO_INDEX} if the id is null or unknown to the repository
+     */
+    int indexOf(final String id);
+
+    /**
+     * Returns the id an index was assigned to
+     *
+     * @param index the index of an id
+     * @return the id the index was assigned to, or null if the index is out of range
+     */
+    String getId(final int index);
+
+    /**
+     * Returns the entity designated by the id an index was assigned to
+     *
+     * @param index the index of an id
+     * @return the entity designated by the id the index was assigned to, or null if the index is out of range or if
+     * no entity was defined with said id
+     */
+    E get(final int index);
+
+    /**
+     * Returns the number of indexes assigned: indexes range from 0 to this number, excluded
+     *
+     * @return the number of indexes assigned
+     */
+    int size();
+}
@@ -36,6 +36,8 @@ public interface ExecParamRepository {
     String EXCLUSION_KEY = "exclude";
     String ABORT_ON_ERROR = "abort_on_error";
     String BEAUTIFY_KEY = "beautify";
+    String THREADS_KEY = "threads";
+    String STORAGE_KEY = "storage";
     int MAX_CHARS_NUM = 22; // empirically defined
 
     ExecParam getExecParamByKey(final String optionName);
@@ -28,12 +28,15 @@ import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.transfers.Transfer;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.translations.Translation;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
-import java.util.TreeMap;
 
-public interface GtfsDataRepository {
+public interface GtfsDataRepository extends Closeable {
     Agency addAgency(final Agency newAgency, final Agency.AgencyBuilder builder) throws IllegalArgumentException;
 
     Agency getAgencyById(final String agencyId);
@@ -50,7 +53,7 @@ public interface GtfsDataRepository {
 
     CalendarDate addCalendarDate(final CalendarDate newCalendarDate) throws IllegalArgumentException;
 
-    Map<String, Map<String, CalendarDate>> getCalendarDateAll();
+    Map<String, Map<LocalDate, CalendarDate>> getCalendarDateAll();
 
     Level addLevel(final Level newLevel) throws IllegalArgumentException;
 
@@ -93,7 +96,7 @@ public interface GtfsDataRepository {
 
     Frequency getFrequency(final String tripId, final Integer startTime);
 
-    Map<String, Frequency> getFrequencyAll();
+    Collection<Frequency> getFrequencyAll();
 
     Map<String, List<Frequency>> getFrequencyAllByTripId();
 
@@ -125,23 +128,23 @@ public interface GtfsDataRepository {
     ShapePoint addShapePoint(final ShapePoint newShapePoint) throws IllegalArgumentException;
 
     /**
-     * Return an immutable map of shape points from shapes.txt related to the id provided as parameter; which represents
-     * a shape object. The returned map is ordered by shape_pt_sequence.
+     * Return the geometry of the shape from shapes.txt related to the id provided as parameter: its points ordered by
+     * shape_pt_sequence.
      *
-     * @param shapeId the key from shapes.txt related to the Route to be returned
-     * @return an immutable map of shape points from shapes.txt related to the id provided as parameter; which
-     * represents a shape object. The returned map is ordered by shape_pt_sequence.
+     * @param shapeId the key from shapes.txt related to the shape to be returned
+     * @return the geometry of the shape from shapes.txt related to the id provided as parameter, or null if no point
+     * of said shape was added
      */
-    SortedMap<Integer, ShapePoint> getShapeById(final String shapeId);
+    ShapeGeometry getShapeById(final String shapeId);
 
     /**
      * Return an immutable map representing all records from shapes.txt. The key values for the returned map are
-     * shape_id and the value is another map, which keys are shape_pt_sequence and values are {@link ShapePoint}.
-     * Note that those are ordered by ascending shape_pt_sequence.
+     * shape_id and the values are the geometries of the shapes, which points are ordered by ascending
+     * shape_pt_sequence.
      *
      * @return an immutable map representing all records from shapes.txt
      */
-    Map<String, SortedMap<Integer, ShapePoint>> getShapeAll();
+    Map<String, ShapeGeometry> getShapeAll();
 
     /**
      * Add a {@link StopTime} representing a row from stop_times.txt to this {@link GtfsDataRepository}.
@@ -173,7 +176,7 @@ public interface GtfsDataRepository {
      *
      * @return an immutable map representing all records from stop_times.txt
      */
-    Map<String, TreeMap<Integer, StopTime>> getStopTimeAll();
+    Map<String, SortedMap<Integer, StopTime>> getStopTimeAll();
 
     Translation getTranslationByTableNameFieldValueLanguage(final String tableName,
                                                             final String fieldValue,
@@ -187,6 +190,152 @@ public interface GtfsDataRepository {
 
     Map<String, LocationBase> getStopAll();
 
+    /**
+     * Returns the dense integer ids assigned to the stop_id values found in files `stops.txt` and `stop_times.txt`
+     *
+     * @return the dense integer ids assigned to stop_id values, designating {@link LocationBase} entities
+     */
+    EntityIndex<LocationBase> getStopIndex();
+
+    /**
+     * Returns the dense integer ids assigned to the trip_id values found in files `trips.txt` and `stop_times.txt`
+     *
+     * @return the dense integer ids assigned to trip_id values, designating {@link Trip} entities
+     */
+    EntityIndex<Trip> getTripIndex();
+
+    /**
+     * Returns the dense integer ids assigned to the route_id values found in files `routes.txt` and `trips.txt`
+     *
+     * @return the dense integer ids assigned to route_id values, designating {@link Route} entities
+     */
+    EntityIndex<Route> getRouteIndex();
+
+    /**
+     * Returns the dense integer ids assigned to the service_id values found in files `calendar.txt`,
+     * `calendar_dates.txt` and `trips.txt`
+     *
+     * @return the dense integer ids assigned to service_id values, designating {@link Calendar} entities
+     */
+    EntityIndex<Calendar> getServiceIndex();
+
+    /**
+     * Returns the dense integer ids assigned to the shape_id values found in files `shapes.txt` and `trips.txt`
+     *
+     * @return the dense integer ids assigned to shape_id values, designating {@link ShapeGeometry} entities
+     */
+    EntityIndex<ShapeGeometry> getShapeIndex();
+
+    /**
+     * Returns the route_id of a trip as an index of {@link #getRouteIndex()}
+     *
+     * @param tripIndex the index of the trip_id of the trip in {@link #getTripIndex()}
+     * @return the index of the route_id of the trip, or {@link EntityIndex#NO_INDEX} if the trip is not defined in
+     * file `trips.txt` or has no route_id
+     */
+    int getRouteIndexOfTrip(final int tripIndex);
+
+    /**
+     * Returns the service_id of a trip as an index of {@link #getServiceIndex()}
+     *
+     * @param tripIndex the index of the trip_id of the trip in {@link #getTripIndex()}
+     * @return the index of the service_id of the trip, or {@link EntityIndex#NO_INDEX} if the trip is not defined in
+     * file `trips.txt` or has no service_id
+     */
+    int getServiceIndexOfTrip(final int tripIndex);
+
+    /**
+     * Returns the shape_id of a trip as an index of {@link #getShapeIndex()}
+     *
+     * @param tripIndex the index of the trip_id of the trip in {@link #getTripIndex()}
+     * @return the index of the shape_id of the trip, or {@link EntityIndex#NO_INDEX} if the trip is not defined in
+     * file `trips.txt` or has no shape_id
+     */
+    int getShapeIndexOfTrip(final int tripIndex);
+
+    /**
+     * Returns the dense integer ids assigned to the agency_id values found in files `agency.txt` and `routes.txt`.
+     * Like the secondary indexes, this index is built on first call, once all entities have been added to the
+     * repository.
+     *
+     * @return the dense integer ids assigned to agency_id values, designating {@link Agency} entities
+     */
+    EntityIndex<Agency> getAgencyIndex();
+
+    /**
+     * Returns the dense integer ids assigned to the block_id values found in file `trips.txt`, in the order of the
+     * trips referring to them. A block_id does not designate an entity: {@link EntityIndex#get(int)} always returns
+     * null. Like the secondary indexes, this index is built on first call, once all entities have been added to the
+     * repository.
+     *
+     * @return the dense integer ids assigned to block_id values
+     */
+    EntityIndex<Void> getBlockIndex();
+
+    /**
+     * Returns the trips of each route: maps the indexes of {@link #getRouteIndex()} on the indexes of
+     * {@link #getTripIndex()}. Secondary indexes are built on first call, once all entities have been added to the
+     * repository, and are not updated afterwards.
+     *
+     * @return the trips of each route
+     */
+    ReverseIndex getTripsByRoute();
+
+    /**
+     * Returns the trips of each service: maps the indexes of {@link #getServiceIndex()} on the indexes of
+     * {@link #getTripIndex()}
+     *
+     * @return the trips of each service
+     */
+    ReverseIndex getTripsByService();
+
+    /**
+     * Returns the trips of each shape: maps the indexes of {@link #getShapeIndex()} on the indexes of
+     * {@link #getTripIndex()}
+     *
+     * @return the trips of each shape
+     */
+    ReverseIndex getTripsByShape();
+
+    /**
+     * Returns the trips of each block: maps the indexes of {@link #getBlockIndex()} on the indexes of
+     * {@link #getTripIndex()}
+     *
+     * @return the trips of each block
+     */
+    ReverseIndex getTripsByBlock();
+
+    /**
+     * Returns the routes of each agency: maps the indexes of {@link #getAgencyIndex()} on the indexes of
+     * {@link #getRouteIndex()}
+     *
+     * @return the routes of each agency
+     */
+    ReverseIndex getRoutesByAgency();
+
+    /**
+     * Returns the stop times visiting each stop: maps the indexes of {@link #getStopIndex()} on the indexes of
+     * {@link #getTripIndex()} and the stop_sequence of the stop times
+     *
+     * @return the stop times visiting each stop
+     */
+    StopTimeReverseIndex getStopTimesByStop();
+
+    /**
+     * Returns the days of service of each service_id, as defined by calendar.txt and calendar_dates.txt: services are
+     * designated by the indexes of {@link #getServiceIndex()}
+     *
+     * @return the days of service of each service_id
+     */
+    ServiceCalendar getServiceCalendar();
+
+    /**
+     * Freezes this repository once all entities have been added: compacts the loaded entities into read-optimized
+     * structures and rejects any further insertion with an {@link IllegalStateException}. A frozen repository is
+     * immutable, hence safe to read from several threads without locking. Freezing a frozen repository has no effect.
+     */
+    void freeze();
+
     /**
      * Returns `feed_info.feed_publisher_name` value if file `feed_info.txt` was provided, otherwise returns an empty
      * String
@@ -195,4 +344,14 @@ public interface GtfsDataRepository {
      * String
      */
     String getFeedPublisherName();
+
+    /**
+     * Releases the resources held to store the entities of the GTFS dataset. Entities are not to be accessed once the
+     * repository is closed. By default, there is nothing to release.
+     *
+     * @throws IOException if a resource cannot be released
+     */
+    @Override
+    default void close() throws IOException {
+    }
 }
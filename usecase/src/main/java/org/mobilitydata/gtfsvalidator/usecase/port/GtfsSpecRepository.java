@@ -49,6 +49,15 @@ public interface GtfsSpecRepository {
         Collection<ErrorNotice> validateNonStringTypes(final RawEntity toValidate);
 
         ParsedEntity parse(final RawEntity toParse);
+
+        // parses a row and adds to the collection the notices validateNonStringTypes would return for it, decoding
+        // each field only once
+        ParsedEntity parse(final RawEntity toParse, final Collection<ErrorNotice> noticeCollection);
+
+        // same as above, but overwrites an entity previously returned by this parser instead of creating a new one.
+        // A new entity is created if reusedEntity is null
+        ParsedEntity parse(final RawEntity toParse, final ParsedEntity reusedEntity,
+                           final Collection<ErrorNotice> noticeCollection);
     }
 
     interface ParsedEntityTypeValidator {
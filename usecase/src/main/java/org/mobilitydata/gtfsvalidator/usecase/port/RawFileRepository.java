@@ -19,6 +19,10 @@ package org.mobilitydata.gtfsvalidator.usecase.port;
 import org.mobilitydata.gtfsvalidator.domain.entity.RawEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.RawFileInfo;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -26,7 +30,7 @@ import java.util.Set;
 /**
  * This holds information about a GTFS dataset to validate.
  */
-public interface RawFileRepository {
+public interface RawFileRepository extends Closeable {
     float MAX_RAW_INPUT_SIZE_MEGABYTES = 65f;
 
     RawFileInfo create(RawFileInfo fileInfo);
@@ -39,12 +43,51 @@ public interface RawFileRepository {
 
     Optional<RawEntityProvider> getProviderForFile(RawFileInfo file);
 
-    interface RawEntityProvider {
+    /**
+     * Releases the resources held to read the files of the GTFS dataset. Data providers are not to be requested once
+     * the repository is closed. By default, there is nothing to release.
+     *
+     * @throws IOException if a resource cannot be released
+     */
+    @Override
+    default void close() throws IOException {
+    }
+
+    /**
+     * Provides the rows of a GTFS CSV file. A provider may hold the stream its rows are read from until it is closed,
+     * hence it is to be closed once the rows needed have been read, whether or not the file has been read entirely.
+     */
+    interface RawEntityProvider extends Closeable {
 
         boolean hasNext();
 
+        // the row returned can be reused by the provider for the next row: it is only valid until the next call
         RawEntity getNext();
 
         int getHeaderCount();
+
+        List<String> getHeaders();
+
+        /**
+         * Returns providers over consecutive chunks of the rows left to read, in the order they appear in the file.
+         * Each chunk can be read on its own thread, and the rows it provides keep their line number in the file. This
+         * must not be mixed with calls to {@link #hasNext()} and {@link #getNext()}. By default, the whole file is a
+         * single chunk.
+         *
+         * @return providers over consecutive chunks of the rows left to read
+         */
+        default Iterator<RawEntityProvider> chunkIterator() {
+            return List.<RawEntityProvider>of(this).iterator();
+        }
+
+        /**
+         * Releases the stream the rows are read from. The chunks handed over by {@link #chunkIterator()} are closed on
+         * their own. By default, there is nothing to release.
+         *
+         * @throws UncheckedIOException if the stream cannot be closed
+         */
+        @Override
+        default void close() {
+        }
     }
 }
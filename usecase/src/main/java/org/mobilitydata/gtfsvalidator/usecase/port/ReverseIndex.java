@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase.port;
+
+/**
+ * Secondary index of a {@link GtfsDataRepository}: maps each index of an {@link EntityIndex}, the key, on the indexes
+ * of the entities referring to it, such as the trips of a route. Entries are stored contiguously per key, so that the
+ * entities referring to a key are enumerated through array indexing: the entries of a key are numbered from 0 to
+ * {@link #getCount(int)}, excluded, in ascending order of the index of their entity.
+ */
+public interface ReverseIndex {
+    /**
+     * Returns the number of keys of this index: keys range from 0 to this number, excluded
+     *
+     * @return the number of keys of this index
+     */
+    int getKeyCount();
+
+    /**
+     * Returns the number of entities referring to a key
+     *
+     * @param key the index of the id of the key
+     * @return the number of entities referring to the key, 0 if the key is out of range
+     */
+    int getCount(final int key);
+
+    /**
+     * Returns the index of an entity referring to a key
+     *
+     * @param key      the index of the id of the key
+     * @param position the position of the entry among the entries of the key, from 0 to {@link #getCount(int)},
+     *                 excluded
+     * @return the index of the entity at said position among the entities referring to the key
+     * @throws IndexOutOfBoundsException if the key or the position is out of range
+     */
+    int get(final int key, final int position);
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase.port;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Days of service of each service_id of a {@link GtfsDataRepository}, as defined by the weekdays and the date range of
+ * calendar.txt, then by the services added and removed in calendar_dates.txt. Services are designated by the indexes
+ * of {@link GtfsDataRepository#getServiceIndex()}.
+ */
+public interface ServiceCalendar {
+    /**
+     * Returns true if a service operates on a date
+     *
+     * @param serviceIndex the index of the service_id
+     * @param date         the date to check
+     * @return true if the service operates on the date, false if it does not or if the index is out of range
+     */
+    boolean isActive(final int serviceIndex, final LocalDate date);
+
+    /**
+     * Returns true if two services operate on at least one common date
+     *
+     * @param serviceIndex      the index of a service_id
+     * @param otherServiceIndex the index of the other service_id
+     * @return true if both services operate on at least one common date
+     */
+    boolean haveCommonDay(final int serviceIndex, final int otherServiceIndex);
+
+    /**
+     * Returns the dates on which two services both operate
+     *
+     * @param serviceIndex      the index of a service_id
+     * @param otherServiceIndex the index of the other service_id
+     * @return the dates on which both services operate, in ascending order
+     */
+    List<LocalDate> getCommonDays(final int serviceIndex, final int otherServiceIndex);
+
+    /**
+     * Returns the services operating on a date
+     *
+     * @param date the date to check
+     * @return the indexes of the service_id values operating on the date; the returned set belongs to the caller
+     */
+    BitSet getActiveServices(final LocalDate date);
+}
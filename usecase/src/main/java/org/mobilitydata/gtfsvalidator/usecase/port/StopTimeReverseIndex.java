@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase.port;
+
+/**
+ * Secondary index of a {@link GtfsDataRepository} mapping the index of a stop_id on the stop times visiting it. A stop
+ * time is designated by the index of its trip_id, returned by {@link #get(int, int)}, along with its stop_sequence,
+ * returned by {@link #getStopSequence(int, int)}. The stop times of a stop are ordered by trip, then by stop_sequence.
+ */
+public interface StopTimeReverseIndex extends ReverseIndex {
+    /**
+     * Returns the stop_sequence of a stop time visiting a stop
+     *
+     * @param stopIndex the index of the stop_id of the stop in {@link GtfsDataRepository#getStopIndex()}
+     * @param position  the position of the stop time among the stop times visiting the stop, from 0 to
+     *                  {@link #getCount(int)}, excluded
+     * @return the stop_sequence of the stop time at said position among the stop times visiting the stop
+     * @throws IndexOutOfBoundsException if the stop index or the position is out of range
+     */
+    int getStopSequence(final int stopIndex, final int position);
+}
@@ -19,17 +19,20 @@ package org.mobilitydata.gtfsvalidator.usecase.usecasevalidator;
 import org.apache.logging.log4j.Logger;
 import org.mobilitydata.gtfsvalidator.usecase.ValidateShapeIncreasingDistance;
 import org.mobilitydata.gtfsvalidator.usecase.ValidateShapeUsage;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
+import org.mobilitydata.gtfsvalidator.usecase.ValidationRule;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
+import org.mobilitydata.gtfsvalidator.usecase.port.ReverseIndex;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 
-import java.util.HashSet;
 import java.util.Set;
 
 /**
  * Use case to execute cross validation based on GTFS files `shapes.txt`
  * E038 - All shapes should be used in `trips.txt`
  */
-public class ShapeBasedCrossValidator {
+public class ShapeBasedCrossValidator implements ValidationRule {
     private final ValidationResultRepository resultRepo;
     private final GtfsDataRepository dataRepo;
     private final Logger logger;
@@ -48,24 +51,26 @@ public class ShapeBasedCrossValidator {
         this.validateShapeIncreasingDistance = validateShapeIncreasingDistance;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("shapes.txt", "trips.txt");
+    }
+
     /**
      * Executes cross validation rules based on file `shapes.txt`
      */
+    @Override
     public void execute() {
         logger.info("Validating rules :'E038 - All shapes should be used in GTFS `trips.txt`");
         logger.info("Validating rules :'E058 - Decreasing `shape_dist_traveled` in `shapes.txt`");
 
-        final Set<String> tripShapeIdCollection = new HashSet<>();
-        dataRepo.getTripAll().values()
-                .forEach(trip -> tripShapeIdCollection.add(trip.getShapeId()));
+        final EntityIndex<ShapeGeometry> shapeIndex = dataRepo.getShapeIndex();
+        final ReverseIndex tripsByShape = dataRepo.getTripsByShape();
         dataRepo.getShapeAll().values().
                 forEach(shape -> {
-                    final String shapeId = shape.values().stream()
-                            .findFirst()
-                            .get()
-                            .getShapeId();
-                    validateShapeUsage.execute(resultRepo, shapeId, tripShapeIdCollection);
-                    validateShapeIncreasingDistance.execute(shape, shapeId, resultRepo);
+                    validateShapeUsage.execute(resultRepo, shape.getShapeId(),
+                            tripsByShape.getCount(shapeIndex.indexOf(shape.getShapeId())));
+                    validateShapeIncreasingDistance.execute(shape, resultRepo);
                 });
     }
 }
@@ -17,17 +17,22 @@
 package org.mobilitydata.gtfsvalidator.usecase.usecasevalidator;
 
 import org.apache.logging.log4j.Logger;
-import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
 import org.mobilitydata.gtfsvalidator.usecase.ValidateBackwardsTimeTravelForStops;
 import org.mobilitydata.gtfsvalidator.usecase.ValidateShapeIdReferenceInStopTime;
 import org.mobilitydata.gtfsvalidator.usecase.ValidateStopTimeIncreasingDistance;
 import org.mobilitydata.gtfsvalidator.usecase.ValidateStopTimeTripId;
+import org.mobilitydata.gtfsvalidator.usecase.TripStopTimesValidationRule;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mobilitydata.gtfsvalidator.usecase.utils.TimeUtils;
 
 import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
 
 /**
  * Use case to execute validation for GTFS files `stop_times.txt`, `shapes.txt`, and `trips.txt`
@@ -35,7 +40,7 @@ import java.util.Map;
  * E034 - `shape_id` not found
  * E037 - `trip_id` not found
  */
-public class StopTimeValidator {
+public class StopTimeValidator implements TripStopTimesValidationRule {
     private final ValidationResultRepository resultRepo;
     private final GtfsDataRepository dataRepo;
     private final Logger logger;
@@ -44,6 +49,10 @@ public class StopTimeValidator {
     private final ValidateStopTimeTripId validateStopTimeTripId;
     private final ValidateBackwardsTimeTravelForStops validateBackwardsTimeTravelForStops;
     private final ValidateStopTimeIncreasingDistance validateStopTimeIncreasingDistance;
+    // fetched before the first trip is visited
+    private EntityIndex<Trip> tripIndex;
+    private EntityIndex<ShapeGeometry> shapeIndex;
+    private Map<String, Trip> tripCollection;
 
     public StopTimeValidator(final GtfsDataRepository dataRepo,
                              final ValidationResultRepository resultRepo,
@@ -64,28 +73,60 @@ public class StopTimeValidator {
         this.validateStopTimeIncreasingDistance = validateStopTimeIncreasingDistance;
     }
 
+    @Override
+    public Set<String> getReadFilenameCollection() {
+        return Set.of("stop_times.txt", "trips.txt", "shapes.txt");
+    }
+
     /**
      * Executes validation rules based on file `stop_times.txt`
      */
+    @Override
     public void execute() {
+        beforeFirstTrip();
+        dataRepo.getStopTimeAll().forEach((tripId, stopTimeCollection) ->
+                visitTrip(tripId, tripCollection.get(tripId), stopTimeCollection));
+    }
+
+    @Override
+    public void beforeFirstTrip() {
         logger.info("Validating rules: 'E049 - Bad combination of stoptime arrival and departure times`");
         logger.info("                  'E034 - `shape_id` not found");
         logger.info("                  'E037 - `trip_id` not found");
         logger.info("                  'E054 & W013 - Decreasing travelled distance");
 
-        dataRepo.getStopTimeAll().values().forEach(stopTimeCollection -> {
-            // E049
-            validateBackwardsTimeTravelForStops.execute(resultRepo, stopTimeCollection, timeUtils);
-            // E054 and W013
-            validateStopTimeIncreasingDistance.execute(stopTimeCollection);
-            stopTimeCollection.values().forEach(stopTime -> {
-                final Trip trip = dataRepo.getTripById(stopTime.getTripId());
-                final Map<Integer, ShapePoint> shape = dataRepo.getShapeById(trip == null ? null : trip.getShapeId());
-                // E034 - cross validation
-                validateShapeIdReferenceInStopTime.execute(resultRepo, stopTime, shape, trip);
-                // E037 - cross validation
-                validateStopTimeTripId.execute(resultRepo, stopTime, dataRepo.getTripAll());
-            });
+        // trips and shapes are joined to stop times through the dense integer ids assigned by the repository
+        tripIndex = dataRepo.getTripIndex();
+        shapeIndex = dataRepo.getShapeIndex();
+        tripCollection = dataRepo.getTripAll();
+    }
+
+    /**
+     * Executes validation rules based on file `stop_times.txt` for the stop times of a trip
+     *
+     * @param tripId             the trip_id of the stop times
+     * @param trip               the trip identified by {@code tripId}, or null if there is no such trip
+     * @param stopTimeCollection the stop times of the trip mapped on their `stop_sequence`
+     */
+    @Override
+    public void visitTrip(final String tripId,
+                          final Trip trip,
+                          final SortedMap<Integer, StopTime> stopTimeCollection) {
+        if (stopTimeCollection.isEmpty()) {
+            return;
+        }
+        // E049
+        validateBackwardsTimeTravelForStops.execute(resultRepo, stopTimeCollection, timeUtils);
+        // E054 and W013
+        validateStopTimeIncreasingDistance.execute(stopTimeCollection);
+        stopTimeCollection.values().forEach(stopTime -> {
+            final Trip stopTimeTrip = tripIndex.get(stopTime.getTripIndex());
+            final ShapeGeometry shape = shapeIndex.get(dataRepo.getShapeIndexOfTrip(stopTime.getTripIndex()));
+            // E034 - cross validation
+            validateShapeIdReferenceInStopTime.execute(resultRepo, stopTime,
+                    shape == null ? null : shape.getShapePoints(), stopTimeTrip);
+            // E037 - cross validation
+            validateStopTimeTripId.execute(resultRepo, stopTime, tripCollection);
         });
     }
 }
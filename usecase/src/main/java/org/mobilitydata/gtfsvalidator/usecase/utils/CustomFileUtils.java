@@ -50,4 +50,13 @@ public interface CustomFileUtils {
      * @return the size of a directory given its path in bytes
      */
     long sizeOfDirectory(final Path pathToDirectory);
+
+    /**
+     * Returns the total uncompressed size in bytes of the files contained in a zip archive, as recorded in the central
+     * directory of the archive: the content of the archive does not need to be extracted
+     * @param pathToArchive  the path to the zip archive
+     * @return the total uncompressed size in bytes of the files contained in a zip archive, or 0 if the archive cannot
+     * be read
+     */
+    long sizeOfArchiveContent(final Path pathToArchive);
 }
@@ -16,7 +16,7 @@
 
 package org.mobilitydata.gtfsvalidator.usecase.utils;
 
-import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.LocationBase;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
@@ -24,8 +24,8 @@ import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.StopTooFarFromT
 
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.SortedMap;
+import java.util.function.Predicate;
 
 public interface GeospatialUtils {
     int KILOMETER_TO_METER_CONVERSION_FACTOR = 1000; // conversion factor from kilometers to meters
@@ -41,21 +41,34 @@ public interface GeospatialUtils {
      **/
     int distanceBetweenMeter(double fromLat, double fromLng, double toLat, double toLng);
 
+    /**
+     * Returns an empty cache of shape buffers, to be passed to
+     * {@link #checkStopsWithinTripShape(Trip, SortedMap, ShapeGeometry, Map, Predicate, Map)} for all the trips of a
+     * single validation, so that the buffers are released with the validation. The cache is not thread-safe.
+     *
+     * @return an empty cache of shape buffers
+     */
+    Map<Object, Object> createShapeBufferCache();
+
     /**
      * Returns a list of E052 errors for the given input, one for each stop that is too far from the trip shape
      *
-     * @param trip        Trip for this GTFS trip
-     * @param stopTimes   a map of StopTimes for a trip, sorted by stop_sequence
-     * @param shape       a map of ShapePoints for a trip, sorted by shape_pt_sequence
-     * @param stops       a map of all stops (keyed on stop_id), needed to obtain the latitude and longitude for each stop
-     * @param testedCache a cache for previously tested shape_id and stop_id pairs (keyed on shape_id+stop_id). If the
-     *                    combination of shape_id and stop_id appears in this set, we shouldn't test it again. Shapes
-     *                    and stops tested in this method execution will be added to this testedCache.
+     * @param trip           Trip for this GTFS trip
+     * @param stopTimes      a map of StopTimes for a trip, sorted by stop_sequence
+     * @param shape          the geometry of the shape of a trip, its points being sorted by shape_pt_sequence
+     * @param stops          a map of all stops (keyed on stop_id), needed to obtain the latitude and longitude for each
+     *                       stop
+     * @param markStopTested marks a stop_id as tested against the shape_id of the trip: returns true if the
+     *                       combination of shape_id and stop_id was not tested yet, false if it was tested before and
+     *                       shouldn't be tested again
+     * @param shapeBufferCache the buffers of the shapes already built during the validation, as returned by
+     *                         {@link #createShapeBufferCache()}
      * @return a list of E052 errors, one for each stop that is too far from the trip shape
      */
     List<StopTooFarFromTripShapeNotice> checkStopsWithinTripShape(Trip trip,
                                                                   SortedMap<Integer, StopTime> stopTimes,
-                                                                  SortedMap<Integer, ShapePoint> shape,
+                                                                  ShapeGeometry shape,
                                                                   Map<String, LocationBase> stops,
-                                                                  Set<String> testedCache);
+                                                                  Predicate<String> markStopTested,
+                                                                  Map<Object, Object> shapeBufferCache);
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Maps primitive long keys to values by open addressing, so that neither insertions nor lookups box their key. Keys
+ * are composite keys packed by {@link #pack(int, int)}, typically from the dense integer ids of an
+ * {@link org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex}. Values are iterated in the order they were added.
+ * It also serves as a set of keys through {@link #putIfAbsent(long, Object)}. This is not thread-safe:
+ * values are to be added by a single thread at a time, and lookups are not to be performed while values are added.
+ *
+ * @param <V> the type of the values
+ */
+public final class LongKeyMap<V> {
+    private static final int INITIAL_SLOT_COUNT = 16;
+
+    private final List<V> valueList = new ArrayList<>();
+    private long[] keys = new long[INITIAL_SLOT_COUNT / 2];
+    // index of the value of each slot plus one, by hash of its key; zero for free slots
+    private int[] slots = new int[INITIAL_SLOT_COUNT];
+
+    /**
+     * Packs two integers into a single key
+     *
+     * @param high the integer stored in the upper 32 bits of the key
+     * @param low  the integer stored in the lower 32 bits of the key
+     * @return the key made of both integers
+     */
+    public static long pack(final int high, final int low) {
+        return ((long) high << Integer.SIZE) | (low & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the value mapped on a key
+     *
+     * @param key the key of the value
+     * @return the value mapped on the key, or null if there is none
+     */
+    public V get(final long key) {
+        final int slot = findSlot(key);
+        return slots[slot] == 0 ? null : valueList.get(slots[slot] - 1);
+    }
+
+    /**
+     * Maps a value on a key, unless the key is already mapped
+     *
+     * @param key   the key of the value
+     * @param value the value to map on the key
+     * @return the value already mapped on the key, or null if the value was added
+     */
+    public V putIfAbsent(final long key, final V value) {
+        int slot = findSlot(key);
+        if (slots[slot] != 0) {
+            return valueList.get(slots[slot] - 1);
+        }
+        final int index = valueList.size();
+        if (index == keys.length) {
+            grow();
+            slot = findSlot(key);
+        }
+        valueList.add(value);
+        keys[index] = key;
+        slots[slot] = index + 1;
+        return null;
+    }
+
+    /**
+     * Returns an unmodifiable view of the values, in the order they were added
+     *
+     * @return an unmodifiable view of the values
+     */
+    public Collection<V> values() {
+        return Collections.unmodifiableList(valueList);
+    }
+
+    /**
+     * Returns the number of values
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return valueList.size();
+    }
+
+    // returns the slot of a key, or the free slot where to add it
+    private int findSlot(final long key) {
+        final int mask = slots.length - 1;
+        int slot = spread(key) & mask;
+        while (slots[slot] != 0 && keys[slots[slot] - 1] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // doubles the capacity, keeping the load factor of slots at most 1/2
+    private void grow() {
+        final long[] newKeys = new long[keys.length * 2];
+        System.arraycopy(keys, 0, newKeys, 0, keys.length);
+        keys = newKeys;
+        slots = new int[slots.length * 2];
+        final int mask = slots.length - 1;
+        for (int index = 0; index < valueList.size(); ++index) {
+            int slot = spread(keys[index]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index + 1;
+        }
+    }
+
+    private static int spread(final long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> Integer.SIZE);
+    }
+}
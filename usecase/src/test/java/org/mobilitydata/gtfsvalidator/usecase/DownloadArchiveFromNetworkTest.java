@@ -44,7 +44,8 @@ class DownloadArchiveFromNetworkTest {
         Path mockPath = mock(Path.class);
 
         DownloadArchiveFromNetwork underTest =
-                new DownloadArchiveFromNetwork(mockResultRepo, mockExecParamRepo, mockLogger, mockFileUtils, mockPath);
+                new DownloadArchiveFromNetwork(mockResultRepo, mockExecParamRepo, mockLogger, mockFileUtils, mockPath,
+                        RawFileRepository.MAX_RAW_INPUT_SIZE_MEGABYTES);
 
         underTest.execute();
 
@@ -85,7 +86,8 @@ class DownloadArchiveFromNetworkTest {
         Path mockPath = mock(Path.class);
 
         DownloadArchiveFromNetwork underTest =
-                new DownloadArchiveFromNetwork(mockResultRepo, mockExecParamRepo, mockLogger, mockFileUtils, mockPath);
+                new DownloadArchiveFromNetwork(mockResultRepo, mockExecParamRepo, mockLogger, mockFileUtils, mockPath,
+                        RawFileRepository.MAX_RAW_INPUT_SIZE_MEGABYTES);
 
         assertThrows(IOException.class, underTest::execute);
 
@@ -129,7 +131,8 @@ class DownloadArchiveFromNetworkTest {
         Path mockPath = mock(Path.class);
 
         DownloadArchiveFromNetwork underTest =
-                new DownloadArchiveFromNetwork(mockResultRepo, mockExecParamRepo, mockLogger, mockFileUtils, mockPath);
+                new DownloadArchiveFromNetwork(mockResultRepo, mockExecParamRepo, mockLogger, mockFileUtils, mockPath,
+                        RawFileRepository.MAX_RAW_INPUT_SIZE_MEGABYTES);
 
         underTest.execute();
 
@@ -182,7 +185,8 @@ class DownloadArchiveFromNetworkTest {
         Path mockPath = mock(Path.class);
 
         DownloadArchiveFromNetwork underTest =
-                new DownloadArchiveFromNetwork(mockResultRepo, mockExecParamRepo, mockLogger, mockFileUtils, mockPath);
+                new DownloadArchiveFromNetwork(mockResultRepo, mockExecParamRepo, mockLogger, mockFileUtils, mockPath,
+                        RawFileRepository.MAX_RAW_INPUT_SIZE_MEGABYTES);
 
         underTest.execute();
 
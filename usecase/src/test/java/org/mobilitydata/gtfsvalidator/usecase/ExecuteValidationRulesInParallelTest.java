@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.EmptyFileErrorNotice;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.MissingHeaderNotice;
+import org.mobilitydata.gtfsvalidator.usecase.port.TooManyValidationErrorException;
+import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
+import org.mockito.InOrder;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExecuteValidationRulesInParallelTest {
+    private static final List<String> FILENAME_LIST = List.of("agency.txt", "routes.txt", "trips.txt");
+
+    // minimal repository keeping notices in insertion order
+    private static ValidationResultRepository mockRuleResultRepo() {
+        final List<Notice> noticeList = Collections.synchronizedList(new ArrayList<>());
+        final ValidationResultRepository mockRepo = mock(ValidationResultRepository.class);
+        when(mockRepo.addNotice(any(Notice.class))).thenAnswer(invocation -> {
+            noticeList.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(mockRepo.getAll()).thenReturn(noticeList);
+        return mockRepo;
+    }
+
+    // one rule per file: each rule reads a single file, and passes its name and repository to the given operation
+    private static List<Function<ValidationResultRepository, ValidationRule>> createRuleFactoryList(
+            final BiConsumer<String, ValidationResultRepository> operation) {
+        return FILENAME_LIST.stream()
+                .<Function<ValidationResultRepository, ValidationRule>>map(filename -> ruleResultRepo ->
+                        new ValidationRule() {
+                            @Override
+                            public Set<String> getReadFilenameCollection() {
+                                return Set.of(filename);
+                            }
+
+                            @Override
+                            public void execute() {
+                                operation.accept(filename, ruleResultRepo);
+                            }
+                        })
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void singleThreadShouldExecuteRulesInOrderWithMainRepository() {
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        final List<String> executedRuleList = new ArrayList<>();
+
+        final ExecuteValidationRulesInParallel underTest = new ExecuteValidationRulesInParallel(mockResultRepo,
+                () -> fail("no repository should be created for a single thread"), Map.of("trips.txt", 10L), 1,
+                mock(Logger.class));
+
+        underTest.execute(createRuleFactoryList((filename, ruleResultRepo) -> {
+            assertSame(mockResultRepo, ruleResultRepo);
+            executedRuleList.add(filename);
+        }));
+
+        assertEquals(FILENAME_LIST, executedRuleList);
+    }
+
+    @Test
+    void noticesShouldBeAddedInRuleOrderRegardlessOfCompletionOrder() {
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        final CountDownLatch lastRuleExecuted = new CountDownLatch(1);
+
+        final ExecuteValidationRulesInParallel underTest = new ExecuteValidationRulesInParallel(mockResultRepo,
+                ExecuteValidationRulesInParallelTest::mockRuleResultRepo, Map.of(), 3, mock(Logger.class));
+
+        underTest.execute(createRuleFactoryList((filename, ruleResultRepo) -> {
+            if (filename.equals(FILENAME_LIST.get(0))) {
+                // the first rule completes after the last one
+                await(lastRuleExecuted);
+            }
+            ruleResultRepo.addNotice(new EmptyFileErrorNotice(filename));
+            ruleResultRepo.addNotice(new MissingHeaderNotice(filename, "header"));
+            if (filename.equals(FILENAME_LIST.get(2))) {
+                lastRuleExecuted.countDown();
+            }
+        }));
+
+        final InOrder inOrder = inOrder(mockResultRepo);
+        FILENAME_LIST.forEach(filename -> {
+            inOrder.verify(mockResultRepo).addNotice(argThat(notice ->
+                    notice instanceof EmptyFileErrorNotice && filename.equals(notice.getFilename())));
+            inOrder.verify(mockResultRepo).addNotice(argThat(notice ->
+                    notice instanceof MissingHeaderNotice && filename.equals(notice.getFilename())));
+        });
+        verifyNoMoreInteractions(mockResultRepo);
+    }
+
+    @Test
+    void rulesReadingLargestFilesShouldBeStartedFirst() {
+        final List<String> startedRuleList = Collections.synchronizedList(new ArrayList<>());
+        // the two rules started first only complete once both have started: the third one waits for a thread
+        final CountDownLatch firstRulesStarted = new CountDownLatch(2);
+
+        final ExecuteValidationRulesInParallel underTest = new ExecuteValidationRulesInParallel(
+                mock(ValidationResultRepository.class), ExecuteValidationRulesInParallelTest::mockRuleResultRepo,
+                Map.of("agency.txt", 1L, "routes.txt", 100L, "trips.txt", 10L), 2, mock(Logger.class));
+
+        underTest.execute(createRuleFactoryList((filename, ruleResultRepo) -> {
+            startedRuleList.add(filename);
+            firstRulesStarted.countDown();
+            await(firstRulesStarted);
+        }));
+
+        assertEquals(Set.of("routes.txt", "trips.txt"), new HashSet<>(startedRuleList.subList(0, 2)));
+        assertEquals("agency.txt", startedRuleList.get(2));
+    }
+
+    @Test
+    void abortOnErrorShouldDiscardNoticesOfFollowingRules() {
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        when(mockResultRepo.addNotice(any(EmptyFileErrorNotice.class))).thenThrow(new TooManyValidationErrorException());
+
+        final ExecuteValidationRulesInParallel underTest = new ExecuteValidationRulesInParallel(mockResultRepo,
+                ExecuteValidationRulesInParallelTest::mockRuleResultRepo, Map.of(), 2, mock(Logger.class));
+
+        assertThrows(TooManyValidationErrorException.class, () ->
+                underTest.execute(createRuleFactoryList((filename, ruleResultRepo) -> {
+                    if (filename.equals(FILENAME_LIST.get(1))) {
+                        ruleResultRepo.addNotice(new EmptyFileErrorNotice(filename));
+                    } else {
+                        ruleResultRepo.addNotice(new MissingHeaderNotice(filename, "header"));
+                    }
+                })));
+
+        verify(mockResultRepo, times(1)).addNotice(any(MissingHeaderNotice.class));
+        verify(mockResultRepo, times(1)).addNotice(any(EmptyFileErrorNotice.class));
+        verifyNoMoreInteractions(mockResultRepo);
+    }
+
+    @Test
+    void exceptionThrownByRuleShouldBeThrownBack() {
+        final ExecuteValidationRulesInParallel underTest = new ExecuteValidationRulesInParallel(
+                mock(ValidationResultRepository.class), ExecuteValidationRulesInParallelTest::mockRuleResultRepo,
+                Map.of(), 2, mock(Logger.class));
+
+        final Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                underTest.execute(createRuleFactoryList((filename, ruleResultRepo) -> {
+                    throw new IllegalArgumentException(filename);
+                })));
+
+        assertEquals(FILENAME_LIST.get(0), exception.getMessage());
+    }
+
+    @Test
+    void rulesBeingExecutedShouldBeDoneWhenExceptionIsThrownBack() {
+        final CountDownLatch secondRuleStarted = new CountDownLatch(1);
+        final AtomicBoolean isSecondRuleDone = new AtomicBoolean();
+        final ExecuteValidationRulesInParallel underTest = new ExecuteValidationRulesInParallel(
+                mock(ValidationResultRepository.class), ExecuteValidationRulesInParallelTest::mockRuleResultRepo,
+                Map.of(), 2, mock(Logger.class));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                underTest.execute(createRuleFactoryList((filename, ruleResultRepo) -> {
+                    if (filename.equals(FILENAME_LIST.get(0))) {
+                        await(secondRuleStarted);
+                        throw new IllegalArgumentException(filename);
+                    }
+                    if (filename.equals(FILENAME_LIST.get(1))) {
+                        secondRuleStarted.countDown();
+                        // rules do not check for interruption
+                        final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                        while (System.nanoTime() < end) {
+                            Thread.onSpinWait();
+                        }
+                        isSecondRuleDone.set(true);
+                    }
+                })));
+
+        assertTrue(isSecondRuleDone.get());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
+
+import static org.mockito.Mockito.*;
+
+class FreezeGtfsDataTest {
+
+    @Test
+    void executeShouldFreezeDataRepository() {
+        final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
+        final Logger mockLogger = mock(Logger.class);
+
+        final FreezeGtfsData underTest = new FreezeGtfsData(mockDataRepo, mockLogger);
+
+        underTest.execute();
+
+        verify(mockDataRepo, times(1)).freeze();
+        verify(mockLogger, times(1)).info(anyString());
+        verifyNoMoreInteractions(mockDataRepo, mockLogger);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.EmptyFileErrorNotice;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.MissingHeaderNotice;
+import org.mobilitydata.gtfsvalidator.usecase.port.TooManyValidationErrorException;
+import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
+import org.mockito.InOrder;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProcessFilesInParallelTest {
+    private static final List<String> FILENAME_LIST = List.of("agency.txt", "routes.txt", "trips.txt");
+
+    // minimal repository keeping notices in insertion order
+    private static ValidationResultRepository mockFileResultRepo() {
+        final List<Notice> noticeList = Collections.synchronizedList(new ArrayList<>());
+        final ValidationResultRepository mockRepo = mock(ValidationResultRepository.class);
+        when(mockRepo.addNotice(any(Notice.class))).thenAnswer(invocation -> {
+            noticeList.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(mockRepo.getAll()).thenReturn(noticeList);
+        return mockRepo;
+    }
+
+    @Test
+    void singleThreadShouldProcessFilesInOrderWithMainRepository() {
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        final List<String> processedFilenameList = new ArrayList<>();
+
+        final ProcessFilesInParallel underTest = new ProcessFilesInParallel(mockResultRepo,
+                () -> fail("no repository should be created for a single thread"), 1, mock(Logger.class));
+
+        underTest.execute(FILENAME_LIST, (filename, fileResultRepo) -> {
+            assertSame(mockResultRepo, fileResultRepo);
+            processedFilenameList.add(filename);
+        });
+
+        assertEquals(FILENAME_LIST, processedFilenameList);
+    }
+
+    @Test
+    void noticesShouldBeAddedInFileOrderRegardlessOfCompletionOrder() {
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        final CountDownLatch lastFileProcessed = new CountDownLatch(1);
+
+        final ProcessFilesInParallel underTest = new ProcessFilesInParallel(mockResultRepo,
+                ProcessFilesInParallelTest::mockFileResultRepo, 3, mock(Logger.class));
+
+        underTest.execute(FILENAME_LIST, (filename, fileResultRepo) -> {
+            if (filename.equals(FILENAME_LIST.get(0))) {
+                // the first file completes after the last one
+                try {
+                    assertTrue(lastFileProcessed.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            fileResultRepo.addNotice(new EmptyFileErrorNotice(filename));
+            fileResultRepo.addNotice(new MissingHeaderNotice(filename, "header"));
+            if (filename.equals(FILENAME_LIST.get(2))) {
+                lastFileProcessed.countDown();
+            }
+        });
+
+        final InOrder inOrder = inOrder(mockResultRepo);
+        FILENAME_LIST.forEach(filename -> {
+            inOrder.verify(mockResultRepo).addNotice(argThat(notice ->
+                    notice instanceof EmptyFileErrorNotice && filename.equals(notice.getFilename())));
+            inOrder.verify(mockResultRepo).addNotice(argThat(notice ->
+                    notice instanceof MissingHeaderNotice && filename.equals(notice.getFilename())));
+        });
+        verifyNoMoreInteractions(mockResultRepo);
+    }
+
+    @Test
+    void abortOnErrorShouldDiscardNoticesOfFollowingFiles() {
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        when(mockResultRepo.addNotice(any(EmptyFileErrorNotice.class))).thenThrow(new TooManyValidationErrorException());
+
+        final ProcessFilesInParallel underTest = new ProcessFilesInParallel(mockResultRepo,
+                ProcessFilesInParallelTest::mockFileResultRepo, 2, mock(Logger.class));
+
+        assertThrows(TooManyValidationErrorException.class, () ->
+                underTest.execute(FILENAME_LIST, (filename, fileResultRepo) -> {
+                    if (filename.equals(FILENAME_LIST.get(1))) {
+                        fileResultRepo.addNotice(new EmptyFileErrorNotice(filename));
+                    } else {
+                        fileResultRepo.addNotice(new MissingHeaderNotice(filename, "header"));
+                    }
+                }));
+
+        verify(mockResultRepo, times(1)).addNotice(any(MissingHeaderNotice.class));
+        verify(mockResultRepo, times(1)).addNotice(any(EmptyFileErrorNotice.class));
+        verifyNoMoreInteractions(mockResultRepo);
+    }
+
+    @Test
+    void exceptionThrownWhileProcessingFileShouldBeThrownBack() {
+        final ProcessFilesInParallel underTest = new ProcessFilesInParallel(mock(ValidationResultRepository.class),
+                ProcessFilesInParallelTest::mockFileResultRepo, 2, mock(Logger.class));
+
+        final Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                underTest.execute(FILENAME_LIST, (filename, fileResultRepo) -> {
+                    throw new IllegalArgumentException(filename);
+                }));
+
+        assertEquals(FILENAME_LIST.get(0), exception.getMessage());
+    }
+
+    @Test
+    void filesBeingProcessedShouldBeDoneWhenExceptionIsThrownBack() {
+        final CountDownLatch secondFileStarted = new CountDownLatch(1);
+        final AtomicBoolean isSecondFileDone = new AtomicBoolean();
+
+        final ProcessFilesInParallel underTest = new ProcessFilesInParallel(mock(ValidationResultRepository.class),
+                ProcessFilesInParallelTest::mockFileResultRepo, 2, mock(Logger.class));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                underTest.execute(FILENAME_LIST.subList(0, 2), (filename, fileResultRepo) -> {
+                    if (filename.equals(FILENAME_LIST.get(0))) {
+                        await(secondFileStarted);
+                        throw new IllegalArgumentException(filename);
+                    }
+                    secondFileStarted.countDown();
+                    // file processing does not check for interruption
+                    final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                    while (System.nanoTime() < end) {
+                        Thread.onSpinWait();
+                    }
+                    isSecondFileDone.set(true);
+                }));
+
+        assertTrue(isSecondFileDone.get());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.Agency;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
@@ -52,6 +53,16 @@ class ProcessParsedAgencyTest {
     private static final String FILENAME = "agency.txt";
     private static final String ENTITY_ID = "no id";
 
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            AGENCY_ID,
+            AGENCY_NAME,
+            AGENCY_URL,
+            AGENCY_TIMEZONE,
+            AGENCY_LANG,
+            AGENCY_PHONE,
+            AGENCY_FARE_URL,
+            AGENCY_EMAIL));
+
     @Test
     void validatedParsedAgencyShouldCreateAgencyEntityAndBeAddedToGtfsDataRepository() {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
@@ -59,6 +70,7 @@ class ProcessParsedAgencyTest {
         final Agency.AgencyBuilder mockBuilder = mock(Agency.AgencyBuilder.class, RETURNS_SELF);
         final Agency mockAgency = mock(Agency.class);
         final ParsedEntity mockParsedAgency = mock(ParsedEntity.class);
+        when(mockParsedAgency.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockEntityBuildResult = mock(EntityBuildResult.class);
 
         //noinspection unchecked
@@ -66,7 +78,7 @@ class ProcessParsedAgencyTest {
         when(mockEntityBuildResult.isSuccess()).thenReturn(true);
         when(mockEntityBuildResult.getData()).thenReturn(mockAgency);
 
-        when(mockParsedAgency.get(anyString())).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedAgency.get(anyInt())).thenReturn(STRING_TEST_VALUE);
 
         when(mockGtfsDataRepo.addAgency(mockAgency, mockBuilder)).thenReturn(mockAgency);
 
@@ -76,14 +88,15 @@ class ProcessParsedAgencyTest {
 
         final InOrder inOrder = Mockito.inOrder(mockGtfsDataRepo, mockBuilder, mockParsedAgency);
 
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_ID));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_NAME));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_URL));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_TIMEZONE));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_LANG));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_PHONE));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_FARE_URL));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_EMAIL));
+        verify(mockParsedAgency, times(1)).getHeaderIndex();
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_ID));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_NAME));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_URL));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_TIMEZONE));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_LANG));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_PHONE));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_FARE_URL));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_EMAIL));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).agencyId(anyString());
@@ -108,6 +121,7 @@ class ProcessParsedAgencyTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Agency.AgencyBuilder mockBuilder = mock(Agency.AgencyBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedAgency = mock(ParsedEntity.class);
+        when(mockParsedAgency.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final List<Notice> noticeCollection = new ArrayList<>();
         final MissingRequiredValueNotice mockNotice = mock(MissingRequiredValueNotice.class);
         when(mockNotice.getFilename()).thenReturn(FILENAME);
@@ -125,25 +139,26 @@ class ProcessParsedAgencyTest {
 
         final ProcessParsedAgency underTest = new ProcessParsedAgency(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedAgency.get(AGENCY_ID)).thenReturn(AGENCY_ID);
-        when(mockParsedAgency.get(AGENCY_NAME)).thenReturn(AGENCY_NAME);
-        when(mockParsedAgency.get(AGENCY_URL)).thenReturn(AGENCY_URL);
-        when(mockParsedAgency.get(AGENCY_TIMEZONE)).thenReturn(AGENCY_TIMEZONE);
-        when(mockParsedAgency.get(AGENCY_LANG)).thenReturn(AGENCY_LANG);
-        when(mockParsedAgency.get(AGENCY_PHONE)).thenReturn(AGENCY_PHONE);
-        when(mockParsedAgency.get(AGENCY_FARE_URL)).thenReturn(AGENCY_FARE_URL);
-        when(mockParsedAgency.get(AGENCY_EMAIL)).thenReturn(AGENCY_EMAIL);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_ID))).thenReturn(AGENCY_ID);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_NAME))).thenReturn(AGENCY_NAME);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_URL))).thenReturn(AGENCY_URL);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_TIMEZONE))).thenReturn(AGENCY_TIMEZONE);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_LANG))).thenReturn(AGENCY_LANG);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_PHONE))).thenReturn(AGENCY_PHONE);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_FARE_URL))).thenReturn(AGENCY_FARE_URL);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_EMAIL))).thenReturn(AGENCY_EMAIL);
 
         underTest.execute(mockParsedAgency);
 
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_ID));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_NAME));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_URL));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_TIMEZONE));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_LANG));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_PHONE));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_FARE_URL));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_EMAIL));
+        verify(mockParsedAgency, times(1)).getHeaderIndex();
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_ID));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_NAME));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_URL));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_TIMEZONE));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_LANG));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_PHONE));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_FARE_URL));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_EMAIL));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).agencyId(AGENCY_ID);
@@ -177,6 +192,7 @@ class ProcessParsedAgencyTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Agency.AgencyBuilder mockBuilder = mock(Agency.AgencyBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedAgency = mock(ParsedEntity.class);
+        when(mockParsedAgency.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         final Agency mockAgency = mock(Agency.class);
@@ -189,25 +205,26 @@ class ProcessParsedAgencyTest {
 
         final ProcessParsedAgency underTest = new ProcessParsedAgency(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedAgency.get(AGENCY_ID)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedAgency.get(AGENCY_NAME)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedAgency.get(AGENCY_URL)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedAgency.get(AGENCY_TIMEZONE)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedAgency.get(AGENCY_LANG)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedAgency.get(AGENCY_PHONE)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedAgency.get(AGENCY_FARE_URL)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedAgency.get(AGENCY_EMAIL)).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_ID))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_NAME))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_URL))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_TIMEZONE))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_LANG))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_PHONE))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_FARE_URL))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedAgency.get(HEADER_INDEX.indexOf(AGENCY_EMAIL))).thenReturn(STRING_TEST_VALUE);
 
         underTest.execute(mockParsedAgency);
 
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_ID));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_NAME));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_URL));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_TIMEZONE));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_LANG));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_PHONE));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_FARE_URL));
-        verify(mockParsedAgency, times(1)).get(ArgumentMatchers.eq(AGENCY_EMAIL));
+        verify(mockParsedAgency, times(1)).getHeaderIndex();
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_ID));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_NAME));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_URL));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_TIMEZONE));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_LANG));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_PHONE));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_FARE_URL));
+        verify(mockParsedAgency, times(1)).get(HEADER_INDEX.indexOf(AGENCY_EMAIL));
         //noinspection ResultOfMethodCallIgnored
         verify(mockParsedAgency, times(1)).getEntityId();
 
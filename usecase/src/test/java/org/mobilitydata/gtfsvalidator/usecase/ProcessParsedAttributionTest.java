@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.Attribution;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
@@ -47,12 +48,26 @@ class ProcessParsedAttributionTest {
     private static final String IS_AUTHORITY = "is_authority";
     private static final String IS_OPERATOR = "is_operator";
 
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            ATTRIBUTION_ID,
+            AGENCY_ID,
+            ROUTE_ID,
+            TRIP_ID,
+            ORGANIZATION_NAME,
+            IS_PRODUCER,
+            IS_AUTHORITY,
+            IS_OPERATOR,
+            ATTRIBUTION_URL,
+            ATTRIBUTION_EMAIL,
+            ATTRIBUTION_PHONE));
+
     @Test
     void validParsedAttributionShouldNotGenerateNoticeAndBeAddedToGtfsDataRepo() {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Attribution.AttributionBuilder mockBuilder = mock(Attribution.AttributionBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedAttribution = mock(ParsedEntity.class);
+        when(mockParsedAttribution.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final EntityBuildResult<?> mockEntityBuildResult = mock(EntityBuildResult.class);
         final Attribution mockAttribution = mock(Attribution.class);
 
@@ -62,17 +77,17 @@ class ProcessParsedAttributionTest {
         //noinspection ResultOfMethodCallIgnored
         doReturn(mockAttribution).when(mockEntityBuildResult).getData();
 
-        when(mockParsedAttribution.get(ATTRIBUTION_ID)).thenReturn(ATTRIBUTION_ID);
-        when(mockParsedAttribution.get(AGENCY_ID)).thenReturn(AGENCY_ID);
-        when(mockParsedAttribution.get(ROUTE_ID)).thenReturn(ROUTE_ID);
-        when(mockParsedAttribution.get(TRIP_ID)).thenReturn(TRIP_ID);
-        when(mockParsedAttribution.get(ORGANIZATION_NAME)).thenReturn(ORGANIZATION_NAME);
-        when(mockParsedAttribution.get(IS_PRODUCER)).thenReturn(1);
-        when(mockParsedAttribution.get(IS_AUTHORITY)).thenReturn(0);
-        when(mockParsedAttribution.get(IS_OPERATOR)).thenReturn(0);
-        when(mockParsedAttribution.get(ATTRIBUTION_URL)).thenReturn(ATTRIBUTION_URL);
-        when(mockParsedAttribution.get(ATTRIBUTION_EMAIL)).thenReturn(ATTRIBUTION_EMAIL);
-        when(mockParsedAttribution.get(ATTRIBUTION_PHONE)).thenReturn(ATTRIBUTION_PHONE);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ATTRIBUTION_ID))).thenReturn(ATTRIBUTION_ID);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(AGENCY_ID))).thenReturn(AGENCY_ID);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ROUTE_ID))).thenReturn(ROUTE_ID);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(TRIP_ID))).thenReturn(TRIP_ID);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ORGANIZATION_NAME))).thenReturn(ORGANIZATION_NAME);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(IS_PRODUCER))).thenReturn(1);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(IS_AUTHORITY))).thenReturn(0);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(IS_OPERATOR))).thenReturn(0);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ATTRIBUTION_URL))).thenReturn(ATTRIBUTION_URL);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ATTRIBUTION_EMAIL))).thenReturn(ATTRIBUTION_EMAIL);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ATTRIBUTION_PHONE))).thenReturn(ATTRIBUTION_PHONE);
 
         when(mockGtfsDataRepo.addAttribution(mockAttribution)).thenReturn(mockAttribution);
 
@@ -81,17 +96,18 @@ class ProcessParsedAttributionTest {
 
         underTest.execute(mockParsedAttribution);
 
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ATTRIBUTION_ID));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(AGENCY_ID));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ROUTE_ID));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(TRIP_ID));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ORGANIZATION_NAME));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(IS_PRODUCER));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(IS_AUTHORITY));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(IS_OPERATOR));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ATTRIBUTION_URL));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ATTRIBUTION_EMAIL));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ATTRIBUTION_PHONE));
+        verify(mockParsedAttribution, times(1)).getHeaderIndex();
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ATTRIBUTION_ID));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(AGENCY_ID));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ROUTE_ID));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(TRIP_ID));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ORGANIZATION_NAME));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(IS_PRODUCER));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(IS_AUTHORITY));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(IS_OPERATOR));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ATTRIBUTION_URL));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ATTRIBUTION_EMAIL));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ATTRIBUTION_PHONE));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).attributionId(ArgumentMatchers.eq(ATTRIBUTION_ID));
@@ -118,6 +134,7 @@ class ProcessParsedAttributionTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Attribution.AttributionBuilder mockBuilder = mock(Attribution.AttributionBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedAttribution = mock(ParsedEntity.class);
+        when(mockParsedAttribution.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final List<Notice> noticeCollection = new ArrayList<>();
         final Notice mockNotice = mock(MissingRequiredValueNotice.class);
 
@@ -134,31 +151,32 @@ class ProcessParsedAttributionTest {
         final ProcessParsedAttribution underTest =
                 new ProcessParsedAttribution(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedAttribution.get(ATTRIBUTION_ID)).thenReturn(ATTRIBUTION_ID);
-        when(mockParsedAttribution.get(AGENCY_ID)).thenReturn(AGENCY_ID);
-        when(mockParsedAttribution.get(ROUTE_ID)).thenReturn(ROUTE_ID);
-        when(mockParsedAttribution.get(TRIP_ID)).thenReturn(TRIP_ID);
-        when(mockParsedAttribution.get(ORGANIZATION_NAME)).thenReturn(ORGANIZATION_NAME);
-        when(mockParsedAttribution.get(IS_PRODUCER)).thenReturn(1);
-        when(mockParsedAttribution.get(IS_AUTHORITY)).thenReturn(0);
-        when(mockParsedAttribution.get(IS_OPERATOR)).thenReturn(0);
-        when(mockParsedAttribution.get(ATTRIBUTION_URL)).thenReturn(ATTRIBUTION_URL);
-        when(mockParsedAttribution.get(ATTRIBUTION_EMAIL)).thenReturn(ATTRIBUTION_EMAIL);
-        when(mockParsedAttribution.get(ATTRIBUTION_PHONE)).thenReturn(ATTRIBUTION_PHONE);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ATTRIBUTION_ID))).thenReturn(ATTRIBUTION_ID);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(AGENCY_ID))).thenReturn(AGENCY_ID);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ROUTE_ID))).thenReturn(ROUTE_ID);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(TRIP_ID))).thenReturn(TRIP_ID);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ORGANIZATION_NAME))).thenReturn(ORGANIZATION_NAME);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(IS_PRODUCER))).thenReturn(1);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(IS_AUTHORITY))).thenReturn(0);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(IS_OPERATOR))).thenReturn(0);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ATTRIBUTION_URL))).thenReturn(ATTRIBUTION_URL);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ATTRIBUTION_EMAIL))).thenReturn(ATTRIBUTION_EMAIL);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ATTRIBUTION_PHONE))).thenReturn(ATTRIBUTION_PHONE);
 
         underTest.execute(mockParsedAttribution);
 
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ATTRIBUTION_ID));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(AGENCY_ID));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ROUTE_ID));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(TRIP_ID));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ORGANIZATION_NAME));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(IS_PRODUCER));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(IS_AUTHORITY));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(IS_OPERATOR));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ATTRIBUTION_URL));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ATTRIBUTION_EMAIL));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ATTRIBUTION_PHONE));
+        verify(mockParsedAttribution, times(1)).getHeaderIndex();
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ATTRIBUTION_ID));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(AGENCY_ID));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ROUTE_ID));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(TRIP_ID));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ORGANIZATION_NAME));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(IS_PRODUCER));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(IS_AUTHORITY));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(IS_OPERATOR));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ATTRIBUTION_URL));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ATTRIBUTION_EMAIL));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ATTRIBUTION_PHONE));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).attributionId(ArgumentMatchers.eq(ATTRIBUTION_ID));
@@ -197,6 +215,7 @@ class ProcessParsedAttributionTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Attribution.AttributionBuilder mockBuilder = mock(Attribution.AttributionBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedAttribution = mock(ParsedEntity.class);
+        when(mockParsedAttribution.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
 
         final Attribution mockAttribution = mock(Attribution.class);
@@ -211,31 +230,32 @@ class ProcessParsedAttributionTest {
         final ProcessParsedAttribution underTest =
                 new ProcessParsedAttribution(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedAttribution.get(ATTRIBUTION_ID)).thenReturn(ATTRIBUTION_ID);
-        when(mockParsedAttribution.get(AGENCY_ID)).thenReturn(AGENCY_ID);
-        when(mockParsedAttribution.get(ROUTE_ID)).thenReturn(ROUTE_ID);
-        when(mockParsedAttribution.get(TRIP_ID)).thenReturn(TRIP_ID);
-        when(mockParsedAttribution.get(ORGANIZATION_NAME)).thenReturn(ORGANIZATION_NAME);
-        when(mockParsedAttribution.get(IS_PRODUCER)).thenReturn(1);
-        when(mockParsedAttribution.get(IS_AUTHORITY)).thenReturn(0);
-        when(mockParsedAttribution.get(IS_OPERATOR)).thenReturn(0);
-        when(mockParsedAttribution.get(ATTRIBUTION_URL)).thenReturn(ATTRIBUTION_URL);
-        when(mockParsedAttribution.get(ATTRIBUTION_EMAIL)).thenReturn(ATTRIBUTION_EMAIL);
-        when(mockParsedAttribution.get(ATTRIBUTION_PHONE)).thenReturn(ATTRIBUTION_PHONE);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ATTRIBUTION_ID))).thenReturn(ATTRIBUTION_ID);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(AGENCY_ID))).thenReturn(AGENCY_ID);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ROUTE_ID))).thenReturn(ROUTE_ID);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(TRIP_ID))).thenReturn(TRIP_ID);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ORGANIZATION_NAME))).thenReturn(ORGANIZATION_NAME);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(IS_PRODUCER))).thenReturn(1);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(IS_AUTHORITY))).thenReturn(0);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(IS_OPERATOR))).thenReturn(0);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ATTRIBUTION_URL))).thenReturn(ATTRIBUTION_URL);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ATTRIBUTION_EMAIL))).thenReturn(ATTRIBUTION_EMAIL);
+        when(mockParsedAttribution.get(HEADER_INDEX.indexOf(ATTRIBUTION_PHONE))).thenReturn(ATTRIBUTION_PHONE);
 
         underTest.execute(mockParsedAttribution);
 
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ATTRIBUTION_ID));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(AGENCY_ID));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ROUTE_ID));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(TRIP_ID));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ORGANIZATION_NAME));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(IS_PRODUCER));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(IS_AUTHORITY));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(IS_OPERATOR));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ATTRIBUTION_URL));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ATTRIBUTION_EMAIL));
-        verify(mockParsedAttribution, times(1)).get(ArgumentMatchers.eq(ATTRIBUTION_PHONE));
+        verify(mockParsedAttribution, times(1)).getHeaderIndex();
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ATTRIBUTION_ID));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(AGENCY_ID));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ROUTE_ID));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(TRIP_ID));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ORGANIZATION_NAME));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(IS_PRODUCER));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(IS_AUTHORITY));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(IS_OPERATOR));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ATTRIBUTION_URL));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ATTRIBUTION_EMAIL));
+        verify(mockParsedAttribution, times(1)).get(HEADER_INDEX.indexOf(ATTRIBUTION_PHONE));
         // suppressed warning regarding unused result of method, since this behavior is wanted
         //noinspection ResultOfMethodCallIgnored
         verify(mockParsedAttribution, times(1)).getEntityId();
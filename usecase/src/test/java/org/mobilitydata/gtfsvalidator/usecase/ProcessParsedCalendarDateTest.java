@@ -1,6 +1,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.calendardates.CalendarDate;
@@ -22,6 +23,10 @@ import static org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice.KE
 import static org.mockito.Mockito.*;
 
 class ProcessParsedCalendarDateTest {
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            "service_id",
+            "date",
+            "exception_type"));
 
     @Test
     void validCalendarDateShouldNotGenerateNoticeAndAddNewEntityToGtfsDataRepository() {
@@ -30,6 +35,7 @@ class ProcessParsedCalendarDateTest {
         final CalendarDate.CalendarDateBuilder mockBuilder = mock(CalendarDate.CalendarDateBuilder.class, RETURNS_SELF);
         final CalendarDate mockCalendarDate = mock(CalendarDate.class);
         final ParsedEntity mockParsedCalendarDate = mock(ParsedEntity.class);
+        when(mockParsedCalendarDate.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
 
         // suppressed warning regarding unused result of method, since this behavior is wanted
@@ -45,18 +51,19 @@ class ProcessParsedCalendarDateTest {
 
         final LocalDate date = LocalDate.now();
 
-        when(mockParsedCalendarDate.get("service_id")).thenReturn("service_id");
-        when(mockParsedCalendarDate.get("date")).thenReturn(date);
-        when(mockParsedCalendarDate.get("exception_type")).thenReturn(1);
+        when(mockParsedCalendarDate.get(HEADER_INDEX.indexOf("service_id"))).thenReturn("service_id");
+        when(mockParsedCalendarDate.get(HEADER_INDEX.indexOf("date"))).thenReturn(date);
+        when(mockParsedCalendarDate.get(HEADER_INDEX.indexOf("exception_type"))).thenReturn(1);
 
         underTest.execute(mockParsedCalendarDate);
 
         final InOrder inOrder = inOrder(mockBuilder, mockGtfsDataRepo, mockParsedCalendarDate);
 
-        verify(mockParsedCalendarDate, times(1)).get(ArgumentMatchers.eq("service_id"));
-        verify(mockParsedCalendarDate, times(1)).get(ArgumentMatchers.eq("date"));
+        verify(mockParsedCalendarDate, times(1)).getHeaderIndex();
+        verify(mockParsedCalendarDate, times(1)).get(HEADER_INDEX.indexOf("service_id"));
+        verify(mockParsedCalendarDate, times(1)).get(HEADER_INDEX.indexOf("date"));
         verify(mockParsedCalendarDate, times(1))
-                .get(ArgumentMatchers.eq("exception_type"));
+                .get(HEADER_INDEX.indexOf("exception_type"));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).serviceId(ArgumentMatchers.eq("service_id"));
@@ -82,6 +89,7 @@ class ProcessParsedCalendarDateTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final CalendarDate.CalendarDateBuilder mockBuilder = mock(CalendarDate.CalendarDateBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedCalendarDate = mock(ParsedEntity.class);
+        when(mockParsedCalendarDate.getHeaderIndex()).thenReturn(HEADER_INDEX);
 
         final List<Notice> mockNoticeCollection = spy(new ArrayList<>());
         final MissingRequiredValueNotice mockNotice = mock(MissingRequiredValueNotice.class);
@@ -100,16 +108,17 @@ class ProcessParsedCalendarDateTest {
 
         final LocalDate date = LocalDate.now();
 
-        when(mockParsedCalendarDate.get("service_id")).thenReturn("service_id");
-        when(mockParsedCalendarDate.get("date")).thenReturn(date);
-        when(mockParsedCalendarDate.get("exception_type")).thenReturn(1);
+        when(mockParsedCalendarDate.get(HEADER_INDEX.indexOf("service_id"))).thenReturn("service_id");
+        when(mockParsedCalendarDate.get(HEADER_INDEX.indexOf("date"))).thenReturn(date);
+        when(mockParsedCalendarDate.get(HEADER_INDEX.indexOf("exception_type"))).thenReturn(1);
 
         underTest.execute(mockParsedCalendarDate);
 
-        verify(mockParsedCalendarDate, times(1)).get(ArgumentMatchers.eq("service_id"));
-        verify(mockParsedCalendarDate, times(1)).get(ArgumentMatchers.eq("date"));
+        verify(mockParsedCalendarDate, times(1)).getHeaderIndex();
+        verify(mockParsedCalendarDate, times(1)).get(HEADER_INDEX.indexOf("service_id"));
+        verify(mockParsedCalendarDate, times(1)).get(HEADER_INDEX.indexOf("date"));
         verify(mockParsedCalendarDate, times(1))
-                .get(ArgumentMatchers.eq("exception_type"));
+                .get(HEADER_INDEX.indexOf("exception_type"));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).serviceId(ArgumentMatchers.eq("service_id"));
@@ -134,6 +143,7 @@ class ProcessParsedCalendarDateTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final CalendarDate.CalendarDateBuilder mockBuilder = mock(CalendarDate.CalendarDateBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedCalendarDate = mock(ParsedEntity.class);
+        when(mockParsedCalendarDate.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final CalendarDate mockCalendarDate = mock(CalendarDate.class);
 
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
@@ -150,16 +160,17 @@ class ProcessParsedCalendarDateTest {
                 mockBuilder);
         final LocalDate date = LocalDate.now();
 
-        when(mockParsedCalendarDate.get("service_id")).thenReturn("service_id");
-        when(mockParsedCalendarDate.get("date")).thenReturn(date);
-        when(mockParsedCalendarDate.get("exception_type")).thenReturn(1);
+        when(mockParsedCalendarDate.get(HEADER_INDEX.indexOf("service_id"))).thenReturn("service_id");
+        when(mockParsedCalendarDate.get(HEADER_INDEX.indexOf("date"))).thenReturn(date);
+        when(mockParsedCalendarDate.get(HEADER_INDEX.indexOf("exception_type"))).thenReturn(1);
 
         underTest.execute(mockParsedCalendarDate);
 
-        verify(mockParsedCalendarDate, times(1)).get(ArgumentMatchers.eq("service_id"));
-        verify(mockParsedCalendarDate, times(1)).get(ArgumentMatchers.eq("date"));
+        verify(mockParsedCalendarDate, times(1)).getHeaderIndex();
+        verify(mockParsedCalendarDate, times(1)).get(HEADER_INDEX.indexOf("service_id"));
+        verify(mockParsedCalendarDate, times(1)).get(HEADER_INDEX.indexOf("date"));
         verify(mockParsedCalendarDate, times(1))
-                .get(ArgumentMatchers.eq("exception_type"));
+                .get(HEADER_INDEX.indexOf("exception_type"));
 
         verify(mockGtfsDataRepo, times(1))
                 .addCalendarDate(ArgumentMatchers.eq(mockCalendarDate));
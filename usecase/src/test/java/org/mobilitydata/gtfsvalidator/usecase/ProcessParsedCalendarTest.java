@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.Calendar;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
@@ -49,6 +50,18 @@ class ProcessParsedCalendarTest {
     private static final String START_DATE = "start_date";
     private static final String END_DATE = "end_date";
 
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            SERVICE_ID,
+            MONDAY,
+            TUESDAY,
+            WEDNESDAY,
+            THURSDAY,
+            FRIDAY,
+            SATURDAY,
+            SUNDAY,
+            START_DATE,
+            END_DATE));
+
     @Test
     public void validatedParsedCalendarShouldCreateEntityAndBeAddedToGtfsDataRepo() {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
@@ -56,6 +69,7 @@ class ProcessParsedCalendarTest {
         final Calendar.CalendarBuilder mockBuilder = mock(Calendar.CalendarBuilder.class, RETURNS_SELF);
         final Calendar mockCalendar = mock(Calendar.class);
         final ParsedEntity mockParsedCalendar = mock(ParsedEntity.class);
+        when(mockParsedCalendar.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(mockCalendar);
@@ -64,16 +78,16 @@ class ProcessParsedCalendarTest {
         //noinspection unchecked
         when(mockBuilder.build()).thenReturn(mockGenericObject);
 
-        when(mockParsedCalendar.get(SERVICE_ID)).thenReturn(SERVICE_ID);
-        when(mockParsedCalendar.get(MONDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(TUESDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(WEDNESDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(THURSDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(FRIDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(SATURDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(SUNDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(START_DATE)).thenReturn(LocalDate.now());
-        when(mockParsedCalendar.get(END_DATE)).thenReturn(LocalDate.now());
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(SERVICE_ID))).thenReturn(SERVICE_ID);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(MONDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(TUESDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(WEDNESDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(THURSDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(FRIDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(SATURDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(SUNDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(START_DATE))).thenReturn(LocalDate.now());
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(END_DATE))).thenReturn(LocalDate.now());
 
         when(mockGtfsDataRepo.addCalendar(mockCalendar)).thenReturn(mockCalendar);
 
@@ -81,16 +95,17 @@ class ProcessParsedCalendarTest {
 
         underTest.execute(mockParsedCalendar);
 
-        verify(mockParsedCalendar, times(1)).get(SERVICE_ID);
-        verify(mockParsedCalendar, times(1)).get(MONDAY);
-        verify(mockParsedCalendar, times(1)).get(TUESDAY);
-        verify(mockParsedCalendar, times(1)).get(WEDNESDAY);
-        verify(mockParsedCalendar, times(1)).get(THURSDAY);
-        verify(mockParsedCalendar, times(1)).get(FRIDAY);
-        verify(mockParsedCalendar, times(1)).get(SATURDAY);
-        verify(mockParsedCalendar, times(1)).get(SUNDAY);
-        verify(mockParsedCalendar, times(1)).get(START_DATE);
-        verify(mockParsedCalendar, times(1)).get(END_DATE);
+        verify(mockParsedCalendar, times(1)).getHeaderIndex();
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(SERVICE_ID));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(MONDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(TUESDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(WEDNESDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(THURSDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(FRIDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(SATURDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(SUNDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(START_DATE));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(END_DATE));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).monday(ArgumentMatchers.eq(0));
@@ -119,6 +134,7 @@ class ProcessParsedCalendarTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Calendar.CalendarBuilder mockBuilder = mock(Calendar.CalendarBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedCalendar = mock(ParsedEntity.class);
+        when(mockParsedCalendar.getHeaderIndex()).thenReturn(HEADER_INDEX);
 
         @SuppressWarnings("unchecked") final List<Notice> mockNoticeCollection = spy(ArrayList.class);
         final MissingRequiredValueNotice mockNotice = mock(MissingRequiredValueNotice.class);
@@ -134,29 +150,30 @@ class ProcessParsedCalendarTest {
 
         final ProcessParsedCalendar underTest = new ProcessParsedCalendar(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedCalendar.get(SERVICE_ID)).thenReturn(null);
-        when(mockParsedCalendar.get(MONDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(TUESDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(WEDNESDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(THURSDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(FRIDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(SATURDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(SUNDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(START_DATE)).thenReturn(LocalDate.now());
-        when(mockParsedCalendar.get(END_DATE)).thenReturn(LocalDate.now());
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(SERVICE_ID))).thenReturn(null);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(MONDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(TUESDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(WEDNESDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(THURSDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(FRIDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(SATURDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(SUNDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(START_DATE))).thenReturn(LocalDate.now());
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(END_DATE))).thenReturn(LocalDate.now());
 
         underTest.execute(mockParsedCalendar);
 
-        verify(mockParsedCalendar, times(1)).get(SERVICE_ID);
-        verify(mockParsedCalendar, times(1)).get(MONDAY);
-        verify(mockParsedCalendar, times(1)).get(TUESDAY);
-        verify(mockParsedCalendar, times(1)).get(WEDNESDAY);
-        verify(mockParsedCalendar, times(1)).get(THURSDAY);
-        verify(mockParsedCalendar, times(1)).get(FRIDAY);
-        verify(mockParsedCalendar, times(1)).get(SATURDAY);
-        verify(mockParsedCalendar, times(1)).get(SUNDAY);
-        verify(mockParsedCalendar, times(1)).get(START_DATE);
-        verify(mockParsedCalendar, times(1)).get(END_DATE);
+        verify(mockParsedCalendar, times(1)).getHeaderIndex();
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(SERVICE_ID));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(MONDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(TUESDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(WEDNESDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(THURSDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(FRIDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(SATURDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(SUNDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(START_DATE));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(END_DATE));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).monday(ArgumentMatchers.eq(0));
@@ -182,6 +199,7 @@ class ProcessParsedCalendarTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Calendar.CalendarBuilder mockBuilder = mock(Calendar.CalendarBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedCalendar = mock(ParsedEntity.class);
+        when(mockParsedCalendar.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final Calendar mockCalendar = mock(Calendar.class);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
@@ -196,29 +214,30 @@ class ProcessParsedCalendarTest {
         final ProcessParsedCalendar underTest = new ProcessParsedCalendar(mockResultRepo, mockGtfsDataRepo,
                 mockBuilder);
 
-        when(mockParsedCalendar.get(SERVICE_ID)).thenReturn(SERVICE_ID);
-        when(mockParsedCalendar.get(MONDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(TUESDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(WEDNESDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(THURSDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(FRIDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(SATURDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(SUNDAY)).thenReturn(0);
-        when(mockParsedCalendar.get(START_DATE)).thenReturn(LocalDate.now());
-        when(mockParsedCalendar.get(END_DATE)).thenReturn(LocalDate.now());
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(SERVICE_ID))).thenReturn(SERVICE_ID);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(MONDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(TUESDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(WEDNESDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(THURSDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(FRIDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(SATURDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(SUNDAY))).thenReturn(0);
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(START_DATE))).thenReturn(LocalDate.now());
+        when(mockParsedCalendar.get(HEADER_INDEX.indexOf(END_DATE))).thenReturn(LocalDate.now());
 
         underTest.execute(mockParsedCalendar);
 
-        verify(mockParsedCalendar, times(1)).get(SERVICE_ID);
-        verify(mockParsedCalendar, times(1)).get(MONDAY);
-        verify(mockParsedCalendar, times(1)).get(TUESDAY);
-        verify(mockParsedCalendar, times(1)).get(WEDNESDAY);
-        verify(mockParsedCalendar, times(1)).get(THURSDAY);
-        verify(mockParsedCalendar, times(1)).get(FRIDAY);
-        verify(mockParsedCalendar, times(1)).get(SATURDAY);
-        verify(mockParsedCalendar, times(1)).get(SUNDAY);
-        verify(mockParsedCalendar, times(1)).get(START_DATE);
-        verify(mockParsedCalendar, times(1)).get(END_DATE);
+        verify(mockParsedCalendar, times(1)).getHeaderIndex();
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(SERVICE_ID));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(MONDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(TUESDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(WEDNESDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(THURSDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(FRIDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(SATURDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(SUNDAY));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(START_DATE));
+        verify(mockParsedCalendar, times(1)).get(HEADER_INDEX.indexOf(END_DATE));
         //noinspection ResultOfMethodCallIgnored
         verify(mockParsedCalendar, times(1)).getEntityId();
 
@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.fareattributes.FareAttribute;
@@ -49,6 +50,15 @@ class ProcessParsedFareAttributeTest {
     private static final String AGENCY_ID = "agency_id";
     private static final String TRANSFER_DURATION = "transfer_duration";
 
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            FARE_ID,
+            PRICE,
+            CURRENCY_TYPE,
+            PAYMENT_METHOD,
+            TRANSFERS,
+            AGENCY_ID,
+            TRANSFER_DURATION));
+
     @Test
     void validatedFareAttributeShouldNotGenerateNoticeAndBeAddedToGtfsDataRepo() {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
@@ -57,6 +67,7 @@ class ProcessParsedFareAttributeTest {
                 mock(FareAttribute.FareAttributeBuilder.class, RETURNS_SELF);
         final FareAttribute mockFareAttribute = mock(FareAttribute.class);
         final ParsedEntity mockParsedFareAttribute = mock(ParsedEntity.class);
+        when(mockParsedFareAttribute.getHeaderIndex()).thenReturn(HEADER_INDEX);
 
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
         when(mockGenericObject.isSuccess()).thenReturn(true);
@@ -66,13 +77,13 @@ class ProcessParsedFareAttributeTest {
 
         doReturn(mockGenericObject).when(mockBuilder).build();
 
-        when(mockParsedFareAttribute.get(FARE_ID)).thenReturn(STRING_TEST);
-        when(mockParsedFareAttribute.get(PRICE)).thenReturn(VALID_PRICE_FLOAT);
-        when(mockParsedFareAttribute.get(CURRENCY_TYPE)).thenReturn(STRING_TEST);
-        when(mockParsedFareAttribute.get(PAYMENT_METHOD)).thenReturn(VALID_PAYMENT_METHOD_INTEGER);
-        when(mockParsedFareAttribute.get(TRANSFERS)).thenReturn(VALID_TRANSFERS_INTEGER);
-        when(mockParsedFareAttribute.get(AGENCY_ID)).thenReturn(STRING_TEST);
-        when(mockParsedFareAttribute.get(TRANSFER_DURATION)).thenReturn(VALID_TRANSFER_DURATION_INTEGER);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(FARE_ID))).thenReturn(STRING_TEST);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(PRICE))).thenReturn(VALID_PRICE_FLOAT);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(CURRENCY_TYPE))).thenReturn(STRING_TEST);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(PAYMENT_METHOD))).thenReturn(VALID_PAYMENT_METHOD_INTEGER);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(TRANSFERS))).thenReturn(VALID_TRANSFERS_INTEGER);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(AGENCY_ID))).thenReturn(STRING_TEST);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(TRANSFER_DURATION))).thenReturn(VALID_TRANSFER_DURATION_INTEGER);
 
         when(mockGtfsDataRepo.addFareAttribute(mockFareAttribute)).thenReturn(mockFareAttribute);
 
@@ -81,13 +92,14 @@ class ProcessParsedFareAttributeTest {
 
         underTest.execute(mockParsedFareAttribute);
 
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(FARE_ID));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(PRICE));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(CURRENCY_TYPE));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(PAYMENT_METHOD));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(TRANSFERS));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(AGENCY_ID));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(TRANSFER_DURATION));
+        verify(mockParsedFareAttribute, times(1)).getHeaderIndex();
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(FARE_ID));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(PRICE));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(CURRENCY_TYPE));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(PAYMENT_METHOD));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(TRANSFERS));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(AGENCY_ID));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(TRANSFER_DURATION));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).fareId(ArgumentMatchers.eq(STRING_TEST));
@@ -106,7 +118,6 @@ class ProcessParsedFareAttributeTest {
         //noinspection ResultOfMethodCallIgnored
         verify(mockGenericObject, times(1)).getData();
 
-
         verify(mockGtfsDataRepo, times(1))
                 .addFareAttribute(ArgumentMatchers.eq(mockFareAttribute));
 
@@ -120,6 +131,7 @@ class ProcessParsedFareAttributeTest {
         final FareAttribute.FareAttributeBuilder mockBuilder = mock(FareAttribute.FareAttributeBuilder.class,
                 RETURNS_SELF);
         final ParsedEntity mockParsedFareAttribute = mock(ParsedEntity.class);
+        when(mockParsedFareAttribute.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final List<Notice> mockNoticeCollection = spy(new ArrayList<>());
         final MissingRequiredValueNotice mockNotice = mock(MissingRequiredValueNotice.class);
         mockNoticeCollection.add(mockNotice);
@@ -135,23 +147,24 @@ class ProcessParsedFareAttributeTest {
         final ProcessParsedFareAttribute underTest =
                 new ProcessParsedFareAttribute(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedFareAttribute.get(FARE_ID)).thenReturn(null);
-        when(mockParsedFareAttribute.get(PRICE)).thenReturn(VALID_PRICE_FLOAT);
-        when(mockParsedFareAttribute.get(CURRENCY_TYPE)).thenReturn(STRING_TEST);
-        when(mockParsedFareAttribute.get(PAYMENT_METHOD)).thenReturn(VALID_PAYMENT_METHOD_INTEGER);
-        when(mockParsedFareAttribute.get(TRANSFERS)).thenReturn(VALID_TRANSFERS_INTEGER);
-        when(mockParsedFareAttribute.get(AGENCY_ID)).thenReturn(STRING_TEST);
-        when(mockParsedFareAttribute.get(TRANSFER_DURATION)).thenReturn(VALID_TRANSFER_DURATION_INTEGER);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(FARE_ID))).thenReturn(null);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(PRICE))).thenReturn(VALID_PRICE_FLOAT);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(CURRENCY_TYPE))).thenReturn(STRING_TEST);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(PAYMENT_METHOD))).thenReturn(VALID_PAYMENT_METHOD_INTEGER);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(TRANSFERS))).thenReturn(VALID_TRANSFERS_INTEGER);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(AGENCY_ID))).thenReturn(STRING_TEST);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(TRANSFER_DURATION))).thenReturn(VALID_TRANSFER_DURATION_INTEGER);
 
         underTest.execute(mockParsedFareAttribute);
 
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(FARE_ID));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(PRICE));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(CURRENCY_TYPE));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(PAYMENT_METHOD));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(TRANSFERS));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(AGENCY_ID));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(TRANSFER_DURATION));
+        verify(mockParsedFareAttribute, times(1)).getHeaderIndex();
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(FARE_ID));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(PRICE));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(CURRENCY_TYPE));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(PAYMENT_METHOD));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(TRANSFERS));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(AGENCY_ID));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(TRANSFER_DURATION));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).fareId(ArgumentMatchers.eq(null));
@@ -181,6 +194,7 @@ class ProcessParsedFareAttributeTest {
         final FareAttribute.FareAttributeBuilder mockBuilder = mock(FareAttribute.FareAttributeBuilder.class,
                 RETURNS_SELF);
         final ParsedEntity mockParsedFareAttribute = mock(ParsedEntity.class);
+        when(mockParsedFareAttribute.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final FareAttribute mockFareAttribute = mock(FareAttribute.class);
 
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
@@ -196,23 +210,24 @@ class ProcessParsedFareAttributeTest {
         final ProcessParsedFareAttribute underTest =
                 new ProcessParsedFareAttribute(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedFareAttribute.get(FARE_ID)).thenReturn(STRING_TEST);
-        when(mockParsedFareAttribute.get(PRICE)).thenReturn(VALID_PRICE_FLOAT);
-        when(mockParsedFareAttribute.get(CURRENCY_TYPE)).thenReturn(STRING_TEST);
-        when(mockParsedFareAttribute.get(PAYMENT_METHOD)).thenReturn(VALID_PAYMENT_METHOD_INTEGER);
-        when(mockParsedFareAttribute.get(TRANSFERS)).thenReturn(VALID_TRANSFERS_INTEGER);
-        when(mockParsedFareAttribute.get(AGENCY_ID)).thenReturn(STRING_TEST);
-        when(mockParsedFareAttribute.get(TRANSFER_DURATION)).thenReturn(VALID_TRANSFER_DURATION_INTEGER);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(FARE_ID))).thenReturn(STRING_TEST);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(PRICE))).thenReturn(VALID_PRICE_FLOAT);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(CURRENCY_TYPE))).thenReturn(STRING_TEST);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(PAYMENT_METHOD))).thenReturn(VALID_PAYMENT_METHOD_INTEGER);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(TRANSFERS))).thenReturn(VALID_TRANSFERS_INTEGER);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(AGENCY_ID))).thenReturn(STRING_TEST);
+        when(mockParsedFareAttribute.get(HEADER_INDEX.indexOf(TRANSFER_DURATION))).thenReturn(VALID_TRANSFER_DURATION_INTEGER);
 
         underTest.execute(mockParsedFareAttribute);
 
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(FARE_ID));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(PRICE));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(CURRENCY_TYPE));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(PAYMENT_METHOD));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(TRANSFERS));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(AGENCY_ID));
-        verify(mockParsedFareAttribute, times(1)).get(ArgumentMatchers.eq(TRANSFER_DURATION));
+        verify(mockParsedFareAttribute, times(1)).getHeaderIndex();
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(FARE_ID));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(PRICE));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(CURRENCY_TYPE));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(PAYMENT_METHOD));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(TRANSFERS));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(AGENCY_ID));
+        verify(mockParsedFareAttribute, times(1)).get(HEADER_INDEX.indexOf(TRANSFER_DURATION));
 
         // suppressed warning regarding unused result of method, since this behavior is wanted
         //noinspection ResultOfMethodCallIgnored
@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.FareRule;
@@ -42,6 +43,13 @@ class ProcessParsedFareRuleTest {
     private static final String DESTINATION_ID = "destination_id";
     private static final String CONTAINS_ID = "contains_id";
 
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            FARE_ID,
+            ROUTE_ID,
+            ORIGIN_ID,
+            DESTINATION_ID,
+            CONTAINS_ID));
+
     @Test
     void validFareRuleEntityShouldNotGenerateNoticeAndBeAddedToGtfsDataRepo() {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
@@ -49,6 +57,7 @@ class ProcessParsedFareRuleTest {
         final FareRule.FareRuleBuilder mockBuilder = mock(FareRule.FareRuleBuilder.class, RETURNS_SELF);
         final FareRule mockFareRule = mock(FareRule.class);
         final ParsedEntity mockParsedFareRule = mock(ParsedEntity.class);
+        when(mockParsedFareRule.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final EntityBuildResult<?> mockEntityBuildResult = mock(EntityBuildResult.class);
 
         doReturn(mockEntityBuildResult).when(mockBuilder).build();
@@ -57,11 +66,11 @@ class ProcessParsedFareRuleTest {
         //noinspection ResultOfMethodCallIgnored
         doReturn(mockFareRule).when(mockEntityBuildResult).getData();
 
-        when(mockParsedFareRule.get(FARE_ID)).thenReturn(FARE_ID);
-        when(mockParsedFareRule.get(ROUTE_ID)).thenReturn(ROUTE_ID);
-        when(mockParsedFareRule.get(ORIGIN_ID)).thenReturn(ORIGIN_ID);
-        when(mockParsedFareRule.get(DESTINATION_ID)).thenReturn(DESTINATION_ID);
-        when(mockParsedFareRule.get(CONTAINS_ID)).thenReturn(CONTAINS_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(FARE_ID))).thenReturn(FARE_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(ROUTE_ID))).thenReturn(ROUTE_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(ORIGIN_ID))).thenReturn(ORIGIN_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(DESTINATION_ID))).thenReturn(DESTINATION_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(CONTAINS_ID))).thenReturn(CONTAINS_ID);
 
         when(mockGtfsDataRepo.addFareRule(mockFareRule)).thenReturn(mockFareRule);
 
@@ -70,11 +79,12 @@ class ProcessParsedFareRuleTest {
 
         underTest.execute(mockParsedFareRule);
 
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(FARE_ID));
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(ROUTE_ID));
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(ORIGIN_ID));
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(DESTINATION_ID));
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(CONTAINS_ID));
+        verify(mockParsedFareRule, times(1)).getHeaderIndex();
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(FARE_ID));
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(ROUTE_ID));
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(ORIGIN_ID));
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(DESTINATION_ID));
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(CONTAINS_ID));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).fareId(FARE_ID);
@@ -94,6 +104,7 @@ class ProcessParsedFareRuleTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final FareRule.FareRuleBuilder mockBuilder = mock(FareRule.FareRuleBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedFareRule = mock(ParsedEntity.class);
+        when(mockParsedFareRule.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final Notice mockNotice = mock(Notice.class);
         final List<Notice> noticeCollection = new ArrayList<>();
         noticeCollection.add(mockNotice);
@@ -108,19 +119,20 @@ class ProcessParsedFareRuleTest {
         final ProcessParsedFareRule underTest =
                 new ProcessParsedFareRule(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedFareRule.get(FARE_ID)).thenReturn(FARE_ID);
-        when(mockParsedFareRule.get(ROUTE_ID)).thenReturn(ROUTE_ID);
-        when(mockParsedFareRule.get(ORIGIN_ID)).thenReturn(ORIGIN_ID);
-        when(mockParsedFareRule.get(DESTINATION_ID)).thenReturn(DESTINATION_ID);
-        when(mockParsedFareRule.get(CONTAINS_ID)).thenReturn(CONTAINS_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(FARE_ID))).thenReturn(FARE_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(ROUTE_ID))).thenReturn(ROUTE_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(ORIGIN_ID))).thenReturn(ORIGIN_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(DESTINATION_ID))).thenReturn(DESTINATION_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(CONTAINS_ID))).thenReturn(CONTAINS_ID);
 
         underTest.execute(mockParsedFareRule);
 
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(FARE_ID));
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(ROUTE_ID));
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(ORIGIN_ID));
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(DESTINATION_ID));
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(CONTAINS_ID));
+        verify(mockParsedFareRule, times(1)).getHeaderIndex();
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(FARE_ID));
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(ROUTE_ID));
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(ORIGIN_ID));
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(DESTINATION_ID));
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(CONTAINS_ID));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).fareId(FARE_ID);
@@ -151,6 +163,7 @@ class ProcessParsedFareRuleTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final FareRule.FareRuleBuilder mockBuilder = mock(FareRule.FareRuleBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedFareRule = mock(ParsedEntity.class);
+        when(mockParsedFareRule.getHeaderIndex()).thenReturn(HEADER_INDEX);
         when(mockParsedFareRule.getEntityId()).thenReturn("entity id");
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
 
@@ -166,19 +179,20 @@ class ProcessParsedFareRuleTest {
         final ProcessParsedFareRule underTest =
                 new ProcessParsedFareRule(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedFareRule.get(FARE_ID)).thenReturn(FARE_ID);
-        when(mockParsedFareRule.get(ROUTE_ID)).thenReturn(ROUTE_ID);
-        when(mockParsedFareRule.get(ORIGIN_ID)).thenReturn(ORIGIN_ID);
-        when(mockParsedFareRule.get(DESTINATION_ID)).thenReturn(DESTINATION_ID);
-        when(mockParsedFareRule.get(CONTAINS_ID)).thenReturn(CONTAINS_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(FARE_ID))).thenReturn(FARE_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(ROUTE_ID))).thenReturn(ROUTE_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(ORIGIN_ID))).thenReturn(ORIGIN_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(DESTINATION_ID))).thenReturn(DESTINATION_ID);
+        when(mockParsedFareRule.get(HEADER_INDEX.indexOf(CONTAINS_ID))).thenReturn(CONTAINS_ID);
 
         underTest.execute(mockParsedFareRule);
 
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(FARE_ID));
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(ROUTE_ID));
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(ORIGIN_ID));
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(DESTINATION_ID));
-        verify(mockParsedFareRule, times(1)).get(ArgumentMatchers.eq(CONTAINS_ID));
+        verify(mockParsedFareRule, times(1)).getHeaderIndex();
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(FARE_ID));
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(ROUTE_ID));
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(ORIGIN_ID));
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(DESTINATION_ID));
+        verify(mockParsedFareRule, times(1)).get(HEADER_INDEX.indexOf(CONTAINS_ID));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).fareId(FARE_ID);
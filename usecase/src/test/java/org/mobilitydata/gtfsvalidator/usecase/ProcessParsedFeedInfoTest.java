@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.FeedInfo;
@@ -49,6 +50,16 @@ class ProcessParsedFeedInfoTest {
     private static final LocalDate START_DATE = LocalDate.now();
     private static final LocalDate END_DATE = LocalDate.now();
 
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            FEED_PUBLISHER_NAME,
+            FEED_PUBLISHER_URL,
+            FEED_LANG,
+            FEED_START_DATE,
+            FEED_END_DATE,
+            FEED_VERSION,
+            FEED_CONTACT_EMAIL,
+            FEED_CONTACT_URL));
+
     @Test
     void validatedParsedFeedInfoShouldCreateEntityAndToBeAddedToGtfsDataRepo() {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
@@ -56,6 +67,7 @@ class ProcessParsedFeedInfoTest {
         final FeedInfo.FeedInfoBuilder mockBuilder = mock(FeedInfo.FeedInfoBuilder.class, RETURNS_SELF);
         final FeedInfo mockFeedInfo = mock(FeedInfo.class);
         final ParsedEntity mockParsedFeedInfo = mock(ParsedEntity.class);
+        when(mockParsedFeedInfo.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
         // suppressed warning regarding unused result of method, since this behavior is wanted
         //noinspection ResultOfMethodCallIgnored
@@ -64,14 +76,14 @@ class ProcessParsedFeedInfoTest {
 
         doReturn(mockGenericObject).when(mockBuilder).build();
 
-        when(mockParsedFeedInfo.get(FEED_PUBLISHER_NAME)).thenReturn(FEED_PUBLISHER_NAME);
-        when(mockParsedFeedInfo.get(FEED_PUBLISHER_URL)).thenReturn(FEED_PUBLISHER_URL);
-        when(mockParsedFeedInfo.get(FEED_LANG)).thenReturn(FEED_LANG);
-        when(mockParsedFeedInfo.get(FEED_START_DATE)).thenReturn(START_DATE);
-        when(mockParsedFeedInfo.get(FEED_END_DATE)).thenReturn(END_DATE);
-        when(mockParsedFeedInfo.get(FEED_VERSION)).thenReturn(FEED_VERSION);
-        when(mockParsedFeedInfo.get(FEED_CONTACT_EMAIL)).thenReturn(FEED_CONTACT_EMAIL);
-        when(mockParsedFeedInfo.get(FEED_CONTACT_URL)).thenReturn(FEED_CONTACT_URL);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_PUBLISHER_NAME))).thenReturn(FEED_PUBLISHER_NAME);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_PUBLISHER_URL))).thenReturn(FEED_PUBLISHER_URL);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_LANG))).thenReturn(FEED_LANG);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_START_DATE))).thenReturn(START_DATE);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_END_DATE))).thenReturn(END_DATE);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_VERSION))).thenReturn(FEED_VERSION);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_CONTACT_EMAIL))).thenReturn(FEED_CONTACT_EMAIL);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_CONTACT_URL))).thenReturn(FEED_CONTACT_URL);
 
         when(mockGtfsDataRepo.addFeedInfo(mockFeedInfo)).thenReturn(mockFeedInfo);
 
@@ -82,14 +94,15 @@ class ProcessParsedFeedInfoTest {
 
         final InOrder inOrder = inOrder(mockBuilder, mockGtfsDataRepo, mockParsedFeedInfo);
 
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_PUBLISHER_NAME));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_PUBLISHER_URL));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_LANG));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_START_DATE));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_END_DATE));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_VERSION));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_CONTACT_EMAIL));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_CONTACT_URL));
+        verify(mockParsedFeedInfo, times(1)).getHeaderIndex();
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_PUBLISHER_NAME));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_PUBLISHER_URL));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_LANG));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_START_DATE));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_END_DATE));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_VERSION));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_CONTACT_EMAIL));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_CONTACT_URL));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1))
@@ -120,6 +133,7 @@ class ProcessParsedFeedInfoTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final FeedInfo.FeedInfoBuilder mockBuilder = mock(FeedInfo.FeedInfoBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedFeedInfo = mock(ParsedEntity.class);
+        when(mockParsedFeedInfo.getHeaderIndex()).thenReturn(HEADER_INDEX);
 
         final List<Notice> mockNoticeCollection = spy(new ArrayList<>());
         final MissingRequiredValueNotice mockNotice = mock(MissingRequiredValueNotice.class);
@@ -137,25 +151,26 @@ class ProcessParsedFeedInfoTest {
         final ProcessParsedFeedInfo underTest = new ProcessParsedFeedInfo(mockResultRepo, mockGtfsDataRepo,
                 mockBuilder);
 
-        when(mockParsedFeedInfo.get(FEED_PUBLISHER_NAME)).thenReturn(FEED_PUBLISHER_NAME);
-        when(mockParsedFeedInfo.get(FEED_PUBLISHER_URL)).thenReturn(FEED_PUBLISHER_URL);
-        when(mockParsedFeedInfo.get(FEED_LANG)).thenReturn(FEED_LANG);
-        when(mockParsedFeedInfo.get(FEED_START_DATE)).thenReturn(START_DATE);
-        when(mockParsedFeedInfo.get(FEED_END_DATE)).thenReturn(END_DATE);
-        when(mockParsedFeedInfo.get(FEED_VERSION)).thenReturn(FEED_VERSION);
-        when(mockParsedFeedInfo.get(FEED_CONTACT_EMAIL)).thenReturn(FEED_CONTACT_EMAIL);
-        when(mockParsedFeedInfo.get(FEED_CONTACT_URL)).thenReturn(FEED_CONTACT_URL);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_PUBLISHER_NAME))).thenReturn(FEED_PUBLISHER_NAME);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_PUBLISHER_URL))).thenReturn(FEED_PUBLISHER_URL);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_LANG))).thenReturn(FEED_LANG);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_START_DATE))).thenReturn(START_DATE);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_END_DATE))).thenReturn(END_DATE);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_VERSION))).thenReturn(FEED_VERSION);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_CONTACT_EMAIL))).thenReturn(FEED_CONTACT_EMAIL);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_CONTACT_URL))).thenReturn(FEED_CONTACT_URL);
 
         underTest.execute(mockParsedFeedInfo);
 
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_PUBLISHER_NAME));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_PUBLISHER_URL));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_LANG));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_START_DATE));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_END_DATE));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_VERSION));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_CONTACT_EMAIL));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_CONTACT_URL));
+        verify(mockParsedFeedInfo, times(1)).getHeaderIndex();
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_PUBLISHER_NAME));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_PUBLISHER_URL));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_LANG));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_START_DATE));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_END_DATE));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_VERSION));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_CONTACT_EMAIL));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_CONTACT_URL));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1))
@@ -184,6 +199,7 @@ class ProcessParsedFeedInfoTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final FeedInfo.FeedInfoBuilder mockBuilder = mock(FeedInfo.FeedInfoBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedFeedInfo = mock(ParsedEntity.class);
+        when(mockParsedFeedInfo.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final FeedInfo mockFeedInfo = mock(FeedInfo.class);
 
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
@@ -199,25 +215,26 @@ class ProcessParsedFeedInfoTest {
         final ProcessParsedFeedInfo underTest = new ProcessParsedFeedInfo(mockResultRepo, mockGtfsDataRepo,
                 mockBuilder);
 
-        when(mockParsedFeedInfo.get(FEED_PUBLISHER_NAME)).thenReturn(FEED_PUBLISHER_NAME);
-        when(mockParsedFeedInfo.get(FEED_PUBLISHER_URL)).thenReturn(FEED_PUBLISHER_URL);
-        when(mockParsedFeedInfo.get(FEED_LANG)).thenReturn(FEED_LANG);
-        when(mockParsedFeedInfo.get(FEED_START_DATE)).thenReturn(START_DATE);
-        when(mockParsedFeedInfo.get(FEED_END_DATE)).thenReturn(END_DATE);
-        when(mockParsedFeedInfo.get(FEED_VERSION)).thenReturn(FEED_VERSION);
-        when(mockParsedFeedInfo.get(FEED_CONTACT_EMAIL)).thenReturn(FEED_CONTACT_EMAIL);
-        when(mockParsedFeedInfo.get(FEED_CONTACT_URL)).thenReturn(FEED_CONTACT_URL);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_PUBLISHER_NAME))).thenReturn(FEED_PUBLISHER_NAME);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_PUBLISHER_URL))).thenReturn(FEED_PUBLISHER_URL);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_LANG))).thenReturn(FEED_LANG);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_START_DATE))).thenReturn(START_DATE);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_END_DATE))).thenReturn(END_DATE);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_VERSION))).thenReturn(FEED_VERSION);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_CONTACT_EMAIL))).thenReturn(FEED_CONTACT_EMAIL);
+        when(mockParsedFeedInfo.get(HEADER_INDEX.indexOf(FEED_CONTACT_URL))).thenReturn(FEED_CONTACT_URL);
 
         underTest.execute(mockParsedFeedInfo);
 
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_PUBLISHER_NAME));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_PUBLISHER_URL));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_LANG));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_START_DATE));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_END_DATE));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_VERSION));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_CONTACT_EMAIL));
-        verify(mockParsedFeedInfo, times(1)).get(ArgumentMatchers.eq(FEED_CONTACT_URL));
+        verify(mockParsedFeedInfo, times(1)).getHeaderIndex();
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_PUBLISHER_NAME));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_PUBLISHER_URL));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_LANG));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_START_DATE));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_END_DATE));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_VERSION));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_CONTACT_EMAIL));
+        verify(mockParsedFeedInfo, times(1)).get(HEADER_INDEX.indexOf(FEED_CONTACT_URL));
 
         verify(mockGtfsDataRepo, times(1)).addFeedInfo(ArgumentMatchers.eq(mockFeedInfo));
 
@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.frequencies.Frequency;
@@ -47,6 +48,13 @@ class ProcessParsedFrequencyTest {
     private static final String EXACT_TIMES = "exact_times";
     private static final Integer EXACT_TIMES_VALUE = 0;
 
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            TRIP_ID,
+            START_TIME,
+            END_TIME,
+            HEADWAY_SECS,
+            EXACT_TIMES));
+
     @Test
     void validFrequencyEntityShouldNotGenerateNoticeAndBeAddedToGtfsDataRepo() {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
@@ -54,6 +62,7 @@ class ProcessParsedFrequencyTest {
         final Frequency.FrequencyBuilder mockBuilder = mock(Frequency.FrequencyBuilder.class, RETURNS_SELF);
         final Frequency mockFrequency = mock(Frequency.class);
         final ParsedEntity mockParsedFrequency = mock(ParsedEntity.class);
+        when(mockParsedFrequency.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final EntityBuildResult<?> mockEntityBuildResult = mock(EntityBuildResult.class);
         final TimeUtils mockTimeUtil = mock(TimeUtils.class);
 
@@ -63,11 +72,11 @@ class ProcessParsedFrequencyTest {
         //noinspection ResultOfMethodCallIgnored
         doReturn(mockFrequency).when(mockEntityBuildResult).getData();
 
-        when(mockParsedFrequency.get(TRIP_ID)).thenReturn(TRIP_ID);
-        when(mockParsedFrequency.get(START_TIME)).thenReturn(START_TIME_VALUE);
-        when(mockParsedFrequency.get(END_TIME)).thenReturn(END_TIME_VALUE);
-        when(mockParsedFrequency.get(HEADWAY_SECS)).thenReturn(HEADWAY_SECS_VALUE);
-        when(mockParsedFrequency.get(EXACT_TIMES)).thenReturn(EXACT_TIMES_VALUE);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(TRIP_ID))).thenReturn(TRIP_ID);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(START_TIME))).thenReturn(START_TIME_VALUE);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(END_TIME))).thenReturn(END_TIME_VALUE);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(HEADWAY_SECS))).thenReturn(HEADWAY_SECS_VALUE);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(EXACT_TIMES))).thenReturn(EXACT_TIMES_VALUE);
 
         when(mockGtfsDataRepo.addFrequency(mockFrequency)).thenReturn(mockFrequency);
 
@@ -81,11 +90,12 @@ class ProcessParsedFrequencyTest {
 
         underTest.execute(mockParsedFrequency);
 
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(TRIP_ID));
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(START_TIME));
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(END_TIME));
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(HEADWAY_SECS));
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(EXACT_TIMES));
+        verify(mockParsedFrequency, times(1)).getHeaderIndex();
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(TRIP_ID));
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(START_TIME));
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(END_TIME));
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(HEADWAY_SECS));
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(EXACT_TIMES));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).tripId(TRIP_ID);
@@ -106,6 +116,7 @@ class ProcessParsedFrequencyTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Frequency.FrequencyBuilder mockBuilder = mock(Frequency.FrequencyBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedFrequency = mock(ParsedEntity.class);
+        when(mockParsedFrequency.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final Notice mockNotice = mock(Notice.class);
         final List<Notice> noticeCollection = new ArrayList<>();
         noticeCollection.add(mockNotice);
@@ -121,11 +132,11 @@ class ProcessParsedFrequencyTest {
         final ProcessParsedFrequency underTest =
                 new ProcessParsedFrequency(mockResultRepo, mockGtfsDataRepo, mockTimeUtil, mockBuilder);
 
-        when(mockParsedFrequency.get(TRIP_ID)).thenReturn(TRIP_ID);
-        when(mockParsedFrequency.get(START_TIME)).thenReturn(START_TIME_VALUE);
-        when(mockParsedFrequency.get(END_TIME)).thenReturn(END_TIME_VALUE);
-        when(mockParsedFrequency.get(HEADWAY_SECS)).thenReturn(HEADWAY_SECS_VALUE);
-        when(mockParsedFrequency.get(EXACT_TIMES)).thenReturn(EXACT_TIMES_VALUE);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(TRIP_ID))).thenReturn(TRIP_ID);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(START_TIME))).thenReturn(START_TIME_VALUE);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(END_TIME))).thenReturn(END_TIME_VALUE);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(HEADWAY_SECS))).thenReturn(HEADWAY_SECS_VALUE);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(EXACT_TIMES))).thenReturn(EXACT_TIMES_VALUE);
 
         when(mockTimeUtil.convertHHMMSSToIntFromNoonOfDayOfService(ArgumentMatchers.eq(START_TIME_VALUE)))
                 .thenReturn(0);
@@ -134,11 +145,12 @@ class ProcessParsedFrequencyTest {
 
         underTest.execute(mockParsedFrequency);
 
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(TRIP_ID));
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(START_TIME));
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(END_TIME));
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(HEADWAY_SECS));
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(EXACT_TIMES));
+        verify(mockParsedFrequency, times(1)).getHeaderIndex();
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(TRIP_ID));
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(START_TIME));
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(END_TIME));
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(HEADWAY_SECS));
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(EXACT_TIMES));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).tripId(TRIP_ID);
@@ -170,6 +182,7 @@ class ProcessParsedFrequencyTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Frequency.FrequencyBuilder mockBuilder = mock(Frequency.FrequencyBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedFrequency = mock(ParsedEntity.class);
+        when(mockParsedFrequency.getHeaderIndex()).thenReturn(HEADER_INDEX);
         when(mockParsedFrequency.getEntityId()).thenReturn("entity id");
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
         final TimeUtils mockTimeUtil = mock(TimeUtils.class);
@@ -191,19 +204,20 @@ class ProcessParsedFrequencyTest {
         final ProcessParsedFrequency underTest =
                 new ProcessParsedFrequency(mockResultRepo, mockGtfsDataRepo, mockTimeUtil, mockBuilder);
 
-        when(mockParsedFrequency.get(TRIP_ID)).thenReturn(TRIP_ID);
-        when(mockParsedFrequency.get(START_TIME)).thenReturn(START_TIME_VALUE);
-        when(mockParsedFrequency.get(END_TIME)).thenReturn(END_TIME_VALUE);
-        when(mockParsedFrequency.get(HEADWAY_SECS)).thenReturn(HEADWAY_SECS_VALUE);
-        when(mockParsedFrequency.get(EXACT_TIMES)).thenReturn(EXACT_TIMES_VALUE);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(TRIP_ID))).thenReturn(TRIP_ID);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(START_TIME))).thenReturn(START_TIME_VALUE);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(END_TIME))).thenReturn(END_TIME_VALUE);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(HEADWAY_SECS))).thenReturn(HEADWAY_SECS_VALUE);
+        when(mockParsedFrequency.get(HEADER_INDEX.indexOf(EXACT_TIMES))).thenReturn(EXACT_TIMES_VALUE);
 
         underTest.execute(mockParsedFrequency);
 
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(TRIP_ID));
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(START_TIME));
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(END_TIME));
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(HEADWAY_SECS));
-        verify(mockParsedFrequency, times(1)).get(ArgumentMatchers.eq(EXACT_TIMES));
+        verify(mockParsedFrequency, times(1)).getHeaderIndex();
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(TRIP_ID));
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(START_TIME));
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(END_TIME));
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(HEADWAY_SECS));
+        verify(mockParsedFrequency, times(1)).get(HEADER_INDEX.indexOf(EXACT_TIMES));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).tripId(TRIP_ID);
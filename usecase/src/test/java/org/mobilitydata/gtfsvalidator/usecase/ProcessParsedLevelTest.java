@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.Level;
@@ -36,6 +37,10 @@ import static org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice.KE
 import static org.mockito.Mockito.*;
 
 class ProcessParsedLevelTest {
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            "level_id",
+            "level_index",
+            "level_name"));
 
     @Test
     public void validatedParsedLevelShouldCreateLevelEntityAndBeAddedToGtfsDataRepo() {
@@ -44,6 +49,7 @@ class ProcessParsedLevelTest {
         final Level.LevelBuilder mockBuilder = mock(Level.LevelBuilder.class, RETURNS_SELF);
         final Level mockLevel = mock(Level.class);
         final ParsedEntity mockParsedLevel = mock(ParsedEntity.class);
+        when(mockParsedLevel.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
 
         // suppressed warning regarding unused result of method, since this behavior is wanted
@@ -53,9 +59,9 @@ class ProcessParsedLevelTest {
 
         doReturn(mockGenericObject).when(mockBuilder).build();
 
-        when(mockParsedLevel.get("level_id")).thenReturn("level id");
-        when(mockParsedLevel.get("level_index")).thenReturn(2.0f);
-        when(mockParsedLevel.get("level_name")).thenReturn("level name");
+        when(mockParsedLevel.get(HEADER_INDEX.indexOf("level_id"))).thenReturn("level id");
+        when(mockParsedLevel.get(HEADER_INDEX.indexOf("level_index"))).thenReturn(2.0f);
+        when(mockParsedLevel.get(HEADER_INDEX.indexOf("level_name"))).thenReturn("level name");
         when(mockParsedLevel.getEntityId()).thenReturn("entity id");
 
         when(mockGtfsDataRepo.addLevel(mockLevel)).thenReturn(mockLevel);
@@ -64,9 +70,10 @@ class ProcessParsedLevelTest {
 
         underTest.execute(mockParsedLevel);
 
-        verify(mockParsedLevel, times(1)).get(ArgumentMatchers.eq("level_id"));
-        verify(mockParsedLevel, times(1)).get(ArgumentMatchers.eq("level_index"));
-        verify(mockParsedLevel, times(1)).get(ArgumentMatchers.eq("level_name"));
+        verify(mockParsedLevel, times(1)).getHeaderIndex();
+        verify(mockParsedLevel, times(1)).get(HEADER_INDEX.indexOf("level_id"));
+        verify(mockParsedLevel, times(1)).get(HEADER_INDEX.indexOf("level_index"));
+        verify(mockParsedLevel, times(1)).get(HEADER_INDEX.indexOf("level_name"));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).levelId("level id");
@@ -90,6 +97,7 @@ class ProcessParsedLevelTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Level.LevelBuilder mockBuilder = mock(Level.LevelBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedLevel = mock(ParsedEntity.class);
+        when(mockParsedLevel.getHeaderIndex()).thenReturn(HEADER_INDEX);
 
         final List<Notice> mockNoticeCollection = spy(new ArrayList<>());
         final MissingRequiredValueNotice mockNotice = mock(MissingRequiredValueNotice.class);
@@ -106,16 +114,17 @@ class ProcessParsedLevelTest {
 
         final ProcessParsedLevel underTest = new ProcessParsedLevel(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedLevel.get("level_id")).thenReturn("level id");
-        when(mockParsedLevel.get("level_index")).thenReturn(2.0f);
-        when(mockParsedLevel.get("level_name")).thenReturn("level name");
+        when(mockParsedLevel.get(HEADER_INDEX.indexOf("level_id"))).thenReturn("level id");
+        when(mockParsedLevel.get(HEADER_INDEX.indexOf("level_index"))).thenReturn(2.0f);
+        when(mockParsedLevel.get(HEADER_INDEX.indexOf("level_name"))).thenReturn("level name");
         when(mockParsedLevel.getEntityId()).thenReturn("entity id");
 
         underTest.execute(mockParsedLevel);
 
-        verify(mockParsedLevel, times(1)).get(ArgumentMatchers.eq("level_id"));
-        verify(mockParsedLevel, times(1)).get(ArgumentMatchers.eq("level_index"));
-        verify(mockParsedLevel, times(1)).get(ArgumentMatchers.eq("level_name"));
+        verify(mockParsedLevel, times(1)).getHeaderIndex();
+        verify(mockParsedLevel, times(1)).get(HEADER_INDEX.indexOf("level_id"));
+        verify(mockParsedLevel, times(1)).get(HEADER_INDEX.indexOf("level_index"));
+        verify(mockParsedLevel, times(1)).get(HEADER_INDEX.indexOf("level_name"));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).levelId(ArgumentMatchers.eq("level id"));
@@ -138,6 +147,7 @@ class ProcessParsedLevelTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Level.LevelBuilder mockBuilder = mock(Level.LevelBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedLevel = mock(ParsedEntity.class);
+        when(mockParsedLevel.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final Level mockLevel = mock(Level.class);
 
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
@@ -146,23 +156,23 @@ class ProcessParsedLevelTest {
         //noinspection ResultOfMethodCallIgnored
         doReturn(mockLevel).when(mockGenericObject).getData();
 
-
         when(mockLevel.getLevelId()).thenReturn("level id");
         when(mockLevel.getLevelIndex()).thenReturn(2.0f);
         doReturn(mockGenericObject).when(mockBuilder).build();
 
         final ProcessParsedLevel underTest = new ProcessParsedLevel(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedLevel.get("level_id")).thenReturn("level id");
-        when(mockParsedLevel.get("level_index")).thenReturn(2.0f);
-        when(mockParsedLevel.get("level_name")).thenReturn("level name");
+        when(mockParsedLevel.get(HEADER_INDEX.indexOf("level_id"))).thenReturn("level id");
+        when(mockParsedLevel.get(HEADER_INDEX.indexOf("level_index"))).thenReturn(2.0f);
+        when(mockParsedLevel.get(HEADER_INDEX.indexOf("level_name"))).thenReturn("level name");
         when(mockParsedLevel.getEntityId()).thenReturn("entity id");
 
         underTest.execute(mockParsedLevel);
 
-        verify(mockParsedLevel, times(1)).get(ArgumentMatchers.eq("level_id"));
-        verify(mockParsedLevel, times(1)).get(ArgumentMatchers.eq("level_index"));
-        verify(mockParsedLevel, times(1)).get(ArgumentMatchers.eq("level_name"));
+        verify(mockParsedLevel, times(1)).getHeaderIndex();
+        verify(mockParsedLevel, times(1)).get(HEADER_INDEX.indexOf("level_id"));
+        verify(mockParsedLevel, times(1)).get(HEADER_INDEX.indexOf("level_index"));
+        verify(mockParsedLevel, times(1)).get(HEADER_INDEX.indexOf("level_name"));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).levelId(ArgumentMatchers.eq("level id"));
@@ -1,6 +1,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.pathways.Pathway;
@@ -36,6 +37,20 @@ class ProcessParsedPathwayTest {
     private static final String SIGNPOSTED_AS = "signposted_as";
     private static final String RESERVED_SIGNPOSTED_AS = "reserved_signposted_as";
 
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            PATHWAY_ID,
+            FROM_STOP_ID,
+            TO_STOP_ID,
+            PATHWAY_MODE,
+            IS_BIDIRECTIONAL,
+            LENGTH,
+            TRAVERSAL_TINE,
+            STAIR_COUNT,
+            MAX_SLOPE,
+            MIN_WIDTH,
+            SIGNPOSTED_AS,
+            RESERVED_SIGNPOSTED_AS));
+
     @Test
     void validatedParsedPathwayShouldCreatePathwayEntityAndBeAddedToGtfsDataRepo() {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
@@ -44,6 +59,7 @@ class ProcessParsedPathwayTest {
         final Pathway.PathwayBuilder mockBuilder = mock(Pathway.PathwayBuilder.class, RETURNS_SELF);
         final Pathway mockPathway = mock(Pathway.class);
         final ParsedEntity mockParsedPathway = mock(ParsedEntity.class);
+        when(mockParsedPathway.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final EntityBuildResult<?> mockEntityBuildResult = mock(EntityBuildResult.class);
 
         doReturn(mockEntityBuildResult).when(mockBuilder).build();
@@ -53,18 +69,18 @@ class ProcessParsedPathwayTest {
         doReturn(mockPathway).when(mockEntityBuildResult).getData();
         when(mockEntityBuildResult.isSuccess()).thenReturn(true);
 
-        when(mockParsedPathway.get(PATHWAY_ID)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedPathway.get(FROM_STOP_ID)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedPathway.get(TO_STOP_ID)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedPathway.get(PATHWAY_MODE)).thenReturn(1);
-        when(mockParsedPathway.get(IS_BIDIRECTIONAL)).thenReturn(1);
-        when(mockParsedPathway.get(LENGTH)).thenReturn(FLOAT_TEST_VALUE);
-        when(mockParsedPathway.get(TRAVERSAL_TINE)).thenReturn(INT_TEST_VALUE);
-        when(mockParsedPathway.get(STAIR_COUNT)).thenReturn(INT_TEST_VALUE);
-        when(mockParsedPathway.get(MAX_SLOPE)).thenReturn(FLOAT_TEST_VALUE);
-        when(mockParsedPathway.get(MIN_WIDTH)).thenReturn(FLOAT_TEST_VALUE);
-        when(mockParsedPathway.get(SIGNPOSTED_AS)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedPathway.get(RESERVED_SIGNPOSTED_AS)).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(PATHWAY_ID))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(FROM_STOP_ID))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(TO_STOP_ID))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(PATHWAY_MODE))).thenReturn(1);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(IS_BIDIRECTIONAL))).thenReturn(1);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(LENGTH))).thenReturn(FLOAT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(TRAVERSAL_TINE))).thenReturn(INT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(STAIR_COUNT))).thenReturn(INT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(MAX_SLOPE))).thenReturn(FLOAT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(MIN_WIDTH))).thenReturn(FLOAT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(SIGNPOSTED_AS))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(RESERVED_SIGNPOSTED_AS))).thenReturn(STRING_TEST_VALUE);
 
         when(mockGtfsDataRepo.addPathway(mockPathway)).thenReturn(mockPathway);
 
@@ -74,19 +90,19 @@ class ProcessParsedPathwayTest {
         underTest.execute(mockParsedPathway);
         final InOrder inOrder = inOrder(mockParsedPathway, mockBuilder, mockResultRepo, mockGtfsDataRepo);
 
-        inOrder.verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(PATHWAY_ID));
-        inOrder.verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(FROM_STOP_ID));
-        inOrder.verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(TO_STOP_ID));
-        inOrder.verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(PATHWAY_MODE));
-        inOrder.verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(IS_BIDIRECTIONAL));
-        inOrder.verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(LENGTH));
-        inOrder.verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(TRAVERSAL_TINE));
-        inOrder.verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(STAIR_COUNT));
-        inOrder.verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(MAX_SLOPE));
-        inOrder.verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(MIN_WIDTH));
-        inOrder.verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(SIGNPOSTED_AS));
+        inOrder.verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(PATHWAY_ID));
+        inOrder.verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(FROM_STOP_ID));
+        inOrder.verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(TO_STOP_ID));
+        inOrder.verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(PATHWAY_MODE));
+        inOrder.verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(IS_BIDIRECTIONAL));
+        inOrder.verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(LENGTH));
+        inOrder.verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(TRAVERSAL_TINE));
+        inOrder.verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(STAIR_COUNT));
+        inOrder.verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(MAX_SLOPE));
+        inOrder.verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(MIN_WIDTH));
+        inOrder.verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(SIGNPOSTED_AS));
         inOrder.verify(mockParsedPathway, times(1))
-                .get(ArgumentMatchers.eq(RESERVED_SIGNPOSTED_AS));
+                .get(HEADER_INDEX.indexOf(RESERVED_SIGNPOSTED_AS));
 
         inOrder.verify(mockBuilder, times(1)).clear();
         inOrder.verify(mockBuilder, times(1)).pathwayId(ArgumentMatchers.eq(STRING_TEST_VALUE));
@@ -118,6 +134,7 @@ class ProcessParsedPathwayTest {
 
         final Pathway.PathwayBuilder mockBuilder = mock(Pathway.PathwayBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedPathway = mock(ParsedEntity.class);
+        when(mockParsedPathway.getHeaderIndex()).thenReturn(HEADER_INDEX);
 
         final List<Notice> mockNoticeCollection = spy(new ArrayList<>());
         final MissingRequiredValueNotice mockNotice = mock(MissingRequiredValueNotice.class);
@@ -135,33 +152,34 @@ class ProcessParsedPathwayTest {
         final ProcessParsedPathway underTest =
                 new ProcessParsedPathway(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedPathway.get("pathway_id")).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedPathway.get("from_stop_id")).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedPathway.get("to_stop_id")).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedPathway.get("pathway_mode")).thenReturn(1);
-        when(mockParsedPathway.get("is_bidirectional")).thenReturn(1);
-        when(mockParsedPathway.get("length")).thenReturn(FLOAT_TEST_VALUE);
-        when(mockParsedPathway.get("traversal_tine")).thenReturn(INT_TEST_VALUE);
-        when(mockParsedPathway.get("stair_count")).thenReturn(INT_TEST_VALUE);
-        when(mockParsedPathway.get("max_slope")).thenReturn(FLOAT_TEST_VALUE);
-        when(mockParsedPathway.get("min_width")).thenReturn(FLOAT_TEST_VALUE);
-        when(mockParsedPathway.get("signposted_as")).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedPathway.get("reserved_signposted_as")).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf("pathway_id"))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf("from_stop_id"))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf("to_stop_id"))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf("pathway_mode"))).thenReturn(1);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf("is_bidirectional"))).thenReturn(1);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf("length"))).thenReturn(FLOAT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf("traversal_tine"))).thenReturn(INT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf("stair_count"))).thenReturn(INT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf("max_slope"))).thenReturn(FLOAT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf("min_width"))).thenReturn(FLOAT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf("signposted_as"))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf("reserved_signposted_as"))).thenReturn(STRING_TEST_VALUE);
 
         underTest.execute(mockParsedPathway);
 
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(PATHWAY_ID));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(FROM_STOP_ID));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(TO_STOP_ID));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(PATHWAY_MODE));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(IS_BIDIRECTIONAL));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(LENGTH));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(TRAVERSAL_TINE));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(STAIR_COUNT));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(MAX_SLOPE));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(MIN_WIDTH));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(SIGNPOSTED_AS));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(RESERVED_SIGNPOSTED_AS));
+        verify(mockParsedPathway, times(1)).getHeaderIndex();
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(PATHWAY_ID));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(FROM_STOP_ID));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(TO_STOP_ID));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(PATHWAY_MODE));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(IS_BIDIRECTIONAL));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(LENGTH));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(TRAVERSAL_TINE));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(STAIR_COUNT));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(MAX_SLOPE));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(MIN_WIDTH));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(SIGNPOSTED_AS));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(RESERVED_SIGNPOSTED_AS));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).pathwayId(ArgumentMatchers.eq(STRING_TEST_VALUE));
@@ -195,6 +213,7 @@ class ProcessParsedPathwayTest {
 
         final Pathway.PathwayBuilder mockBuilder = mock(Pathway.PathwayBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedPathway = mock(ParsedEntity.class);
+        when(mockParsedPathway.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final Pathway mockPathway = mock(Pathway.class);
 
         final EntityBuildResult<?> mockEntityBuildResult = mock(EntityBuildResult.class);
@@ -210,33 +229,34 @@ class ProcessParsedPathwayTest {
         final ProcessParsedPathway underTest =
                 new ProcessParsedPathway(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedPathway.get(PATHWAY_ID)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedPathway.get(FROM_STOP_ID)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedPathway.get(TO_STOP_ID)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedPathway.get(PATHWAY_MODE)).thenReturn(1);
-        when(mockParsedPathway.get(IS_BIDIRECTIONAL)).thenReturn(1);
-        when(mockParsedPathway.get(LENGTH)).thenReturn(FLOAT_TEST_VALUE);
-        when(mockParsedPathway.get(TRAVERSAL_TINE)).thenReturn(INT_TEST_VALUE);
-        when(mockParsedPathway.get(STAIR_COUNT)).thenReturn(INT_TEST_VALUE);
-        when(mockParsedPathway.get(MAX_SLOPE)).thenReturn(FLOAT_TEST_VALUE);
-        when(mockParsedPathway.get(MIN_WIDTH)).thenReturn(FLOAT_TEST_VALUE);
-        when(mockParsedPathway.get(SIGNPOSTED_AS)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedPathway.get(RESERVED_SIGNPOSTED_AS)).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(PATHWAY_ID))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(FROM_STOP_ID))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(TO_STOP_ID))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(PATHWAY_MODE))).thenReturn(1);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(IS_BIDIRECTIONAL))).thenReturn(1);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(LENGTH))).thenReturn(FLOAT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(TRAVERSAL_TINE))).thenReturn(INT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(STAIR_COUNT))).thenReturn(INT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(MAX_SLOPE))).thenReturn(FLOAT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(MIN_WIDTH))).thenReturn(FLOAT_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(SIGNPOSTED_AS))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedPathway.get(HEADER_INDEX.indexOf(RESERVED_SIGNPOSTED_AS))).thenReturn(STRING_TEST_VALUE);
 
         underTest.execute(mockParsedPathway);
 
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(PATHWAY_ID));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(FROM_STOP_ID));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(TO_STOP_ID));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(PATHWAY_MODE));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(IS_BIDIRECTIONAL));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(LENGTH));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(TRAVERSAL_TINE));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(STAIR_COUNT));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(MAX_SLOPE));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(MIN_WIDTH));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(SIGNPOSTED_AS));
-        verify(mockParsedPathway, times(1)).get(ArgumentMatchers.eq(RESERVED_SIGNPOSTED_AS));
+        verify(mockParsedPathway, times(1)).getHeaderIndex();
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(PATHWAY_ID));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(FROM_STOP_ID));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(TO_STOP_ID));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(PATHWAY_MODE));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(IS_BIDIRECTIONAL));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(LENGTH));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(TRAVERSAL_TINE));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(STAIR_COUNT));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(MAX_SLOPE));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(MIN_WIDTH));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(SIGNPOSTED_AS));
+        verify(mockParsedPathway, times(1)).get(HEADER_INDEX.indexOf(RESERVED_SIGNPOSTED_AS));
         // suppressed warning regarding unused result of method, since this behavior is wanted
         //noinspection ResultOfMethodCallIgnored
         verify(mockParsedPathway, times(1)).getEntityId();
@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.routes.Route;
@@ -51,6 +52,18 @@ class ProcessParsedRouteTest {
     private final String STRING_TEST_VALUE = "test_value";
     private final int INT_TEST_VALUE = 0;
 
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            ROUTE_ID,
+            AGENCY_ID,
+            ROUTE_SHORT_NAME,
+            ROUTE_LONG_NAME,
+            ROUTE_DESC,
+            ROUTE_TYPE,
+            ROUTE_URL,
+            ROUTE_COLOR,
+            ROUTE_TEXT_COLOR,
+            ROUTE_SORT_ORDER));
+
     @Test
     void validatedParsedRouteShouldCreateRouteEntityAndBeAddedToGtfsDataRepository() {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
@@ -58,6 +71,7 @@ class ProcessParsedRouteTest {
         final Route.RouteBuilder mockBuilder = mock(Route.RouteBuilder.class, RETURNS_SELF);
         final Route mockRoute = mock(Route.class);
         final ParsedEntity mockParsedRoute = mock(ParsedEntity.class);
+        when(mockParsedRoute.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(mockRoute);
@@ -66,16 +80,16 @@ class ProcessParsedRouteTest {
         //noinspection unchecked
         when(mockBuilder.build()).thenReturn(mockGenericObject);
 
-        when(mockParsedRoute.get(ROUTE_ID)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(AGENCY_ID)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_SHORT_NAME)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_LONG_NAME)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_DESC)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_TYPE)).thenReturn(INT_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_URL)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_COLOR)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_TEXT_COLOR)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_SORT_ORDER)).thenReturn(INT_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_ID))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(AGENCY_ID))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_SHORT_NAME))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_LONG_NAME))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_DESC))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_TYPE))).thenReturn(INT_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_URL))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_COLOR))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_TEXT_COLOR))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_SORT_ORDER))).thenReturn(INT_TEST_VALUE);
 
         when(mockGtfsDataRepo.addRoute(mockRoute)).thenReturn(mockRoute);
 
@@ -85,16 +99,17 @@ class ProcessParsedRouteTest {
 
         final InOrder inOrder = inOrder(mockBuilder, mockGtfsDataRepo, mockParsedRoute);
 
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_ID));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(AGENCY_ID));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_SHORT_NAME));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_LONG_NAME));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_DESC));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_TYPE));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_URL));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_COLOR));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_TEXT_COLOR));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_SORT_ORDER));
+        verify(mockParsedRoute, times(1)).getHeaderIndex();
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_ID));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(AGENCY_ID));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_SHORT_NAME));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_LONG_NAME));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_DESC));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_TYPE));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_URL));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_COLOR));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_TEXT_COLOR));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_SORT_ORDER));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).routeId(ArgumentMatchers.anyString());
@@ -124,6 +139,7 @@ class ProcessParsedRouteTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Route.RouteBuilder mockBuilder = mock(Route.RouteBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedRoute = mock(ParsedEntity.class);
+        when(mockParsedRoute.getHeaderIndex()).thenReturn(HEADER_INDEX);
 
         @SuppressWarnings("unchecked") final List<Notice> mockNoticeCollection = spy(ArrayList.class);
         final MissingRequiredValueNotice mockNotice = mock(MissingRequiredValueNotice.class);
@@ -139,29 +155,30 @@ class ProcessParsedRouteTest {
 
         final ProcessParsedRoute underTest = new ProcessParsedRoute(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedRoute.get(ROUTE_ID)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(AGENCY_ID)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_SHORT_NAME)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_LONG_NAME)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_DESC)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_TYPE)).thenReturn(INT_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_URL)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_COLOR)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_TEXT_COLOR)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_SORT_ORDER)).thenReturn(INT_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_ID))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(AGENCY_ID))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_SHORT_NAME))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_LONG_NAME))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_DESC))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_TYPE))).thenReturn(INT_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_URL))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_COLOR))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_TEXT_COLOR))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_SORT_ORDER))).thenReturn(INT_TEST_VALUE);
 
         underTest.execute(mockParsedRoute);
 
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_ID));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(AGENCY_ID));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_SHORT_NAME));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_LONG_NAME));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_DESC));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_TYPE));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_URL));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_COLOR));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_TEXT_COLOR));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_SORT_ORDER));
+        verify(mockParsedRoute, times(1)).getHeaderIndex();
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_ID));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(AGENCY_ID));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_SHORT_NAME));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_LONG_NAME));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_DESC));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_TYPE));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_URL));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_COLOR));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_TEXT_COLOR));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_SORT_ORDER));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).routeId(ArgumentMatchers.eq(STRING_TEST_VALUE));
@@ -191,6 +208,7 @@ class ProcessParsedRouteTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Route.RouteBuilder mockBuilder = mock(Route.RouteBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedRoute = mock(ParsedEntity.class);
+        when(mockParsedRoute.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final Route mockRoute = mock(Route.class);
 
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
@@ -204,29 +222,30 @@ class ProcessParsedRouteTest {
 
         final ProcessParsedRoute underTest = new ProcessParsedRoute(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedRoute.get(ROUTE_ID)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(AGENCY_ID)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_SHORT_NAME)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_LONG_NAME)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_DESC)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_TYPE)).thenReturn(7);
-        when(mockParsedRoute.get(ROUTE_URL)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_COLOR)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_TEXT_COLOR)).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedRoute.get(ROUTE_SORT_ORDER)).thenReturn(INT_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_ID))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(AGENCY_ID))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_SHORT_NAME))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_LONG_NAME))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_DESC))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_TYPE))).thenReturn(7);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_URL))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_COLOR))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_TEXT_COLOR))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedRoute.get(HEADER_INDEX.indexOf(ROUTE_SORT_ORDER))).thenReturn(INT_TEST_VALUE);
 
         underTest.execute(mockParsedRoute);
 
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_ID));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(AGENCY_ID));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_SHORT_NAME));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_LONG_NAME));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_DESC));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_TYPE));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_URL));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_COLOR));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_TEXT_COLOR));
-        verify(mockParsedRoute, times(1)).get(ArgumentMatchers.eq(ROUTE_SORT_ORDER));
+        verify(mockParsedRoute, times(1)).getHeaderIndex();
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_ID));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(AGENCY_ID));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_SHORT_NAME));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_LONG_NAME));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_DESC));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_TYPE));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_URL));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_COLOR));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_TEXT_COLOR));
+        verify(mockParsedRoute, times(1)).get(HEADER_INDEX.indexOf(ROUTE_SORT_ORDER));
 
         //noinspection ResultOfMethodCallIgnored
         verify(mockParsedRoute, times(1)).getEntityId();
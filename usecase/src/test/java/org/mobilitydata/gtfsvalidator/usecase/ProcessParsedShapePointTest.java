@@ -1,6 +1,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
@@ -25,12 +26,20 @@ class ProcessParsedShapePointTest {
     private static final String SHAPE_PT_SEQUENCE = "shape_pt_sequence";
     private static final String SHAPE_DIST_TRAVELED = "shape_dist_traveled";
 
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            SHAPE_ID,
+            SHAPE_PT_LAT,
+            SHAPE_PT_LON,
+            SHAPE_PT_SEQUENCE,
+            SHAPE_DIST_TRAVELED));
+
     @Test
     public void validParsedShapeShouldNotGenerateNoticeAndBeAddedToGtfsDataRepo() {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final ShapePoint.ShapeBuilder mockBuilder = mock(ShapePoint.ShapeBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedShape = mock(ParsedEntity.class);
+        when(mockParsedShape.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ShapePoint mockShapePoint = mock(ShapePoint.class);
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
 
@@ -41,11 +50,11 @@ class ProcessParsedShapePointTest {
 
         doReturn(mockGenericObject).when(mockBuilder).build();
 
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_ID))).thenReturn(null);
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_PT_LAT))).thenReturn(0f);
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_PT_LON))).thenReturn(0f);
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_PT_SEQUENCE))).thenReturn(1);
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_DIST_TRAVELED))).thenReturn(100f);
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_ID))).thenReturn(null);
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_PT_LAT))).thenReturn(0f);
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_PT_LON))).thenReturn(0f);
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_PT_SEQUENCE))).thenReturn(1);
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_DIST_TRAVELED))).thenReturn(100f);
 
         when(mockGtfsDataRepo.addShapePoint(mockShapePoint)).thenReturn(mockShapePoint);
 
@@ -53,11 +62,12 @@ class ProcessParsedShapePointTest {
 
         underTest.execute(mockParsedShape);
 
-        verify(mockParsedShape, times(1)).get(SHAPE_ID);
-        verify(mockParsedShape, times(1)).get(SHAPE_PT_LAT);
-        verify(mockParsedShape, times(1)).get(SHAPE_PT_LON);
-        verify(mockParsedShape, times(1)).get(SHAPE_PT_SEQUENCE);
-        verify(mockParsedShape, times(1)).get(SHAPE_DIST_TRAVELED);
+        verify(mockParsedShape, times(1)).getHeaderIndex();
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_ID));
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_PT_LAT));
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_PT_LON));
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_PT_SEQUENCE));
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_DIST_TRAVELED));
 
         verify(mockBuilder, times(1)).clear();
         // suppressed lint generated by NotNull annotations
@@ -87,6 +97,7 @@ class ProcessParsedShapePointTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final ShapePoint.ShapeBuilder mockBuilder = mock(ShapePoint.ShapeBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedShape = mock(ParsedEntity.class);
+        when(mockParsedShape.getHeaderIndex()).thenReturn(HEADER_INDEX);
 
         final List<Notice> mockNoticeCollection = spy(new ArrayList<>());
         final MissingRequiredValueNotice mockNotice = mock(MissingRequiredValueNotice.class);
@@ -102,19 +113,20 @@ class ProcessParsedShapePointTest {
 
         final ProcessParsedShapePoint underTest = new ProcessParsedShapePoint(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_ID))).thenReturn("test id");
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_PT_LAT))).thenReturn(190.0f);
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_PT_LON))).thenReturn(0f);
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_PT_SEQUENCE))).thenReturn(1);
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_DIST_TRAVELED))).thenReturn(100f);
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_ID))).thenReturn("test id");
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_PT_LAT))).thenReturn(190.0f);
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_PT_LON))).thenReturn(0f);
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_PT_SEQUENCE))).thenReturn(1);
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_DIST_TRAVELED))).thenReturn(100f);
 
         underTest.execute(mockParsedShape);
 
-        verify(mockParsedShape, times(1)).get(SHAPE_ID);
-        verify(mockParsedShape, times(1)).get(SHAPE_PT_LAT);
-        verify(mockParsedShape, times(1)).get(SHAPE_PT_LON);
-        verify(mockParsedShape, times(1)).get(SHAPE_PT_SEQUENCE);
-        verify(mockParsedShape, times(1)).get(SHAPE_DIST_TRAVELED);
+        verify(mockParsedShape, times(1)).getHeaderIndex();
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_ID));
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_PT_LAT));
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_PT_LON));
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_PT_SEQUENCE));
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_DIST_TRAVELED));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).shapeId(ArgumentMatchers.eq("test id"));
@@ -140,6 +152,7 @@ class ProcessParsedShapePointTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final ShapePoint.ShapeBuilder mockBuilder = mock(ShapePoint.ShapeBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedShape = mock(ParsedEntity.class);
+        when(mockParsedShape.getHeaderIndex()).thenReturn(HEADER_INDEX);
         when(mockParsedShape.getEntityId()).thenReturn("shape id");
         final ShapePoint mockShapePoint = mock(ShapePoint.class);
 
@@ -155,19 +168,20 @@ class ProcessParsedShapePointTest {
 
         final ProcessParsedShapePoint underTest = new ProcessParsedShapePoint(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_ID))).thenReturn("shape id");
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_PT_LAT))).thenReturn(0f);
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_PT_LON))).thenReturn(0f);
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_PT_SEQUENCE))).thenReturn(1);
-        when(mockParsedShape.get(ArgumentMatchers.eq(SHAPE_DIST_TRAVELED))).thenReturn(100.0f);
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_ID))).thenReturn("shape id");
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_PT_LAT))).thenReturn(0f);
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_PT_LON))).thenReturn(0f);
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_PT_SEQUENCE))).thenReturn(1);
+        when(mockParsedShape.get(HEADER_INDEX.indexOf(SHAPE_DIST_TRAVELED))).thenReturn(100.0f);
 
         underTest.execute(mockParsedShape);
 
-        verify(mockParsedShape, times(1)).get(SHAPE_ID);
-        verify(mockParsedShape, times(1)).get(SHAPE_PT_LAT);
-        verify(mockParsedShape, times(1)).get(SHAPE_PT_LON);
-        verify(mockParsedShape, times(1)).get(SHAPE_PT_SEQUENCE);
-        verify(mockParsedShape, times(1)).get(SHAPE_DIST_TRAVELED);
+        verify(mockParsedShape, times(1)).getHeaderIndex();
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_ID));
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_PT_LAT));
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_PT_LON));
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_PT_SEQUENCE));
+        verify(mockParsedShape, times(1)).get(HEADER_INDEX.indexOf(SHAPE_DIST_TRAVELED));
         //noinspection ResultOfMethodCallIgnored to avoid lind
         verify(mockParsedShape, times(1)).getEntityId();
 
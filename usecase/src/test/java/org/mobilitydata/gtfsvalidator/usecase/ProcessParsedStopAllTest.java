@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.Agency;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
@@ -61,6 +62,21 @@ class ProcessParsedStopAllTest {
     private static final String LEVEL_ID = "level_id";
     private static final String PLATFORM_CODE = "platform_code";
 
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            LOCATION_TYPE,
+            STOP_NAME,
+            STOP_LAT,
+            STOP_LON,
+            STOP_CODE,
+            STOP_DESC,
+            ZONE_ID,
+            STOP_URL,
+            STOP_TIMEZONE,
+            WHEELCHAIR_BOARDING,
+            LEVEL_ID,
+            PLATFORM_CODE,
+            PARENT_STATION));
+
     @Test
     void validParsedStopOrPlatformShouldCreateStopOrPlatformEntityAndBeAddedToGtfsDataRepository() {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
@@ -71,7 +87,9 @@ class ProcessParsedStopAllTest {
                 mock(Station.StationBuilder.class, RETURNS_SELF);
         final StopOrPlatform mockStopOrPlatform = mock(StopOrPlatform.class);
         final ParsedEntity mockParsedStopOrPlatform = mock(ParsedEntity.class);
+        when(mockParsedStopOrPlatform.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity mockParent = mock(ParsedEntity.class);
+        when(mockParent.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(mockStopOrPlatform);
@@ -89,21 +107,21 @@ class ProcessParsedStopAllTest {
         when(mockStationBuilder.build()).thenReturn(mockFailBuildResult);
 
         when(mockParsedStopOrPlatform.getEntityId()).thenReturn(CHILD_ID);
-        when(mockParsedStopOrPlatform.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
-        when(mockParsedStopOrPlatform.get(STOP_NAME)).thenReturn(STOP_NAME);
-        when(mockParsedStopOrPlatform.get(STOP_LAT)).thenReturn(45.5017f);
-        when(mockParsedStopOrPlatform.get(STOP_LON)).thenReturn(73.5673f);
-        when(mockParsedStopOrPlatform.get(STOP_CODE)).thenReturn(STOP_CODE);
-        when(mockParsedStopOrPlatform.get(STOP_DESC)).thenReturn(STOP_DESC);
-        when(mockParsedStopOrPlatform.get(ZONE_ID)).thenReturn(ZONE_ID);
-        when(mockParsedStopOrPlatform.get(STOP_URL)).thenReturn(STOP_URL);
-        when(mockParsedStopOrPlatform.get(STOP_TIMEZONE)).thenReturn(STOP_TIMEZONE);
-        when(mockParsedStopOrPlatform.get(WHEELCHAIR_BOARDING)).thenReturn(1);
-        when(mockParsedStopOrPlatform.get(LEVEL_ID)).thenReturn(LEVEL_ID);
-        when(mockParsedStopOrPlatform.get(PLATFORM_CODE)).thenReturn(PLATFORM_CODE);
+        when(mockParsedStopOrPlatform.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
+        when(mockParsedStopOrPlatform.get(HEADER_INDEX.indexOf(STOP_NAME))).thenReturn(STOP_NAME);
+        when(mockParsedStopOrPlatform.get(HEADER_INDEX.indexOf(STOP_LAT))).thenReturn(45.5017f);
+        when(mockParsedStopOrPlatform.get(HEADER_INDEX.indexOf(STOP_LON))).thenReturn(73.5673f);
+        when(mockParsedStopOrPlatform.get(HEADER_INDEX.indexOf(STOP_CODE))).thenReturn(STOP_CODE);
+        when(mockParsedStopOrPlatform.get(HEADER_INDEX.indexOf(STOP_DESC))).thenReturn(STOP_DESC);
+        when(mockParsedStopOrPlatform.get(HEADER_INDEX.indexOf(ZONE_ID))).thenReturn(ZONE_ID);
+        when(mockParsedStopOrPlatform.get(HEADER_INDEX.indexOf(STOP_URL))).thenReturn(STOP_URL);
+        when(mockParsedStopOrPlatform.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn(STOP_TIMEZONE);
+        when(mockParsedStopOrPlatform.get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING))).thenReturn(1);
+        when(mockParsedStopOrPlatform.get(HEADER_INDEX.indexOf(LEVEL_ID))).thenReturn(LEVEL_ID);
+        when(mockParsedStopOrPlatform.get(HEADER_INDEX.indexOf(PLATFORM_CODE))).thenReturn(PLATFORM_CODE);
 
         when(mockParent.getEntityId()).thenReturn(PARENT_ID);
-        when(mockParent.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STATION);
+        when(mockParent.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STATION);
 
         when(mockGtfsDataRepo.addStop(mockStopOrPlatform)).thenReturn(mockStopOrPlatform);
 
@@ -125,20 +143,21 @@ class ProcessParsedStopAllTest {
         final InOrder inOrder = inOrder(mockStopOrPlatformBuilder, mockGtfsDataRepo, mockParsedStopOrPlatform);
 
         //noinspection ResultOfMethodCallIgnored
+        verify(mockParsedStopOrPlatform, times(2)).getHeaderIndex();
         verify(mockParsedStopOrPlatform, times(2)).getEntityId();
-        verify(mockParsedStopOrPlatform, times(1)).get(ArgumentMatchers.eq(LOCATION_TYPE));
-        verify(mockParsedStopOrPlatform, times(1)).get(ArgumentMatchers.eq(STOP_NAME));
-        verify(mockParsedStopOrPlatform, times(1)).get(ArgumentMatchers.eq(STOP_LAT));
-        verify(mockParsedStopOrPlatform, times(1)).get(ArgumentMatchers.eq(STOP_LON));
-        verify(mockParsedStopOrPlatform, times(1)).get(ArgumentMatchers.eq(STOP_CODE));
-        verify(mockParsedStopOrPlatform, times(1)).get(ArgumentMatchers.eq(STOP_DESC));
-        verify(mockParsedStopOrPlatform, times(1)).get(ArgumentMatchers.eq(ZONE_ID));
-        verify(mockParsedStopOrPlatform, times(1)).get(ArgumentMatchers.eq(STOP_URL));
-        verify(mockParsedStopOrPlatform, times(2)).get(ArgumentMatchers.eq(PARENT_STATION));
-        verify(mockParsedStopOrPlatform, times(1)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
-        verify(mockParsedStopOrPlatform, times(1)).get(ArgumentMatchers.eq(WHEELCHAIR_BOARDING));
-        verify(mockParsedStopOrPlatform, times(1)).get(ArgumentMatchers.eq(LEVEL_ID));
-        verify(mockParsedStopOrPlatform, times(1)).get(ArgumentMatchers.eq(PLATFORM_CODE));
+        verify(mockParsedStopOrPlatform, times(1)).get(HEADER_INDEX.indexOf(LOCATION_TYPE));
+        verify(mockParsedStopOrPlatform, times(1)).get(HEADER_INDEX.indexOf(STOP_NAME));
+        verify(mockParsedStopOrPlatform, times(1)).get(HEADER_INDEX.indexOf(STOP_LAT));
+        verify(mockParsedStopOrPlatform, times(1)).get(HEADER_INDEX.indexOf(STOP_LON));
+        verify(mockParsedStopOrPlatform, times(1)).get(HEADER_INDEX.indexOf(STOP_CODE));
+        verify(mockParsedStopOrPlatform, times(1)).get(HEADER_INDEX.indexOf(STOP_DESC));
+        verify(mockParsedStopOrPlatform, times(1)).get(HEADER_INDEX.indexOf(ZONE_ID));
+        verify(mockParsedStopOrPlatform, times(1)).get(HEADER_INDEX.indexOf(STOP_URL));
+        verify(mockParsedStopOrPlatform, times(2)).get(HEADER_INDEX.indexOf(PARENT_STATION));
+        verify(mockParsedStopOrPlatform, times(1)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
+        verify(mockParsedStopOrPlatform, times(1)).get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING));
+        verify(mockParsedStopOrPlatform, times(1)).get(HEADER_INDEX.indexOf(LEVEL_ID));
+        verify(mockParsedStopOrPlatform, times(1)).get(HEADER_INDEX.indexOf(PLATFORM_CODE));
 
         verify(mockStopOrPlatformBuilder, times(1)).clear();
         verify(mockStopOrPlatformBuilder,
@@ -180,6 +199,7 @@ class ProcessParsedStopAllTest {
                 mock(Station.StationBuilder.class, RETURNS_SELF);
         final Station mockStation = mock(Station.class);
         final ParsedEntity mockParsedStation = mock(ParsedEntity.class);
+        when(mockParsedStation.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(mockStation);
@@ -189,18 +209,18 @@ class ProcessParsedStopAllTest {
         when(mockStationBuilder.build()).thenReturn(mockGenericObject);
 
         when(mockParsedStation.getEntityId()).thenReturn(CHILD_ID);
-        when(mockParsedStation.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STATION);
-        when(mockParsedStation.get(STOP_NAME)).thenReturn(STOP_NAME);
-        when(mockParsedStation.get(STOP_LAT)).thenReturn(45.5017f);
-        when(mockParsedStation.get(STOP_LON)).thenReturn(73.5673f);
-        when(mockParsedStation.get(STOP_CODE)).thenReturn(STOP_CODE);
-        when(mockParsedStation.get(STOP_DESC)).thenReturn(STOP_DESC);
-        when(mockParsedStation.get(ZONE_ID)).thenReturn(ZONE_ID);
-        when(mockParsedStation.get(STOP_URL)).thenReturn(STOP_URL);
-        when(mockParsedStation.get(STOP_TIMEZONE)).thenReturn(STOP_TIMEZONE);
-        when(mockParsedStation.get(WHEELCHAIR_BOARDING)).thenReturn(1);
-        when(mockParsedStation.get(LEVEL_ID)).thenReturn(LEVEL_ID);
-        when(mockParsedStation.get(PLATFORM_CODE)).thenReturn(PLATFORM_CODE);
+        when(mockParsedStation.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STATION);
+        when(mockParsedStation.get(HEADER_INDEX.indexOf(STOP_NAME))).thenReturn(STOP_NAME);
+        when(mockParsedStation.get(HEADER_INDEX.indexOf(STOP_LAT))).thenReturn(45.5017f);
+        when(mockParsedStation.get(HEADER_INDEX.indexOf(STOP_LON))).thenReturn(73.5673f);
+        when(mockParsedStation.get(HEADER_INDEX.indexOf(STOP_CODE))).thenReturn(STOP_CODE);
+        when(mockParsedStation.get(HEADER_INDEX.indexOf(STOP_DESC))).thenReturn(STOP_DESC);
+        when(mockParsedStation.get(HEADER_INDEX.indexOf(ZONE_ID))).thenReturn(ZONE_ID);
+        when(mockParsedStation.get(HEADER_INDEX.indexOf(STOP_URL))).thenReturn(STOP_URL);
+        when(mockParsedStation.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn(STOP_TIMEZONE);
+        when(mockParsedStation.get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING))).thenReturn(1);
+        when(mockParsedStation.get(HEADER_INDEX.indexOf(LEVEL_ID))).thenReturn(LEVEL_ID);
+        when(mockParsedStation.get(HEADER_INDEX.indexOf(PLATFORM_CODE))).thenReturn(PLATFORM_CODE);
 
         when(mockGtfsDataRepo.addStop(mockStation)).thenReturn(mockStation);
 
@@ -221,20 +241,21 @@ class ProcessParsedStopAllTest {
         final InOrder inOrder = inOrder(mockStationBuilder, mockGtfsDataRepo, mockParsedStation);
 
         //noinspection ResultOfMethodCallIgnored
+        verify(mockParsedStation, times(2)).getHeaderIndex();
         verify(mockParsedStation, times(2)).getEntityId();
-        verify(mockParsedStation, times(1)).get(ArgumentMatchers.eq(LOCATION_TYPE));
-        verify(mockParsedStation, times(1)).get(ArgumentMatchers.eq(STOP_NAME));
-        verify(mockParsedStation, times(1)).get(ArgumentMatchers.eq(STOP_LAT));
-        verify(mockParsedStation, times(1)).get(ArgumentMatchers.eq(STOP_LON));
-        verify(mockParsedStation, times(1)).get(ArgumentMatchers.eq(STOP_CODE));
-        verify(mockParsedStation, times(1)).get(ArgumentMatchers.eq(STOP_DESC));
-        verify(mockParsedStation, times(1)).get(ArgumentMatchers.eq(ZONE_ID));
-        verify(mockParsedStation, times(1)).get(ArgumentMatchers.eq(STOP_URL));
-        verify(mockParsedStation, times(2)).get(ArgumentMatchers.eq(PARENT_STATION));
-        verify(mockParsedStation, times(1)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
-        verify(mockParsedStation, times(1)).get(ArgumentMatchers.eq(WHEELCHAIR_BOARDING));
-        verify(mockParsedStation, times(1)).get(ArgumentMatchers.eq(LEVEL_ID));
-        verify(mockParsedStation, times(1)).get(ArgumentMatchers.eq(PLATFORM_CODE));
+        verify(mockParsedStation, times(1)).get(HEADER_INDEX.indexOf(LOCATION_TYPE));
+        verify(mockParsedStation, times(1)).get(HEADER_INDEX.indexOf(STOP_NAME));
+        verify(mockParsedStation, times(1)).get(HEADER_INDEX.indexOf(STOP_LAT));
+        verify(mockParsedStation, times(1)).get(HEADER_INDEX.indexOf(STOP_LON));
+        verify(mockParsedStation, times(1)).get(HEADER_INDEX.indexOf(STOP_CODE));
+        verify(mockParsedStation, times(1)).get(HEADER_INDEX.indexOf(STOP_DESC));
+        verify(mockParsedStation, times(1)).get(HEADER_INDEX.indexOf(ZONE_ID));
+        verify(mockParsedStation, times(1)).get(HEADER_INDEX.indexOf(STOP_URL));
+        verify(mockParsedStation, times(2)).get(HEADER_INDEX.indexOf(PARENT_STATION));
+        verify(mockParsedStation, times(1)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
+        verify(mockParsedStation, times(1)).get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING));
+        verify(mockParsedStation, times(1)).get(HEADER_INDEX.indexOf(LEVEL_ID));
+        verify(mockParsedStation, times(1)).get(HEADER_INDEX.indexOf(PLATFORM_CODE));
 
         verify(mockStationBuilder, times(1)).clear();
         verify(mockStationBuilder,
@@ -275,7 +296,9 @@ class ProcessParsedStopAllTest {
                 mock(Station.StationBuilder.class, RETURNS_SELF);
         final Entrance mockEntrance = mock(Entrance.class);
         final ParsedEntity mockParsedEntrance = mock(ParsedEntity.class);
+        when(mockParsedEntrance.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity mockParent = mock(ParsedEntity.class);
+        when(mockParent.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(mockEntrance);
@@ -284,7 +307,6 @@ class ProcessParsedStopAllTest {
         //noinspection unchecked
         when(mockEntranceBuilder.build()).thenReturn(mockGenericObject);
 
-
         @SuppressWarnings("rawtypes") final EntityBuildResult mockFailBuildResult = mock(EntityBuildResult.class);
 
         when(mockFailBuildResult.getData()).thenReturn(Collections.emptyList());
@@ -294,21 +316,21 @@ class ProcessParsedStopAllTest {
         when(mockStationBuilder.build()).thenReturn(mockFailBuildResult);
 
         when(mockParsedEntrance.getEntityId()).thenReturn(CHILD_ID);
-        when(mockParsedEntrance.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_ENTRANCE);
-        when(mockParsedEntrance.get(STOP_NAME)).thenReturn(STOP_NAME);
-        when(mockParsedEntrance.get(STOP_LAT)).thenReturn(45.5017f);
-        when(mockParsedEntrance.get(STOP_LON)).thenReturn(73.5673f);
-        when(mockParsedEntrance.get(STOP_CODE)).thenReturn(STOP_CODE);
-        when(mockParsedEntrance.get(STOP_DESC)).thenReturn(STOP_DESC);
-        when(mockParsedEntrance.get(ZONE_ID)).thenReturn(ZONE_ID);
-        when(mockParsedEntrance.get(STOP_URL)).thenReturn(STOP_URL);
-        when(mockParsedEntrance.get(STOP_TIMEZONE)).thenReturn(STOP_TIMEZONE);
-        when(mockParsedEntrance.get(WHEELCHAIR_BOARDING)).thenReturn(1);
-        when(mockParsedEntrance.get(LEVEL_ID)).thenReturn(LEVEL_ID);
-        when(mockParsedEntrance.get(PLATFORM_CODE)).thenReturn(PLATFORM_CODE);
+        when(mockParsedEntrance.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_ENTRANCE);
+        when(mockParsedEntrance.get(HEADER_INDEX.indexOf(STOP_NAME))).thenReturn(STOP_NAME);
+        when(mockParsedEntrance.get(HEADER_INDEX.indexOf(STOP_LAT))).thenReturn(45.5017f);
+        when(mockParsedEntrance.get(HEADER_INDEX.indexOf(STOP_LON))).thenReturn(73.5673f);
+        when(mockParsedEntrance.get(HEADER_INDEX.indexOf(STOP_CODE))).thenReturn(STOP_CODE);
+        when(mockParsedEntrance.get(HEADER_INDEX.indexOf(STOP_DESC))).thenReturn(STOP_DESC);
+        when(mockParsedEntrance.get(HEADER_INDEX.indexOf(ZONE_ID))).thenReturn(ZONE_ID);
+        when(mockParsedEntrance.get(HEADER_INDEX.indexOf(STOP_URL))).thenReturn(STOP_URL);
+        when(mockParsedEntrance.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn(STOP_TIMEZONE);
+        when(mockParsedEntrance.get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING))).thenReturn(1);
+        when(mockParsedEntrance.get(HEADER_INDEX.indexOf(LEVEL_ID))).thenReturn(LEVEL_ID);
+        when(mockParsedEntrance.get(HEADER_INDEX.indexOf(PLATFORM_CODE))).thenReturn(PLATFORM_CODE);
 
         when(mockParent.getEntityId()).thenReturn(PARENT_ID);
-        when(mockParent.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STATION);
+        when(mockParent.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STATION);
 
         when(mockGtfsDataRepo.addStop(mockEntrance)).thenReturn(mockEntrance);
 
@@ -329,20 +351,21 @@ class ProcessParsedStopAllTest {
         final InOrder inOrder = inOrder(mockEntranceBuilder, mockGtfsDataRepo, mockParsedEntrance);
 
         //noinspection ResultOfMethodCallIgnored
+        verify(mockParsedEntrance, times(2)).getHeaderIndex();
         verify(mockParsedEntrance, times(2)).getEntityId();
-        verify(mockParsedEntrance, times(1)).get(ArgumentMatchers.eq(LOCATION_TYPE));
-        verify(mockParsedEntrance, times(1)).get(ArgumentMatchers.eq(STOP_NAME));
-        verify(mockParsedEntrance, times(1)).get(ArgumentMatchers.eq(STOP_LAT));
-        verify(mockParsedEntrance, times(1)).get(ArgumentMatchers.eq(STOP_LON));
-        verify(mockParsedEntrance, times(1)).get(ArgumentMatchers.eq(STOP_CODE));
-        verify(mockParsedEntrance, times(1)).get(ArgumentMatchers.eq(STOP_DESC));
-        verify(mockParsedEntrance, times(1)).get(ArgumentMatchers.eq(ZONE_ID));
-        verify(mockParsedEntrance, times(1)).get(ArgumentMatchers.eq(STOP_URL));
-        verify(mockParsedEntrance, times(2)).get(ArgumentMatchers.eq(PARENT_STATION));
-        verify(mockParsedEntrance, times(1)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
-        verify(mockParsedEntrance, times(1)).get(ArgumentMatchers.eq(WHEELCHAIR_BOARDING));
-        verify(mockParsedEntrance, times(1)).get(ArgumentMatchers.eq(LEVEL_ID));
-        verify(mockParsedEntrance, times(1)).get(ArgumentMatchers.eq(PLATFORM_CODE));
+        verify(mockParsedEntrance, times(1)).get(HEADER_INDEX.indexOf(LOCATION_TYPE));
+        verify(mockParsedEntrance, times(1)).get(HEADER_INDEX.indexOf(STOP_NAME));
+        verify(mockParsedEntrance, times(1)).get(HEADER_INDEX.indexOf(STOP_LAT));
+        verify(mockParsedEntrance, times(1)).get(HEADER_INDEX.indexOf(STOP_LON));
+        verify(mockParsedEntrance, times(1)).get(HEADER_INDEX.indexOf(STOP_CODE));
+        verify(mockParsedEntrance, times(1)).get(HEADER_INDEX.indexOf(STOP_DESC));
+        verify(mockParsedEntrance, times(1)).get(HEADER_INDEX.indexOf(ZONE_ID));
+        verify(mockParsedEntrance, times(1)).get(HEADER_INDEX.indexOf(STOP_URL));
+        verify(mockParsedEntrance, times(2)).get(HEADER_INDEX.indexOf(PARENT_STATION));
+        verify(mockParsedEntrance, times(1)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
+        verify(mockParsedEntrance, times(1)).get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING));
+        verify(mockParsedEntrance, times(1)).get(HEADER_INDEX.indexOf(LEVEL_ID));
+        verify(mockParsedEntrance, times(1)).get(HEADER_INDEX.indexOf(PLATFORM_CODE));
 
         verify(mockEntranceBuilder, times(1)).clear();
         verify(mockEntranceBuilder, times(1)).parentStation(ArgumentMatchers.isNull());
@@ -382,7 +405,9 @@ class ProcessParsedStopAllTest {
                 mock(Station.StationBuilder.class, RETURNS_SELF);
         final GenericNode mockGenericNode = mock(GenericNode.class);
         final ParsedEntity mockParsedGenericNode = mock(ParsedEntity.class);
+        when(mockParsedGenericNode.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity mockParent = mock(ParsedEntity.class);
+        when(mockParent.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(mockGenericNode);
@@ -391,7 +416,6 @@ class ProcessParsedStopAllTest {
         //noinspection unchecked
         when(mockGenericNodeBuilder.build()).thenReturn(mockGenericObject);
 
-
         @SuppressWarnings("rawtypes") final EntityBuildResult mockFailBuildResult = mock(EntityBuildResult.class);
 
         when(mockFailBuildResult.getData()).thenReturn(Collections.emptyList());
@@ -401,21 +425,21 @@ class ProcessParsedStopAllTest {
         when(mockStationBuilder.build()).thenReturn(mockFailBuildResult);
 
         when(mockParsedGenericNode.getEntityId()).thenReturn(CHILD_ID);
-        when(mockParsedGenericNode.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_GENERIC_NODE);
-        when(mockParsedGenericNode.get(STOP_NAME)).thenReturn(STOP_NAME);
-        when(mockParsedGenericNode.get(STOP_LAT)).thenReturn(45.5017f);
-        when(mockParsedGenericNode.get(STOP_LON)).thenReturn(73.5673f);
-        when(mockParsedGenericNode.get(STOP_CODE)).thenReturn(STOP_CODE);
-        when(mockParsedGenericNode.get(STOP_DESC)).thenReturn(STOP_DESC);
-        when(mockParsedGenericNode.get(ZONE_ID)).thenReturn(ZONE_ID);
-        when(mockParsedGenericNode.get(STOP_URL)).thenReturn(STOP_URL);
-        when(mockParsedGenericNode.get(STOP_TIMEZONE)).thenReturn(STOP_TIMEZONE);
-        when(mockParsedGenericNode.get(WHEELCHAIR_BOARDING)).thenReturn(1);
-        when(mockParsedGenericNode.get(LEVEL_ID)).thenReturn(LEVEL_ID);
-        when(mockParsedGenericNode.get(PLATFORM_CODE)).thenReturn(PLATFORM_CODE);
+        when(mockParsedGenericNode.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_GENERIC_NODE);
+        when(mockParsedGenericNode.get(HEADER_INDEX.indexOf(STOP_NAME))).thenReturn(STOP_NAME);
+        when(mockParsedGenericNode.get(HEADER_INDEX.indexOf(STOP_LAT))).thenReturn(45.5017f);
+        when(mockParsedGenericNode.get(HEADER_INDEX.indexOf(STOP_LON))).thenReturn(73.5673f);
+        when(mockParsedGenericNode.get(HEADER_INDEX.indexOf(STOP_CODE))).thenReturn(STOP_CODE);
+        when(mockParsedGenericNode.get(HEADER_INDEX.indexOf(STOP_DESC))).thenReturn(STOP_DESC);
+        when(mockParsedGenericNode.get(HEADER_INDEX.indexOf(ZONE_ID))).thenReturn(ZONE_ID);
+        when(mockParsedGenericNode.get(HEADER_INDEX.indexOf(STOP_URL))).thenReturn(STOP_URL);
+        when(mockParsedGenericNode.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn(STOP_TIMEZONE);
+        when(mockParsedGenericNode.get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING))).thenReturn(1);
+        when(mockParsedGenericNode.get(HEADER_INDEX.indexOf(LEVEL_ID))).thenReturn(LEVEL_ID);
+        when(mockParsedGenericNode.get(HEADER_INDEX.indexOf(PLATFORM_CODE))).thenReturn(PLATFORM_CODE);
 
         when(mockParent.getEntityId()).thenReturn(PARENT_ID);
-        when(mockParent.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STATION);
+        when(mockParent.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STATION);
 
         when(mockGtfsDataRepo.addStop(mockGenericNode)).thenReturn(mockGenericNode);
 
@@ -436,20 +460,21 @@ class ProcessParsedStopAllTest {
         final InOrder inOrder = inOrder(mockGenericNodeBuilder, mockGtfsDataRepo, mockParsedGenericNode);
 
         //noinspection ResultOfMethodCallIgnored
+        verify(mockParsedGenericNode, times(2)).getHeaderIndex();
         verify(mockParsedGenericNode, times(2)).getEntityId();
-        verify(mockParsedGenericNode, times(1)).get(ArgumentMatchers.eq(LOCATION_TYPE));
-        verify(mockParsedGenericNode, times(1)).get(ArgumentMatchers.eq(STOP_NAME));
-        verify(mockParsedGenericNode, times(1)).get(ArgumentMatchers.eq(STOP_LAT));
-        verify(mockParsedGenericNode, times(1)).get(ArgumentMatchers.eq(STOP_LON));
-        verify(mockParsedGenericNode, times(1)).get(ArgumentMatchers.eq(STOP_CODE));
-        verify(mockParsedGenericNode, times(1)).get(ArgumentMatchers.eq(STOP_DESC));
-        verify(mockParsedGenericNode, times(1)).get(ArgumentMatchers.eq(ZONE_ID));
-        verify(mockParsedGenericNode, times(1)).get(ArgumentMatchers.eq(STOP_URL));
-        verify(mockParsedGenericNode, times(2)).get(ArgumentMatchers.eq(PARENT_STATION));
-        verify(mockParsedGenericNode, times(1)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
-        verify(mockParsedGenericNode, times(1)).get(ArgumentMatchers.eq(WHEELCHAIR_BOARDING));
-        verify(mockParsedGenericNode, times(1)).get(ArgumentMatchers.eq(LEVEL_ID));
-        verify(mockParsedGenericNode, times(1)).get(ArgumentMatchers.eq(PLATFORM_CODE));
+        verify(mockParsedGenericNode, times(1)).get(HEADER_INDEX.indexOf(LOCATION_TYPE));
+        verify(mockParsedGenericNode, times(1)).get(HEADER_INDEX.indexOf(STOP_NAME));
+        verify(mockParsedGenericNode, times(1)).get(HEADER_INDEX.indexOf(STOP_LAT));
+        verify(mockParsedGenericNode, times(1)).get(HEADER_INDEX.indexOf(STOP_LON));
+        verify(mockParsedGenericNode, times(1)).get(HEADER_INDEX.indexOf(STOP_CODE));
+        verify(mockParsedGenericNode, times(1)).get(HEADER_INDEX.indexOf(STOP_DESC));
+        verify(mockParsedGenericNode, times(1)).get(HEADER_INDEX.indexOf(ZONE_ID));
+        verify(mockParsedGenericNode, times(1)).get(HEADER_INDEX.indexOf(STOP_URL));
+        verify(mockParsedGenericNode, times(2)).get(HEADER_INDEX.indexOf(PARENT_STATION));
+        verify(mockParsedGenericNode, times(1)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
+        verify(mockParsedGenericNode, times(1)).get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING));
+        verify(mockParsedGenericNode, times(1)).get(HEADER_INDEX.indexOf(LEVEL_ID));
+        verify(mockParsedGenericNode, times(1)).get(HEADER_INDEX.indexOf(PLATFORM_CODE));
 
         verify(mockGenericNodeBuilder, times(1)).clear();
         verify(mockGenericNodeBuilder, times(1)).parentStation(ArgumentMatchers.isNull());
@@ -487,7 +512,9 @@ class ProcessParsedStopAllTest {
                 mock(StopOrPlatform.StopOrPlatformBuilder.class, RETURNS_SELF);
         final BoardingArea mockBoardingArea = mock(BoardingArea.class);
         final ParsedEntity mockParsedBoardingArea = mock(ParsedEntity.class);
+        when(mockParsedBoardingArea.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity mockParent = mock(ParsedEntity.class);
+        when(mockParent.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(mockBoardingArea);
@@ -496,7 +523,6 @@ class ProcessParsedStopAllTest {
         //noinspection unchecked
         when(mockBoardingAreaBuilder.build()).thenReturn(mockGenericObject);
 
-
         @SuppressWarnings("rawtypes") final EntityBuildResult mockFailBuildResult = mock(EntityBuildResult.class);
 
         when(mockFailBuildResult.getData()).thenReturn(Collections.emptyList());
@@ -506,21 +532,21 @@ class ProcessParsedStopAllTest {
         when(mockStopOrPlatformBuilder.build()).thenReturn(mockFailBuildResult);
 
         when(mockParsedBoardingArea.getEntityId()).thenReturn(CHILD_ID);
-        when(mockParsedBoardingArea.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_BOARDING_AREA);
-        when(mockParsedBoardingArea.get(STOP_NAME)).thenReturn(STOP_NAME);
-        when(mockParsedBoardingArea.get(STOP_LAT)).thenReturn(45.5017f);
-        when(mockParsedBoardingArea.get(STOP_LON)).thenReturn(73.5673f);
-        when(mockParsedBoardingArea.get(STOP_CODE)).thenReturn(STOP_CODE);
-        when(mockParsedBoardingArea.get(STOP_DESC)).thenReturn(STOP_DESC);
-        when(mockParsedBoardingArea.get(ZONE_ID)).thenReturn(ZONE_ID);
-        when(mockParsedBoardingArea.get(STOP_URL)).thenReturn(STOP_URL);
-        when(mockParsedBoardingArea.get(STOP_TIMEZONE)).thenReturn(STOP_TIMEZONE);
-        when(mockParsedBoardingArea.get(WHEELCHAIR_BOARDING)).thenReturn(1);
-        when(mockParsedBoardingArea.get(LEVEL_ID)).thenReturn(LEVEL_ID);
-        when(mockParsedBoardingArea.get(PLATFORM_CODE)).thenReturn(PLATFORM_CODE);
+        when(mockParsedBoardingArea.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_BOARDING_AREA);
+        when(mockParsedBoardingArea.get(HEADER_INDEX.indexOf(STOP_NAME))).thenReturn(STOP_NAME);
+        when(mockParsedBoardingArea.get(HEADER_INDEX.indexOf(STOP_LAT))).thenReturn(45.5017f);
+        when(mockParsedBoardingArea.get(HEADER_INDEX.indexOf(STOP_LON))).thenReturn(73.5673f);
+        when(mockParsedBoardingArea.get(HEADER_INDEX.indexOf(STOP_CODE))).thenReturn(STOP_CODE);
+        when(mockParsedBoardingArea.get(HEADER_INDEX.indexOf(STOP_DESC))).thenReturn(STOP_DESC);
+        when(mockParsedBoardingArea.get(HEADER_INDEX.indexOf(ZONE_ID))).thenReturn(ZONE_ID);
+        when(mockParsedBoardingArea.get(HEADER_INDEX.indexOf(STOP_URL))).thenReturn(STOP_URL);
+        when(mockParsedBoardingArea.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn(STOP_TIMEZONE);
+        when(mockParsedBoardingArea.get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING))).thenReturn(1);
+        when(mockParsedBoardingArea.get(HEADER_INDEX.indexOf(LEVEL_ID))).thenReturn(LEVEL_ID);
+        when(mockParsedBoardingArea.get(HEADER_INDEX.indexOf(PLATFORM_CODE))).thenReturn(PLATFORM_CODE);
 
         when(mockParent.getEntityId()).thenReturn(PARENT_ID);
-        when(mockParent.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
+        when(mockParent.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
 
         when(mockGtfsDataRepo.addStop(mockBoardingArea)).thenReturn(mockBoardingArea);
 
@@ -541,20 +567,21 @@ class ProcessParsedStopAllTest {
         final InOrder inOrder = inOrder(mockBoardingAreaBuilder, mockGtfsDataRepo, mockParsedBoardingArea);
 
         //noinspection ResultOfMethodCallIgnored
+        verify(mockParsedBoardingArea, times(2)).getHeaderIndex();
         verify(mockParsedBoardingArea, times(2)).getEntityId();
-        verify(mockParsedBoardingArea, times(1)).get(ArgumentMatchers.eq(LOCATION_TYPE));
-        verify(mockParsedBoardingArea, times(1)).get(ArgumentMatchers.eq(STOP_NAME));
-        verify(mockParsedBoardingArea, times(1)).get(ArgumentMatchers.eq(STOP_LAT));
-        verify(mockParsedBoardingArea, times(1)).get(ArgumentMatchers.eq(STOP_LON));
-        verify(mockParsedBoardingArea, times(1)).get(ArgumentMatchers.eq(STOP_CODE));
-        verify(mockParsedBoardingArea, times(1)).get(ArgumentMatchers.eq(STOP_DESC));
-        verify(mockParsedBoardingArea, times(1)).get(ArgumentMatchers.eq(ZONE_ID));
-        verify(mockParsedBoardingArea, times(1)).get(ArgumentMatchers.eq(STOP_URL));
-        verify(mockParsedBoardingArea, times(2)).get(ArgumentMatchers.eq(PARENT_STATION));
-        verify(mockParsedBoardingArea, times(1)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
-        verify(mockParsedBoardingArea, times(1)).get(ArgumentMatchers.eq(WHEELCHAIR_BOARDING));
-        verify(mockParsedBoardingArea, times(1)).get(ArgumentMatchers.eq(LEVEL_ID));
-        verify(mockParsedBoardingArea, times(1)).get(ArgumentMatchers.eq(PLATFORM_CODE));
+        verify(mockParsedBoardingArea, times(1)).get(HEADER_INDEX.indexOf(LOCATION_TYPE));
+        verify(mockParsedBoardingArea, times(1)).get(HEADER_INDEX.indexOf(STOP_NAME));
+        verify(mockParsedBoardingArea, times(1)).get(HEADER_INDEX.indexOf(STOP_LAT));
+        verify(mockParsedBoardingArea, times(1)).get(HEADER_INDEX.indexOf(STOP_LON));
+        verify(mockParsedBoardingArea, times(1)).get(HEADER_INDEX.indexOf(STOP_CODE));
+        verify(mockParsedBoardingArea, times(1)).get(HEADER_INDEX.indexOf(STOP_DESC));
+        verify(mockParsedBoardingArea, times(1)).get(HEADER_INDEX.indexOf(ZONE_ID));
+        verify(mockParsedBoardingArea, times(1)).get(HEADER_INDEX.indexOf(STOP_URL));
+        verify(mockParsedBoardingArea, times(2)).get(HEADER_INDEX.indexOf(PARENT_STATION));
+        verify(mockParsedBoardingArea, times(1)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
+        verify(mockParsedBoardingArea, times(1)).get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING));
+        verify(mockParsedBoardingArea, times(1)).get(HEADER_INDEX.indexOf(LEVEL_ID));
+        verify(mockParsedBoardingArea, times(1)).get(HEADER_INDEX.indexOf(PLATFORM_CODE));
 
         verify(mockBoardingAreaBuilder, times(1)).clear();
         verify(mockBoardingAreaBuilder, times(1)).parentStation(ArgumentMatchers.isNull());
@@ -590,6 +617,7 @@ class ProcessParsedStopAllTest {
         final StopOrPlatform.StopOrPlatformBuilder mockBuilder =
                 mock(StopOrPlatform.StopOrPlatformBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedStop = mock(ParsedEntity.class);
+        when(mockParsedStop.getHeaderIndex()).thenReturn(HEADER_INDEX);
 
         @SuppressWarnings("unchecked") final List<Notice> mockNoticeCollection = spy(ArrayList.class);
         final MissingRequiredValueNotice mockNotice = mock(MissingRequiredValueNotice.class);
@@ -604,17 +632,17 @@ class ProcessParsedStopAllTest {
         when(mockBuilder.build()).thenReturn(mockGenericObject);
 
         when(mockParsedStop.getEntityId()).thenReturn(CHILD_ID);
-        when(mockParsedStop.get(STOP_NAME)).thenReturn(STOP_NAME);
-        when(mockParsedStop.get(STOP_LAT)).thenReturn(45.5017f);
-        when(mockParsedStop.get(STOP_LON)).thenReturn(73.5673f);
-        when(mockParsedStop.get(STOP_CODE)).thenReturn(STOP_CODE);
-        when(mockParsedStop.get(STOP_DESC)).thenReturn(STOP_DESC);
-        when(mockParsedStop.get(ZONE_ID)).thenReturn(ZONE_ID);
-        when(mockParsedStop.get(STOP_URL)).thenReturn(STOP_URL);
-        when(mockParsedStop.get(STOP_TIMEZONE)).thenReturn(STOP_TIMEZONE);
-        when(mockParsedStop.get(WHEELCHAIR_BOARDING)).thenReturn(1);
-        when(mockParsedStop.get(LEVEL_ID)).thenReturn(LEVEL_ID);
-        when(mockParsedStop.get(PLATFORM_CODE)).thenReturn(PLATFORM_CODE);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(STOP_NAME))).thenReturn(STOP_NAME);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(STOP_LAT))).thenReturn(45.5017f);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(STOP_LON))).thenReturn(73.5673f);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(STOP_CODE))).thenReturn(STOP_CODE);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(STOP_DESC))).thenReturn(STOP_DESC);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(ZONE_ID))).thenReturn(ZONE_ID);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(STOP_URL))).thenReturn(STOP_URL);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn(STOP_TIMEZONE);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING))).thenReturn(1);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(LEVEL_ID))).thenReturn(LEVEL_ID);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(PLATFORM_CODE))).thenReturn(PLATFORM_CODE);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mockGtfsDataRepo,
@@ -631,20 +659,21 @@ class ProcessParsedStopAllTest {
         underTest.execute(fakePreprocessedStopMap);
 
         //noinspection ResultOfMethodCallIgnored
+        verify(mockParsedStop, times(2)).getHeaderIndex();
         verify(mockParsedStop, times(2)).getEntityId();
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(LOCATION_TYPE));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(STOP_NAME));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(STOP_LAT));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(STOP_LON));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(STOP_CODE));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(STOP_DESC));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(ZONE_ID));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(STOP_URL));
-        verify(mockParsedStop, times(2)).get(ArgumentMatchers.eq(PARENT_STATION));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(WHEELCHAIR_BOARDING));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(LEVEL_ID));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(PLATFORM_CODE));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(LOCATION_TYPE));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(STOP_NAME));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(STOP_LAT));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(STOP_LON));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(STOP_CODE));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(STOP_DESC));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(ZONE_ID));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(STOP_URL));
+        verify(mockParsedStop, times(2)).get(HEADER_INDEX.indexOf(PARENT_STATION));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(LEVEL_ID));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(PLATFORM_CODE));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder,
@@ -666,7 +695,6 @@ class ProcessParsedStopAllTest {
         verify(mockBuilder, times(1)).childrenList(ArgumentMatchers.isNull());
         verify(mockBuilder, times(1)).build();
 
-
         verify(mockGenericObject, times(1)).isSuccess();
         //noinspection ResultOfMethodCallIgnored
         verify(mockGenericObject, times(1)).getData();
@@ -685,6 +713,7 @@ class ProcessParsedStopAllTest {
         final StopOrPlatform.StopOrPlatformBuilder mockBuilder =
                 mock(StopOrPlatform.StopOrPlatformBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedStop = mock(ParsedEntity.class);
+        when(mockParsedStop.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final LocationBase mockStop = mock(LocationBase.class);
 
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
@@ -696,17 +725,17 @@ class ProcessParsedStopAllTest {
         when(mockGtfsDataRepo.addStop(mockStop)).thenReturn(null);
 
         when(mockParsedStop.getEntityId()).thenReturn(CHILD_ID);
-        when(mockParsedStop.get(STOP_NAME)).thenReturn(STOP_NAME);
-        when(mockParsedStop.get(STOP_LAT)).thenReturn(45.5017f);
-        when(mockParsedStop.get(STOP_LON)).thenReturn(73.5673f);
-        when(mockParsedStop.get(STOP_CODE)).thenReturn(STOP_CODE);
-        when(mockParsedStop.get(STOP_DESC)).thenReturn(STOP_DESC);
-        when(mockParsedStop.get(ZONE_ID)).thenReturn(ZONE_ID);
-        when(mockParsedStop.get(STOP_URL)).thenReturn(STOP_URL);
-        when(mockParsedStop.get(STOP_TIMEZONE)).thenReturn(STOP_TIMEZONE);
-        when(mockParsedStop.get(WHEELCHAIR_BOARDING)).thenReturn(0);
-        when(mockParsedStop.get(LEVEL_ID)).thenReturn(LEVEL_ID);
-        when(mockParsedStop.get(PLATFORM_CODE)).thenReturn(PLATFORM_CODE);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(STOP_NAME))).thenReturn(STOP_NAME);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(STOP_LAT))).thenReturn(45.5017f);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(STOP_LON))).thenReturn(73.5673f);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(STOP_CODE))).thenReturn(STOP_CODE);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(STOP_DESC))).thenReturn(STOP_DESC);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(ZONE_ID))).thenReturn(ZONE_ID);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(STOP_URL))).thenReturn(STOP_URL);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn(STOP_TIMEZONE);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING))).thenReturn(0);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(LEVEL_ID))).thenReturn(LEVEL_ID);
+        when(mockParsedStop.get(HEADER_INDEX.indexOf(PLATFORM_CODE))).thenReturn(PLATFORM_CODE);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mockGtfsDataRepo,
@@ -722,20 +751,21 @@ class ProcessParsedStopAllTest {
 
         underTest.execute(fakePreprocessedStopMap);
 
+        verify(mockParsedStop, times(2)).getHeaderIndex();
         verify(mockParsedStop, times(2)).getEntityId();
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(LOCATION_TYPE));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(STOP_NAME));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(STOP_LAT));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(STOP_LON));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(STOP_CODE));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(STOP_DESC));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(ZONE_ID));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(STOP_URL));
-        verify(mockParsedStop, times(2)).get(ArgumentMatchers.eq(PARENT_STATION));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(WHEELCHAIR_BOARDING));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(LEVEL_ID));
-        verify(mockParsedStop, times(1)).get(ArgumentMatchers.eq(PLATFORM_CODE));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(LOCATION_TYPE));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(STOP_NAME));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(STOP_LAT));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(STOP_LON));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(STOP_CODE));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(STOP_DESC));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(ZONE_ID));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(STOP_URL));
+        verify(mockParsedStop, times(2)).get(HEADER_INDEX.indexOf(PARENT_STATION));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(LEVEL_ID));
+        verify(mockParsedStop, times(1)).get(HEADER_INDEX.indexOf(PLATFORM_CODE));
 
         //noinspection ResultOfMethodCallIgnored
         verify(mockParsedStop, times(2)).getEntityId();
@@ -792,10 +822,15 @@ class ProcessParsedStopAllTest {
         when(mockStopOrPlatformBuilder.build()).thenReturn(mockGenericObject);
 
         final ParsedEntity mockChild0 = mock(ParsedEntity.class);
+        when(mockChild0.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity mockChild1 = mock(ParsedEntity.class);
+        when(mockChild1.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity mockChild2 = mock(ParsedEntity.class);
+        when(mockChild2.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity mockParent0 = mock(ParsedEntity.class);
+        when(mockParent0.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity mockParent1 = mock(ParsedEntity.class);
+        when(mockParent1.getHeaderIndex()).thenReturn(HEADER_INDEX);
 
         when(mockChild0.getEntityId()).thenReturn(CHILD_ID + "0");
         when(mockChild1.getEntityId()).thenReturn(CHILD_ID + "1");
@@ -803,9 +838,9 @@ class ProcessParsedStopAllTest {
         when(mockParent0.getEntityId()).thenReturn(PARENT_ID + "0");
         when(mockParent1.getEntityId()).thenReturn(PARENT_ID + "1");
 
-        when(mockChild0.get(PARENT_STATION)).thenReturn(PARENT_ID + "0");
-        when(mockChild1.get(PARENT_STATION)).thenReturn(PARENT_ID + "0");
-        when(mockChild2.get(PARENT_STATION)).thenReturn(PARENT_ID + "1");
+        when(mockChild0.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID + "0");
+        when(mockChild1.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID + "0");
+        when(mockChild2.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID + "1");
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(
                 mock(ValidationResultRepository.class),
@@ -839,7 +874,9 @@ class ProcessParsedStopAllTest {
         final StopOrPlatform.StopOrPlatformBuilder mockStopOrPlatformBuilder =
                 mock(StopOrPlatform.StopOrPlatformBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParent = mock(ParsedEntity.class);
+        when(mockParent.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity mockChild = mock(ParsedEntity.class);
+        when(mockChild.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -849,9 +886,9 @@ class ProcessParsedStopAllTest {
         when(mockStopOrPlatformBuilder.build()).thenReturn(mockGenericObject);
 
         when(mockParent.getEntityId()).thenReturn(PARENT_ID);
-        when(mockChild.get(PARENT_STATION)).thenReturn(PARENT_ID);
-        when(mockParent.get(WHEELCHAIR_BOARDING)).thenReturn(1);
-        when(mockChild.get(WHEELCHAIR_BOARDING)).thenReturn(0);
+        when(mockChild.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
+        when(mockParent.get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING))).thenReturn(1);
+        when(mockChild.get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING))).thenReturn(0);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(
                 mock(ValidationResultRepository.class),
@@ -869,8 +906,10 @@ class ProcessParsedStopAllTest {
 
         underTest.execute(fakePreprocessedStopMap);
 
-        verify(mockParent, times(2)).get(ArgumentMatchers.eq(WHEELCHAIR_BOARDING));
-        verify(mockChild, times(1)).get(ArgumentMatchers.eq(WHEELCHAIR_BOARDING));
+        verify(mockParent, times(2)).getHeaderIndex();
+        verify(mockParent, times(2)).get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING));
+        verify(mockChild, times(2)).getHeaderIndex();
+        verify(mockChild, times(1)).get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING));
 
         verify(mockStopOrPlatformBuilder, times(2)).wheelchairBoarding(1);
     }
@@ -880,7 +919,9 @@ class ProcessParsedStopAllTest {
         final StopOrPlatform.StopOrPlatformBuilder mockStopOrPlatformBuilder =
                 mock(StopOrPlatform.StopOrPlatformBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParent = mock(ParsedEntity.class);
+        when(mockParent.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity mockChild = mock(ParsedEntity.class);
+        when(mockChild.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -890,9 +931,9 @@ class ProcessParsedStopAllTest {
         when(mockStopOrPlatformBuilder.build()).thenReturn(mockGenericObject);
 
         when(mockParent.getEntityId()).thenReturn(PARENT_ID);
-        when(mockChild.get(PARENT_STATION)).thenReturn(PARENT_ID);
-        when(mockParent.get(STOP_TIMEZONE)).thenReturn("PARENT timezone");
-        when(mockChild.get(STOP_TIMEZONE)).thenReturn("CHILD timezone");
+        when(mockChild.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
+        when(mockParent.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn("PARENT timezone");
+        when(mockChild.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn("CHILD timezone");
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(
                 mock(ValidationResultRepository.class),
@@ -910,8 +951,10 @@ class ProcessParsedStopAllTest {
 
         underTest.execute(fakePreprocessedStopMap);
 
-        verify(mockParent, times(2)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
-        verify(mockChild, times(1)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
+        verify(mockParent, times(2)).getHeaderIndex();
+        verify(mockParent, times(2)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
+        verify(mockChild, times(2)).getHeaderIndex();
+        verify(mockChild, times(1)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
 
         verify(mockStopOrPlatformBuilder, times(2)).stopTimezone("PARENT timezone");
     }
@@ -923,6 +966,7 @@ class ProcessParsedStopAllTest {
         final StopOrPlatform.StopOrPlatformBuilder mockStopOrPlatformBuilder =
                 mock(StopOrPlatform.StopOrPlatformBuilder.class, RETURNS_SELF);
         final ParsedEntity mockChild = mock(ParsedEntity.class);
+        when(mockChild.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Agency mockAgency = mock(Agency.class);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
@@ -952,7 +996,8 @@ class ProcessParsedStopAllTest {
 
         underTest.execute(fakePreprocessedStopMap);
 
-        verify(mockChild, times(1)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
+        verify(mockChild, times(2)).getHeaderIndex();
+        verify(mockChild, times(1)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
 
         verify(mockStopOrPlatformBuilder, times(1)).stopTimezone("AGENCY timezone");
     }
@@ -964,6 +1009,7 @@ class ProcessParsedStopAllTest {
         final StopOrPlatform.StopOrPlatformBuilder mockStopOrPlatformBuilder =
                 mock(StopOrPlatform.StopOrPlatformBuilder.class, RETURNS_SELF);
         final ParsedEntity mockChild = mock(ParsedEntity.class);
+        when(mockChild.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -972,7 +1018,7 @@ class ProcessParsedStopAllTest {
         //noinspection unchecked
         when(mockStopOrPlatformBuilder.build()).thenReturn(mockGenericObject);
 
-        when(mockChild.get(STOP_TIMEZONE)).thenReturn("CHILD timezone");
+        when(mockChild.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn("CHILD timezone");
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(
                 mock(ValidationResultRepository.class),
@@ -989,7 +1035,8 @@ class ProcessParsedStopAllTest {
 
         underTest.execute(fakePreprocessedStopMap);
 
-        verify(mockChild, times(1)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
+        verify(mockChild, times(2)).getHeaderIndex();
+        verify(mockChild, times(1)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
 
         verify(mockStopOrPlatformBuilder, times(1)).stopTimezone("CHILD timezone");
     }
@@ -1001,7 +1048,9 @@ class ProcessParsedStopAllTest {
         final StopOrPlatform.StopOrPlatformBuilder mockStopOrPlatformBuilder =
                 mock(StopOrPlatform.StopOrPlatformBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParent = mock(ParsedEntity.class);
+        when(mockParent.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity mockChild = mock(ParsedEntity.class);
+        when(mockChild.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1013,10 +1062,10 @@ class ProcessParsedStopAllTest {
         when(mockStopOrPlatformBuilder.build()).thenReturn(mockGenericObject);
 
         when(mockParent.getEntityId()).thenReturn(PARENT_ID);
-        when(mockChild.get(PARENT_STATION)).thenReturn(PARENT_ID);
-        when(mockChild.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_ENTRANCE);
-        when(mockParent.get(WHEELCHAIR_BOARDING)).thenReturn(1);
-        when(mockChild.get(WHEELCHAIR_BOARDING)).thenReturn(0);
+        when(mockChild.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
+        when(mockChild.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_ENTRANCE);
+        when(mockParent.get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING))).thenReturn(1);
+        when(mockChild.get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING))).thenReturn(0);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(
                 mock(ValidationResultRepository.class),
@@ -1034,8 +1083,10 @@ class ProcessParsedStopAllTest {
 
         underTest.execute(fakePreprocessedStopMap);
 
-        verify(mockParent, times(2)).get(ArgumentMatchers.eq(WHEELCHAIR_BOARDING));
-        verify(mockChild, times(1)).get(ArgumentMatchers.eq(WHEELCHAIR_BOARDING));
+        verify(mockParent, times(2)).getHeaderIndex();
+        verify(mockParent, times(2)).get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING));
+        verify(mockChild, times(2)).getHeaderIndex();
+        verify(mockChild, times(1)).get(HEADER_INDEX.indexOf(WHEELCHAIR_BOARDING));
 
         verify(mockEntranceBuilder, times(1)).wheelchairBoarding(1);
     }
@@ -1045,7 +1096,9 @@ class ProcessParsedStopAllTest {
         final Entrance.EntranceBuilder mockEntranceBuilder =
                 mock(Entrance.EntranceBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParent = mock(ParsedEntity.class);
+        when(mockParent.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity mockChild = mock(ParsedEntity.class);
+        when(mockChild.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1054,13 +1107,13 @@ class ProcessParsedStopAllTest {
         //noinspection unchecked
         when(mockEntranceBuilder.build()).thenReturn(mockGenericObject);
 
-        when(mockChild.get(LOCATION_TYPE)).thenReturn(2);
-        when(mockParent.get(LOCATION_TYPE)).thenReturn(2);
+        when(mockChild.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(2);
+        when(mockParent.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(2);
 
         when(mockParent.getEntityId()).thenReturn(PARENT_ID);
-        when(mockChild.get(PARENT_STATION)).thenReturn(PARENT_ID);
-        when(mockParent.get(STOP_TIMEZONE)).thenReturn("PARENT timezone");
-        when(mockChild.get(STOP_TIMEZONE)).thenReturn("CHILD timezone");
+        when(mockChild.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
+        when(mockParent.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn("PARENT timezone");
+        when(mockChild.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn("CHILD timezone");
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(
                 mock(ValidationResultRepository.class),
@@ -1078,8 +1131,10 @@ class ProcessParsedStopAllTest {
 
         underTest.execute(fakePreprocessedStopMap);
 
-        verify(mockParent, times(2)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
-        verify(mockChild, times(1)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
+        verify(mockParent, times(2)).getHeaderIndex();
+        verify(mockParent, times(2)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
+        verify(mockChild, times(2)).getHeaderIndex();
+        verify(mockChild, times(1)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
 
         verify(mockEntranceBuilder, times(2)).stopTimezone("PARENT timezone");
     }
@@ -1090,6 +1145,7 @@ class ProcessParsedStopAllTest {
         final Station.StationBuilder mockStationBuilder =
                 mock(Station.StationBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedStation = mock(ParsedEntity.class);
+        when(mockParsedStation.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1099,8 +1155,8 @@ class ProcessParsedStopAllTest {
         when(mockStationBuilder.build()).thenReturn(mockGenericObject);
 
         when(mockParsedStation.getEntityId()).thenReturn(CHILD_ID);
-        when(mockParsedStation.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STATION);
-        when(mockParsedStation.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(mockParsedStation.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STATION);
+        when(mockParsedStation.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -1133,6 +1189,7 @@ class ProcessParsedStopAllTest {
         final Station.StationBuilder mockStationBuilder =
                 mock(Station.StationBuilder.class, RETURNS_SELF);
         final ParsedEntity mockChild = mock(ParsedEntity.class);
+        when(mockChild.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Agency mockAgency = mock(Agency.class);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
@@ -1143,7 +1200,7 @@ class ProcessParsedStopAllTest {
         //noinspection unchecked
         when(mockStationBuilder.build()).thenReturn(mockGenericObject);
 
-        when(mockChild.get(LOCATION_TYPE)).thenReturn(1);
+        when(mockChild.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(1);
 
         when(mockAgency.getAgencyTimezone()).thenReturn("AGENCY timezone");
         when(mockGtfsDataRepo.getAgencyCount()).thenReturn(1);
@@ -1164,7 +1221,8 @@ class ProcessParsedStopAllTest {
 
         underTest.execute(fakePreprocessedStopMap);
 
-        verify(mockChild, times(1)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
+        verify(mockChild, times(2)).getHeaderIndex();
+        verify(mockChild, times(1)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
 
         verify(mockStationBuilder, times(1)).stopTimezone("AGENCY timezone");
     }
@@ -1174,7 +1232,9 @@ class ProcessParsedStopAllTest {
         final GenericNode.GenericNodeBuilder mockGenericNodeBuilder =
                 mock(GenericNode.GenericNodeBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParent = mock(ParsedEntity.class);
+        when(mockParent.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity mockChild = mock(ParsedEntity.class);
+        when(mockChild.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1183,13 +1243,13 @@ class ProcessParsedStopAllTest {
         //noinspection unchecked
         when(mockGenericNodeBuilder.build()).thenReturn(mockGenericObject);
 
-        when(mockChild.get(LOCATION_TYPE)).thenReturn(3);
-        when(mockParent.get(LOCATION_TYPE)).thenReturn(3);
+        when(mockChild.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(3);
+        when(mockParent.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(3);
 
         when(mockParent.getEntityId()).thenReturn(PARENT_ID);
-        when(mockChild.get(PARENT_STATION)).thenReturn(PARENT_ID);
-        when(mockParent.get(STOP_TIMEZONE)).thenReturn("PARENT timezone");
-        when(mockChild.get(STOP_TIMEZONE)).thenReturn("CHILD timezone");
+        when(mockChild.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
+        when(mockParent.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn("PARENT timezone");
+        when(mockChild.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn("CHILD timezone");
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(
                 mock(ValidationResultRepository.class),
@@ -1207,8 +1267,10 @@ class ProcessParsedStopAllTest {
 
         underTest.execute(fakePreprocessedStopMap);
 
-        verify(mockParent, times(2)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
-        verify(mockChild, times(1)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
+        verify(mockParent, times(2)).getHeaderIndex();
+        verify(mockParent, times(2)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
+        verify(mockChild, times(2)).getHeaderIndex();
+        verify(mockChild, times(1)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
 
         verify(mockGenericNodeBuilder, times(2)).stopTimezone("PARENT timezone");
     }
@@ -1218,7 +1280,9 @@ class ProcessParsedStopAllTest {
         final BoardingArea.BoardingAreaBuilder mockBoardingAreaBuilder =
                 mock(BoardingArea.BoardingAreaBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParent = mock(ParsedEntity.class);
+        when(mockParent.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity mockChild = mock(ParsedEntity.class);
+        when(mockChild.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1227,13 +1291,13 @@ class ProcessParsedStopAllTest {
         //noinspection unchecked
         when(mockBoardingAreaBuilder.build()).thenReturn(mockGenericObject);
 
-        when(mockChild.get(LOCATION_TYPE)).thenReturn(4);
-        when(mockParent.get(LOCATION_TYPE)).thenReturn(4);
+        when(mockChild.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(4);
+        when(mockParent.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(4);
 
         when(mockParent.getEntityId()).thenReturn(PARENT_ID);
-        when(mockChild.get(PARENT_STATION)).thenReturn(PARENT_ID);
-        when(mockParent.get(STOP_TIMEZONE)).thenReturn("PARENT timezone");
-        when(mockChild.get(STOP_TIMEZONE)).thenReturn("CHILD timezone");
+        when(mockChild.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
+        when(mockParent.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn("PARENT timezone");
+        when(mockChild.get(HEADER_INDEX.indexOf(STOP_TIMEZONE))).thenReturn("CHILD timezone");
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(
                 mock(ValidationResultRepository.class),
@@ -1251,8 +1315,10 @@ class ProcessParsedStopAllTest {
 
         underTest.execute(fakePreprocessedStopMap);
 
-        verify(mockParent, times(2)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
-        verify(mockChild, times(1)).get(ArgumentMatchers.eq(STOP_TIMEZONE));
+        verify(mockParent, times(2)).getHeaderIndex();
+        verify(mockParent, times(2)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
+        verify(mockChild, times(2)).getHeaderIndex();
+        verify(mockChild, times(1)).get(HEADER_INDEX.indexOf(STOP_TIMEZONE));
 
         verify(mockBoardingAreaBuilder, times(2)).stopTimezone("PARENT timezone");
     }
@@ -1263,7 +1329,9 @@ class ProcessParsedStopAllTest {
         final StopOrPlatform.StopOrPlatformBuilder mockStopOrPlatformBuilder =
                 mock(StopOrPlatform.StopOrPlatformBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedStopOrPlatform = mock(ParsedEntity.class);
+        when(childParsedStopOrPlatform.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentStopOrPlatform = mock(ParsedEntity.class);
+        when(parentStopOrPlatform.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1273,11 +1341,11 @@ class ProcessParsedStopAllTest {
         when(mockStopOrPlatformBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedStopOrPlatform.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedStopOrPlatform.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
-        when(childParsedStopOrPlatform.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedStopOrPlatform.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
+        when(childParsedStopOrPlatform.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentStopOrPlatform.getEntityId()).thenReturn(PARENT_ID);
-        when(parentStopOrPlatform.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
+        when(parentStopOrPlatform.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -1315,7 +1383,9 @@ class ProcessParsedStopAllTest {
         final Entrance.EntranceBuilder mockEntranceBuilder =
                 mock(Entrance.EntranceBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedStopOrPlatform = mock(ParsedEntity.class);
+        when(childParsedStopOrPlatform.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentEntrance = mock(ParsedEntity.class);
+        when(parentEntrance.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1327,11 +1397,11 @@ class ProcessParsedStopAllTest {
         when(mockEntranceBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedStopOrPlatform.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedStopOrPlatform.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
-        when(childParsedStopOrPlatform.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedStopOrPlatform.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
+        when(childParsedStopOrPlatform.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentEntrance.getEntityId()).thenReturn(PARENT_ID);
-        when(parentEntrance.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_ENTRANCE);
+        when(parentEntrance.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_ENTRANCE);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -1369,7 +1439,9 @@ class ProcessParsedStopAllTest {
         final GenericNode.GenericNodeBuilder mockGenericNodeBuilder =
                 mock(GenericNode.GenericNodeBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedStopOrPlatform = mock(ParsedEntity.class);
+        when(childParsedStopOrPlatform.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentGenericNode = mock(ParsedEntity.class);
+        when(parentGenericNode.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1381,11 +1453,11 @@ class ProcessParsedStopAllTest {
         when(mockGenericNodeBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedStopOrPlatform.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedStopOrPlatform.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
-        when(childParsedStopOrPlatform.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedStopOrPlatform.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
+        when(childParsedStopOrPlatform.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentGenericNode.getEntityId()).thenReturn(PARENT_ID);
-        when(parentGenericNode.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_GENERIC_NODE);
+        when(parentGenericNode.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_GENERIC_NODE);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -1423,7 +1495,9 @@ class ProcessParsedStopAllTest {
         final BoardingArea.BoardingAreaBuilder mockBoardingAreaBuilder =
                 mock(BoardingArea.BoardingAreaBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedStopOrPlatform = mock(ParsedEntity.class);
+        when(childParsedStopOrPlatform.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentEntrance = mock(ParsedEntity.class);
+        when(parentEntrance.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1435,11 +1509,11 @@ class ProcessParsedStopAllTest {
         when(mockBoardingAreaBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedStopOrPlatform.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedStopOrPlatform.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
-        when(childParsedStopOrPlatform.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedStopOrPlatform.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
+        when(childParsedStopOrPlatform.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentEntrance.getEntityId()).thenReturn(PARENT_ID);
-        when(parentEntrance.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_BOARDING_AREA);
+        when(parentEntrance.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_BOARDING_AREA);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -1477,7 +1551,9 @@ class ProcessParsedStopAllTest {
         final Entrance.EntranceBuilder mockEntranceBuilder =
                 mock(Entrance.EntranceBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedEntrance = mock(ParsedEntity.class);
+        when(childParsedEntrance.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentStopOrPlatform = mock(ParsedEntity.class);
+        when(parentStopOrPlatform.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1489,11 +1565,11 @@ class ProcessParsedStopAllTest {
         when(mockEntranceBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedEntrance.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedEntrance.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_ENTRANCE);
-        when(childParsedEntrance.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedEntrance.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_ENTRANCE);
+        when(childParsedEntrance.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentStopOrPlatform.getEntityId()).thenReturn(PARENT_ID);
-        when(parentStopOrPlatform.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
+        when(parentStopOrPlatform.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -1529,7 +1605,9 @@ class ProcessParsedStopAllTest {
         final Entrance.EntranceBuilder mockEntranceBuilder =
                 mock(Entrance.EntranceBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedEntrance = mock(ParsedEntity.class);
+        when(childParsedEntrance.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentParsedEntrance = mock(ParsedEntity.class);
+        when(parentParsedEntrance.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1539,11 +1617,11 @@ class ProcessParsedStopAllTest {
         when(mockEntranceBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedEntrance.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedEntrance.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_ENTRANCE);
-        when(childParsedEntrance.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedEntrance.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_ENTRANCE);
+        when(childParsedEntrance.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentParsedEntrance.getEntityId()).thenReturn(PARENT_ID);
-        when(parentParsedEntrance.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_ENTRANCE);
+        when(parentParsedEntrance.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_ENTRANCE);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -1581,7 +1659,9 @@ class ProcessParsedStopAllTest {
         final GenericNode.GenericNodeBuilder mockGenericNodeBuilder =
                 mock(GenericNode.GenericNodeBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedEntrance = mock(ParsedEntity.class);
+        when(childParsedEntrance.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentGenericNode = mock(ParsedEntity.class);
+        when(parentGenericNode.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1593,11 +1673,11 @@ class ProcessParsedStopAllTest {
         when(mockGenericNodeBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedEntrance.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedEntrance.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_ENTRANCE);
-        when(childParsedEntrance.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedEntrance.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_ENTRANCE);
+        when(childParsedEntrance.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentGenericNode.getEntityId()).thenReturn(PARENT_ID);
-        when(parentGenericNode.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_GENERIC_NODE);
+        when(parentGenericNode.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_GENERIC_NODE);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -1635,7 +1715,9 @@ class ProcessParsedStopAllTest {
         final BoardingArea.BoardingAreaBuilder mockBoardingAreaBuilder =
                 mock(BoardingArea.BoardingAreaBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedEntrance = mock(ParsedEntity.class);
+        when(childParsedEntrance.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentParsedBoardingArea = mock(ParsedEntity.class);
+        when(parentParsedBoardingArea.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1647,11 +1729,11 @@ class ProcessParsedStopAllTest {
         when(mockBoardingAreaBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedEntrance.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedEntrance.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_ENTRANCE);
-        when(childParsedEntrance.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedEntrance.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_ENTRANCE);
+        when(childParsedEntrance.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentParsedBoardingArea.getEntityId()).thenReturn(PARENT_ID);
-        when(parentParsedBoardingArea.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_BOARDING_AREA);
+        when(parentParsedBoardingArea.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_BOARDING_AREA);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -1689,7 +1771,9 @@ class ProcessParsedStopAllTest {
         final GenericNode.GenericNodeBuilder mockGenericNodeBuilder =
                 mock(GenericNode.GenericNodeBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedGenericNode = mock(ParsedEntity.class);
+        when(childParsedGenericNode.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentParsedStopOrPlatform = mock(ParsedEntity.class);
+        when(parentParsedStopOrPlatform.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1701,11 +1785,11 @@ class ProcessParsedStopAllTest {
         when(mockGenericNodeBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedGenericNode.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedGenericNode.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_GENERIC_NODE);
-        when(childParsedGenericNode.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedGenericNode.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_GENERIC_NODE);
+        when(childParsedGenericNode.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentParsedStopOrPlatform.getEntityId()).thenReturn(PARENT_ID);
-        when(parentParsedStopOrPlatform.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
+        when(parentParsedStopOrPlatform.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STOP_OR_PLATFORM);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -1743,7 +1827,9 @@ class ProcessParsedStopAllTest {
         final GenericNode.GenericNodeBuilder mockGenericNodeBuilder =
                 mock(GenericNode.GenericNodeBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedGenericNode = mock(ParsedEntity.class);
+        when(childParsedGenericNode.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentParsedEntrance = mock(ParsedEntity.class);
+        when(parentParsedEntrance.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1755,11 +1841,11 @@ class ProcessParsedStopAllTest {
         when(mockGenericNodeBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedGenericNode.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedGenericNode.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_GENERIC_NODE);
-        when(childParsedGenericNode.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedGenericNode.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_GENERIC_NODE);
+        when(childParsedGenericNode.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentParsedEntrance.getEntityId()).thenReturn(PARENT_ID);
-        when(parentParsedEntrance.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_ENTRANCE);
+        when(parentParsedEntrance.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_ENTRANCE);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -1795,7 +1881,9 @@ class ProcessParsedStopAllTest {
         final GenericNode.GenericNodeBuilder mockGenericNodeBuilder =
                 mock(GenericNode.GenericNodeBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedGenericNode = mock(ParsedEntity.class);
+        when(childParsedGenericNode.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentGenericNode = mock(ParsedEntity.class);
+        when(parentGenericNode.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1805,11 +1893,11 @@ class ProcessParsedStopAllTest {
         when(mockGenericNodeBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedGenericNode.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedGenericNode.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_GENERIC_NODE);
-        when(childParsedGenericNode.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedGenericNode.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_GENERIC_NODE);
+        when(childParsedGenericNode.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentGenericNode.getEntityId()).thenReturn(PARENT_ID);
-        when(parentGenericNode.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_GENERIC_NODE);
+        when(parentGenericNode.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_GENERIC_NODE);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -1847,7 +1935,9 @@ class ProcessParsedStopAllTest {
         final BoardingArea.BoardingAreaBuilder mockBoardingAreaBuilder =
                 mock(BoardingArea.BoardingAreaBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedGenericNode = mock(ParsedEntity.class);
+        when(childParsedGenericNode.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentParsedBoardingArea = mock(ParsedEntity.class);
+        when(parentParsedBoardingArea.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1859,11 +1949,11 @@ class ProcessParsedStopAllTest {
         when(mockBoardingAreaBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedGenericNode.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedGenericNode.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_GENERIC_NODE);
-        when(childParsedGenericNode.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedGenericNode.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_GENERIC_NODE);
+        when(childParsedGenericNode.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentParsedBoardingArea.getEntityId()).thenReturn(PARENT_ID);
-        when(parentParsedBoardingArea.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_BOARDING_AREA);
+        when(parentParsedBoardingArea.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_BOARDING_AREA);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -1901,7 +1991,9 @@ class ProcessParsedStopAllTest {
         final Station.StationBuilder mockStationBuilder =
                 mock(Station.StationBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedBoardingArea = mock(ParsedEntity.class);
+        when(childParsedBoardingArea.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentParsedStation = mock(ParsedEntity.class);
+        when(parentParsedStation.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1913,11 +2005,11 @@ class ProcessParsedStopAllTest {
         when(mockStationBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedBoardingArea.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedBoardingArea.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_BOARDING_AREA);
-        when(childParsedBoardingArea.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedBoardingArea.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_BOARDING_AREA);
+        when(childParsedBoardingArea.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentParsedStation.getEntityId()).thenReturn(PARENT_ID);
-        when(parentParsedStation.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_STATION);
+        when(parentParsedStation.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_STATION);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -1955,7 +2047,9 @@ class ProcessParsedStopAllTest {
         final Entrance.EntranceBuilder mockEntranceBuilder =
                 mock(Entrance.EntranceBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedBoardingArea = mock(ParsedEntity.class);
+        when(childParsedBoardingArea.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentParsedEntrance = mock(ParsedEntity.class);
+        when(parentParsedEntrance.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -1967,11 +2061,11 @@ class ProcessParsedStopAllTest {
         when(mockEntranceBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedBoardingArea.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedBoardingArea.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_BOARDING_AREA);
-        when(childParsedBoardingArea.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedBoardingArea.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_BOARDING_AREA);
+        when(childParsedBoardingArea.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentParsedEntrance.getEntityId()).thenReturn(PARENT_ID);
-        when(parentParsedEntrance.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_ENTRANCE);
+        when(parentParsedEntrance.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_ENTRANCE);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -2009,7 +2103,9 @@ class ProcessParsedStopAllTest {
         final GenericNode.GenericNodeBuilder mockGenericNodeBuilder =
                 mock(GenericNode.GenericNodeBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedBoardingArea = mock(ParsedEntity.class);
+        when(childParsedBoardingArea.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentParsedGenericNode = mock(ParsedEntity.class);
+        when(parentParsedGenericNode.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -2021,11 +2117,11 @@ class ProcessParsedStopAllTest {
         when(mockGenericNodeBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedBoardingArea.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedBoardingArea.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_BOARDING_AREA);
-        when(childParsedBoardingArea.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedBoardingArea.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_BOARDING_AREA);
+        when(childParsedBoardingArea.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentParsedGenericNode.getEntityId()).thenReturn(PARENT_ID);
-        when(parentParsedGenericNode.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_GENERIC_NODE);
+        when(parentParsedGenericNode.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_GENERIC_NODE);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -2061,7 +2157,9 @@ class ProcessParsedStopAllTest {
         final BoardingArea.BoardingAreaBuilder mockBoardingAreaBuilder =
                 mock(BoardingArea.BoardingAreaBuilder.class, RETURNS_SELF);
         final ParsedEntity childParsedBoardingArea = mock(ParsedEntity.class);
+        when(childParsedBoardingArea.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final ParsedEntity parentParsedBoardingArea = mock(ParsedEntity.class);
+        when(parentParsedBoardingArea.getHeaderIndex()).thenReturn(HEADER_INDEX);
         @SuppressWarnings("rawtypes") final EntityBuildResult mockGenericObject = mock(EntityBuildResult.class);
 
         when(mockGenericObject.getData()).thenReturn(Collections.emptyList());
@@ -2071,11 +2169,11 @@ class ProcessParsedStopAllTest {
         when(mockBoardingAreaBuilder.build()).thenReturn(mockGenericObject);
 
         when(childParsedBoardingArea.getEntityId()).thenReturn(CHILD_ID);
-        when(childParsedBoardingArea.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_BOARDING_AREA);
-        when(childParsedBoardingArea.get(PARENT_STATION)).thenReturn(PARENT_ID);
+        when(childParsedBoardingArea.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_BOARDING_AREA);
+        when(childParsedBoardingArea.get(HEADER_INDEX.indexOf(PARENT_STATION))).thenReturn(PARENT_ID);
 
         when(parentParsedBoardingArea.getEntityId()).thenReturn(PARENT_ID);
-        when(parentParsedBoardingArea.get(LOCATION_TYPE)).thenReturn(LOCATION_TYPE_BOARDING_AREA);
+        when(parentParsedBoardingArea.get(HEADER_INDEX.indexOf(LOCATION_TYPE))).thenReturn(LOCATION_TYPE_BOARDING_AREA);
 
         final ProcessParsedStopAll underTest = new ProcessParsedStopAll(mockResultRepo,
                 mock(GtfsDataRepository.class),
@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
@@ -38,6 +39,19 @@ import static org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice.*;
 import static org.mockito.Mockito.*;
 
 class ProcessParsedStopTimeTest {
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            "trip_id",
+            "arrival_time",
+            "departure_time",
+            "stop_id",
+            "stop_sequence",
+            "stop_headsign",
+            "pickup_type",
+            "drop_off_type",
+            "continuous_pickup",
+            "continuous_drop_off",
+            "shape_dist_traveled",
+            "timepoint"));
 
     @Test
     void validParsedStopTimeShouldNotGenerateNoticeAndBeAddedToGtfsDataRepo() {
@@ -58,18 +72,19 @@ class ProcessParsedStopTimeTest {
         when(mockDataRepo.addStopTime(mockStopTime)).thenReturn(mockStopTime);
 
         final ParsedEntity mockParsedEntity = mock(ParsedEntity.class);
-        when(mockParsedEntity.get("trip_id")).thenReturn("trip_id");
-        when(mockParsedEntity.get("arrival_time")).thenReturn("arrival time");
-        when(mockParsedEntity.get("departure_time")).thenReturn("departure time");
-        when(mockParsedEntity.get("stop_id")).thenReturn("stop_id");
-        when(mockParsedEntity.get("stop_sequence")).thenReturn(3);
-        when(mockParsedEntity.get("stop_headsign")).thenReturn("stop_headsign");
-        when(mockParsedEntity.get("pickup_type")).thenReturn(1);
-        when(mockParsedEntity.get("drop_off_type")).thenReturn(0);
-        when(mockParsedEntity.get("continuous_pickup")).thenReturn(0);
-        when(mockParsedEntity.get("continuous_drop_off")).thenReturn(2);
-        when(mockParsedEntity.get("shape_dist_traveled")).thenReturn(30f);
-        when(mockParsedEntity.get("timepoint")).thenReturn(0);
+        when(mockParsedEntity.getHeaderIndex()).thenReturn(HEADER_INDEX);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("trip_id"))).thenReturn("trip_id");
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("arrival_time"))).thenReturn("arrival time");
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("departure_time"))).thenReturn("departure time");
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("stop_id"))).thenReturn("stop_id");
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("stop_sequence"))).thenReturn(3);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("stop_headsign"))).thenReturn("stop_headsign");
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("pickup_type"))).thenReturn(1);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("drop_off_type"))).thenReturn(0);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("continuous_pickup"))).thenReturn(0);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("continuous_drop_off"))).thenReturn(2);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("shape_dist_traveled"))).thenReturn(30f);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("timepoint"))).thenReturn(0);
 
         when(mockTimeUtil.convertHHMMSSToIntFromNoonOfDayOfService(ArgumentMatchers.eq("arrival time")))
                 .thenReturn(34);
@@ -81,18 +96,19 @@ class ProcessParsedStopTimeTest {
 
         underTest.execute(mockParsedEntity);
 
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("trip_id"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("arrival_time"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("departure_time"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("stop_id"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("stop_sequence"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("stop_headsign"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("pickup_type"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("drop_off_type"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("continuous_pickup"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("continuous_drop_off"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("shape_dist_traveled"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("timepoint"));
+        verify(mockParsedEntity, times(1)).getHeaderIndex();
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("trip_id"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("arrival_time"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("departure_time"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("stop_id"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("stop_sequence"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("stop_headsign"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("pickup_type"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("drop_off_type"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("continuous_pickup"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("continuous_drop_off"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("shape_dist_traveled"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("timepoint"));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).tripId(ArgumentMatchers.eq("trip_id"));
@@ -139,18 +155,19 @@ class ProcessParsedStopTimeTest {
         doReturn(mockNoticeCollection).when(mockEntityBuildResult).getData();
 
         final ParsedEntity mockParsedEntity = mock(ParsedEntity.class);
-        when(mockParsedEntity.get("trip_id")).thenReturn(null);
-        when(mockParsedEntity.get("arrival_time")).thenReturn("arrival time");
-        when(mockParsedEntity.get("departure_time")).thenReturn("departure time");
-        when(mockParsedEntity.get("stop_id")).thenReturn("stop_id");
-        when(mockParsedEntity.get("stop_sequence")).thenReturn(3);
-        when(mockParsedEntity.get("stop_headsign")).thenReturn("stop_headsign");
-        when(mockParsedEntity.get("pickup_type")).thenReturn(1);
-        when(mockParsedEntity.get("drop_off_type")).thenReturn(0);
-        when(mockParsedEntity.get("continuous_pickup")).thenReturn(0);
-        when(mockParsedEntity.get("continuous_drop_off")).thenReturn(2);
-        when(mockParsedEntity.get("shape_dist_traveled")).thenReturn(30f);
-        when(mockParsedEntity.get("timepoint")).thenReturn(0);
+        when(mockParsedEntity.getHeaderIndex()).thenReturn(HEADER_INDEX);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("trip_id"))).thenReturn(null);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("arrival_time"))).thenReturn("arrival time");
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("departure_time"))).thenReturn("departure time");
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("stop_id"))).thenReturn("stop_id");
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("stop_sequence"))).thenReturn(3);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("stop_headsign"))).thenReturn("stop_headsign");
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("pickup_type"))).thenReturn(1);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("drop_off_type"))).thenReturn(0);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("continuous_pickup"))).thenReturn(0);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("continuous_drop_off"))).thenReturn(2);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("shape_dist_traveled"))).thenReturn(30f);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("timepoint"))).thenReturn(0);
 
         when(mockTimeUtil.convertHHMMSSToIntFromNoonOfDayOfService(ArgumentMatchers.eq("arrival time")))
                 .thenReturn(34);
@@ -162,18 +179,19 @@ class ProcessParsedStopTimeTest {
 
         underTest.execute(mockParsedEntity);
 
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("trip_id"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("arrival_time"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("departure_time"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("stop_id"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("stop_sequence"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("stop_headsign"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("pickup_type"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("drop_off_type"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("continuous_pickup"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("continuous_drop_off"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("shape_dist_traveled"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("timepoint"));
+        verify(mockParsedEntity, times(1)).getHeaderIndex();
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("trip_id"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("arrival_time"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("departure_time"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("stop_id"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("stop_sequence"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("stop_headsign"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("pickup_type"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("drop_off_type"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("continuous_pickup"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("continuous_drop_off"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("shape_dist_traveled"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("timepoint"));
 
         verify(mockBuilder, times(1)).clear();
         // parameter of method .tripId is annotated as non null, for the purpose of this test, we suppress the
@@ -226,18 +244,19 @@ class ProcessParsedStopTimeTest {
         when(mockDataRepo.addStopTime(mockStopTime)).thenReturn(null);
 
         final ParsedEntity mockParsedEntity = mock(ParsedEntity.class);
-        when(mockParsedEntity.get("trip_id")).thenReturn("trip_id");
-        when(mockParsedEntity.get("arrival_time")).thenReturn("arrival time");
-        when(mockParsedEntity.get("departure_time")).thenReturn("departure time");
-        when(mockParsedEntity.get("stop_id")).thenReturn("stop_id");
-        when(mockParsedEntity.get("stop_sequence")).thenReturn(3);
-        when(mockParsedEntity.get("stop_headsign")).thenReturn("stop_headsign");
-        when(mockParsedEntity.get("pickup_type")).thenReturn(1);
-        when(mockParsedEntity.get("drop_off_type")).thenReturn(0);
-        when(mockParsedEntity.get("continuous_pickup")).thenReturn(0);
-        when(mockParsedEntity.get("continuous_drop_off")).thenReturn(2);
-        when(mockParsedEntity.get("shape_dist_traveled")).thenReturn(30f);
-        when(mockParsedEntity.get("timepoint")).thenReturn(0);
+        when(mockParsedEntity.getHeaderIndex()).thenReturn(HEADER_INDEX);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("trip_id"))).thenReturn("trip_id");
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("arrival_time"))).thenReturn("arrival time");
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("departure_time"))).thenReturn("departure time");
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("stop_id"))).thenReturn("stop_id");
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("stop_sequence"))).thenReturn(3);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("stop_headsign"))).thenReturn("stop_headsign");
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("pickup_type"))).thenReturn(1);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("drop_off_type"))).thenReturn(0);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("continuous_pickup"))).thenReturn(0);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("continuous_drop_off"))).thenReturn(2);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("shape_dist_traveled"))).thenReturn(30f);
+        when(mockParsedEntity.get(HEADER_INDEX.indexOf("timepoint"))).thenReturn(0);
 
         when(mockTimeUtil.convertHHMMSSToIntFromNoonOfDayOfService(ArgumentMatchers.eq("arrival time")))
                 .thenReturn(34);
@@ -249,18 +268,19 @@ class ProcessParsedStopTimeTest {
 
         underTest.execute(mockParsedEntity);
 
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("trip_id"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("arrival_time"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("departure_time"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("stop_id"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("stop_sequence"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("stop_headsign"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("pickup_type"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("drop_off_type"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("continuous_pickup"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("continuous_drop_off"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("shape_dist_traveled"));
-        verify(mockParsedEntity, times(1)).get(ArgumentMatchers.eq("timepoint"));
+        verify(mockParsedEntity, times(1)).getHeaderIndex();
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("trip_id"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("arrival_time"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("departure_time"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("stop_id"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("stop_sequence"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("stop_headsign"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("pickup_type"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("drop_off_type"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("continuous_pickup"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("continuous_drop_off"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("shape_dist_traveled"));
+        verify(mockParsedEntity, times(1)).get(HEADER_INDEX.indexOf("timepoint"));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).tripId(ArgumentMatchers.eq("trip_id"));
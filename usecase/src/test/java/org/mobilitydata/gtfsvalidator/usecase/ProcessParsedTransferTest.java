@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.transfers.Transfer;
@@ -37,6 +38,11 @@ import static org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice.KE
 import static org.mockito.Mockito.*;
 
 class ProcessParsedTransferTest {
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            "from_stop_id",
+            "to_stop_id",
+            "transfer_type",
+            "min_transfer_time"));
 
     @Test
     void validatedParsedTransferShouldCreateTransferEntityAndBeAddedToGtfsDataRepo() {
@@ -45,6 +51,7 @@ class ProcessParsedTransferTest {
         final Transfer.TransferBuilder mockBuilder = mock(Transfer.TransferBuilder.class, RETURNS_SELF);
         final Transfer mockTransfer = mock(Transfer.class);
         final ParsedEntity mockParsedTransfer = mock(ParsedEntity.class);
+        when(mockParsedTransfer.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final EntityBuildResult<?> mockEntityBuildResult = mock(EntityBuildResult.class);
 
         doReturn(mockEntityBuildResult).when(mockBuilder).build();
@@ -53,10 +60,10 @@ class ProcessParsedTransferTest {
         //noinspection ResultOfMethodCallIgnored
         doReturn(mockTransfer).when(mockEntityBuildResult).getData();
 
-        when(mockParsedTransfer.get("from_stop_id")).thenReturn("stop id 0");
-        when(mockParsedTransfer.get("to_stop_id")).thenReturn("stop id 1");
-        when(mockParsedTransfer.get("transfer_type")).thenReturn(1);
-        when(mockParsedTransfer.get("min_transfer_time")).thenReturn(20);
+        when(mockParsedTransfer.get(HEADER_INDEX.indexOf("from_stop_id"))).thenReturn("stop id 0");
+        when(mockParsedTransfer.get(HEADER_INDEX.indexOf("to_stop_id"))).thenReturn("stop id 1");
+        when(mockParsedTransfer.get(HEADER_INDEX.indexOf("transfer_type"))).thenReturn(1);
+        when(mockParsedTransfer.get(HEADER_INDEX.indexOf("min_transfer_time"))).thenReturn(20);
 
         when(mockGtfsDataRepo.addTransfer(mockTransfer)).thenReturn(mockTransfer);
 
@@ -65,11 +72,12 @@ class ProcessParsedTransferTest {
 
         underTest.execute(mockParsedTransfer);
 
-        verify(mockParsedTransfer, times(1)).get(ArgumentMatchers.eq("from_stop_id"));
-        verify(mockParsedTransfer, times(1)).get(ArgumentMatchers.eq("to_stop_id"));
-        verify(mockParsedTransfer, times(1)).get(ArgumentMatchers.eq("transfer_type"));
+        verify(mockParsedTransfer, times(1)).getHeaderIndex();
+        verify(mockParsedTransfer, times(1)).get(HEADER_INDEX.indexOf("from_stop_id"));
+        verify(mockParsedTransfer, times(1)).get(HEADER_INDEX.indexOf("to_stop_id"));
+        verify(mockParsedTransfer, times(1)).get(HEADER_INDEX.indexOf("transfer_type"));
         verify(mockParsedTransfer, times(1))
-                .get(ArgumentMatchers.eq("min_transfer_time"));
+                .get(HEADER_INDEX.indexOf("min_transfer_time"));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).fromStopId(ArgumentMatchers.eq("stop id 0"));
@@ -89,6 +97,7 @@ class ProcessParsedTransferTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Transfer.TransferBuilder mockBuilder = mock(Transfer.TransferBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedTransfer = mock(ParsedEntity.class);
+        when(mockParsedTransfer.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final List<Notice> noticeCollection = new ArrayList<>();
         final MissingRequiredValueNotice mockNotice = mock(MissingRequiredValueNotice.class);
 
@@ -104,18 +113,19 @@ class ProcessParsedTransferTest {
         final ProcessParsedTransfer underTest = new ProcessParsedTransfer(mockResultRepo, mockGtfsDataRepo,
                 mockBuilder);
 
-        when(mockParsedTransfer.get("from_stop_id")).thenReturn(null);
-        when(mockParsedTransfer.get("to_stop_id")).thenReturn("stop id 1");
-        when(mockParsedTransfer.get("transfer_type")).thenReturn(1);
-        when(mockParsedTransfer.get("min_transfer_time")).thenReturn(20);
+        when(mockParsedTransfer.get(HEADER_INDEX.indexOf("from_stop_id"))).thenReturn(null);
+        when(mockParsedTransfer.get(HEADER_INDEX.indexOf("to_stop_id"))).thenReturn("stop id 1");
+        when(mockParsedTransfer.get(HEADER_INDEX.indexOf("transfer_type"))).thenReturn(1);
+        when(mockParsedTransfer.get(HEADER_INDEX.indexOf("min_transfer_time"))).thenReturn(20);
 
         underTest.execute(mockParsedTransfer);
 
-        verify(mockParsedTransfer, times(1)).get(ArgumentMatchers.eq("from_stop_id"));
-        verify(mockParsedTransfer, times(1)).get(ArgumentMatchers.eq("to_stop_id"));
-        verify(mockParsedTransfer, times(1)).get(ArgumentMatchers.eq("transfer_type"));
+        verify(mockParsedTransfer, times(1)).getHeaderIndex();
+        verify(mockParsedTransfer, times(1)).get(HEADER_INDEX.indexOf("from_stop_id"));
+        verify(mockParsedTransfer, times(1)).get(HEADER_INDEX.indexOf("to_stop_id"));
+        verify(mockParsedTransfer, times(1)).get(HEADER_INDEX.indexOf("transfer_type"));
         verify(mockParsedTransfer, times(1))
-                .get(ArgumentMatchers.eq("min_transfer_time"));
+                .get(HEADER_INDEX.indexOf("min_transfer_time"));
 
         verify(mockBuilder, times(1)).clear();
         // parameter of method .fromStopId is annotated as non null, for the purpose of this test, we suppress the
@@ -148,6 +158,7 @@ class ProcessParsedTransferTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Transfer.TransferBuilder mockBuilder = mock(Transfer.TransferBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedTransfer = mock(ParsedEntity.class);
+        when(mockParsedTransfer.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
 
         final Transfer mockTransfer = mock(Transfer.class);
@@ -166,19 +177,20 @@ class ProcessParsedTransferTest {
         final ProcessParsedTransfer underTest = new ProcessParsedTransfer(mockResultRepo, mockGtfsDataRepo,
                 mockBuilder);
 
-        when(mockParsedTransfer.get("from_stop_id")).thenReturn("stop id 0");
-        when(mockParsedTransfer.get("to_stop_id")).thenReturn("stop id 1");
-        when(mockParsedTransfer.get("transfer_type")).thenReturn(1);
-        when(mockParsedTransfer.get("min_transfer_time")).thenReturn(20);
+        when(mockParsedTransfer.get(HEADER_INDEX.indexOf("from_stop_id"))).thenReturn("stop id 0");
+        when(mockParsedTransfer.get(HEADER_INDEX.indexOf("to_stop_id"))).thenReturn("stop id 1");
+        when(mockParsedTransfer.get(HEADER_INDEX.indexOf("transfer_type"))).thenReturn(1);
+        when(mockParsedTransfer.get(HEADER_INDEX.indexOf("min_transfer_time"))).thenReturn(20);
 
         underTest.execute(mockParsedTransfer);
 
         verify(mockGtfsDataRepo, times(1)).addTransfer(mockTransfer);
 
-        verify(mockParsedTransfer, times(1)).get(ArgumentMatchers.eq("from_stop_id"));
-        verify(mockParsedTransfer, times(1)).get(ArgumentMatchers.eq("to_stop_id"));
-        verify(mockParsedTransfer, times(1)).get(ArgumentMatchers.eq("transfer_type"));
-        verify(mockParsedTransfer, times(1)).get(ArgumentMatchers.eq("min_transfer_time"));
+        verify(mockParsedTransfer, times(1)).getHeaderIndex();
+        verify(mockParsedTransfer, times(1)).get(HEADER_INDEX.indexOf("from_stop_id"));
+        verify(mockParsedTransfer, times(1)).get(HEADER_INDEX.indexOf("to_stop_id"));
+        verify(mockParsedTransfer, times(1)).get(HEADER_INDEX.indexOf("transfer_type"));
+        verify(mockParsedTransfer, times(1)).get(HEADER_INDEX.indexOf("min_transfer_time"));
         // suppressed warning regarding unused result of method, since this behavior is wanted
         //noinspection ResultOfMethodCallIgnored
         verify(mockParsedTransfer, times(1)).getEntityId();
@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.translations.TableName;
@@ -39,8 +40,18 @@ import static org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice.KE
 import static org.mockito.Mockito.*;
 
 class ProcessParsedTranslationTest {
+
     private final String STRING_TEST_VALUE = "test_value";
 
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            "table_name",
+            "field_name",
+            "language",
+            "translation",
+            "record_id",
+            "record_sub_id",
+            "field_value"));
+
     @Test
     void validTranslationShouldCreateTranslationEntityAndBeAddedToRepo() {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
@@ -59,17 +70,19 @@ class ProcessParsedTranslationTest {
                 new ProcessParsedTranslation(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
         final ParsedEntity mockParsedTranslation = mock(ParsedEntity.class);
-        when(mockParsedTranslation.get("table_name")).thenReturn("feed_info");
-        when(mockParsedTranslation.get("field_name")).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedTranslation.get("language")).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedTranslation.get("translation")).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedTranslation.get("record_id")).thenReturn(null);
-        when(mockParsedTranslation.get("record_sub_id")).thenReturn(null);
-        when(mockParsedTranslation.get("field_value")).thenReturn(null);
+        when(mockParsedTranslation.getHeaderIndex()).thenReturn(HEADER_INDEX);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("table_name"))).thenReturn("feed_info");
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("field_name"))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("language"))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("translation"))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("record_id"))).thenReturn(null);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("record_sub_id"))).thenReturn(null);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("field_value"))).thenReturn(null);
 
         underTest.execute(mockParsedTranslation);
 
-        verify(mockParsedTranslation, times(7)).get(ArgumentMatchers.anyString());
+        verify(mockParsedTranslation, times(1)).getHeaderIndex();
+        verify(mockParsedTranslation, times(7)).get(anyInt());
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).tableName(ArgumentMatchers.eq("feed_info"));
         verify(mockBuilder, times(1)).fieldName(ArgumentMatchers.eq(STRING_TEST_VALUE));
@@ -115,17 +128,19 @@ class ProcessParsedTranslationTest {
                 new ProcessParsedTranslation(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
         final ParsedEntity mockParsedTranslation = mock(ParsedEntity.class);
-        when(mockParsedTranslation.get("table_name")).thenReturn("invalid table name");
-        when(mockParsedTranslation.get("field_name")).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedTranslation.get("language")).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedTranslation.get("translation")).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedTranslation.get("record_id")).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedTranslation.get("record_sub_id")).thenReturn(null);
-        when(mockParsedTranslation.get("field_value")).thenReturn(null);
+        when(mockParsedTranslation.getHeaderIndex()).thenReturn(HEADER_INDEX);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("table_name"))).thenReturn("invalid table name");
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("field_name"))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("language"))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("translation"))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("record_id"))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("record_sub_id"))).thenReturn(null);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("field_value"))).thenReturn(null);
 
         underTest.execute(mockParsedTranslation);
 
-        verify(mockParsedTranslation, times(7)).get(ArgumentMatchers.anyString());
+        verify(mockParsedTranslation, times(1)).getHeaderIndex();
+        verify(mockParsedTranslation, times(7)).get(anyInt());
         verify(mockBuilder, times(1))
                 .tableName(ArgumentMatchers.eq("invalid table name"));
         verify(mockBuilder, times(1)).clear();
@@ -171,17 +186,19 @@ class ProcessParsedTranslationTest {
                 new ProcessParsedTranslation(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
         final ParsedEntity mockParsedTranslation = mock(ParsedEntity.class);
-        when(mockParsedTranslation.get("table_name")).thenReturn("feed_info");
-        when(mockParsedTranslation.get("field_name")).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedTranslation.get("language")).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedTranslation.get("translation")).thenReturn(STRING_TEST_VALUE);
-        when(mockParsedTranslation.get("record_id")).thenReturn(null);
-        when(mockParsedTranslation.get("record_sub_id")).thenReturn(null);
-        when(mockParsedTranslation.get("field_value")).thenReturn(null);
+        when(mockParsedTranslation.getHeaderIndex()).thenReturn(HEADER_INDEX);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("table_name"))).thenReturn("feed_info");
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("field_name"))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("language"))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("translation"))).thenReturn(STRING_TEST_VALUE);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("record_id"))).thenReturn(null);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("record_sub_id"))).thenReturn(null);
+        when(mockParsedTranslation.get(HEADER_INDEX.indexOf("field_value"))).thenReturn(null);
 
         underTest.execute(mockParsedTranslation);
 
-        verify(mockParsedTranslation, times(7)).get(ArgumentMatchers.anyString());
+        verify(mockParsedTranslation, times(1)).getHeaderIndex();
+        verify(mockParsedTranslation, times(7)).get(anyInt());
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).tableName(ArgumentMatchers.eq("feed_info"));
         verify(mockBuilder, times(1)).fieldName(ArgumentMatchers.eq(STRING_TEST_VALUE));
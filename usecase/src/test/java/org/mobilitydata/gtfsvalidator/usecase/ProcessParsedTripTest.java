@@ -1,6 +1,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
 import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.EntityBuildResult;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
@@ -22,6 +23,17 @@ import static org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice.KE
 import static org.mockito.Mockito.*;
 
 class ProcessParsedTripTest {
+    private static final HeaderIndex HEADER_INDEX = new HeaderIndex(List.of(
+            "route_id",
+            "service_id",
+            "trip_id",
+            "trip_headsign",
+            "trip_short_name",
+            "direction_id",
+            "block_id",
+            "shape_id",
+            "wheelchair_accessible",
+            "bikes_allowed"));
 
     @Test
     public void validatedTripShouldCreateTripAndBeAddedToGtfsDataRepo() {
@@ -30,6 +42,7 @@ class ProcessParsedTripTest {
         final Trip.TripBuilder mockBuilder = mock(Trip.TripBuilder.class, RETURNS_SELF);
         final Trip mockTrip = mock(Trip.class);
         final ParsedEntity mockParsedTrip = mock(ParsedEntity.class);
+        when(mockParsedTrip.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
 
         //result of method .getData() is not used here, therefore removing this warning to avoid lint
@@ -39,16 +52,16 @@ class ProcessParsedTripTest {
 
         doReturn(mockGenericObject).when(mockBuilder).build();
 
-        when(mockParsedTrip.get("route_id")).thenReturn("route_id");
-        when(mockParsedTrip.get("service_id")).thenReturn("service_id");
-        when(mockParsedTrip.get("trip_id")).thenReturn("trip_id");
-        when(mockParsedTrip.get("trip_headsign")).thenReturn("trip_headsign");
-        when(mockParsedTrip.get("trip_short_name")).thenReturn("trip_short_name");
-        when(mockParsedTrip.get("direction_id")).thenReturn(1);
-        when(mockParsedTrip.get("block_id")).thenReturn("block_id");
-        when(mockParsedTrip.get("shape_id")).thenReturn("shape_id");
-        when(mockParsedTrip.get("wheelchair_accessible")).thenReturn(1);
-        when(mockParsedTrip.get("bikes_allowed")).thenReturn(1);
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("route_id"))).thenReturn("route_id");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("service_id"))).thenReturn("service_id");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("trip_id"))).thenReturn("trip_id");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("trip_headsign"))).thenReturn("trip_headsign");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("trip_short_name"))).thenReturn("trip_short_name");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("direction_id"))).thenReturn(1);
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("block_id"))).thenReturn("block_id");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("shape_id"))).thenReturn("shape_id");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("wheelchair_accessible"))).thenReturn(1);
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("bikes_allowed"))).thenReturn(1);
 
         when(mockGtfsDataRepo.addTrip(mockTrip)).thenReturn(mockTrip);
 
@@ -58,17 +71,18 @@ class ProcessParsedTripTest {
 
         final InOrder inOrder = Mockito.inOrder(mockGtfsDataRepo, mockBuilder);
 
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("route_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("service_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("trip_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("trip_headsign"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("trip_short_name"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("direction_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("block_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("shape_id"));
+        verify(mockParsedTrip, times(1)).getHeaderIndex();
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("route_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("service_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("trip_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("trip_headsign"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("trip_short_name"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("direction_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("block_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("shape_id"));
         verify(mockParsedTrip, times(1))
-                .get(ArgumentMatchers.eq("wheelchair_accessible"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("bikes_allowed"));
+                .get(HEADER_INDEX.indexOf("wheelchair_accessible"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("bikes_allowed"));
 
         verify(mockBuilder, times(1)).clear();
         verify(mockBuilder, times(1)).routeId("route_id");
@@ -95,6 +109,7 @@ class ProcessParsedTripTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Trip.TripBuilder mockBuilder = mock(Trip.TripBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedTrip = mock(ParsedEntity.class);
+        when(mockParsedTrip.getHeaderIndex()).thenReturn(HEADER_INDEX);
 
         final ArrayList<Notice> mockNoticeCollection = spy(new ArrayList<>());
         final MissingRequiredValueNotice mockNotice = mock(MissingRequiredValueNotice.class);
@@ -110,30 +125,31 @@ class ProcessParsedTripTest {
 
         final ProcessParsedTrip underTest = new ProcessParsedTrip(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedTrip.get("route_id")).thenReturn(null);
-        when(mockParsedTrip.get("service_id")).thenReturn("service_id");
-        when(mockParsedTrip.get("trip_id")).thenReturn("trip_id");
-        when(mockParsedTrip.get("trip_headsign")).thenReturn("trip_headsign");
-        when(mockParsedTrip.get("trip_short_name")).thenReturn("trip_short_name");
-        when(mockParsedTrip.get("direction_id")).thenReturn(1);
-        when(mockParsedTrip.get("block_id")).thenReturn("block_id");
-        when(mockParsedTrip.get("shape_id")).thenReturn("shape_id");
-        when(mockParsedTrip.get("wheelchair_accessible")).thenReturn(1);
-        when(mockParsedTrip.get("bikes_allowed")).thenReturn(1);
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("route_id"))).thenReturn(null);
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("service_id"))).thenReturn("service_id");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("trip_id"))).thenReturn("trip_id");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("trip_headsign"))).thenReturn("trip_headsign");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("trip_short_name"))).thenReturn("trip_short_name");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("direction_id"))).thenReturn(1);
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("block_id"))).thenReturn("block_id");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("shape_id"))).thenReturn("shape_id");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("wheelchair_accessible"))).thenReturn(1);
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("bikes_allowed"))).thenReturn(1);
 
         underTest.execute(mockParsedTrip);
 
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("route_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("service_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("trip_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("trip_headsign"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("trip_short_name"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("direction_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("block_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("shape_id"));
+        verify(mockParsedTrip, times(1)).getHeaderIndex();
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("route_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("service_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("trip_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("trip_headsign"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("trip_short_name"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("direction_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("block_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("shape_id"));
         verify(mockParsedTrip, times(1))
-                .get(ArgumentMatchers.eq("wheelchair_accessible"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("bikes_allowed"));
+                .get(HEADER_INDEX.indexOf("wheelchair_accessible"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("bikes_allowed"));
 
         verify(mockBuilder, times(1)).clear();
         // parameter of method .routeId() is annotated as non null, removing this warning for the purpose of the test
@@ -160,6 +176,7 @@ class ProcessParsedTripTest {
         final GtfsDataRepository mockGtfsDataRepo = mock(GtfsDataRepository.class);
         final Trip.TripBuilder mockBuilder = mock(Trip.TripBuilder.class, RETURNS_SELF);
         final ParsedEntity mockParsedTrip = mock(ParsedEntity.class);
+        when(mockParsedTrip.getHeaderIndex()).thenReturn(HEADER_INDEX);
         final Trip mockTrip = mock(Trip.class);
 
         final EntityBuildResult<?> mockGenericObject = mock(EntityBuildResult.class);
@@ -173,30 +190,31 @@ class ProcessParsedTripTest {
 
         final ProcessParsedTrip underTest = new ProcessParsedTrip(mockResultRepo, mockGtfsDataRepo, mockBuilder);
 
-        when(mockParsedTrip.get("route_id")).thenReturn("route_id");
-        when(mockParsedTrip.get("service_id")).thenReturn("service_id");
-        when(mockParsedTrip.get("trip_id")).thenReturn("trip_id");
-        when(mockParsedTrip.get("trip_headsign")).thenReturn("trip_headsign");
-        when(mockParsedTrip.get("trip_short_name")).thenReturn("trip_short_name");
-        when(mockParsedTrip.get("direction_id")).thenReturn(1);
-        when(mockParsedTrip.get("block_id")).thenReturn("block_id");
-        when(mockParsedTrip.get("shape_id")).thenReturn("shape_id");
-        when(mockParsedTrip.get("wheelchair_accessible")).thenReturn(1);
-        when(mockParsedTrip.get("bikes_allowed")).thenReturn(4);
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("route_id"))).thenReturn("route_id");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("service_id"))).thenReturn("service_id");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("trip_id"))).thenReturn("trip_id");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("trip_headsign"))).thenReturn("trip_headsign");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("trip_short_name"))).thenReturn("trip_short_name");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("direction_id"))).thenReturn(1);
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("block_id"))).thenReturn("block_id");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("shape_id"))).thenReturn("shape_id");
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("wheelchair_accessible"))).thenReturn(1);
+        when(mockParsedTrip.get(HEADER_INDEX.indexOf("bikes_allowed"))).thenReturn(4);
 
         underTest.execute(mockParsedTrip);
 
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("route_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("service_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("trip_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("trip_headsign"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("trip_short_name"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("direction_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("block_id"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("shape_id"));
+        verify(mockParsedTrip, times(1)).getHeaderIndex();
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("route_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("service_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("trip_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("trip_headsign"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("trip_short_name"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("direction_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("block_id"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("shape_id"));
         verify(mockParsedTrip, times(1))
-                .get(ArgumentMatchers.eq("wheelchair_accessible"));
-        verify(mockParsedTrip, times(1)).get(ArgumentMatchers.eq("bikes_allowed"));
+                .get(HEADER_INDEX.indexOf("wheelchair_accessible"));
+        verify(mockParsedTrip, times(1)).get(HEADER_INDEX.indexOf("bikes_allowed"));
 
         verify(mockGtfsDataRepo, times(1)).addTrip(ArgumentMatchers.isA(Trip.class));
 
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class StopTimeSequenceViewTest {
+
+    @Test
+    void filledViewShouldMirrorStopTimeSequence() {
+        final StopTime firstStopTime = mock(StopTime.class);
+        final StopTime secondStopTime = mock(StopTime.class);
+        final StopTime thirdStopTime = mock(StopTime.class);
+        final TreeMap<Integer, StopTime> stopTimeSequence = new TreeMap<>(Map.of(
+                3, firstStopTime,
+                7, secondStopTime,
+                12, thirdStopTime));
+
+        final StopTimeSequenceView underTest = new StopTimeSequenceView().fill(stopTimeSequence);
+
+        assertEquals(stopTimeSequence, underTest);
+        assertEquals(3, underTest.firstKey());
+        assertEquals(12, underTest.lastKey());
+        assertSame(secondStopTime, underTest.get(7));
+        assertNull(underTest.get(8));
+        assertFalse(underTest.containsKey(4));
+        assertEquals(List.of(firstStopTime, secondStopTime, thirdStopTime), List.copyOf(underTest.values()));
+        assertEquals(stopTimeSequence.headMap(7), underTest.headMap(7));
+        assertEquals(stopTimeSequence.tailMap(7), underTest.tailMap(7));
+        assertEquals(stopTimeSequence.subMap(4, 12), underTest.subMap(4, 12));
+        assertTrue(underTest.subMap(8, 12).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> underTest.subMap(12, 4));
+        assertThrows(UnsupportedOperationException.class, () -> underTest.put(1, firstStopTime));
+    }
+
+    @Test
+    void refilledViewShouldOnlyHoldStopTimesOfLastSequence() {
+        final StopTime firstStopTime = mock(StopTime.class);
+        final StopTime secondStopTime = mock(StopTime.class);
+        final StopTimeSequenceView underTest = new StopTimeSequenceView()
+                .fill(new TreeMap<>(Map.of(1, firstStopTime, 2, secondStopTime)));
+
+        underTest.fill(new TreeMap<>(Map.of(5, secondStopTime)));
+
+        assertEquals(Map.of(5, secondStopTime), underTest);
+        assertNull(underTest.get(1));
+
+        underTest.fill(new TreeMap<>());
+
+        assertTrue(underTest.isEmpty());
+        assertThrows(NoSuchElementException.class, underTest::firstKey);
+        assertThrows(NoSuchElementException.class, underTest::lastKey);
+    }
+}
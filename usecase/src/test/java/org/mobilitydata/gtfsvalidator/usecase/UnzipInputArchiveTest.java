@@ -123,4 +123,37 @@ class UnzipInputArchiveTest {
         toDelete = new File("./transfers.txt");
         toDelete.delete();
     }
+
+    @Test
+    void validZipWithoutExtractPathShouldFillRawFileRepoWithoutExtractingFiles() throws IOException {
+        final RawFileRepository mockRawFileRepo = mock(RawFileRepository.class);
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        final RawFileInfo.RawFileInfoBuilder mockBuilder = mock(RawFileInfo.RawFileInfoBuilder.class);
+        final RawFileInfo mockRawFileInfo = mock(RawFileInfo.class);
+        when(mockBuilder.filename(anyString())).thenReturn(mockBuilder);
+        when(mockBuilder.path(anyString())).thenReturn(mockBuilder);
+        when(mockBuilder.build()).thenReturn(mockRawFileInfo);
+
+        final Logger mockLogger = mock(Logger.class);
+
+        final String pathToArchive = Resources.getResource("valid_zip_sample.zip").getPath();
+        final ZipFile mockZipFile = new ZipFile(pathToArchive);
+
+        final UnzipInputArchive underTest =
+                new UnzipInputArchive(mockRawFileRepo, null, mockResultRepo, mockLogger, mockZipFile,
+                        mockBuilder);
+
+        underTest.execute();
+
+        verify(mockLogger, times(1)).info("Reading archive entries");
+
+        verify(mockBuilder, times(1)).filename("agency.txt");
+        verify(mockBuilder, times(1)).filename("transfers.txt");
+        verify(mockBuilder, times(2)).path(pathToArchive);
+        verify(mockRawFileRepo, times(2)).create(mockRawFileInfo);
+        verifyNoInteractions(mockResultRepo);
+        verifyNoMoreInteractions(mockLogger, mockRawFileRepo);
+        assertFalse(new File("./agency.txt").exists());
+        assertFalse(new File("./transfers.txt").exists());
+    }
 }
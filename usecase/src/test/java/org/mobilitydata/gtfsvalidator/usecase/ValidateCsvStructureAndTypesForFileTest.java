@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mobilitydata.gtfsvalidator.domain.entity.HeaderIndex;
+import org.mobilitydata.gtfsvalidator.domain.entity.ParsedEntity;
+import org.mobilitydata.gtfsvalidator.domain.entity.RawEntity;
+import org.mobilitydata.gtfsvalidator.domain.entity.RawFileInfo;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.base.ErrorNotice;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.*;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.warning.MalformedCsvRowNotice;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.warning.NonStandardHeaderNotice;
+import org.mobilitydata.gtfsvalidator.usecase.port.GtfsSpecRepository;
+import org.mobilitydata.gtfsvalidator.usecase.port.MalformedCsvRowException;
+import org.mobilitydata.gtfsvalidator.usecase.port.RawFileRepository;
+import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class ValidateCsvStructureAndTypesForFileTest {
+    private static final String FILENAME = "test.tst";
+    private static final String REQUIRED_HEADER = "requiredHeader";
+    private static final String OPTIONAL_HEADER = "optionalHeader";
+
+    private GtfsSpecRepository mockSpecRepo(final GtfsSpecRepository.RawEntityParser parser) {
+        final GtfsSpecRepository mockSpecRepo = mock(GtfsSpecRepository.class);
+        when(mockSpecRepo.getRequiredHeadersForFile(any(RawFileInfo.class))).thenReturn(List.of(REQUIRED_HEADER));
+        when(mockSpecRepo.getOptionalHeadersForFile(any(RawFileInfo.class))).thenReturn(List.of(OPTIONAL_HEADER));
+        when(mockSpecRepo.getRequiredFilenameList()).thenReturn(List.of(FILENAME));
+        when(mockSpecRepo.getParserForFile(any(RawFileInfo.class))).thenReturn(parser);
+        return mockSpecRepo;
+    }
+
+    @Test
+    void validFileShouldBeReadOnceAndNotGenerateNotice() {
+        final RawFileRepository.RawEntityProvider mockProvider = mock(RawFileRepository.RawEntityProvider.class);
+        when(mockProvider.getHeaders()).thenReturn(List.of(REQUIRED_HEADER, OPTIONAL_HEADER));
+        when(mockProvider.getHeaderCount()).thenReturn(2);
+        when(mockProvider.hasNext()).thenReturn(true, true, true, false);
+        final RawEntity testRawEntity = new RawEntity(new HeaderIndex(List.of(REQUIRED_HEADER, OPTIONAL_HEADER)),
+                new String[]{"a", "b"}, 2);
+        when(mockProvider.getNext()).thenReturn(testRawEntity);
+
+        final RawFileRepository mockFileRepo = mock(RawFileRepository.class);
+        when(mockFileRepo.getProviderForFile(any(RawFileInfo.class))).thenReturn(Optional.of(mockProvider));
+
+        final ParsedEntity mockParsedEntity = mock(ParsedEntity.class);
+        final GtfsSpecRepository.RawEntityParser mockParser = mock(GtfsSpecRepository.RawEntityParser.class);
+        when(mockParser.parse(any(RawEntity.class), any(), anyCollection())).thenReturn(mockParsedEntity);
+
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        final List<ParsedEntity> parsedEntityCollection = new ArrayList<>();
+
+        final ValidateCsvStructureAndTypesForFile underTest = new ValidateCsvStructureAndTypesForFile(
+                RawFileInfo.builder().filename(FILENAME).build(),
+                mockSpecRepo(mockParser),
+                mockFileRepo,
+                mockResultRepo,
+                mock(Logger.class));
+
+        underTest.execute(parsedEntityCollection::add);
+
+        verify(mockFileRepo, times(1)).getProviderForFile(any(RawFileInfo.class));
+        verify(mockProvider, times(2)).getNext();
+        verify(mockProvider, times(1)).close();
+        // the entity parsed from the first row is reused for the second one
+        verify(mockParser, times(1)).parse(eq(testRawEntity), isNull(), anyCollection());
+        verify(mockParser, times(1)).parse(eq(testRawEntity), eq(mockParsedEntity), anyCollection());
+        verifyNoMoreInteractions(mockParser);
+        verifyNoInteractions(mockResultRepo);
+        verifyNoMoreInteractions(mockFileRepo);
+        assertEquals(2, parsedEntityCollection.size());
+    }
+
+    @Test
+    void fileWithoutHeaderShouldGenerateEmptyFileErrorNotice() {
+        final RawFileRepository.RawEntityProvider mockProvider = mock(RawFileRepository.RawEntityProvider.class);
+        when(mockProvider.getHeaders()).thenReturn(Collections.emptyList());
+
+        final RawFileRepository mockFileRepo = mock(RawFileRepository.class);
+        when(mockFileRepo.getProviderForFile(any(RawFileInfo.class))).thenReturn(Optional.of(mockProvider));
+
+        final GtfsSpecRepository.RawEntityParser mockParser = mock(GtfsSpecRepository.RawEntityParser.class);
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        @SuppressWarnings("unchecked") final Consumer<ParsedEntity> mockConsumer = mock(Consumer.class);
+
+        final ValidateCsvStructureAndTypesForFile underTest = new ValidateCsvStructureAndTypesForFile(
+                RawFileInfo.builder().filename(FILENAME).build(),
+                mockSpecRepo(mockParser),
+                mockFileRepo,
+                mockResultRepo,
+                mock(Logger.class));
+
+        underTest.execute(mockConsumer);
+
+        verify(mockResultRepo, times(1)).addNotice(any(EmptyFileErrorNotice.class));
+        verify(mockResultRepo, times(1)).addNotice(any(MissingHeaderNotice.class));
+        verify(mockProvider, never()).getNext();
+        verify(mockProvider, times(1)).close();
+        verifyNoMoreInteractions(mockResultRepo);
+        verifyNoInteractions(mockParser, mockConsumer);
+    }
+
+    @Test
+    void optionalFileWithHeadersOnlyShouldGenerateEmptyFileWarningNotice() {
+        final RawFileRepository.RawEntityProvider mockProvider = mock(RawFileRepository.RawEntityProvider.class);
+        when(mockProvider.getHeaders()).thenReturn(List.of(REQUIRED_HEADER));
+        when(mockProvider.getHeaderCount()).thenReturn(1);
+        when(mockProvider.hasNext()).thenReturn(false);
+
+        final RawFileRepository mockFileRepo = mock(RawFileRepository.class);
+        when(mockFileRepo.getProviderForFile(any(RawFileInfo.class))).thenReturn(Optional.of(mockProvider));
+
+        final GtfsSpecRepository.RawEntityParser mockParser = mock(GtfsSpecRepository.RawEntityParser.class);
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+
+        final ValidateCsvStructureAndTypesForFile underTest = new ValidateCsvStructureAndTypesForFile(
+                RawFileInfo.builder().filename("optional.tst").build(),
+                mockSpecRepo(mockParser),
+                mockFileRepo,
+                mockResultRepo,
+                mock(Logger.class));
+
+        underTest.execute(parsedEntity -> {
+        });
+
+        verify(mockResultRepo, times(1)).addNotice(any(EmptyFileWarningNotice.class));
+        verifyNoMoreInteractions(mockResultRepo);
+    }
+
+    @Test
+    void headerAndRowIssuesShouldBeReportedFromSinglePass() {
+        final RawFileRepository.RawEntityProvider mockProvider = mock(RawFileRepository.RawEntityProvider.class);
+        when(mockProvider.getHeaders()).thenReturn(List.of(OPTIONAL_HEADER, OPTIONAL_HEADER, "extra"));
+        when(mockProvider.getHeaderCount()).thenReturn(3);
+        when(mockProvider.hasNext()).thenReturn(true, true, true, false);
+        final RawEntity tooShortRawEntity = new RawEntity(new HeaderIndex(List.of(OPTIONAL_HEADER)),
+                new String[]{"a"}, 2);
+        final RawEntity blankRawEntity = new RawEntity(new HeaderIndex(List.of("")), new String[]{""}, 3);
+        when(mockProvider.getNext()).thenReturn(tooShortRawEntity, blankRawEntity);
+
+        final RawFileRepository mockFileRepo = mock(RawFileRepository.class);
+        when(mockFileRepo.getProviderForFile(any(RawFileInfo.class))).thenReturn(Optional.of(mockProvider));
+
+        final GtfsSpecRepository.RawEntityParser mockParser = mock(GtfsSpecRepository.RawEntityParser.class);
+        when(mockParser.parse(eq(tooShortRawEntity), any(), anyCollection())).thenAnswer(invocation -> {
+            final Collection<ErrorNotice> noticeCollection = invocation.getArgument(2);
+            noticeCollection.add(new CannotParseIntegerNotice(FILENAME, OPTIONAL_HEADER, 2, "a"));
+            return mock(ParsedEntity.class);
+        });
+        when(mockParser.parse(eq(blankRawEntity), any(), anyCollection()))
+                .thenThrow(new MalformedCsvRowException(FILENAME));
+
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        final List<ParsedEntity> parsedEntityCollection = new ArrayList<>();
+
+        final ValidateCsvStructureAndTypesForFile underTest = new ValidateCsvStructureAndTypesForFile(
+                RawFileInfo.builder().filename(FILENAME).build(),
+                mockSpecRepo(mockParser),
+                mockFileRepo,
+                mockResultRepo,
+                mock(Logger.class));
+
+        underTest.execute(parsedEntityCollection::add);
+
+        verify(mockFileRepo, times(1)).getProviderForFile(any(RawFileInfo.class));
+        verify(mockResultRepo, times(1)).addNotice(any(DuplicatedHeaderNotice.class));
+        verify(mockResultRepo, times(1)).addNotice(any(MissingHeaderNotice.class));
+        verify(mockResultRepo, times(1)).addNotice(any(NonStandardHeaderNotice.class));
+        verify(mockResultRepo, times(1)).addNotice(any(InvalidRowLengthNotice.class));
+        verify(mockResultRepo, times(1)).addNotice(any(MalformedCsvRowNotice.class));
+        verify(mockResultRepo, times(1)).addNotice(any(CannotParseIntegerNotice.class));
+        verifyNoMoreInteractions(mockResultRepo);
+        assertEquals(1, parsedEntityCollection.size());
+    }
+
+    @Test
+    void chunksShouldBeParsedAndTypeValidatedOnExecutorAndHandedOverInFileOrder() {
+        final RawEntity tooShortRawEntity = new RawEntity(new HeaderIndex(List.of(REQUIRED_HEADER)),
+                new String[]{"a"}, 2);
+        final RawFileRepository.RawEntityProvider mockFirstChunk = mock(RawFileRepository.RawEntityProvider.class);
+        when(mockFirstChunk.hasNext()).thenReturn(true, false);
+        when(mockFirstChunk.getNext()).thenReturn(tooShortRawEntity);
+        final RawEntity validRawEntity = new RawEntity(new HeaderIndex(List.of(REQUIRED_HEADER, OPTIONAL_HEADER)),
+                new String[]{"b", "c"}, 3);
+        final RawFileRepository.RawEntityProvider mockSecondChunk = mock(RawFileRepository.RawEntityProvider.class);
+        when(mockSecondChunk.hasNext()).thenReturn(true, false);
+        when(mockSecondChunk.getNext()).thenReturn(validRawEntity);
+
+        final RawFileRepository.RawEntityProvider mockProvider = mock(RawFileRepository.RawEntityProvider.class);
+        when(mockProvider.getHeaders()).thenReturn(List.of(REQUIRED_HEADER, OPTIONAL_HEADER));
+        when(mockProvider.getHeaderCount()).thenReturn(2);
+        when(mockProvider.hasNext()).thenReturn(true);
+        when(mockProvider.chunkIterator()).thenReturn(List.of(mockFirstChunk, mockSecondChunk).iterator());
+
+        final RawFileRepository mockFileRepo = mock(RawFileRepository.class);
+        when(mockFileRepo.getProviderForFile(any(RawFileInfo.class))).thenReturn(Optional.of(mockProvider));
+
+        final ParsedEntity firstParsedEntity = mock(ParsedEntity.class);
+        final ParsedEntity secondParsedEntity = mock(ParsedEntity.class);
+        // rows are handed over once their chunk has been parsed: snapshots of the parsed entities are handed over
+        final ParsedEntity firstSnapshot = mock(ParsedEntity.class);
+        final ParsedEntity secondSnapshot = mock(ParsedEntity.class);
+        when(firstParsedEntity.snapshot()).thenReturn(firstSnapshot);
+        when(secondParsedEntity.snapshot()).thenReturn(secondSnapshot);
+        final GtfsSpecRepository.RawEntityParser mockParser = mock(GtfsSpecRepository.RawEntityParser.class);
+        when(mockParser.parse(eq(tooShortRawEntity), any(), anyCollection())).thenAnswer(invocation -> {
+            final Collection<ErrorNotice> noticeCollection = invocation.getArgument(2);
+            noticeCollection.add(new CannotParseIntegerNotice(FILENAME, REQUIRED_HEADER, 2, "a"));
+            return firstParsedEntity;
+        });
+        when(mockParser.parse(eq(validRawEntity), any(), anyCollection())).thenReturn(secondParsedEntity);
+
+        final ValidateGtfsTypes mockValidateGtfsTypes = mock(ValidateGtfsTypes.class);
+        doAnswer(invocation -> {
+            final Consumer<Notice> noticeConsumer = invocation.getArgument(1);
+            noticeConsumer.accept(new IntegerFieldValueOutOfRangeNotice(FILENAME, REQUIRED_HEADER, "a", 0, 1, 2));
+            return null;
+        }).when(mockValidateGtfsTypes).execute(eq(firstParsedEntity), any());
+
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        @SuppressWarnings("unchecked") final Consumer<ParsedEntity> mockConsumer = mock(Consumer.class);
+        final ExecutorService readExecutor = Executors.newCachedThreadPool();
+        final ExecutorService chunkExecutor = Executors.newFixedThreadPool(2);
+
+        try {
+            final ValidateCsvStructureAndTypesForFile underTest = new ValidateCsvStructureAndTypesForFile(
+                    RawFileInfo.builder().filename(FILENAME).build(),
+                    mockSpecRepo(mockParser),
+                    mockFileRepo,
+                    mockResultRepo,
+                    mock(Logger.class),
+                    readExecutor,
+                    chunkExecutor,
+                    4);
+
+            underTest.execute(mockValidateGtfsTypes, mockConsumer);
+        } finally {
+            readExecutor.shutdownNow();
+            chunkExecutor.shutdownNow();
+        }
+
+        final InOrder inOrder = inOrder(mockResultRepo, mockConsumer);
+        inOrder.verify(mockResultRepo, times(1)).addNotice(any(InvalidRowLengthNotice.class));
+        inOrder.verify(mockResultRepo, times(1)).addNotice(any(CannotParseIntegerNotice.class));
+        inOrder.verify(mockResultRepo, times(1)).addNotice(any(IntegerFieldValueOutOfRangeNotice.class));
+        inOrder.verify(mockConsumer, times(1)).accept(firstSnapshot);
+        inOrder.verify(mockConsumer, times(1)).accept(secondSnapshot);
+        verifyNoMoreInteractions(mockResultRepo, mockConsumer);
+        verify(mockProvider, never()).getNext();
+    }
+
+    @Test
+    void readerShouldWaitWhenParsedChunksAreNotHandedOver() {
+        final int chunkCount = 10;
+        final AtomicInteger readChunkCount = new AtomicInteger();
+        final Iterator<RawFileRepository.RawEntityProvider> chunkIterator =
+                new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return readChunkCount.get() < chunkCount;
+                    }
+
+                    @Override
+                    public RawFileRepository.RawEntityProvider next() {
+                        final int chunkIndex = readChunkCount.getAndIncrement();
+                        final RawFileRepository.RawEntityProvider mockChunk =
+                                mock(RawFileRepository.RawEntityProvider.class);
+                        when(mockChunk.hasNext()).thenReturn(true, false);
+                        when(mockChunk.getNext())
+                                .thenReturn(new RawEntity(new HeaderIndex(List.of(REQUIRED_HEADER)), new String[]{"a"},
+                                        chunkIndex + 2));
+                        return mockChunk;
+                    }
+                };
+
+        final RawFileRepository.RawEntityProvider mockProvider = mock(RawFileRepository.RawEntityProvider.class);
+        when(mockProvider.getHeaders()).thenReturn(List.of(REQUIRED_HEADER));
+        when(mockProvider.getHeaderCount()).thenReturn(1);
+        when(mockProvider.hasNext()).thenReturn(true);
+        when(mockProvider.chunkIterator()).thenReturn(chunkIterator);
+
+        final RawFileRepository mockFileRepo = mock(RawFileRepository.class);
+        when(mockFileRepo.getProviderForFile(any(RawFileInfo.class))).thenReturn(Optional.of(mockProvider));
+
+        final GtfsSpecRepository.RawEntityParser mockParser = mock(GtfsSpecRepository.RawEntityParser.class);
+        when(mockParser.parse(any(RawEntity.class), any(), anyCollection())).thenAnswer(invocation -> new ParsedEntity(
+                String.valueOf(((RawEntity) invocation.getArgument(0)).getIndex()),
+                new HeaderIndex(List.of()),
+                new Object[0],
+                RawFileInfo.builder().filename(FILENAME).build()));
+
+        final List<String> handedOverIdList = new ArrayList<>();
+        final List<Integer> readChunkCountWhenHandedOverList = new ArrayList<>();
+        final ExecutorService readExecutor = Executors.newCachedThreadPool();
+        final ExecutorService chunkExecutor = Executors.newFixedThreadPool(2);
+
+        try {
+            final ValidateCsvStructureAndTypesForFile underTest = new ValidateCsvStructureAndTypesForFile(
+                    RawFileInfo.builder().filename(FILENAME).build(),
+                    mockSpecRepo(mockParser),
+                    mockFileRepo,
+                    mock(ValidationResultRepository.class),
+                    mock(Logger.class),
+                    readExecutor,
+                    chunkExecutor,
+                    1);
+
+            underTest.execute(parsedEntity -> {
+                if (handedOverIdList.isEmpty()) {
+                    // leaves time to the reader to run ahead as far as it is allowed to
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                readChunkCountWhenHandedOverList.add(readChunkCount.get());
+                handedOverIdList.add(parsedEntity.getEntityId());
+            });
+        } finally {
+            readExecutor.shutdownNow();
+            chunkExecutor.shutdownNow();
+        }
+
+        assertEquals(List.of("2", "3", "4", "5", "6", "7", "8", "9", "10", "11"), handedOverIdList);
+        // the chunk handed over, the one waiting in the queue and the one the reader waits to queue
+        assertTrue(readChunkCountWhenHandedOverList.get(0) <= 3);
+    }
+}
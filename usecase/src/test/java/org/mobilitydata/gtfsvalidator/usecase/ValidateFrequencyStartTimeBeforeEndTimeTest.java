@@ -26,9 +26,7 @@ import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mobilitydata.gtfsvalidator.usecase.utils.TimeUtils;
 import org.mockito.ArgumentCaptor;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
@@ -45,8 +43,7 @@ class ValidateFrequencyStartTimeBeforeEndTimeTest {
         when(mockFrequency.getStartTime()).thenReturn(startTime);
         when(mockFrequency.getEndTime()).thenReturn(endTime);
 
-        final Map<String, Frequency> mockFrequencyCollection = new HashMap<>();
-        mockFrequencyCollection.put(String.valueOf(startTime + endTime), mockFrequency);
+        final List<Frequency> mockFrequencyCollection = List.of(mockFrequency);
 
         final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
         when(mockDataRepo.getFrequencyAll()).thenReturn(mockFrequencyCollection);
@@ -82,8 +79,7 @@ class ValidateFrequencyStartTimeBeforeEndTimeTest {
         when(mockFrequency.getStartTime()).thenReturn(startTime);
         when(mockFrequency.getTripId()).thenReturn("trip_id");
 
-        final Map<String, Frequency> mockFrequencyCollection = new HashMap<>();
-        mockFrequencyCollection.put(String.valueOf(startTime + endTime), mockFrequency);
+        final List<Frequency> mockFrequencyCollection = List.of(mockFrequency);
 
         final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
         when(mockDataRepo.getFrequencyAll()).thenReturn(mockFrequencyCollection);
@@ -26,11 +26,12 @@ import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.BlockTripsWithOverlappingStopTimesNotice;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.info.UnsupportedGtfsStructureNotice;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
+import org.mobilitydata.gtfsvalidator.usecase.port.ServiceCalendar;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mobilitydata.gtfsvalidator.usecase.utils.TimeUtils;
 import org.mockito.ArgumentCaptor;
-import org.mockito.ArgumentMatchers;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -211,42 +212,35 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
                 " overlap'");
 
         verify(mockDataRepo, times(1)).getAllTripByBlockId();
+        verify(mockDataRepo, times(1)).getServiceCalendar();
         verify(mockDataRepo, times(1)).getCalendarAll();
 
-        verify(firstMockTrip, times(4)).getTripId();
-        verify(secondMockTrip, times(4)).getTripId();
-        verify(secondMockTrip, times(1)).hasSameServiceId(firstMockTrip);
-        verify(thirdMockTrip, times(4)).getTripId();
-        verify(thirdMockTrip, times(1)).hasSameServiceId(firstMockTrip);
-        verify(thirdMockTrip, times(1)).hasSameServiceId(secondMockTrip);
+        verify(firstMockTrip, times(2)).getTripId();
+        verify(secondMockTrip, times(2)).getTripId();
+        verify(thirdMockTrip, times(2)).getTripId();
 
         verify(mockDataRepo, times(1)).getStopTimeByTripId("2");
-        verify(mockDataRepo, times(2)).getStopTimeByTripId("5");
-        verify(mockDataRepo, times(3)).getStopTimeByTripId("8");
-
-        verify(firstTripFirstStopTime, times(2)).getArrivalTime();
-        verify(firstTripFirstStopTime, times(2)).getArrivalTime();
+        verify(mockDataRepo, times(1)).getStopTimeByTripId("5");
+        verify(mockDataRepo, times(1)).getStopTimeByTripId("8");
 
-        verify(secondTripFirstStopTime, times(4)).getArrivalTime();
+        verify(firstTripFirstStopTime, times(1)).getArrivalTime();
+        verify(firstTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(thirdTripFirstStopTime, times(6)).getArrivalTime();
+        verify(secondTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(firstTripLastStopTime, times(2)).getDepartureTime();
+        verify(thirdTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(secondTripLastStopTime, times(4)).getDepartureTime();
-        verify(secondTripLastStopTime, times(4)).getDepartureTime();
+        verify(firstTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(thirdTripLastStopTime, times(6)).getDepartureTime();
+        verify(secondTripLastStopTime, times(1)).getDepartureTime();
+        verify(secondTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(mockTimeUtils, times(3))
-                .arePeriodsOverlapping(ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(),
-                        ArgumentMatchers.anyInt());
+        verify(thirdTripLastStopTime, times(1)).getDepartureTime();
 
-        verifyNoInteractions(mockResultRepo);
+        verifyNoInteractions(mockResultRepo, mockTimeUtils);
         verifyNoMoreInteractions(mockLogger, mockDataRepo, firstMockTrip, secondMockTrip, thirdMockTrip,
                 firstTripFirstStopTime, firstTripSecondStopTime, firstTripThirdStopTime, firstTripLastStopTime,
-                secondTripFirstStopTime, secondTripLastStopTime, thirdTripFirstStopTime, thirdTripLastStopTime,
-                mockTimeUtils);
+                secondTripFirstStopTime, secondTripLastStopTime, thirdTripFirstStopTime, thirdTripLastStopTime);
     }
 
     // suppressed warning regarding ignored result of method, since methods are called in assertions
@@ -380,9 +374,6 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
         mockCalendarCollection.put("a", calendarForServiceA);
         mockCalendarCollection.put("b", calendarForServiceB);
         mockCalendarCollection.put("c", calendarForServiceC);
-        when(calendarForServiceA.isOverlapping(calendarForServiceB)).thenReturn(false);
-        when(calendarForServiceA.isOverlapping(calendarForServiceC)).thenReturn(false);
-        when(calendarForServiceB.isOverlapping(calendarForServiceC)).thenReturn(false);
 
         when(calendarForServiceA.getStartDate()).thenReturn(LocalDate.of(2020, 8, 1));
         when(calendarForServiceA.getEndDate()).thenReturn(LocalDate.of(2020, 8, 31));
@@ -390,7 +381,7 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
         when(calendarForServiceB.getEndDate()).thenReturn(LocalDate.of(2020, 9, 30));
         when(calendarForServiceC.getStartDate()).thenReturn(LocalDate.of(2020, 8, 1));
         when(calendarForServiceC.getEndDate()).thenReturn(LocalDate.of(2020, 8, 31));
-        when(calendarForServiceA.getOverlappingDays(calendarForServiceC)).thenReturn(new HashSet<>());
+        final ServiceCalendar mockServiceCalendar = mockServiceCalendar(mockDataRepo, "a", "b", "c");
 
         when(mockDataRepo.getCalendarAll()).thenReturn(mockCalendarCollection);
         when(mockDataRepo.getCalendarByServiceId("a")).thenReturn(calendarForServiceA);
@@ -412,50 +403,34 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
                 " overlap'");
 
         verify(mockDataRepo, times(1)).getAllTripByBlockId();
+        verify(mockDataRepo, times(1)).getServiceCalendar();
 
-        verify(firstMockTrip, times(4)).getTripId();
-        verify(firstMockTrip, times(2)).getServiceId();
+        verify(firstMockTrip, times(2)).getTripId();
         verify(mockDataRepo, times(1)).getStopTimeByTripId("2");
 
-        verify(secondMockTrip, times(4)).getTripId();
-        verify(secondMockTrip, times(2)).getServiceId();
-        verify(secondMockTrip, times(1)).hasSameServiceId(firstMockTrip);
-        verify(mockDataRepo, times(2)).getStopTimeByTripId("5");
+        verify(secondMockTrip, times(2)).getTripId();
+        verify(mockDataRepo, times(1)).getStopTimeByTripId("5");
 
-        verify(thirdMockTrip, times(4)).getTripId();
-        verify(thirdMockTrip, times(2)).getServiceId();
-        verify(thirdMockTrip, times(1)).hasSameServiceId(secondMockTrip);
-        verify(thirdMockTrip, times(1)).hasSameServiceId(firstMockTrip);
-        verify(mockDataRepo, times(3)).getStopTimeByTripId("8");
+        verify(thirdMockTrip, times(2)).getTripId();
+        verify(mockDataRepo, times(1)).getStopTimeByTripId("8");
 
-        verify(firstTripFirstStopTime, times(2)).getArrivalTime();
+        verify(firstTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(firstTripLastStopTime, times(2)).getDepartureTime();
+        verify(firstTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(secondTripFirstStopTime, times(3)).getArrivalTime();
-        verify(secondTripLastStopTime, times(3)).getDepartureTime();
+        verify(secondTripFirstStopTime, times(1)).getArrivalTime();
+        verify(secondTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(thirdTripFirstStopTime, times(4)).getArrivalTime();
-        verify(thirdTripLastStopTime, times(4)).getDepartureTime();
+        verify(thirdTripFirstStopTime, times(1)).getArrivalTime();
+        verify(thirdTripLastStopTime, times(1)).getDepartureTime();
 
         verify(mockDataRepo, times(1)).getCalendarAll();
 
-        verify(mockDataRepo, times(2)).getCalendarByServiceId("a");
-        verify(mockDataRepo, times(2)).getCalendarByServiceId("b");
-        verify(mockDataRepo, times(2)).getCalendarByServiceId("c");
-
-        verify(calendarForServiceA, times(1))
-                .isOverlapping(ArgumentMatchers.eq(calendarForServiceB));
-        verify(calendarForServiceA, times(1))
-                .isOverlapping(ArgumentMatchers.eq(calendarForServiceC));
-        verify(calendarForServiceB, times(1))
-                .isOverlapping(ArgumentMatchers.eq(calendarForServiceC));
-
         verifyNoInteractions(mockResultRepo);
         verifyNoMoreInteractions(mockLogger, mockDataRepo, mockTimeUtils, firstMockTrip, secondMockTrip, thirdMockTrip,
                 firstTripFirstStopTime, firstTripSecondStopTime, firstTripThirdStopTime, firstTripLastStopTime,
                 secondTripFirstStopTime, secondTripLastStopTime, thirdTripFirstStopTime, thirdTripLastStopTime,
-                calendarForServiceA, calendarForServiceB, calendarForServiceC);
+                calendarForServiceA, calendarForServiceB, calendarForServiceC, mockServiceCalendar);
     }
 
     // suppressed warning regarding ignored result of method, since methods are called in assertions
@@ -585,36 +560,7 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
         when(mockDataRepo.getStopTimeByTripId("8")).thenReturn(mockThirdTripStopTimeCollection);
         when(mockDataRepo.getCalendarAll()).thenReturn(new HashMap<>());
 
-        final Map<String, Map<String, CalendarDate>> mockCalendarDateCollection = new HashMap<>();
-        final HashMap<String, CalendarDate> calendarDateCollectionServiceA = new HashMap<>();
-        final HashMap<String, CalendarDate> calendarDateCollectionServiceB = new HashMap<>();
-        final HashMap<String, CalendarDate> calendarDateCollectionServiceC = new HashMap<>();
-        final CalendarDate firstCalendarDateForServiceA = mock(CalendarDate.class);
-        final CalendarDate secondCalendarDateForServiceA = mock(CalendarDate.class);
-        final CalendarDate calendarDateForServiceB = mock(CalendarDate.class);
-        final CalendarDate calendarDateForServiceC = mock(CalendarDate.class);
-
-        calendarDateCollectionServiceA.put("2020-07-23", firstCalendarDateForServiceA);
-        calendarDateCollectionServiceA.put("2020-08-01", secondCalendarDateForServiceA);
-        calendarDateCollectionServiceB.put("2020-09-04", calendarDateForServiceB);
-        calendarDateCollectionServiceC.put("2020-01-08", calendarDateForServiceC);
-
-        when(firstCalendarDateForServiceA.getExceptionType()).thenReturn(ExceptionType.ADDED_SERVICE);
-        when(firstCalendarDateForServiceA.getDate()).thenReturn(LocalDate.of(2020, 7, 23));
-
-        when(secondCalendarDateForServiceA.getExceptionType()).thenReturn(ExceptionType.ADDED_SERVICE);
-        when(secondCalendarDateForServiceA.getDate()).thenReturn(LocalDate.of(2020, 8, 1));
-
-        when(calendarDateForServiceB.getExceptionType()).thenReturn(ExceptionType.REMOVED_SERVICE);
-        when(calendarDateForServiceB.getDate()).thenReturn(LocalDate.of(2020, 9, 4));
-
-        when(calendarDateForServiceC.getExceptionType()).thenReturn(ExceptionType.ADDED_SERVICE);
-        when(calendarDateForServiceC.getDate()).thenReturn(LocalDate.of(2020, 1, 8));
-
-        mockCalendarDateCollection.put("a", calendarDateCollectionServiceA);
-        mockCalendarDateCollection.put("b", calendarDateCollectionServiceB);
-        mockCalendarDateCollection.put("c", calendarDateCollectionServiceC);
-        when(mockDataRepo.getCalendarDateAll()).thenReturn(mockCalendarDateCollection);
+        final ServiceCalendar mockServiceCalendar = mockServiceCalendar(mockDataRepo, "a", "b", "c");
 
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
         final Logger mockLogger = mock(Logger.class);
@@ -629,48 +575,43 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
                 " overlap'");
 
         verify(mockDataRepo, times(1)).getAllTripByBlockId();
+        verify(mockDataRepo, times(1)).getServiceCalendar();
         verify(mockDataRepo, times(1)).getCalendarAll();
 
-        verify(firstMockTrip, times(4)).getTripId();
-        verify(firstMockTrip, times(2)).getServiceId();
+        verify(firstMockTrip, times(2)).getTripId();
+        verify(firstMockTrip, times(1)).getServiceId();
 
-        verify(secondMockTrip, times(4)).getTripId();
-        verify(secondMockTrip, times(2)).getServiceId();
-        verify(secondMockTrip, times(1)).hasSameServiceId(firstMockTrip);
+        verify(secondMockTrip, times(2)).getTripId();
 
-        verify(thirdMockTrip, times(4)).getTripId();
-        verify(thirdMockTrip, times(2)).getServiceId();
+        verify(thirdMockTrip, times(2)).getTripId();
+        verify(thirdMockTrip, times(1)).getServiceId();
         verify(thirdMockTrip, times(1)).hasSameServiceId(firstMockTrip);
-        verify(thirdMockTrip, times(1)).hasSameServiceId(secondMockTrip);
 
         verify(mockDataRepo, times(1)).getStopTimeByTripId("2");
-        verify(mockDataRepo, times(2)).getStopTimeByTripId("5");
-        verify(mockDataRepo, times(3)).getStopTimeByTripId("8");
-        verify(mockDataRepo, times(6)).getCalendarDateAll();
+        verify(mockDataRepo, times(1)).getStopTimeByTripId("5");
+        verify(mockDataRepo, times(1)).getStopTimeByTripId("8");
+        verify(mockDataRepo, times(2)).getServiceIndex();
+        verify(mockServiceCalendar, times(1)).haveCommonDay(0, 2);
 
-        verify(calendarDateForServiceB, times(1)).getExceptionType();
 
-        verify(calendarDateForServiceC, times(2)).getExceptionType();
-        verify(calendarDateForServiceC, times(2)).getDate();
 
-        verify(firstTripFirstStopTime, times(2)).getArrivalTime();
+        verify(firstTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(secondTripFirstStopTime, times(3)).getArrivalTime();
+        verify(secondTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(thirdTripFirstStopTime, times(4)).getArrivalTime();
+        verify(thirdTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(firstTripLastStopTime, times(2)).getDepartureTime();
+        verify(firstTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(secondTripLastStopTime, times(3)).getDepartureTime();
+        verify(secondTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(thirdTripLastStopTime, times(4)).getDepartureTime();
+        verify(thirdTripLastStopTime, times(1)).getDepartureTime();
 
         verifyNoInteractions(mockResultRepo, mockTimeUtils);
         verifyNoMoreInteractions(mockLogger, mockDataRepo, firstMockTrip, secondMockTrip, thirdMockTrip,
                 firstTripFirstStopTime, firstTripSecondStopTime, firstTripThirdStopTime, firstTripLastStopTime,
                 secondTripFirstStopTime, secondTripLastStopTime, thirdTripFirstStopTime, thirdTripLastStopTime,
-                firstCalendarDateForServiceA, secondCalendarDateForServiceA, calendarDateForServiceB,
-                calendarDateForServiceC);
+                mockServiceCalendar);
     }
 
     // suppressed warning regarding ignored result of method, since methods are called in assertions
@@ -798,8 +739,6 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
         when(mockTimeUtils.convertIntegerToHHMMSS(ELEVEN_AM_20_MIN_AS_SECS_BEFORE_NOON)).thenReturn("11:20:00");
         when(mockTimeUtils.convertIntegerToHHMMSS(ELEVEN_AM_40_MIN_AS_SECS_BEFORE_NOON)).thenReturn("11:40:00");
         when(mockTimeUtils.convertIntegerToHHMMSS(1350)).thenReturn("13:50:00");
-        when(mockTimeUtils.arePeriodsOverlapping(FIVE_AM_AS_SECS_BEFORE_NOON, TEN_AM_AS_SECS_BEFORE_NOON,
-                NINE_AM_03_MIN_AS_SECS_BEFORE_NOON, ELEVEN_AM_20_MIN_AS_SECS_BEFORE_NOON)).thenReturn(true);
 
         final ValidateNoOverlappingStopTimeInTripBlock underTest =
                 new ValidateNoOverlappingStopTimeInTripBlock(mockDataRepo, mockResultRepo, mockLogger, mockTimeUtils);
@@ -810,42 +749,38 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
                 " overlap'");
 
         verify(mockDataRepo, times(1)).getAllTripByBlockId();
+        verify(mockDataRepo, times(1)).getServiceCalendar();
 
-        verify(firstMockTrip, times(4)).getTripId();
+        verify(firstMockTrip, times(3)).getTripId();
 
-        verify(secondMockTrip, times(4)).getTripId();
+        verify(secondMockTrip, times(3)).getTripId();
         verify(secondMockTrip, times(1)).hasSameServiceId(firstMockTrip);
 
-        verify(thirdMockTrip, times(4)).getTripId();
-        verify(thirdMockTrip, times(1)).hasSameServiceId(firstMockTrip);
-        verify(thirdMockTrip, times(1)).hasSameServiceId(secondMockTrip);
+        verify(thirdMockTrip, times(2)).getTripId();
 
         verify(mockDataRepo, times(1)).getStopTimeByTripId("2");
-        verify(mockDataRepo, times(2)).getStopTimeByTripId("5");
-        verify(mockDataRepo, times(3)).getStopTimeByTripId("8");
+        verify(mockDataRepo, times(1)).getStopTimeByTripId("5");
+        verify(mockDataRepo, times(1)).getStopTimeByTripId("8");
         verify(mockDataRepo, times(1)).getCalendarAll();
 
-        verify(firstTripFirstStopTime, times(2)).getArrivalTime();
-        verify(firstTripFirstStopTime, times(2)).getArrivalTime();
+        verify(firstTripFirstStopTime, times(1)).getArrivalTime();
+        verify(firstTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(secondTripFirstStopTime, times(4)).getArrivalTime();
+        verify(secondTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(thirdTripFirstStopTime, times(6)).getArrivalTime();
+        verify(thirdTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(firstTripLastStopTime, times(2)).getDepartureTime();
+        verify(firstTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(secondTripLastStopTime, times(4)).getDepartureTime();
-        verify(secondTripLastStopTime, times(4)).getDepartureTime();
+        verify(secondTripLastStopTime, times(1)).getDepartureTime();
+        verify(secondTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(thirdTripLastStopTime, times(6)).getDepartureTime();
+        verify(thirdTripLastStopTime, times(1)).getDepartureTime();
 
         verify(mockTimeUtils, times(1)).convertIntegerToHHMMSS(FIVE_AM_AS_SECS_BEFORE_NOON);
         verify(mockTimeUtils, times(1)).convertIntegerToHHMMSS(TEN_AM_AS_SECS_BEFORE_NOON);
         verify(mockTimeUtils, times(1)).convertIntegerToHHMMSS(NINE_AM_03_MIN_AS_SECS_BEFORE_NOON);
         verify(mockTimeUtils, times(1)).convertIntegerToHHMMSS(ELEVEN_AM_20_MIN_AS_SECS_BEFORE_NOON);
-        verify(mockTimeUtils, times(3))
-                .arePeriodsOverlapping(ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(),
-                        ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
 
         final ArgumentCaptor<BlockTripsWithOverlappingStopTimesNotice> captor =
                 ArgumentCaptor.forClass(BlockTripsWithOverlappingStopTimesNotice.class);
@@ -923,8 +858,6 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
         when(mockTimeUtils.convertIntegerToHHMMSS(TEN_AM_AS_SECS_BEFORE_NOON)).thenReturn("10:00:00");
         when(mockTimeUtils.convertIntegerToHHMMSS(NINE_AM_40_MIN_AS_SECS_BEFORE_NOON)).thenReturn("09:40:00");
         when(mockTimeUtils.convertIntegerToHHMMSS(1350)).thenReturn("13:50:00");
-        when(mockTimeUtils.arePeriodsOverlapping(FIVE_AM_AS_SECS_BEFORE_NOON, TEN_AM_AS_SECS_BEFORE_NOON,
-                NINE_AM_40_MIN_AS_SECS_BEFORE_NOON, 1350)).thenReturn(true);
 
         final Trip firstMockTrip = mock(Trip.class);
         when(firstMockTrip.getTripId()).thenReturn("2");
@@ -1018,9 +951,6 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
         mockCalendarCollection.put("a", calendarForServiceA);
         mockCalendarCollection.put("b", calendarForServiceB);
         mockCalendarCollection.put("c", calendarForServiceC);
-        when(calendarForServiceA.isOverlapping(calendarForServiceB)).thenReturn(false);
-        when(calendarForServiceA.isOverlapping(calendarForServiceC)).thenReturn(true);
-        when(calendarForServiceB.isOverlapping(calendarForServiceC)).thenReturn(false);
 
         when(calendarForServiceA.getStartDate()).thenReturn(LocalDate.of(2020, 8, 1));
         when(calendarForServiceA.getEndDate()).thenReturn(LocalDate.of(2020, 8, 31));
@@ -1028,8 +958,10 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
         when(calendarForServiceB.getEndDate()).thenReturn(LocalDate.of(2020, 9, 30));
         when(calendarForServiceC.getStartDate()).thenReturn(LocalDate.of(2020, 8, 1));
         when(calendarForServiceC.getEndDate()).thenReturn(LocalDate.of(2020, 8, 31));
-        when(calendarForServiceA.getOverlappingDays(calendarForServiceC))
-                .thenReturn(Set.of("tuesday"));
+        final ServiceCalendar mockServiceCalendar = mockServiceCalendar(mockDataRepo, "a", "b", "c");
+        // services a and c both operate on tuesday 2020-08-04
+        when(mockServiceCalendar.haveCommonDay(0, 2)).thenReturn(true);
+        when(mockServiceCalendar.getCommonDays(0, 2)).thenReturn(List.of(LocalDate.of(2020, 8, 4)));
 
         when(mockDataRepo.getCalendarAll()).thenReturn(mockCalendarCollection);
         when(mockDataRepo.getCalendarByServiceId("a")).thenReturn(calendarForServiceA);
@@ -1046,49 +978,42 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
 
         verify(mockDataRepo, times(1)).getCalendarAll();
         verify(mockDataRepo, times(1)).getAllTripByBlockId();
-        verify(mockDataRepo, times(2)).getCalendarByServiceId("a");
-        verify(mockDataRepo, times(2)).getCalendarByServiceId("b");
-        verify(mockDataRepo, times(2)).getCalendarByServiceId("c");
+        verify(mockDataRepo, times(1)).getServiceCalendar();
+        verify(mockDataRepo, times(1)).getCalendarByServiceId("a");
+        verify(mockDataRepo, times(1)).getCalendarByServiceId("c");
 
-        verify(firstMockTrip, times(4)).getTripId();
-        verify(firstMockTrip, times(2)).getServiceId();
+        verify(firstMockTrip, times(3)).getTripId();
+        verify(firstMockTrip, times(1)).getServiceId();
 
-        verify(secondMockTrip, times(4)).getTripId();
-        verify(secondMockTrip, times(2)).getServiceId();
-        verify(secondMockTrip, times(1)).hasSameServiceId(firstMockTrip);
+        verify(secondMockTrip, times(2)).getTripId();
 
-        verify(thirdMockTrip, times(4)).getTripId();
-        verify(thirdMockTrip, times(2)).getServiceId();
+        verify(thirdMockTrip, times(3)).getTripId();
+        verify(thirdMockTrip, times(1)).getServiceId();
         verify(thirdMockTrip, times(1)).hasSameServiceId(firstMockTrip);
-        verify(thirdMockTrip, times(1)).hasSameServiceId(secondMockTrip);
 
         verify(mockDataRepo, times(1)).getStopTimeByTripId("2");
-        verify(mockDataRepo, times(2)).getStopTimeByTripId("5");
-        verify(mockDataRepo, times(3)).getStopTimeByTripId("8");
+        verify(mockDataRepo, times(1)).getStopTimeByTripId("5");
+        verify(mockDataRepo, times(1)).getStopTimeByTripId("8");
 
-        verify(firstTripFirstStopTime, times(2)).getArrivalTime();
+        verify(firstTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(secondTripFirstStopTime, times(3)).getArrivalTime();
+        verify(secondTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(thirdTripFirstStopTime, times(5)).getArrivalTime();
+        verify(thirdTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(firstTripLastStopTime, times(2)).getDepartureTime();
+        verify(firstTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(secondTripLastStopTime, times(3)).getDepartureTime();
+        verify(secondTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(calendarForServiceA, times(1)).isOverlapping(calendarForServiceB);
-        verify(calendarForServiceA, times(1)).isOverlapping(calendarForServiceC);
-        verify(calendarForServiceB, times(1)).isOverlapping(calendarForServiceC);
-        verify(calendarForServiceA, times(2)).getOverlappingDays(calendarForServiceC);
+        verify(mockDataRepo, times(2)).getServiceIndex();
+        verify(mockServiceCalendar, times(1)).haveCommonDay(0, 2);
+        verify(mockServiceCalendar, times(1)).getCommonDays(0, 2);
 
-        verify(thirdTripLastStopTime, times(5)).getDepartureTime();
+        verify(thirdTripLastStopTime, times(1)).getDepartureTime();
         verify(mockTimeUtils, times(1)).convertIntegerToHHMMSS(FIVE_AM_AS_SECS_BEFORE_NOON);
         verify(mockTimeUtils, times(1)).convertIntegerToHHMMSS(TEN_AM_AS_SECS_BEFORE_NOON);
         verify(mockTimeUtils, times(1)).convertIntegerToHHMMSS(NINE_AM_40_MIN_AS_SECS_BEFORE_NOON);
         verify(mockTimeUtils, times(1)).convertIntegerToHHMMSS(1350);
-        verify(mockTimeUtils, times(1))
-                .arePeriodsOverlapping(ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(),
-                        ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
 
         final ArgumentCaptor<BlockTripsWithOverlappingStopTimesNotice> captor =
                 ArgumentCaptor.forClass(BlockTripsWithOverlappingStopTimesNotice.class);
@@ -1113,7 +1038,8 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
         verifyNoMoreInteractions(mockLogger, mockDataRepo, firstMockTrip, secondMockTrip, thirdMockTrip,
                 firstTripFirstStopTime, firstTripSecondStopTime, firstTripThirdStopTime, firstTripLastStopTime,
                 secondTripFirstStopTime, secondTripLastStopTime, thirdTripFirstStopTime, thirdTripLastStopTime,
-                mockResultRepo, calendarForServiceA, calendarForServiceB, calendarForServiceC, mockTimeUtils);
+                mockResultRepo, calendarForServiceA, calendarForServiceB, calendarForServiceC, mockServiceCalendar,
+                mockTimeUtils);
     }
 
     // suppressed warning regarding ignored result of method, since methods are called in assertions
@@ -1246,35 +1172,10 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
         when(mockDataRepo.getStopTimeByTripId("5")).thenReturn(mockSecondTripStopTimeCollection);
         when(mockDataRepo.getStopTimeByTripId("8")).thenReturn(mockThirdTripStopTimeCollection);
 
-        final Map<String, Map<String, CalendarDate>> mockCalendarDateCollection = new HashMap<>();
-        final HashMap<String, CalendarDate> calendarDateCollectionServiceA = new HashMap<>();
-        final HashMap<String, CalendarDate> calendarDateCollectionServiceB = new HashMap<>();
-        final HashMap<String, CalendarDate> calendarDateCollectionServiceC = new HashMap<>();
-        final CalendarDate firstCalendarDateForServiceA = mock(CalendarDate.class);
-        final CalendarDate secondCalendarDateForServiceA = mock(CalendarDate.class);
-        final CalendarDate calendarDateForServiceB = mock(CalendarDate.class);
-        final CalendarDate calendarDateForServiceC = mock(CalendarDate.class);
-        calendarDateCollectionServiceA.put("2020-07-23", firstCalendarDateForServiceA);
-        calendarDateCollectionServiceA.put("2020-08-01", secondCalendarDateForServiceA);
-        calendarDateCollectionServiceB.put("2020-09-04", calendarDateForServiceB);
-        calendarDateCollectionServiceC.put("2020-07-23", calendarDateForServiceC);
-
-        when(firstCalendarDateForServiceA.getExceptionType()).thenReturn(ExceptionType.ADDED_SERVICE);
-        when(firstCalendarDateForServiceA.getDate()).thenReturn(LocalDate.of(2020, 7, 23));
-
-        when(secondCalendarDateForServiceA.getExceptionType()).thenReturn(ExceptionType.ADDED_SERVICE);
-        when(secondCalendarDateForServiceA.getDate()).thenReturn(LocalDate.of(2020, 8, 1));
-
-        when(calendarDateForServiceB.getExceptionType()).thenReturn(ExceptionType.REMOVED_SERVICE);
-        when(calendarDateForServiceB.getDate()).thenReturn(LocalDate.of(2020, 9, 4));
-
-        when(calendarDateForServiceC.getExceptionType()).thenReturn(ExceptionType.ADDED_SERVICE);
-        when(calendarDateForServiceC.getDate()).thenReturn(LocalDate.of(2020, 7, 23));
-
-        mockCalendarDateCollection.put("a", calendarDateCollectionServiceA);
-        mockCalendarDateCollection.put("b", calendarDateCollectionServiceB);
-        mockCalendarDateCollection.put("c", calendarDateCollectionServiceC);
-        when(mockDataRepo.getCalendarDateAll()).thenReturn(mockCalendarDateCollection);
+        final ServiceCalendar mockServiceCalendar = mockServiceCalendar(mockDataRepo, "a", "b", "c");
+        // services a and c are both added on 2020-07-23
+        when(mockServiceCalendar.haveCommonDay(0, 2)).thenReturn(true);
+        when(mockServiceCalendar.getCommonDays(0, 2)).thenReturn(List.of(LocalDate.of(2020, 7, 23)));
 
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
         final Logger mockLogger = mock(Logger.class);
@@ -1283,8 +1184,6 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
         when(mockTimeUtils.convertIntegerToHHMMSS(TEN_AM_AS_SECS_BEFORE_NOON)).thenReturn("10:00:00");
         when(mockTimeUtils.convertIntegerToHHMMSS(NINE_AM_40_MIN_AS_SECS_BEFORE_NOON)).thenReturn("09:40:00");
         when(mockTimeUtils.convertIntegerToHHMMSS(1350)).thenReturn("13:50:00");
-        when(mockTimeUtils.arePeriodsOverlapping(FIVE_AM_AS_SECS_BEFORE_NOON, TEN_AM_AS_SECS_BEFORE_NOON,
-                NINE_AM_40_MIN_AS_SECS_BEFORE_NOON, 1350)).thenReturn(true);
 
         final ValidateNoOverlappingStopTimeInTripBlock underTest =
                 new ValidateNoOverlappingStopTimeInTripBlock(mockDataRepo, mockResultRepo, mockLogger, mockTimeUtils);
@@ -1295,41 +1194,41 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
                 " overlap'");
 
         verify(mockDataRepo, times(1)).getAllTripByBlockId();
+        verify(mockDataRepo, times(1)).getServiceCalendar();
         verify(mockDataRepo, times(1)).getCalendarAll();
 
-        verify(firstMockTrip, times(4)).getTripId();
-        verify(firstMockTrip, times(2)).getServiceId();
+        verify(firstMockTrip, times(3)).getTripId();
+        verify(firstMockTrip, times(1)).getServiceId();
 
-        verify(secondMockTrip, times(4)).getTripId();
-        verify(secondMockTrip, times(2)).getServiceId();
-        verify(secondMockTrip, times(1)).hasSameServiceId(firstMockTrip);
+        verify(secondMockTrip, times(2)).getTripId();
+        verify(secondMockTrip, times(1)).getServiceId();
 
-        verify(thirdMockTrip, times(4)).getTripId();
+        verify(thirdMockTrip, times(3)).getTripId();
         verify(thirdMockTrip, times(2)).getServiceId();
         verify(thirdMockTrip, times(1)).hasSameServiceId(firstMockTrip);
         verify(thirdMockTrip, times(1)).hasSameServiceId(secondMockTrip);
 
         verify(mockDataRepo, times(1)).getStopTimeByTripId("2");
-        verify(mockDataRepo, times(2)).getStopTimeByTripId("5");
-        verify(mockDataRepo, times(3)).getStopTimeByTripId("8");
-        verify(mockDataRepo, times(6)).getCalendarDateAll();
+        verify(mockDataRepo, times(1)).getStopTimeByTripId("5");
+        verify(mockDataRepo, times(1)).getStopTimeByTripId("8");
+        verify(mockDataRepo, times(4)).getServiceIndex();
+        verify(mockServiceCalendar, times(1)).haveCommonDay(0, 2);
+        verify(mockServiceCalendar, times(1)).haveCommonDay(1, 2);
+        verify(mockServiceCalendar, times(1)).getCommonDays(0, 2);
 
-        verify(calendarDateForServiceC, times(3)).getDate();
-        verify(calendarDateForServiceB, times(1)).getExceptionType();
-        verify(calendarDateForServiceC, times(2)).getExceptionType();
 
-        verify(firstTripFirstStopTime, times(2)).getArrivalTime();
+        verify(firstTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(secondTripFirstStopTime, times(3)).getArrivalTime();
+        verify(secondTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(thirdTripFirstStopTime, times(5)).getArrivalTime();
+        verify(thirdTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(firstTripLastStopTime, times(2)).getDepartureTime();
+        verify(firstTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(secondTripLastStopTime, times(3)).getDepartureTime();
-        verify(secondTripLastStopTime, times(3)).getDepartureTime();
+        verify(secondTripLastStopTime, times(1)).getDepartureTime();
+        verify(secondTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(thirdTripLastStopTime, times(5)).getDepartureTime();
+        verify(thirdTripLastStopTime, times(1)).getDepartureTime();
 
         final ArgumentCaptor<BlockTripsWithOverlappingStopTimesNotice> captor =
                 ArgumentCaptor.forClass(BlockTripsWithOverlappingStopTimesNotice.class);
@@ -1355,15 +1254,11 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
         verify(mockTimeUtils, times(1)).convertIntegerToHHMMSS(TEN_AM_AS_SECS_BEFORE_NOON);
         verify(mockTimeUtils, times(1)).convertIntegerToHHMMSS(NINE_AM_40_MIN_AS_SECS_BEFORE_NOON);
         verify(mockTimeUtils, times(1)).convertIntegerToHHMMSS(1350);
-        verify(mockTimeUtils, times(1))
-                .arePeriodsOverlapping(ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(),
-                        ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
 
         verifyNoMoreInteractions(mockLogger, mockDataRepo, mockResultRepo, firstMockTrip, secondMockTrip,
                 thirdMockTrip, firstTripFirstStopTime, firstTripSecondStopTime, firstTripThirdStopTime,
                 firstTripLastStopTime, secondTripFirstStopTime, secondTripLastStopTime, thirdTripFirstStopTime,
-                thirdTripLastStopTime, firstCalendarDateForServiceA, secondCalendarDateForServiceA,
-                calendarDateForServiceB, calendarDateForServiceC, mockTimeUtils);
+                thirdTripLastStopTime, mockServiceCalendar, mockTimeUtils);
     }
 
     // suppressed warning regarding ignored result of method, since methods are called in assertions
@@ -1477,35 +1372,32 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
                 " overlap'");
 
         verify(mockDataRepo, times(1)).getAllTripByBlockId();
+        verify(mockDataRepo, times(1)).getServiceCalendar();
         verify(mockDataRepo, times(1)).getCalendarAll();
 
-        verify(firstMockTrip, times(3)).getTripId();
+        verify(firstMockTrip, times(2)).getTripId();
 
-        verify(secondMockTrip, times(3)).getTripId();
+        verify(secondMockTrip, times(2)).getTripId();
 
-        verify(thirdMockTrip, times(3)).getTripId();
-        verify(thirdMockTrip, times(1)).hasSameServiceId(secondMockTrip);
+        verify(thirdMockTrip, times(2)).getTripId();
 
         verify(mockDataRepo, times(1)).getStopTimeByTripId("2");
         verify(mockDataRepo, times(1)).getStopTimeByTripId("5");
-        verify(mockDataRepo, times(2)).getStopTimeByTripId("8");
+        verify(mockDataRepo, times(1)).getStopTimeByTripId("8");
 
         verify(firstTripFirstStopTime, times(1)).getArrivalTime();
         verify(firstTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(secondTripFirstStopTime, times(2)).getArrivalTime();
+        verify(secondTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(thirdTripFirstStopTime, times(4)).getArrivalTime();
+        verify(thirdTripFirstStopTime, times(1)).getArrivalTime();
 
         verify(firstTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(secondTripLastStopTime, times(2)).getDepartureTime();
+        verify(secondTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(thirdTripLastStopTime, times(4)).getDepartureTime();
+        verify(thirdTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(mockTimeUtils, times(1))
-                .arePeriodsOverlapping(ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(),
-                        ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
 
         verifyNoInteractions(mockResultRepo);
         verifyNoMoreInteractions(mockLogger, mockDataRepo, firstMockTrip, secondMockTrip, thirdMockTrip,
@@ -1624,35 +1516,32 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
                 " overlap'");
 
         verify(mockDataRepo, times(1)).getAllTripByBlockId();
+        verify(mockDataRepo, times(1)).getServiceCalendar();
         verify(mockDataRepo, times(1)).getCalendarAll();
 
-        verify(firstMockTrip, times(3)).getTripId();
+        verify(firstMockTrip, times(2)).getTripId();
 
-        verify(secondMockTrip, times(3)).getTripId();
+        verify(secondMockTrip, times(2)).getTripId();
 
-        verify(thirdMockTrip, times(3)).getTripId();
-        verify(thirdMockTrip, times(1)).hasSameServiceId(secondMockTrip);
+        verify(thirdMockTrip, times(2)).getTripId();
 
         verify(mockDataRepo, times(1)).getStopTimeByTripId("2");
         verify(mockDataRepo, times(1)).getStopTimeByTripId("5");
-        verify(mockDataRepo, times(2)).getStopTimeByTripId("8");
+        verify(mockDataRepo, times(1)).getStopTimeByTripId("8");
 
         verify(firstTripFirstStopTime, times(1)).getArrivalTime();
         verify(firstTripFirstStopTime, times(1)).getArrivalTime();
 
-        verify(thirdTripFirstStopTime, times(4)).getArrivalTime();
+        verify(thirdTripFirstStopTime, times(1)).getArrivalTime();
 
         verify(firstTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(secondTripFirstStopTime, times(2)).getArrivalTime();
-        verify(secondTripLastStopTime, times(2)).getDepartureTime();
-        verify(secondTripLastStopTime, times(2)).getDepartureTime();
+        verify(secondTripFirstStopTime, times(1)).getArrivalTime();
+        verify(secondTripLastStopTime, times(1)).getDepartureTime();
+        verify(secondTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(thirdTripLastStopTime, times(4)).getDepartureTime();
+        verify(thirdTripLastStopTime, times(1)).getDepartureTime();
 
-        verify(mockTimeUtils, times(1))
-                .arePeriodsOverlapping(ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(),
-                        ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
 
         verifyNoInteractions(mockResultRepo);
         verifyNoMoreInteractions(mockLogger, mockDataRepo, firstMockTrip, secondMockTrip, thirdMockTrip,
@@ -1796,19 +1685,19 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
         when(mockDataRepo.getStopTimeByTripId("9")).thenReturn(mockFourthTripStopTimeCollection);
         when(mockDataRepo.getCalendarAll()).thenReturn(new HashMap<>());
 
-        final Map<String, Map<String, CalendarDate>> mockCalendarDateCollection = new HashMap<>();
-        final HashMap<String, CalendarDate> calendarDateCollectionServiceA = new HashMap<>();
-        final HashMap<String, CalendarDate> calendarDateCollectionServiceB = new HashMap<>();
-        final HashMap<String, CalendarDate> calendarDateCollectionServiceC = new HashMap<>();
+        final Map<String, Map<LocalDate, CalendarDate>> mockCalendarDateCollection = new HashMap<>();
+        final HashMap<LocalDate, CalendarDate> calendarDateCollectionServiceA = new HashMap<>();
+        final HashMap<LocalDate, CalendarDate> calendarDateCollectionServiceB = new HashMap<>();
+        final HashMap<LocalDate, CalendarDate> calendarDateCollectionServiceC = new HashMap<>();
         final CalendarDate firstCalendarDateForServiceA = mock(CalendarDate.class);
         final CalendarDate secondCalendarDateForServiceA = mock(CalendarDate.class);
         final CalendarDate calendarDateForServiceB = mock(CalendarDate.class);
         final CalendarDate calendarDateForServiceC = mock(CalendarDate.class);
 
-        calendarDateCollectionServiceA.put("2020-07-23", firstCalendarDateForServiceA);
-        calendarDateCollectionServiceA.put("2020-08-01", secondCalendarDateForServiceA);
-        calendarDateCollectionServiceB.put("2020-09-04", calendarDateForServiceB);
-        calendarDateCollectionServiceC.put("2020-08-20", calendarDateForServiceC);
+        calendarDateCollectionServiceA.put(LocalDate.of(2020, 7, 23), firstCalendarDateForServiceA);
+        calendarDateCollectionServiceA.put(LocalDate.of(2020, 8, 1), secondCalendarDateForServiceA);
+        calendarDateCollectionServiceB.put(LocalDate.of(2020, 9, 4), calendarDateForServiceB);
+        calendarDateCollectionServiceC.put(LocalDate.of(2020, 8, 20), calendarDateForServiceC);
 
         when(firstCalendarDateForServiceA.getExceptionType()).thenReturn(ExceptionType.ADDED_SERVICE);
         when(firstCalendarDateForServiceA.getDate()).thenReturn(LocalDate.of(2020, 7, 23));
@@ -1846,8 +1735,37 @@ class ValidateNoOverlappingStopTimeInTripBlockTest {
         final ArgumentCaptor<UnsupportedGtfsStructureNotice> captor =
                 ArgumentCaptor.forClass(UnsupportedGtfsStructureNotice.class);
 
-        verify(mockResultRepo, times(6)).addNotice(captor.capture());
+        // only trips 8 and 9 overlap in time
+        verify(mockResultRepo, times(1)).addNotice(captor.capture());
+
+        final List<UnsupportedGtfsStructureNotice> noticeList = captor.getAllValues();
+
+        assertEquals("trips.txt", noticeList.get(0).getFilename());
+        assertEquals("8", noticeList.get(0).getNoticeSpecific(Notice.KEY_TRIP_ID));
+        assertEquals("9", noticeList.get(0).getNoticeSpecific(Notice.KEY_OTHER_TRIP_ID));
+        assertEquals("c", noticeList.get(0).getNoticeSpecific(Notice.KEY_SERVICE_ID));
+        assertEquals("d", noticeList.get(0).getNoticeSpecific(Notice.KEY_OTHER_SERVICE_ID));
 
         verifyNoMoreInteractions(mockResultRepo);
     }
+
+    /**
+     * Stubs the service calendar of a mock data repository, designating the service_id values by their position
+     *
+     * @param mockDataRepo the mock data repository
+     * @param serviceIds   the service_id values, in the order of their index
+     * @return the mock service calendar, whose services share no day unless stubbed otherwise
+     */
+    @SuppressWarnings("unchecked")
+    private static ServiceCalendar mockServiceCalendar(final GtfsDataRepository mockDataRepo,
+                                                       final String... serviceIds) {
+        final EntityIndex<Calendar> mockServiceIndex = mock(EntityIndex.class);
+        for (int i = 0; i < serviceIds.length; ++i) {
+            when(mockServiceIndex.indexOf(serviceIds[i])).thenReturn(i);
+        }
+        final ServiceCalendar mockServiceCalendar = mock(ServiceCalendar.class);
+        when(mockDataRepo.getServiceIndex()).thenReturn(mockServiceIndex);
+        when(mockDataRepo.getServiceCalendar()).thenReturn(mockServiceCalendar);
+        return mockServiceCalendar;
+    }
 }
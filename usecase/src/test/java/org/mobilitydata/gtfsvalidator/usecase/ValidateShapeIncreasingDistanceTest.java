@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.DecreasingShapeDistanceNotice;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
@@ -414,4 +415,41 @@ class ValidateShapeIncreasingDistanceTest {
         verifyNoMoreInteractions(firstShapePoint, secondShapePoint, thirdShapePoint,
                 fourthShapePoint, mockResultRepo);
     }
+
+    private static ShapeGeometry createShape(final String shapeId, final Float... shapeDistTraveledArray) {
+        final ShapeGeometry shape = new ShapeGeometry(shapeId);
+        for (int i = 0; i < shapeDistTraveledArray.length; ++i) {
+            shape.addShapePoint(ShapePoint.restore(shapeId, 45.5f, -73.5f, i + 1, shapeDistTraveledArray[i]));
+        }
+        return shape;
+    }
+
+    @Test
+    void increasingDistanceInShapeGeometryWithNullValuesShouldNotGenerateNotice() {
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        final ValidateShapeIncreasingDistance underTest = new ValidateShapeIncreasingDistance();
+
+        underTest.execute(createShape("shape id", 5f, null, 10f, null, 20f), mockResultRepo);
+
+        verifyNoInteractions(mockResultRepo);
+    }
+
+    @Test
+    void decreasingDistanceInShapeGeometryWithNullValuesShouldGenerateErrorNotice() {
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        final ValidateShapeIncreasingDistance underTest = new ValidateShapeIncreasingDistance();
+
+        underTest.execute(createShape("shape id", 5f, 15f, null, 15f, 20f), mockResultRepo);
+
+        final ArgumentCaptor<DecreasingShapeDistanceNotice> captor =
+                ArgumentCaptor.forClass(DecreasingShapeDistanceNotice.class);
+        verify(mockResultRepo, times(1)).addNotice(captor.capture());
+        final DecreasingShapeDistanceNotice notice = captor.getValue();
+        assertEquals("shape id", notice.getEntityId());
+        assertEquals(4, notice.getNoticeSpecific(KEY_SHAPE_PT_SEQUENCE));
+        assertEquals(15f, notice.getNoticeSpecific(KEY_SHAPE_DIST_TRAVELED));
+        assertEquals(2, notice.getNoticeSpecific(KEY_SHAPE_PREVIOUS_SHAPE_PT_SEQUENCE));
+        assertEquals(15f, notice.getNoticeSpecific(KEY_SHAPE_PREVIOUS_SHAPE_DIST_TRAVELED));
+        verifyNoMoreInteractions(mockResultRepo);
+    }
 }
@@ -20,11 +20,8 @@ import org.junit.jupiter.api.Test;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.ShapeNotUsedNotice;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mockito.ArgumentCaptor;
-import org.mockito.ArgumentMatchers;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice.KEY_FIELD_NAME;
@@ -32,24 +29,16 @@ import static org.mockito.Mockito.*;
 
 class ValidateShapeUsageTest {
 
-    // suppressed warning regarding unchecked type since it is not required here
-    @SuppressWarnings("unchecked")
     @Test
     void usedShapeShouldNotGenerateNotice() {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
         final String mockShapeId = "shape id";
-        final Set<String> mockTripShapeIdCollection = mock(HashSet.class);
-        when(mockTripShapeIdCollection.contains(mockShapeId)).thenReturn(true);
 
         final ValidateShapeUsage underTest = new ValidateShapeUsage();
 
-        underTest.execute(mockResultRepo, mockShapeId, mockTripShapeIdCollection);
+        underTest.execute(mockResultRepo, mockShapeId, 2);
 
-        // suppressed warning regarding unused result of method, since this behavior is wanted
-        //noinspection ResultOfMethodCallIgnored
-        verify(mockTripShapeIdCollection, times(1)).contains(ArgumentMatchers.eq(mockShapeId));
         verifyNoInteractions(mockResultRepo);
-        verifyNoMoreInteractions(mockTripShapeIdCollection);
     }
 
     @Test
@@ -57,17 +46,9 @@ class ValidateShapeUsageTest {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
         final String mockShapeId = "shape id";
 
-        // suppressed warning regarding unchecked type since it is not required here
-        @SuppressWarnings("unchecked") final Set<String> mockTripShapeIdCollection = mock(HashSet.class);
-        when(mockTripShapeIdCollection.contains(mockShapeId)).thenReturn(false);
-
         final ValidateShapeUsage underTest = new ValidateShapeUsage();
 
-        underTest.execute(mockResultRepo, mockShapeId, mockTripShapeIdCollection);
-
-        // suppressed warning regarding unused result of method, since this behavior is wanted
-        //noinspection ResultOfMethodCallIgnored
-        verify(mockTripShapeIdCollection, times(1)).contains(ArgumentMatchers.eq(mockShapeId));
+        underTest.execute(mockResultRepo, mockShapeId, 0);
 
         final ArgumentCaptor<ShapeNotUsedNotice> captor = ArgumentCaptor.forClass(ShapeNotUsedNotice.class);
 
@@ -79,6 +60,6 @@ class ValidateShapeUsageTest {
         assertEquals("shape_id", noticeList.get(0).getNoticeSpecific(KEY_FIELD_NAME));
         assertEquals("shape id", noticeList.get(0).getEntityId());
 
-        verifyNoMoreInteractions(mockResultRepo, mockTripShapeIdCollection);
+        verifyNoMoreInteractions(mockResultRepo);
     }
 }
@@ -29,6 +29,7 @@ import org.mockito.ArgumentCaptor;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -46,7 +47,7 @@ class ValidateStopTimeDepartureTimeAfterArrivalTimeTest {
         when(mockStopTime.getArrivalTime()).thenReturn(arrivalTime);
         when(mockStopTime.getDepartureTime()).thenReturn(departureTime);
 
-        final Map<String, TreeMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
+        final Map<String, SortedMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
         final TreeMap<Integer, StopTime> mockStopTimeEntry = new TreeMap<>();
         final Integer stopSequence = 0;
         mockStopTimeEntry.put(stopSequence, mockStopTime);
@@ -85,7 +86,7 @@ class ValidateStopTimeDepartureTimeAfterArrivalTimeTest {
         when(mockStopTime.getArrivalTime()).thenReturn(arrivalTime);
         when(mockStopTime.getDepartureTime()).thenReturn(departureTime);
 
-        final Map<String, TreeMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
+        final Map<String, SortedMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
         final TreeMap<Integer, StopTime> mockStopTimeEntry = new TreeMap<>();
         final Integer stopSequence = 0;
         mockStopTimeEntry.put(stopSequence, mockStopTime);
@@ -147,7 +148,7 @@ class ValidateStopTimeDepartureTimeAfterArrivalTimeTest {
         when(mockStopTime.getArrivalTime()).thenReturn(arrivalTime);
         when(mockStopTime.getDepartureTime()).thenReturn(departureTime);
 
-        final Map<String, TreeMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
+        final Map<String, SortedMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
         final TreeMap<Integer, StopTime> mockStopTimeEntry = new TreeMap<>();
         final Integer stopSequence = 0;
         mockStopTimeEntry.put(stopSequence, mockStopTime);
@@ -186,7 +187,7 @@ class ValidateStopTimeDepartureTimeAfterArrivalTimeTest {
         when(mockStopTime.getArrivalTime()).thenReturn(arrivalTime);
         when(mockStopTime.getDepartureTime()).thenReturn(departureTime);
 
-        final Map<String, TreeMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
+        final Map<String, SortedMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
         final TreeMap<Integer, StopTime> mockStopTimeEntry = new TreeMap<>();
         final Integer stopSequence = 0;
         mockStopTimeEntry.put(stopSequence, mockStopTime);
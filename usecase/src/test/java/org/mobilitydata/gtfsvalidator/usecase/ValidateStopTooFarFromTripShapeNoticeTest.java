@@ -18,6 +18,7 @@ package org.mobilitydata.gtfsvalidator.usecase;
 
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.LocationBase;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.StopOrPlatform;
@@ -25,6 +26,7 @@ import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.StopTooFarFromTripShapeNotice;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mobilitydata.gtfsvalidator.usecase.utils.GeospatialUtils;
@@ -110,7 +112,7 @@ class ValidateStopTooFarFromTripShapeNoticeTest {
         // Map containing StopTime entities. Entities are mapped on keys from GTFS file stop_times.txt:
         // - trip_id
         // - stop_sequence
-        final Map<String, TreeMap<Integer, StopTime>> stopTimeCollection = new HashMap<>(1);
+        final Map<String, SortedMap<Integer, StopTime>> stopTimeCollection = new HashMap<>(1);
         final TreeMap<Integer, StopTime> stopTimes = new TreeMap<>(Map.of(1, stopTime1, 2, stopTime2));
         stopTimeCollection.put(tripId, stopTimes);
 
@@ -118,13 +120,19 @@ class ValidateStopTooFarFromTripShapeNoticeTest {
         final Map<String, LocationBase> stopPerId = new HashMap<>(Map.of(stopId1, stop1, stopId2, stop2));
 
         // Entities are keyed on shape_pt_sequence of GTFS file shapes.txt
-        SortedMap<Integer, ShapePoint> points = new TreeMap<>(Map.of(1, pt1, 2, pt2, 3, pt3, 4, pt4, 5, pt5));
+        final ShapeGeometry points = new ShapeGeometry(shapeId);
+        List.of(pt1, pt2, pt3, pt4, pt5).forEach(points::addShapePoint);
+        clearInvocations(pt1, pt2, pt3, pt4, pt5);
 
+        @SuppressWarnings("unchecked") final EntityIndex<ShapeGeometry> mockShapeIndex = mock(EntityIndex.class);
+        @SuppressWarnings("unchecked") final EntityIndex<LocationBase> mockStopIndex = mock(EntityIndex.class);
         final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
         when(mockDataRepo.getStopAll()).thenReturn(stopPerId);
         when(mockDataRepo.getStopTimeAll()).thenReturn(stopTimeCollection);
         when(mockDataRepo.getTripById(tripId)).thenReturn(trip);
         when(mockDataRepo.getShapeById(shapeId)).thenReturn(points);
+        when(mockDataRepo.getShapeIndex()).thenReturn(mockShapeIndex);
+        when(mockDataRepo.getStopIndex()).thenReturn(mockStopIndex);
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
         final Logger mockLogger = mock(Logger.class);
         final GeospatialUtils mockGeoUtil = mock(GeospatialUtils.class);
@@ -136,14 +144,19 @@ class ValidateStopTooFarFromTripShapeNoticeTest {
         underTest.execute();
         verify(mockLogger, times(1)).info("Validating rule 'E052 - Stop too far from trip shape'");
 
-        verify(mockGeoUtil, times(1)).checkStopsWithinTripShape(trip, stopTimes, points, stopPerId, new HashSet<>());
+        verify(mockGeoUtil, times(1)).checkStopsWithinTripShape(eq(trip), eq(stopTimes), eq(points), eq(stopPerId),
+                any(), any());
+        verify(mockGeoUtil, times(1)).createShapeBufferCache();
 
         verify(mockDataRepo, times(1)).getStopTimeAll();
         verify(mockDataRepo, times(1)).getShapeById(shapeId);
         verify(mockDataRepo, times(1)).getTripById(tripId);
         verify(mockDataRepo, times(1)).getStopAll();
+        verify(mockDataRepo, times(1)).getShapeIndex();
+        verify(mockDataRepo, times(1)).getStopIndex();
+        verify(mockShapeIndex, times(1)).indexOf(shapeId);
 
-        verify(trip, times(2)).getShapeId();
+        verify(trip, times(1)).getShapeId();
 
         verifyNoMoreInteractions(stop1);
         verifyNoMoreInteractions(stop2);
@@ -238,7 +251,7 @@ class ValidateStopTooFarFromTripShapeNoticeTest {
         // Map containing StopTime entities. Entities are mapped on keys from GTFS file stop_times.txt:
         // - trip_id
         // - stop_sequence
-        final Map<String, TreeMap<Integer, StopTime>> stopTimeCollection = new HashMap<>(1);
+        final Map<String, SortedMap<Integer, StopTime>> stopTimeCollection = new HashMap<>(1);
         final TreeMap<Integer, StopTime> stopTimes = new TreeMap<>(Map.of(1, stopTime1, 2, stopTime2, 3, stopTime3));
         stopTimeCollection.put(tripId, stopTimes);
 
@@ -246,17 +259,22 @@ class ValidateStopTooFarFromTripShapeNoticeTest {
         final Map<String, LocationBase> stopPerId = new HashMap<>(Map.of(stopId1, stop1, stopId2, stop2, stopId3, stop3));
 
         // Entities are keyed on shape_pt_sequence of GTFS file shapes.txt
-        SortedMap<Integer, ShapePoint> points = new TreeMap<>(Map.of(1, pt1, 2, pt2, 3, pt3, 4, pt4, 5, pt5));
+        final ShapeGeometry points = new ShapeGeometry(shapeId);
+        List.of(pt1, pt2, pt3, pt4, pt5).forEach(points::addShapePoint);
+        clearInvocations(pt1, pt2, pt3, pt4, pt5);
 
+        @SuppressWarnings("unchecked") final EntityIndex<ShapeGeometry> mockShapeIndex = mock(EntityIndex.class);
+        @SuppressWarnings("unchecked") final EntityIndex<LocationBase> mockStopIndex = mock(EntityIndex.class);
         final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
         when(mockDataRepo.getStopAll()).thenReturn(stopPerId);
         when(mockDataRepo.getStopTimeAll()).thenReturn(stopTimeCollection);
         when(mockDataRepo.getTripById(tripId)).thenReturn(trip);
         when(mockDataRepo.getShapeById(shapeId)).thenReturn(points);
+        when(mockDataRepo.getShapeIndex()).thenReturn(mockShapeIndex);
+        when(mockDataRepo.getStopIndex()).thenReturn(mockStopIndex);
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
         final Logger mockLogger = mock(Logger.class);
         final GeospatialUtils mockGeoUtil = mock(GeospatialUtils.class);
-        Set<String> testedCache = new HashSet<>();
         StopTooFarFromTripShapeNotice stopTooFarFromTripShapeNotice = new StopTooFarFromTripShapeNotice(
                 stopId3,
                 3,
@@ -264,11 +282,12 @@ class ValidateStopTooFarFromTripShapeNoticeTest {
                 "shape1",
                 TRIP_BUFFER_METERS);
         // Mock a call to the GeospatialUtils implementation and an error response
-        when(mockGeoUtil.checkStopsWithinTripShape(trip,
-                stopTimes,
-                points,
-                stopPerId,
-                testedCache)).thenReturn(List.of(stopTooFarFromTripShapeNotice));
+        when(mockGeoUtil.checkStopsWithinTripShape(eq(trip),
+                eq(stopTimes),
+                eq(points),
+                eq(stopPerId),
+                any(),
+                any())).thenReturn(List.of(stopTooFarFromTripShapeNotice));
 
         final ValidateStopTooFarFromTripShape underTest =
                 new ValidateStopTooFarFromTripShape(mockDataRepo, mockResultRepo,
@@ -277,12 +296,17 @@ class ValidateStopTooFarFromTripShapeNoticeTest {
         underTest.execute();
         verify(mockLogger, times(1)).info("Validating rule 'E052 - Stop too far from trip shape'");
 
-        verify(mockGeoUtil, times(1)).checkStopsWithinTripShape(trip, stopTimes, points, stopPerId, testedCache);
+        verify(mockGeoUtil, times(1)).checkStopsWithinTripShape(eq(trip), eq(stopTimes), eq(points), eq(stopPerId),
+                any(), any());
+        verify(mockGeoUtil, times(1)).createShapeBufferCache();
 
         verify(mockDataRepo, times(1)).getStopTimeAll();
         verify(mockDataRepo, times(1)).getShapeById(shapeId);
         verify(mockDataRepo, times(1)).getTripById(tripId);
         verify(mockDataRepo, times(1)).getStopAll();
+        verify(mockDataRepo, times(1)).getShapeIndex();
+        verify(mockDataRepo, times(1)).getStopIndex();
+        verify(mockShapeIndex, times(1)).indexOf(shapeId);
 
         final ArgumentCaptor<StopTooFarFromTripShapeNotice> captor =
                 ArgumentCaptor.forClass(StopTooFarFromTripShapeNotice.class);
@@ -307,7 +331,7 @@ class ValidateStopTooFarFromTripShapeNoticeTest {
         assertEquals("stop_sequence", noticeList.get(0).getNoticeSpecific(Notice.KEY_COMPOSITE_KEY_FOURTH_PART));
         assertEquals(3, noticeList.get(0).getNoticeSpecific(Notice.KEY_COMPOSITE_KEY_FOURTH_VALUE));
 
-        verify(trip, times(2)).getShapeId();
+        verify(trip, times(1)).getShapeId();
 
         verifyNoMoreInteractions(stop1);
         verifyNoMoreInteractions(stop2);
@@ -57,25 +57,16 @@ class ValidateTripFrequenciesOverlapTest {
         when(mockTimeUtil.convertIntegerToHHMMSS(1800)).thenReturn("1800");
         when(mockTimeUtil.convertIntegerToHHMMSS(1544)).thenReturn("1544");
         when(mockTimeUtil.convertIntegerToHHMMSS(2143)).thenReturn("2143");
-        when(mockTimeUtil.arePeriodsOverlapping(1200, 1800,
-                1544, 2143)).thenReturn(true);
-        when(mockTimeUtil.arePeriodsOverlapping(1200, 1800,
-                344, 845)).thenReturn(false);
-        when(mockTimeUtil.arePeriodsOverlapping(1544, 2143,
-                344, 845)).thenReturn(false);
 
         final Frequency firstFrequency = mock(Frequency.class);
         when(firstFrequency.getStartTime()).thenReturn(1200);
         when(firstFrequency.getEndTime()).thenReturn(1800);
-        when(firstFrequency.getFrequencyMappingKey()).thenReturn("121200");
         final Frequency secondFrequency = mock(Frequency.class);
         when(secondFrequency.getStartTime()).thenReturn(1544);
         when(secondFrequency.getEndTime()).thenReturn(2143);
-        when(secondFrequency.getFrequencyMappingKey()).thenReturn("121544");
         final Frequency thirdFrequency = mock(Frequency.class);
         when(thirdFrequency.getStartTime()).thenReturn(344);
         when(thirdFrequency.getEndTime()).thenReturn(845);
-        when(thirdFrequency.getFrequencyMappingKey()).thenReturn("120344");
 
         final Map<String, List<Frequency>> frequenciesPerTripIdCollection = new HashMap<>();
         final List<Frequency> tripFrequencyCollection = new ArrayList<>();
@@ -93,31 +84,19 @@ class ValidateTripFrequenciesOverlapTest {
         verify(mockLogger, times(1)).info("Validating rule 'E053 - Trip frequencies overlap'");
 
         verify(mockDataRepo, times(1)).getFrequencyAllByTripId();
-        verify(firstFrequency, times(4)).getFrequencyMappingKey();
-        verify(firstFrequency, times(2)).getStartTime();
-        verify(firstFrequency, times(2)).getEndTime();
+        verify(firstFrequency, times(1)).getStartTime();
+        verify(firstFrequency, times(1)).getEndTime();
 
-        verify(secondFrequency, times(4)).getFrequencyMappingKey();
-        verify(secondFrequency, times(4)).getStartTime();
-        verify(secondFrequency, times(4)).getEndTime();
+        verify(secondFrequency, times(1)).getStartTime();
+        verify(secondFrequency, times(1)).getEndTime();
 
-        verify(thirdFrequency, times(4)).getFrequencyMappingKey();
-        verify(thirdFrequency, times(6)).getEndTime();
-        verify(thirdFrequency, times(6)).getStartTime();
+        verify(thirdFrequency, times(1)).getEndTime();
+        verify(thirdFrequency, times(1)).getStartTime();
 
         verify(mockTimeUtil, times(1)).convertIntegerToHHMMSS(1200);
         verify(mockTimeUtil, times(1)).convertIntegerToHHMMSS(1800);
         verify(mockTimeUtil, times(1)).convertIntegerToHHMMSS(1544);
         verify(mockTimeUtil, times(1)).convertIntegerToHHMMSS(2143);
-        verify(mockTimeUtil, times(1))
-                .arePeriodsOverlapping(1200, 1800,
-                        1544, 2143);
-        verify(mockTimeUtil, times(1))
-                .arePeriodsOverlapping(1200, 1800,
-                        344, 845);
-        verify(mockTimeUtil, times(1))
-                .arePeriodsOverlapping(1544, 2143,
-                        344, 845);
 
         final ArgumentCaptor<OverlappingTripFrequenciesNotice> captor =
                 ArgumentCaptor.forClass(OverlappingTripFrequenciesNotice.class);
@@ -155,27 +134,16 @@ class ValidateTripFrequenciesOverlapTest {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
         final Logger mockLogger = mock(Logger.class);
         final TimeUtils mockTimeUtil = mock(TimeUtils.class);
-        // the implementation of time utility class is tested in:
-        // org.mobilitydata.gtfsvalidator.usecase.utils.test.TimeUtilsImplTest
-        when(mockTimeUtil.arePeriodsOverlapping(1200, 1800,
-                2143, 2200)).thenReturn(false);
-        when(mockTimeUtil.arePeriodsOverlapping(1200, 1800,
-                344, 845)).thenReturn(false);
-        when(mockTimeUtil.arePeriodsOverlapping(2143, 2200,
-                344, 845)).thenReturn(false);
 
         final Frequency firstFrequency = mock(Frequency.class);
         when(firstFrequency.getStartTime()).thenReturn(1200);
         when(firstFrequency.getEndTime()).thenReturn(1800);
-        when(firstFrequency.getFrequencyMappingKey()).thenReturn("121200");
         final Frequency secondFrequency = mock(Frequency.class);
         when(secondFrequency.getStartTime()).thenReturn(2143);
         when(secondFrequency.getEndTime()).thenReturn(2200);
-        when(secondFrequency.getFrequencyMappingKey()).thenReturn("122143");
         final Frequency thirdFrequency = mock(Frequency.class);
         when(thirdFrequency.getStartTime()).thenReturn(344);
         when(thirdFrequency.getEndTime()).thenReturn(845);
-        when(thirdFrequency.getFrequencyMappingKey()).thenReturn("12344");
 
         final Map<String, List<Frequency>> frequenciesPerTripIdCollection = new HashMap<>();
         final List<Frequency> tripFrequencyCollection = new ArrayList<>();
@@ -193,27 +161,14 @@ class ValidateTripFrequenciesOverlapTest {
         verify(mockLogger, times(1)).info("Validating rule 'E053 - Trip frequencies overlap'");
 
         verify(mockDataRepo, times(1)).getFrequencyAllByTripId();
-        verify(firstFrequency, times(4)).getFrequencyMappingKey();
-        verify(firstFrequency, times(2)).getStartTime();
-        verify(firstFrequency, times(2)).getEndTime();
-
-        verify(secondFrequency, times(4)).getFrequencyMappingKey();
-        verify(secondFrequency, times(4)).getStartTime();
-        verify(secondFrequency, times(4)).getEndTime();
-
-        verify(thirdFrequency, times(4)).getFrequencyMappingKey();
-        verify(thirdFrequency, times(6)).getEndTime();
-        verify(thirdFrequency, times(6)).getStartTime();
-
-        verify(mockTimeUtil, times(1))
-                .arePeriodsOverlapping(1200, 1800,
-                        2143, 2200);
-        verify(mockTimeUtil, times(1))
-                .arePeriodsOverlapping(1200, 1800,
-                        344, 845);
-        verify(mockTimeUtil, times(1))
-                .arePeriodsOverlapping(2143, 2200,
-                        344, 845);
+        verify(firstFrequency, times(1)).getStartTime();
+        verify(firstFrequency, times(1)).getEndTime();
+
+        verify(secondFrequency, times(1)).getStartTime();
+        verify(secondFrequency, times(1)).getEndTime();
+
+        verify(thirdFrequency, times(1)).getEndTime();
+        verify(thirdFrequency, times(1)).getStartTime();
 
         verifyNoInteractions(mockResultRepo);
         verifyNoMoreInteractions(mockDataRepo, mockLogger, mockResultRepo, mockTimeUtil, firstFrequency,
@@ -241,15 +196,12 @@ class ValidateTripFrequenciesOverlapTest {
         final Frequency firstFrequency = mock(Frequency.class);
         when(firstFrequency.getStartTime()).thenReturn(1200);
         when(firstFrequency.getEndTime()).thenReturn(1800);
-        when(firstFrequency.getFrequencyMappingKey()).thenReturn("121200");
         final Frequency secondFrequency = mock(Frequency.class);
         when(secondFrequency.getStartTime()).thenReturn(2143);
         when(secondFrequency.getEndTime()).thenReturn(1805);
-        when(secondFrequency.getFrequencyMappingKey()).thenReturn("122143");
         final Frequency thirdFrequency = mock(Frequency.class);
         when(thirdFrequency.getStartTime()).thenReturn(344);
         when(thirdFrequency.getEndTime()).thenReturn(845);
-        when(thirdFrequency.getFrequencyMappingKey()).thenReturn("12344");
 
         final Map<String, List<Frequency>> frequenciesPerTripIdCollection = new HashMap<>();
         final List<Frequency> tripFrequencyCollection = new ArrayList<>();
@@ -267,23 +219,74 @@ class ValidateTripFrequenciesOverlapTest {
         verify(mockLogger, times(1)).info("Validating rule 'E053 - Trip frequencies overlap'");
 
         verify(mockDataRepo, times(1)).getFrequencyAllByTripId();
-        verify(firstFrequency, times(3)).getFrequencyMappingKey();
-        verify(firstFrequency, times(2)).getStartTime();
-        verify(firstFrequency, times(2)).getEndTime();
+        verify(firstFrequency, times(1)).getStartTime();
+        verify(firstFrequency, times(1)).getEndTime();
 
-        verify(secondFrequency, times(3)).getFrequencyMappingKey();
-        verify(secondFrequency, times(4)).getStartTime();
-        verify(secondFrequency, times(4)).getEndTime();
+        verify(secondFrequency, times(1)).getStartTime();
+        verify(secondFrequency, times(1)).getEndTime();
 
-        verify(thirdFrequency, times(3)).getFrequencyMappingKey();
-        verify(thirdFrequency, times(4)).getEndTime();
-        verify(thirdFrequency, times(4)).getStartTime();
+        verify(thirdFrequency, times(1)).getEndTime();
+        verify(thirdFrequency, times(1)).getStartTime();
 
-        verify(mockTimeUtil, times(1))
-                .arePeriodsOverlapping(1200, 1800,
-                        344, 845);
         verifyNoInteractions(mockResultRepo);
         verifyNoMoreInteractions(mockDataRepo, mockLogger, firstFrequency, secondFrequency, thirdFrequency,
                 mockTimeUtil);
     }
+
+    // suppressed warning regarding ignored result of method since it is not necessary here
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    @Test
+    void overlappingFrequenciesShouldGenerateNoticesInTheOrderOfFrequencies() {
+        // frequencies.txt
+        // | trip_id | start_time | end_time | headway_secs | exact_time |
+        // |---------|------------|----------|--------------|------------|
+        // | 12      | 15:00      | 17:00    | 600          | 0          |
+        // | 12      | 12:00      | 16:00    | 400          | 1          | this row overlaps with the first one
+        // | 12      | 16:00      | 18:00    | 200          | 0          | this row overlaps with the first one
+        // the second and third rows share a bound: they do not overlap
+
+        final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        final Logger mockLogger = mock(Logger.class);
+        final TimeUtils mockTimeUtil = mock(TimeUtils.class);
+        when(mockTimeUtil.convertIntegerToHHMMSS(anyInt()))
+                .thenAnswer(invocation -> String.valueOf((int) invocation.getArgument(0)));
+
+        final Frequency firstFrequency = mock(Frequency.class);
+        when(firstFrequency.getStartTime()).thenReturn(1500);
+        when(firstFrequency.getEndTime()).thenReturn(1700);
+        final Frequency secondFrequency = mock(Frequency.class);
+        when(secondFrequency.getStartTime()).thenReturn(1200);
+        when(secondFrequency.getEndTime()).thenReturn(1600);
+        final Frequency thirdFrequency = mock(Frequency.class);
+        when(thirdFrequency.getStartTime()).thenReturn(1600);
+        when(thirdFrequency.getEndTime()).thenReturn(1800);
+
+        final Map<String, List<Frequency>> frequenciesPerTripIdCollection = new HashMap<>();
+        frequenciesPerTripIdCollection.put("12", List.of(firstFrequency, secondFrequency, thirdFrequency));
+        when(mockDataRepo.getFrequencyAllByTripId()).thenReturn(frequenciesPerTripIdCollection);
+
+        final ValidateTripFrequenciesOverlap underTest =
+                new ValidateTripFrequenciesOverlap(mockDataRepo, mockResultRepo, mockTimeUtil, mockLogger);
+
+        underTest.execute();
+
+        final ArgumentCaptor<OverlappingTripFrequenciesNotice> captor =
+                ArgumentCaptor.forClass(OverlappingTripFrequenciesNotice.class);
+
+        verify(mockResultRepo, times(2)).addNotice(captor.capture());
+
+        final List<OverlappingTripFrequenciesNotice> noticeList = captor.getAllValues();
+
+        assertEquals("1200", noticeList.get(0).getNoticeSpecific(Notice.KEY_FREQUENCY_START_TIME));
+        assertEquals("1600", noticeList.get(0).getNoticeSpecific(Notice.KEY_FREQUENCY_END_TIME));
+        assertEquals("1500", noticeList.get(0).getNoticeSpecific(Notice.KEY_PREVIOUS_FREQUENCY_START_TIME));
+        assertEquals("1700", noticeList.get(0).getNoticeSpecific(Notice.KEY_PREVIOUS_FREQUENCY_END_TIME));
+        assertEquals("1600", noticeList.get(1).getNoticeSpecific(Notice.KEY_FREQUENCY_START_TIME));
+        assertEquals("1800", noticeList.get(1).getNoticeSpecific(Notice.KEY_FREQUENCY_END_TIME));
+        assertEquals("1500", noticeList.get(1).getNoticeSpecific(Notice.KEY_PREVIOUS_FREQUENCY_START_TIME));
+        assertEquals("1700", noticeList.get(1).getNoticeSpecific(Notice.KEY_PREVIOUS_FREQUENCY_END_TIME));
+
+        verifyNoMoreInteractions(mockResultRepo);
+    }
 }
@@ -29,6 +29,7 @@ import org.mockito.ArgumentMatchers;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -55,7 +56,7 @@ class ValidateTripNumberOfStopsTest {
         when(mockDataRepo.getTripAll()).thenReturn(mockTripCollection);
         when(mockDataRepo.getStopTimeByTripId(ArgumentMatchers.eq("trip id"))).thenReturn(mockStopTimeSequence);
 
-        final Map<String, TreeMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
+        final Map<String, SortedMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
         final TreeMap<Integer, StopTime> innerStopTimeMap = new TreeMap<>();
         mockStopTimeCollection.put("trip id", innerStopTimeMap);
         when(mockDataRepo.getStopTimeAll()).thenReturn(mockStopTimeCollection);
@@ -93,7 +94,7 @@ class ValidateTripNumberOfStopsTest {
         when(mockDataRepo.getTripAll()).thenReturn(mockTripCollection);
         when(mockDataRepo.getStopTimeByTripId(ArgumentMatchers.eq("trip id"))).thenReturn(mockStopTimeSequence);
 
-        final Map<String, TreeMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
+        final Map<String, SortedMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
         final TreeMap<Integer, StopTime> innerStopTimeMap = new TreeMap<>();
         mockStopTimeCollection.put("trip id", innerStopTimeMap);
         when(mockDataRepo.getStopTimeAll()).thenReturn(mockStopTimeCollection);
@@ -26,6 +26,7 @@ import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mockito.ArgumentCaptor;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -53,9 +54,9 @@ class ValidateTripServiceIdTest {
         final Map<String, Trip> mockTripCollection = new HashMap<>();
         mockTripCollection.put("trip id", mockTrip);
 
-        final Map<String, Map<String, CalendarDate>> mockCalendarDateCollection = new HashMap<>();
-        final Map<String, CalendarDate> innerMap = new HashMap<>();
-        innerMap.put("date", mockCalendarDate);
+        final Map<String, Map<LocalDate, CalendarDate>> mockCalendarDateCollection = new HashMap<>();
+        final Map<LocalDate, CalendarDate> innerMap = new HashMap<>();
+        innerMap.put(LocalDate.of(2020, 1, 1), mockCalendarDate);
         mockCalendarDateCollection.put("other service id", innerMap);
 
         final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
@@ -98,9 +99,9 @@ class ValidateTripServiceIdTest {
         final Map<String, Trip> mockTripCollection = new HashMap<>();
         mockTripCollection.put("trip id", mockTrip);
 
-        final Map<String, Map<String, CalendarDate>> mockCalendarDateCollection = new HashMap<>();
-        final Map<String, CalendarDate> innerMap = new HashMap<>();
-        innerMap.put("date", mockCalendarDate);
+        final Map<String, Map<LocalDate, CalendarDate>> mockCalendarDateCollection = new HashMap<>();
+        final Map<LocalDate, CalendarDate> innerMap = new HashMap<>();
+        innerMap.put(LocalDate.of(2020, 1, 1), mockCalendarDate);
         mockCalendarDateCollection.put("service id", innerMap);
 
         final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
@@ -140,12 +141,12 @@ class ValidateTripServiceIdTest {
         final Map<String, Calendar> mockCalendarCollection = new HashMap<>();
         mockCalendarCollection.put("service id", mockCalendar);
 
-        final Map<String, CalendarDate> innerMap = new HashMap<>();
-        innerMap.put("date", mockCalendarDate);
+        final Map<LocalDate, CalendarDate> innerMap = new HashMap<>();
+        innerMap.put(LocalDate.of(2020, 1, 1), mockCalendarDate);
         final Map<String, Trip> mockTripCollection = new HashMap<>();
         mockTripCollection.put("trip id", mockTrip);
 
-        final Map<String, Map<String, CalendarDate>> mockCalendarDateCollection = new HashMap<>();
+        final Map<String, Map<LocalDate, CalendarDate>> mockCalendarDateCollection = new HashMap<>();
         mockCalendarDateCollection.put("service id", innerMap);
 
 
@@ -190,9 +191,9 @@ class ValidateTripServiceIdTest {
         final Map<String, Trip> mockTripCollection = new HashMap<>();
         mockTripCollection.put("trip id", mockTrip);
 
-        final Map<String, CalendarDate> innerMap = new HashMap<>();
-        innerMap.put("date", mockCalendarDate);
-        final Map<String, Map<String, CalendarDate>> mockCalendarDateCollection = new HashMap<>();
+        final Map<LocalDate, CalendarDate> innerMap = new HashMap<>();
+        innerMap.put(LocalDate.of(2020, 1, 1), mockCalendarDate);
+        final Map<String, Map<LocalDate, CalendarDate>> mockCalendarDateCollection = new HashMap<>();
         mockCalendarDateCollection.put("service id", innerMap);
 
         final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase;
+
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice;
+import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.UnusableTripNotice;
+import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
+import org.mobilitydata.gtfsvalidator.usecase.port.TooManyValidationErrorException;
+import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ValidateTripStopTimesTest {
+
+    // minimal repository keeping notices in insertion order
+    private static ValidationResultRepository mockRuleResultRepo() {
+        final List<Notice> noticeList = new ArrayList<>();
+        final ValidationResultRepository mockRepo = mock(ValidationResultRepository.class);
+        when(mockRepo.addNotice(any(Notice.class))).thenAnswer(invocation -> {
+            noticeList.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(mockRepo.getAll()).thenReturn(noticeList);
+        return mockRepo;
+    }
+
+    private static List<Function<ValidationResultRepository, TripStopTimesValidationRule>> createRuleFactoryList(
+            final TripStopTimesValidationRule... ruleArray) {
+        final List<Function<ValidationResultRepository, TripStopTimesValidationRule>> ruleFactoryList =
+                new ArrayList<>();
+        for (final TripStopTimesValidationRule rule : ruleArray) {
+            ruleFactoryList.add(ruleResultRepo -> rule);
+        }
+        return ruleFactoryList;
+    }
+
+    // records the content of the stop times visited by a rule, which are only valid during the visit
+    private static List<String> recordVisits(final TripStopTimesValidationRule mockRule) {
+        final List<String> visitList = new ArrayList<>();
+        doAnswer(invocation -> {
+            final SortedMap<Integer, StopTime> stopTimeSequence = invocation.getArgument(2);
+            visitList.add(invocation.getArgument(0) + " " + new TreeMap<>(stopTimeSequence).keySet());
+            return null;
+        }).when(mockRule).visitTrip(any(), any(), any());
+        return visitList;
+    }
+
+    @Test
+    void readFilenameCollectionShouldBeUnionOfRuleFilenameCollections() {
+        final TripStopTimesValidationRule firstRule = mock(TripStopTimesValidationRule.class);
+        when(firstRule.getReadFilenameCollection()).thenReturn(Set.of("trips.txt", "stop_times.txt"));
+        final TripStopTimesValidationRule secondRule = mock(TripStopTimesValidationRule.class);
+        when(secondRule.getReadFilenameCollection()).thenReturn(Set.of("stop_times.txt", "stops.txt"));
+
+        final ValidateTripStopTimes underTest = new ValidateTripStopTimes(mock(GtfsDataRepository.class),
+                mock(ValidationResultRepository.class), ValidateTripStopTimesTest::mockRuleResultRepo,
+                createRuleFactoryList(firstRule, secondRule), mock(Logger.class));
+
+        assertEquals(Set.of("trips.txt", "stop_times.txt", "stops.txt"), underTest.getReadFilenameCollection());
+    }
+
+    @Test
+    void stopTimesOfEachTripShouldBeReadOnceAndFedToAllRules() {
+        final Trip firstTrip = mock(Trip.class);
+        final Trip tripWithoutStopTime = mock(Trip.class);
+        final Map<String, Trip> tripCollection = new LinkedHashMap<>();
+        tripCollection.put("first trip", firstTrip);
+        tripCollection.put("trip without stop time", tripWithoutStopTime);
+
+        final StopTime firstStopTime = mock(StopTime.class);
+        final StopTime secondStopTime = mock(StopTime.class);
+        final StopTime unknownTripStopTime = mock(StopTime.class);
+        final SortedMap<Integer, StopTime> firstTripStopTimes = new TreeMap<>(Map.of(
+                1, firstStopTime,
+                2, secondStopTime));
+        final SortedMap<Integer, StopTime> unknownTripStopTimes = new TreeMap<>(Map.of(3, unknownTripStopTime));
+        final Map<String, SortedMap<Integer, StopTime>> stopTimeCollection = new LinkedHashMap<>();
+        stopTimeCollection.put("first trip", firstTripStopTimes);
+        stopTimeCollection.put("unknown trip", unknownTripStopTimes);
+
+        final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
+        when(mockDataRepo.getTripAll()).thenReturn(tripCollection);
+        when(mockDataRepo.getStopTimeAll()).thenReturn(stopTimeCollection);
+        final TripStopTimesValidationRule firstRule = mock(TripStopTimesValidationRule.class);
+        final TripStopTimesValidationRule secondRule = mock(TripStopTimesValidationRule.class);
+        final List<String> firstRuleVisitList = recordVisits(firstRule);
+        final List<String> secondRuleVisitList = recordVisits(secondRule);
+        final Logger mockLogger = mock(Logger.class);
+
+        final ValidateTripStopTimes underTest = new ValidateTripStopTimes(mockDataRepo,
+                mock(ValidationResultRepository.class), ValidateTripStopTimesTest::mockRuleResultRepo,
+                createRuleFactoryList(firstRule, secondRule), mockLogger);
+
+        underTest.execute();
+
+        final InOrder inOrder = inOrder(firstRule, secondRule);
+        inOrder.verify(firstRule).beforeFirstTrip();
+        inOrder.verify(secondRule).beforeFirstTrip();
+        inOrder.verify(firstRule).visitTrip(eq("first trip"), eq(firstTrip), any());
+        inOrder.verify(secondRule).visitTrip(eq("first trip"), eq(firstTrip), any());
+        // stop times of trips not found in trips.txt are visited without trip
+        inOrder.verify(firstRule).visitTrip(eq("unknown trip"), isNull(), any());
+        inOrder.verify(secondRule).visitTrip(eq("unknown trip"), isNull(), any());
+        // trips without stop times are visited last
+        inOrder.verify(firstRule).visitTrip(eq("trip without stop time"), eq(tripWithoutStopTime),
+                eq(Collections.emptySortedMap()));
+        inOrder.verify(secondRule).visitTrip(eq("trip without stop time"), eq(tripWithoutStopTime),
+                eq(Collections.emptySortedMap()));
+        inOrder.verify(firstRule).afterLastTrip();
+        inOrder.verify(secondRule).afterLastTrip();
+        verifyNoMoreInteractions(firstRule, secondRule);
+        final List<String> expectedVisitList = List.of("first trip [1, 2]", "unknown trip [3]",
+                "trip without stop time []");
+        assertEquals(expectedVisitList, firstRuleVisitList);
+        assertEquals(expectedVisitList, secondRuleVisitList);
+
+        // the stop times of a trip are read once, whatever the number of rules
+        final ArgumentCaptor<SortedMap<Integer, StopTime>> firstRuleCaptor = ArgumentCaptor.forClass(SortedMap.class);
+        final ArgumentCaptor<SortedMap<Integer, StopTime>> secondRuleCaptor = ArgumentCaptor.forClass(SortedMap.class);
+        verify(firstRule).visitTrip(eq("first trip"), any(), firstRuleCaptor.capture());
+        verify(secondRule).visitTrip(eq("first trip"), any(), secondRuleCaptor.capture());
+        assertSame(firstRuleCaptor.getValue(), secondRuleCaptor.getValue());
+        verify(mockDataRepo, times(1)).getTripAll();
+        verify(mockDataRepo, times(1)).getStopTimeAll();
+        verifyNoMoreInteractions(mockDataRepo);
+    }
+
+    @Test
+    void noticesShouldBeReportedGroupedByRuleInRuleOrder() {
+        final Map<String, SortedMap<Integer, StopTime>> stopTimeCollection = new LinkedHashMap<>();
+        stopTimeCollection.put("first trip", new TreeMap<>(Map.of(1, mock(StopTime.class))));
+        stopTimeCollection.put("second trip", new TreeMap<>(Map.of(1, mock(StopTime.class))));
+        final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
+        when(mockDataRepo.getTripAll()).thenReturn(Collections.emptyMap());
+        when(mockDataRepo.getStopTimeAll()).thenReturn(stopTimeCollection);
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+
+        // each rule adds a notice per trip, prefixing the trip_id with its name
+        final List<Function<ValidationResultRepository, TripStopTimesValidationRule>> ruleFactoryList =
+                new ArrayList<>();
+        for (final String ruleName : List.of("first rule", "second rule")) {
+            ruleFactoryList.add(ruleResultRepo -> {
+                final TripStopTimesValidationRule mockRule = mock(TripStopTimesValidationRule.class);
+                doAnswer(invocation -> ruleResultRepo.addNotice(
+                        new UnusableTripNotice(ruleName + " " + invocation.getArgument(0))))
+                        .when(mockRule).visitTrip(any(), any(), any());
+                return mockRule;
+            });
+        }
+
+        final ValidateTripStopTimes underTest = new ValidateTripStopTimes(mockDataRepo, mockResultRepo,
+                ValidateTripStopTimesTest::mockRuleResultRepo, ruleFactoryList, mock(Logger.class));
+
+        underTest.execute();
+
+        final ArgumentCaptor<Notice> captor = ArgumentCaptor.forClass(Notice.class);
+        verify(mockResultRepo, times(4)).addNotice(captor.capture());
+        assertEquals(List.of("first rule first trip", "first rule second trip", "second rule first trip",
+                "second rule second trip"), captor.getAllValues().stream()
+                .map(Notice::getEntityId)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void abortOnErrorShouldBeThrownByMainRepositoryOnceNoticesOfPreviousRulesAreReported() {
+        final Map<String, SortedMap<Integer, StopTime>> stopTimeCollection = new LinkedHashMap<>();
+        stopTimeCollection.put("trip", new TreeMap<>(Map.of(1, mock(StopTime.class))));
+        final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
+        when(mockDataRepo.getTripAll()).thenReturn(Collections.emptyMap());
+        when(mockDataRepo.getStopTimeAll()).thenReturn(stopTimeCollection);
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        final UnusableTripNotice firstRuleNotice = new UnusableTripNotice("first rule trip");
+        final UnusableTripNotice secondRuleNotice = new UnusableTripNotice("second rule trip");
+        when(mockResultRepo.addNotice(secondRuleNotice)).thenThrow(new TooManyValidationErrorException());
+
+        final List<Function<ValidationResultRepository, TripStopTimesValidationRule>> ruleFactoryList = List.of(
+                ruleResultRepo -> {
+                    final TripStopTimesValidationRule mockRule = mock(TripStopTimesValidationRule.class);
+                    doAnswer(invocation -> ruleResultRepo.addNotice(firstRuleNotice))
+                            .when(mockRule).visitTrip(any(), any(), any());
+                    return mockRule;
+                },
+                // adds its notice then aborts, as its own repository would
+                ruleResultRepo -> {
+                    final TripStopTimesValidationRule mockRule = mock(TripStopTimesValidationRule.class);
+                    doAnswer(invocation -> {
+                        ruleResultRepo.addNotice(secondRuleNotice);
+                        throw new TooManyValidationErrorException();
+                    }).when(mockRule).visitTrip(any(), any(), any());
+                    return mockRule;
+                });
+
+        final ValidateTripStopTimes underTest = new ValidateTripStopTimes(mockDataRepo, mockResultRepo,
+                ValidateTripStopTimesTest::mockRuleResultRepo, ruleFactoryList, mock(Logger.class));
+
+        assertThrows(TooManyValidationErrorException.class, underTest::execute);
+
+        final InOrder inOrder = inOrder(mockResultRepo);
+        inOrder.verify(mockResultRepo, times(1)).addNotice(firstRuleNotice);
+        inOrder.verify(mockResultRepo, times(1)).addNotice(secondRuleNotice);
+        verifyNoMoreInteractions(mockResultRepo);
+    }
+
+    @Test
+    void exceptionThrownByRuleShouldNotBeReplacedByAbortOnErrorWhileReportingNotices() {
+        final Map<String, SortedMap<Integer, StopTime>> stopTimeCollection = new LinkedHashMap<>();
+        stopTimeCollection.put("trip", new TreeMap<>(Map.of(1, mock(StopTime.class))));
+        final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
+        when(mockDataRepo.getTripAll()).thenReturn(Collections.emptyMap());
+        when(mockDataRepo.getStopTimeAll()).thenReturn(stopTimeCollection);
+        final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
+        final TooManyValidationErrorException abortException = new TooManyValidationErrorException();
+        when(mockResultRepo.addNotice(any(Notice.class))).thenThrow(abortException);
+        final IllegalStateException ruleException = new IllegalStateException();
+
+        final List<Function<ValidationResultRepository, TripStopTimesValidationRule>> ruleFactoryList = List.of(
+                ruleResultRepo -> {
+                    final TripStopTimesValidationRule mockRule = mock(TripStopTimesValidationRule.class);
+                    doAnswer(invocation -> ruleResultRepo.addNotice(new UnusableTripNotice("trip")))
+                            .when(mockRule).visitTrip(any(), any(), any());
+                    return mockRule;
+                },
+                ruleResultRepo -> {
+                    final TripStopTimesValidationRule mockRule = mock(TripStopTimesValidationRule.class);
+                    doThrow(ruleException).when(mockRule).visitTrip(any(), any(), any());
+                    return mockRule;
+                });
+
+        final ValidateTripStopTimes underTest = new ValidateTripStopTimes(mockDataRepo, mockResultRepo,
+                ValidateTripStopTimesTest::mockRuleResultRepo, ruleFactoryList, mock(Logger.class));
+
+        final IllegalStateException thrown = assertThrows(IllegalStateException.class, underTest::execute);
+
+        assertSame(ruleException, thrown);
+        assertArrayEquals(new Throwable[]{abortException}, thrown.getSuppressed());
+        verify(mockResultRepo, times(1)).addNotice(any(Notice.class));
+    }
+}
@@ -22,6 +22,7 @@ import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stops.LocationBase;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
 import org.mobilitydata.gtfsvalidator.domain.entity.notice.error.FastTravelBetweenStopsNotice;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mobilitydata.gtfsvalidator.usecase.utils.GeospatialUtils;
@@ -37,6 +38,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mobilitydata.gtfsvalidator.domain.entity.notice.base.Notice.*;
 import static org.mockito.Mockito.*;
 
+@SuppressWarnings("unchecked")
 class ValidateTripTravelSpeedTest {
 
     @Test
@@ -57,15 +59,15 @@ class ValidateTripTravelSpeedTest {
         final StopTime mockStopTime0 = mock(StopTime.class);
         final StopTime mockStopTime1 = mock(StopTime.class);
         final StopTime mockStopTime2 = mock(StopTime.class);
-        when(mockStopTime0.getStopId()).thenReturn("stopTime0_stopId");
+        when(mockStopTime0.getStopIndex()).thenReturn(0);
         when(mockStopTime0.getDepartureTime()).thenReturn(130);
         when(mockStopTime0.getArrivalTime()).thenReturn(100);
 
-        when(mockStopTime1.getStopId()).thenReturn("stopTime1_stopId");
+        when(mockStopTime1.getStopIndex()).thenReturn(1);
         when(mockStopTime1.getDepartureTime()).thenReturn(230);
         when(mockStopTime1.getArrivalTime()).thenReturn(200);
 
-        when(mockStopTime2.getStopId()).thenReturn("stopTime2_stopId");
+        when(mockStopTime2.getStopIndex()).thenReturn(2);
         when(mockStopTime2.getDepartureTime()).thenReturn(33000);
         when(mockStopTime2.getArrivalTime()).thenReturn(30000);
 
@@ -80,7 +82,9 @@ class ValidateTripTravelSpeedTest {
 
         when(mockDataRepo.getStopTimeByTripId(ArgumentMatchers.anyString())).thenReturn(mockSortedMap);
 
-        when(mockDataRepo.getStopById(ArgumentMatchers.anyString())).thenReturn(mockStop0);
+        final EntityIndex<LocationBase> mockStopIndex = mock(EntityIndex.class);
+        when(mockStopIndex.get(ArgumentMatchers.anyInt())).thenReturn(mockStop0);
+        when(mockDataRepo.getStopIndex()).thenReturn(mockStopIndex);
 
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
         final Logger mockLogger = mock(Logger.class);
@@ -95,9 +99,10 @@ class ValidateTripTravelSpeedTest {
 
         verify(mockDataRepo, times(1)).getTripAll();
         verify(mockDataRepo, times(1)).getStopTimeByTripId(ArgumentMatchers.eq("trip_id__test"));
-        verify(mockDataRepo, times(1)).getStopById(ArgumentMatchers.eq("stopTime0_stopId"));
-        verify(mockDataRepo, times(1)).getStopById(ArgumentMatchers.eq("stopTime1_stopId"));
-        verify(mockDataRepo, times(1)).getStopById(ArgumentMatchers.eq("stopTime2_stopId"));
+        verify(mockDataRepo, times(1)).getStopIndex();
+        verify(mockStopIndex, times(1)).get(ArgumentMatchers.eq(0));
+        verify(mockStopIndex, times(1)).get(ArgumentMatchers.eq(1));
+        verify(mockStopIndex, times(1)).get(ArgumentMatchers.eq(2));
 
         final ArgumentCaptor<FastTravelBetweenStopsNotice> captor =
                 ArgumentCaptor.forClass(FastTravelBetweenStopsNotice.class);
@@ -135,19 +140,19 @@ class ValidateTripTravelSpeedTest {
         final StopTime mockStopTime1 = mock(StopTime.class);
         final StopTime mockStopTime2 = mock(StopTime.class);
         final StopTime mockStopTime3 = mock(StopTime.class);
-        when(mockStopTime0.getStopId()).thenReturn("stopTime0_stopId");
+        when(mockStopTime0.getStopIndex()).thenReturn(0);
         when(mockStopTime0.getDepartureTime()).thenReturn(3130);
         when(mockStopTime0.getArrivalTime()).thenReturn(100);
 
-        when(mockStopTime1.getStopId()).thenReturn("stopTime1_stopId");
+        when(mockStopTime1.getStopIndex()).thenReturn(1);
         when(mockStopTime1.getDepartureTime()).thenReturn(5200);
         when(mockStopTime1.getArrivalTime()).thenReturn(5200);
 
-        when(mockStopTime2.getStopId()).thenReturn("stopTime2_stopId");
+        when(mockStopTime2.getStopIndex()).thenReturn(2);
         when(mockStopTime2.getDepartureTime()).thenReturn(5200);
         when(mockStopTime2.getArrivalTime()).thenReturn(5200);
 
-        when(mockStopTime3.getStopId()).thenReturn("stopTime3_stopId");
+        when(mockStopTime3.getStopIndex()).thenReturn(3);
         when(mockStopTime3.getDepartureTime()).thenReturn(5400);
         when(mockStopTime3.getArrivalTime()).thenReturn(5300);
 
@@ -162,7 +167,9 @@ class ValidateTripTravelSpeedTest {
 
         when(mockDataRepo.getStopTimeByTripId(ArgumentMatchers.anyString())).thenReturn(mockSortedMap);
 
-        when(mockDataRepo.getStopById(ArgumentMatchers.anyString())).thenReturn(mockStop0);
+        final EntityIndex<LocationBase> mockStopIndex = mock(EntityIndex.class);
+        when(mockStopIndex.get(ArgumentMatchers.anyInt())).thenReturn(mockStop0);
+        when(mockDataRepo.getStopIndex()).thenReturn(mockStopIndex);
 
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
         final Logger mockLogger = mock(Logger.class);
@@ -177,10 +184,11 @@ class ValidateTripTravelSpeedTest {
 
         verify(mockDataRepo, times(1)).getTripAll();
         verify(mockDataRepo, times(1)).getStopTimeByTripId(ArgumentMatchers.eq("trip_id__test"));
-        verify(mockDataRepo, times(1)).getStopById(ArgumentMatchers.eq("stopTime0_stopId"));
-        verify(mockDataRepo, times(1)).getStopById(ArgumentMatchers.eq("stopTime1_stopId"));
-        verify(mockDataRepo, times(1)).getStopById(ArgumentMatchers.eq("stopTime2_stopId"));
-        verify(mockDataRepo, times(1)).getStopById(ArgumentMatchers.eq("stopTime3_stopId"));
+        verify(mockDataRepo, times(1)).getStopIndex();
+        verify(mockStopIndex, times(1)).get(ArgumentMatchers.eq(0));
+        verify(mockStopIndex, times(1)).get(ArgumentMatchers.eq(1));
+        verify(mockStopIndex, times(1)).get(ArgumentMatchers.eq(2));
+        verify(mockStopIndex, times(1)).get(ArgumentMatchers.eq(3));
 
         final ArgumentCaptor<FastTravelBetweenStopsNotice> captor =
                 ArgumentCaptor.forClass(FastTravelBetweenStopsNotice.class);
@@ -218,19 +226,19 @@ class ValidateTripTravelSpeedTest {
         final StopTime mockStopTime1 = mock(StopTime.class);
         final StopTime mockStopTime2 = mock(StopTime.class);
         final StopTime mockStopTime3 = mock(StopTime.class);
-        when(mockStopTime0.getStopId()).thenReturn("stopTime0_stopId");
+        when(mockStopTime0.getStopIndex()).thenReturn(0);
         when(mockStopTime0.getDepartureTime()).thenReturn(130);
         when(mockStopTime0.getArrivalTime()).thenReturn(100);
 
-        when(mockStopTime1.getStopId()).thenReturn("stopTime1_stopId");
+        when(mockStopTime1.getStopIndex()).thenReturn(1);
         when(mockStopTime1.getDepartureTime()).thenReturn(230);
         when(mockStopTime1.getArrivalTime()).thenReturn(200);
 
-        when(mockStopTime2.getStopId()).thenReturn("stopTime2_stopId");
+        when(mockStopTime2.getStopIndex()).thenReturn(2);
         when(mockStopTime2.getDepartureTime()).thenReturn(230);
         when(mockStopTime2.getArrivalTime()).thenReturn(230);
 
-        when(mockStopTime3.getStopId()).thenReturn("stopTime3_stopId");
+        when(mockStopTime3.getStopIndex()).thenReturn(3);
         when(mockStopTime3.getDepartureTime()).thenReturn(430);
         when(mockStopTime3.getArrivalTime()).thenReturn(400);
 
@@ -245,7 +253,9 @@ class ValidateTripTravelSpeedTest {
 
         when(mockDataRepo.getStopTimeByTripId(ArgumentMatchers.anyString())).thenReturn(mockSortedMap);
 
-        when(mockDataRepo.getStopById(ArgumentMatchers.anyString())).thenReturn(mockStop0);
+        final EntityIndex<LocationBase> mockStopIndex = mock(EntityIndex.class);
+        when(mockStopIndex.get(ArgumentMatchers.anyInt())).thenReturn(mockStop0);
+        when(mockDataRepo.getStopIndex()).thenReturn(mockStopIndex);
 
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
         final Logger mockLogger = mock(Logger.class);
@@ -260,10 +270,11 @@ class ValidateTripTravelSpeedTest {
 
         verify(mockDataRepo, times(1)).getTripAll();
         verify(mockDataRepo, times(1)).getStopTimeByTripId(ArgumentMatchers.eq("trip_id__test"));
-        verify(mockDataRepo, times(1)).getStopById(ArgumentMatchers.eq("stopTime0_stopId"));
-        verify(mockDataRepo, times(1)).getStopById(ArgumentMatchers.eq("stopTime1_stopId"));
-        verify(mockDataRepo, times(1)).getStopById(ArgumentMatchers.eq("stopTime2_stopId"));
-        verify(mockDataRepo, times(1)).getStopById(ArgumentMatchers.eq("stopTime3_stopId"));
+        verify(mockDataRepo, times(1)).getStopIndex();
+        verify(mockStopIndex, times(1)).get(ArgumentMatchers.eq(0));
+        verify(mockStopIndex, times(1)).get(ArgumentMatchers.eq(1));
+        verify(mockStopIndex, times(1)).get(ArgumentMatchers.eq(2));
+        verify(mockStopIndex, times(1)).get(ArgumentMatchers.eq(3));
 
         verifyNoMoreInteractions(mockDataRepo, mockLogger, mockResultRepo);
     }
@@ -28,6 +28,7 @@ import org.mockito.ArgumentCaptor;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -43,7 +44,7 @@ class ValidateTripUsageTest {
         mockTripCollection.put("12345", mock(Trip.class));
         when(mockDataRepo.getTripAll()).thenReturn(mockTripCollection);
 
-        final Map<String, TreeMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
+        final Map<String, SortedMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
         final TreeMap<Integer, StopTime> innerStopTimeMap = new TreeMap<>();
         mockStopTimeCollection.put("12345", innerStopTimeMap);
         when(mockDataRepo.getStopTimeAll()).thenReturn(mockStopTimeCollection);
@@ -70,7 +71,7 @@ class ValidateTripUsageTest {
         mockTripCollection.put("unused trip id value: 4455", mock(Trip.class));
         when(mockDataRepo.getTripAll()).thenReturn(mockTripCollection);
 
-        final Map<String, TreeMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
+        final Map<String, SortedMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
         final TreeMap<Integer, StopTime> innerStopTimeMap = new TreeMap<>();
         mockStopTimeCollection.put("12345", innerStopTimeMap);
         when(mockDataRepo.getStopTimeAll()).thenReturn(mockStopTimeCollection);
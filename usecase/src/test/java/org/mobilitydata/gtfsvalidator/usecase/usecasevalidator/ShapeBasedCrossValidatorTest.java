@@ -18,11 +18,12 @@ package org.mobilitydata.gtfsvalidator.usecase.usecasevalidator;
 
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.Test;
-import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
-import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
 import org.mobilitydata.gtfsvalidator.usecase.ValidateShapeIncreasingDistance;
 import org.mobilitydata.gtfsvalidator.usecase.ValidateShapeUsage;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
+import org.mobilitydata.gtfsvalidator.usecase.port.ReverseIndex;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mockito.ArgumentMatchers;
 
@@ -32,30 +33,27 @@ import static org.mockito.Mockito.*;
 
 class ShapeBasedCrossValidatorTest {
 
-    // suppressed warning regarding unused result of method, since this behavior is wanted
-    @SuppressWarnings("ResultOfMethodCallIgnored")
+    // suppressed warning regarding unused result of method and unchecked type, since this behavior is wanted
+    @SuppressWarnings({"ResultOfMethodCallIgnored", "unchecked"})
     @Test
     void allShapeCrossValidationUseCasesShouldBeCalled() {
         final ValidationResultRepository mockResultRepo = mock(ValidationResultRepository.class);
         final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
 
-        final Trip mockTrip = mock(Trip.class);
-        when(mockTrip.getShapeId()).thenReturn("shape id");
-        final ShapePoint mockShapePoint = mock(ShapePoint.class);
-        when(mockShapePoint.getShapeId()).thenReturn("shape id");
+        final ShapeGeometry mockShape = mock(ShapeGeometry.class);
+        when(mockShape.getShapeId()).thenReturn("shape id");
 
-        final Map<String, Trip> mockTripCollection = new HashMap<>();
-        mockTripCollection.put("trip id", mockTrip);
+        final Map<String, ShapeGeometry> mockShapeCollection = new HashMap<>();
+        mockShapeCollection.put("shape id", mockShape);
 
-        final Map<String, SortedMap<Integer, ShapePoint>> mockShapeCollection = new HashMap<>();
-        final SortedMap<Integer, ShapePoint> innerMap = new TreeMap<>();
-        innerMap.put(1, mockShapePoint);
-        mockShapeCollection.put("shape id", innerMap);
+        final EntityIndex<ShapeGeometry> mockShapeIndex = mock(EntityIndex.class);
+        when(mockShapeIndex.indexOf("shape id")).thenReturn(3);
+        final ReverseIndex mockTripsByShape = mock(ReverseIndex.class);
+        when(mockTripsByShape.getCount(3)).thenReturn(2);
 
-        when(mockDataRepo.getTripAll()).thenReturn(mockTripCollection);
         when(mockDataRepo.getShapeAll()).thenReturn(mockShapeCollection);
-
-        final Set<String> mockTripShapeIdCollection = new HashSet<>(List.of("shape id"));
+        when(mockDataRepo.getShapeIndex()).thenReturn(mockShapeIndex);
+        when(mockDataRepo.getTripsByShape()).thenReturn(mockTripsByShape);
 
         final Logger mockLogger = mock(Logger.class);
         final ValidateShapeUsage mockE038 = mock(ValidateShapeUsage.class);
@@ -66,19 +64,19 @@ class ShapeBasedCrossValidatorTest {
 
         underTest.execute();
 
-        verify(mockDataRepo, times(1)).getTripAll();
+        verify(mockDataRepo, times(1)).getShapeIndex();
+
+        verify(mockDataRepo, times(1)).getTripsByShape();
 
-        verify(mockTrip, times(1)).getShapeId();
+        verify(mockTripsByShape, times(1)).getCount(3);
 
         verify(mockDataRepo, times(1)).getShapeAll();
 
-        verify(mockShapePoint, times(1)).getShapeId();
+        verify(mockShape, times(2)).getShapeId();
 
         verify(mockE038, times(1)).execute(ArgumentMatchers.eq(mockResultRepo),
-                ArgumentMatchers.eq("shape id"), ArgumentMatchers.eq(mockTripShapeIdCollection));
+                ArgumentMatchers.eq("shape id"), ArgumentMatchers.eq(2));
 
-        verify(mockE058, times(1)).execute(
-                ArgumentMatchers.eq(innerMap), ArgumentMatchers.eq("shape id"),
-                ArgumentMatchers.eq(mockResultRepo));
+        verify(mockE058, times(1)).execute(ArgumentMatchers.eq(mockShape), ArgumentMatchers.eq(mockResultRepo));
     }
 }
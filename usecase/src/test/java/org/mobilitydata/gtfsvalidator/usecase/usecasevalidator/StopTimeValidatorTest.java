@@ -18,6 +18,7 @@ package org.mobilitydata.gtfsvalidator.usecase.usecasevalidator;
 
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.Test;
+import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapeGeometry;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.ShapePoint;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.stoptimes.StopTime;
 import org.mobilitydata.gtfsvalidator.domain.entity.gtfs.trips.Trip;
@@ -25,6 +26,7 @@ import org.mobilitydata.gtfsvalidator.usecase.ValidateBackwardsTimeTravelForStop
 import org.mobilitydata.gtfsvalidator.usecase.ValidateShapeIdReferenceInStopTime;
 import org.mobilitydata.gtfsvalidator.usecase.ValidateStopTimeIncreasingDistance;
 import org.mobilitydata.gtfsvalidator.usecase.ValidateStopTimeTripId;
+import org.mobilitydata.gtfsvalidator.usecase.port.EntityIndex;
 import org.mobilitydata.gtfsvalidator.usecase.port.GtfsDataRepository;
 import org.mobilitydata.gtfsvalidator.usecase.port.ValidationResultRepository;
 import org.mobilitydata.gtfsvalidator.usecase.utils.TimeUtils;
@@ -46,22 +48,28 @@ class StopTimeValidatorTest {
         final GtfsDataRepository mockDataRepo = mock(GtfsDataRepository.class);
 
         final StopTime mockStopTime = mock(StopTime.class);
-        final Map<String, TreeMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
+        final Map<String, SortedMap<Integer, StopTime>> mockStopTimeCollection = new HashMap<>();
         final TreeMap<Integer, StopTime> innerMap = new TreeMap<>();
         innerMap.put(1, mockStopTime);
         mockStopTimeCollection.put("trip id", innerMap);
-        when(mockStopTime.getTripId()).thenReturn("trip id");
+        when(mockStopTime.getTripIndex()).thenReturn(3);
 
         final SortedMap<Integer, ShapePoint> mockShape = mock(TreeMap.class);
         final Trip mockTrip = mock(Trip.class);
-        when(mockTrip.getShapeId()).thenReturn("shape id");
+        final EntityIndex<Trip> mockTripIndex = mock(EntityIndex.class);
+        when(mockTripIndex.get(3)).thenReturn(mockTrip);
+        final ShapeGeometry mockShapeGeometry = mock(ShapeGeometry.class);
+        when(mockShapeGeometry.getShapePoints()).thenReturn(mockShape);
+        final EntityIndex<ShapeGeometry> mockShapeIndex = mock(EntityIndex.class);
+        when(mockShapeIndex.get(5)).thenReturn(mockShapeGeometry);
 
         final Map<String, Trip> mockTripCollection = mock(HashMap.class);
 
         when(mockDataRepo.getStopTimeAll()).thenReturn(mockStopTimeCollection);
         when(mockDataRepo.getTripAll()).thenReturn(mockTripCollection);
-        when(mockDataRepo.getTripById("trip id")).thenReturn(mockTrip);
-        when(mockDataRepo.getShapeById("shape id")).thenReturn(mockShape);
+        when(mockDataRepo.getTripIndex()).thenReturn(mockTripIndex);
+        when(mockDataRepo.getShapeIndex()).thenReturn(mockShapeIndex);
+        when(mockDataRepo.getShapeIndexOfTrip(3)).thenReturn(5);
 
         final Logger mockLogger = mock(Logger.class);
         final ValidateShapeIdReferenceInStopTime mockE034 = mock(ValidateShapeIdReferenceInStopTime.class);
@@ -84,8 +92,9 @@ class StopTimeValidatorTest {
                 .info("                  'E054 & W013 - Decreasing travelled distance");
 
         verify(mockDataRepo, times(1)).getStopTimeAll();
-        verify(mockStopTime, times(1)).getTripId();
-        verify(mockDataRepo, times(1)).getShapeById(ArgumentMatchers.eq("shape id"));
+        verify(mockTripIndex, times(1)).get(3);
+        verify(mockDataRepo, times(1)).getShapeIndexOfTrip(3);
+        verify(mockShapeIndex, times(1)).get(5);
         verify(mockDataRepo, times(1)).getTripAll();
 
         verify(mockE046, times(1)).execute(mockResultRepo, innerMap, mockTimeUtils);
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020. MobilityData IO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mobilitydata.gtfsvalidator.usecase.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongKeyMapTest {
+
+    @Test
+    void packShouldKeepBothIntegersDistinct() {
+        assertNotEquals(LongKeyMap.pack(1, 0), LongKeyMap.pack(0, 1));
+        assertNotEquals(LongKeyMap.pack(-1, 0), LongKeyMap.pack(0, -1));
+        assertNotEquals(LongKeyMap.pack(0, -1), LongKeyMap.pack(-1, -1));
+    }
+
+    @Test
+    void valuesShouldBeMappedOnTheirKeyInInsertionOrder() {
+        final LongKeyMap<String> underTest = new LongKeyMap<>();
+        final List<String> expectedValues = new ArrayList<>();
+        for (int high = -10; high < 40; ++high) {
+            for (int low = -10; low < 40; ++low) {
+                final String value = high + ":" + low;
+                assertNull(underTest.putIfAbsent(LongKeyMap.pack(high, low), value));
+                expectedValues.add(value);
+            }
+        }
+
+        assertEquals(expectedValues.size(), underTest.size());
+        assertEquals(expectedValues, new ArrayList<>(underTest.values()));
+        assertEquals("-3:25", underTest.get(LongKeyMap.pack(-3, 25)));
+        assertEquals("25:-3", underTest.putIfAbsent(LongKeyMap.pack(25, -3), "other value"));
+        assertEquals("25:-3", underTest.get(LongKeyMap.pack(25, -3)));
+        assertNull(underTest.get(LongKeyMap.pack(40, 0)));
+        assertEquals(expectedValues.size(), underTest.size());
+    }
+
+    @Test
+    void valuesShouldBeUnmodifiable() {
+        final LongKeyMap<String> underTest = new LongKeyMap<>();
+        assertThrows(UnsupportedOperationException.class, () -> underTest.values().add("value"));
+    }
+}